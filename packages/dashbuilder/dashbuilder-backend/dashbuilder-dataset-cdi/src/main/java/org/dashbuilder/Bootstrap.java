@@ -16,6 +16,7 @@
 package org.dashbuilder;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -77,4 +78,9 @@ public class Bootstrap {
         dataSetCore.setDataSetManager(dataSetManager);
         log.info("Core subsystems initialized");
     }
+
+    @PreDestroy
+    public void destroy() {
+        DataSetCore.get().shutdown();
+    }
 }
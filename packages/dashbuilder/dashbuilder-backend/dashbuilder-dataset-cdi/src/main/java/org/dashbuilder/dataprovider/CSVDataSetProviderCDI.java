@@ -15,6 +15,7 @@
  */
 package org.dashbuilder.dataprovider;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -40,6 +41,11 @@ public class CSVDataSetProviderCDI extends CSVDataSetProvider {
         super(staticDataSetProvider, csvStorage);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        super.shutdown();
+    }
+
     // Listen to changes on the data set definition registry
 
     protected void onDataSetStaleEvent(@Observes DataSetStaleEvent event) {
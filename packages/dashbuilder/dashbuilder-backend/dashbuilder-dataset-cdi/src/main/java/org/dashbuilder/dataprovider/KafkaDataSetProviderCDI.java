@@ -15,6 +15,7 @@
  */
 package org.dashbuilder.dataprovider;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -24,6 +25,7 @@ import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
 import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
 import org.dashbuilder.dataset.events.DataSetStaleEvent;
+import org.dashbuilder.scheduler.Scheduler;
 
 @ApplicationScoped
 public class KafkaDataSetProviderCDI extends KafkaDataSetProvider {
@@ -33,28 +35,33 @@ public class KafkaDataSetProviderCDI extends KafkaDataSetProvider {
     }
 
     @Inject
-    public KafkaDataSetProviderCDI(StaticDataSetProviderCDI staticDataSetProvider) {
-        super(staticDataSetProvider);
+    public KafkaDataSetProviderCDI(StaticDataSetProviderCDI staticDataSetProvider, Scheduler scheduler) {
+        super(staticDataSetProvider, new DataSetSampler(staticDataSetProvider, scheduler));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        super.shutdown();
     }
 
     protected void onDataSetStaleEvent(@Observes DataSetStaleEvent event) {
         DataSetDef def = event.getDataSetDef();
         if (DataSetProviderType.KAFKA.equals(def.getProvider())) {
-            staticDataSetProvider.removeDataSet(def.getUUID());
+            onDataSetDefStale(def);
         }
     }
 
     protected void onDataSetDefRemovedEvent(@Observes DataSetDefRemovedEvent event) {
         DataSetDef def = event.getDataSetDef();
         if (DataSetProviderType.KAFKA.equals(def.getProvider())) {
-            staticDataSetProvider.removeDataSet(def.getUUID());
+            onDataSetDefRemoved(def);
         }
     }
 
     protected void onDataSetDefModifiedEvent(@Observes DataSetDefModifiedEvent event) {
         DataSetDef def = event.getOldDataSetDef();
         if (DataSetProviderType.KAFKA.equals(def.getProvider())) {
-            staticDataSetProvider.removeDataSet(def.getUUID());
+            onDataSetDefModified(def, event.getNewDataSetDef());
         }
     }
 
@@ -130,7 +130,7 @@ public class DataSetDefRegistryCDI extends DataSetDefRegistryImpl implements CSV
 
     protected void registerDataSetDefs() {
         for (DataSetDef def : listDataSetDefs()) {
-            super.dataSetDefMap.put(def.getUUID(),
+            _putDataSetDefEntry(def.getUUID(),
                     new DataSetDefEntry(def));
         }
     }
@@ -306,7 +306,7 @@ public class DataSetDefRegistryCDI extends DataSetDefRegistryImpl implements CSV
 
     void onDataSetDefRegisteredEvent(@Observes DataSetDefRegisteredEvent event) {
         DataSetDef def = event.getDataSetDef();
-        dataSetDefMap.put(
+        _putDataSetDefEntry(
                 def.getUUID(),
                 new DataSetDefEntry(def));
     }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.rest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.json.DataSetLookupJSONMarshaller;
+import org.dashbuilder.dataset.service.DataSetExportServicesImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams data set exports straight to the response, so the download starts as soon as the first rows are
+ * available instead of once the whole export file is generated.
+ */
+@ApplicationScoped
+@Path("dashbuilder/dataset/export")
+public class DataSetExportResource {
+
+    private static final String CONTENT_DISPOSITION = "Content-Disposition";
+
+    Logger logger = LoggerFactory.getLogger(DataSetExportResource.class);
+
+    @Inject
+    DataSetExportServicesImpl dataSetExportServices;
+
+    @POST
+    @Path("csv")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("text/csv")
+    public Response exportCSV(String lookupJson) {
+        var lookup = parseLookup(lookupJson);
+        if (lookup == null) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        StreamingOutput output = os -> dataSetExportServices.exportDataSetCSV(lookup, os);
+        return Response.ok(output)
+                .header(CONTENT_DISPOSITION, attachment(lookup, "csv"))
+                .build();
+    }
+
+    @POST
+    @Path("excel")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+    public Response exportExcel(String lookupJson) {
+        var lookup = parseLookup(lookupJson);
+        if (lookup == null) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        StreamingOutput output = os -> dataSetExportServices.exportDataSetExcel(lookup, os);
+        return Response.ok(output)
+                .header(CONTENT_DISPOSITION, attachment(lookup, "xlsx"))
+                .build();
+    }
+
+    DataSetLookup parseLookup(String lookupJson) {
+        try {
+            return DataSetLookupJSONMarshaller.get().fromJson(lookupJson);
+        } catch (Exception e) {
+            logger.debug("Not able to parse the data set lookup.", e);
+            return null;
+        }
+    }
+
+    /**
+     * The data set UUID comes from the request, so the file name is sent both as a plain ASCII quoted string,
+     * with no quotes, backslashes or control characters, and RFC 5987 encoded.
+     */
+    String attachment(DataSetLookup lookup, String extension) {
+        var uuid = lookup.getDataSetUUID();
+        var fileName = (uuid == null || uuid.isBlank() ? "export" : uuid) + "." + extension;
+        var asciiName = fileName.replaceAll("[^\\x20-\\x7E]|[\"\\\\]", "_");
+        var encodedName = URLEncoder.encode(fileName, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A");
+        return "attachment; filename=\"" + asciiName + "\"; filename*=UTF-8''" + encodedName;
+    }
+
+}
@@ -16,6 +16,7 @@
 package org.dashbuilder.dataset.service;
 
 import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
@@ -23,12 +24,11 @@ import java.math.BigInteger;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -78,6 +78,11 @@ public class DataSetExportServicesImpl implements DataSetExportServices {
     protected String DEFAULT_QUOTE_CHAR = "\"";
     protected String DEFAULT_ESCAPE_CHAR = "\\";
 
+    /**
+     * Number of rows per page when exporting a data set lookup. Only one page is kept in memory at a time.
+     */
+    protected int exportPageSize = 10000;
+
     protected String dateFormatPattern = "dd/MM/yyyy HH:mm:ss";
     protected String numberFormatPattern = "#,###.##########";
 
@@ -96,9 +101,24 @@ public class DataSetExportServicesImpl implements DataSetExportServices {
         this.exceptionManager = exceptionManager;
     }
 
+    public int getExportPageSize() {
+        return exportPageSize;
+    }
+
+    public void setExportPageSize(int exportPageSize) {
+        this.exportPageSize = exportPageSize;
+    }
+
     public org.uberfire.backend.vfs.Path exportDataSetCSV(DataSetLookup lookup) {
-        DataSet dataSet = dataSetManager.lookupDataSet(lookup);
-        return exportDataSetCSV(dataSet);
+        try {
+            var tempCsvPath = projectStorageServices.createTempPath(uuidGenerator.newUuid() + ".csv");
+            try (OutputStream os = java.nio.file.Files.newOutputStream(tempCsvPath)) {
+                exportDataSetCSV(lookup, os);
+            }
+            return convert(tempCsvPath);
+        } catch (Exception e) {
+            throw exceptionManager.handleException(e);
+        }
     }
 
     public org.uberfire.backend.vfs.Path exportDataSetCSV(DataSet dataSet) {
@@ -106,45 +126,88 @@ public class DataSetExportServicesImpl implements DataSetExportServices {
             if (dataSet == null) {
                 throw new IllegalArgumentException("Null dataSet specified!");
             }
-            int columnCount = dataSet.getColumns().size();
-            int rowCount = dataSet.getRowCount();
+            var tempCsvPath = projectStorageServices.createTempPath(uuidGenerator.newUuid() + ".csv");
+            try (OutputStream os = java.nio.file.Files.newOutputStream(tempCsvPath);
+                    CSVWriter writer = createCSVWriter(os)) {
+                writeCSVHeader(writer, dataSet);
+                writeCSVRows(writer, dataSet);
+                writer.flush();
+            }
+            return convert(tempCsvPath);
+        } catch (Exception e) {
+            throw exceptionManager.handleException(e);
+        }
+    }
 
-            List<String[]> lines = new ArrayList<>(rowCount + 1);
+    /**
+     * Export a dataset, specified by a DataSetLookup, to CSV format.
+     * <p>The lookup results are written page by page as soon as every page is available, so the memory used does
+     * not depend on the data set size and the output can be sent to the client while it is generated.</p>
+     * @param lookup The dataSetLookup that defines the dataset to be exported.
+     * @param os The stream to write to. It is not closed.
+     */
+    public void exportDataSetCSV(DataSetLookup lookup, OutputStream os) throws IOException {
+        CSVWriter writer = createCSVWriter(os);
+        lookupPages(lookup, new Consumer<DataSet>() {
 
-            String[] line = new String[columnCount];
-            for (int cc = 0; cc < columnCount; cc++) {
-                DataColumn dc = dataSet.getColumnByIndex(cc);
-                line[cc] = dc.getId();
-            }
-            lines.add(line);
+            boolean header = true;
 
-            for (int rc = 0; rc < rowCount; rc++) {
-                line = new String[columnCount];
-                for (int cc = 0; cc < columnCount; cc++) {
-                    line[cc] = formatAsString(dataSet.getValueAt(rc, cc));
+            @Override
+            public void accept(DataSet page) {
+                if (header) {
+                    writeCSVHeader(writer, page);
+                    header = false;
                 }
-                lines.add(line);
+                writeCSVRows(writer, page);
             }
+        });
+        writer.flush();
+    }
 
-            String tempCsvFile = uuidGenerator.newUuid() + ".csv";
-            var tempCsvPath = projectStorageServices.createTempPath(tempCsvFile);
+    protected CSVWriter createCSVWriter(OutputStream os) {
+        return new CSVWriter(new BufferedWriter(new OutputStreamWriter(os)),
+                DEFAULT_SEPARATOR_CHAR.charAt(0),
+                DEFAULT_QUOTE_CHAR.charAt(0),
+                DEFAULT_ESCAPE_CHAR.charAt(0));
+    }
 
-            try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(java.nio.file.Files.newOutputStream(
-                    tempCsvPath)));
-                    CSVWriter writer = new CSVWriter(bw,
-                            DEFAULT_SEPARATOR_CHAR.charAt(0),
-                            DEFAULT_QUOTE_CHAR.charAt(0),
-                            DEFAULT_ESCAPE_CHAR.charAt(0))) {
-                writer.writeAll(lines);
-                writer.flush();
-            }
+    protected void writeCSVHeader(CSVWriter writer, DataSet dataSet) {
+        int columnCount = dataSet.getColumns().size();
+        String[] line = new String[columnCount];
+        for (int cc = 0; cc < columnCount; cc++) {
+            DataColumn dc = dataSet.getColumnByIndex(cc);
+            line[cc] = dc.getId();
+        }
+        writer.writeNext(line);
+    }
 
-            return convert(tempCsvPath);
-        } catch (Exception e) {
-            throw exceptionManager.handleException(e);
+    protected void writeCSVRows(CSVWriter writer, DataSet dataSet) {
+        int columnCount = dataSet.getColumns().size();
+        int rowCount = dataSet.getRowCount();
+        for (int rc = 0; rc < rowCount; rc++) {
+            String[] line = new String[columnCount];
+            for (int cc = 0; cc < columnCount; cc++) {
+                line[cc] = formatAsString(dataSet.getValueAt(rc, cc));
+            }
+            writer.writeNext(line);
         }
     }
 
+    /**
+     * Resolves the lookup in a single pass, handing the results over to the consumer in pages of
+     * {@link #exportPageSize} rows. The provider streams the rows from its cursor or index, so all the pages
+     * belong to the same snapshot of the data set. The first page is always delivered, even if empty, so the
+     * consumer gets to know the columns.
+     */
+    protected void lookupPages(DataSetLookup lookup, Consumer<DataSet> pageConsumer) {
+        dataSetManager.lookupDataSet(lookup, exportPageSize, page -> {
+            if (page == null) {
+                throw new IllegalArgumentException("Null dataSet specified!");
+            }
+            pageConsumer.accept(page);
+        });
+    }
+
     private org.uberfire.backend.vfs.Path convert(java.nio.file.Path tempCsvPath) {
         return new org.uberfire.backend.vfs.Path() {
             
@@ -167,45 +230,99 @@ public class DataSetExportServicesImpl implements DataSetExportServices {
 
     @Override
     public org.uberfire.backend.vfs.Path exportDataSetExcel(DataSetLookup dataSetLookup) {
-        DataSet dataSet = dataSetManager.lookupDataSet(dataSetLookup);
-        return exportDataSetExcel(dataSet);
+        try {
+            var tempXlsPath = projectStorageServices.createTempPath(uuidGenerator.newUuid() + ".xlsx");
+            try (OutputStream os = java.nio.file.Files.newOutputStream(tempXlsPath)) {
+                exportDataSetExcel(dataSetLookup, os);
+            }
+            return convert(tempXlsPath);
+        } catch (Exception e) {
+            throw exceptionManager.handleException(e);
+        }
     }
 
     @Override
     public org.uberfire.backend.vfs.Path exportDataSetExcel(DataSet dataSet) {
         try {
             SXSSFWorkbook wb = dataSetToWorkbook(dataSet);
-
-            // Write workbook to Path
-            var tempXlsFile = uuidGenerator.newUuid() + ".xlsx";
-            var tempXlsPath = projectStorageServices.createTempPath(tempXlsFile);
-            try (OutputStream os = java.nio.file.Files.newOutputStream(tempXlsPath)) {
-                wb.write(os);
-                os.flush();
-            }
-
-            // Dispose of temporary files backing this workbook on disk
-            if (!wb.dispose()) {
-                log.warn("Could not dispose of temporary file associated to data export!");
+            try {
+                // Write workbook to Path
+                var tempXlsFile = uuidGenerator.newUuid() + ".xlsx";
+                var tempXlsPath = projectStorageServices.createTempPath(tempXlsFile);
+                try (OutputStream os = java.nio.file.Files.newOutputStream(tempXlsPath)) {
+                    writeWorkbook(wb, os);
+                }
+                return convert(tempXlsPath);
+            } finally {
+                dispose(wb);
             }
-            return convert(tempXlsPath);
         } catch (Exception e) {
             throw exceptionManager.handleException(e);
         }
     }
 
+    /**
+     * Export a dataset, specified by a DataSetLookup, to Excel format.
+     * <p>The lookup is resolved page by page and the rows are flushed to the workbook temporary files as they
+     * are added, so the memory used does not depend on the data set size. Notice the xlsx package itself can
+     * only be written once all the rows are in.</p>
+     * @param dataSetLookup The dataSetLookup that defines the dataset to be exported.
+     * @param os The stream to write to. It is not closed.
+     */
+    public void exportDataSetExcel(DataSetLookup dataSetLookup, OutputStream os) throws IOException {
+        SXSSFWorkbook wb = createWorkbook();
+        try {
+            ExcelPageWriter pageWriter = new ExcelPageWriter(wb);
+            lookupPages(dataSetLookup, pageWriter);
+            autoSizeColumns(pageWriter.sh, pageWriter.columnCount);
+            writeWorkbook(wb, os);
+        } finally {
+            dispose(wb);
+        }
+    }
+
+    private class ExcelPageWriter implements Consumer<DataSet> {
+
+        Map<String, CellStyle> styles;
+        SXSSFSheet sh;
+        int columnCount = -1;
+        int row = 1;
+
+        ExcelPageWriter(SXSSFWorkbook wb) {
+            styles = createStyles(wb);
+            sh = createSheet(wb);
+        }
+
+        @Override
+        public void accept(DataSet page) {
+            if (columnCount < 0) {
+                columnCount = page.getColumns().size();
+                writeExcelHeader(sh, styles, page);
+            }
+            row = writeExcelRows(sh, styles, page, row);
+        }
+    }
+
     //Package private to enable testing
     SXSSFWorkbook dataSetToWorkbook(DataSet dataSet) {
         // TODO?: Excel 2010 limits: 1,048,576 rows by 16,384 columns; row width 255 characters
         if (dataSet == null) {
             throw new IllegalArgumentException("Null dataSet specified!");
         }
-        int columnCount = dataSet.getColumns().size();
-        int rowCount = dataSet.getRowCount() + 1; //Include header row;
-        int row = 0;
-
-        SXSSFWorkbook wb = new SXSSFWorkbook(100); // keep 100 rows in memory, exceeding rows will be flushed to disk
+        SXSSFWorkbook wb = createWorkbook();
         Map<String, CellStyle> styles = createStyles(wb);
+        SXSSFSheet sh = createSheet(wb);
+        writeExcelHeader(sh, styles, dataSet);
+        writeExcelRows(sh, styles, dataSet, 1);
+        autoSizeColumns(sh, dataSet.getColumns().size());
+        return wb;
+    }
+
+    protected SXSSFWorkbook createWorkbook() {
+        return new SXSSFWorkbook(100); // keep 100 rows in memory, exceeding rows will be flushed to disk
+    }
+
+    protected SXSSFSheet createSheet(SXSSFWorkbook wb) {
         SXSSFSheet sh = wb.createSheet("Sheet 1");
 
         // General setup
@@ -216,22 +333,32 @@ public class DataSetExportServicesImpl implements DataSetExportServices {
         sh.trackAllColumnsForAutoSizing();
         PrintSetup printSetup = sh.getPrintSetup();
         printSetup.setLandscape(true);
+        return sh;
+    }
 
-        // Create header
-        Row header = sh.createRow(row++);
+    protected void writeExcelHeader(SXSSFSheet sh, Map<String, CellStyle> styles, DataSet dataSet) {
+        int columnCount = dataSet.getColumns().size();
+        Row header = sh.createRow(0);
         header.setHeightInPoints(20f);
         for (int i = 0; i < columnCount; i++) {
             Cell cell = header.createCell(i);
             cell.setCellStyle(styles.get("header"));
             cell.setCellValue(dataSet.getColumnByIndex(i).getId());
         }
+    }
 
-        // Create data rows
-        for (; row < rowCount; row++) {
-            Row _row = sh.createRow(row);
+    /**
+     * Appends the data set rows to the sheet, starting at the given sheet row.
+     * @return The sheet row next to the last one written
+     */
+    protected int writeExcelRows(SXSSFSheet sh, Map<String, CellStyle> styles, DataSet dataSet, int firstRow) {
+        int columnCount = dataSet.getColumns().size();
+        int rowCount = dataSet.getRowCount();
+        for (int rc = 0; rc < rowCount; rc++) {
+            Row _row = sh.createRow(firstRow + rc);
             for (int cellnum = 0; cellnum < columnCount; cellnum++) {
                 Cell cell = _row.createCell(cellnum);
-                Object value = dataSet.getValueAt(row - 1,
+                Object value = dataSet.getValueAt(rc,
                         cellnum);
                 if (value instanceof Short || value instanceof Long || value instanceof Integer ||
                     value instanceof BigInteger) {
@@ -258,12 +385,28 @@ public class DataSetExportServicesImpl implements DataSetExportServices {
                 }
             }
         }
+        return firstRow + rowCount;
+    }
 
-        // Adjust column size
+    protected void autoSizeColumns(SXSSFSheet sh, int columnCount) {
+        // Columns are tracked since the sheet creation, so the rows already flushed to disk are also considered
         for (int i = 0; i < columnCount; i++) {
             sh.autoSizeColumn(i);
         }
-        return wb;
+    }
+
+    protected void writeWorkbook(SXSSFWorkbook wb, OutputStream os) throws IOException {
+        wb.write(os);
+        os.flush();
+    }
+
+    /**
+     * Dispose of the temporary files backing the workbook on disk, whether it's been written or not.
+     */
+    protected void dispose(SXSSFWorkbook wb) {
+        if (!wb.dispose()) {
+            log.warn("Could not dispose of temporary file associated to data export!");
+        }
     }
 
     private String formatAsString(Object value) {
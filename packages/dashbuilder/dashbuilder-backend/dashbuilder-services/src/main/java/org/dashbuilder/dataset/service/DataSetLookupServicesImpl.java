@@ -25,6 +25,7 @@ import javax.servlet.ServletContext;
 import org.dashbuilder.DataSetCore;
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetDefDeployerCDI;
+import org.dashbuilder.dataset.DataSetFactory;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetManagerCDI;
 import org.dashbuilder.dataset.DataSetMetadata;
@@ -76,7 +77,7 @@ public class DataSetLookupServicesImpl implements DataSetLookupServices {
     public DataSet lookupDataSet(DataSetLookup lookup) throws Exception {
         DataSet _d = null;
         try {
-            _d = dataSetManager.lookupDataSet(lookup);
+            _d = DataSetFactory.newPortableDataSet(dataSetManager.lookupDataSet(lookup));
         } catch (DataSetLookupException e) {
             throw exceptionManager.handleException(e);
         }
@@ -92,8 +93,8 @@ public class DataSetLookupServicesImpl implements DataSetLookupServices {
                 def.setUUID(uuid);
                 lookup.setDataSetUUID(uuid);
             }
-            return dataSetManager.resolveProvider(def)
-                    .lookupDataSet(def, lookup);
+            return DataSetFactory.newPortableDataSet(dataSetManager.resolveProvider(def)
+                    .lookupDataSet(def, lookup));
         } catch (Exception e) {
             throw exceptionManager.handleException(e);
         }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.rest;
+
+import org.dashbuilder.dataset.DataSetLookup;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DataSetExportResourceTest {
+
+    DataSetExportResource dataSetExportResource = new DataSetExportResource();
+
+    @Test
+    public void testAttachment() {
+        assertEquals("attachment; filename=\"sales.csv\"; filename*=UTF-8''sales.csv",
+                dataSetExportResource.attachment(new DataSetLookup("sales"), "csv"));
+    }
+
+    @Test
+    public void testAttachmentEscaped() {
+        assertEquals("attachment; filename=\"a_ _b_c_.xlsx\"; filename*=UTF-8''a%22%20%5Cb%0Dc%C3%A9.xlsx",
+                dataSetExportResource.attachment(new DataSetLookup("a\" \\b\rc\u00e9"), "xlsx"));
+    }
+
+    @Test
+    public void testAttachmentNoUuid() {
+        assertEquals("attachment; filename=\"export.csv\"; filename*=UTF-8''export.csv",
+                dataSetExportResource.attachment(new DataSetLookup(), "csv"));
+    }
+}
@@ -1,7 +1,15 @@
 package org.dashbuilder.dataset.service;
 
+import java.io.ByteArrayOutputStream;
+import java.util.function.Consumer;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.dashbuilder.dataset.DataSet;
+
 import org.dashbuilder.dataset.DataSetDefRegistryCDI;
 import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
 import org.dashbuilder.dataset.DataSetManagerCDI;
 import org.dashbuilder.exception.ExceptionManager;
 import org.dashbuilder.project.storage.impl.ProjectStorageServicesImpl;
@@ -14,6 +22,14 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DataSetExportServicesTest {
@@ -112,4 +128,62 @@ public class DataSetExportServicesTest {
         assertEquals("", secondRow.getCell(1).getStringCellValue());
         assertEquals("", secondRow.getCell(2).getStringCellValue());
     }
+
+    @Test
+    public void exportLookupToCSVInPages() throws Exception {
+        var exporter = new DataSetExportServicesImpl(dataSetManagerM,
+                new ProjectStorageServicesImpl(),
+                exceptionManagerM);
+        exporter.setExportPageSize(2);
+
+        var dataSet = DataSetFactory.newDataSetBuilder()
+                .label("Name")
+                .number("Age")
+                .row("a", 1d)
+                .row("b", 2d)
+                .row("c", 3d).buildDataSet();
+        doAnswer(invocation -> {
+            int pageSize = invocation.getArgument(1);
+            Consumer<DataSet> pageConsumer = invocation.getArgument(2);
+            for (int offset = 0; offset < dataSet.getRowCount(); offset += pageSize) {
+                pageConsumer.accept(dataSet.trim(offset, pageSize));
+            }
+            return null;
+        }).when(dataSetManagerM).lookupDataSet(any(DataSetLookup.class), anyInt(), any());
+
+        var os = new ByteArrayOutputStream();
+        exporter.exportDataSetCSV(DataSetLookupFactory.newDataSetLookupBuilder().dataset("test").buildLookup(), os);
+
+        // Header plus the rows of a full and a partial page
+        var lines = os.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("\"Name\";\"Age\"", lines[0]);
+        assertEquals("\"a\";\"1\"", lines[1]);
+        assertEquals("\"c\";\"3\"", lines[3]);
+        verify(dataSetManagerM, times(1)).lookupDataSet(any(DataSetLookup.class), anyInt(), any());
+    }
+
+    @Test
+    public void excelWorkbookDisposedOnError() throws Exception {
+        var disposed = new boolean[1];
+        var exporter = new DataSetExportServicesImpl(dataSetManagerM,
+                new ProjectStorageServicesImpl(),
+                exceptionManagerM) {
+
+            @Override
+            protected void dispose(SXSSFWorkbook wb) {
+                disposed[0] = true;
+                super.dispose(wb);
+            }
+        };
+        doThrow(new IllegalStateException("DB down"))
+                .when(dataSetManagerM).lookupDataSet(any(DataSetLookup.class), anyInt(), any());
+        try {
+            exporter.exportDataSetExcel(DataSetLookupFactory.newDataSetLookupBuilder().dataset("test").buildLookup(),
+                    new ByteArrayOutputStream());
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            assertTrue(disposed[0]);
+        }
+    }
 }
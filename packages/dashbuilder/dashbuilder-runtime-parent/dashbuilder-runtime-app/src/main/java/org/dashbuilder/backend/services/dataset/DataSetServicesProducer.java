@@ -17,11 +17,13 @@
 package org.dashbuilder.backend.services.dataset;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
 
 import org.dashbuilder.DataSetCore;
 import org.dashbuilder.backend.services.dataset.provider.RuntimeDataSetProviderRegistry;
 import org.dashbuilder.backend.services.dataset.provider.RuntimeSQLDataSourceLocator;
+import org.dashbuilder.dataprovider.DataSetSampler;
 import org.dashbuilder.dataprovider.StaticDataSetProvider;
 import org.dashbuilder.dataprovider.csv.CSVDataSetProvider;
 import org.dashbuilder.dataprovider.csv.CSVFileStorage;
@@ -56,6 +58,11 @@ public class DataSetServicesProducer {
         return new StaticDataSetProvider(DataSetCore.get().getSharedDataSetOpEngine());
     }
 
+    public void disposeStaticDataSetProvider(@Disposes StaticDataSetProvider staticDataSetProvider) {
+        // Stops the pool behind the shared op engine
+        DataSetCore.get().shutdown();
+    }
+
     @Produces
     @ApplicationScoped
     public SQLDataSetProvider produceSQLDataSetProvider(StaticDataSetProvider staticDataSetProvider,
@@ -71,14 +78,24 @@ public class DataSetServicesProducer {
 
     @Produces
     @ApplicationScoped
-    public PrometheusDataSetProvider producePrometheusProvider(StaticDataSetProvider staticDataSetProvider) {
-        return new PrometheusDataSetProvider(staticDataSetProvider);
+    public PrometheusDataSetProvider producePrometheusProvider(StaticDataSetProvider staticDataSetProvider,
+                                                               Scheduler scheduler) {
+        return new PrometheusDataSetProvider(staticDataSetProvider, new DataSetSampler(staticDataSetProvider, scheduler));
+    }
+
+    public void disposePrometheusProvider(@Disposes PrometheusDataSetProvider prometheusDataSetProvider) {
+        prometheusDataSetProvider.shutdown();
     }
 
     @Produces
     @ApplicationScoped
-    public KafkaDataSetProvider produceKafkaProvider(StaticDataSetProvider staticDataSetProvider) {
-        return new KafkaDataSetProvider(staticDataSetProvider);
+    public KafkaDataSetProvider produceKafkaProvider(StaticDataSetProvider staticDataSetProvider,
+                                                     Scheduler scheduler) {
+        return new KafkaDataSetProvider(staticDataSetProvider, new DataSetSampler(staticDataSetProvider, scheduler));
+    }
+
+    public void disposeKafkaProvider(@Disposes KafkaDataSetProvider kafkaDataSetProvider) {
+        kafkaDataSetProvider.shutdown();
     }
 
     @Produces
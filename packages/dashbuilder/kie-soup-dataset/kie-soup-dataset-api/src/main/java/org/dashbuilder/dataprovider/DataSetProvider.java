@@ -15,6 +15,8 @@
  */
 package org.dashbuilder.dataprovider;
 
+import java.util.function.Consumer;
+
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetMetadata;
@@ -72,6 +74,24 @@ public interface DataSetProvider {
      */
     DataSet lookupDataSet(DataSetDef def, DataSetLookup lookup) throws Exception;
 
+    /**
+     * Same as {@link #lookupDataSet(DataSetDef, DataSetLookup)} but handing the results over to the consumer in
+     * pages of, at most, the given number of rows, so the whole result does not need to be in memory at once.
+     * All the pages belong to the very same snapshot of the data set. The first page is always delivered, even if
+     * empty, so the consumer gets to know the columns.
+     *
+     * <p>Providers able to iterate through the results should override this method. By default, the whole
+     * lookup result is delivered as a single page.</p>
+     *
+     * @param def The data set definition lookup request
+     * @param lookup The lookup request over the data set.
+     * @param pageSize The max. number of rows per page
+     * @param pageConsumer The consumer of every page. A null page means the data set does not exist.
+     */
+    default void lookupDataSet(DataSetDef def, DataSetLookup lookup, int pageSize, Consumer<DataSet> pageConsumer) throws Exception {
+        pageConsumer.accept(lookupDataSet(def, lookup));
+    }
+
     /**
      * Check if the specified data set definition is outdated. This means that the data set might have been updated at
      * origin. When this happens, any data hold by the provider can be considered stale and a refresh is needed.
@@ -18,6 +18,7 @@ package org.dashbuilder.dataset;
 import org.dashbuilder.dataset.def.DataSetDefBuilder;
 import org.dashbuilder.dataset.impl.BeanDataSetDefBuilderImpl;
 import org.dashbuilder.dataset.impl.CSVDataSetDefBuilderImpl;
+import org.dashbuilder.dataset.impl.ColumnarDataSetImpl;
 import org.dashbuilder.dataset.impl.DataSetBuilderImpl;
 import org.dashbuilder.dataset.impl.DataSetImpl;
 import org.dashbuilder.dataset.impl.DataSetLookupBuilderImpl;
@@ -33,6 +34,31 @@ public final class DataSetFactory {
         return new DataSetImpl();
     }
 
+    /**
+     * Build an empty data set which keeps its columns in a primitive-typed columnar layout.
+     */
+    public static DataSet newColumnarDataSet() {
+        return new ColumnarDataSetImpl();
+    }
+
+    /**
+     * Build a columnar copy of the given data set.
+     */
+    public static DataSet newColumnarDataSet(DataSet dataSet) {
+        return ColumnarDataSetImpl.from(dataSet);
+    }
+
+    /**
+     * Get a data set which can be marshalled, as columnar data sets can't. Columnar data sets are copied into
+     * plain lists, any other data set is returned as is.
+     */
+    public static DataSet newPortableDataSet(DataSet dataSet) {
+        if (dataSet instanceof ColumnarDataSetImpl) {
+            return ((ColumnarDataSetImpl) dataSet).toDataSetImpl();
+        }
+        return dataSet;
+    }
+
     public static DataSetBuilder newDataSetBuilder() {
         return new DataSetBuilderImpl();
     }
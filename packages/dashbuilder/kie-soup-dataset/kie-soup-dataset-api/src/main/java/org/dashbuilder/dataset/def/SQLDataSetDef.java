@@ -43,6 +43,8 @@ public class SQLDataSetDef extends DataSetDef {
     
     protected boolean estimateSize = true;
 
+    protected String watermarkColumn;
+
     public SQLDataSetDef() {
         super.setProvider(DataSetProviderType.SQL);
     }
@@ -103,6 +105,20 @@ public class SQLDataSetDef extends DataSetDef {
         return estimateSize;
     }
 
+    public String getWatermarkColumn() {
+        return watermarkColumn;
+    }
+
+    /**
+     * Enables the incremental refresh of cached append-only data sets. On every refresh, only the rows
+     * whose watermark value is greater than the last one fetched are retrieved and appended to the cache.
+     *
+     * @param watermarkColumn A column whose values always increase as new rows are inserted (an id or a timestamp).
+     */
+    public void setWatermarkColumn(String watermarkColumn) {
+        this.watermarkColumn = watermarkColumn;
+    }
+
     @Override
     public boolean equals(Object obj) {
         try {
@@ -125,6 +141,9 @@ public class SQLDataSetDef extends DataSetDef {
             if(estimateSize != other.estimateSize){
                 return false;
             }
+            if (watermarkColumn != null && !watermarkColumn.equals(other.watermarkColumn)) {
+                return false;
+            }
             return true;
         } catch (ClassCastException e) {
             return false;
@@ -149,6 +168,7 @@ public class SQLDataSetDef extends DataSetDef {
         def.setDbTable(getDbTable());
         def.setDbSQL(getDbSQL());
         def.setEstimateSize(isEstimateSize());
+        def.setWatermarkColumn(getWatermarkColumn());
         return def;
     }
 
@@ -171,6 +191,7 @@ public class SQLDataSetDef extends DataSetDef {
         out.append("Cache enabled=").append(cacheEnabled).append("\n");
         out.append("Cache max rows=").append(cacheMaxRows).append(" Kb\n");
         out.append("Estimate size=").append(estimateSize).append("\n");
+        if (watermarkColumn != null) out.append("Watermark column=").append(watermarkColumn).append("\n");
         return out.toString();
     }
 }
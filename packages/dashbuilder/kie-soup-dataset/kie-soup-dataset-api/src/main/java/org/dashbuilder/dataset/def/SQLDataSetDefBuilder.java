@@ -67,4 +67,13 @@ public interface SQLDataSetDefBuilder<T extends DataSetDefBuilder> extends DataS
      * @return The DataSetDefBuilder instance that is being used to configure a DataSetDef.
      */
     T dbSQL(String dbSQL, boolean allColumns);
+
+    /**
+     * Enables the incremental refresh of the cached data set rows.
+     *
+     * @param watermarkColumn An always increasing column (an id or a timestamp). On every refresh,
+     * only the rows beyond the last watermark fetched are retrieved and appended to the cache.
+     * @return The DataSetDefBuilder instance that is being used to configure a DataSetDef.
+     */
+    T watermarkColumn(String watermarkColumn);
 }
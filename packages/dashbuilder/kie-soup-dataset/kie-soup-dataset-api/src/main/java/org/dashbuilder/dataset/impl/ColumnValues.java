@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.util.AbstractList;
+import java.util.Collection;
+
+import org.dashbuilder.dataset.ColumnType;
+
+/**
+ * Base class for the primitive-typed value stores used by the columnar data set implementation.
+ * <p>Every store keeps its values in a growable primitive array and exposes them through the regular
+ * <code>java.util.List</code> contract, so existing consumers of {@link org.dashbuilder.dataset.DataColumn#getValues()}
+ * keep working unchanged. Values are boxed only when read through {@link #get(int)}.</p>
+ */
+public abstract class ColumnValues extends AbstractList {
+
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    protected int size = 0;
+
+    /**
+     * Creates an empty store suitable for the given column type.
+     */
+    public static ColumnValues newColumnValues(ColumnType type) {
+        if (ColumnType.NUMBER.equals(type)) {
+            return new DoubleColumnValues();
+        }
+        if (ColumnType.DATE.equals(type)) {
+            return new DateColumnValues();
+        }
+        return new DictionaryColumnValues();
+    }
+
+    /**
+     * Creates a store suitable for the given column type and populates it with the given values.
+     */
+    public static ColumnValues newColumnValues(ColumnType type, Collection values) {
+        ColumnValues result = newColumnValues(type);
+        if (values != null) {
+            result.ensureCapacity(values.size());
+            result.addAll(values);
+        }
+        return result;
+    }
+
+    /**
+     * @return The column type this store is able to hold.
+     */
+    public abstract ColumnType getColumnType();
+
+    /**
+     * @return true if this store is able to hold the values of a column of the given type.
+     */
+    public boolean supports(ColumnType type) {
+        return getColumnType().equals(type);
+    }
+
+    /**
+     * @return The estimated memory (in bytes) consumed by this store.
+     */
+    public abstract long getEstimatedSize();
+
+    /**
+     * Make sure the store is able to hold the given number of values without further reallocations.
+     */
+    public abstract void ensureCapacity(int capacity);
+
+    /**
+     * Get a brand new store with the same content.
+     */
+    public abstract ColumnValues cloneInstance();
+
+    /**
+     * Append all the values of another store of the same kind at the end of this one.
+     */
+    public void appendAll(ColumnValues other) {
+        addAll(other);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Object value) {
+        add(size, value);
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection values) {
+        ensureCapacity(size + values.size());
+        return super.addAll(values);
+    }
+
+    protected int growCapacity(int currentCapacity, int requiredCapacity) {
+        int newCapacity = currentCapacity + (currentCapacity >> 1);
+        if (newCapacity < requiredCapacity) {
+            newCapacity = requiredCapacity;
+        }
+        return newCapacity < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : newCapacity;
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    protected void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+
+/**
+ * A data column which keeps its values in a primitive-typed {@link ColumnValues} store.
+ * <ul>
+ *     <li>NUMBER columns: <code>double[]</code></li>
+ *     <li>DATE columns: <code>long[]</code> (epoch millis)</li>
+ *     <li>LABEL &amp; TEXT columns: dictionary encoded <code>int[]</code></li>
+ * </ul>
+ * <p>Any list set through {@link #setValues(List)} is copied into a store of the proper type.</p>
+ */
+public class ColumnarDataColumnImpl extends DataColumnImpl {
+
+    public ColumnarDataColumnImpl() {
+        super();
+        values = ColumnValues.newColumnValues(columnType);
+    }
+
+    public ColumnarDataColumnImpl(String id, ColumnType columnType) {
+        super(id, columnType);
+        values = ColumnValues.newColumnValues(columnType);
+    }
+
+    /**
+     * Create a columnar copy (definition &amp; values) of the given column.
+     */
+    public static ColumnarDataColumnImpl from(DataColumn column) {
+        if (column instanceof ColumnarDataColumnImpl) {
+            return (ColumnarDataColumnImpl) column.cloneInstance();
+        }
+        ColumnarDataColumnImpl result = new ColumnarDataColumnImpl(column.getId(), column.getColumnType());
+        if (column.getColumnGroup() != null) result.setColumnGroup(column.getColumnGroup().cloneInstance());
+        result.setIntervalType(column.getIntervalType());
+        result.setMinValue(column.getMinValue());
+        result.setMaxValue(column.getMaxValue());
+        if (column.getGroupFunction() != null) result.setGroupFunction(column.getGroupFunction().cloneInstance());
+        result.setValues(column.getValues());
+        return result;
+    }
+
+    public ColumnValues getColumnValues() {
+        return (ColumnValues) values;
+    }
+
+    @Override
+    public void setColumnType(ColumnType columnType) {
+        super.setColumnType(columnType);
+        if (values != null && !getColumnValues().supports(columnType)) {
+            values = ColumnValues.newColumnValues(columnType, values);
+        }
+    }
+
+    @Override
+    public void setValues(List values) {
+        if (values instanceof ColumnValues && ((ColumnValues) values).supports(columnType)) {
+            this.values = values;
+        } else {
+            this.values = ColumnValues.newColumnValues(columnType, values);
+        }
+    }
+
+    /**
+     * Create a copy of this column which keeps its values in a plain list. Only such columns are marshalled,
+     * the primitive-typed stores are not.
+     */
+    public DataColumnImpl toDataColumnImpl() {
+        DataColumnImpl result = new DataColumnImpl(getId(), getColumnType());
+        if (columnGroup != null) result.setColumnGroup(columnGroup.cloneInstance());
+        result.setIntervalType(getIntervalType());
+        result.setMinValue(getMinValue());
+        result.setMaxValue(getMaxValue());
+        if (groupFunction != null) result.setGroupFunction(groupFunction.cloneInstance());
+        result.setValues(new ArrayList(values));
+        return result;
+    }
+
+    public long getEstimatedSize() {
+        return getColumnValues().getEstimatedSize();
+    }
+
+    @Override
+    protected DataColumnImpl newInstance() {
+        return new ColumnarDataColumnImpl();
+    }
+
+    @Override
+    public DataColumn cloneInstance() {
+        ColumnarDataColumnImpl otherCol = (ColumnarDataColumnImpl) cloneEmpty();
+        otherCol.setValues(getColumnValues().cloneInstance());
+        return otherCol;
+    }
+}
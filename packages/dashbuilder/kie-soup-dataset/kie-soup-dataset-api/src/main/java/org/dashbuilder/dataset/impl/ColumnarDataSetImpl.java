@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+
+/**
+ * A data set implementation which stores every column in a primitive-typed, columnar layout
+ * (see {@link ColumnarDataColumnImpl}). It's a drop-in replacement for {@link DataSetImpl}, since
+ * all the values are still accessible through the regular {@link DataSet} &amp; {@link DataColumn} interfaces.
+ */
+public class ColumnarDataSetImpl extends DataSetImpl {
+
+    /**
+     * Create a columnar copy of the given data set.
+     */
+    public static ColumnarDataSetImpl from(DataSet dataSet) {
+        ColumnarDataSetImpl result = new ColumnarDataSetImpl();
+        result.setUUID(dataSet.getUUID());
+        result.setDefinition(dataSet.getDefinition());
+        result.setCreationDate(dataSet.getCreationDate());
+        result.setColumns(dataSet.getColumns());
+        if (dataSet.getRowCountNonTrimmed() != dataSet.getRowCount()) {
+            result.setRowCountNonTrimmed(dataSet.getRowCountNonTrimmed());
+        }
+        return result;
+    }
+
+    /**
+     * Create a copy of this data set which keeps its values in plain lists. Only such data sets are marshalled,
+     * the primitive-typed stores are not.
+     * @see org.dashbuilder.dataset.DataSetFactory#newPortableDataSet(DataSet)
+     */
+    public DataSetImpl toDataSetImpl() {
+        DataSetImpl result = new DataSetImpl();
+        result.setUUID(getUUID());
+        result.setDefinition(getDefinition());
+        result.setCreationDate(getCreationDate());
+        for (DataColumnImpl column : columns) {
+            DataColumnImpl c = ((ColumnarDataColumnImpl) column).toDataColumnImpl();
+            c.setDataSet(result);
+            result.addColumn(c);
+        }
+        result.setRowCountNonTrimmed(rowCountNonTrimmed);
+        return result;
+    }
+
+    @Override
+    public void setColumns(List<DataColumn> columnList) {
+        columns.clear();
+        for (DataColumn column : columnList) {
+            addColumn(column);
+        }
+    }
+
+    @Override
+    public DataSet addColumn(String id, ColumnType type, List values) {
+        ColumnarDataColumnImpl c = new ColumnarDataColumnImpl(id, type);
+        c.setDataSet(this);
+        if (values != null) c.setValues(values);
+        columns.add(c);
+        return this;
+    }
+
+    @Override
+    public DataSet addColumn(DataColumn column) {
+        ColumnarDataColumnImpl c = column instanceof ColumnarDataColumnImpl ? (ColumnarDataColumnImpl) column : ColumnarDataColumnImpl.from(column);
+        c.setDataSet(this);
+        columns.add(c);
+        return this;
+    }
+
+    @Override
+    public ColumnarDataSetImpl cloneEmpty() {
+        ColumnarDataSetImpl other = new ColumnarDataSetImpl();
+        for (int i=0; i<columns.size(); i++) {
+            other.addColumn(columns.get(i).cloneEmpty());
+        }
+        return other;
+    }
+
+    @Override
+    public ColumnarDataSetImpl cloneInstance() {
+        ColumnarDataSetImpl other = new ColumnarDataSetImpl();
+        for (int i=0; i<columns.size(); i++) {
+            other.addColumn(columns.get(i).cloneInstance());
+        }
+        return other;
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        if (getRowCount() == 0) return 0;
+
+        long result = 0;
+        for (DataColumnImpl column : columns) {
+            result += ((ColumnarDataColumnImpl) column).getEstimatedSize();
+        }
+        return result;
+    }
+}
@@ -116,7 +116,7 @@ public class DataColumnImpl implements DataColumn {
     }
 
     public DataColumn cloneEmpty() {
-        DataColumnImpl otherCol = new DataColumnImpl();
+        DataColumnImpl otherCol = newInstance();
         otherCol.setId(getId());
         otherCol.setColumnType(getColumnType());
         if (columnGroup != null) otherCol.setColumnGroup(columnGroup.cloneInstance());
@@ -127,6 +127,13 @@ public class DataColumnImpl implements DataColumn {
         return otherCol;
     }
 
+    /**
+     * Create an empty column of the same implementation as this one.
+     */
+    protected DataColumnImpl newInstance() {
+        return new DataColumnImpl();
+    }
+
     public DataColumn cloneInstance() {
         DataColumnImpl otherCol = (DataColumnImpl) cloneEmpty();
         otherCol.setValues(new ArrayList(values));
@@ -355,7 +355,7 @@ public class DataSetImpl implements DataSet {
             if (other == null) {
                 return false;
             }
-            if (getEstimatedSize() != other.getEstimatedSize()) {
+            if (getValuesEstimatedSize() != other.getValuesEstimatedSize()) {
                 return false;
             }
             if (columns.size() != other.columns.size()) {
@@ -373,6 +373,14 @@ public class DataSetImpl implements DataSet {
     }
 
     public long getEstimatedSize() {
+        return getValuesEstimatedSize();
+    }
+
+    /**
+     * Estimates the memory of the data set values as plain java objects, no matter how the subclasses
+     * actually store them, so data sets holding the same values get the same estimation.
+     */
+    protected long getValuesEstimatedSize() {
         int nrows = getRowCount();
         if (nrows == 0) return 0;
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.util.Date;
+
+import org.dashbuilder.dataset.ColumnType;
+
+/**
+ * Value store for DATE columns backed by a <code>long[]</code> of epoch milliseconds.
+ * <p>Nulls are stored as <code>Long.MIN_VALUE</code>.</p>
+ */
+public class DateColumnValues extends ColumnValues {
+
+    public static final long NULL_TIME = Long.MIN_VALUE;
+
+    protected long[] values;
+
+    public DateColumnValues() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DateColumnValues(int capacity) {
+        values = new long[capacity];
+    }
+
+    public ColumnType getColumnType() {
+        return ColumnType.DATE;
+    }
+
+    /**
+     * Get the epoch milliseconds at the given position ({@link #NULL_TIME} for nulls).
+     */
+    public long getTime(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    public Object get(int index) {
+        long time = getTime(index);
+        return time == NULL_TIME ? null : new Date(time);
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        Object old = get(index);
+        values[index] = toTime(value);
+        return old;
+    }
+
+    @Override
+    public void add(int index, Object value) {
+        checkPositionIndex(index);
+        long time = toTime(value);
+        ensureCapacity(size + 1);
+        if (index < size) {
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+        values[index] = time;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Append the given epoch milliseconds ({@link #NULL_TIME} for nulls) at the end of the list without boxing it.
+     */
+    public void addTime(long time) {
+        ensureCapacity(size + 1);
+        values[size++] = time;
+        modCount++;
+    }
+
+    @Override
+    public void appendAll(ColumnValues other) {
+        if (!(other instanceof DateColumnValues)) {
+            super.appendAll(other);
+            return;
+        }
+        DateColumnValues that = (DateColumnValues) other;
+        ensureCapacity(size + that.size);
+        System.arraycopy(that.values, 0, values, size, that.size);
+        size += that.size;
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object old = get(index);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(values, index + 1, values, index, moved);
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            long[] newValues = new long[growCapacity(values.length, capacity)];
+            System.arraycopy(values, 0, newValues, 0, size);
+            values = newValues;
+        }
+    }
+
+    public long getEstimatedSize() {
+        return MemSizeEstimator.sizeOfInteger + (long) values.length * 8;
+    }
+
+    public ColumnValues cloneInstance() {
+        DateColumnValues other = new DateColumnValues(Math.max(size, DEFAULT_CAPACITY));
+        System.arraycopy(values, 0, other.values, 0, size);
+        other.size = size;
+        return other;
+    }
+
+    protected long toTime(Object value) {
+        if (value == null) {
+            return NULL_TIME;
+        }
+        try {
+            return ((Date) value).getTime();
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Not a java.util.Date: " + value + " (" + value.getClass().getName() + ")");
+        }
+    }
+}
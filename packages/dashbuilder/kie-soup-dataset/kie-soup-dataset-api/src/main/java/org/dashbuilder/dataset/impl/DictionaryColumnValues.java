@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dashbuilder.dataset.ColumnType;
+
+/**
+ * Value store for LABEL and TEXT columns. Every distinct value is kept only once in a dictionary and
+ * the rows hold an <code>int[]</code> of dictionary codes. Values are stored as given, so the few
+ * non-string values some providers put in label columns are read back with their original type.
+ * <p>Nulls are stored as the code {@link #NULL_CODE}. Dictionary entries are never discarded, even if
+ * the rows referencing them are removed.</p>
+ */
+public class DictionaryColumnValues extends ColumnValues {
+
+    public static final int NULL_CODE = -1;
+
+    protected int[] codes;
+    protected List<Object> dictionary = new ArrayList<Object>();
+    protected transient Map<Object, Integer> codeMap = null;
+
+    public DictionaryColumnValues() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DictionaryColumnValues(int capacity) {
+        codes = new int[capacity];
+    }
+
+    public ColumnType getColumnType() {
+        return ColumnType.LABEL;
+    }
+
+    @Override
+    public boolean supports(ColumnType type) {
+        return ColumnType.LABEL.equals(type) || ColumnType.TEXT.equals(type);
+    }
+
+    /**
+     * Get the dictionary code at the given position ({@link #NULL_CODE} for nulls).
+     */
+    public int getCode(int index) {
+        checkIndex(index);
+        return codes[index];
+    }
+
+    /**
+     * Get the value for the given dictionary code.
+     */
+    public Object getValue(int code) {
+        return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    /**
+     * @return The number of distinct non-null values ever stored.
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    @Override
+    public Object get(int index) {
+        return getValue(getCode(index));
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        Object old = get(index);
+        codes[index] = encode(value);
+        return old;
+    }
+
+    @Override
+    public void add(int index, Object value) {
+        checkPositionIndex(index);
+        int code = encode(value);
+        ensureCapacity(size + 1);
+        if (index < size) {
+            System.arraycopy(codes, index, codes, index + 1, size - index);
+        }
+        codes[index] = code;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Append the codes of another dictionary store, translating them into this store's dictionary.
+     */
+    @Override
+    public void appendAll(ColumnValues other) {
+        if (!(other instanceof DictionaryColumnValues)) {
+            super.appendAll(other);
+            return;
+        }
+        DictionaryColumnValues that = (DictionaryColumnValues) other;
+        int[] mapping = new int[that.dictionary.size()];
+        for (int i = 0; i < mapping.length; i++) {
+            mapping[i] = encode(that.dictionary.get(i));
+        }
+        ensureCapacity(size + that.size);
+        for (int i = 0; i < that.size; i++) {
+            int code = that.codes[i];
+            codes[size++] = code == NULL_CODE ? NULL_CODE : mapping[code];
+        }
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object old = get(index);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(codes, index + 1, codes, index, moved);
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        dictionary.clear();
+        codeMap = null;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > codes.length) {
+            int[] newCodes = new int[growCapacity(codes.length, capacity)];
+            System.arraycopy(codes, 0, newCodes, 0, size);
+            codes = newCodes;
+        }
+    }
+
+    public long getEstimatedSize() {
+        long result = MemSizeEstimator.sizeOfInteger + (long) codes.length * 4;
+        for (Object value : dictionary) {
+            // The dictionary list & the code map entries
+            long valueSize = value instanceof String ? MemSizeEstimator.sizeOfString((String) value) : MemSizeEstimator.sizeOf(value);
+            result += valueSize + MemSizeEstimator.sizeOfInteger + 8;
+        }
+        return result;
+    }
+
+    public ColumnValues cloneInstance() {
+        DictionaryColumnValues other = new DictionaryColumnValues(Math.max(size, DEFAULT_CAPACITY));
+        System.arraycopy(codes, 0, other.codes, 0, size);
+        other.dictionary.addAll(dictionary);
+        other.size = size;
+        return other;
+    }
+
+    protected int encode(Object value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Map<Object, Integer> map = getCodeMap();
+        Integer code = map.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            map.put(value, code);
+        }
+        return code;
+    }
+
+    protected Map<Object, Integer> getCodeMap() {
+        if (codeMap == null) {
+            codeMap = new HashMap<Object, Integer>();
+            for (int i = 0; i < dictionary.size(); i++) {
+                codeMap.put(dictionary.get(i), i);
+            }
+        }
+        return codeMap;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.util.Arrays;
+
+import org.dashbuilder.dataset.ColumnType;
+
+/**
+ * Value store for NUMBER columns backed by a <code>double[]</code>.
+ * <p>Null values are tracked in a separate flag array which is only allocated once the first null is stored.</p>
+ * <p>Only the numbers a <code>double</code> holds exactly can be stored, see {@link #toDouble(Object)}.</p>
+ */
+public class DoubleColumnValues extends ColumnValues {
+
+    // Longs up to 2^53 are converted to double without loss
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    protected double[] values;
+    protected boolean[] nulls = null;
+
+    public DoubleColumnValues() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DoubleColumnValues(int capacity) {
+        values = new double[capacity];
+    }
+
+    public ColumnType getColumnType() {
+        return ColumnType.NUMBER;
+    }
+
+    /**
+     * Get the primitive value at the given position (0 for nulls).
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public boolean isNull(int index) {
+        checkIndex(index);
+        return nulls != null && nulls[index];
+    }
+
+    public boolean hasNulls() {
+        if (nulls == null) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (nulls[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        return values[index];
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        Object old = get(index);
+        store(index, value);
+        return old;
+    }
+
+    @Override
+    public void add(int index, Object value) {
+        checkPositionIndex(index);
+        // Reject unsupported values before shifting any
+        if (value != null) {
+            toDouble(value);
+        }
+        ensureCapacity(size + 1);
+        if (index < size) {
+            System.arraycopy(values, index, values, index + 1, size - index);
+            if (nulls != null) {
+                System.arraycopy(nulls, index, nulls, index + 1, size - index);
+            }
+        }
+        size++;
+        store(index, value);
+        modCount++;
+    }
+
+    /**
+     * Append a primitive value at the end of the list without boxing it.
+     */
+    public void addDouble(double value) {
+        ensureCapacity(size + 1);
+        if (nulls != null) {
+            nulls[size] = false;
+        }
+        values[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Append a null value at the end of the list.
+     */
+    public void addNull() {
+        ensureCapacity(size + 1);
+        if (nulls == null) {
+            nulls = new boolean[values.length];
+        }
+        nulls[size] = true;
+        values[size++] = 0;
+        modCount++;
+    }
+
+    @Override
+    public void appendAll(ColumnValues other) {
+        if (!(other instanceof DoubleColumnValues)) {
+            super.appendAll(other);
+            return;
+        }
+        DoubleColumnValues that = (DoubleColumnValues) other;
+        ensureCapacity(size + that.size);
+        System.arraycopy(that.values, 0, values, size, that.size);
+        if (that.nulls != null) {
+            if (nulls == null) {
+                nulls = new boolean[values.length];
+            }
+            System.arraycopy(that.nulls, 0, nulls, size, that.size);
+        } else if (nulls != null) {
+            Arrays.fill(nulls, size, size + that.size, false);
+        }
+        size += that.size;
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object old = get(index);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(values, index + 1, values, index, moved);
+            if (nulls != null) {
+                System.arraycopy(nulls, index + 1, nulls, index, moved);
+            }
+        }
+        size--;
+        if (nulls != null) {
+            nulls[size] = false;
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nulls = null;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            int newCapacity = growCapacity(values.length, capacity);
+            double[] newValues = new double[newCapacity];
+            System.arraycopy(values, 0, newValues, 0, size);
+            values = newValues;
+            if (nulls != null) {
+                boolean[] newNulls = new boolean[newCapacity];
+                System.arraycopy(nulls, 0, newNulls, 0, size);
+                nulls = newNulls;
+            }
+        }
+    }
+
+    public long getEstimatedSize() {
+        long result = MemSizeEstimator.sizeOfInteger + (long) values.length * 8;
+        if (nulls != null) {
+            result += nulls.length;
+        }
+        return result;
+    }
+
+    public ColumnValues cloneInstance() {
+        DoubleColumnValues other = new DoubleColumnValues(Math.max(size, DEFAULT_CAPACITY));
+        System.arraycopy(values, 0, other.values, 0, size);
+        if (nulls != null) {
+            other.nulls = new boolean[other.values.length];
+            System.arraycopy(nulls, 0, other.nulls, 0, size);
+        }
+        other.size = size;
+        return other;
+    }
+
+    protected void store(int index, Object value) {
+        if (value == null) {
+            if (nulls == null) {
+                nulls = new boolean[values.length];
+            }
+            nulls[index] = true;
+            values[index] = 0d;
+        } else {
+            values[index] = toDouble(value);
+            if (nulls != null) {
+                nulls[index] = false;
+            }
+        }
+    }
+
+    /**
+     * Only the numbers a <code>double</code> holds exactly are supported. Any other value is rejected rather than
+     * silently converted.
+     */
+    protected double toDouble(Object value) {
+        if (value instanceof Double || value instanceof Float || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Long && Math.abs((Long) value) <= MAX_EXACT_LONG) {
+            return ((Long) value).doubleValue();
+        }
+        throw new IllegalArgumentException("Not a supported number: " + value + " (" + value.getClass().getName() + ")");
+    }
+}
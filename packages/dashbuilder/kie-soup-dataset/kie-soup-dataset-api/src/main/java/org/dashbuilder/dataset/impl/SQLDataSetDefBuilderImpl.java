@@ -51,4 +51,9 @@ public class SQLDataSetDefBuilderImpl extends AbstractDataSetDefBuilder<SQLDataS
         ((SQLDataSetDef) def).setEstimateSize(estimateSize);
         return this;
     }
+
+    public SQLDataSetDefBuilderImpl watermarkColumn(String watermarkColumn) {
+        ((SQLDataSetDef) def).setWatermarkColumn(watermarkColumn);
+        return this;
+    }
 }
@@ -39,10 +39,10 @@ public class ExternalDataSetJSONParser {
 
     private static final String DEFAULT_COLUMN_ID = "";
     private static final String NUMBER_OF_ROWS = "numberOfRows";
-    private static final String COLUMNS = "columns";
+    protected static final String COLUMNS = "columns";
     private static final String COLUMN_ID = "id";
     private static final String COLUMN_TYPE = "type";
-    private static final String VALUES = "values";
+    protected static final String VALUES = "values";
 
     private static final String COLUMN_PREFIX = "Column ";
     private static final ColumnType DEFAULT_COLUMN_TYPE = ColumnType.LABEL;
@@ -122,17 +122,30 @@ public class ExternalDataSetJSONParser {
             if (isMatrix) {
                 row = dataSetArray.getArray(0);
             }
-            for (int i = 0; i < row.length(); i++) {
-                var columnId = COLUMN_PREFIX + i;
-                var value = row.get(i).asString();
-                var type = findValueType(value);
-                dataSet.addColumn(columnId, type);
-            }
+            addColumnsFromRow(dataSet, row);
+        }
+    }
+
+    /**
+     * Add a column for every value of the given row, guessing its type from the value.
+     */
+    protected void addColumnsFromRow(DataSet dataSet, JsonArray row) {
+        for (int i = 0; i < row.length(); i++) {
+            var columnId = COLUMN_PREFIX + i;
+            var value = row.get(i).asString();
+            var type = findValueType(value);
+            dataSet.addColumn(columnId, type);
         }
     }
 
     private void addColumns(DataSet dataSet, JsonObject dataSetObject) {
-        var columnsArray = dataSetObject.getArray(COLUMNS);
+        addColumns(dataSet, dataSetObject.getArray(COLUMNS));
+    }
+
+    /**
+     * Add the columns declared in the given array of column definitions.
+     */
+    protected void addColumns(DataSet dataSet, JsonArray columnsArray) {
         if (columnsArray != null) {
             for (int i = 0; i < columnsArray.length(); i++) {
                 var dataColumn = columnsArray.getObject(i);
@@ -144,7 +157,7 @@ public class ExternalDataSetJSONParser {
 
     }
 
-    private void addValues(DataSet dataSet, JsonArray valuesArray) {
+    protected void addValues(DataSet dataSet, JsonArray valuesArray) {
         if (valuesArray != null && valuesArray.length() > 0) {
             if (dataSet.getColumns().size() == 0 && valuesArray.length() != 0) {
                 throw new IllegalArgumentException("DataSet is missing columns.");
@@ -162,7 +175,7 @@ public class ExternalDataSetJSONParser {
         }
     }
 
-    private void fillRow(DataSet dataSet, int rowIndex, JsonArray row) {
+    protected void fillRow(DataSet dataSet, int rowIndex, JsonArray row) {
         for (int j = 0; j < row.length(); j++) {
             var column = dataSet.getColumnByIndex(j);
             var value = row.get(j);
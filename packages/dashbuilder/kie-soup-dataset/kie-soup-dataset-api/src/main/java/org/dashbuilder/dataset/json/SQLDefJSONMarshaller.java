@@ -29,6 +29,7 @@ public class SQLDefJSONMarshaller implements DataSetDefJSONMarshallerExt<SQLData
     public static final String DB_SCHEMA = "dbSchema";
     public static final String DB_TABLE = "dbTable";
     public static final String DB_SQL = "dbSQL";
+    public static final String WATERMARK_COLUMN = "watermarkColumn";
 
     @Override
     public void fromJson(SQLDataSetDef def, JsonObject json) {
@@ -36,6 +37,7 @@ public class SQLDefJSONMarshaller implements DataSetDefJSONMarshallerExt<SQLData
         String dbTable = json.getString(DB_TABLE);
         String dbSchema = json.getString(DB_SCHEMA);
         String dbSQL = json.getString(DB_SQL);
+        String watermarkColumn = json.getString(WATERMARK_COLUMN);
 
         if (!isBlank(dataSource)) {
             def.setDataSource(dataSource);
@@ -49,6 +51,9 @@ public class SQLDefJSONMarshaller implements DataSetDefJSONMarshallerExt<SQLData
         if (!isBlank(dbSQL)) {
             def.setDbSQL(dbSQL);
         }
+        if (!isBlank(watermarkColumn)) {
+            def.setWatermarkColumn(watermarkColumn);
+        }
     }
 
     @Override
@@ -69,6 +74,11 @@ public class SQLDefJSONMarshaller implements DataSetDefJSONMarshallerExt<SQLData
             json.put(DB_SQL, dataSetDef.getDbSQL());
         }
 
+        // Incremental refresh.
+        if (dataSetDef.getWatermarkColumn() != null) {
+            json.put(WATERMARK_COLUMN, dataSetDef.getWatermarkColumn());
+        }
+
         // All columns flag.
         json.put(ALL_COLUMNS, dataSetDef.isAllColumnsEnabled());
     }
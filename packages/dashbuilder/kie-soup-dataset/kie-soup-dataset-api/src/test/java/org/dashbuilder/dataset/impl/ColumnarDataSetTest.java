@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.ExpenseReportsData;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_AMOUNT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_CITY;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DATE;
+
+public class ColumnarDataSetTest {
+
+    @Test
+    public void testColumnStores() {
+        DataSet dataSet = DataSetFactory.newColumnarDataSet()
+                .addColumn("label", ColumnType.LABEL)
+                .addColumn("number", ColumnType.NUMBER)
+                .addColumn("date", ColumnType.DATE)
+                .addColumn("text", ColumnType.TEXT);
+
+        assertThat(dataSet.getColumnByIndex(0).getValues()).isInstanceOf(DictionaryColumnValues.class);
+        assertThat(dataSet.getColumnByIndex(1).getValues()).isInstanceOf(DoubleColumnValues.class);
+        assertThat(dataSet.getColumnByIndex(2).getValues()).isInstanceOf(DateColumnValues.class);
+        assertThat(dataSet.getColumnByIndex(3).getValues()).isInstanceOf(DictionaryColumnValues.class);
+    }
+
+    @Test
+    public void testValues() {
+        Date date = new Date();
+        DataSet dataSet = DataSetFactory.newColumnarDataSet()
+                .addColumn("label", ColumnType.LABEL)
+                .addColumn("number", ColumnType.NUMBER)
+                .addColumn("date", ColumnType.DATE);
+
+        dataSet.addValues("A", 1, date);
+        dataSet.addValues("B", 2.5d, null);
+        dataSet.addValues(null, null, date);
+        dataSet.addValuesAt(0, "A", "3", date);
+
+        assertThat(dataSet.getRowCount()).isEqualTo(4);
+        assertThat(dataSet.getValueAt(0, 0)).isEqualTo("A");
+        assertThat(dataSet.getValueAt(0, 1)).isEqualTo(3d);
+        assertThat(dataSet.getValueAt(1, 1)).isEqualTo(1d);
+        assertThat(dataSet.getValueAt(2, 1)).isEqualTo(2.5d);
+        assertThat(dataSet.getValueAt(2, 2)).isNull();
+        assertThat(dataSet.getValueAt(3, 0)).isNull();
+        assertThat(dataSet.getValueAt(3, 1)).isNull();
+        assertThat(dataSet.getValueAt(3, 2)).isEqualTo(date);
+
+        dataSet.setValueAt(3, 1, 7d);
+        assertThat(dataSet.getValueAt(3, 1)).isEqualTo(7d);
+
+        DictionaryColumnValues labels = (DictionaryColumnValues) dataSet.getColumnByIndex(0).getValues();
+        assertThat(labels.getDictionarySize()).isEqualTo(2);
+        assertThat(labels.getCode(0)).isEqualTo(labels.getCode(1));
+        assertThat(labels.getCode(3)).isEqualTo(DictionaryColumnValues.NULL_CODE);
+
+        DataColumn numbers = dataSet.getColumnByIndex(1);
+        numbers.getValues().remove(0);
+        assertThat(numbers.getValues()).containsExactly(1d, 2.5d, 7d);
+    }
+
+    @Test
+    public void testFromBoxedDataSet() throws Exception {
+        DataSet boxed = ExpenseReportsData.INSTANCE.toDataSet();
+        DataSet columnar = DataSetFactory.newColumnarDataSet(boxed);
+
+        assertThat(columnar).isInstanceOf(ColumnarDataSetImpl.class);
+        assertThat(columnar.getRowCount()).isEqualTo(boxed.getRowCount());
+        assertThat(columnar.getColumns().size()).isEqualTo(boxed.getColumns().size());
+        for (int i = 0; i < boxed.getColumns().size(); i++) {
+            assertThat(columnar.getColumnByIndex(i).getValues()).isEqualTo(boxed.getColumnByIndex(i).getValues());
+        }
+        assertThat(columnar.getEstimatedSize()).isLessThan(boxed.getEstimatedSize());
+    }
+
+    @Test
+    public void testEqualsBoxedDataSet() throws Exception {
+        DataSet boxed = ExpenseReportsData.INSTANCE.toDataSet();
+        DataSet columnar = DataSetFactory.newColumnarDataSet(boxed);
+
+        assertThat(columnar).isEqualTo(boxed);
+        assertThat(boxed).isEqualTo(columnar);
+    }
+
+    @Test
+    public void testNonStringLabels() {
+        DictionaryColumnValues labels = new DictionaryColumnValues();
+        labels.addAll(Arrays.asList(1, "1", 1));
+
+        assertThat(labels).containsExactly(1, "1", 1);
+        assertThat(labels.getDictionarySize()).isEqualTo(2);
+    }
+
+    @Test
+    public void testTrimAndClone() throws Exception {
+        DataSet columnar = DataSetFactory.newColumnarDataSet(ExpenseReportsData.INSTANCE.toDataSet());
+
+        DataSet trimmed = columnar.trim(Arrays.asList(5, 1, 3));
+        assertThat(trimmed).isInstanceOf(ColumnarDataSetImpl.class);
+        assertThat(trimmed.getRowCount()).isEqualTo(3);
+        assertThat(trimmed.getRowCountNonTrimmed()).isEqualTo(columnar.getRowCount());
+        assertThat(trimmed.getValueAt(0, COLUMN_AMOUNT)).isEqualTo(columnar.getValueAt(5, COLUMN_AMOUNT));
+        assertThat(trimmed.getValueAt(2, COLUMN_CITY)).isEqualTo(columnar.getValueAt(3, COLUMN_CITY));
+
+        DataSet clone = columnar.cloneInstance();
+        clone.setValueAt(0, 5, -1d);
+        assertThat(clone).isInstanceOf(ColumnarDataSetImpl.class);
+        assertThat(clone.getValueAt(0, COLUMN_DATE)).isEqualTo(columnar.getValueAt(0, COLUMN_DATE));
+        assertThat(columnar.getValueAt(0, COLUMN_AMOUNT)).isNotEqualTo(-1d);
+    }
+
+    @Test
+    public void testColumnTypeChange() {
+        DataSet dataSet = DataSetFactory.newColumnarDataSet()
+                .addColumn("value", ColumnType.LABEL);
+        dataSet.getColumnByIndex(0).setValues(Arrays.asList(1, 2.5d));
+
+        DataColumn column = dataSet.getColumnByIndex(0);
+        column.setColumnType(ColumnType.NUMBER);
+        assertThat(column.getValues()).isInstanceOf(DoubleColumnValues.class);
+        assertThat(column.getValues()).containsExactly(1d, 2.5d);
+    }
+
+    @Test
+    public void testUnsupportedNumbers() {
+        DoubleColumnValues numbers = new DoubleColumnValues();
+        numbers.addAll(Arrays.asList(1, 2L, 3f, (short) 4, (byte) 5, 6d, null));
+        assertThat(numbers).containsExactly(1d, 2d, 3d, 4d, 5d, 6d, null);
+
+        assertThatThrownBy(() -> numbers.add(new BigDecimal("0.1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> numbers.add(Long.MAX_VALUE)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> numbers.add("1")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(numbers).hasSize(7);
+    }
+
+    @Test
+    public void testPortableDataSet() throws Exception {
+        DataSet boxed = ExpenseReportsData.INSTANCE.toDataSet();
+        assertThat(DataSetFactory.newPortableDataSet(boxed)).isSameAs(boxed);
+
+        DataSet columnar = DataSetFactory.newColumnarDataSet(boxed).trim(2, 10);
+        DataSet portable = DataSetFactory.newPortableDataSet(columnar);
+        assertThat(portable.getClass()).isEqualTo(DataSetImpl.class);
+        assertThat(portable).isEqualTo(columnar);
+        assertThat(portable.getRowCountNonTrimmed()).isEqualTo(boxed.getRowCount());
+        for (DataColumn column : portable.getColumns()) {
+            assertThat(column.getClass()).isEqualTo(DataColumnImpl.class);
+            assertThat(column.getValues().getClass()).isEqualTo(ArrayList.class);
+            assertThat(column.getDataSet()).isSameAs(portable);
+        }
+    }
+
+    @Test
+    public void testAppendAll() {
+        DoubleColumnValues numbers = new DoubleColumnValues();
+        numbers.addDouble(1d);
+        DoubleColumnValues otherNumbers = new DoubleColumnValues();
+        otherNumbers.addNull();
+        otherNumbers.addDouble(2d);
+        numbers.appendAll(otherNumbers);
+        assertThat(numbers).containsExactly(1d, null, 2d);
+
+        Date date = new Date();
+        DateColumnValues dates = new DateColumnValues();
+        dates.addTime(DateColumnValues.NULL_TIME);
+        DateColumnValues otherDates = new DateColumnValues();
+        otherDates.addTime(date.getTime());
+        dates.appendAll(otherDates);
+        assertThat(dates).containsExactly(null, date);
+
+        DictionaryColumnValues labels = new DictionaryColumnValues();
+        labels.addAll(Arrays.asList("A", "B"));
+        DictionaryColumnValues otherLabels = new DictionaryColumnValues();
+        otherLabels.addAll(Arrays.asList("C", null, "A"));
+        labels.appendAll(otherLabels);
+        assertThat(labels).containsExactly("A", "B", "C", null, "A");
+        assertThat(labels.getDictionarySize()).isEqualTo(3);
+        assertThat(labels.getCode(4)).isEqualTo(labels.getCode(0));
+    }
+}
@@ -50,6 +50,16 @@ public abstract class DataSetCore extends AbstractDataSetCore {
 
     public abstract int getDataSetPushMaxSize();
 
+    public abstract boolean isDataSetColumnarStorageEnabled();
+
+    public abstract boolean isDataSetParallelExecutionEnabled();
+
+    public abstract int getDataSetParallelism();
+
+    public abstract int getDataSetParallelMinPartitionSize();
+
+    public abstract long getDataSetIndexMaxSize();
+
     public abstract Scheduler getScheduler();
 
     public abstract DataSetDefRegistry getDataSetDefRegistry();
@@ -70,6 +80,16 @@ public abstract class DataSetCore extends AbstractDataSetCore {
 
     public abstract void setDataSetPushMaxSize(int dataSetPushMaxSize);
 
+    public abstract void setDataSetColumnarStorageEnabled(boolean dataSetColumnarStorageEnabled);
+
+    public abstract void setDataSetParallelExecutionEnabled(boolean dataSetParallelExecutionEnabled);
+
+    public abstract void setDataSetParallelism(int dataSetParallelism);
+
+    public abstract void setDataSetParallelMinPartitionSize(int dataSetParallelMinPartitionSize);
+
+    public abstract void setDataSetIndexMaxSize(long dataSetIndexMaxSize);
+
     public abstract void setScheduler(Scheduler scheduler);
 
     public abstract void setDataSetDefRegistry(DataSetDefRegistry dataSetDefRegistry);
@@ -85,6 +105,11 @@ public abstract class DataSetCore extends AbstractDataSetCore {
     public abstract void setIntervalBuilderDynamicDate(IntervalBuilderDynamicDate intervalBuilderDynamicDate);
 
     public abstract void setDataSetDefJSONMarshaller(DataSetDefJSONMarshaller dataSetDefJSONMarshaller);
+
+    /**
+     * Releases the resources (threads, pools) held by the core subsystems.
+     */
+    public abstract void shutdown();
 }
 
 
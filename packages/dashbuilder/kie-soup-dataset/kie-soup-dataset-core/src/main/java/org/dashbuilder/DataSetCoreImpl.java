@@ -24,12 +24,18 @@ import org.dashbuilder.dataset.DataSetDefDeployer;
 import org.dashbuilder.dataset.DataSetDefRegistryImpl;
 import org.dashbuilder.dataset.DataSetManager;
 import org.dashbuilder.dataset.DataSetManagerImpl;
+import org.dashbuilder.dataset.ForkJoinTaskExecutor;
 import org.dashbuilder.dataset.IntervalBuilderDynamicDate;
 import org.dashbuilder.dataset.IntervalBuilderLocatorImpl;
 import org.dashbuilder.dataset.UUIDGeneratorImpl;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.dataset.engine.Chronometer;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.filter.DataSetFilterAlgorithm;
+import org.dashbuilder.dataset.engine.filter.DefaultFilterAlgorithm;
 import org.dashbuilder.dataset.engine.group.IntervalBuilderLocator;
+import org.dashbuilder.dataset.engine.index.BoundedDataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.index.spi.DataSetIndexRegistry;
 import org.dashbuilder.dataset.json.DataSetDefJSONMarshaller;
 import org.dashbuilder.dataset.uuid.UUIDGenerator;
 import org.dashbuilder.scheduler.Scheduler;
@@ -40,6 +46,11 @@ public class DataSetCoreImpl extends DataSetCore {
     private static final String DATA_SET_DEF_REGISTRY = "DataSetDefRegistry";
     private boolean dataSetPushEnabled = false;
     private int dataSetPushMaxSize = 1024;
+    private boolean dataSetColumnarStorageEnabled = false;
+    private boolean dataSetParallelExecutionEnabled = false;
+    private int dataSetParallelism = Runtime.getRuntime().availableProcessors();
+    private int dataSetParallelMinPartitionSize = 50000;
+    private long dataSetIndexMaxSize = 0;
     private Scheduler scheduler;
     private DataSetDefRegistry dataSetDefRegistry;
     private DataSetProviderRegistry dataSetProviderRegistry;
@@ -50,6 +61,7 @@ public class DataSetCoreImpl extends DataSetCore {
     private IntervalBuilderLocatorImpl intervalBuilderLocator;
     private IntervalBuilderDynamicDate intervalBuilderDynamicDate;
     private ChronometerImpl chronometerImpl;
+    private ForkJoinTaskExecutor taskExecutor;
     private UUIDGeneratorImpl uuidGeneratorImpl;
     private DataSetDefJSONMarshaller dataSetDefJSONMarshaller;
 
@@ -75,6 +87,23 @@ public class DataSetCoreImpl extends DataSetCore {
         return getUUIDGeneratorImpl();
     }
 
+    @Override
+    public SharedDataSetOpEngine newSharedDataSetOpEngine() {
+        SharedDataSetOpEngine engine = super.newSharedDataSetOpEngine();
+        engine.setTaskExecutor(checkNotNull(getTaskExecutor(), "DataSetTaskExecutor"));
+        return engine;
+    }
+
+    @Override
+    public DataSetIndexRegistry newIndexRegistry() {
+        return new BoundedDataSetIndexRegistry(checkNotNull(getUuidGenerator(), "UUIDGenerator"), dataSetIndexMaxSize);
+    }
+
+    @Override
+    public DataSetFilterAlgorithm newFilterAlgorithm() {
+        return new DefaultFilterAlgorithm(checkNotNull(getTaskExecutor(), "DataSetTaskExecutor"));
+    }
+
     // Getters
 
     public boolean isDataSetPushEnabled() {
@@ -85,6 +114,26 @@ public class DataSetCoreImpl extends DataSetCore {
         return dataSetPushMaxSize;
     }
 
+    public boolean isDataSetColumnarStorageEnabled() {
+        return dataSetColumnarStorageEnabled;
+    }
+
+    public boolean isDataSetParallelExecutionEnabled() {
+        return dataSetParallelExecutionEnabled;
+    }
+
+    public int getDataSetParallelism() {
+        return dataSetParallelism;
+    }
+
+    public int getDataSetParallelMinPartitionSize() {
+        return dataSetParallelMinPartitionSize;
+    }
+
+    public long getDataSetIndexMaxSize() {
+        return dataSetIndexMaxSize;
+    }
+
     public DataSetManagerImpl getDataSetManagerImpl() {
         if (dataSetManagerImpl == null) {
             dataSetManagerImpl = new DataSetManagerImpl(
@@ -135,6 +184,7 @@ public class DataSetCoreImpl extends DataSetCore {
         if (staticDataSetProvider == null) {
             staticDataSetProvider = new StaticDataSetProvider(
                     checkNotNull(getSharedDataSetOpEngine(), "SharedDataSetOpEngine"));
+            staticDataSetProvider.setColumnarStorageEnabled(dataSetColumnarStorageEnabled);
         }
         return staticDataSetProvider;
     }
@@ -171,6 +221,21 @@ public class DataSetCoreImpl extends DataSetCore {
         return chronometerImpl;
     }
 
+    public ForkJoinTaskExecutor getTaskExecutor() {
+        if (taskExecutor == null) {
+            taskExecutor = new ForkJoinTaskExecutor(dataSetParallelExecutionEnabled,
+                    dataSetParallelism, dataSetParallelMinPartitionSize);
+        }
+        return taskExecutor;
+    }
+
+    @Override
+    public void shutdown() {
+        if (taskExecutor != null) {
+            taskExecutor.shutdown();
+        }
+    }
+
     public UUIDGeneratorImpl getUUIDGeneratorImpl() {
         if (uuidGeneratorImpl == null) {
             uuidGeneratorImpl = new UUIDGeneratorImpl();
@@ -197,6 +262,42 @@ public class DataSetCoreImpl extends DataSetCore {
         this.dataSetPushMaxSize = dataSetPushMaxSize;
     }
 
+    public void setDataSetColumnarStorageEnabled(boolean dataSetColumnarStorageEnabled) {
+        this.dataSetColumnarStorageEnabled = dataSetColumnarStorageEnabled;
+        if (staticDataSetProvider != null) {
+            staticDataSetProvider.setColumnarStorageEnabled(dataSetColumnarStorageEnabled);
+        }
+    }
+
+    public void setDataSetParallelExecutionEnabled(boolean dataSetParallelExecutionEnabled) {
+        this.dataSetParallelExecutionEnabled = dataSetParallelExecutionEnabled;
+        if (taskExecutor != null) {
+            taskExecutor.setEnabled(dataSetParallelExecutionEnabled);
+        }
+    }
+
+    public void setDataSetParallelism(int dataSetParallelism) {
+        this.dataSetParallelism = dataSetParallelism;
+        if (taskExecutor != null) {
+            taskExecutor.setParallelism(dataSetParallelism);
+        }
+    }
+
+    public void setDataSetParallelMinPartitionSize(int dataSetParallelMinPartitionSize) {
+        this.dataSetParallelMinPartitionSize = dataSetParallelMinPartitionSize;
+        if (taskExecutor != null) {
+            taskExecutor.setMinPartitionSize(dataSetParallelMinPartitionSize);
+        }
+    }
+
+    public void setDataSetIndexMaxSize(long dataSetIndexMaxSize) {
+        this.dataSetIndexMaxSize = dataSetIndexMaxSize;
+        DataSetIndexRegistry indexRegistry = getIndexRegistry();
+        if (indexRegistry instanceof BoundedDataSetIndexRegistry) {
+            ((BoundedDataSetIndexRegistry) indexRegistry).setMaxSize(dataSetIndexMaxSize);
+        }
+    }
+
     public void setScheduler(Scheduler scheduler) {
         this.scheduler = scheduler;
     }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.date.TimeAmount;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.impl.ColumnarDataColumnImpl;
+import org.dashbuilder.dataset.impl.ColumnarDataSetImpl;
+import org.dashbuilder.scheduler.Scheduler;
+import org.dashbuilder.scheduler.SchedulerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples data sets in background, one task per data set definition, instead of fetching them again on every lookup.
+ * <p>The last samples taken are kept in a fixed size ring buffer of columnar data sets, whose contents are registered
+ * into the {@link StaticDataSetProvider}, so all the lookups are served from the same data set (and its indexes).
+ * Every new sample overwrites the oldest slot once the ring is full. The registered data set is then patched
+ * accordingly, its indexes included, by dropping the rows of the overwritten sample and appending the new ones.</p>
+ * <p>Only the definitions with the cache enabled and a refresh time are sampled, being the refresh time the
+ * sampling interval. The sampling of a definition stops after {@link #getMaxIdleSamples()} samples with no
+ * lookups in between.</p>
+ */
+public class DataSetSampler {
+
+    public static final int DEFAULT_HISTORY_SIZE = 10;
+    public static final int DEFAULT_MAX_IDLE_SAMPLES = 20;
+
+    private Logger log = LoggerFactory.getLogger(DataSetSampler.class);
+
+    protected StaticDataSetProvider staticDataSetProvider;
+    protected Scheduler scheduler;
+    protected Map<String, SamplingTask> samplingTasks = new ConcurrentHashMap<>();
+    private int historySize = DEFAULT_HISTORY_SIZE;
+    private int maxIdleSamples = DEFAULT_MAX_IDLE_SAMPLES;
+
+    public DataSetSampler(StaticDataSetProvider staticDataSetProvider, Scheduler scheduler) {
+        this.staticDataSetProvider = staticDataSetProvider;
+        this.scheduler = scheduler;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * The number of samples kept in the buffer. By default, the last {@value #DEFAULT_HISTORY_SIZE}.
+     * Only the sampling started afterwards are affected.
+     */
+    public void setHistorySize(int historySize) {
+        if (historySize < 1) {
+            throw new IllegalArgumentException("The history size must be greater than zero");
+        }
+        this.historySize = historySize;
+    }
+
+    public int getMaxIdleSamples() {
+        return maxIdleSamples;
+    }
+
+    /**
+     * The number of samples taken with no lookups in between before the sampling stops.
+     */
+    public void setMaxIdleSamples(int maxIdleSamples) {
+        this.maxIdleSamples = maxIdleSamples;
+    }
+
+    public boolean isSampled(DataSetDef def) {
+        return def.isCacheEnabled() && getSamplingMillis(def) > 0;
+    }
+
+    public boolean isSampling(String uuid) {
+        return samplingTasks.containsKey(uuid);
+    }
+
+    /**
+     * Lookup a data set from its sample buffer. The first lookup starts the sampling and waits for the first sample.
+     * @param source Takes a new sample. If it is {@link Closeable} it is closed once the sampling stops.
+     */
+    public DataSet lookupDataSet(DataSetDef def, DataSetLookup lookup, Callable<DataSet> source) throws Exception {
+        SamplingTask task = samplingTasks.computeIfAbsent(def.getUUID(), uuid -> startSampling(def, source));
+        task.idleSamples = 0;
+        task.ensureSampled();
+        DataSet dataSet = staticDataSetProvider.lookupDataSet(def, lookup);
+        if (dataSet == null) {
+            // Removed from the static provider in between
+            task.sample();
+            dataSet = staticDataSetProvider.lookupDataSet(def, lookup);
+        }
+        return dataSet;
+    }
+
+    public void stopSampling(String uuid) {
+        SamplingTask task = samplingTasks.remove(uuid);
+        if (task != null) {
+            task.stop();
+        }
+    }
+
+    public void stopAll() {
+        for (String uuid : samplingTasks.keySet()) {
+            stopSampling(uuid);
+        }
+    }
+
+    protected SamplingTask startSampling(DataSetDef def, Callable<DataSet> source) {
+        SamplingTask task = new SamplingTask(def, source, getSamplingMillis(def));
+        if (scheduler != null) {
+            scheduler.schedule(task, Math.max(1, task.intervalMillis / 1000));
+        }
+        return task;
+    }
+
+    protected long getSamplingMillis(DataSetDef def) {
+        String refreshTime = def.getRefreshTime();
+        if (refreshTime == null || refreshTime.trim().isEmpty()) {
+            return -1;
+        }
+        return TimeAmount.parse(refreshTime).toMillis();
+    }
+
+    protected class SamplingTask extends SchedulerTask {
+
+        DataSetDef def;
+        Callable<DataSet> source;
+        long intervalMillis;
+        DataSet[] samples = new DataSet[historySize];
+        int oldest = 0;
+        int count = 0;
+        volatile long lastSampleTime = 0;
+        volatile int idleSamples = 0;
+        boolean stopped = false;
+
+        public SamplingTask(DataSetDef def, Callable<DataSet> source, long intervalMillis) {
+            this.def = def;
+            this.source = source;
+            this.intervalMillis = intervalMillis;
+        }
+
+        @Override
+        public String getKey() {
+            return "Sample " + def.getUUID();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Sampling for DataSet Definition " + def.getName();
+        }
+
+        @Override
+        public void execute() {
+            if (++idleSamples > maxIdleSamples) {
+                log.debug("No lookups on data set {}, sampling stopped", def.getUUID());
+                samplingTasks.remove(def.getUUID(), this);
+                stop();
+                return;
+            }
+            try {
+                sample();
+            } catch (Exception e) {
+                log.warn("Error sampling data set {}: {}", def.getUUID(), e.getMessage());
+                log.debug("Error sampling data set", e);
+            }
+        }
+
+        /**
+         * Take a sample if there is none yet or if the background sampling is late (i.e: no scheduler available).
+         */
+        public synchronized void ensureSampled() throws Exception {
+            if (System.currentTimeMillis() - lastSampleTime > 2 * intervalMillis) {
+                sample();
+            }
+        }
+
+        public synchronized void sample() throws Exception {
+            DataSet sample = source.call();
+            if (stopped) {
+                return;
+            }
+            if (!(sample instanceof ColumnarDataSetImpl)) {
+                sample = DataSetFactory.newColumnarDataSet(sample);
+            }
+            if (count > 0 && !sameColumns(samples[(oldest + count - 1) % samples.length], sample)) {
+                Arrays.fill(samples, null);
+                oldest = 0;
+                count = 0;
+            }
+            int evictedRows = 0;
+            if (count == samples.length) {
+                evictedRows = samples[oldest].getRowCount();
+                samples[oldest] = sample;
+                oldest = (oldest + 1) % samples.length;
+            } else {
+                samples[(oldest + count++) % samples.length] = sample;
+            }
+            lastSampleTime = System.currentTimeMillis();
+
+            // The whole buffer is only registered when there is nothing registered to patch
+            String uuid = def.getUUID();
+            boolean first = count == 1 && evictedRows == 0;
+            if (first || !staticDataSetProvider.appendRows(uuid, sample, evictedRows)) {
+                DataSet buffer = samples[oldest].cloneEmpty();
+                for (int n = 0; n < count; n++) {
+                    DataSet s = samples[(oldest + n) % samples.length];
+                    for (int i = 0; i < s.getColumns().size(); i++) {
+                        ColumnarDataColumnImpl target = (ColumnarDataColumnImpl) buffer.getColumnByIndex(i);
+                        target.getColumnValues().appendAll(((ColumnarDataColumnImpl) s.getColumnByIndex(i)).getColumnValues());
+                    }
+                }
+                buffer.setUUID(uuid);
+                buffer.setDefinition(def);
+                staticDataSetProvider.registerDataSet(buffer);
+            }
+        }
+
+        public synchronized void stop() {
+            stopped = true;
+            if (scheduler != null) {
+                scheduler.unschedule(getKey());
+            }
+            cancel();
+            if (source instanceof Closeable) {
+                try {
+                    ((Closeable) source).close();
+                } catch (Exception e) {
+                    log.debug("Error closing the sampling source", e);
+                }
+            }
+            staticDataSetProvider.removeDataSet(def.getUUID());
+        }
+
+        private boolean sameColumns(DataSet dataSet, DataSet other) {
+            if (dataSet.getColumns().size() != other.getColumns().size()) {
+                return false;
+            }
+            for (int i = 0; i < dataSet.getColumns().size(); i++) {
+                DataColumn column = dataSet.getColumnByIndex(i);
+                DataColumn otherColumn = other.getColumnByIndex(i);
+                if (!column.getId().equals(otherColumn.getId()) || column.getColumnType() != otherColumn.getColumnType()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
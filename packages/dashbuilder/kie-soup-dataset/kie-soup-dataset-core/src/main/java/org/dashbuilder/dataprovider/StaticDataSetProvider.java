@@ -15,14 +15,20 @@
  */
 package org.dashbuilder.dataprovider;
 
+import java.util.function.Consumer;
+
 import org.apache.commons.lang3.StringUtils;
 import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetMetadata;
 import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
 import org.dashbuilder.dataset.engine.index.DataSetIndex;
 import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.impl.ColumnarDataSetImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * DataSetProvider implementation for static (in-memory) data sets.
@@ -36,7 +42,9 @@ import org.dashbuilder.dataset.filter.DataSetFilter;
  */
 public class StaticDataSetProvider implements DataSetProvider {
 
+    private Logger log = LoggerFactory.getLogger(StaticDataSetProvider.class);
     private SharedDataSetOpEngine dataSetOpEngine;
+    private boolean columnarStorageEnabled = false;
 
     public StaticDataSetProvider() {
     }
@@ -45,6 +53,19 @@ public class StaticDataSetProvider implements DataSetProvider {
         this.dataSetOpEngine = dataSetOpEngine;
     }
 
+    public boolean isColumnarStorageEnabled() {
+        return columnarStorageEnabled;
+    }
+
+    /**
+     * If enabled, every registered data set is kept in a primitive-typed columnar layout, unless any of its values
+     * is not supported by the columnar stores.
+     * @see DataSetFactory#newColumnarDataSet(DataSet)
+     */
+    public void setColumnarStorageEnabled(boolean columnarStorageEnabled) {
+        this.columnarStorageEnabled = columnarStorageEnabled;
+    }
+
     public DataSetProviderType getType() {
         return DataSetProviderType.STATIC;
     }
@@ -56,9 +77,35 @@ public class StaticDataSetProvider implements DataSetProvider {
     }
 
     public void registerDataSet(DataSet dataSet) {
+        if (columnarStorageEnabled && dataSet != null && !(dataSet instanceof ColumnarDataSetImpl)) {
+            try {
+                dataSet = DataSetFactory.newColumnarDataSet(dataSet);
+            } catch (IllegalArgumentException e) {
+                log.warn("Data set {} kept row by row, its values can't be stored in columns: {}", dataSet.getUUID(), e.getMessage());
+            }
+        }
         dataSetOpEngine.getIndexRegistry().put(dataSet);
     }
 
+    /**
+     * Append rows to a registered data set. Its indexes are patched rather than discarded.
+     * @return false if the data set is not registered
+     * @see SharedDataSetOpEngine#appendRows(String, DataSet)
+     */
+    public boolean appendRows(String uuid, DataSet rows) {
+        return dataSetOpEngine.appendRows(uuid, rows);
+    }
+
+    /**
+     * Append rows to a registered data set, dropping first the given number of leading rows.
+     * Its indexes are patched rather than discarded.
+     * @return false if the data set is not registered
+     * @see SharedDataSetOpEngine#appendRows(String, DataSet, int)
+     */
+    public boolean appendRows(String uuid, DataSet rows, int evictedRows) {
+        return dataSetOpEngine.appendRows(uuid, rows, evictedRows);
+    }
+
     public DataSet removeDataSet(String uuid) {
         DataSetIndex index = dataSetOpEngine.getIndexRegistry().remove(uuid);
         return (index == null ? null : index.getDataSet());
@@ -106,6 +153,33 @@ public class StaticDataSetProvider implements DataSetProvider {
         return dataSet;
     }
 
+    /**
+     * The lookup operations are applied (and indexed) just once on the data set currently registered, and the
+     * result is then handed over page by page.
+     */
+    @Override
+    public void lookupDataSet(DataSetDef def, DataSetLookup lookup, int pageSize, Consumer<DataSet> pageConsumer) {
+        DataSetLookup wholeLookup = lookup == null ? null : lookup.cloneInstance();
+        if (wholeLookup != null) {
+            wholeLookup.setRowOffset(0);
+            wholeLookup.setNumberOfRows(-1);
+        }
+        DataSet dataSet = lookupDataSet(def, wholeLookup);
+        if (dataSet == null) {
+            pageConsumer.accept(null);
+            return;
+        }
+        int offset = lookup == null ? 0 : Math.min(lookup.getRowOffset(), dataSet.getRowCount());
+        int end = lookup == null || lookup.getNumberOfRows() <= 0 ?
+                dataSet.getRowCount() : Math.min(dataSet.getRowCount(), offset + lookup.getNumberOfRows());
+        int size = Math.max(1, pageSize);
+        do {
+            int rows = Math.min(size, end - offset);
+            pageConsumer.accept(rows == 0 ? dataSet.cloneEmpty() : dataSet.trim(offset, rows));
+            offset += rows;
+        } while (offset < end);
+    }
+
     public boolean isDataSetOutdated(DataSetDef def) {
         return false;
     }
@@ -22,15 +22,21 @@ public class ChronometerImpl implements Chronometer {
     protected Long startTime;
     protected Long stopTime;
 
+    /**
+     * Start the timer. The returned mark is also safe to use as a local start time when the
+     * chronometer is shared between threads.
+     */
     public long start() {
-        startTime = System.nanoTime();
+        long time = System.nanoTime();
+        startTime = time;
         stopTime = null;
-        return startTime;
+        return time;
     }
 
     public long stop() {
-        stopTime = System.nanoTime();
-        return stopTime;
+        long time = System.nanoTime();
+        stopTime = time;
+        return time;
     }
 
     public long elapsedTime() {
@@ -16,11 +16,12 @@
 package org.dashbuilder.dataset;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.dashbuilder.dataprovider.DataSetProvider;
 import org.dashbuilder.dataprovider.DataSetProviderRegistry;
@@ -38,14 +39,18 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Data set definitions registry
+ * <p>Reads never block: the definitions are kept in a concurrent map and the listeners in a copy-on-write set.
+ * Writes are serialized, so the listeners get the events of a given definition in the same order they happen.</p>
  */
 public class DataSetDefRegistryImpl implements DataSetDefRegistry {
 
     protected Logger log = LoggerFactory.getLogger(DataSetDefRegistryImpl.class);
     protected DataSetProviderRegistry dataSetProviderRegistry;
     protected Scheduler scheduler;
-    protected Map<String, DataSetDefEntry> dataSetDefMap = new HashMap<>();
-    protected Set<DataSetDefRegistryListener> listenerSet = new HashSet<>();
+    protected Map<String, DataSetDefEntry> dataSetDefMap = new ConcurrentHashMap<>();
+    // The concurrent map does not accept null keys, so the definition with no uuid (if any) is kept apart
+    protected volatile DataSetDefEntry noUuidEntry;
+    protected Set<DataSetDefRegistryListener> listenerSet = new CopyOnWriteArraySet<>();
 
     public DataSetDefRegistryImpl() {
     }
@@ -76,11 +81,11 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
 
     protected class DataSetDefEntry extends SchedulerTask {
         DataSetDef def;
-        long lastRefreshTime;
+        volatile long lastRefreshTime;
         long refreshInMillis;
 
-        List<DataSetPreprocessor> preprocessors;
-        List<DataSetPostProcessor> postProcessors;
+        volatile List<DataSetPreprocessor> preprocessors;
+        volatile List<DataSetPostProcessor> postProcessors;
 
         public DataSetDefEntry(DataSetDef def) {
             this.def = def;
@@ -95,14 +100,14 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
 
         public void registerDataSetPreprocessor(DataSetPreprocessor preprocessor) {
             if (preprocessors == null) {
-                preprocessors = new ArrayList<>();
+                preprocessors = new CopyOnWriteArrayList<>();
             }
             preprocessors.add(preprocessor);
         }
 
         public void registerDataSetPostProcessor(DataSetPostProcessor postProcessor) {
             if (postProcessors == null) {
-                postProcessors = new ArrayList<>();
+                postProcessors = new CopyOnWriteArrayList<>();
             }
             postProcessors.add(postProcessor);
         }
@@ -169,9 +174,14 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
         throw new IllegalStateException("DataSetProvider not found: " + dataSetDef.getProvider());
     }
 
-    public synchronized List<DataSetDef> getDataSetDefs(boolean onlyPublic) {
+    public List<DataSetDef> getDataSetDefs(boolean onlyPublic) {
         List<DataSetDef> results = new ArrayList<>();
-        for (DataSetDefEntry r : dataSetDefMap.values()) {
+        List<DataSetDefEntry> entries = new ArrayList<>(dataSetDefMap.values());
+        DataSetDefEntry noUuid = noUuidEntry;
+        if (noUuid != null) {
+            entries.add(noUuid);
+        }
+        for (DataSetDefEntry r : entries) {
             if (!onlyPublic || r.def.isPublic()) {
                 results.add(r.def);
             }
@@ -179,14 +189,14 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
         return results;
     }
 
-    public synchronized DataSetDef getDataSetDef(String uuid) {
-        DataSetDefEntry record = dataSetDefMap.get(uuid);
+    public DataSetDef getDataSetDef(String uuid) {
+        DataSetDefEntry record = _getDataSetDefEntry(uuid);
         if (record == null) return null;
         return record.def;
     }
 
     public synchronized void registerPreprocessor(String uuid, DataSetPreprocessor preprocessor) {
-        DataSetDefEntry record = dataSetDefMap.get(uuid);
+        DataSetDefEntry record = _getDataSetDefEntry(uuid);
         if (record == null) {
             throw new IllegalStateException("DataSetDef not found: " + uuid);
         }
@@ -194,23 +204,23 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
     }
 
     public synchronized void registerPostProcessor(String uuid, DataSetPostProcessor postProcessor) {
-        DataSetDefEntry record = dataSetDefMap.get(uuid);
+        DataSetDefEntry record = _getDataSetDefEntry(uuid);
         if (record == null) {
             throw new IllegalStateException("DataSetDef not found: " + uuid);
         }
         record.registerDataSetPostProcessor(postProcessor);
     }
 
-    public synchronized List<DataSetPreprocessor> getDataSetDefPreProcessors(String uuid) {
-        DataSetDefEntry record = dataSetDefMap.get(uuid);
+    public List<DataSetPreprocessor> getDataSetDefPreProcessors(String uuid) {
+        DataSetDefEntry record = _getDataSetDefEntry(uuid);
         if (record == null) {
             return null;
         }
         return record.getDataSetPreprocessors();
     }
 
-    public synchronized List<DataSetPostProcessor> getDataSetDefPostProcessors(String uuid) {
-        DataSetDefEntry record = dataSetDefMap.get(uuid);
+    public List<DataSetPostProcessor> getDataSetDefPostProcessors(String uuid) {
+        DataSetDefEntry record = _getDataSetDefEntry(uuid);
         if (record == null) {
             return null;
         }
@@ -227,10 +237,12 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
 
     public synchronized void registerDataSetDef(DataSetDef newDef, String subjectId, String message) {
 
-        // Register the new entry
-        DataSetDefEntry oldEntry = _removeDataSetDef(newDef.getUUID());
-        dataSetDefMap.put(newDef.getUUID(), new DataSetDefEntry(newDef));
-        DataSetDefEntry newEntry = dataSetDefMap.get(newDef.getUUID());
+        // Register the new entry (replaced at once, so concurrent readers never miss the definition)
+        DataSetDefEntry newEntry = new DataSetDefEntry(newDef);
+        DataSetDefEntry oldEntry = _putDataSetDefEntry(newDef.getUUID(), newEntry);
+        if (oldEntry != null) {
+            _discardDataSetDef(oldEntry);
+        }
 
         // Notify the proper event
         if (oldEntry != null) {
@@ -254,17 +266,42 @@ public class DataSetDefRegistryImpl implements DataSetDefRegistry {
     }
 
     protected DataSetDefEntry _removeDataSetDef(String uuid) {
-        DataSetDefEntry oldEntry = dataSetDefMap.remove(uuid);
+        DataSetDefEntry oldEntry = _removeDataSetDefEntry(uuid);
         if (oldEntry == null) {
             return null;
         }
+        _discardDataSetDef(oldEntry);
+        return oldEntry;
+    }
+
+    protected DataSetDefEntry _getDataSetDefEntry(String uuid) {
+        return uuid == null ? noUuidEntry : dataSetDefMap.get(uuid);
+    }
+
+    protected DataSetDefEntry _putDataSetDefEntry(String uuid, DataSetDefEntry entry) {
+        if (uuid == null) {
+            DataSetDefEntry oldEntry = noUuidEntry;
+            noUuidEntry = entry;
+            return oldEntry;
+        }
+        return dataSetDefMap.put(uuid, entry);
+    }
 
+    protected DataSetDefEntry _removeDataSetDefEntry(String uuid) {
+        if (uuid == null) {
+            DataSetDefEntry oldEntry = noUuidEntry;
+            noUuidEntry = null;
+            return oldEntry;
+        }
+        return dataSetDefMap.remove(uuid);
+    }
+
+    protected void _discardDataSetDef(DataSetDefEntry oldEntry) {
         // Remove from the scheduler
         oldEntry.unschedule();
 
         // Make any data set reference stale
         oldEntry.stale();
-        return oldEntry;
     }
 
     @Override
@@ -16,6 +16,7 @@
 package org.dashbuilder.dataset;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.dashbuilder.dataprovider.DataSetProvider;
@@ -164,6 +165,43 @@ public class DataSetManagerImpl implements DataSetManager {
         }
     }
 
+    /**
+     * Resolve the lookup handing the results over to the consumer page by page, so the whole result does not need
+     * to be in memory at once (see {@link DataSetProvider#lookupDataSet(DataSetDef, DataSetLookup, int, Consumer)}).
+     * @param lookup The lookup request
+     * @param pageSize The max. number of rows per page
+     * @param pageConsumer The consumer of every page. A null page means the data set does not exist.
+     */
+    public void lookupDataSet(DataSetLookup lookup, int pageSize, Consumer<DataSet> pageConsumer) {
+        String uuid = lookup.getDataSetUUID();
+        if (StringUtils.isBlank(uuid)) {
+            pageConsumer.accept(null);
+            return;
+        }
+
+        DataSetDef dataSetDef = dataSetDefRegistry.getDataSetDef(uuid);
+        if (dataSetDef == null) {
+            throw new RuntimeException(DATA_SET_NOT_FOUND + uuid);
+        }
+        List<DataSetPreprocessor> dataSetDefPreProcessors = dataSetDefRegistry.getDataSetDefPreProcessors(uuid);
+        if (dataSetDefPreProcessors != null) {
+            for(DataSetPreprocessor p : dataSetDefPreProcessors){
+                p.preprocess(lookup);
+            }
+        }
+        try {
+            List<DataSetPostProcessor> dataSetDefPostProcessors = dataSetDefRegistry.getDataSetDefPostProcessors(uuid);
+            resolveProvider(dataSetDef).lookupDataSet(dataSetDef, lookup, pageSize, page -> {
+                if (page != null && dataSetDefPostProcessors != null) {
+                    dataSetDefPostProcessors.forEach(post -> post.postProcess(lookup, page));
+                }
+                pageConsumer.accept(page);
+            });
+        } catch (Exception e) {
+            throw new DataSetLookupException(uuid, "Can't lookup on specified data set: " + lookup.getDataSetUUID(), e);
+        }
+    }
+
     public DataSet[] lookupDataSets(DataSetLookup[] lookup) {
         DataSet[] result = new DataSet[lookup.length];
         for (int i = 0; i < lookup.length; i++) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.dashbuilder.dataset.engine.DataSetTaskExecutor;
+
+/**
+ * Task executor based on a fork/join pool. Operations are only split when they involve, at least, twice the
+ * minimum partition size rows.
+ */
+public class ForkJoinTaskExecutor implements DataSetTaskExecutor {
+
+    // Read by every lookup thread, while set from the configuration
+    private volatile boolean enabled;
+    private volatile int parallelism;
+    private volatile int minPartitionSize;
+    private ForkJoinPool pool;
+
+    public ForkJoinTaskExecutor(boolean enabled, int parallelism, int minPartitionSize) {
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public synchronized void setParallelism(int parallelism) {
+        if (this.parallelism != parallelism) {
+            this.parallelism = parallelism;
+            shutdown();
+        }
+    }
+
+    public int getMinPartitionSize() {
+        return minPartitionSize;
+    }
+
+    public void setMinPartitionSize(int minPartitionSize) {
+        this.minPartitionSize = minPartitionSize;
+    }
+
+    public int getPartitions(int rows) {
+        if (!enabled || parallelism < 2) {
+            return 1;
+        }
+        return Math.max(1, Math.min(parallelism, rows / Math.max(1, minPartitionSize)));
+    }
+
+    public void invokeAll(List<Runnable> tasks) {
+        if (!enabled || tasks.size() < 2) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        final List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            forkJoinTasks.add(ForkJoinTask.adapt(task));
+        }
+        // Nested calls are only forked when already running within this executor's pool
+        ForkJoinPool pool = getPool();
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(forkJoinTasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(forkJoinTasks);
+                }
+            });
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    protected synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.impl.ColumnValues;
+import org.dashbuilder.dataset.impl.DateColumnValues;
+import org.dashbuilder.dataset.impl.DoubleColumnValues;
+import org.dashbuilder.json.JsonException;
+import org.dashbuilder.json.JsonReader;
+import org.dashbuilder.json.JsonToken;
+
+/**
+ * Reads the data set format written by {@link DataSetJSONMarshaller#toJson(DataSet)} straight from a character
+ * stream. Unlike {@link DataSetJSONMarshaller#fromJson(String)}, neither the whole payload nor an intermediate
+ * JSON tree are kept in memory: every column is decoded value by value into its storage. When columnar
+ * storage is enabled numbers and dates go into primitive arrays and labels into a dictionary.
+ */
+public class DataSetJSONStreamReader {
+
+    private static final String DATASET_COLUMN = "column.";
+    private static final String DATASET_COLUMN_ID = "id";
+    private static final String DATASET_COLUMN_TYPE = "type";
+    private static final String DATASET_COLUMN_VALUES = "values";
+    private static final String JSON_NULL = "null";
+
+    private boolean columnarStorageEnabled = false;
+
+    public DataSetJSONStreamReader() {
+    }
+
+    public DataSetJSONStreamReader(boolean columnarStorageEnabled) {
+        this.columnarStorageEnabled = columnarStorageEnabled;
+    }
+
+    public boolean isColumnarStorageEnabled() {
+        return columnarStorageEnabled;
+    }
+
+    /**
+     * Decode the data set columns into primitive/dictionary encoded storage instead of lists of boxed values.
+     */
+    public void setColumnarStorageEnabled(boolean columnarStorageEnabled) {
+        this.columnarStorageEnabled = columnarStorageEnabled;
+    }
+
+    public DataSet fromJson(Reader json) throws IOException {
+        JsonReader reader = new JsonReader(json);
+        if (reader.peek() == JsonToken.END_DOCUMENT) {
+            return null;
+        }
+        Map<Integer, Column> columns = new TreeMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            Integer index = parseColumnIndex(name);
+            if (index != null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                columns.put(index, readColumn(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        DataSet dataSet = columnarStorageEnabled ? DataSetFactory.newColumnarDataSet() : DataSetFactory.newEmptyDataSet();
+        for (Column column : columns.values()) {
+            dataSet.addColumn(column.id, column.type, column.values);
+        }
+        return dataSet;
+    }
+
+    private Integer parseColumnIndex(String name) {
+        if (!name.startsWith(DATASET_COLUMN)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(name.substring(DATASET_COLUMN.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Column readColumn(JsonReader reader) throws IOException {
+        Column column = new Column();
+        List<String> pending = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (DATASET_COLUMN_ID.equals(name)) {
+                column.id = nextStringOrNull(reader);
+            } else if (DATASET_COLUMN_TYPE.equals(name)) {
+                String type = nextStringOrNull(reader);
+                column.type = type != null ? ColumnType.valueOf(type) : null;
+            } else if (DATASET_COLUMN_VALUES.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                if (column.type != null) {
+                    column.values = readValues(reader, column.type);
+                } else {
+                    // The column type comes after its values, so keep the raw strings until it is known
+                    pending = readStrings(reader);
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (column.id == null || column.type == null) {
+            throw new RuntimeException("Dataset column id or type not specified");
+        }
+        if (pending != null) {
+            column.values = newValues(column.type, pending.size());
+            for (String value : pending) {
+                addValue(column.values, column.type, value);
+            }
+        }
+        return column;
+    }
+
+    private List readValues(JsonReader reader, ColumnType type) throws IOException {
+        List values = newValues(type, 0);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            addValue(values, type, nextStringOrNull(reader));
+        }
+        reader.endArray();
+        return values;
+    }
+
+    private List<String> readStrings(JsonReader reader) throws IOException {
+        List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(nextStringOrNull(reader));
+        }
+        reader.endArray();
+        return values;
+    }
+
+    private List newValues(ColumnType type, int capacity) {
+        if (columnarStorageEnabled) {
+            ColumnValues values = ColumnValues.newColumnValues(type);
+            values.ensureCapacity(capacity);
+            return values;
+        }
+        return new ArrayList(capacity);
+    }
+
+    private void addValue(List values, ColumnType type, String value) {
+        boolean isNull = value == null || JSON_NULL.equals(value);
+        switch (type) {
+            case NUMBER: {
+                if (values instanceof DoubleColumnValues) {
+                    DoubleColumnValues doubles = (DoubleColumnValues) values;
+                    if (isNull) {
+                        doubles.addNull();
+                    } else {
+                        doubles.addDouble(Double.parseDouble(value));
+                    }
+                } else {
+                    values.add(isNull ? null : Double.parseDouble(value));
+                }
+                break;
+            }
+            case DATE: {
+                if (values instanceof DateColumnValues) {
+                    ((DateColumnValues) values).addTime(isNull ? DateColumnValues.NULL_TIME : Long.parseLong(value, 10));
+                } else {
+                    values.add(isNull ? null : new Date(Long.parseLong(value, 10)));
+                }
+                break;
+            }
+            default: {
+                values.add(isNull ? null : value);
+            }
+        }
+    }
+
+    private String nextStringOrNull(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        throw new JsonException("Unexpected " + token + " in data set column");
+    }
+
+    private static class Column {
+
+        String id;
+        ColumnType type;
+        List values;
+    }
+}
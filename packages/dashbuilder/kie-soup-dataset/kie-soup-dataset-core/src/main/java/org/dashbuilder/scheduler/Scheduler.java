@@ -16,15 +16,15 @@
 package org.dashbuilder.scheduler;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
  * Task scheduler component.
  * <p>It uses internally an instance of java.util.concurrent.ScheduledThreadPoolExecutor
  * which provides a thread pool and the delayed task execution capability.</p>
+ * <p>Tasks are (un)scheduled atomically per key, so operations on tasks with different keys never wait for each other.</p>
  */
 public class Scheduler {
 
@@ -41,7 +42,7 @@ public class Scheduler {
 
     protected PausableThreadPoolExecutor executor;
     protected ThreadFactory threadFactory;
-    protected Map<String,SchedulerTask> scheduledTasks = Collections.synchronizedMap(new HashMap<String,SchedulerTask>());
+    protected Map<String,SchedulerTask> scheduledTasks = new ConcurrentHashMap<>();
 
     protected int maxThreadPoolSize;
 
@@ -51,6 +52,7 @@ public class Scheduler {
         this.executor = new PausableThreadPoolExecutor(maxThreadPoolSize, threadFactory);
         this.executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
         this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor.setRemoveOnCancelPolicy(true);
         log.debug("Scheduler started [pool size=" + maxThreadPoolSize + "].");
     }
 
@@ -90,12 +92,7 @@ public class Scheduler {
     }
 
     public SchedulerTask getTaskByKey(String key) {
-        for (SchedulerTask task : scheduledTasks.values()) {
-            if (task.getKey().equals(key)) {
-                return task;
-            }
-        }
-        return null;
+        return scheduledTasks.get(key);
     }
 
     public List<SchedulerTask> getScheduledTasks() {
@@ -140,7 +137,7 @@ public class Scheduler {
         return executor.isPaused();
     }
 
-    public synchronized void execute(SchedulerTask task) {
+    public void execute(SchedulerTask task) {
         try {
             _schedule(task, null);
         } catch (Exception e) {
@@ -148,7 +145,7 @@ public class Scheduler {
         }
     }
 
-    public synchronized void schedule(SchedulerTask task, Date date) {
+    public void schedule(SchedulerTask task, Date date) {
         try {
             _schedule(task, date);
         } catch (Exception e) {
@@ -156,7 +153,7 @@ public class Scheduler {
         }
     }
 
-    public synchronized void schedule(SchedulerTask task, long seconds) {
+    public void schedule(SchedulerTask task, long seconds) {
         try {
             _schedule(task, seconds);
         } catch (Exception e) {
@@ -164,7 +161,7 @@ public class Scheduler {
         }
     }
 
-    public synchronized void unschedule(final String key) {
+    public void unschedule(final String key) {
         try {
             _unschedule(key);
         } catch (Exception e) {
@@ -172,7 +169,7 @@ public class Scheduler {
         }
     }
 
-    public synchronized void unscheduleAll() {
+    public void unscheduleAll() {
         try {
             _unscheduleAll();
         } catch (Exception e) {
@@ -180,14 +177,14 @@ public class Scheduler {
         }
     }
 
-    public synchronized void fireTask(String key) {
+    public void fireTask(String key) {
         SchedulerTask task = scheduledTasks.get(key);
-        if (task != null && !task.isDone() && !task.isRunning()) {
+        // Only the caller which takes the task out of the map fires it
+        if (task != null && !task.isDone() && !task.isRunning() && scheduledTasks.remove(key, task)) {
             try {
                 task.run();
                 log.debug(TASK + task + " executed.");
             } finally {
-                scheduledTasks.remove(key);
                 task.cancel();
                 _purge();
 
@@ -211,59 +208,64 @@ public class Scheduler {
             if (delay <= 0) throw new IllegalArgumentException("Delay is negative. The task can not be scheduled [" + task.toString() + "] Date=" + date);
         }
 
-        // Remove any old task (if any)
-        _unschedule(task.getKey());
-
-        // Register the new task.
-        task.future = executor.schedule(task, delay, TimeUnit.MILLISECONDS);
-        scheduledTasks.put(task.getKey(), task);
+        final long millis = delay;
+        _register(task, () -> executor.schedule(task, millis, TimeUnit.MILLISECONDS));
         if (date == null) log.debug(TASK + task + " execution requested.");
         else log.debug(TASK + task + " scheduled to: " + date);
     }
 
     protected void _schedule(SchedulerTask task, long seconds) {
-        // Remove any old task (if any)
-        _unschedule(task.getKey());
-
-        // Register the new task.
         task.fixedDelay = true;
         task.fixedDelaySeconds = seconds;
-        task.future = executor.scheduleWithFixedDelay(task, seconds, seconds, TimeUnit.SECONDS);
-        scheduledTasks.put(task.getKey(), task);
+        _register(task, () -> executor.scheduleWithFixedDelay(task, seconds, seconds, TimeUnit.SECONDS));
         log.debug(TASK + task + " scheduled every " + seconds + " seconds.");
     }
 
+    /**
+     * Replace any old task (if any) and register the new one. The executor is called out of the map update,
+     * so if the same key gets replaced concurrently in the meantime the task is cancelled right after.
+     */
+    protected void _register(SchedulerTask task, Supplier<ScheduledFuture<?>> scheduler) {
+        _cancel(scheduledTasks.put(task.getKey(), task));
+        task.future = scheduler.get();
+        if (scheduledTasks.get(task.getKey()) != task) {
+            task.cancel();
+        }
+    }
+
     protected void _unschedule(String key) {
         SchedulerTask task = scheduledTasks.remove(key);
-        if (task != null && !task.isDone() && !task.isRunning()) {
-            task.cancel();
-            _purge();
+        if (_cancel(task)) {
             log.debug(TASK + task + " unscheduled.");
         }
     }
 
     public void _unscheduleAll() {
-        Collection<SchedulerTask> tasks = scheduledTasks.values();
-        for (SchedulerTask task : tasks) {
-            if (task != null && !task.isDone() && !task.isRunning()) {
-                task.cancel();
-            }
+        for (String key : scheduledTasks.keySet()) {
+            _cancel(scheduledTasks.remove(key));
         }
-        executor.purge();
-        scheduledTasks.clear();
         log.debug("All tasks unscheduled.");
     }
 
+    /**
+     * Cancelled tasks are removed from the executor queue straight away (see the remove on cancel policy).
+     */
+    protected boolean _cancel(SchedulerTask task) {
+        if (task != null && !task.isDone() && !task.isRunning()) {
+            task.cancel();
+            return true;
+        }
+        return false;
+    }
+
     protected void _purge() {
-        executor.purge();
-        Iterator<SchedulerTask> it = scheduledTasks.values().iterator();
-        while (it.hasNext()) {
-            SchedulerTask task = it.next();
+        scheduledTasks.values().removeIf(task -> {
             if (task.isDone()) {
-                it.remove();
                 log.debug(TASK + task + " purged.");
+                return true;
             }
-        }
+            return false;
+        });
     }
 
     public String printScheduledTasksReport() {
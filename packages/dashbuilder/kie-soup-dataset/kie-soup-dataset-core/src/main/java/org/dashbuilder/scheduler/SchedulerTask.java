@@ -25,7 +25,7 @@ import java.util.concurrent.TimeUnit;
  */
 public abstract class SchedulerTask implements Runnable {
 
-    protected ScheduledFuture future = null;
+    protected volatile ScheduledFuture future = null;
     protected boolean running = false;
     protected boolean fixedDelay = false;
     protected long fixedDelaySeconds = -1;
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider;
+
+import java.io.Closeable;
+import java.util.concurrent.Callable;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.engine.index.DataSetIndex;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.impl.ColumnarDataSetImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSetSamplerTest {
+
+    StaticDataSetProvider staticDataSetProvider = new StaticDataSetProvider(DataSetCore.get().getSharedDataSetOpEngine());
+    DataSetSampler sampler = new DataSetSampler(staticDataSetProvider, null);
+    DataSetDef def = new DataSetDef();
+    CounterSource source = new CounterSource();
+
+    @Before
+    public void setUp() {
+        def.setUUID("sampled");
+        def.setCacheEnabled(true);
+        def.setRefreshTime("1minute");
+    }
+
+    @Test
+    public void testIsSampled() {
+        assertThat(sampler.isSampled(def)).isTrue();
+        def.setRefreshTime(null);
+        assertThat(sampler.isSampled(def)).isFalse();
+        def.setRefreshTime("1minute");
+        def.setCacheEnabled(false);
+        assertThat(sampler.isSampled(def)).isFalse();
+    }
+
+    @Test
+    public void testLookupsShareSamples() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            DataSet dataSet = sampler.lookupDataSet(def, null, source);
+            assertThat(dataSet.getRowCount()).isEqualTo(2);
+            assertThat(dataSet.getValueAt(0, 1)).isEqualTo(1d);
+        }
+        assertThat(source.samples).isEqualTo(1);
+        assertThat(staticDataSetProvider.lookupDataSet(def, null)).isInstanceOf(ColumnarDataSetImpl.class);
+
+        DataSet filtered = sampler.lookupDataSet(def, DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(def.getUUID())
+                .rowNumber(1)
+                .buildLookup(), source);
+        assertThat(filtered.getRowCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testHistory() throws Exception {
+        sampler.setHistorySize(3);
+        sampler.lookupDataSet(def, null, source);
+        for (int i = 0; i < 4; i++) {
+            sampler.samplingTasks.get(def.getUUID()).execute();
+        }
+
+        DataSet dataSet = sampler.lookupDataSet(def, null, source);
+        assertThat(source.samples).isEqualTo(5);
+        assertThat(dataSet.getRowCount()).isEqualTo(6);
+        assertThat(dataSet.getColumnByIndex(1).getValues()).containsExactly(3d, 3d, 4d, 4d, 5d, 5d);
+    }
+
+    @Test
+    public void testIndexesPatched() throws Exception {
+        DataSetLookup groupByValue = DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(def.getUUID())
+                .group("value")
+                .column("value")
+                .column(AggregateFunctionType.COUNT, "occurrences")
+                .buildLookup();
+
+        source.valueType = ColumnType.LABEL;
+        sampler.setHistorySize(2);
+        sampler.lookupDataSet(def, groupByValue, source);
+        for (int i = 0; i < 3; i++) {
+            sampler.samplingTasks.get(def.getUUID()).execute();
+
+            // The group index built on the first lookup is patched on every new sample
+            DataSetIndex index = DataSetCore.get().getSharedDataSetOpEngine().getIndexRegistry().get(def.getUUID());
+            assertThat(index.getStats().getNumberOfGroupOps()).isEqualTo(1);
+            DataSet expected = DataSetCore.get().getSharedDataSetOpEngine().execute(index.getDataSet(), groupByValue.getOperationList());
+            DataSet result = sampler.lookupDataSet(def, groupByValue, source);
+            assertThat(result.getColumnByIndex(0).getValues()).isEqualTo(expected.getColumnByIndex(0).getValues());
+            assertThat(result.getColumnByIndex(1).getValues()).isEqualTo(expected.getColumnByIndex(1).getValues());
+        }
+        DataSet result = sampler.lookupDataSet(def, groupByValue, source);
+        assertThat(result.getColumnByIndex(0).getValues()).containsExactly("3", "4");
+    }
+
+    @Test
+    public void testColumnsChange() throws Exception {
+        sampler.setHistorySize(3);
+        sampler.lookupDataSet(def, null, source);
+        source.valueType = ColumnType.LABEL;
+        sampler.samplingTasks.get(def.getUUID()).execute();
+
+        DataSet dataSet = sampler.lookupDataSet(def, null, source);
+        assertThat(dataSet.getRowCount()).isEqualTo(2);
+        assertThat(dataSet.getColumnByIndex(1).getColumnType()).isEqualTo(ColumnType.LABEL);
+    }
+
+    @Test
+    public void testSamplingErrors() throws Exception {
+        sampler.lookupDataSet(def, null, source);
+        source.fail = true;
+        sampler.samplingTasks.get(def.getUUID()).execute();
+
+        // The last sample is kept
+        assertThat(sampler.lookupDataSet(def, null, source).getRowCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testIdleStop() throws Exception {
+        sampler.setMaxIdleSamples(2);
+        sampler.lookupDataSet(def, null, source);
+        for (int i = 0; i < 3; i++) {
+            sampler.samplingTasks.get(def.getUUID()).execute();
+        }
+
+        assertThat(sampler.isSampling(def.getUUID())).isFalse();
+        assertThat(source.closed).isTrue();
+        assertThat(staticDataSetProvider.lookupDataSet(def, null)).isNull();
+
+        // Restarted on the next lookup
+        assertThat(sampler.lookupDataSet(def, null, source).getValueAt(0, 1)).isEqualTo(4d);
+        assertThat(sampler.isSampling(def.getUUID())).isTrue();
+    }
+
+    @Test
+    public void testStopSampling() throws Exception {
+        sampler.lookupDataSet(def, null, source);
+        sampler.stopSampling(def.getUUID());
+
+        assertThat(sampler.isSampling(def.getUUID())).isFalse();
+        assertThat(source.closed).isTrue();
+        assertThat(staticDataSetProvider.lookupDataSet(def, null)).isNull();
+    }
+
+    @Test
+    public void testStopAll() throws Exception {
+        sampler.lookupDataSet(def, null, source);
+        sampler.stopAll();
+
+        assertThat(sampler.isSampling(def.getUUID())).isFalse();
+        assertThat(source.closed).isTrue();
+        assertThat(staticDataSetProvider.lookupDataSet(def, null)).isNull();
+    }
+
+    static class CounterSource implements Callable<DataSet>, Closeable {
+
+        int samples = 0;
+        ColumnType valueType = ColumnType.NUMBER;
+        boolean fail = false;
+        boolean closed = false;
+
+        @Override
+        public DataSet call() {
+            if (fail) {
+                throw new IllegalStateException("Unreachable");
+            }
+            samples++;
+            Object value = valueType == ColumnType.NUMBER ? (Object) (double) samples : String.valueOf(samples);
+            return DataSetFactory.newEmptyDataSet()
+                    .addColumn("metric", ColumnType.LABEL)
+                    .addColumn("value", valueType)
+                    .addValues("a", value)
+                    .addValues("b", value);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
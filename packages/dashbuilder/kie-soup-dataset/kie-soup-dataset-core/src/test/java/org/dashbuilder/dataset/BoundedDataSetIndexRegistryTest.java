@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset;
+
+import java.util.Date;
+
+import org.dashbuilder.DataSetCoreImpl;
+import org.dashbuilder.dataprovider.DataSetProviderType;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.engine.index.BoundedDataSetIndexRegistry;
+import org.dashbuilder.dataset.engine.index.DataSetIndex;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_AMOUNT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_CITY;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DEPARTMENT;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+
+public class BoundedDataSetIndexRegistryTest {
+
+    public static final String EXPENSE_REPORTS = "expense_reports_dataset";
+
+    DataSetLookup groupByDeptAndCount = DataSetLookupFactory.newDataSetLookupBuilder()
+            .group(COLUMN_DEPARTMENT)
+            .column(COLUMN_DEPARTMENT)
+            .column(AggregateFunctionType.COUNT, "occurrences")
+            .buildLookup();
+
+    DataSetLookup filterByCity = DataSetLookupFactory.newDataSetLookupBuilder()
+            .filter(COLUMN_CITY, equalsTo("Barcelona"))
+            .buildLookup();
+
+    DataSetLookup sortByAmount = DataSetLookupFactory.newDataSetLookupBuilder()
+            .sort(COLUMN_AMOUNT, "asc")
+            .buildLookup();
+
+    DataSetCoreImpl dataSetCore;
+    SharedDataSetOpEngine dataSetOpEngine;
+    BoundedDataSetIndexRegistry indexRegistry;
+
+    @Before
+    public void setUp() {
+        dataSetCore = new DataSetCoreImpl();
+        dataSetOpEngine = dataSetCore.getSharedDataSetOpEngine();
+        indexRegistry = (BoundedDataSetIndexRegistry) dataSetCore.getIndexRegistry();
+    }
+
+    @Test
+    public void testUnbounded() throws Exception {
+        DataSet dataSet = registerDataSet(EXPENSE_REPORTS, null);
+        runLookups(EXPENSE_REPORTS);
+
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+        assertThat(indexRegistry.getMaxSize()).isEqualTo(0);
+        assertThat(indexRegistry.getEvictedIndexes()).isEqualTo(0);
+        assertThat(index.getSubIndexes()).hasSize(4);
+        assertThat(indexRegistry.getCurrentSize()).isEqualTo(dataSet.getEstimatedSize() + index.getStats().getIndexSize());
+    }
+
+    @Test
+    public void testEvictSubIndexes() throws Exception {
+        DataSet dataSet = registerDataSet(EXPENSE_REPORTS, null);
+        runLookups(EXPENSE_REPORTS);
+        for (int i = 0; i < 10; i++) {
+            dataSetOpEngine.execute(EXPENSE_REPORTS, groupByDeptAndCount.getOperationList());
+        }
+
+        // Only room for the data set itself and a few sub-indexes
+        long indexSize = indexRegistry.get(EXPENSE_REPORTS).getStats().getIndexSize();
+        dataSetCore.setDataSetIndexMaxSize(dataSet.getEstimatedSize() + indexSize / 2);
+
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+        assertThat(index).isNotNull();
+        assertThat(indexRegistry.getEvictedIndexes()).isGreaterThan(0);
+        assertThat(indexRegistry.getEvictedDataSets()).isEqualTo(0);
+        assertThat(indexRegistry.getEvictedSize()).isGreaterThan(0);
+        assertThat(indexRegistry.getCurrentSize()).isLessThanOrEqualTo(indexRegistry.getMaxSize());
+        assertThat(index.getSubIndexes().size()).isLessThan(4);
+
+        // Evicted indexes are built again on demand
+        DataSet result = dataSetOpEngine.execute(EXPENSE_REPORTS, filterByCity.getOperationList());
+        assertThat(result.getRowCount()).isEqualTo(6);
+    }
+
+    @Test
+    public void testCurrentSizeTracked() throws Exception {
+        DataSet dataSet = registerDataSet(EXPENSE_REPORTS, null);
+        runLookups(EXPENSE_REPORTS);
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+        assertThat(indexRegistry.getCurrentSize()).isEqualTo(dataSet.getEstimatedSize() + index.getIndexSize());
+
+        dataSetCore.setDataSetIndexMaxSize(dataSet.getEstimatedSize() + index.getIndexSize() / 2);
+        assertThat(indexRegistry.getEvictedIndexes()).isGreaterThan(0);
+        assertThat(indexRegistry.getCurrentSize()).isEqualTo(dataSet.getEstimatedSize() + index.getIndexSize());
+
+        runLookups(EXPENSE_REPORTS);
+        assertThat(indexRegistry.getCurrentSize()).isEqualTo(dataSet.getEstimatedSize() + index.getIndexSize());
+
+        indexRegistry.remove(EXPENSE_REPORTS);
+        assertThat(indexRegistry.getCurrentSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAppendRowsTracked() throws Exception {
+        DataSet dataSet = registerDataSet(EXPENSE_REPORTS, null);
+        runLookups(EXPENSE_REPORTS);
+
+        DataSet newRows = dataSet.cloneEmpty();
+        newRows.addValues(100d, "Barcelona", "Engineering", "Roxie Foraker", new Date(), 300d);
+        assertThat(dataSetOpEngine.appendRows(EXPENSE_REPORTS, newRows)).isTrue();
+
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+        assertThat(index.getDataSet().getRowCount()).isEqualTo(dataSet.getRowCount() + 1);
+        assertThat(indexRegistry.getCurrentSize()).isEqualTo(index.getDataSet().getEstimatedSize() + index.getIndexSize());
+    }
+
+    @Test
+    public void testIndexInUseNotEvicted() throws Exception {
+        DataSet dataSet = registerDataSet(EXPENSE_REPORTS, null);
+        runLookups(EXPENSE_REPORTS);
+        DataSetIndex index = indexRegistry.get(EXPENSE_REPORTS);
+
+        index.lookupStarted();
+        dataSetCore.setDataSetIndexMaxSize(dataSet.getEstimatedSize());
+        assertThat(indexRegistry.getEvictedIndexes()).isEqualTo(0);
+        assertThat(index.getSubIndexes()).hasSize(4);
+
+        index.lookupFinished();
+        indexRegistry.get(EXPENSE_REPORTS);
+        assertThat(indexRegistry.getEvictedIndexes()).isGreaterThan(0);
+        assertThat(index.getSubIndexes()).isEmpty();
+    }
+
+    @Test
+    public void testStaticDataSetsNotEvicted() throws Exception {
+        DataSet dataSet = registerDataSet(EXPENSE_REPORTS, null);
+        dataSetCore.setDataSetIndexMaxSize(1);
+        runLookups(EXPENSE_REPORTS);
+
+        assertThat(indexRegistry.get(EXPENSE_REPORTS).getDataSet()).isSameAs(dataSet);
+        assertThat(indexRegistry.get(EXPENSE_REPORTS).getSubIndexes()).isEmpty();
+        assertThat(indexRegistry.getEvictedDataSets()).isEqualTo(0);
+    }
+
+    @Test
+    public void testEvictDataSets() throws Exception {
+        DataSetDef def = new DataSetDef();
+        def.setProvider(DataSetProviderType.SQL);
+        DataSet dataSet = registerDataSet("ds1", def);
+        dataSetCore.setDataSetIndexMaxSize(dataSet.getEstimatedSize() * 5 / 2);
+        indexRegistry.get("ds1");
+        registerDataSet("ds2", def);
+        indexRegistry.get("ds2");
+        indexRegistry.get("ds2");
+        assertThat(indexRegistry.getEvictedDataSets()).isEqualTo(0);
+
+        // The less reused data set goes away
+        registerDataSet("ds3", def);
+        assertThat(indexRegistry.getEvictedDataSets()).isEqualTo(1);
+        assertThat(indexRegistry.getEvictedSize()).isGreaterThanOrEqualTo(dataSet.getEstimatedSize());
+        assertThat(indexRegistry.get("ds1")).isNull();
+        assertThat(indexRegistry.get("ds2")).isNotNull();
+        assertThat(indexRegistry.get("ds3")).isNotNull();
+    }
+
+    protected DataSet registerDataSet(String uuid, DataSetDef def) throws Exception {
+        DataSet dataSet = ExpenseReportsData.INSTANCE.toDataSet();
+        dataSet.setUUID(uuid);
+        dataSet.setDefinition(def);
+        indexRegistry.put(dataSet);
+        return dataSet;
+    }
+
+    protected void runLookups(String uuid) {
+        dataSetOpEngine.execute(uuid, groupByDeptAndCount.getOperationList());
+        dataSetOpEngine.execute(uuid, filterByCity.getOperationList());
+        dataSetOpEngine.execute(uuid, sortByAmount.getOperationList());
+    }
+}
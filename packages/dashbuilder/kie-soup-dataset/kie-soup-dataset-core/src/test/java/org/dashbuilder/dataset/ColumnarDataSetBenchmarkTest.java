@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset;
+
+import java.util.Date;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.filter.FilterFactory.greaterThan;
+
+/**
+ * Compares the memory footprint and the lookup throughput of the boxed and the columnar data set layouts.
+ */
+public class ColumnarDataSetBenchmarkTest {
+
+    static final int ROWS = 200000;
+    static final int LOOKUP_TIMES = 20;
+    static final String[] CITIES = {"Barcelona", "Madrid", "Brno", "Westford", "Raleigh", "London", "Paris", "Berlin"};
+    static final String[] DEPARTMENTS = {"Engineering", "Services", "Sales", "Support", "Management"};
+
+    static DataSet boxedDataSet;
+    static DataSet columnarDataSet;
+
+    DataSetLookup groupByCityAndSum = DataSetLookupFactory.newDataSetLookupBuilder()
+            .filter("amount", greaterThan(100d))
+            .group("city")
+            .column("city")
+            .column("amount", AggregateFunctionType.SUM)
+            .column("amount", AggregateFunctionType.AVERAGE, "avg")
+            .buildLookup();
+
+    DataSetLookup groupByDeptAndCount = DataSetLookupFactory.newDataSetLookupBuilder()
+            .group("department")
+            .column("department")
+            .column(AggregateFunctionType.COUNT, "occurrences")
+            .buildLookup();
+
+    SharedDataSetOpEngine dataSetOpEngine = DataSetCore.get().getSharedDataSetOpEngine();
+
+    @BeforeClass
+    public static void setUpClass() {
+        boxedDataSet = populate(DataSetFactory.newEmptyDataSet());
+        columnarDataSet = populate(DataSetFactory.newColumnarDataSet());
+    }
+
+    static DataSet populate(DataSet dataSet) {
+        dataSet.addColumn("city", ColumnType.LABEL);
+        dataSet.addColumn("department", ColumnType.LABEL);
+        dataSet.addColumn("amount", ColumnType.NUMBER);
+        dataSet.addColumn("date", ColumnType.DATE);
+        long time = new Date().getTime();
+        for (int i = 0; i < ROWS; i++) {
+            dataSet.addValues(CITIES[i % CITIES.length],
+                    DEPARTMENTS[i % DEPARTMENTS.length],
+                    (double) (i % 1000),
+                    new Date(time - i * 60000L));
+        }
+        return dataSet;
+    }
+
+    @Test
+    public void testMemoryFootprint() {
+        long boxedSize = boxedDataSet.getEstimatedSize();
+        long columnarSize = columnarDataSet.getEstimatedSize();
+
+        // Labels are dictionary encoded and numbers/dates are stored as primitives
+        assertThat(columnarSize).isLessThan(boxedSize / 2);
+    }
+
+    @Test
+    public void testLookupThroughput() {
+        DataSet boxedResult = null;
+        DataSet columnarResult = null;
+        for (int i = 0; i < LOOKUP_TIMES; i++) {
+            boxedResult = dataSetOpEngine.execute(boxedDataSet, groupByCityAndSum.getOperationList());
+            dataSetOpEngine.execute(boxedDataSet, groupByDeptAndCount.getOperationList());
+
+            columnarResult = dataSetOpEngine.execute(columnarDataSet, groupByCityAndSum.getOperationList());
+            dataSetOpEngine.execute(columnarDataSet, groupByDeptAndCount.getOperationList());
+        }
+
+        // Both layouts must produce the very same results
+        assertThat(columnarResult.getRowCount()).isEqualTo(CITIES.length);
+        for (int i = 0; i < boxedResult.getRowCount(); i++) {
+            for (int j = 0; j < boxedResult.getColumns().size(); j++) {
+                assertThat(columnarResult.getValueAt(i, j)).isEqualTo(boxedResult.getValueAt(i, j));
+            }
+        }
+    }
+}
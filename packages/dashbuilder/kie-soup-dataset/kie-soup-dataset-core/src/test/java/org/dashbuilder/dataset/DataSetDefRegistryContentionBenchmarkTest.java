@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the data set definition lookup throughput while another thread keeps re-registering definitions.
+ */
+public class DataSetDefRegistryContentionBenchmarkTest {
+
+    static final int DEFS = 100;
+    static final long MEASURE_MILLIS = 300;
+    static final int[] READERS = {1, 2, 4, 8};
+
+    DataSetDefRegistry dataSetDefRegistry = DataSetCore.get().getDataSetDefRegistry();
+    List<String> uuids = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < DEFS; i++) {
+            String uuid = "contention" + i;
+            dataSetDefRegistry.registerDataSetDef(newDef(uuid));
+            uuids.add(uuid);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (String uuid : uuids) {
+            dataSetDefRegistry.removeDataSetDef(uuid);
+        }
+    }
+
+    DataSetDef newDef(String uuid) {
+        return DataSetDefFactory.newBeanDataSetDef()
+                .uuid(uuid)
+                .generatorClass("MyClass")
+                .buildDef();
+    }
+
+    @Test
+    public void testLookupThroughput() throws Exception {
+        for (int readers : READERS) {
+            assertThat(measure(readers)).isPositive();
+        }
+    }
+
+    long measure(int readers) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong lookups = new AtomicLong();
+        AtomicLong misses = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(readers + 1);
+        List<Thread> threads = new ArrayList<>();
+
+        // Writer: keep replacing the definitions the readers are looking for
+        threads.add(new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                dataSetDefRegistry.registerDataSetDef(newDef(uuids.get(i++ % DEFS)));
+            }
+            done.countDown();
+        }));
+        for (int r = 0; r < readers; r++) {
+            final int offset = r;
+            threads.add(new Thread(() -> {
+                long count = 0;
+                int i = offset;
+                while (running.get()) {
+                    String uuid = uuids.get(i++ % DEFS);
+                    if (dataSetDefRegistry.getDataSetDef(uuid) == null) {
+                        misses.incrementAndGet();
+                    }
+                    dataSetDefRegistry.getDataSetDefPreProcessors(uuid);
+                    count++;
+                }
+                lookups.addAndGet(count);
+                done.countDown();
+            }));
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(MEASURE_MILLIS);
+        running.set(false);
+        done.await();
+
+        // A definition being replaced must never look as missing
+        assertThat(misses.get()).isZero();
+        return lookups.get();
+    }
+}
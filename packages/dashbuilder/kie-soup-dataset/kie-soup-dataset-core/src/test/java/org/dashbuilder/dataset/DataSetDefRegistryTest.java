@@ -29,6 +29,8 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -76,6 +78,20 @@ public class DataSetDefRegistryTest {
         verify(registryListener).onDataSetDefRemoved(modifiedDef);
     }
 
+    @Test
+    public void testNoUuid() {
+        DataSetDef noUuidDef = DataSetDefFactory.newBeanDataSetDef()
+                .generatorClass("MyClass")
+                .buildDef();
+
+        dataSetDefRegistry.registerDataSetDef(noUuidDef);
+        verify(registryListener).onDataSetDefRegistered(noUuidDef);
+        assertSame(noUuidDef, dataSetDefRegistry.getDataSetDef(null));
+
+        assertSame(noUuidDef, dataSetDefRegistry.removeDataSetDef(null));
+        assertNull(dataSetDefRegistry.getDataSetDef(null));
+    }
+
     @Test
     public void testEventListeners() throws Exception {
         String dataSetUUID = "expense_reports";
@@ -15,6 +15,8 @@
  */
 package org.dashbuilder.dataset;
 
+import java.util.Date;
+
 import org.dashbuilder.DataSetCore;
 import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
 import org.dashbuilder.dataset.engine.index.DataSetIndex;
@@ -178,4 +180,48 @@ public class DataSetIndexTest {
         // The index size must not be greater than the 20% of the dataset's size
         assertThat(stats.getIndexSize()).isLessThan(dataSet.getEstimatedSize() / 5);
     }
+
+    @Test
+    public void testAppendRows() throws Exception {
+        DataSet groupResult = dataSetOpEngine.execute(EXPENSE_REPORTS, groupByDeptAndCount.getOperationList());
+        DataSet filterResult = dataSetOpEngine.execute(EXPENSE_REPORTS, filterByCityAndDept.getOperationList());
+        dataSetOpEngine.execute(EXPENSE_REPORTS, sortByAmountAsc.getOperationList());
+
+        DataSetIndex dataSetIndex = dataSetOpEngine.getIndexRegistry().get(EXPENSE_REPORTS);
+        DataSet dataSet = dataSetIndex.getDataSet();
+        int rowCount = dataSet.getRowCount();
+
+        // Append a row matching the filter and another one with a brand new department
+        DataSet newRows = dataSet.cloneEmpty();
+        newRows.addValues(100d, "Barcelona", "Engineering", "Roxie Foraker", new Date(), 300d);
+        newRows.addValues(101d, "London", "Marketing", "Jamie Gilbeau", new Date(), 400d);
+        assertThat(dataSetOpEngine.appendRows(EXPENSE_REPORTS, newRows)).isTrue();
+
+        // The rows are appended to a copy, so lookups in progress keep seeing the previous data set & index
+        DataSetIndex appendedIndex = dataSetOpEngine.getIndexRegistry().get(EXPENSE_REPORTS);
+        assertThat(appendedIndex).isNotSameAs(dataSetIndex);
+        assertThat(appendedIndex.getDataSet().getRowCount()).isEqualTo(rowCount + 2);
+        assertThat(appendedIndex.getDataSet().getUUID()).isEqualTo(EXPENSE_REPORTS);
+        assertThat(dataSet.getRowCount()).isEqualTo(rowCount);
+        assertThat(dataSetIndex.getStats().getNumberOfSortOps()).isEqualTo(2);
+
+        // Filter & group indexes are patched, sort indexes are dropped
+        DataSetIndexStats stats = appendedIndex.getStats();
+        assertThat(stats.getNumberOfGroupOps()).isEqualTo(1);
+        assertThat(stats.getNumberOfFilterOps()).isEqualTo(2);
+        assertThat(stats.getNumberOfSortOps()).isEqualTo(0);
+
+        DataSet result = dataSetOpEngine.execute(EXPENSE_REPORTS, groupByDeptAndCount.getOperationList());
+        assertThat(result.getRowCount()).isEqualTo(groupResult.getRowCount() + 1);
+        assertThat(result.getValueAt(result.getRowCount() - 1, 0)).isEqualTo(1d);
+
+        result = dataSetOpEngine.execute(EXPENSE_REPORTS, filterByCityAndDept.getOperationList());
+        assertThat(result.getRowCount()).isEqualTo(filterResult.getRowCount() + 1);
+
+        result = dataSetOpEngine.execute(EXPENSE_REPORTS, sortByAmountAsc.getOperationList());
+        assertThat(result.getRowCount()).isEqualTo(rowCount + 2);
+
+        // Data sets not registered can't be appended
+        assertThat(dataSetOpEngine.appendRows("unknown", newRows)).isFalse();
+    }
 }
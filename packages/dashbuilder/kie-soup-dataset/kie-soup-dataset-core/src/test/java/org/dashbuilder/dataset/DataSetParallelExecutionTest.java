@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset;
+
+import java.util.Date;
+
+import org.dashbuilder.DataSetCoreImpl;
+import org.dashbuilder.dataset.engine.SharedDataSetOpEngine;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataset.filter.FilterFactory.OR;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.filter.FilterFactory.greaterThan;
+
+/**
+ * Checks the parallel execution mode produces the very same results as the sequential one.
+ */
+public class DataSetParallelExecutionTest {
+
+    static final int ROWS = 400000;
+    static final String[] CITIES = {"Barcelona", "Madrid", "Brno", "Westford", "Raleigh", "London", "Paris", "Berlin"};
+    static final String[] DEPARTMENTS = {"Engineering", "Services", "Sales", "Support", "Management"};
+
+    static DataSet dataSet;
+    static DataSetCoreImpl sequentialCore;
+    static DataSetCoreImpl parallelCore;
+
+    DataSetLookup filterAndAggregate = DataSetLookupFactory.newDataSetLookupBuilder()
+            .filter(OR(equalsTo("city", "Barcelona"), greaterThan("amount", 900d)))
+            .group("department")
+            .column("department")
+            .column(AggregateFunctionType.COUNT, "count")
+            .column("amount", AggregateFunctionType.SUM, "sum")
+            .column("amount", AggregateFunctionType.AVERAGE, "avg")
+            .column("amount", AggregateFunctionType.MIN, "min")
+            .column("amount", AggregateFunctionType.MAX, "max")
+            .column("amount", AggregateFunctionType.MEDIAN, "median")
+            .column("city", AggregateFunctionType.DISTINCT, "cities")
+            .buildLookup();
+
+    DataSetLookup nestedGroup = DataSetLookupFactory.newDataSetLookupBuilder()
+            .group("department").select("Engineering", "Services", "Sales")
+            .group("city")
+            .column("city")
+            .column("amount", AggregateFunctionType.SUM, "sum")
+            .column("amount", AggregateFunctionType.MEDIAN, "median")
+            .buildLookup();
+
+    DataSetLookup totals = DataSetLookupFactory.newDataSetLookupBuilder()
+            .column("amount", AggregateFunctionType.SUM, "sum")
+            .column("amount", AggregateFunctionType.AVERAGE, "avg")
+            .column("date", AggregateFunctionType.MAX, "last")
+            .buildLookup();
+
+    @BeforeClass
+    public static void setUpClass() {
+        dataSet = DataSetFactory.newEmptyDataSet();
+        dataSet.addColumn("city", ColumnType.LABEL);
+        dataSet.addColumn("department", ColumnType.LABEL);
+        dataSet.addColumn("amount", ColumnType.NUMBER);
+        dataSet.addColumn("date", ColumnType.DATE);
+        long time = new Date().getTime();
+        for (int i = 0; i < ROWS; i++) {
+            dataSet.addValues(CITIES[i % CITIES.length],
+                    DEPARTMENTS[i % DEPARTMENTS.length],
+                    (double) ((i * 7919) % 1000) + 0.25d,
+                    new Date(time - i * 60000L));
+        }
+        sequentialCore = new DataSetCoreImpl();
+        parallelCore = new DataSetCoreImpl();
+        parallelCore.setDataSetParallelExecutionEnabled(true);
+        parallelCore.setDataSetParallelism(4);
+        parallelCore.setDataSetParallelMinPartitionSize(10000);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        parallelCore.shutdown();
+    }
+
+    @Test
+    public void testTaskExecutorConfig() {
+        assertThat(sequentialCore.getTaskExecutor().getPartitions(ROWS)).isEqualTo(1);
+        assertThat(parallelCore.getTaskExecutor().getPartitions(ROWS)).isEqualTo(4);
+        assertThat(parallelCore.getTaskExecutor().getPartitions(15000)).isEqualTo(1);
+        assertThat(parallelCore.getSharedDataSetOpEngine().getTaskExecutor()).isSameAs(parallelCore.getTaskExecutor());
+    }
+
+    @Test
+    public void testFilterAndAggregate() {
+        assertSameResults(filterAndAggregate);
+    }
+
+    @Test
+    public void testNestedGroup() {
+        assertSameResults(nestedGroup);
+    }
+
+    @Test
+    public void testTotals() {
+        assertSameResults(totals);
+    }
+
+    void assertSameResults(DataSetLookup lookup) {
+        SharedDataSetOpEngine sequentialEngine = sequentialCore.getSharedDataSetOpEngine();
+        SharedDataSetOpEngine parallelEngine = parallelCore.getSharedDataSetOpEngine();
+
+        DataSet expected = sequentialEngine.execute(dataSet, lookup.getOperationList());
+        DataSet result = parallelEngine.execute(dataSet, lookup.getOperationList());
+
+        assertThat(result.getRowCount()).isEqualTo(expected.getRowCount());
+        assertThat(result.getColumns().size()).isEqualTo(expected.getColumns().size());
+        for (int i = 0; i < expected.getRowCount(); i++) {
+            for (int j = 0; j < expected.getColumns().size(); j++) {
+                assertThat(result.getValueAt(i, j)).isEqualTo(expected.getValueAt(i, j));
+            }
+        }
+    }
+}
@@ -15,7 +15,11 @@
  */
 package org.dashbuilder.dataset;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataset.filter.FilterFactory;
 import org.dashbuilder.dataset.group.AggregateFunctionType;
 import org.dashbuilder.dataset.sort.SortOrder;
 import org.junit.Before;
@@ -68,6 +72,46 @@ public class DataSetTrimTest {
         assertThat(result.getRowCountNonTrimmed()).isEqualTo(5);
     }
 
+    @Test
+    public void testTrimInPages() throws Exception {
+        DataSetLookup lookup = DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(EXPENSE_REPORTS)
+                .column(COLUMN_CITY)
+                .column(COLUMN_AMOUNT)
+                .sort(COLUMN_AMOUNT, SortOrder.DESCENDING)
+                .rowOffset(3)
+                .rowNumber(20)
+                .buildLookup();
+        DataSet expected = dataSetManager.lookupDataSet(lookup.cloneInstance());
+
+        List<DataSet> pages = new ArrayList<>();
+        ((DataSetManagerImpl) dataSetManager).lookupDataSet(lookup.cloneInstance(), 6, pages::add);
+
+        assertThat(pages).extracting(DataSet::getRowCount).containsExactly(6, 6, 6, 2);
+        int row = 0;
+        for (DataSet page : pages) {
+            assertThat(page.getColumns().size()).isEqualTo(2);
+            for (int i = 0; i < page.getRowCount(); i++, row++) {
+                assertThat(page.getValueAt(i, 0)).isEqualTo(expected.getValueAt(row, 0));
+                assertThat(page.getValueAt(i, 1)).isEqualTo(expected.getValueAt(row, 1));
+            }
+        }
+    }
+
+    @Test
+    public void testTrimInPagesEmpty() throws Exception {
+        List<DataSet> pages = new ArrayList<>();
+        ((DataSetManagerImpl) dataSetManager).lookupDataSet(DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(EXPENSE_REPORTS)
+                .filter(COLUMN_CITY, FilterFactory.equalsTo("Nowhere"))
+                .buildLookup(), 6, pages::add);
+
+        // The columns are always delivered
+        assertThat(pages).hasSize(1);
+        assertThat(pages.get(0).getRowCount()).isEqualTo(0);
+        assertThat(pages.get(0).getColumns().size()).isEqualTo(6);
+    }
+
     @Test
     public void testDuplicatedColumns() throws Exception {
         DataSet result = dataSetManager.lookupDataSet(
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.json;
+
+import java.io.StringReader;
+import java.util.Date;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the results of the tree based {@link DataSetJSONMarshaller} and the streaming
+ * {@link DataSetJSONStreamReader} when decoding a large data set.
+ */
+public class DataSetJSONStreamBenchmarkTest {
+
+    static final int ROWS = 50000;
+    static final int TIMES = 5;
+    static final String[] CITIES = {"Barcelona", "Madrid", "Brno", "Westford", "Raleigh", "London", "Paris", "Berlin"};
+
+    static String json;
+
+    @BeforeClass
+    public static void setUpClass() {
+        DataSet dataSet = DataSetFactory.newEmptyDataSet()
+                .addColumn("city", ColumnType.LABEL)
+                .addColumn("amount", ColumnType.NUMBER)
+                .addColumn("date", ColumnType.DATE);
+        long time = new Date().getTime();
+        for (int i = 0; i < ROWS; i++) {
+            dataSet.addValues(CITIES[i % CITIES.length], i * 1.5d, new Date(time - i * 60000L));
+        }
+        json = DataSetJSONMarshaller.get().toJson(dataSet).toJson();
+    }
+
+    @Test
+    public void testDecodeLargeDataSet() throws Exception {
+        DataSetJSONStreamReader streamReader = new DataSetJSONStreamReader(true);
+        DataSet treeResult = DataSetJSONMarshaller.get().fromJson(json);
+        DataSet streamResult = null;
+        for (int i = 0; i < TIMES; i++) {
+            streamResult = streamReader.fromJson(new StringReader(json));
+        }
+
+        assertThat(streamResult.getRowCount()).isEqualTo(ROWS);
+        for (int i = 0; i < ROWS; i += 997) {
+            for (int j = 0; j < 3; j++) {
+                assertThat(streamResult.getValueAt(i, j)).isEqualTo(treeResult.getValueAt(i, j));
+            }
+        }
+    }
+}
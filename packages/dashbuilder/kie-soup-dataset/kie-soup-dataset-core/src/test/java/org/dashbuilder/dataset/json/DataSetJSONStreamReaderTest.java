@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.json;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.ExpenseReportsData;
+import org.dashbuilder.dataset.impl.ColumnarDataSetImpl;
+import org.dashbuilder.dataset.impl.DoubleColumnValues;
+import org.dashbuilder.json.Json;
+import org.dashbuilder.json.JsonArray;
+import org.dashbuilder.json.JsonObject;
+import org.dashbuilder.json.JsonReader;
+import org.dashbuilder.json.JsonToken;
+import org.dashbuilder.json.JsonValue;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSetJSONStreamReaderTest {
+
+    DataSetJSONMarshaller marshaller = DataSetJSONMarshaller.get();
+
+    @Test
+    public void testSameAsMarshaller() throws Exception {
+        DataSet dataSet = ExpenseReportsData.INSTANCE.toDataSet();
+        dataSet.setValueAt(0, 1, null);
+        dataSet.setValueAt(1, 5, null);
+        String json = marshaller.toJson(dataSet).toJson();
+        DataSet expected = marshaller.fromJson(json);
+
+        DataSet boxed = new DataSetJSONStreamReader().fromJson(new StringReader(json));
+        DataSet columnar = new DataSetJSONStreamReader(true).fromJson(new StringReader(json));
+
+        assertThat(columnar).isInstanceOf(ColumnarDataSetImpl.class);
+        assertThat(columnar.getColumnByIndex(5).getValues()).isInstanceOf(DoubleColumnValues.class);
+        for (DataSet result : new DataSet[] {boxed, columnar}) {
+            assertThat(result.getRowCount()).isEqualTo(expected.getRowCount());
+            assertThat(result.getColumns().size()).isEqualTo(expected.getColumns().size());
+            for (int i = 0; i < expected.getColumns().size(); i++) {
+                assertThat(result.getColumnByIndex(i).getId()).isEqualTo(expected.getColumnByIndex(i).getId());
+                assertThat(result.getColumnByIndex(i).getColumnType()).isEqualTo(expected.getColumnByIndex(i).getColumnType());
+                assertThat(result.getColumnByIndex(i).getValues()).isEqualTo(expected.getColumnByIndex(i).getValues());
+            }
+        }
+    }
+
+    @Test
+    public void testColumnOrderAndTypeAfterValues() throws Exception {
+        String json = "{'column.1': {'values': ['1', null, 'null'], 'type': 'NUMBER', 'id': 'amount'}," +
+                "'other': [1, {'a': 2}]," +
+                "'column.0': {'id': 'city', 'type': 'LABEL', 'values': ['Brno', 'Madrid', null]}}";
+        DataSet dataSet = new DataSetJSONStreamReader(true).fromJson(new StringReader(json));
+
+        assertThat(dataSet.getColumnByIndex(0).getId()).isEqualTo("city");
+        assertThat(dataSet.getColumnByIndex(1).getId()).isEqualTo("amount");
+        assertThat(dataSet.getColumnByIndex(0).getValues()).containsExactly("Brno", "Madrid", null);
+        assertThat(dataSet.getColumnByIndex(1).getValues()).containsExactly(1d, null, null);
+    }
+
+    @Test
+    public void testEmptyPayload() throws Exception {
+        assertThat(new DataSetJSONStreamReader().fromJson(new StringReader("  "))).isNull();
+        assertThat(new DataSetJSONStreamReader().fromJson(new StringReader("{}")).getColumns()).isEmpty();
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMissingColumnType() throws Exception {
+        new DataSetJSONStreamReader().fromJson(new StringReader("{\"column.0\": {\"id\": \"a\", \"values\": []}}"));
+    }
+
+    @Test
+    public void testReaderTokens() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("{a: [1.5, 'x', true, null, undefined], \"b\": {}}"));
+        List<JsonToken> tokens = new ArrayList<>();
+        reader.beginObject();
+        assertThat(reader.nextName()).isEqualTo("a");
+        reader.beginArray();
+        assertThat(reader.nextDouble()).isEqualTo(1.5d);
+        assertThat(reader.nextString()).isEqualTo("x");
+        assertThat(reader.nextBoolean()).isTrue();
+        while (reader.hasNext()) {
+            tokens.add(reader.peek());
+            reader.skipValue();
+        }
+        reader.endArray();
+        assertThat(reader.nextName()).isEqualTo("b");
+        reader.skipValue();
+        reader.endObject();
+        assertThat(tokens).containsExactly(JsonToken.NULL, JsonToken.NULL);
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    public void testReaderValues() throws Exception {
+        String json = "{\"id\": \"a\\u00e1\\n\", \"values\": [1, -2.5e3, [true, false, null], {\"x\": {}}], \"empty\": []}";
+        JsonReader reader = new JsonReader(new StringReader(json));
+        JsonObject value = reader.nextValue();
+        JsonObject expected = Json.parse(json);
+
+        assertThat(value.toJson()).isEqualTo(expected.toJson());
+        assertThat(value.getString("id")).isEqualTo("a\u00e1\n");
+        JsonArray values = value.getArray("values");
+        assertThat(values.getNumber(1)).isEqualTo(-2500d);
+        JsonValue nested = values.get(3);
+        assertThat(nested.toJson()).isEqualTo(Json.parse("{\"x\": {}}").toJson());
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.csv;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.impl.ColumnValues;
+import org.dashbuilder.dataset.impl.DateColumnValues;
+import org.dashbuilder.dataset.impl.DoubleColumnValues;
+
+/**
+ * Converts the fields read by a {@link CSVTokenizer} and writes them straight into a typed column store.
+ * <p>Appenders hold their own copies of the number &amp; date formats, so they are meant to be confined to the
+ * thread parsing a single chunk of the file.</p>
+ */
+public abstract class CSVColumnAppender {
+
+    /**
+     * Get the appender for the given column
+     *
+     * @param parser The parser holding the number &amp; date formats of every column
+     * @param columnId The column identifier
+     * @param columnType The column type
+     * @param values The target column store (see {@link ColumnValues#newColumnValues(ColumnType)})
+     */
+    public static CSVColumnAppender create(CSVParser parser, String columnId, ColumnType columnType, ColumnValues values) {
+        if (ColumnType.NUMBER.equals(columnType)) {
+            return new NumberAppender(values, (DecimalFormat) parser.getNumberFormat(columnId).clone());
+        }
+        if (ColumnType.DATE.equals(columnType)) {
+            String pattern = parser.dataSetDef.getPattern(columnId);
+            if (pattern != null && CSVParser.DATE_FORMAT_EPOCH.equalsIgnoreCase(pattern)) {
+                return new EpochAppender(values);
+            }
+            return new DateAppender(values, (DateFormat) parser.getDateFormat(columnId).clone());
+        }
+        return new LabelAppender(values);
+    }
+
+    protected ColumnValues values;
+
+    protected CSVColumnAppender(ColumnValues values) {
+        this.values = values;
+    }
+
+    /**
+     * Parse the given field of the tokenizer's current record and append it to the column store.
+     */
+    public void append(CSVTokenizer tokenizer, int field) throws Exception {
+        if (tokenizer.isBlank(field)) {
+            appendNull();
+        } else {
+            appendValue(tokenizer, field);
+        }
+    }
+
+    protected abstract void appendNull();
+
+    protected abstract void appendValue(CSVTokenizer tokenizer, int field) throws Exception;
+
+    protected Exception parseError(String value, ParseException e) {
+        return new Exception("Error parsing value: " + value + ", " + e.getMessage() + ". Check column's data type consistency!");
+    }
+
+    static class NumberAppender extends CSVColumnAppender {
+
+        static final int MAX_FAST_DIGITS = 15;
+        static final double[] POWERS_OF_TEN = new double[MAX_FAST_DIGITS + 1];
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+
+        DoubleColumnValues doubleValues;
+        DecimalFormat numberFormat;
+        boolean fastPathEnabled;
+        byte groupingSeparator;
+        byte decimalSeparator;
+
+        NumberAppender(ColumnValues values, DecimalFormat numberFormat) {
+            super(values);
+            this.doubleValues = (DoubleColumnValues) values;
+            this.numberFormat = numberFormat;
+
+            // Plain decimal patterns (no prefixes, suffixes or multipliers) are parsed without the format
+            DecimalFormatSymbols symbols = numberFormat.getDecimalFormatSymbols();
+            char grouping = symbols.getGroupingSeparator();
+            char decimal = symbols.getDecimalSeparator();
+            this.groupingSeparator = (byte) grouping;
+            this.decimalSeparator = (byte) decimal;
+            this.fastPathEnabled = grouping < 0x80 && decimal < 0x80 && grouping != decimal
+                    && !numberFormat.isParseBigDecimal() && !numberFormat.isParseIntegerOnly()
+                    && numberFormat.getMultiplier() == 1
+                    && numberFormat.getPositivePrefix().isEmpty() && numberFormat.getPositiveSuffix().isEmpty()
+                    && "-".equals(numberFormat.getNegativePrefix()) && numberFormat.getNegativeSuffix().isEmpty();
+        }
+
+        @Override
+        protected void appendNull() {
+            doubleValues.addNull();
+        }
+
+        @Override
+        protected void appendValue(CSVTokenizer tokenizer, int field) throws Exception {
+            if (fastPathEnabled && parseFast(tokenizer.getChars(), tokenizer.getFieldOffset(field), tokenizer.getFieldLength(field))) {
+                return;
+            }
+            String value = tokenizer.getString(field);
+            try {
+                doubleValues.addDouble(numberFormat.parse(value).doubleValue());
+            } catch (ParseException e) {
+                throw parseError(value, e);
+            }
+        }
+
+        /**
+         * Parse numbers like <code>-1,234.56</code> with no more than 15 significant digits, which can be
+         * computed exactly as <code>mantissa / 10^fractionDigits</code>.
+         * @return false if the value must be parsed by the decimal format instead.
+         */
+        boolean parseFast(byte[] chars, int offset, int length) {
+            int end = offset + length;
+            int i = offset;
+            boolean negative = i < end && chars[i] == '-';
+            if (negative) {
+                i++;
+            }
+            if (i == end || !isDigit(chars[i])) {
+                return false;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (; i < end; i++) {
+                byte b = chars[i];
+                if (isDigit(b)) {
+                    if (++digits > MAX_FAST_DIGITS) {
+                        return false;
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                }
+                else if (b == groupingSeparator && fractionDigits < 0 && numberFormat.isGroupingUsed() && i + 1 < end && isDigit(chars[i + 1])) {
+                    // Skip
+                }
+                else if (b == decimalSeparator && fractionDigits < 0) {
+                    fractionDigits = 0;
+                }
+                else {
+                    return false;
+                }
+            }
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            doubleValues.addDouble(negative ? -value : value);
+            return true;
+        }
+
+        static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+
+    static class DateAppender extends CSVColumnAppender {
+
+        static final int MAX_CACHED_DATES = 4096;
+
+        DateColumnValues dateValues;
+        DateFormat dateFormat;
+        Map<String, Long> dateCache = new HashMap<>();
+
+        DateAppender(ColumnValues values, DateFormat dateFormat) {
+            super(values);
+            this.dateValues = (DateColumnValues) values;
+            this.dateFormat = dateFormat;
+        }
+
+        @Override
+        protected void appendNull() {
+            dateValues.addTime(DateColumnValues.NULL_TIME);
+        }
+
+        @Override
+        protected void appendValue(CSVTokenizer tokenizer, int field) throws Exception {
+            // Dates tend to repeat a lot, so the parsing is skipped for the most recent values
+            String value = tokenizer.getString(field);
+            Long time = dateCache.get(value);
+            if (time == null) {
+                try {
+                    time = dateFormat.parse(value).getTime();
+                } catch (ParseException e) {
+                    throw parseError(value, e);
+                }
+                if (dateCache.size() == MAX_CACHED_DATES) {
+                    dateCache.clear();
+                }
+                dateCache.put(value, time);
+            }
+            dateValues.addTime(time);
+        }
+    }
+
+    static class EpochAppender extends CSVColumnAppender {
+
+        DateColumnValues dateValues;
+
+        EpochAppender(ColumnValues values) {
+            super(values);
+            this.dateValues = (DateColumnValues) values;
+        }
+
+        @Override
+        protected void appendNull() {
+            dateValues.addTime(DateColumnValues.NULL_TIME);
+        }
+
+        @Override
+        protected void appendValue(CSVTokenizer tokenizer, int field) {
+            double epoch = Double.parseDouble(tokenizer.getString(field));
+            dateValues.addTime((long) epoch * 1000);
+        }
+    }
+
+    static class LabelAppender extends CSVColumnAppender {
+
+        LabelAppender(ColumnValues values) {
+            super(values);
+        }
+
+        @Override
+        protected void appendNull() {
+            values.add(null);
+        }
+
+        @Override
+        protected void appendValue(CSVTokenizer tokenizer, int field) {
+            values.add(tokenizer.getString(field));
+        }
+    }
+}
@@ -25,10 +25,12 @@ import org.dashbuilder.dataprovider.StaticDataSetProvider;
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetMetadata;
+import org.dashbuilder.dataset.ForkJoinTaskExecutor;
 import org.dashbuilder.dataset.def.CSVDataSetDef;
 import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.dataset.def.DataSetDefRegistryListener;
+import org.dashbuilder.dataset.engine.DataSetTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +38,10 @@ public class CSVDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
 
     protected StaticDataSetProvider staticDataSetProvider;
     protected CSVFileStorage csvStorage;
+    protected boolean mappedParserEnabled = false;
+    protected int parserChunkSize = MappedCSVParser.DEFAULT_CHUNK_SIZE;
+    protected DataSetTaskExecutor parserTaskExecutor;
+    protected ForkJoinTaskExecutor defaultParserTaskExecutor;
     protected Logger log = LoggerFactory.getLogger(CSVDataSetProvider.class);
 
     private static CSVDataSetProvider SINGLETON = null;
@@ -60,6 +66,61 @@ public class CSVDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         this.csvStorage = csvStorage;
     }
 
+    public boolean isMappedParserEnabled() {
+        return mappedParserEnabled;
+    }
+
+    /**
+     * Enable the memory-mapped, parallel parser (see {@link MappedCSVParser}), which loads the CSV rows into a
+     * columnar data set.
+     */
+    public void setMappedParserEnabled(boolean mappedParserEnabled) {
+        this.mappedParserEnabled = mappedParserEnabled;
+    }
+
+    public int getParserChunkSize() {
+        return parserChunkSize;
+    }
+
+    /**
+     * Set the number of bytes every parallel task of the memory-mapped parser handles.
+     */
+    public void setParserChunkSize(int parserChunkSize) {
+        this.parserChunkSize = parserChunkSize;
+    }
+
+    public synchronized DataSetTaskExecutor getParserTaskExecutor() {
+        if (parserTaskExecutor == null) {
+            defaultParserTaskExecutor = new ForkJoinTaskExecutor(true, Runtime.getRuntime().availableProcessors(), 1);
+            parserTaskExecutor = defaultParserTaskExecutor;
+        }
+        return parserTaskExecutor;
+    }
+
+    /**
+     * Set the executor the chunks read by the memory-mapped parser are parsed with.
+     */
+    public synchronized void setParserTaskExecutor(DataSetTaskExecutor parserTaskExecutor) {
+        if (parserTaskExecutor != defaultParserTaskExecutor) {
+            shutdown();
+        }
+        this.parserTaskExecutor = parserTaskExecutor;
+    }
+
+    /**
+     * Release the threads of the executor created by default for the memory-mapped parser. Executors set through
+     * {@link #setParserTaskExecutor(DataSetTaskExecutor)} are owned by the caller, so they're not shut down.
+     */
+    public synchronized void shutdown() {
+        if (defaultParserTaskExecutor != null) {
+            defaultParserTaskExecutor.shutdown();
+            if (parserTaskExecutor == defaultParserTaskExecutor) {
+                parserTaskExecutor = null;
+            }
+            defaultParserTaskExecutor = null;
+        }
+    }
+
     public DataSetProviderType getType() {
         return DataSetProviderType.CSV;
     }
@@ -80,7 +141,7 @@ public class CSVDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         var csvDef = (CSVDataSetDef) def;
         var isTest = lookup != null && lookup.testMode();
         if (isTest || dataSet == null || hasCSVFileChanged(dataSet, csvDef)) {
-            CSVParser csvParser = new CSVParser(csvDef, csvStorage);
+            CSVParser csvParser = createCSVParser(csvDef);
             dataSet = csvParser.load();
             dataSet.setUUID(def.getUUID());
             dataSet.setDefinition(def);
@@ -102,6 +163,15 @@ public class CSVDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         return dataSet;
     }
 
+    protected CSVParser createCSVParser(CSVDataSetDef def) {
+        if (mappedParserEnabled) {
+            MappedCSVParser csvParser = new MappedCSVParser(def, csvStorage, getParserTaskExecutor());
+            csvParser.setChunkSize(parserChunkSize);
+            return csvParser;
+        }
+        return new CSVParser(def, csvStorage);
+    }
+
     public boolean isDataSetOutdated(DataSetDef def) {
         // If no data set is registered then no way for having stale data.
         DataSet dataSet = staticDataSetProvider.lookupDataSet(def, null);
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.csv;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Byte level CSV tokenizer which reads the records straight from a (typically memory-mapped) byte buffer.
+ * <p>It follows the same quoting &amp; escaping rules as the opencsv reader used by {@link CSVParser}, but instead of
+ * creating a string array per line it copies the unescaped bytes of every field into a reusable buffer, so that
+ * numbers can be parsed with no intermediate strings at all. The separator, quote &amp; escape characters must be
+ * plain ASCII characters and the content must be encoded in an ASCII compatible charset.</p>
+ * <p>Instances are not thread safe.</p>
+ */
+public class CSVTokenizer {
+
+    static final byte CR = '\r';
+    static final byte LF = '\n';
+    static final String ASCII_SAMPLE = "\t\n\r !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~";
+
+    /**
+     * @return true if the given character can be used as a separator, quote or escape character.
+     */
+    public static boolean isSupported(char c) {
+        return c < 0x80 && c != CR && c != LF;
+    }
+
+    /**
+     * @return true if the given charset encodes the ASCII characters as single bytes with the same value.
+     */
+    public static boolean isSupported(Charset charset) {
+        return Arrays.equals(ASCII_SAMPLE.getBytes(charset), ASCII_SAMPLE.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Get the position of the first record starting at or after the given position, i.e: the position right
+     * after the next line break.
+     * @return The buffer limit if no line break is found.
+     */
+    public static int nextLineStart(ByteBuffer buffer, int from) {
+        int limit = buffer.limit();
+        for (int i = from; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == LF) {
+                return i + 1;
+            }
+            if (b == CR) {
+                return i + 1 < limit && buffer.get(i + 1) == LF ? i + 2 : i + 1;
+            }
+        }
+        return limit;
+    }
+
+    protected ByteBuffer buffer;
+    protected int limit;
+    protected int position;
+    protected byte separator;
+    protected byte quote;
+    protected byte escape;
+    protected Charset charset;
+
+    protected byte[] chars = new byte[256];
+    protected int length = 0;
+    protected int[] fieldEnds = new int[16];
+    protected int fieldCount = 0;
+
+    public CSVTokenizer(ByteBuffer buffer, char separator, char quote, char escape, Charset charset) {
+        if (!isSupported(separator) || !isSupported(quote) || !isSupported(escape)) {
+            throw new IllegalArgumentException("Only ASCII separator, quote and escape chars are supported");
+        }
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("Charset not supported: " + charset);
+        }
+        this.charset = charset;
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+        this.position = buffer.position();
+        this.separator = (byte) separator;
+        this.quote = (byte) quote;
+        this.escape = (byte) escape;
+    }
+
+    /**
+     * @return The position where the next record starts.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Read the next record.
+     * @return false if the end of the buffer has been reached.
+     */
+    public boolean nextRecord() {
+        if (position >= limit) {
+            return false;
+        }
+        fieldCount = 0;
+        length = 0;
+        int fieldStart = 0;
+        int lineStart = position;
+        boolean inQuotes = false;
+        boolean inField = false;
+
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == LF || b == CR) {
+                position += b == CR && position + 1 < limit && buffer.get(position + 1) == LF ? 2 : 1;
+                if (!inQuotes) {
+                    break;
+                }
+                // Line breaks within quotes are kept as a single '\n'
+                append(LF);
+                inField = false;
+                lineStart = position;
+            }
+            else if (b == escape) {
+                if ((inQuotes || inField) && isNextEscapable()) {
+                    append(buffer.get(position + 1));
+                    position++;
+                }
+                position++;
+            }
+            else if (b == quote) {
+                if ((inQuotes || inField) && isNextInLine(quote)) {
+                    append(quote);
+                    position++;
+                } else {
+                    inQuotes = !inQuotes;
+                    // The tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                    int i = position - lineStart;
+                    if (i > 2 && buffer.get(position - 1) != separator && position + 1 < limit && !isLineBreak(buffer.get(position + 1)) && buffer.get(position + 1) != separator) {
+                        if (length > fieldStart && isAllWhitespace(fieldStart, length)) {
+                            length = fieldStart;
+                        } else {
+                            append(quote);
+                        }
+                    }
+                }
+                inField = !inField;
+                position++;
+            }
+            else if (b == separator && !inQuotes) {
+                endField();
+                fieldStart = length;
+                inField = false;
+                position++;
+            }
+            else {
+                append(b);
+                inField = true;
+                position++;
+            }
+        }
+        endField();
+        return true;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Get the bytes of the current record. Use {@link #getFieldOffset(int)} &amp; {@link #getFieldLength(int)}
+     * to locate the fields.
+     */
+    public byte[] getChars() {
+        return chars;
+    }
+
+    public int getFieldOffset(int field) {
+        return field == 0 ? 0 : fieldEnds[field - 1];
+    }
+
+    public int getFieldLength(int field) {
+        return fieldEnds[field] - getFieldOffset(field);
+    }
+
+    public String getString(int field) {
+        int offset = getFieldOffset(field);
+        return new String(chars, offset, fieldEnds[field] - offset, charset);
+    }
+
+    public String[] getStrings() {
+        String[] result = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            result[i] = getString(i);
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link StringUtils#isBlank(CharSequence)} on the given field.
+     */
+    public boolean isBlank(int field) {
+        int offset = getFieldOffset(field);
+        int end = fieldEnds[field];
+        for (int i = offset; i < end; i++) {
+            if (chars[i] < 0) {
+                return StringUtils.isBlank(getString(field));
+            }
+        }
+        return isAllWhitespace(offset, end);
+    }
+
+    protected boolean isAllWhitespace(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean isNextEscapable() {
+        return isNextInLine(quote) || isNextInLine(escape);
+    }
+
+    protected boolean isNextInLine(byte b) {
+        return position + 1 < limit && buffer.get(position + 1) == b;
+    }
+
+    protected boolean isLineBreak(byte b) {
+        return b == LF || b == CR;
+    }
+
+    protected void append(byte b) {
+        if (length == chars.length) {
+            byte[] newChars = new byte[chars.length * 2];
+            System.arraycopy(chars, 0, newChars, 0, length);
+            chars = newChars;
+        }
+        chars[length++] = b;
+    }
+
+    protected void endField() {
+        if (fieldCount == fieldEnds.length) {
+            int[] newEnds = new int[fieldEnds.length * 2];
+            System.arraycopy(fieldEnds, 0, newEnds, 0, fieldCount);
+            fieldEnds = newEnds;
+        }
+        fieldEnds[fieldCount++] = length;
+    }
+}
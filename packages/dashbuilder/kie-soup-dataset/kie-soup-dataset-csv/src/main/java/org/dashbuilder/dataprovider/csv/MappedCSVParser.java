@@ -0,0 +1,371 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.def.CSVDataSetDef;
+import org.dashbuilder.dataset.engine.DataSetTaskExecutor;
+import org.dashbuilder.dataset.impl.ColumnValues;
+
+/**
+ * CSV parser which memory-maps the file and tokenizes it at the byte level (see {@link CSVTokenizer}).
+ * <p>The file is split into chunks at line boundaries which are parsed in parallel, every chunk into its own set of
+ * primitive-typed column stores which are finally concatenated into a columnar data set. Since a line break might
+ * belong to a quoted field, every chunk boundary is validated against the position where the previous chunk
+ * actually stopped, falling back to a sequential parse when they don't match.</p>
+ * <p>Files are mapped only when referenced by the data set definition's file path. The contents of URLs or of
+ * the CSV storage are read into memory first. As {@link CSVParser} does, the content is decoded with the default
+ * charset, so if it's not ASCII compatible the parsing is delegated to {@link CSVParser}.</p>
+ * <p>Every chunk maps just its own range plus some slack for a record crossing its end. Mappings are released
+ * once no longer referenced, so chunks drop their buffer as soon as they are parsed.</p>
+ */
+public class MappedCSVParser extends CSVParser {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+    public static final int REGION_SLACK = 64 * 1024;
+
+    protected DataSetTaskExecutor taskExecutor;
+    protected int chunkSize = DEFAULT_CHUNK_SIZE;
+    protected Charset charset = Charset.defaultCharset();
+
+    public MappedCSVParser(CSVDataSetDef def, CSVFileStorage csvFileStorage, DataSetTaskExecutor taskExecutor) {
+        super(def, csvFileStorage);
+        this.taskExecutor = taskExecutor;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set the (approximate) number of bytes every parallel task parses.
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    protected DataSet load() throws Exception {
+        if (!CSVTokenizer.isSupported(dataSetDef.getSeparatorChar())
+                || !CSVTokenizer.isSupported(dataSetDef.getQuoteChar())
+                || !CSVTokenizer.isSupported(dataSetDef.getEscapeChar())
+                || !CSVTokenizer.isSupported(charset)) {
+            return super.load();
+        }
+        try (CSVSource source = openCSVSource()) {
+            // Map a region large enough to hold the header and the first row
+            long size = source.size();
+            int headSize = (int) Math.min(size, REGION_SLACK);
+            CSVTokenizer tokenizer;
+            String[] header;
+            String[] firstRow;
+            long dataStart;
+            while (true) {
+                tokenizer = newTokenizer(source.region(0, headSize));
+                if (!tokenizer.nextRecord()) throw new IOException("CSV has no header: " + dataSetDef);
+                header = tokenizer.getStrings();
+                dataStart = tokenizer.getPosition();
+                firstRow = tokenizer.nextRecord() ? tokenizer.getStrings() : null;
+                if (tokenizer.getPosition() < headSize || headSize == size || headSize == Integer.MAX_VALUE) {
+                    break;
+                }
+                headSize = (int) Math.min(size, Math.min(Integer.MAX_VALUE, 2L * headSize));
+            }
+            if (firstRow != null && firstRow.length < header.length) {
+                String exceptionMessage = String.format("CSV parse error : The first row has fewer columns (%d) than the header (%d)"
+                        , firstRow.length, header.length);
+                // Fail fast - see DASHBUILDE-172
+                throw new IllegalArgumentException(exceptionMessage);
+            }
+
+            // Build the data set structure
+            List<Integer> _columnIdxs = new ArrayList<Integer>();
+            DataSet dataSet = DataSetFactory.newColumnarDataSet();
+            for (int i = 0; i < header.length; i++) {
+                String columnId = header[i];
+                if (isColumnIncluded(columnId)) {
+                    ColumnType type = ColumnType.LABEL;
+                    if (firstRow != null) type = calculateType(columnId, firstRow[i]);
+                    dataSet.addColumn(columnId, type);
+                    _columnIdxs.add(i);
+                }
+            }
+            if (firstRow == null) {
+                return dataSet;
+            }
+
+            // Parse the rows in chunks
+            ChunkParser chunkParser = new ChunkParser(dataSet, dataStart, header.length, _columnIdxs);
+            List<Chunk> chunks = split(source, dataStart);
+            List<Runnable> tasks = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                tasks.add(() -> chunkParser.parse(chunk));
+            }
+            taskExecutor.invokeAll(tasks);
+
+            // A wrong boundary means a chunk started within a quoted field
+            List<Chunk> merged = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                Chunk previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (previous != null && previous.stop != chunk.start) {
+                    if (source.size() - dataStart > Integer.MAX_VALUE) {
+                        return super.load();
+                    }
+                    Chunk whole = new Chunk(dataStart, size, source.region(dataStart, (int) (size - dataStart)), false);
+                    chunkParser.parse(whole);
+                    merged.clear();
+                    merged.add(whole);
+                    break;
+                }
+                merged.add(chunk);
+                if (chunk.truncated || chunk.error != null) {
+                    break;
+                }
+            }
+            for (Chunk chunk : merged) {
+                if (chunk.error != null) {
+                    throw chunk.error;
+                }
+            }
+
+            // Concatenate the column stores
+            List<DataColumn> columns = dataSet.getColumns();
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnValues values = merged.get(0).values[i];
+                for (int j = 1; j < merged.size(); j++) {
+                    values.appendAll(merged.get(j).values[i]);
+                }
+                columns.get(i).setValues(values);
+            }
+            return dataSet;
+        }
+    }
+
+    protected CSVTokenizer newTokenizer(ByteBuffer buffer) {
+        return new CSVTokenizer(buffer,
+                dataSetDef.getSeparatorChar(),
+                dataSetDef.getQuoteChar(),
+                dataSetDef.getEscapeChar(),
+                charset);
+    }
+
+    /**
+     * Split the rows area into chunks starting at a line boundary. Chunks never exceed the 2 GB addressable
+     * by a single byte buffer.
+     */
+    protected List<Chunk> split(CSVSource source, long dataStart) throws IOException {
+        long size = source.size();
+        long step = Math.min(chunkSize, Integer.MAX_VALUE / 2);
+        List<Chunk> chunks = new ArrayList<>();
+        long start = dataStart;
+        while (start < size) {
+            long end = start + step;
+            end = end >= size ? size : nextLineStart(source, end);
+            long regionEnd = Math.min(size, Math.min(end + REGION_SLACK, start + Integer.MAX_VALUE));
+            chunks.add(new Chunk(start, end, source.region(start, (int) (regionEnd - start)), regionEnd < size));
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Find the start of the line following the given offset, probing the content a region at a time.
+     */
+    protected long nextLineStart(CSVSource source, long offset) throws IOException {
+        long size = source.size();
+        while (true) {
+            int length = (int) Math.min(size - offset, REGION_SLACK);
+            int next = CSVTokenizer.nextLineStart(source.region(offset, length), 0);
+            if (next < length || offset + length == size || length < 2) {
+                return offset + next;
+            }
+            // Probe again from the last byte, in case it's a line break (or the CR of a CRLF)
+            offset += length - 1;
+        }
+    }
+
+    protected CSVSource openCSVSource() throws Exception {
+        String url = dataSetDef.getFileURL();
+        if (StringUtils.isBlank(url)) {
+            String path = dataSetDef.getFilePath();
+            if (!StringUtils.isBlank(path)) {
+                File f = new File(path);
+                if (f.exists()) {
+                    return new MappedFileSource(FileChannel.open(f.toPath(), StandardOpenOption.READ));
+                }
+            }
+        }
+        try (InputStream is = getCSVInputStream()) {
+            return new ByteArraySource(is.readAllBytes());
+        }
+    }
+
+    /**
+     * A range of the file to parse, along with its parse results.
+     */
+    protected static class Chunk {
+
+        long start;
+        long end;
+        ByteBuffer buffer;
+        boolean partial;
+        long stop = -1;
+        boolean truncated = false;
+        Exception error;
+        ColumnValues[] values;
+
+        /**
+         * @param partial The buffer ends before the end of the content
+         */
+        Chunk(long start, long end, ByteBuffer buffer, boolean partial) {
+            this.start = start;
+            this.end = end;
+            this.buffer = buffer;
+            this.partial = partial;
+        }
+    }
+
+    protected class ChunkParser {
+
+        DataSet dataSet;
+        long dataStart;
+        int headerLength;
+        List<Integer> columnIdxs;
+
+        ChunkParser(DataSet dataSet, long dataStart, int headerLength, List<Integer> columnIdxs) {
+            this.dataSet = dataSet;
+            this.dataStart = dataStart;
+            this.headerLength = headerLength;
+            this.columnIdxs = columnIdxs;
+        }
+
+        /**
+         * Parse all the records starting before the chunk end. The last one may exceed it.
+         */
+        void parse(Chunk chunk) {
+            List<DataColumn> columns = dataSet.getColumns();
+            chunk.values = new ColumnValues[columns.size()];
+            CSVColumnAppender[] appenders = new CSVColumnAppender[columns.size()];
+            int[] fields = new int[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                DataColumn column = columns.get(i);
+                chunk.values[i] = ColumnValues.newColumnValues(column.getColumnType());
+                appenders[i] = CSVColumnAppender.create(MappedCSVParser.this, column.getId(), column.getColumnType(), chunk.values[i]);
+                fields[i] = columnIdxs.get(i);
+            }
+            CSVTokenizer tokenizer = newTokenizer(chunk.buffer);
+            long length = chunk.end - chunk.start;
+            try {
+                // The first row of the file might have more columns than the header
+                boolean firstRow = chunk.start == dataStart;
+                while (tokenizer.getPosition() < length && tokenizer.nextRecord()) {
+                    int fieldCount = tokenizer.getFieldCount();
+                    if (fieldCount != headerLength && !(firstRow && fieldCount > headerLength)) {
+                        chunk.truncated = true;
+                        break;
+                    }
+                    for (int i = 0; i < appenders.length; i++) {
+                        appenders[i].append(tokenizer, fields[i]);
+                    }
+                    firstRow = false;
+                }
+            } catch (Exception e) {
+                chunk.error = e;
+            }
+            chunk.stop = chunk.start + tokenizer.getPosition();
+
+            // The last record might go beyond the mapped region, so the boundary with the next chunk can't be trusted
+            if (chunk.partial && tokenizer.getPosition() >= chunk.buffer.limit()) {
+                chunk.stop = -1;
+                chunk.truncated = false;
+                chunk.error = null;
+            }
+            chunk.buffer = null;
+        }
+    }
+
+    /**
+     * The bytes of the CSV content.
+     */
+    protected interface CSVSource extends AutoCloseable {
+
+        long size() throws IOException;
+
+        /**
+         * Get a buffer with the given range of the content.
+         */
+        ByteBuffer region(long offset, int length) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    protected static class MappedFileSource implements CSVSource {
+
+        FileChannel channel;
+
+        MappedFileSource(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        public ByteBuffer region(long offset, int length) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+
+        public void close() throws IOException {
+            // Mapped buffers remain valid once the channel is closed
+            channel.close();
+        }
+    }
+
+    protected static class ByteArraySource implements CSVSource {
+
+        byte[] bytes;
+
+        ByteArraySource(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        public long size() {
+            return bytes.length;
+        }
+
+        public ByteBuffer region(long offset, int length) {
+            return ByteBuffer.wrap(bytes, (int) offset, length).slice();
+        }
+
+        public void close() {
+        }
+    }
+}
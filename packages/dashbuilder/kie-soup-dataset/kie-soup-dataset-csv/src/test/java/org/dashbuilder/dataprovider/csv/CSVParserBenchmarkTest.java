@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.csv;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.ForkJoinTaskExecutor;
+import org.dashbuilder.dataset.def.CSVDataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the results &amp; the memory footprint of the opencsv based and the memory-mapped parsers on a large file.
+ */
+public class CSVParserBenchmarkTest {
+
+    static final int ROWS = 300000;
+    static final int PARSE_TIMES = 3;
+    static final int CHUNK_SIZE = 1024 * 1024;
+    static final String[] CITIES = {"Barcelona", "Madrid", "Brno", "Westford", "Raleigh", "London", "Paris", "Berlin"};
+    static final String[] DEPARTMENTS = {"Engineering", "Services", "Sales", "Support", "Management"};
+
+    static File csvFile;
+    static CSVDataSetDef csvDef;
+    static ForkJoinTaskExecutor taskExecutor = new ForkJoinTaskExecutor(true, Runtime.getRuntime().availableProcessors(), 1);
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        csvFile = File.createTempFile("csvBenchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("id;city;department;date;amount\n");
+            for (int i = 0; i < ROWS; i++) {
+                writer.write(i + ";" + CITIES[i % CITIES.length] + ";\"" + DEPARTMENTS[i % DEPARTMENTS.length] + "\";"
+                        + String.format("%02d-%02d-%d", 1 + i % 12, 1 + i % 28, 2000 + i % 20) + ";"
+                        + (i % 2000) + "," + (100 + i % 900) + "." + (i % 100) + "\n");
+            }
+        }
+        csvDef = (CSVDataSetDef) DataSetDefFactory.newCSVDataSetDef()
+                .filePath(csvFile.getAbsolutePath())
+                .label("id")
+                .label("city")
+                .label("department")
+                .date("date", "MM-dd-yyyy")
+                .number("amount", "#,###.##")
+                .separatorChar(';')
+                .quoteChar('\"')
+                .escapeChar('\\')
+                .buildDef();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        taskExecutor.shutdown();
+        csvFile.delete();
+    }
+
+    @Test
+    public void testLargeFile() throws Exception {
+        DataSet opencsvResult = new CSVParser(csvDef, null).load();
+        MappedCSVParser mappedParser = new MappedCSVParser(csvDef, null, taskExecutor);
+        mappedParser.setChunkSize(CHUNK_SIZE);
+        DataSet mappedResult = null;
+        for (int i = 0; i < PARSE_TIMES; i++) {
+            mappedResult = mappedParser.load();
+        }
+
+        // Both parsers must produce the very same results
+        assertThat(mappedResult.getRowCount()).isEqualTo(ROWS);
+        MappedCSVParserTest.assertSameValues(mappedResult, opencsvResult);
+        assertThat(mappedResult.getEstimatedSize()).isLessThan(opencsvResult.getEstimatedSize());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.csv;
+
+import java.io.File;
+import java.net.URL;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.ForkJoinTaskExecutor;
+import org.dashbuilder.dataset.def.CSVDataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.impl.ColumnarDataSetImpl;
+import org.dashbuilder.dataset.impl.DoubleColumnValues;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MappedCSVParserTest {
+
+    static ForkJoinTaskExecutor taskExecutor = new ForkJoinTaskExecutor(true, 4, 1);
+
+    @AfterClass
+    public static void tearDownClass() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    public void testMappedFiles() throws Exception {
+        CSVDataSetDef expenses = (CSVDataSetDef) DataSetDefFactory.newCSVDataSetDef()
+                .filePath(getFilePath("expenseReports.csv"))
+                .label("id")
+                .date("date", "MM-dd-yyyy")
+                .number("amount", "#,###.##")
+                .separatorChar(';')
+                .quoteChar('\"')
+                .escapeChar('\\')
+                .buildDef();
+
+        CSVDataSetDef population = (CSVDataSetDef) DataSetDefFactory.newCSVDataSetDef()
+                .filePath(getFilePath("worldPopulation.csv"))
+                .separatorChar(',')
+                .quoteChar('\"')
+                .escapeChar('\\')
+                .datePattern("MM-dd-yyyy")
+                .numberPattern("#,###.##")
+                .buildDef();
+
+        for (CSVDataSetDef def : new CSVDataSetDef[] {expenses, population}) {
+            DataSet expected = new CSVParser(def, null).load();
+            for (int chunkSize : new int[] {1, 100, MappedCSVParser.DEFAULT_CHUNK_SIZE}) {
+                MappedCSVParser parser = new MappedCSVParser(def, null, taskExecutor);
+                parser.setChunkSize(chunkSize);
+                DataSet result = parser.load();
+                assertThat(result).isInstanceOf(ColumnarDataSetImpl.class);
+                assertSameValues(result, expected);
+            }
+        }
+    }
+
+    @Test
+    public void testQuotesAndEscapes() throws Exception {
+        String csv = "'Name','Weight','Comments'\n" +
+                "'Jan''s','75.64','Line 1\nLine 2'\r\n" +
+                "Pep,'1,000.5',he said \\'hi\\'\n" +
+                "'Anna',,'a,b'\n" +
+                "Joe,3,ab'c'de\n";
+        assertSameResults(csv, 1);
+        assertSameResults(csv, 8);
+
+        DataSet result = load(csv, 1);
+        assertThat(result.getRowCount()).isEqualTo(4);
+        assertThat(result.getValueAt(0, 0)).isEqualTo("Jan's");
+        assertThat(result.getValueAt(0, 2)).isEqualTo("Line 1\nLine 2");
+        assertThat(result.getValueAt(1, 1)).isEqualTo(1000.5d);
+        assertThat(result.getValueAt(2, 1)).isNull();
+        assertThat(result.getValueAt(2, 2)).isEqualTo("a,b");
+    }
+
+    @Test
+    public void testRecordsLongerThanRegionSlack() throws Exception {
+        StringBuilder longText = new StringBuilder();
+        while (longText.length() < MappedCSVParser.REGION_SLACK * 2) {
+            longText.append("Lorem ipsum\ndolor sit amet ");
+        }
+        StringBuilder longName = new StringBuilder("Name");
+        while (longName.length() < MappedCSVParser.REGION_SLACK + 10) {
+            longName.append('x');
+        }
+        String csv = longName + ",Comments\n" +
+                "A,'" + longText + "'\n" +
+                "B,short\n" +
+                "C," + longText.toString().replace('\n', ' ') + "\r\n" +
+                "D,'" + longText + "'\n";
+        for (int chunkSize : new int[] {1, 1000, MappedCSVParser.REGION_SLACK}) {
+            assertSameResults(csv, chunkSize);
+        }
+        DataSet result = load(csv, 1000);
+        assertThat(result.getRowCount()).isEqualTo(4);
+        assertThat(result.getValueAt(3, 1)).isEqualTo(longText.toString());
+    }
+
+    @Test
+    public void testStopAtMalformedRow() throws Exception {
+        String csv = "Name,Age\n" +
+                "A,1\n" +
+                "B,2\n" +
+                "C\n" +
+                "D,4\n";
+        assertSameResults(csv, 1);
+        assertThat(load(csv, 1).getRowCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFirstRowWithExtraColumns() throws Exception {
+        String csv = "Name,Age\n" +
+                "A,1,extra\n" +
+                "B,2\n";
+        assertSameResults(csv, 1);
+        assertThat(load(csv, 1).getRowCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFewerColumnsThanHeader() throws Exception {
+        try {
+            load("'Name','Age'\n'Jan''15'", 1);
+            fail("IllegalArgumentException should be thrown when 1st row of CSV data has less fields than the header");
+        } catch (IllegalArgumentException e) {
+            assertEquals("CSV parse error : The first row has fewer columns (1) than the header (2)", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseError() throws Exception {
+        try {
+            load("Name,Date of birth\nA,1950-01-20\nB,1950-01-20\nC,never\n", 1);
+            fail("Invalid dates must not be parsed");
+        } catch (Exception e) {
+            assertThat(e.getMessage()).startsWith("Error parsing value: never");
+        }
+    }
+
+    @Test
+    public void testNumberFastPath() throws Exception {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+        symbols.setGroupingSeparator(',');
+        symbols.setDecimalSeparator('.');
+        DecimalFormat format = new DecimalFormat("#,###.##", symbols);
+        CSVColumnAppender.NumberAppender appender = new CSVColumnAppender.NumberAppender(new DoubleColumnValues(), format);
+        assertThat(appender.fastPathEnabled).isTrue();
+
+        Random random = new Random(11);
+        String[] fixed = {"0", "-0", "12.", "1,234.5", "-1,234,567.891", "000123", "999999999999999", "0.000000000000001"};
+        for (int i = 0; i < 10000 + fixed.length; i++) {
+            String value = i < fixed.length ? fixed[i] : randomNumber(random);
+            byte[] bytes = value.getBytes();
+            DoubleColumnValues values = (DoubleColumnValues) appender.values;
+            if (appender.parseFast(bytes, 0, bytes.length)) {
+                double expected = format.parse(value).doubleValue();
+                assertEquals(value, Double.doubleToLongBits(expected), Double.doubleToLongBits(values.getDouble(values.size() - 1)));
+            }
+        }
+        for (String value : new String[] {"", "-", "1e5", "1.2.3", "1,", ",1", "1.5,0", "+1", " 1", "1234567890123456"}) {
+            byte[] bytes = value.getBytes();
+            assertThat(appender.parseFast(bytes, 0, bytes.length)).as(value).isFalse();
+        }
+    }
+
+    String randomNumber(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextBoolean()) {
+            sb.append('-');
+        }
+        long integer = (long) (random.nextDouble() * Math.pow(10, random.nextInt(10)));
+        sb.append(random.nextBoolean() ? String.format(Locale.ROOT, "%,d", integer) : Long.toString(integer));
+        if (random.nextBoolean()) {
+            sb.append('.');
+            int decimals = random.nextInt(6);
+            for (int i = 0; i < decimals; i++) {
+                sb.append(random.nextInt(10));
+            }
+        }
+        return sb.toString();
+    }
+
+    CSVDataSetDef createDef() {
+        return (CSVDataSetDef) DataSetDefFactory.newCSVDataSetDef()
+                .separatorChar(',')
+                .quoteChar('\'')
+                .escapeChar('\\')
+                .datePattern("yyyy-MM-dd")
+                .numberPattern("#,###.##")
+                .buildDef();
+    }
+
+    DataSet load(String csv, int chunkSize) throws Exception {
+        MappedCSVParser parser = new MappedCSVParser(createDef(), new CSVParserTest.MockCSVFileStorage(csv), taskExecutor);
+        parser.setChunkSize(chunkSize);
+        return parser.load();
+    }
+
+    void assertSameResults(String csv, int chunkSize) throws Exception {
+        DataSet expected = new CSVParser(createDef(), new CSVParserTest.MockCSVFileStorage(csv)).load();
+        assertSameValues(load(csv, chunkSize), expected);
+    }
+
+    static void assertSameValues(DataSet result, DataSet expected) {
+        assertEquals(expected.getRowCount(), result.getRowCount());
+        assertEquals(expected.getColumns().size(), result.getColumns().size());
+        for (int j = 0; j < expected.getColumns().size(); j++) {
+            ColumnType type = expected.getColumnByIndex(j).getColumnType();
+            assertEquals(type, result.getColumnByIndex(j).getColumnType());
+            for (int i = 0; i < expected.getRowCount(); i++) {
+                assertEquals("Row " + i + ", column " + j, expected.getValueAt(i, j), result.getValueAt(i, j));
+            }
+        }
+    }
+
+    static String getFilePath(String resource) throws Exception {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
+        return new File(url.toURI()).getAbsolutePath();
+    }
+}
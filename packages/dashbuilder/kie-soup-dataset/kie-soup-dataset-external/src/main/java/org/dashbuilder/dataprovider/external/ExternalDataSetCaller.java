@@ -15,15 +15,32 @@
  */
 package org.dashbuilder.dataprovider.external;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.codec.binary.Base64;
 import org.dashbuilder.dataprovider.external.ExternalDataSetSecurityStore.SecurityInfo;
@@ -31,10 +48,24 @@ import org.dashbuilder.dataprovider.external.ExternalDataSetSecurityStore.Securi
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetMetadata;
 import org.dashbuilder.dataset.def.ExternalDataSetDef;
-import org.dashbuilder.dataset.json.ExternalDataSetJSONParser;
 
+/**
+ * Retrieves the external data sets.
+ * <p>HTTP(S) URLs are fetched asynchronously through a shared {@link HttpClient}, so connections are reused across
+ * calls. Responses are requested gzip compressed and, when the server returns an <code>ETag</code> or a
+ * <code>Last-Modified</code> header, the parsed result is kept so that subsequent calls can be made conditional.
+ * A <code>304 Not Modified</code> response returns the previous result with no parsing at all. Only the results of
+ * the most recently used URLs are kept (see {@link #setMaxCachedResponses(int)}).</p>
+ * <p>Any other URL (i.e: <code>file:</code>) is read through a regular {@link URLConnection}.</p>
+ */
 public class ExternalDataSetCaller {
 
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    public static final int DEFAULT_MAX_CACHED_RESPONSES = 100;
+
     private static final String BEARER = "Bearer";
 
     private static final String BASIC = "Basic";
@@ -43,18 +74,53 @@ public class ExternalDataSetCaller {
 
     private static final String METADATA_URI = "metadata";
 
-    private ExternalDataSetJSONParser parser;
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    private static final String ETAG_HEADER = "ETag";
+
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
+    private static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
+    private static final String GZIP = "gzip";
+
+    private static final int NOT_MODIFIED = 304;
+
+    private ExternalDataSetJSONStreamParser parser;
+
+    private HttpClient httpClient;
+
+    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+
+    private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+
+    private boolean conditionalRequestsEnabled = true;
+
+    private volatile int maxCachedResponses = DEFAULT_MAX_CACHED_RESPONSES;
+
+    private final Map<String, CachedResponse> responseCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                    return size() > maxCachedResponses;
+                }
+            });
 
     public ExternalDataSetCaller() {
         // Empty
     }
 
-    public ExternalDataSetCaller(ExternalDataSetJSONParser parser) {
+    public ExternalDataSetCaller(ExternalDataSetJSONStreamParser parser) {
         this.parser = parser;
     }
 
     public static ExternalDataSetCaller get() {
-        var parser = new ExternalDataSetJSONParser(value -> {
+        var parser = new ExternalDataSetJSONStreamParser(value -> {
             var temporalAccessor = DateTimeFormatter.ISO_INSTANT.parse(value);
             var instant = Instant.from(temporalAccessor);
             return Date.from(instant);
@@ -62,7 +128,71 @@ public class ExternalDataSetCaller {
         return new ExternalDataSetCaller(parser);
     }
 
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Set the connection timeout. It only applies to HTTP connections opened after the first call if set once the
+     * client has been created.
+     */
+    public synchronized void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.httpClient = null;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Set the maximum time to wait for a response.
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public boolean isConditionalRequestsEnabled() {
+        return conditionalRequestsEnabled;
+    }
+
+    /**
+     * Enable/disable sending the <code>If-None-Match</code> &amp; <code>If-Modified-Since</code> headers.
+     */
+    public void setConditionalRequestsEnabled(boolean conditionalRequestsEnabled) {
+        this.conditionalRequestsEnabled = conditionalRequestsEnabled;
+        if (!conditionalRequestsEnabled) {
+            responseCache.clear();
+        }
+    }
+
+    public int getMaxCachedResponses() {
+        return maxCachedResponses;
+    }
+
+    /**
+     * Set the max. number of responses kept for conditional requests. The least recently used are discarded first.
+     */
+    public void setMaxCachedResponses(int maxCachedResponses) {
+        this.maxCachedResponses = maxCachedResponses;
+        synchronized (responseCache) {
+            var it = responseCache.keySet().iterator();
+            while (responseCache.size() > maxCachedResponses && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    public int getCachedResponses() {
+        return responseCache.size();
+    }
+
     public DataSetMetadata retrieveMetadata(ExternalDataSetDef def) {
+        return join(retrieveMetadataAsync(def));
+    }
+
+    public CompletableFuture<DataSetMetadata> retrieveMetadataAsync(ExternalDataSetDef def) {
         var defUrl = ExternalDataSetHelper.getUrl(def);
         var metaUrl = defUrl.endsWith("/") ? defUrl : defUrl + "/";
         URL url;
@@ -72,12 +202,14 @@ public class ExternalDataSetCaller {
             throw new IllegalArgumentException("Invalid definition URL " + defUrl, e);
         }
 
-        var json = getUrlContent(def, url);
-        return parser.parseMetadata(json);
-
+        return fetch(def, url, json -> parser.parseMetadata(readBody(json)));
     }
 
     public DataSet retrieveDataSet(ExternalDataSetDef def) {
+        return join(retrieveDataSetAsync(def));
+    }
+
+    public CompletableFuture<DataSet> retrieveDataSetAsync(ExternalDataSetDef def) {
         URL url;
         var defUrl = ExternalDataSetHelper.getUrl(def);
         try {
@@ -86,11 +218,131 @@ public class ExternalDataSetCaller {
             throw new IllegalArgumentException("Invalid definition URL " + defUrl, e);
         }
 
-        var json = getUrlContent(def, url);
-        return parser.parseDataSet(json);
+        return fetch(def, url, this::parseDataSet);
+    }
+
+    /**
+     * Forget the validators &amp; the results kept for the given definition.
+     */
+    public void evict(ExternalDataSetDef def) {
+        synchronized (responseCache) {
+            responseCache.keySet().removeIf(key -> key.startsWith(def.getUUID() + " "));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> fetch(ExternalDataSetDef def, URL url, Function<InputStream, T> parse) {
+        if (!isHttp(url)) {
+            try {
+                return CompletableFuture.completedFuture(parse.apply(getUrlContent(def, url)));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        var cacheKey = def.getUUID() + " " + url.toExternalForm();
+        var cached = conditionalRequestsEnabled ? responseCache.get(cacheKey) : null;
+        HttpRequest request;
+        try {
+            request = buildRequest(def, url.toURI(), cached);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid definition URL " + url, e);
+        }
+        return getHttpClient().sendAsync(request, BodyHandlers.ofInputStream()).thenApply(response -> {
+            try (var body = decodeBody(response)) {
+                var status = response.statusCode();
+                if (status == NOT_MODIFIED && cached != null) {
+                    return (T) cached.value;
+                }
+                if (status != 200) {
+                    throw new RuntimeException("Invalid response when accessing external dataSet " + def.getName() +
+                            ": " + status);
+                }
+                var value = parse.apply(body);
+                var etag = response.headers().firstValue(ETAG_HEADER).orElse(null);
+                var lastModified = response.headers().firstValue(LAST_MODIFIED_HEADER).orElse(null);
+                if (conditionalRequestsEnabled && (etag != null || lastModified != null)) {
+                    responseCache.put(cacheKey, new CachedResponse(etag, lastModified, value));
+                } else {
+                    responseCache.remove(cacheKey);
+                }
+                return value;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private HttpRequest buildRequest(ExternalDataSetDef def, URI uri, CachedResponse cached) {
+        var builder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header(ACCEPT_ENCODING_HEADER, GZIP)
+                .GET();
+        ExternalDataSetSecurityStore.get(def)
+                .map(this::getAuthorization)
+                .ifPresent(auth -> builder.header(AUTHORIZATION_HEADER.trim(), auth));
+        if (cached != null) {
+            if (cached.etag != null) {
+                builder.header(IF_NONE_MATCH_HEADER, cached.etag);
+            }
+            if (cached.lastModified != null) {
+                builder.header(IF_MODIFIED_SINCE_HEADER, cached.lastModified);
+            }
+        }
+        return builder.build();
+    }
+
+    private InputStream decodeBody(HttpResponse<InputStream> response) throws IOException {
+        var body = response.body();
+        var gzipped = response.headers().firstValue(CONTENT_ENCODING_HEADER)
+                .filter(GZIP::equalsIgnoreCase)
+                .isPresent();
+        return gzipped && response.statusCode() == 200 ? new GZIPInputStream(body) : body;
+    }
+
+    private DataSet parseDataSet(InputStream body) {
+        try {
+            return parser.parseDataSet(new InputStreamReader(body, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String readBody(InputStream body) {
+        try {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private String getUrlContent(ExternalDataSetDef def, URL url) {
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException && !(cause instanceof UncheckedIOException)) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Not able to access external data set", cause);
+        }
+    }
+
+    private synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = HttpClient.newBuilder()
+                    .connectTimeout(connectTimeout)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+        }
+        return httpClient;
+    }
+
+    private boolean isHttp(URL url) {
+        var protocol = url.getProtocol();
+        return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol);
+    }
+
+    private InputStream getUrlContent(ExternalDataSetDef def, URL url) {
         URLConnection conn;
         try {
             conn = url.openConnection();
@@ -98,16 +350,18 @@ public class ExternalDataSetCaller {
             throw new RuntimeException("Not able to open URL " + url.toExternalForm() + " from data set " + def
                     .getName(), e);
         }
+        conn.setConnectTimeout((int) connectTimeout.toMillis());
+        conn.setReadTimeout((int) requestTimeout.toMillis());
 
         if (conn instanceof HttpURLConnection) {
             var httpConn = (HttpURLConnection) conn;
             ExternalDataSetSecurityStore.get(def).ifPresent(secInfo -> addSecurity(httpConn, secInfo));
         }
 
-        try {
-            var response = new String(conn.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try (var is = conn.getInputStream()) {
+            var response = is.readAllBytes();
             checkResponse(def, conn);
-            return response;
+            return new ByteArrayInputStream(response);
         } catch (Exception e) {
             throw new RuntimeException("Not able to access external data set", e);
         }
@@ -118,7 +372,7 @@ public class ExternalDataSetCaller {
             var httpConn = (HttpURLConnection) conn;
             try {
                 if (httpConn.getResponseCode() != 200) {
-                    throw new RuntimeException("Invalid response when acessing external dataSet " + def.getName() +
+                    throw new RuntimeException("Invalid response when accessing external dataSet " + def.getName() +
                             ": " +
                             httpConn.getResponseCode());
                 }
@@ -129,14 +383,37 @@ public class ExternalDataSetCaller {
     }
 
     protected void addSecurity(HttpURLConnection conn, SecurityInfo secInfo) {
+        var auth = getAuthorization(secInfo);
+        if (auth != null) {
+            conn.setRequestProperty(AUTHORIZATION_HEADER, auth);
+        }
+    }
+
+    protected String getAuthorization(SecurityInfo secInfo) {
         if (secInfo.getType() == SecurityType.BASIC) {
             var auth = secInfo.getUsername() + ":" + secInfo.getPassword();
             var encodedAuth = Base64.encodeBase64(auth.getBytes(StandardCharsets.UTF_8));
-            conn.setRequestProperty(AUTHORIZATION_HEADER, BASIC + " " + new String(encodedAuth));
+            return BASIC + " " + new String(encodedAuth);
         }
 
         if (secInfo.getType() == SecurityType.TOKEN) {
-            conn.setRequestProperty(AUTHORIZATION_HEADER, BEARER + " " + secInfo.getToken());
+            return BEARER + " " + secInfo.getToken();
+        }
+        return null;
+    }
+
+    private static class CachedResponse {
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final Object value;
+
+        private CachedResponse(String etag, String lastModified, Object value) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
         }
     }
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.external;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Date;
+import java.util.function.Function;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.json.ExternalDataSetJSONParser;
+import org.dashbuilder.json.Json;
+import org.dashbuilder.json.JsonArray;
+import org.dashbuilder.json.JsonReader;
+import org.dashbuilder.json.JsonToken;
+import org.dashbuilder.json.JsonValue;
+
+/**
+ * Parses external data sets straight from the response body with a {@link JsonReader}.
+ * <p>The rows are read &amp; added to the data set one by one, so neither the whole JSON text nor its tree are
+ * ever held in memory. Values are converted exactly as {@link ExternalDataSetJSONParser} does.</p>
+ */
+public class ExternalDataSetJSONStreamParser extends ExternalDataSetJSONParser {
+
+    public ExternalDataSetJSONStreamParser(Function<String, Date> dateParser) {
+        super(dateParser);
+    }
+
+    public DataSet parseDataSet(Reader json) throws IOException {
+        var dataSet = DataSetFactory.newEmptyDataSet();
+        var reader = new JsonReader(json);
+        var token = reader.peek();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            try {
+                parseDataSetObject(reader, dataSet);
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException("DataSet JSON is invalid. Expected an array of data columns", e);
+            }
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            parseDataSetArray(reader, dataSet);
+        }
+        return dataSet;
+    }
+
+    private void parseDataSetObject(JsonReader reader, DataSet dataSet) throws IOException {
+        JsonArray pendingValues = null;
+        var columnsAdded = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            var name = reader.nextName();
+            if (COLUMNS.equals(name)) {
+                JsonArray columns = nextValue(reader);
+                addColumns(dataSet, columns);
+                columnsAdded = true;
+            } else if (VALUES.equals(name)) {
+                if (columnsAdded) {
+                    readRows(reader, dataSet);
+                } else {
+                    // The columns are required to parse the values
+                    pendingValues = nextValue(reader);
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (pendingValues != null) {
+            addValues(dataSet, pendingValues);
+        }
+    }
+
+    private void parseDataSetArray(JsonReader reader, DataSet dataSet) throws IOException {
+        reader.beginArray();
+        if (!reader.hasNext()) {
+            return;
+        }
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            JsonArray firstRow = reader.nextValue();
+            addColumnsFromRow(dataSet, firstRow);
+            fillRow(dataSet, 0, firstRow);
+            readMatrixRows(reader, dataSet, 1);
+        } else {
+            var row = readRow(reader);
+            addColumnsFromRow(dataSet, row);
+            fillRow(dataSet, 0, row);
+        }
+        reader.endArray();
+    }
+
+    private void readRows(JsonReader reader, DataSet dataSet) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginArray();
+        if (reader.hasNext()) {
+            if (dataSet.getColumns().isEmpty()) {
+                throw new IllegalArgumentException("DataSet is missing columns.");
+            }
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                readMatrixRows(reader, dataSet, 0);
+            } else {
+                fillRow(dataSet, 0, readRow(reader));
+            }
+        }
+        reader.endArray();
+    }
+
+    private void readMatrixRows(JsonReader reader, DataSet dataSet, int rowIndex) throws IOException {
+        while (reader.hasNext()) {
+            JsonArray row = reader.nextValue();
+            fillRow(dataSet, rowIndex++, row);
+        }
+    }
+
+    /**
+     * Read the remaining values of the current array as a single row.
+     */
+    private JsonArray readRow(JsonReader reader) throws IOException {
+        var row = Json.createArray();
+        while (reader.hasNext()) {
+            row.set(row.length(), (JsonValue) reader.nextValue());
+        }
+        return row;
+    }
+
+    private <T extends JsonValue> T nextValue(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextValue();
+    }
+}
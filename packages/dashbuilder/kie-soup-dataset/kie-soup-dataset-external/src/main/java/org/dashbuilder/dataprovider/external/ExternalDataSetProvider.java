@@ -86,6 +86,9 @@ public class ExternalDataSetProvider implements DataSetProvider {
         if (isTest || !def.isCacheEnabled()) {
             staticDataSetProvider.removeDataSet(uuid);
         }
+        if (isTest) {
+            caller.evict((ExternalDataSetDef) def);
+        }
         return resultDataSet;
     }
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.external;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.def.ExternalDataSetDef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.dashbuilder.dataprovider.external.ExternalDataSetSecurityStore.TOKEN_PROP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ExternalDataSetCallerTest {
+
+    static final String DEF_UUID = "callerTest";
+    static final String ETAG = "\"v1\"";
+    static final String DATASET_JSON = "{\"columns\": [{\"id\": \"C1\", \"type\": \"LABEL\"}, {\"id\": \"C2\", \"type\": \"NUMBER\"}]," +
+            "\"values\": [[\"G1\", 1], [\"G2\", 2]]}";
+    static final String METADATA_JSON = "{\"numberOfRows\": 2, \"columns\": [{\"id\": \"C1\", \"type\": \"LABEL\"}]}";
+
+    HttpServer server;
+    ExternalDataSetCaller caller;
+    ExternalDataSetDef def;
+    List<Integer> responseCodes = new ArrayList<>();
+    List<String> authHeaders = new ArrayList<>();
+    int status = 200;
+
+    @Before
+    public void setup() throws Exception {
+        System.clearProperty(String.format(TOKEN_PROP, DEF_UUID));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/dataset/", exchange -> {
+            var body = exchange.getRequestURI().getPath().endsWith("/metadata") ? METADATA_JSON : DATASET_JSON;
+            respond(exchange, body);
+        });
+        server.start();
+
+        caller = ExternalDataSetCaller.get();
+        def = (ExternalDataSetDef) DataSetDefFactory.newExternalDataSetDef()
+                .uuid(DEF_UUID)
+                .name(DEF_UUID)
+                .url("http://localhost:" + server.getAddress().getPort() + "/dataset/")
+                .buildDef();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(String.format(TOKEN_PROP, DEF_UUID));
+        server.stop(0);
+    }
+
+    @Test
+    public void testConditionalRequests() throws Exception {
+        var dataSet = caller.retrieveDataSet(def);
+        assertEquals(2, dataSet.getRowCount());
+        assertEquals("G2", dataSet.getValueAt(1, 0));
+        assertEquals(2d, dataSet.getValueAt(1, 1));
+
+        // Not modified, so the previous data set is returned with no parsing
+        assertSame(dataSet, caller.retrieveDataSet(def));
+        assertEquals(List.of(200, 304), responseCodes);
+
+        caller.evict(def);
+        caller.retrieveDataSet(def);
+        assertEquals(List.of(200, 304, 200), responseCodes);
+
+        caller.setConditionalRequestsEnabled(false);
+        caller.retrieveDataSet(def);
+        caller.retrieveDataSet(def);
+        assertEquals(List.of(200, 304, 200, 200, 200), responseCodes);
+    }
+
+    @Test
+    public void testMaxCachedResponses() throws Exception {
+        caller.setMaxCachedResponses(1);
+        caller.retrieveDataSet(def);
+        caller.retrieveMetadata(def);
+        assertEquals(1, caller.getCachedResponses());
+
+        // The data set response has been discarded, so no conditional request is made
+        caller.retrieveDataSet(def);
+        assertEquals(List.of(200, 200, 200), responseCodes);
+
+        caller.setMaxCachedResponses(0);
+        assertEquals(0, caller.getCachedResponses());
+    }
+
+    @Test
+    public void testAsyncMetadata() throws Exception {
+        var metadata = caller.retrieveMetadataAsync(def).get();
+        assertEquals(2, metadata.getNumberOfRows());
+        assertEquals("C1", metadata.getColumnId(0));
+    }
+
+    @Test
+    public void testAuthorization() throws Exception {
+        System.setProperty(String.format(TOKEN_PROP, DEF_UUID), "abc");
+        caller.retrieveDataSet(def);
+        assertEquals(List.of("Bearer abc"), authHeaders);
+    }
+
+    @Test
+    public void testInvalidResponse() throws Exception {
+        status = 500;
+        try {
+            caller.retrieveDataSet(def);
+            fail("Error responses must not be parsed");
+        } catch (RuntimeException e) {
+            assertEquals("Invalid response when accessing external dataSet " + DEF_UUID + ": 500", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testConnectionError() throws Exception {
+        server.stop(0);
+        try {
+            caller.retrieveDataSet(def);
+            fail("Server is down");
+        } catch (RuntimeException e) {
+            assertEquals("Not able to access external data set", e.getMessage());
+        }
+    }
+
+    void respond(HttpExchange exchange, String body) throws IOException {
+        var auth = exchange.getRequestHeaders().getFirst("Authorization");
+        if (auth != null) {
+            authHeaders.add(auth);
+        }
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            responseCodes.add(304);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        if ("gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+            var out = new ByteArrayOutputStream();
+            try (var gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            }
+            bytes = out.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        responseCodes.add(status);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.external;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import org.dashbuilder.dataset.DataSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExternalDataSetJSONStreamParserTest {
+
+    static final String DATASET_OBJECT = "{\n" +
+            "   \"values\":[\n" +
+            "      [ \"1.0\", \"L1\", \"JOHN\", \"2021-10-16T01:27:19.430Z\" ],\n" +
+            "      [ \"9.0\", null, \"MARY\", \"2021-10-16T01:48:15.647Z\" ]\n" +
+            "   ],\n" +
+            "   \"columns\":[\n" +
+            "      { \"id\":\"CL1\", \"type\":\"NUMBER\", \"name\":\"Column 1\", \"settings\": {\"a\": [1]} },\n" +
+            "      { \"id\":\"CL2\", \"type\":\"LABEL\" },\n" +
+            "      { \"id\":\"CL3\", \"type\":\"TEXT\" },\n" +
+            "      { \"id\":\"CL4\", \"type\":\"date\" }\n" +
+            "   ],\n" +
+            "   \"numberOfRows\": 2\n" +
+            "}";
+
+    static final String DATASET_WITH_INCOMPATIBLE_VALUE = "{\n" +
+            "   \"columns\":[ { \"id\":\"CL1\", \"type\":\"NUMBER\" } ],\n" +
+            "   \"values\":[ [ \"1.0\"], [ \"non number value\"] ]\n" +
+            "}";
+
+    ExternalDataSetJSONStreamParser parser = new ExternalDataSetJSONStreamParser(value -> {
+        var temporalAccessor = DateTimeFormatter.ISO_INSTANT.parse(value);
+        return Date.from(Instant.from(temporalAccessor));
+    });
+
+    @Test
+    public void testSameAsTreeParser() throws Exception {
+        for (String resource : new String[] {"/dataset.json", "/dataset2.json", "/dataset3.json"}) {
+            assertSameDataSet(new String(getClass().getResourceAsStream(resource).readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertSameDataSet(DATASET_OBJECT);
+        assertSameDataSet("[ \"1.0\", \"L1\", 3 ]");
+        assertSameDataSet("[[1, \"A\"], [2, \"B\"]]");
+        assertSameDataSet("[ ]");
+        assertSameDataSet("{}");
+    }
+
+    @Test
+    public void testEmptyPayload() throws Exception {
+        DataSet dataSet = parser.parseDataSet(new StringReader(""));
+        assertEquals(0, dataSet.getColumns().size());
+        assertEquals(0, dataSet.getRowCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleValue() throws Exception {
+        parser.parseDataSet(new StringReader(DATASET_WITH_INCOMPATIBLE_VALUE));
+    }
+
+    void assertSameDataSet(String json) throws Exception {
+        DataSet expected = parser.parseDataSet(json);
+        DataSet result = parser.parseDataSet(new StringReader(json));
+
+        assertEquals(expected.getColumns().size(), result.getColumns().size());
+        assertEquals(expected.getRowCount(), result.getRowCount());
+        for (int j = 0; j < expected.getColumns().size(); j++) {
+            assertEquals(expected.getColumnByIndex(j).getId(), result.getColumnByIndex(j).getId());
+            assertEquals(expected.getColumnByIndex(j).getColumnType(), result.getColumnByIndex(j).getColumnType());
+            assertEquals(expected.getColumnByIndex(j).getValues(), result.getColumnByIndex(j).getValues());
+        }
+    }
+}
@@ -15,13 +15,21 @@
  */
 package org.dashbuilder.dataprovider.kafka;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 
+import javax.management.remote.JMXConnector;
+
 import org.dashbuilder.DataSetCore;
 import org.dashbuilder.dataprovider.DataSetProvider;
 import org.dashbuilder.dataprovider.DataSetProviderType;
+import org.dashbuilder.dataprovider.DataSetSampler;
 import org.dashbuilder.dataprovider.StaticDataSetProvider;
+import org.dashbuilder.dataprovider.kafka.mbean.MBeanServerConnectionProvider;
 import org.dashbuilder.dataprovider.kafka.model.KafkaMetric;
 import org.dashbuilder.dataprovider.kafka.model.KafkaMetricsRequest;
 import org.dashbuilder.dataset.ColumnType;
@@ -45,7 +53,10 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
     public static final String ATTRIBUTE_COLUMN = "ATTRIBUTE";
     public static final String VALUE_COLUMN = "VALUE";
 
+    private static final String CONNECTION_ERROR = "Error connecting to Kafka, check if the host/port is correct and the server is running. See logs for more details.";
+
     protected StaticDataSetProvider staticDataSetProvider;
+    protected DataSetSampler sampler;
     protected Logger log = LoggerFactory.getLogger(KafkaDataSetProvider.class);
 
     private static KafkaDataSetProvider instance = null;
@@ -54,7 +65,8 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
         if (instance == null) {
             StaticDataSetProvider staticDataSetProvider = DataSetCore.get().getStaticDataSetProvider();
             DataSetDefRegistry dataSetDefRegistry = DataSetCore.get().getDataSetDefRegistry();
-            instance = new KafkaDataSetProvider(staticDataSetProvider);
+            DataSetSampler sampler = new DataSetSampler(staticDataSetProvider, DataSetCore.get().getScheduler());
+            instance = new KafkaDataSetProvider(staticDataSetProvider, sampler);
             dataSetDefRegistry.addListener(instance);
         }
         return instance;
@@ -68,6 +80,15 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
         this.staticDataSetProvider = staticDataSetProvider;
     }
 
+    /**
+     * The definitions with the cache enabled and a refresh time are sampled in background by the given sampler,
+     * through a JMX connection kept open between samples.
+     */
+    public KafkaDataSetProvider(StaticDataSetProvider staticDataSetProvider, DataSetSampler sampler) {
+        this.staticDataSetProvider = staticDataSetProvider;
+        this.sampler = sampler;
+    }
+
     @SuppressWarnings("rawtypes")
     public DataSetProviderType getType() {
         return DataSetProviderType.KAFKA;
@@ -83,6 +104,9 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
 
     public DataSet lookupDataSet(DataSetDef def, DataSetLookup lookup) throws Exception {
         KafkaMetricsRequest request = buildRequestFromDef(def);
+        if (sampler != null && sampler.isSampled(def)) {
+            return sampler.lookupDataSet(def, lookup, new MetricsSource(request));
+        }
         List<KafkaMetric> metrics = loadMetrics(request);
         DataSet dataSet = toDataSet(metrics);
         dataSet.setUUID(def.getUUID());
@@ -98,7 +122,7 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
         } catch (Exception e) {
             log.error("Error retrieving metrics from Kafka: {}", e.getMessage());
             log.debug("Error retrieving metrics from Kafka", e);
-            throw new RuntimeException("Error connecting to Kafka, check if the host/port is correct and the server is running. See logs for more details.");
+            throw new RuntimeException(CONNECTION_ERROR);
         }
 
         if (metrics.isEmpty()) {
@@ -171,16 +195,20 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
 
     @Override
     public void onDataSetDefStale(DataSetDef def) {
-        staticDataSetProvider.removeDataSet(def.getUUID());
+        if (!isSampled(def)) {
+            staticDataSetProvider.removeDataSet(def.getUUID());
+        }
     }
 
     @Override
     public void onDataSetDefModified(DataSetDef olDef, DataSetDef newDef) {
+        stopSampling(olDef);
         staticDataSetProvider.removeDataSet(olDef.getUUID());
     }
 
     @Override
     public void onDataSetDefRemoved(DataSetDef oldDef) {
+        stopSampling(oldDef);
         staticDataSetProvider.removeDataSet(oldDef.getUUID());
     }
 
@@ -191,8 +219,85 @@ public class KafkaDataSetProvider implements DataSetProvider, DataSetDefRegistry
 
     @Override
     public boolean isDataSetOutdated(DataSetDef def) {
-        // consider that the dataset is always outdated to collect latest metrics
-        return true;
+        // consider that the dataset is always outdated to collect latest metrics, unless it is sampled in background
+        return !isSampled(def);
+    }
+
+    /**
+     * Stop all the background sampling, closing the sources in use.
+     */
+    public void shutdown() {
+        if (sampler != null) {
+            sampler.stopAll();
+        }
+    }
+
+    private boolean isSampled(DataSetDef def) {
+        return sampler != null && sampler.isSampled(def);
+    }
+
+    private void stopSampling(DataSetDef def) {
+        if (sampler != null) {
+            sampler.stopSampling(def.getUUID());
+        }
+    }
+
+    /**
+     * Takes the metric samples through the same JMX connection, reconnecting if it gets broken.
+     */
+    class MetricsSource implements Callable<DataSet>, Closeable {
+
+        KafkaMetricsRequest request;
+        JMXConnector connector;
+
+        MetricsSource(KafkaMetricsRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public synchronized DataSet call() throws Exception {
+            List<KafkaMetric> metrics = Collections.emptyList();
+            if (connector != null) {
+                metrics = readMetrics();
+            }
+            // Attribute read errors are ignored, so no metrics may also mean a broken connection
+            if (metrics.isEmpty()) {
+                close();
+                try {
+                    connector = MBeanServerConnectionProvider.newConnection(request);
+                } catch (Exception e) {
+                    log.error("Error connecting to Kafka: {}", e.getMessage());
+                    log.debug("Error connecting to Kafka", e);
+                    throw new RuntimeException(CONNECTION_ERROR);
+                }
+                metrics = readMetrics();
+            }
+            if (metrics.isEmpty()) {
+                throw new RuntimeException(noMetricsErrorMessage(request));
+            }
+            return toDataSet(metrics);
+        }
+
+        private List<KafkaMetric> readMetrics() {
+            try {
+                return KafkaMetricsProvider.get().getMetrics(request, connector.getMBeanServerConnection());
+            } catch (IOException e) {
+                log.debug("Error reading metrics from Kafka", e);
+                return Collections.emptyList();
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (connector != null) {
+                try {
+                    connector.close();
+                } catch (IOException e) {
+                    log.debug("Error closing JMX connector", e);
+                }
+                connector = null;
+            }
+        }
     }
 
 }
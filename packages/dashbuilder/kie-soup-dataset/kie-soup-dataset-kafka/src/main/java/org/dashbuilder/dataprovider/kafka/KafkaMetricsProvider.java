@@ -76,6 +76,13 @@ public class KafkaMetricsProvider {
         }
     }
 
+    /**
+     * Read the metrics through an already open connection, so it can be reused across calls.
+     */
+    public List<KafkaMetric> getMetrics(KafkaMetricsRequest request, MBeanServerConnection mbsc) {
+        return extractMetrics(mbsc, collectorsFor(request));
+    }
+
     List<KafkaMetricCollector> collectorsFor(KafkaMetricsRequest request) {
         List<KafkaMetricCollector> collectors = metricsCollectorGroupFactory.forTarget(request.getMetricsTarget())
                                                                              .getMetricsCollectors(request);
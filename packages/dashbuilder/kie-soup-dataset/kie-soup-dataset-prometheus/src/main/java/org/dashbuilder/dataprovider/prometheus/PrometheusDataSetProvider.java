@@ -23,6 +23,7 @@ import java.util.Set;
 import org.dashbuilder.DataSetCore;
 import org.dashbuilder.dataprovider.DataSetProvider;
 import org.dashbuilder.dataprovider.DataSetProviderType;
+import org.dashbuilder.dataprovider.DataSetSampler;
 import org.dashbuilder.dataprovider.StaticDataSetProvider;
 import org.dashbuilder.dataprovider.prometheus.client.PrometheusClient;
 import org.dashbuilder.dataprovider.prometheus.client.QueryResponse;
@@ -48,6 +49,7 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
     public static final String TIME_COLUMN = "TIME";
 
     protected StaticDataSetProvider staticDataSetProvider;
+    protected DataSetSampler sampler;
     protected Logger log = LoggerFactory.getLogger(PrometheusDataSetProvider.class);
 
     private static PrometheusDataSetProvider instance = null;
@@ -56,7 +58,8 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
         if (instance == null) {
             StaticDataSetProvider staticDataSetProvider = DataSetCore.get().getStaticDataSetProvider();
             DataSetDefRegistry dataSetDefRegistry = DataSetCore.get().getDataSetDefRegistry();
-            instance = new PrometheusDataSetProvider(staticDataSetProvider);
+            DataSetSampler sampler = new DataSetSampler(staticDataSetProvider, DataSetCore.get().getScheduler());
+            instance = new PrometheusDataSetProvider(staticDataSetProvider, sampler);
             dataSetDefRegistry.addListener(instance);
         }
         return instance;
@@ -68,6 +71,15 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
         this.staticDataSetProvider = staticDataSetProvider;
     }
 
+    /**
+     * The definitions with the cache enabled and a refresh time are queried in background by the given sampler.
+     * Every sample is appended to the previous ones (up to the sampler history size), building a time series.
+     */
+    public PrometheusDataSetProvider(StaticDataSetProvider staticDataSetProvider, DataSetSampler sampler) {
+        this.staticDataSetProvider = staticDataSetProvider;
+        this.sampler = sampler;
+    }
+
     @SuppressWarnings("rawtypes")
     public DataSetProviderType getType() {
         return DataSetProviderType.PROMETHEUS;
@@ -82,6 +94,17 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
     }
 
     public DataSet lookupDataSet(DataSetDef def, DataSetLookup lookup) throws Exception {
+        if (isSampled(def)) {
+            return sampler.lookupDataSet(def, lookup, () -> queryDataSet(def));
+        }
+        DataSet dataSet = queryDataSet(def);
+        dataSet.setUUID(def.getUUID());
+        dataSet.setDefinition(def);
+        staticDataSetProvider.registerDataSet(dataSet);
+        return staticDataSetProvider.lookupDataSet(def, lookup);
+    }
+
+    protected DataSet queryDataSet(DataSetDef def) {
         String baseUrl = ((PrometheusDataSetDef) def).getServerUrl();
         String query = ((PrometheusDataSetDef) def).getQuery();
         QueryResponse response = new PrometheusClient(baseUrl).query(query);
@@ -89,12 +112,7 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
         if (response.getStatus() == Status.ERROR) {
             throw new IllegalArgumentException("Error response received from Prometheus: " + response.getError());
         }
-
-        DataSet dataSet = toDataSet(response);
-        dataSet.setUUID(def.getUUID());
-        dataSet.setDefinition(def);
-        staticDataSetProvider.registerDataSet(dataSet);
-        return staticDataSetProvider.lookupDataSet(def, lookup);
+        return toDataSet(response);
     }
 
     protected DataSet toDataSet(QueryResponse response) {
@@ -135,16 +153,20 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
     // Listen to changes on the data set definition registry
     @Override
     public void onDataSetDefStale(DataSetDef def) {
-        staticDataSetProvider.removeDataSet(def.getUUID());
+        if (!isSampled(def)) {
+            staticDataSetProvider.removeDataSet(def.getUUID());
+        }
     }
 
     @Override
     public void onDataSetDefModified(DataSetDef olDef, DataSetDef newDef) {
+        stopSampling(olDef);
         staticDataSetProvider.removeDataSet(olDef.getUUID());
     }
 
     @Override
     public void onDataSetDefRemoved(DataSetDef oldDef) {
+        stopSampling(oldDef);
         staticDataSetProvider.removeDataSet(oldDef.getUUID());
     }
 
@@ -155,7 +177,26 @@ public class PrometheusDataSetProvider implements DataSetProvider, DataSetDefReg
 
     @Override
     public boolean isDataSetOutdated(DataSetDef def) {
-        // consider that the dataset is always outdated because Prometheus is about realtime metrics 
-        return true;
+        // consider that the dataset is always outdated because Prometheus is about realtime metrics, unless it is sampled in background
+        return !isSampled(def);
+    }
+
+    /**
+     * Stop all the background sampling, closing the sources in use.
+     */
+    public void shutdown() {
+        if (sampler != null) {
+            sampler.stopAll();
+        }
+    }
+
+    private boolean isSampled(DataSetDef def) {
+        return sampler != null && sampler.isSampled(def);
+    }
+
+    private void stopSampling(DataSetDef def) {
+        if (sampler != null) {
+            sampler.stopSampling(def.getUUID());
+        }
     }
 }
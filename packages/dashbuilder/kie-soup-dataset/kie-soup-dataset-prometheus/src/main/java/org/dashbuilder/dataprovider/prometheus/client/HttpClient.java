@@ -20,6 +20,7 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Base64;
+import java.util.stream.Collectors;
 
 public class HttpClient {
 
@@ -40,8 +41,9 @@ public class HttpClient {
                 addAuth(connection, username, password);
             }
             InputStreamReader in = new InputStreamReader(connection.getInputStream());
+            // Read the whole response so the connection can be kept alive and reused
             try (BufferedReader br = new BufferedReader(in)) {
-                return br.readLine();
+                return br.lines().collect(Collectors.joining("\n"));
             }
         } catch (Exception e) {
             throw new RuntimeException("Error performing HTTP Request: " + e.getMessage(), e);
@@ -20,14 +20,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataprovider.DataSetSampler;
+import org.dashbuilder.dataprovider.StaticDataSetProvider;
 import org.dashbuilder.dataprovider.prometheus.client.QueryResponse;
 import org.dashbuilder.dataprovider.prometheus.client.Result;
 import org.dashbuilder.dataprovider.prometheus.client.Value;
 import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.PrometheusDataSetDef;
 import org.junit.Test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class PrometheusDataSetProviderTest {
@@ -97,4 +103,34 @@ public class PrometheusDataSetProviderTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void sampledLookupTest() throws Exception {
+        StaticDataSetProvider staticDataSetProvider = new StaticDataSetProvider(DataSetCore.get().getSharedDataSetOpEngine());
+        DataSetSampler sampler = new DataSetSampler(staticDataSetProvider, null);
+        int[] queries = {0};
+        PrometheusDataSetProvider provider = new PrometheusDataSetProvider(staticDataSetProvider, sampler) {
+
+            @Override
+            protected DataSet queryDataSet(DataSetDef def) {
+                queries[0]++;
+                QueryResponse response = new QueryResponse();
+                response.setResults(Arrays.asList(new Result(new HashMap<>(), Arrays.asList(Value.of(queries[0], "1")))));
+                return toDataSet(response);
+            }
+        };
+        PrometheusDataSetDef def = new PrometheusDataSetDef();
+        def.setUUID("prometheus");
+        def.setCacheEnabled(true);
+        def.setRefreshTime("10second");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, provider.lookupDataSet(def, null).getRowCount());
+        }
+        assertEquals(1, queries[0]);
+        assertFalse(provider.isDataSetOutdated(def));
+
+        provider.onDataSetDefRemoved(def);
+        assertFalse(sampler.isSampling(def.getUUID()));
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.engine;
+
+import java.util.List;
+
+/**
+ * Executes the independent tasks a data set operation can be split into (row partitions,
+ * group intervals, ...).
+ */
+public interface DataSetTaskExecutor {
+
+    /**
+     * Get the number of partitions an operation over the given number of rows should be split into.
+     * @return 1 if the operation is not worth to be split.
+     */
+    int getPartitions(int rows);
+
+    /**
+     * Execute the given tasks and wait until all of them are completed.
+     */
+    void invokeAll(List<Runnable> tasks);
+}
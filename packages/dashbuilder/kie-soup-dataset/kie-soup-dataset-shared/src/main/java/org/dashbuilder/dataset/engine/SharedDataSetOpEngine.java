@@ -16,7 +16,11 @@
 package org.dashbuilder.dataset.engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.dashbuilder.dataset.ColumnType;
 import org.dashbuilder.dataset.DataColumn;
@@ -26,6 +30,7 @@ import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.DataSetOpEngine;
 import org.dashbuilder.dataset.DataSetOpType;
 import org.dashbuilder.dataset.engine.filter.DataSetFilterAlgorithm;
+import org.dashbuilder.dataset.engine.function.PartialAggregateFunction;
 import org.dashbuilder.dataset.engine.group.IntervalBuilder;
 import org.dashbuilder.dataset.engine.group.IntervalBuilderLocator;
 import org.dashbuilder.dataset.engine.group.IntervalList;
@@ -37,6 +42,7 @@ import org.dashbuilder.dataset.engine.index.DataSetIntervalIndex;
 import org.dashbuilder.dataset.engine.index.DataSetIntervalSetIndex;
 import org.dashbuilder.dataset.engine.index.DataSetSortIndex;
 import org.dashbuilder.dataset.engine.index.DataSetStaticIndex;
+import org.dashbuilder.dataset.engine.index.RowBitmap;
 import org.dashbuilder.dataset.engine.index.spi.DataSetIndexRegistry;
 import org.dashbuilder.dataset.engine.sort.DataSetSortAlgorithm;
 import org.dashbuilder.dataset.filter.ColumnFilter;
@@ -65,6 +71,7 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
     protected DataSetSortAlgorithm sortAlgorithm;
     protected DataSetFilterAlgorithm filterAlgorithm;
     protected Chronometer chronometer;
+    protected DataSetTaskExecutor taskExecutor = new SequentialTaskExecutor();
 
     public SharedDataSetOpEngine(AggregateFunctionManager aggregateFunctionManager,
                                  IntervalBuilderLocator intervalBuilderLocator,
@@ -85,6 +92,17 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
         return indexRegistry;
     }
 
+    public DataSetTaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * Set the executor in charge of running in parallel the nested group &amp; the aggregate calculations.
+     */
+    public void setTaskExecutor(DataSetTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
     public DataSet execute(DataSet dataSet, List<DataSetOp> opList) {
         DataSetOpListProcessor processor = new DataSetOpListProcessor();
         DataSetStaticIndex index = new DataSetStaticIndex(dataSet);
@@ -95,11 +113,254 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
     }
 
     public DataSet execute(String uuid, List<DataSetOp> opList) {
-        DataSetOpListProcessor processor = new DataSetOpListProcessor();
-        processor.setDataSetIndex(indexRegistry.get(uuid));
-        processor.setOperationList(opList);
-        processor.run();
-        return processor.getDataSet();
+        DataSetIndex index = indexRegistry.get(uuid);
+        if (index != null) {
+            index.lookupStarted();
+        }
+        try {
+            DataSetOpListProcessor processor = new DataSetOpListProcessor();
+            processor.setDataSetIndex(index);
+            processor.setOperationList(opList);
+            processor.run();
+            return processor.getDataSet();
+        } finally {
+            if (index != null) {
+                index.lookupFinished();
+            }
+        }
+    }
+
+    /**
+     * Append rows to a data set registered into the index registry.
+     * @see #appendRows(String, DataSet, int)
+     */
+    public boolean appendRows(String uuid, DataSet rows) {
+        return appendRows(uuid, rows, 0);
+    }
+
+    /**
+     * Append rows to a data set registered into the index registry, dropping first the given number of leading
+     * rows, so that the data set can be used as a sliding window. Registered data sets are shared by the lookups
+     * in progress, so the changes are applied to a copy of the data set which, together with a copy of its index,
+     * replaces the registered one once ready. Instead of discarding the existing indexes, they are patched so that
+     * they also cover the appended rows (and no longer the dropped ones):
+     * <ul>
+     *     <li>Filter indexes get the appended rows that pass the filter.</li>
+     *     <li>Label group indexes get every appended row classified into its interval. New values are added
+     *     as new intervals at the end, just like the interval builder does. Intervals left with no rows are
+     *     removed.</li>
+     *     <li>Any other index (sorts, interval selections, nested or other group strategies) is dropped so it gets
+     *     rebuilt on the next lookup. The same goes for the aggregate values cached on every patched index.</li>
+     * </ul>
+     * Only the index nodes are copied. When no rows are dropped, their rows are shared with the previous index
+     * or, if patched, only the last chunk of rows is rebuilt.
+     *
+     * @param uuid The uuid of the registered data set.
+     * @param rows A data set containing the rows to append. It must have the same columns as the registered one.
+     * @param evictedRows The number of leading rows to drop.
+     * @return false if no data set is registered under the given uuid (or it's been registered again while
+     * appending), true otherwise.
+     */
+    public synchronized boolean appendRows(String uuid, DataSet rows, int evictedRows) {
+        DataSetIndex index = indexRegistry.get(uuid);
+        if (index == null) {
+            return false;
+        }
+        DataSet dataSet = index.getDataSet();
+        if (rows.getColumns().size() != dataSet.getColumns().size()) {
+            throw new IllegalArgumentException("The rows to append do not match the data set columns: " + uuid);
+        }
+        for (DataColumn column : rows.getColumns()) {
+            if (dataSet.getColumnById(column.getId()) == null) {
+                throw new IllegalArgumentException("Column not found in the data set: " + column.getId());
+            }
+        }
+        int rowCount = dataSet.getRowCount();
+        if (evictedRows < 0 || evictedRows > rowCount) {
+            throw new IllegalArgumentException("Invalid number of rows to drop: " + evictedRows);
+        }
+        int numberOfRows = rows.getRowCount();
+        if (numberOfRows == 0 && evictedRows == 0) {
+            return true;
+        }
+        index.lookupStarted();
+        try {
+            DataSet result = evictedRows == 0 ? dataSet.cloneInstance() : dataSet.cloneEmpty();
+            result.setUUID(uuid);
+            result.setDefinition(dataSet.getDefinition());
+            result.setCreationDate(dataSet.getCreationDate());
+            for (DataColumn column : rows.getColumns()) {
+                List values = result.getColumnById(column.getId()).getValues();
+                if (evictedRows > 0) {
+                    values.addAll(dataSet.getColumnById(column.getId()).getValues().subList(evictedRows, rowCount));
+                }
+                values.addAll(column.getValues());
+            }
+            int firstRow = rowCount - evictedRows;
+            DataSetIndex resultIndex = new DataSetStaticIndex(result);
+            patchIndex(result, index, resultIndex, evictedRows, RowBitmap.range(firstRow, firstRow + numberOfRows));
+            return indexRegistry.replace(index, resultIndex);
+        } finally {
+            index.lookupFinished();
+        }
+    }
+
+    /**
+     * Copy the sub-indexes of the source node into the target node, patched to no longer cover the dropped rows
+     * and to cover the appended ones instead.
+     * @param evictedRows The number of leading rows dropped. The rest of rows are shifted by the same amount.
+     * @param newRows The appended rows, numbered as in the resulting data set.
+     */
+    protected void patchIndex(DataSet dataSet, DataSetIndexNode source, DataSetIndexNode target, int evictedRows, List<Integer> newRows) {
+        target.setBuildTime(source.getBuildTime());
+        target.setReuseHits(source.getReuseHits());
+
+        for (DataSetIndexNode subIndex : source.getSubIndexes()) {
+            if (subIndex instanceof DataSetFilterIndex) {
+                ColumnFilter filter = ((DataSetFilterIndex) subIndex).getColumnFilter();
+                List<Integer> passed = newRows.isEmpty() ? newRows : filterAlgorithm.filter(new RowSubsetHandler(dataSet, newRows), filter);
+                DataSetFilterIndex filterIndex = target.indexFilter(filter, patchRows(subIndex.getRows(), evictedRows, passed), subIndex.getBuildTime());
+                patchIndex(dataSet, subIndex, filterIndex, evictedRows, passed);
+            }
+            else if (subIndex instanceof DataSetGroupIndex) {
+                DataSetGroupIndex groupIndex = patchGroupIndex(dataSet, (DataSetGroupIndex) subIndex, evictedRows, newRows);
+                if (groupIndex != null) {
+                    target.indexGroup(groupIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A copy of the given group index patched as explained in {@link #patchIndex}, or null if not patchable.
+     */
+    protected DataSetGroupIndex patchGroupIndex(DataSet dataSet, DataSetGroupIndex source, int evictedRows, List<Integer> newRows) {
+        ColumnGroup columnGroup = source.getColumnGroup();
+        if (columnGroup == null || !GroupStrategy.DYNAMIC.equals(columnGroup.getStrategy())) {
+            return null;
+        }
+        DataColumn column = dataSet.getColumnById(columnGroup.getSourceId());
+        if (column == null || !(ColumnType.LABEL.equals(column.getColumnType()) || ColumnType.TEXT.equals(column.getColumnType()))) {
+            return null;
+        }
+        // Merged interval sets and intervals shared with other groups come from nested groups, which can't be patched
+        for (DataSetIntervalIndex intervalIndex : source.getIntervalIndexes()) {
+            if (intervalIndex instanceof DataSetIntervalSetIndex || intervalIndex.getParent() != source) {
+                return null;
+            }
+        }
+
+        // Classify the new rows by interval (in order of appearance)
+        List<String> intervalNames = new ArrayList<String>();
+        Map<String, List<Integer>> intervalRows = new HashMap<String, List<Integer>>();
+        List values = column.getValues();
+        for (Integer row : newRows) {
+            Object value = values.get(row);
+            String name = value == null ? null : value.toString();
+            List<Integer> rows = intervalRows.get(name);
+            if (rows == null) {
+                intervalNames.add(name);
+                intervalRows.put(name, rows = new ArrayList<Integer>());
+            }
+            rows.add(row);
+        }
+
+        List<DataSetIntervalIndex> intervalIndexes = new ArrayList<DataSetIntervalIndex>();
+        DataSetGroupIndex result = new DataSetGroupIndex(columnGroup);
+        result.setIntervalType(source.getIntervalType());
+        result.setMinValue(source.getMinValue());
+        result.setMaxValue(source.getMaxValue());
+        result.setBuildTime(source.getBuildTime());
+        result.setReuseHits(source.getReuseHits());
+        for (DataSetIntervalIndex intervalIndex : source.getIntervalIndexes()) {
+            List<Integer> rows = intervalRows.remove(intervalIndex.getName());
+            if (rows == null) {
+                rows = RowBitmap.EMPTY;
+            }
+            List<Integer> patchedRows = patchRows(intervalIndex.getRows(), evictedRows, rows);
+            if (patchedRows.isEmpty()) {
+                continue;
+            }
+            Interval interval = new Interval(intervalIndex.getName());
+            interval.setType(intervalIndex.getIntervalType());
+            interval.setMinValue(intervalIndex.getMinValue());
+            interval.setMaxValue(intervalIndex.getMaxValue());
+            interval.setRows(patchedRows);
+            DataSetIntervalIndex intervalCopy = new DataSetIntervalIndex(result, interval);
+            patchIndex(dataSet, intervalIndex, intervalCopy, evictedRows, rows);
+            intervalIndexes.add(intervalCopy);
+        }
+        for (String name : intervalNames) {
+            List<Integer> rows = intervalRows.get(name);
+            if (rows != null) {
+                Interval interval = new Interval(name, intervalIndexes.size());
+                interval.getRows().addAll(rows);
+                intervalIndexes.add(new DataSetIntervalIndex(result, interval));
+            }
+        }
+        // Intervals come in order of appearance, which may change once the leading rows are dropped
+        if (evictedRows > 0) {
+            Collections.sort(intervalIndexes, (i1, i2) -> Integer.compare(i1.getRows().get(0), i2.getRows().get(0)));
+        }
+        result.getIntervalIndexes().addAll(intervalIndexes);
+        return result;
+    }
+
+    /**
+     * The given rows (but the dropped ones) followed by the appended ones. Compressed rows are not copied but
+     * extended, provided no rows are dropped.
+     */
+    protected List<Integer> patchRows(List<Integer> rows, int evictedRows, List<Integer> newRows) {
+        if (evictedRows == 0) {
+            if (newRows.isEmpty()) {
+                return rows;
+            }
+            if (rows instanceof RowBitmap) {
+                return ((RowBitmap) rows).append(newRows);
+            }
+        }
+        List<Integer> result = new ArrayList<Integer>(rows.size() + newRows.size());
+        for (Integer row : rows) {
+            if (row >= evictedRows) {
+                result.add(row - evictedRows);
+            }
+        }
+        result.addAll(newRows);
+        return RowBitmap.compress(result);
+    }
+
+    /**
+     * Handler used to run the filter algorithm over a subset of rows with no index attached.
+     */
+    private static class RowSubsetHandler implements DataSetHandler {
+
+        DataSet dataSet;
+        List<Integer> rows;
+
+        RowSubsetHandler(DataSet dataSet, List<Integer> rows) {
+            this.dataSet = dataSet;
+            this.rows = rows;
+        }
+
+        public DataSet getDataSet() {
+            return dataSet;
+        }
+
+        public List<Integer> getRows() {
+            return rows;
+        }
+
+        public DataSetHandler group(DataSetGroup op) {
+            throw new UnsupportedOperationException();
+        }
+
+        public DataSetHandler filter(DataSetFilter op) {
+            throw new UnsupportedOperationException();
+        }
+
+        public DataSetHandler sort(DataSetSort op) {
+            throw new UnsupportedOperationException();
+        }
     }
 
     private class DataSetOpListProcessor implements Runnable {
@@ -257,14 +518,15 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             if (groupIndex != null) {
                 return groupIndex;
             }
-            // No index match => Build required
-            chronometer.start();
+            // No index match => Build required.
+            // Timed from the returned marks since nested groups are built in parallel over the same chronometer.
+            long begin = chronometer.start();
             IntervalList intervalList = intervalBuilder.build(new InternalHandler(context), columnGroup);
-            chronometer.stop();
+            long buildTime = chronometer.stop() - begin;
 
             // Index before return.
             DataSetGroupIndex index = new DataSetGroupIndex(columnGroup, intervalList);
-            index.setBuildTime(chronometer.elapsedTime());
+            index.setBuildTime(buildTime);
             return context.index.indexGroup(index);
         }
 
@@ -278,26 +540,40 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             nestedGroupIndex = new DataSetGroupIndex(op.getColumnGroup());
 
             // Apply the nested group operation on each parent group interval.
-            InternalContext nestedContext = new InternalContext(context.dataSet, null);
-            List<DataSetIntervalIndex> intervalsIdxs = lastGroupIndex.getIntervalIndexes();
-            for (DataSetIntervalIndex intervalIndex : intervalsIdxs) {
-
-                // In a nested group the intervals can aggregate other intervals.
+            // In a nested group the intervals can aggregate other intervals or can just be single intervals.
+            List<DataSetIntervalIndex> subIndexes = new ArrayList<DataSetIntervalIndex>();
+            int rowCount = 0;
+            for (DataSetIntervalIndex intervalIndex : lastGroupIndex.getIntervalIndexes()) {
                 if (intervalIndex instanceof DataSetIntervalSetIndex) {
-                    DataSetIntervalSetIndex indexSet = (DataSetIntervalSetIndex) intervalIndex;
-                    for (DataSetIntervalIndex subIndex : indexSet.getIntervalIndexes()) {
-                        nestedContext.index = subIndex;
-                        DataSetGroupIndex sg = singleGroup(op, nestedContext);
-                        nestedGroupIndex.indexIntervals(sg.getIntervalIndexes());
-                    }
+                    subIndexes.addAll(((DataSetIntervalSetIndex) intervalIndex).getIntervalIndexes());
+                } else {
+                    subIndexes.add(intervalIndex);
                 }
-                // Or can just be single intervals.
-                else {
-                    nestedContext.index = intervalIndex;
-                    DataSetGroupIndex sg = singleGroup(op, nestedContext);
-                    nestedGroupIndex.indexIntervals(sg.getIntervalIndexes());
+                List<Integer> rows = intervalIndex.getRows();
+                rowCount += rows != null ? rows.size() : 0;
+            }
+
+            // Every interval is grouped independently, in parallel if worth.
+            DataSetGroupIndex[] subGroups = new DataSetGroupIndex[subIndexes.size()];
+            List<Runnable> tasks = new ArrayList<Runnable>();
+            for (int i = 0; i < subGroups.length; i++) {
+                final int idx = i;
+                tasks.add(() -> subGroups[idx] = singleGroup(op, new InternalContext(context.dataSet, subIndexes.get(idx))));
+            }
+            if (subGroups.length > 1 && taskExecutor.getPartitions(rowCount) > 1) {
+                taskExecutor.invokeAll(tasks);
+            } else {
+                for (Runnable task : tasks) {
+                    task.run();
                 }
             }
+            // Merge the intervals in the original order. The build time is the sum of every interval grouping.
+            long buildTime = 0;
+            for (DataSetGroupIndex sg : subGroups) {
+                nestedGroupIndex.indexIntervals(sg.getIntervalIndexes());
+                buildTime += sg.getBuildTime();
+            }
+            nestedGroupIndex.setBuildTime(buildTime);
             context.index.indexGroup(nestedGroupIndex);
             return nestedGroupIndex;
         }
@@ -608,7 +884,7 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             // Do the aggregate calculations.
             chronometer.start();
             AggregateFunction function = aggregateFunctionManager.getFunctionByType(type);
-            Object aggValue = function.aggregate(column.getValues(), index.getRows());
+            Object aggValue = _aggregate(function, column.getValues(), index.getRows());
             chronometer.stop();
 
             // Index the result
@@ -618,6 +894,25 @@ public class SharedDataSetOpEngine implements DataSetOpEngine {
             return aggValue;
         }
 
+        private Object _aggregate(AggregateFunction function, List values, List<Integer> rows) {
+            int rowCount = rows != null ? rows.size() : values.size();
+            int partitions = taskExecutor.getPartitions(rowCount);
+            if (partitions < 2 || rowCount == 0 || !(function instanceof PartialAggregateFunction)) {
+                return function.aggregate(values, rows);
+            }
+            // Reduce every row partition to a partial state & merge them all.
+            PartialAggregateFunction partialFunction = (PartialAggregateFunction) function;
+            List<List<Integer>> rowPartitions = RowBitmap.partition(rows != null ? rows : RowBitmap.range(0, rowCount), partitions);
+            Object[] partials = new Object[rowPartitions.size()];
+            List<Runnable> tasks = new ArrayList<Runnable>();
+            for (int i = 0; i < partials.length; i++) {
+                final int idx = i;
+                tasks.add(() -> partials[idx] = partialFunction.aggregatePartial(values, rowPartitions.get(idx)));
+            }
+            taskExecutor.invokeAll(tasks);
+            return partialFunction.merge(Arrays.asList(partials));
+        }
+
         class InternalContext implements DataSetRowSet {
 
             DataSet dataSet = null;
@@ -20,16 +20,38 @@ import java.util.List;
 
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.engine.DataSetHandler;
+import org.dashbuilder.dataset.engine.DataSetTaskExecutor;
+import org.dashbuilder.dataset.engine.SequentialTaskExecutor;
+import org.dashbuilder.dataset.engine.index.RowBitmap;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
 import org.dashbuilder.dataset.filter.CustomFunctionFilter;
 import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.filter.LogicalExprType;
 
 /**
  * Default data set filter algorithm.
  */
 public class DefaultFilterAlgorithm implements DataSetFilterAlgorithm {
 
+    protected DataSetTaskExecutor taskExecutor;
+
+    public DefaultFilterAlgorithm() {
+        this(new SequentialTaskExecutor());
+    }
+
+    public DefaultFilterAlgorithm(DataSetTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    public DataSetTaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    public void setTaskExecutor(DataSetTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
     /*
 
      LogicalFunction
@@ -74,32 +96,122 @@ public class DefaultFilterAlgorithm implements DataSetFilterAlgorithm {
      */
     public List<Integer> filter(DataSetHandler ctx, ColumnFilter columnFilter) {
 
-        // Build the data set filter function.
         DataSet dataSet = ctx.getDataSet();
         DataSetFilterContext dataSetFilterContext = new DataSetFilterContext(dataSet);
-        DataSetFunction filterFunction = buildFunction(dataSetFilterContext, columnFilter);
+        List<Integer> targetRows = ctx.getRows();
 
-        List<Integer> result = new ArrayList<Integer>();
+        // Rows not in ascending order can't be turned into a bitmap, so filter them one by one.
+        if (targetRows != null && !RowBitmap.isAscending(targetRows)) {
+            DataSetFunction filterFunction = buildFunction(dataSetFilterContext, columnFilter);
+            List<Integer> result = new ArrayList<Integer>();
+            for (Integer targetRow : targetRows) {
+                dataSetFilterContext.setCurrentRow(targetRow);
+                if (filterFunction.pass()) {
+                    result.add(targetRow);
+                }
+            }
+            return result;
+        }
+        // Filter either the whole data set or only the target rows specified.
+        RowBitmap target = targetRows == null ? null : RowBitmap.valueOf(targetRows);
+        return filter(dataSetFilterContext, columnFilter, target);
+    }
 
-        // Apply the filter function to the whole data set.
-        if (ctx == null || ctx.getRows() == null) {
-            for (int i = 0; i < dataSet.getRowCount(); i++) {
-                dataSetFilterContext.setCurrentRow(i);
+    /**
+     * Get the rows that pass the filter as a bitmap. The terms of a logical expression are evaluated
+     * separately and combined through bitmap operations:
+     * <ul>
+     * <li>AND: every term is only evaluated over the rows passing the previous terms.</li>
+     * <li>OR: union of the terms, every term is only evaluated over the rows not yet passed.</li>
+     * <li>NOT: the target rows minus the union of the terms.</li>
+     * </ul>
+     *
+     * @param target The rows to filter or null to filter the whole data set.
+     */
+    protected RowBitmap filter(DataSetFilterContext filterContext, ColumnFilter columnFilter, RowBitmap target) {
+        if (columnFilter instanceof LogicalExprFilter) {
+            LogicalExprFilter filter = (LogicalExprFilter) columnFilter;
+            List<ColumnFilter> terms = filter.getLogicalTerms();
+            if (terms.isEmpty()) {
+                return target != null ? target : allRows(filterContext);
+            }
+
+            LogicalExprType type = filter.getLogicalOperator();
+            if (LogicalExprType.AND.equals(type)) {
+                RowBitmap result = target;
+                for (ColumnFilter term : terms) {
+                    result = filter(filterContext, term, result);
+                    if (result.isEmpty()) break;
+                }
+                return result;
+            }
+            if (LogicalExprType.OR.equals(type) || LogicalExprType.NOT.equals(type)) {
+                RowBitmap all = target != null ? target : allRows(filterContext);
+                RowBitmap result = RowBitmap.EMPTY;
+                RowBitmap remaining = all;
+                for (ColumnFilter term : terms) {
+                    RowBitmap termRows = filter(filterContext, term, remaining);
+                    result = result.or(termRows);
+                    remaining = remaining.andNot(termRows);
+                    if (remaining.isEmpty()) break;
+                }
+                return LogicalExprType.OR.equals(type) ? result : remaining;
+            }
+            throw new IllegalArgumentException("Logical operator not supported: " + type);
+        }
+
+        // Split the target rows into partitions evaluated in parallel (if worth).
+        int rowCount = target == null ? filterContext.getDataSet().getRowCount() : target.size();
+        int partitions = taskExecutor.getPartitions(rowCount);
+        if (partitions > 1) {
+            List<List<Integer>> targetPartitions = RowBitmap.partition(target == null ? allRows(filterContext) : target, partitions);
+            RowBitmap[] results = new RowBitmap[targetPartitions.size()];
+            List<Runnable> tasks = new ArrayList<Runnable>();
+            for (int i = 0; i < results.length; i++) {
+                final int partition = i;
+                final DataSetFilterContext partitionContext = new DataSetFilterContext(filterContext.getDataSet());
+                tasks.add(() -> results[partition] = scan(partitionContext, columnFilter, (RowBitmap) targetPartitions.get(partition)));
+            }
+            taskExecutor.invokeAll(tasks);
+
+            RowBitmap result = RowBitmap.EMPTY;
+            for (RowBitmap partitionResult : results) {
+                result = result.or(partitionResult);
+            }
+            return result;
+        }
+        return scan(filterContext, columnFilter, target);
+    }
+
+    /**
+     * Apply the filter function to the target rows, one by one.
+     */
+    protected RowBitmap scan(DataSetFilterContext filterContext, ColumnFilter columnFilter, RowBitmap target) {
+        DataSetFunction filterFunction = buildFunction(filterContext, columnFilter);
+        RowBitmap.Builder result = new RowBitmap.Builder();
+        if (target == null) {
+            int rowCount = filterContext.getDataSet().getRowCount();
+            for (int i = 0; i < rowCount; i++) {
+                filterContext.setCurrentRow(i);
                 if (filterFunction.pass()) {
                     result.add(i);
                 }
             }
-        }
-        // Filter only the target rows specified.
-        else {
-            for (Integer targetRow : ctx.getRows()) {
-                dataSetFilterContext.setCurrentRow(targetRow);
+        } else {
+            RowBitmap.RowIterator it = target.rowIterator();
+            while (it.hasNext()) {
+                int row = it.nextRow();
+                filterContext.setCurrentRow(row);
                 if (filterFunction.pass()) {
-                    result.add(targetRow);
+                    result.add(row);
                 }
             }
         }
-        return result;
+        return result.build();
+    }
+
+    protected RowBitmap allRows(DataSetFilterContext filterContext) {
+        return RowBitmap.range(0, filterContext.getDataSet().getRowCount());
     }
 
     public DataSetFunction buildFunction(DataSetFilterContext filterContext, ColumnFilter columnFilter) {
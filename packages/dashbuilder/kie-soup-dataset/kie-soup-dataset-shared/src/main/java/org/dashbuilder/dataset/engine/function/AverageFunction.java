@@ -55,4 +55,23 @@ public class AverageFunction extends SumFunction {
         return round(average, precission);
     }
 
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return new double[] {sum(values, rows), rows.size()};
+    }
+
+    public Object merge(List<Object> partials) {
+        double sum = 0d;
+        double count = 0d;
+        for (Object partial : partials) {
+            double[] sumAndCount = (double[]) partial;
+            sum += sumAndCount[0];
+            count += sumAndCount[1];
+        }
+        if (count == 0) {
+            return 0d;
+        }
+        double average = round(sum, precission).doubleValue() / count;
+        return round(average, precission);
+    }
+
 }
\ No newline at end of file
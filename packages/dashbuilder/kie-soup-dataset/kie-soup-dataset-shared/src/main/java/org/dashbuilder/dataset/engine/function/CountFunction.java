@@ -22,7 +22,7 @@ import org.dashbuilder.dataset.group.AggregateFunctionType;
 /**
  * It calculates the number of occurrences inside a given collection.
  */
-public class CountFunction extends AbstractFunction {
+public class CountFunction extends AbstractFunction implements PartialAggregateFunction {
 
     public CountFunction() {
         super();
@@ -48,4 +48,16 @@ public class CountFunction extends AbstractFunction {
         }
         return (double) rows.size();
     }
+
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return (double) rows.size();
+    }
+
+    public Object merge(List<Object> partials) {
+        double count = 0d;
+        for (Object partial : partials) {
+            count += (Double) partial;
+        }
+        return count;
+    }
 }
\ No newline at end of file
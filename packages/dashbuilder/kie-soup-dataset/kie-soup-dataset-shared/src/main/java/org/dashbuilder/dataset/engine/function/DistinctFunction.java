@@ -25,7 +25,7 @@ import org.dashbuilder.dataset.group.AggregateFunctionType;
 /**
  * It calculates the number of distinct occurrences inside a given collection.
  */
-public class DistinctFunction extends AbstractFunction {
+public class DistinctFunction extends AbstractFunction implements PartialAggregateFunction {
 
     public DistinctFunction() {
         super();
@@ -65,14 +65,26 @@ public class DistinctFunction extends AbstractFunction {
         }
 
         // Return the number of distinct items in the collection.
+        return (double) distincts(values, rows).size();
+    }
+
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return distincts(values, rows);
+    }
+
+    public Object merge(List<Object> partials) {
         Set distincts = new HashSet();
-        for (Integer row : rows) {
-            Object o = values.get(row);
-            if (distincts.contains(o)) {
-                continue;
-            }
-            distincts.add(o);
+        for (Object partial : partials) {
+            distincts.addAll((Set) partial);
         }
         return (double) distincts.size();
     }
+
+    protected Set distincts(List values, List<Integer> rows) {
+        Set distincts = new HashSet();
+        for (Integer row : rows) {
+            distincts.add(values.get(row));
+        }
+        return distincts;
+    }
 }
@@ -22,7 +22,7 @@ import org.dashbuilder.dataset.group.AggregateFunctionType;
 /**
  * It calculates the max. number of a set of values.
  */
-public class MaxFunction extends AbstractFunction {
+public class MaxFunction extends AbstractFunction implements PartialAggregateFunction {
 
     public MaxFunction() {
         super();
@@ -61,7 +61,29 @@ public class MaxFunction extends AbstractFunction {
             return null;
         }
 
-        // Get the min. value within the target rows.
+        Comparable result = max(values, rows);
+
+        // Adjust to the specified precision.
+        return result instanceof Number ? round((Number) result, precission) : result;
+    }
+
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return max(values, rows);
+    }
+
+    public Object merge(List<Object> partials) {
+        Comparable result = null;
+        for (Object partial : partials) {
+            Comparable val = (Comparable) partial;
+            if (val != null && (result == null || val.compareTo(result) > 0)) {
+                result = val;
+            }
+        }
+        return result instanceof Number ? round((Number) result, precission) : result;
+    }
+
+    protected Comparable max(List values, List<Integer> rows) {
+        // Get the max. value within the target rows.
         Comparable result = null;
         for (Integer row : rows) {
             Comparable val = (Comparable) values.get(row);
@@ -72,7 +94,6 @@ public class MaxFunction extends AbstractFunction {
                 result = val;
             }
         }
-        // Adjust to the specified precision.
-        return result instanceof Number ? round((Number) result, precission) : result;
+        return result;
     }
 }
\ No newline at end of file
@@ -23,7 +23,7 @@ import org.dashbuilder.dataset.group.AggregateFunctionType;
 /**
  * It calculates the average value of a set of numbers.
  */
-public class MedianFunction extends AbstractFunction {
+public class MedianFunction extends AbstractFunction implements PartialAggregateFunction {
 
     public MedianFunction() {
         super();
@@ -38,22 +38,8 @@ public class MedianFunction extends AbstractFunction {
             return 0d;
         }
 
-        var n = values.size();
-
-        if (n == 1) {
-            return ((Number) values.get(0)).doubleValue();
-        }
-
         var sortedValues = values.stream().mapToDouble(v -> ((Number) v).doubleValue()).sorted().toArray();
-
-        if (n % 2 == 1) {
-            return sortedValues[n / 2];
-        }
-        var middle = n / 2;
-        var ii = n == 2 ? 0 : middle - 1;
-        var is = n == 2 ? 1 : middle + 1;
-        var v = (sortedValues[ii] + sortedValues[is]) / 2d;
-        return round(v, precission);
+        return median(sortedValues);
     }
 
     public Object aggregate(List values, List<Integer> rows) {
@@ -72,4 +58,44 @@ public class MedianFunction extends AbstractFunction {
         return this.aggregate(_values);
     }
 
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return rows.stream().mapToDouble(row -> ((Number) values.get(row)).doubleValue()).sorted().toArray();
+    }
+
+    public Object merge(List<Object> partials) {
+        // Merge the sorted partial values
+        var sortedValues = new double[0];
+        for (Object partial : partials) {
+            var values = (double[]) partial;
+            var merged = new double[sortedValues.length + values.length];
+            int i = 0, j = 0, k = 0;
+            while (i < sortedValues.length && j < values.length) {
+                merged[k++] = sortedValues[i] <= values[j] ? sortedValues[i++] : values[j++];
+            }
+            while (i < sortedValues.length) merged[k++] = sortedValues[i++];
+            while (j < values.length) merged[k++] = values[j++];
+            sortedValues = merged;
+        }
+        if (sortedValues.length == 0) {
+            return 0d;
+        }
+        return median(sortedValues);
+    }
+
+    protected Object median(double[] sortedValues) {
+        var n = sortedValues.length;
+
+        if (n == 1) {
+            return sortedValues[0];
+        }
+        if (n % 2 == 1) {
+            return sortedValues[n / 2];
+        }
+        var middle = n / 2;
+        var ii = n == 2 ? 0 : middle - 1;
+        var is = n == 2 ? 1 : middle + 1;
+        var v = (sortedValues[ii] + sortedValues[is]) / 2d;
+        return round(v, precission);
+    }
+
 }
@@ -22,7 +22,7 @@ import org.dashbuilder.dataset.group.AggregateFunctionType;
 /**
  * It calculates the min. number of a set of values.
  */
-public class MinFunction extends AbstractFunction {
+public class MinFunction extends AbstractFunction implements PartialAggregateFunction {
 
     public MinFunction() {
         super();
@@ -61,6 +61,28 @@ public class MinFunction extends AbstractFunction {
             return null;
         }
 
+        Comparable result = min(values, rows);
+
+        // Adjust to the specified precision.
+        return result instanceof Number ? round((Number) result, precission) : result;
+    }
+
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return min(values, rows);
+    }
+
+    public Object merge(List<Object> partials) {
+        Comparable result = null;
+        for (Object partial : partials) {
+            Comparable val = (Comparable) partial;
+            if (val != null && (result == null || val.compareTo(result) < 0)) {
+                result = val;
+            }
+        }
+        return result instanceof Number ? round((Number) result, precission) : result;
+    }
+
+    protected Comparable min(List values, List<Integer> rows) {
         // Get the min. value within the target rows.
         Comparable result = null;
         for (Integer row : rows) {
@@ -72,7 +94,6 @@ public class MinFunction extends AbstractFunction {
                 result = val;
             }
         }
-        // Adjust to the specified precision.
-        return result instanceof Number ? round((Number) result, precission) : result;
+        return result;
     }
 }
\ No newline at end of file
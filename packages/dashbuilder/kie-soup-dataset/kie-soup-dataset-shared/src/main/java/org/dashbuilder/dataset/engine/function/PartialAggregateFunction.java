@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.engine.function;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.group.AggregateFunction;
+
+/**
+ * An aggregate function which can be calculated in parallel. Every subset of rows is reduced to a partial
+ * state and all the partial states are merged afterwards into the final value.
+ */
+public interface PartialAggregateFunction extends AggregateFunction {
+
+    /**
+     * Calculate the partial state for the given (non empty) subset of rows.
+     */
+    Object aggregatePartial(List values, List<Integer> rows);
+
+    /**
+     * Merge the partial states calculated for all the row subsets.
+     * @return The same value {@link #aggregate(List, List)} would return for all the rows.
+     */
+    Object merge(List<Object> partials);
+}
@@ -18,12 +18,14 @@ package org.dashbuilder.dataset.engine.function;
 import java.util.Iterator;
 import java.util.List;
 
+import org.dashbuilder.dataset.engine.index.RowBitmap;
 import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.impl.DoubleColumnValues;
 
 /**
  * It calculates the sum value of a set of numbers.
  */
-public class SumFunction extends AbstractFunction {
+public class SumFunction extends AbstractFunction implements PartialAggregateFunction {
 
     public SumFunction() {
         super();
@@ -38,6 +40,11 @@ public class SumFunction extends AbstractFunction {
             return 0d;
         }
 
+        // Columnar values are summed up without boxing.
+        if (values instanceof DoubleColumnValues) {
+            return round(sum((DoubleColumnValues) values, null), precission);
+        }
+
         // Sum the collection.
         double sum = 0d;
         Iterator it = values.iterator();
@@ -60,6 +67,27 @@ public class SumFunction extends AbstractFunction {
             return 0d;
         }
 
+        return round(sum(values, rows), precission);
+    }
+
+    public Object aggregatePartial(List values, List<Integer> rows) {
+        return sum(values, rows);
+    }
+
+    public Object merge(List<Object> partials) {
+        double sum = 0d;
+        for (Object partial : partials) {
+            sum += (Double) partial;
+        }
+        return round(sum, precission);
+    }
+
+    protected double sum(List values, List<Integer> rows) {
+        // Columnar values are summed up without boxing.
+        if (values instanceof DoubleColumnValues) {
+            return sum((DoubleColumnValues) values, rows);
+        }
+
         // Sum the collection.
         double sum = 0d;
         for (Integer row : rows) {
@@ -67,6 +95,25 @@ public class SumFunction extends AbstractFunction {
             if (n == null) continue;
             sum += n.doubleValue();
         }
-        return round(sum, precission);
+        return sum;
+    }
+
+    protected double sum(DoubleColumnValues values, List<Integer> rows) {
+        double sum = 0d;
+        if (rows == null) {
+            for (int i = 0; i < values.size(); i++) {
+                sum += values.getDouble(i);
+            }
+        } else if (rows instanceof RowBitmap) {
+            RowBitmap.RowIterator it = ((RowBitmap) rows).rowIterator();
+            while (it.hasNext()) {
+                sum += values.getDouble(it.nextRow());
+            }
+        } else {
+            for (Integer row : rows) {
+                sum += values.getDouble(row);
+            }
+        }
+        return sum;
     }
 }
\ No newline at end of file
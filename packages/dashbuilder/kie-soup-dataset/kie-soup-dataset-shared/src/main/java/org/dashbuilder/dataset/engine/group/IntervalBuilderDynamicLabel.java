@@ -15,12 +15,14 @@
  */
 package org.dashbuilder.dataset.engine.group;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.engine.DataSetHandler;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.DictionaryColumnValues;
 
 /**
  * Interval builder for label columns which generates one interval per label.
@@ -48,6 +50,38 @@ public class IntervalBuilderDynamicLabel implements IntervalBuilder {
             super(columnGroup);
         }
 
+        @Override
+        public IntervalList indexValues(List<Object> values, List<Integer> rows) {
+            if (values instanceof DictionaryColumnValues) {
+                return indexCodes((DictionaryColumnValues) values, rows);
+            }
+            return super.indexValues(values, rows);
+        }
+
+        /**
+         * Dictionary encoded columns are classified by code, so no string comparisons are needed.
+         */
+        protected IntervalList indexCodes(DictionaryColumnValues values, List<Integer> rows) {
+            Interval[] intervalByCode = new Interval[values.getDictionarySize()];
+            Interval nullInterval = null;
+            Iterator<Integer> it = rows == null ? null : rows.iterator();
+            int n = rows == null ? values.size() : rows.size();
+            for (int i = 0; i < n; i++) {
+                int row = it == null ? i : it.next();
+                int code = values.getCode(row);
+                Interval interval = code == DictionaryColumnValues.NULL_CODE ? nullInterval : intervalByCode[code];
+                if (interval == null) {
+                    Object value = values.getValue(code);
+                    interval = new Interval(value == null ? null : value.toString(), this.size());
+                    this.add(interval);
+                    if (code == DictionaryColumnValues.NULL_CODE) nullInterval = interval;
+                    else intervalByCode[code] = interval;
+                }
+                interval.getRows().add(row);
+            }
+            return this;
+        }
+
         public void indexValue(Object value, int row) {
             Interval interval = locateInterval(value);
             if (interval == null) {
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.engine.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dashbuilder.dataprovider.DataSetProviderType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.uuid.UUIDGenerator;
+
+/**
+ * A registry which keeps the memory consumed by the data sets and their indexes under a given budget.
+ *
+ * <p>The registry keeps a running total of the memory consumed, updated every time a data set is registered or
+ * removed and every time an index is built or dropped, so the budget can be checked on every access at no cost.
+ * When exceeded, the sub-indexes (group, filter &amp; sort) providing the lowest benefit per byte are dropped first,
+ * being the benefit the time the index saves every time it is reused (build time * (reuse hits + 1)). Sub-indexes
+ * of a data set being looked up are left untouched, since the lookup might be walking them. If that's not enough
+ * then the less reused data sets are evicted as well, but only those that can be reloaded from their provider.
+ * Statically registered data sets are never evicted.</p>
+ */
+public class BoundedDataSetIndexRegistry extends TransientDataSetIndexRegistry {
+
+    protected long maxSize;
+    protected long currentSize = 0;
+    protected Map<String,Long> dataSetSizeMap = new HashMap<>();
+    protected Map<String,Long> indexSizeMap = new HashMap<>();
+    protected DataSetIndex.SizeListener sizeListener = this::indexSizeChanged;
+    protected int evictedIndexes = 0;
+    protected int evictedDataSets = 0;
+    protected long evictedSize = 0;
+
+    /**
+     * @param maxSize The max. number of bytes the registry may consume. Zero or less means no limit.
+     */
+    public BoundedDataSetIndexRegistry(UUIDGenerator uuidGenerator, long maxSize) {
+        super(uuidGenerator);
+        this.maxSize = maxSize;
+    }
+
+    public synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict(null);
+    }
+
+    /**
+     * Number of sub-indexes dropped so far.
+     */
+    public synchronized int getEvictedIndexes() {
+        return evictedIndexes;
+    }
+
+    /**
+     * Number of data sets evicted so far.
+     */
+    public synchronized int getEvictedDataSets() {
+        return evictedDataSets;
+    }
+
+    /**
+     * Total number of bytes released by evictions.
+     */
+    public synchronized long getEvictedSize() {
+        return evictedSize;
+    }
+
+    /**
+     * The estimated number of bytes consumed by all the data sets and indexes currently registered.
+     */
+    public synchronized long getCurrentSize() {
+        return currentSize;
+    }
+
+    public synchronized DataSetIndex put(DataSet dataSet) {
+        DataSetIndex index = super.put(dataSet);
+        if (index != null) {
+            track(index);
+            evict(dataSet.getUUID());
+        }
+        return index;
+    }
+
+    public synchronized boolean replace(DataSetIndex oldIndex, DataSetIndex newIndex) {
+        if (!super.replace(oldIndex, newIndex)) {
+            return false;
+        }
+        track(newIndex);
+        evict(newIndex.getDataSet().getUUID());
+        return true;
+    }
+
+    /**
+     * Start tracking the size of a newly registered index and its data set.
+     * Registered data sets are never modified (appends register a new copy), so their size is calculated just once.
+     */
+    protected void track(DataSetIndex index) {
+        String uuid = index.getDataSet().getUUID();
+        long dataSetSize = index.getDataSet().getEstimatedSize();
+        long indexSize = index.getIndexSize();
+        currentSize += dataSetSize + indexSize - getDataSetSize(uuid) - getIndexSize(uuid);
+        dataSetSizeMap.put(uuid, dataSetSize);
+        indexSizeMap.put(uuid, indexSize);
+        index.setSizeListener(sizeListener);
+    }
+
+    public synchronized DataSetIndex get(String uuid) {
+        DataSetIndex index = super.get(uuid);
+        if (index != null) {
+            evict(uuid);
+        }
+        return index;
+    }
+
+    public synchronized DataSetIndex remove(String uuid) {
+        DataSetIndex index = super.remove(uuid);
+        if (index != null) {
+            currentSize -= getDataSetSize(uuid) + getIndexSize(uuid);
+        }
+        dataSetSizeMap.remove(uuid);
+        indexSizeMap.remove(uuid);
+        return index;
+    }
+
+    /**
+     * Keep track of the indexes built or dropped. Changes coming from indexes no longer registered are ignored.
+     */
+    protected synchronized void indexSizeChanged(DataSetIndex index, long delta) {
+        String uuid = index.getDataSet().getUUID();
+        if (indexMap.get(uuid) == index) {
+            indexSizeMap.put(uuid, getIndexSize(uuid) + delta);
+            currentSize += delta;
+        }
+    }
+
+    /**
+     * Evict sub-indexes or data sets until the registry fits into the max. size.
+     * @param uuid A data set that must be kept in any case (can be null).
+     */
+    protected void evict(String uuid) {
+        if (maxSize <= 0 || currentSize <= maxSize) {
+            return;
+        }
+
+        // Sub-indexes first, since they are cheaper to rebuild than a whole data set
+        List<EvictionCandidate> candidates = new ArrayList<>();
+        for (DataSetIndex index : indexMap.values()) {
+            synchronized (index) {
+                if (!index.isInUse()) {
+                    collectSubIndexes(index, index, candidates);
+                }
+            }
+        }
+        Collections.sort(candidates);
+        for (int i = 0; i < candidates.size() && currentSize > maxSize; i++) {
+            EvictionCandidate candidate = candidates.get(i);
+            DataSetIndexNode node = candidate.node;
+            synchronized (candidate.root) {
+                // The size is released through the size listener
+                if (!candidate.root.isInUse() && isAttached(node) && node.getParent().removeSubIndex(node)) {
+                    evictedSize += candidate.size;
+                    evictedIndexes++;
+                }
+            }
+        }
+
+        // Then the less reused data sets. Any lookup in progress keeps its own reference to the evicted index.
+        candidates.clear();
+        for (Map.Entry<String,DataSetIndex> entry : indexMap.entrySet()) {
+            if (!entry.getKey().equals(uuid) && isReloadable(entry.getValue().getDataSet())) {
+                long dataSetSize = getDataSetSize(entry.getKey()) + getIndexSize(entry.getKey());
+                candidates.add(new EvictionCandidate(entry.getValue(), entry.getValue(), dataSetSize, entry.getValue().getReuseHits() + 1));
+            }
+        }
+        Collections.sort(candidates);
+        for (int i = 0; i < candidates.size() && currentSize > maxSize; i++) {
+            remove(candidates.get(i).root.getDataSet().getUUID());
+            evictedSize += candidates.get(i).size;
+            evictedDataSets++;
+        }
+    }
+
+    protected void collectSubIndexes(DataSetIndex root, DataSetIndexNode node, List<EvictionCandidate> candidates) {
+        for (DataSetIndexNode subIndex : node.getSubIndexes()) {
+            long benefit = subIndex.getBuildTime() * (subIndex.getReuseHits() + 1);
+            candidates.add(new EvictionCandidate(root, subIndex, subIndex.getIndexSize(), benefit));
+            collectSubIndexes(root, subIndex, candidates);
+        }
+        if (node instanceof DataSetGroupIndex) {
+            for (DataSetIntervalIndex intervalIndex : ((DataSetGroupIndex) node).getIntervalIndexes()) {
+                // Selections share the intervals of its parent group
+                if (intervalIndex.getParent() == node) {
+                    collectSubIndexes(root, intervalIndex, candidates);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the node still belongs to a registered data set, since any of its ancestors might have been evicted.
+     */
+    protected boolean isAttached(DataSetIndexNode node) {
+        DataSetIndexNode root = node;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        return root != node && root instanceof DataSetIndex
+                && indexMap.get(((DataSetIndex) root).getDataSet().getUUID()) == root;
+    }
+
+    /**
+     * Only data sets tied to a non-static provider can be fetched again once evicted.
+     */
+    protected boolean isReloadable(DataSet dataSet) {
+        DataSetDef def = dataSet.getDefinition();
+        return def != null && def.getProvider() != null && !DataSetProviderType.STATIC.equals(def.getProvider());
+    }
+
+    protected long getDataSetSize(String uuid) {
+        Long size = dataSetSizeMap.get(uuid);
+        return size == null ? 0 : size;
+    }
+
+    protected long getIndexSize(String uuid) {
+        Long size = indexSizeMap.get(uuid);
+        return size == null ? 0 : size;
+    }
+
+    protected static class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+        DataSetIndex root;
+        DataSetIndexNode node;
+        long size;
+        double score;
+
+        EvictionCandidate(DataSetIndex root, DataSetIndexNode node, long size, long benefit) {
+            this.root = root;
+            this.node = node;
+            this.size = size;
+            this.score = (double) benefit / Math.max(size, 1);
+        }
+
+        public int compareTo(EvictionCandidate other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
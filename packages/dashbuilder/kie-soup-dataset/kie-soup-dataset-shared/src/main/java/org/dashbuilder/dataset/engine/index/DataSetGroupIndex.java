@@ -74,6 +74,13 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
         if (minValue == null || ((Comparable) minValue).compareTo(min) > 0) minValue = min;
         if (maxValue == null || ((Comparable) maxValue).compareTo(max) < 0) maxValue = max;
         intervalIndexList.add(index);
+        if (parent != null) {
+            sizeChanged(index.getIndexSize());
+        }
+    }
+
+    public ColumnGroup getColumnGroup() {
+        return columnGroup;
     }
 
     public String getIntervalType() {
@@ -166,6 +173,7 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
         index.setParent(this);
         index.setBuildTime(buildTime);
         selectIndexList.add(index);
+        sizeChanged(index.getIndexSize());
         return index;
     }
 
@@ -178,6 +186,24 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
         return out.toString();
     }
 
+    public List<DataSetIndexNode> getSubIndexes() {
+        List<DataSetIndexNode> result = super.getSubIndexes();
+        if (selectIndexList != null) result.addAll(selectIndexList);
+        return result;
+    }
+
+    public boolean removeSubIndex(DataSetIndexNode index) {
+        if (super.removeSubIndex(index)) {
+            return true;
+        }
+        if (selectIndexList != null && selectIndexList.remove(index)) {
+            sizeChanged(-index.getIndexSize());
+            index.setParent(null);
+            return true;
+        }
+        return false;
+    }
+
     public List<Integer> getRows() {
         if (intervalIndexList == null || intervalIndexList.isEmpty()) {
             return null;
@@ -210,6 +236,9 @@ public class DataSetGroupIndex extends DataSetIndexNode implements DataSetInterv
                 indexSet.addIntervalIndex(existing);
                 indexSet.addIntervalIndex(intervalIdx);
                 intervalIndexList.set(i, indexSet);
+                if (parent != null) {
+                    sizeChanged(indexSet.getIndexSize() - existing.getIndexSize());
+                }
             }
         }
     }
@@ -23,6 +23,44 @@ import org.dashbuilder.dataset.engine.index.stats.DataSetIndexStats;
  */
 public abstract class DataSetIndex extends DataSetIndexNode {
 
+    /**
+     * Listener notified every time the estimated size of an index changes.
+     */
+    public interface SizeListener {
+
+        void sizeChanged(DataSetIndex index, long delta);
+    }
+
+    SizeListener sizeListener = null;
+    int lookups = 0;
+
+    public void setSizeListener(SizeListener sizeListener) {
+        this.sizeListener = sizeListener;
+    }
+
+    protected void sizeChanged(long delta) {
+        SizeListener listener = sizeListener;
+        if (listener != null && delta != 0) {
+            listener.sizeChanged(this, delta);
+        }
+    }
+
+    /**
+     * Flag the index as being read or extended by a lookup. Sub-indexes must not be dropped in the meantime.
+     * Every call must be paired with a {@link #lookupFinished()} call.
+     */
+    public synchronized void lookupStarted() {
+        lookups++;
+    }
+
+    public synchronized void lookupFinished() {
+        lookups--;
+    }
+
+    public synchronized boolean isInUse() {
+        return lookups > 0;
+    }
+
     /**
      * Get the data set referenced by this index.
      */
@@ -50,6 +50,10 @@ public abstract class DataSetIndexElement {
         return reuseHits;
     }
 
+    public void setReuseHits(int reuseHits) {
+        this.reuseHits = reuseHits;
+    }
+
     public void reuseHit() {
         this.reuseHits++;
     }
@@ -65,7 +65,10 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
 
     public long getEstimatedSize() {
         long result = super.getEstimatedSize();
-        if (rows != null) {
+        if (rows instanceof RowBitmap) {
+            result += ((RowBitmap) rows).getEstimatedSize();
+        }
+        else if (rows != null) {
             result += rows.size() * MemSizeEstimator.sizeOfInteger;
         }
         return result;
@@ -98,6 +101,53 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
         }
     }
 
+    /**
+     * The estimated size of this node plus the size of all the indexes built on top of it.
+     */
+    public long getIndexSize() {
+        final long[] size = {0};
+        acceptVisitor(element -> size[0] += element.getEstimatedSize());
+        return size[0];
+    }
+
+    /**
+     * Called every time the estimated size of this node, or of any of its sub-indexes, changes.
+     * The change is propagated up to the root index.
+     */
+    protected void sizeChanged(long delta) {
+        if (parent != null && delta != 0) {
+            parent.sizeChanged(delta);
+        }
+    }
+
+    // Sub-indexes
+
+    /**
+     * Get the group, filter &amp; sort indexes built on top of this node.
+     */
+    public List<DataSetIndexNode> getSubIndexes() {
+        List<DataSetIndexNode> result = new ArrayList<>();
+        if (groupIndexes != null) result.addAll(groupIndexes);
+        if (filterIndexes != null) result.addAll(filterIndexes);
+        if (sortIndexes != null) result.addAll(sortIndexes);
+        return result;
+    }
+
+    /**
+     * Drop the given sub-index together with all the indexes built on top of it.
+     * @return true if the index was attached to this node, false otherwise.
+     */
+    public boolean removeSubIndex(DataSetIndexNode index) {
+        boolean removed = (groupIndexes != null && groupIndexes.remove(index))
+                || (filterIndexes != null && filterIndexes.remove(index))
+                || (sortIndexes != null && sortIndexes.remove(index));
+        if (removed) {
+            sizeChanged(-index.getIndexSize());
+            index.setParent(null);
+        }
+        return removed;
+    }
+
     // Aggregate function indexes
 
     public DataSetFunctionIndex indexAggValue(String columnId, AggregateFunctionType type, Object value, long buildTime) {
@@ -111,10 +161,25 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
         }
 
         DataSetFunctionIndex index = new DataSetFunctionIndex(value, buildTime);
-        columnAggFunctions.put(type, index);
+        DataSetFunctionIndex previous = columnAggFunctions.put(type, index);
+        sizeChanged(index.getEstimatedSize() - (previous != null ? previous.getEstimatedSize() : 0));
         return index;
     }
 
+    public void removeAggValues() {
+        if (functionIndexes == null) {
+            return;
+        }
+        long size = 0;
+        for (Map<AggregateFunctionType, DataSetFunctionIndex> indexMap : functionIndexes.values()) {
+            for (DataSetFunctionIndex index : indexMap.values()) {
+                size += index.getEstimatedSize();
+            }
+        }
+        functionIndexes = null;
+        sizeChanged(-size);
+    }
+
     public Object getAggValue(String columnId, AggregateFunctionType type) {
         if (functionIndexes == null) return null;
 
@@ -135,8 +200,8 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
     public DataSetGroupIndex indexGroup(DataSetGroupIndex index) {
         if (groupIndexes == null) groupIndexes = new ArrayList<DataSetGroupIndex>();
         index.setParent(this);
-        index.setBuildTime(buildTime);
         groupIndexes.add(index);
+        sizeChanged(index.getIndexSize());
         return index;
     }
 
@@ -174,6 +239,7 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
         index.setParent(this);
         index.setBuildTime(buildTime);
         filterIndexes.add(index);
+        sizeChanged(index.getIndexSize());
         return index;
     }
 
@@ -206,6 +272,7 @@ public abstract class DataSetIndexNode extends DataSetIndexElement {
         DataSetSortIndex invertedIndex = new DataSetSortIndex(invertedSortOp, invertedRows);
         invertedIndex.setParent(this);
         sortIndexes.add(invertedIndex);
+        sizeChanged(index.getIndexSize() + invertedIndex.getIndexSize());
 
         return index;
     }
@@ -37,7 +37,7 @@ public class DataSetIntervalIndex extends DataSetIndexNode implements DataSetInt
     }
 
     public DataSetIntervalIndex(DataSetGroupIndex parent, Interval interval) {
-        super(parent, interval.getRows(), 0);
+        super(parent, RowBitmap.compress(interval.getRows()), 0);
         this.intervalName = interval.getName();
         intervalType = interval.getType();
         minValue = interval.getMinValue();
@@ -0,0 +1,758 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.engine.index;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.dashbuilder.dataset.impl.MemSizeEstimator;
+
+/**
+ * A compressed, immutable and ascending ordered set of row numbers.
+ *
+ * <p>The rows are split into chunks of 65536 by its 16 high bits (Roaring-style). Every chunk is
+ * stored either as a sorted <code>char[]</code> of the 16 low bits (sparse chunks) or as a 65536 bits
+ * bitmap (dense chunks). Intersections, unions &amp; differences are calculated chunk by chunk, without
+ * boxing any row number.</p>
+ *
+ * <p>It is also a read-only <code>List&lt;Integer&gt;</code>, so it can be used anywhere a list of
+ * rows is expected.</p>
+ */
+public class RowBitmap extends AbstractList<Integer> {
+
+    static final int ARRAY_MAX_SIZE = 4096;
+    static final int BITMAP_WORDS = 2048;
+    static final int BLOCK_WORDS = 64;
+
+    public static final RowBitmap EMPTY = new RowBitmap(new int[0], new Container[0], 0);
+
+    /**
+     * Create a bitmap containing all the rows within the [from, to) range.
+     */
+    public static RowBitmap range(int from, int to) {
+        Builder builder = new Builder();
+        int row = from;
+        while (row < to) {
+            // Whole chunks are stored straight away as full bitmaps
+            if ((row & 0xFFFF) == 0 && to - row >= 0x10000) {
+                int[] words = new int[BITMAP_WORDS];
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    words[i] = -1;
+                }
+                builder.flush();
+                builder.append(row >>> 16, new BitmapContainer(words, 0x10000));
+                builder.lastRow = row + 0xFFFF;
+                row += 0x10000;
+            } else {
+                builder.add(row++);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Split the given rows into (at most) the given number of parts of contiguous rows.
+     */
+    public static List<List<Integer>> partition(List<Integer> rows, int parts) {
+        List<List<Integer>> result = new ArrayList<List<Integer>>();
+        if (rows instanceof RowBitmap) {
+            result.addAll(((RowBitmap) rows).split(parts));
+            return result;
+        }
+        int size = rows.size();
+        for (int i = 0; i < parts; i++) {
+            int from = (int) ((long) size * i / parts);
+            int to = (int) ((long) size * (i + 1) / parts);
+            if (from < to) {
+                result.add(rows.subList(from, to));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create a bitmap from the given list of rows.
+     * @throws IllegalArgumentException If the rows are not in strict ascending order.
+     */
+    public static RowBitmap valueOf(List<Integer> rows) {
+        if (rows instanceof RowBitmap) {
+            return (RowBitmap) rows;
+        }
+        Builder builder = new Builder();
+        for (Integer row : rows) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get a compressed version of the given rows, provided they are in strict ascending order.
+     * @return A bitmap or the given list as is, if it can't be turned into a bitmap.
+     */
+    public static List<Integer> compress(List<Integer> rows) {
+        if (rows == null || rows instanceof RowBitmap || !isAscending(rows)) {
+            return rows;
+        }
+        return valueOf(rows);
+    }
+
+    /**
+     * Check if the given rows are in strict ascending order, a requirement for being stored in a bitmap.
+     */
+    public static boolean isAscending(List<Integer> rows) {
+        if (rows instanceof RowBitmap) {
+            return true;
+        }
+        int last = -1;
+        for (Integer row : rows) {
+            if (row == null || row <= last) {
+                return false;
+            }
+            last = row;
+        }
+        return true;
+    }
+
+    final int[] keys;
+    final Container[] containers;
+    final int[] offsets;
+    final int size;
+
+    RowBitmap(int[] keys, Container[] containers, int count) {
+        this.keys = new int[count];
+        this.containers = new Container[count];
+        this.offsets = new int[count];
+        System.arraycopy(keys, 0, this.keys, 0, count);
+        System.arraycopy(containers, 0, this.containers, 0, count);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            offsets[i] = total;
+            total += containers[i].cardinality;
+        }
+        this.size = total;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A binary search of the chunk holding the given position, then a select within the chunk: O(log n), not
+     * constant time as in an <code>ArrayList</code>. Prefer {@link #rowIterator()} to walk all the rows.
+     */
+    @Override
+    public Integer get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        // Last container whose offset is <= index
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= index) low = mid;
+            else high = mid - 1;
+        }
+        return (keys[low] << 16) | containers[low].select(index - offsets[low]);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Integer)) {
+            return -1;
+        }
+        int row = (Integer) o;
+        if (row < 0) {
+            return -1;
+        }
+        int c = indexOfKey(row >>> 16);
+        if (c < 0) {
+            return -1;
+        }
+        int rank = containers[c].rank(row & 0xFFFF);
+        return rank < 0 ? -1 : offsets[c] + rank;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        final RowIterator it = rowIterator();
+        return new Iterator<Integer>() {
+
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public Integer next() {
+                return it.nextRow();
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * An iterator over the rows which does not box them.
+     */
+    public RowIterator rowIterator() {
+        return new RowIterator();
+    }
+
+    /**
+     * The rows present in both this and the other bitmap.
+     */
+    public RowBitmap and(RowBitmap other) {
+        Builder result = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) i++;
+            else if (keys[i] > other.keys[j]) j++;
+            else {
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * The rows present in this or the other bitmap.
+     */
+    public RowBitmap or(RowBitmap other) {
+        Builder result = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i]);
+                i++;
+            }
+            else if (i == keys.length || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j]);
+                j++;
+            }
+            else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * The rows present in this bitmap but not in the other.
+     */
+    public RowBitmap andNot(RowBitmap other) {
+        Builder result = new Builder();
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) j++;
+            if (j < other.keys.length && other.keys[j] == keys[i]) {
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i]);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * The rows of this bitmap followed by the given ones, which must all be greater than the last row of this bitmap.
+     * Only the last chunk of this bitmap is rebuilt, when the first given rows fall into it. The other chunks are
+     * shared with the result, although the chunk arrays themselves are copied.
+     * @throws IllegalArgumentException If the given rows are not in ascending order after the last row of this bitmap.
+     */
+    public RowBitmap append(List<Integer> rows) {
+        RowBitmap tail = valueOf(rows);
+        if (tail.isEmpty()) return this;
+        if (isEmpty()) return tail;
+        if (tail.get(0) <= get(size - 1)) {
+            throw new IllegalArgumentException("Rows must be appended in ascending order: " + tail.get(0));
+        }
+        Builder result = new Builder();
+        int last = keys.length - 1;
+        for (int i = 0; i < last; i++) {
+            result.append(keys[i], containers[i]);
+        }
+        int j = 0;
+        if (tail.keys[0] == keys[last]) {
+            result.append(keys[last], containers[last].or(tail.containers[0]));
+            j++;
+        } else {
+            result.append(keys[last], containers[last]);
+        }
+        for (; j < tail.keys.length; j++) {
+            result.append(tail.keys[j], tail.containers[j]);
+        }
+        return result.build();
+    }
+
+    /**
+     * Split this bitmap into (at most) the given number of bitmaps of similar size. The split is done
+     * by chunks of rows, so the chunks are shared with this bitmap rather than copied.
+     */
+    public List<RowBitmap> split(int parts) {
+        List<RowBitmap> result = new ArrayList<RowBitmap>();
+        int first = 0;
+        for (int i = 1; i <= parts && first < containers.length; i++) {
+            long target = (long) size * i / parts;
+            int last = first;
+            while (last < containers.length && (last == first || offsets[last] < target)) {
+                last++;
+            }
+            if (i == parts) {
+                last = containers.length;
+            }
+            int count = last - first;
+            int[] partKeys = new int[count];
+            Container[] partContainers = new Container[count];
+            System.arraycopy(keys, first, partKeys, 0, count);
+            System.arraycopy(containers, first, partContainers, 0, count);
+            result.add(new RowBitmap(partKeys, partContainers, count));
+            first = last;
+        }
+        return result;
+    }
+
+    public long getEstimatedSize() {
+        long result = MemSizeEstimator.sizeOfInteger + (long) keys.length * 12;
+        for (Container container : containers) {
+            result += container.getEstimatedSize();
+        }
+        return result;
+    }
+
+    protected int indexOfKey(int key) {
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) low = mid + 1;
+            else if (keys[mid] > key) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Builds a bitmap from a sequence of rows added in strict ascending order.
+     */
+    public static class Builder {
+
+        int[] keys = new int[4];
+        Container[] containers = new Container[4];
+        int count = 0;
+
+        int currentKey = -1;
+        char[] buffer = null;
+        int[] words = null;
+        int bufferSize = 0;
+        int lastRow = -1;
+
+        /**
+         * @throws IllegalArgumentException If the row is negative or not greater than the last row added.
+         */
+        public Builder add(int row) {
+            if (row <= lastRow) {
+                throw new IllegalArgumentException("Rows must be added in ascending order: " + row);
+            }
+            lastRow = row;
+
+            int key = row >>> 16;
+            int low = row & 0xFFFF;
+            if (key != currentKey) {
+                flush();
+                currentKey = key;
+            }
+            if (words != null) {
+                words[low >>> 5] |= 1 << (low & 31);
+            }
+            else if (bufferSize < ARRAY_MAX_SIZE) {
+                if (buffer == null) buffer = new char[ARRAY_MAX_SIZE];
+                buffer[bufferSize] = (char) low;
+            }
+            else {
+                words = new int[BITMAP_WORDS];
+                for (int i = 0; i < bufferSize; i++) {
+                    words[buffer[i] >>> 5] |= 1 << (buffer[i] & 31);
+                }
+                words[low >>> 5] |= 1 << (low & 31);
+            }
+            bufferSize++;
+            return this;
+        }
+
+        public RowBitmap build() {
+            flush();
+            return new RowBitmap(keys, containers, count);
+        }
+
+        void flush() {
+            if (bufferSize > 0) {
+                if (words != null) {
+                    append(currentKey, new BitmapContainer(words, bufferSize));
+                } else {
+                    char[] values = new char[bufferSize];
+                    System.arraycopy(buffer, 0, values, 0, bufferSize);
+                    append(currentKey, new ArrayContainer(values));
+                }
+            }
+            words = null;
+            bufferSize = 0;
+        }
+
+        void append(int key, Container container) {
+            if (container == null) {
+                return;
+            }
+            if (count == keys.length) {
+                int[] newKeys = new int[count * 2];
+                Container[] newContainers = new Container[count * 2];
+                System.arraycopy(keys, 0, newKeys, 0, count);
+                System.arraycopy(containers, 0, newContainers, 0, count);
+                keys = newKeys;
+                containers = newContainers;
+            }
+            keys[count] = key;
+            containers[count] = container;
+            count++;
+        }
+    }
+
+    /**
+     * Iterates the rows in ascending order.
+     */
+    public class RowIterator {
+
+        int containerIdx = 0;
+        int returned = 0;
+        int nextBit = 0;
+
+        public boolean hasNext() {
+            return containerIdx < containers.length;
+        }
+
+        public int nextRow() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Container container = containers[containerIdx];
+            int low;
+            if (container instanceof ArrayContainer) {
+                low = ((ArrayContainer) container).values[returned];
+            } else {
+                low = ((BitmapContainer) container).nextSetBit(nextBit);
+                nextBit = low + 1;
+            }
+            int row = (keys[containerIdx] << 16) | low;
+            if (++returned == container.cardinality) {
+                containerIdx++;
+                returned = 0;
+                nextBit = 0;
+            }
+            return row;
+        }
+    }
+
+    abstract static class Container {
+
+        int cardinality;
+
+        /**
+         * @return The low bits of the j-th value.
+         */
+        abstract int select(int j);
+
+        /**
+         * @return The position of the given value or -1 if not present.
+         */
+        abstract int rank(int low);
+
+        abstract boolean contains(int low);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract long getEstimatedSize();
+
+        static Container fromWords(int[] words) {
+            int card = 0;
+            for (int w : words) {
+                card += Integer.bitCount(w);
+            }
+            if (card == 0) {
+                return null;
+            }
+            if (card > ARRAY_MAX_SIZE) {
+                return new BitmapContainer(words, card);
+            }
+            char[] values = new char[card];
+            int k = 0;
+            for (int i = 0; i < words.length; i++) {
+                int w = words[i];
+                while (w != 0) {
+                    values[k++] = (char) ((i << 5) + Integer.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            return new ArrayContainer(values);
+        }
+    }
+
+    static class ArrayContainer extends Container {
+
+        final char[] values;
+
+        ArrayContainer(char[] values) {
+            this.values = values;
+            this.cardinality = values.length;
+        }
+
+        int select(int j) {
+            return values[j];
+        }
+
+        int rank(int low) {
+            int l = 0;
+            int h = values.length - 1;
+            while (l <= h) {
+                int mid = (l + h) >>> 1;
+                if (values[mid] < low) l = mid + 1;
+                else if (values[mid] > low) h = mid - 1;
+                else return mid;
+            }
+            return -1;
+        }
+
+        boolean contains(int low) {
+            return rank(low) != -1;
+        }
+
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality)];
+            int k = 0;
+            if (other instanceof ArrayContainer) {
+                char[] b = ((ArrayContainer) other).values;
+                int i = 0;
+                int j = 0;
+                while (i < values.length && j < b.length) {
+                    if (values[i] < b[j]) i++;
+                    else if (values[i] > b[j]) j++;
+                    else {
+                        result[k++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (char v : values) {
+                    if (other.contains(v)) result[k++] = v;
+                }
+            }
+            return trim(result, k);
+        }
+
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            char[] b = ((ArrayContainer) other).values;
+            if (cardinality + b.length > ARRAY_MAX_SIZE) {
+                int[] words = new int[BITMAP_WORDS];
+                setBits(words, values);
+                setBits(words, b);
+                return Container.fromWords(words);
+            }
+            char[] result = new char[cardinality + b.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < values.length || j < b.length) {
+                if (j == b.length || (i < values.length && values[i] < b[j])) result[k++] = values[i++];
+                else if (i == values.length || values[i] > b[j]) result[k++] = b[j++];
+                else {
+                    result[k++] = values[i++];
+                    j++;
+                }
+            }
+            return trim(result, k);
+        }
+
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int k = 0;
+            for (char v : values) {
+                if (!other.contains(v)) result[k++] = v;
+            }
+            return trim(result, k);
+        }
+
+        long getEstimatedSize() {
+            return MemSizeEstimator.sizeOfInteger + 16 + values.length * 2L;
+        }
+
+        static void setBits(int[] words, char[] values) {
+            for (char v : values) {
+                words[v >>> 5] |= 1 << (v & 31);
+            }
+        }
+
+        static Container trim(char[] values, int length) {
+            if (length == 0) {
+                return null;
+            }
+            if (length == values.length) {
+                return new ArrayContainer(values);
+            }
+            char[] result = new char[length];
+            System.arraycopy(values, 0, result, 0, length);
+            return new ArrayContainer(result);
+        }
+    }
+
+    static class BitmapContainer extends Container {
+
+        final int[] words;
+
+        /**
+         * Number of bits set before every block of {@link #BLOCK_WORDS} words.
+         */
+        final int[] blockRanks;
+
+        BitmapContainer(int[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+            this.blockRanks = new int[BITMAP_WORDS / BLOCK_WORDS];
+            int total = 0;
+            for (int i = 0; i < words.length; i++) {
+                if (i % BLOCK_WORDS == 0) blockRanks[i / BLOCK_WORDS] = total;
+                total += Integer.bitCount(words[i]);
+            }
+        }
+
+        int select(int j) {
+            int block = 0;
+            while (block + 1 < blockRanks.length && blockRanks[block + 1] <= j) block++;
+            int remaining = j - blockRanks[block];
+            for (int i = block * BLOCK_WORDS; i < words.length; i++) {
+                int bits = Integer.bitCount(words[i]);
+                if (remaining < bits) {
+                    int w = words[i];
+                    for (int b = 0; b < remaining; b++) {
+                        w &= w - 1;
+                    }
+                    return (i << 5) + Integer.numberOfTrailingZeros(w);
+                }
+                remaining -= bits;
+            }
+            throw new IndexOutOfBoundsException("Index: " + j);
+        }
+
+        int rank(int low) {
+            if (!contains(low)) {
+                return -1;
+            }
+            int word = low >>> 5;
+            int block = word / BLOCK_WORDS;
+            int result = blockRanks[block];
+            for (int i = block * BLOCK_WORDS; i < word; i++) {
+                result += Integer.bitCount(words[i]);
+            }
+            int mask = (1 << (low & 31)) - 1;
+            return result + Integer.bitCount(words[word] & mask);
+        }
+
+        boolean contains(int low) {
+            return (words[low >>> 5] & (1 << (low & 31))) != 0;
+        }
+
+        int nextSetBit(int from) {
+            int i = from >>> 5;
+            int w = words[i] & (-1 << (from & 31));
+            while (w == 0) {
+                w = words[++i];
+            }
+            return (i << 5) + Integer.numberOfTrailingZeros(w);
+        }
+
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            int[] b = ((BitmapContainer) other).words;
+            int[] result = new int[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & b[i];
+            }
+            return Container.fromWords(result);
+        }
+
+        Container or(Container other) {
+            int[] result = new int[BITMAP_WORDS];
+            System.arraycopy(words, 0, result, 0, BITMAP_WORDS);
+            if (other instanceof ArrayContainer) {
+                ArrayContainer.setBits(result, ((ArrayContainer) other).values);
+            } else {
+                int[] b = ((BitmapContainer) other).words;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    result[i] |= b[i];
+                }
+            }
+            return Container.fromWords(result);
+        }
+
+        Container andNot(Container other) {
+            int[] result = new int[BITMAP_WORDS];
+            System.arraycopy(words, 0, result, 0, BITMAP_WORDS);
+            if (other instanceof ArrayContainer) {
+                for (char v : ((ArrayContainer) other).values) {
+                    result[v >>> 5] &= ~(1 << (v & 31));
+                }
+            } else {
+                int[] b = ((BitmapContainer) other).words;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    result[i] &= ~b[i];
+                }
+            }
+            return Container.fromWords(result);
+        }
+
+        long getEstimatedSize() {
+            return MemSizeEstimator.sizeOfInteger + 32 + (BITMAP_WORDS + blockRanks.length) * 4L;
+        }
+    }
+}
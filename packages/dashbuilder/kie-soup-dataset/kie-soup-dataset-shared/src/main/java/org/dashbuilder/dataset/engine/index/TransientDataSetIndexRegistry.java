@@ -57,5 +57,15 @@ public class TransientDataSetIndexRegistry implements DataSetIndexRegistry {
     public DataSetIndex remove(String uuid) {
         return indexMap.remove(uuid);
     }
+
+    public boolean replace(DataSetIndex oldIndex, DataSetIndex newIndex) {
+        String uuid = oldIndex.getDataSet().getUUID();
+        if (indexMap.get(uuid) != oldIndex) {
+            return false;
+        }
+        newIndex.getDataSet().setUUID(uuid);
+        indexMap.put(uuid, newIndex);
+        return true;
+    }
 }
 
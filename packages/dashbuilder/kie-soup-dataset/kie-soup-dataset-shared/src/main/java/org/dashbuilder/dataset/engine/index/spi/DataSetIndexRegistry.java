@@ -40,5 +40,16 @@ public interface DataSetIndexRegistry {
      * @return The removed index or <tt>null</tt> if there was no mapping for <tt>uuid</tt>.
      */
     DataSetIndex remove(String uuid);
+
+    /**
+     * Replace the index of a registered data set, provided it has not been registered again in the meantime.
+     * @param oldIndex The index currently registered.
+     * @param newIndex The index to register instead, which may refer to a different data set instance.
+     * @return false if <tt>oldIndex</tt> is no longer the registered index or the registry does not support
+     * replacing indexes.
+     */
+    default boolean replace(DataSetIndex oldIndex, DataSetIndex newIndex) {
+        return false;
+    }
 }
 
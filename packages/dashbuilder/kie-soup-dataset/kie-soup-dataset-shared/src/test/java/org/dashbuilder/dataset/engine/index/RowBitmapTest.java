@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataset.engine.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RowBitmapTest {
+
+    static final int MAX_ROW = 300000;
+
+    Random random = new Random(7);
+
+    @Test
+    public void testListView() {
+        // Sparse & dense chunks
+        TreeSet<Integer> rows = randomRows(0.01);
+        rows.addAll(range(70000, 140000));
+        RowBitmap bitmap = RowBitmap.valueOf(new ArrayList<>(rows));
+
+        List<Integer> expected = new ArrayList<>(rows);
+        assertEquals(expected.size(), bitmap.size());
+        assertEquals(expected, new ArrayList<>(bitmap));
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), bitmap.get(i));
+            assertEquals(i, bitmap.indexOf(expected.get(i)));
+        }
+        assertEquals(expected.get(expected.size() - 1), bitmap.get(expected.size() - 1));
+        assertFalse(bitmap.contains(MAX_ROW + 1));
+        assertFalse(bitmap.contains(-1));
+        assertEquals(expected, bitmap);
+    }
+
+    @Test
+    public void testOperations() {
+        for (double density : new double[] {0.001, 0.05, 0.5}) {
+            TreeSet<Integer> a = randomRows(density);
+            TreeSet<Integer> b = randomRows(0.1);
+            RowBitmap bitmapA = RowBitmap.valueOf(new ArrayList<>(a));
+            RowBitmap bitmapB = RowBitmap.valueOf(new ArrayList<>(b));
+
+            TreeSet<Integer> and = new TreeSet<>(a);
+            and.retainAll(b);
+            TreeSet<Integer> or = new TreeSet<>(a);
+            or.addAll(b);
+            TreeSet<Integer> andNot = new TreeSet<>(a);
+            andNot.removeAll(b);
+
+            assertEquals(new ArrayList<>(and), bitmapA.and(bitmapB));
+            assertEquals(new ArrayList<>(or), bitmapA.or(bitmapB));
+            assertEquals(new ArrayList<>(andNot), bitmapA.andNot(bitmapB));
+            assertEquals(b.size() - and.size(), bitmapB.andNot(bitmapA).size());
+        }
+    }
+
+    @Test
+    public void testRange() {
+        RowBitmap bitmap = RowBitmap.range(10, 70000);
+        assertEquals(69990, bitmap.size());
+        assertEquals(10, (int) bitmap.get(0));
+        assertEquals(65536, (int) bitmap.get(65526));
+        assertTrue(bitmap.andNot(RowBitmap.range(0, 100000)).isEmpty());
+        assertTrue(RowBitmap.range(0, 0).isEmpty());
+    }
+
+    @Test
+    public void testCompression() {
+        List<Integer> rows = range(0, MAX_ROW);
+        RowBitmap bitmap = RowBitmap.valueOf(rows);
+        assertTrue(bitmap.getEstimatedSize() < rows.size());
+
+        List<Integer> unsorted = Arrays.asList(3, 1, 2);
+        assertSame(unsorted, RowBitmap.compress(unsorted));
+        assertTrue(RowBitmap.compress(Arrays.asList(1, 2, 3)) instanceof RowBitmap);
+    }
+
+    @Test
+    public void testAppend() {
+        List<Integer> rows = new ArrayList<>(randomRows(0.01));
+        RowBitmap bitmap = RowBitmap.valueOf(rows);
+        List<Integer> newRows = range(MAX_ROW + 1, MAX_ROW + 70000);
+
+        RowBitmap appended = bitmap.append(newRows);
+        List<Integer> expected = new ArrayList<>(rows);
+        expected.addAll(newRows);
+        assertEquals(expected, new ArrayList<>(appended));
+        assertEquals(expected.size(), appended.size());
+
+        // The last chunk is merged with the first new rows, the others are shared
+        int last = bitmap.keys.length - 1;
+        for (int i = 0; i < last; i++) {
+            assertSame(bitmap.containers[i], appended.containers[i]);
+        }
+        assertEquals(bitmap.keys[last], appended.keys[last]);
+        assertSame(bitmap, bitmap.append(new ArrayList<>()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendUnsortedRows() {
+        RowBitmap.valueOf(Arrays.asList(1, 5)).append(Arrays.asList(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedRows() {
+        RowBitmap.valueOf(Arrays.asList(3, 1, 2));
+    }
+
+    TreeSet<Integer> randomRows(double density) {
+        TreeSet<Integer> result = new TreeSet<>();
+        for (int i = 0; i < MAX_ROW; i++) {
+            if (random.nextDouble() < density) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    List<Integer> range(int from, int to) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.sql;
+
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import org.dashbuilder.dataprovider.sql.dialect.Dialect;
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.date.DateUtils;
+import org.dashbuilder.dataset.impl.DoubleColumnValues;
+
+/**
+ * Reads the values of a result set column straight into its target data set column, converting every
+ * value according to the column type and the JDBC dialect as soon as the row is fetched.
+ * <p>Numeric columns are read as primitives, so when the target column is backed by a
+ * {@link DoubleColumnValues} store no boxing takes place at all.</p>
+ */
+public abstract class ColumnAppender {
+
+    /**
+     * Get the appender for the given column
+     *
+     * @param column The target data set column
+     * @param index The index of the column within the result set (starting at 1)
+     * @param sqlType The JDBC type of the result set column (see {@link Types})
+     * @param dialect The JDBC dialect
+     * @param dateGroup If the column holds the intervals of a group by date
+     */
+    public static ColumnAppender create(DataColumn column, int index, int sqlType, Dialect dialect, boolean dateGroup) {
+        ColumnType columnType = column.getColumnType();
+        if (dateGroup) {
+            return new DateIntervalAppender(column, index);
+        }
+        if (ColumnType.NUMBER.equals(columnType)) {
+            if (isNumeric(sqlType)) {
+                return new DoubleAppender(column, index);
+            }
+            return new NumberAppender(column, index, dialect);
+        }
+        if (ColumnType.DATE.equals(columnType)) {
+            return new DateAppender(column, index, dialect);
+        }
+        return new StringAppender(column, index, dialect);
+    }
+
+    public static boolean isNumeric(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    protected DataColumn column;
+    protected List values;
+    protected int index;
+
+    protected ColumnAppender(DataColumn column, int index) {
+        this.column = column;
+        this.values = column.getValues();
+        this.index = index;
+    }
+
+    /**
+     * Read the column value from the current row of the result set and append it to the data set column.
+     */
+    public abstract void append(ResultSet rs) throws Exception;
+
+    protected Object getObject(ResultSet rs) throws SQLException {
+        Object value = rs.getObject(index);
+        // Clob conversion must be done when object is still open
+        if (value instanceof Clob) {
+            value = JDBCUtils.clobToString((Clob) value);
+        }
+        return value;
+    }
+
+    static class DoubleAppender extends ColumnAppender {
+
+        DoubleColumnValues doubleValues;
+
+        DoubleAppender(DataColumn column, int index) {
+            super(column, index);
+            if (values instanceof DoubleColumnValues) {
+                doubleValues = (DoubleColumnValues) values;
+            }
+        }
+
+        @Override
+        public void append(ResultSet rs) throws SQLException {
+            double value = rs.getDouble(index);
+            if (rs.wasNull()) {
+                values.add(null);
+            } else if (doubleValues != null) {
+                doubleValues.addDouble(value);
+            } else {
+                values.add(value);
+            }
+        }
+    }
+
+    static class NumberAppender extends ColumnAppender {
+
+        Dialect dialect;
+
+        NumberAppender(DataColumn column, int index, Dialect dialect) {
+            super(column, index);
+            this.dialect = dialect;
+        }
+
+        @Override
+        public void append(ResultSet rs) throws SQLException {
+            values.add(dialect.convertToDouble(getObject(rs)));
+        }
+    }
+
+    static class DateAppender extends ColumnAppender {
+
+        Dialect dialect;
+
+        DateAppender(DataColumn column, int index, Dialect dialect) {
+            super(column, index);
+            this.dialect = dialect;
+        }
+
+        @Override
+        public void append(ResultSet rs) throws SQLException {
+            values.add(dialect.convertToDate(getObject(rs)));
+        }
+    }
+
+    static class StringAppender extends ColumnAppender {
+
+        Dialect dialect;
+
+        StringAppender(DataColumn column, int index, Dialect dialect) {
+            super(column, index);
+            this.dialect = dialect;
+        }
+
+        @Override
+        public void append(ResultSet rs) throws SQLException {
+            values.add(dialect.convertToString(getObject(rs)));
+        }
+    }
+
+    /**
+     * Converts the intervals of a group by date back to absolute dates in order to allow the post processing of the data set.
+     */
+    static class DateIntervalAppender extends ColumnAppender {
+
+        DateIntervalAppender(DataColumn column, int index) {
+            super(column, index);
+        }
+
+        @Override
+        public void append(ResultSet rs) throws Exception {
+            values.add(DateUtils.parseDate(column, getObject(rs)));
+        }
+    }
+}
@@ -115,11 +115,23 @@ public class JDBCUtils {
     }
 
     public static ResultSetHandler executeQuery(Connection connection, String sql) throws SQLException {
+        return executeQuery(connection, sql, 0);
+    }
+
+    /**
+     * Execute the given query
+     *
+     * @param fetchSize Hint for the number of rows the driver should fetch per round trip (0 = driver's default)
+     */
+    public static ResultSetHandler executeQuery(Connection connection, String sql, int fetchSize) throws SQLException {
         try {
             if (log.isDebugEnabled()) {
                 log.debug(sql);
             }
             Statement statement = connection.createStatement();
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
             ResultSet resultSet = statement.executeQuery(sql);
             return new ResultSetHandler(resultSet, statement);
         } catch (SQLException e) {
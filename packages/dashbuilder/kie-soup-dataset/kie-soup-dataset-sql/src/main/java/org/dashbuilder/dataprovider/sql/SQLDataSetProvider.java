@@ -15,15 +15,18 @@
  */
 package org.dashbuilder.dataprovider.sql;
 
-import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
@@ -48,7 +51,7 @@ import org.dashbuilder.dataset.DataSetMetadata;
 import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.DataSetOpEngine;
 import org.dashbuilder.dataset.IntervalBuilderDynamicDate;
-import org.dashbuilder.dataset.date.DateUtils;
+import org.dashbuilder.dataset.date.TimeAmount;
 import org.dashbuilder.dataset.date.TimeFrame;
 import org.dashbuilder.dataset.def.DataColumnDef;
 import org.dashbuilder.dataset.def.DataSetDef;
@@ -139,6 +142,10 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
     protected IntervalBuilderLocator intervalBuilderLocator;
     protected IntervalBuilderDynamicDate intervalBuilderDynamicDate;
     protected DataSetOpEngine opEngine;
+    protected boolean resultCacheEnabled = false;
+    protected SQLResultCache resultCache = new SQLResultCache(1000, 100 * 1024 * 1024);
+    protected int fetchSize = 0;
+    protected boolean columnarStorageEnabled = false;
 
     public SQLDataSetProvider() {
     }
@@ -194,18 +201,61 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         this.opEngine = opEngine;
     }
 
+    public boolean isResultCacheEnabled() {
+        return resultCacheEnabled;
+    }
+
+    /**
+     * If enabled, the results of the queries on data sets with a refresh time are cached and shared among
+     * identical lookup requests until the data set gets stale.
+     * @see SQLResultCache
+     */
+    public void setResultCacheEnabled(boolean resultCacheEnabled) {
+        this.resultCacheEnabled = resultCacheEnabled;
+        if (!resultCacheEnabled) {
+            resultCache.clear();
+        }
+    }
+
+    public SQLResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public void setResultCache(SQLResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * The number of rows the JDBC driver is asked to fetch per round trip when reading the query results
+     * (0 = the driver's default). Drivers like PostgreSQL's load the whole result set into memory unless it's set.
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean isColumnarStorageEnabled() {
+        return columnarStorageEnabled;
+    }
+
+    /**
+     * If enabled, the query results are materialized into a primitive-typed, columnar data set.
+     * @see DataSetFactory#newColumnarDataSet()
+     */
+    public void setColumnarStorageEnabled(boolean columnarStorageEnabled) {
+        this.columnarStorageEnabled = columnarStorageEnabled;
+    }
+
     public DataSetProviderType getType() {
         return DataSetProviderType.SQL;
     }
 
     public DataSet lookupDataSet(DataSetDef def, DataSetLookup lookup) throws Exception {
         SQLDataSetDef sqlDef = (SQLDataSetDef) def;
-        if (StringUtils.isBlank(sqlDef.getDataSource())) {
-            throw new IllegalArgumentException("Missing data source in SQL data set definition: " + sqlDef);
-        }
-        if (StringUtils.isBlank(sqlDef.getDbSQL()) && StringUtils.isBlank(sqlDef.getDbTable())) {
-            throw new IllegalArgumentException("Missing DB table or SQL in the data set definition: " + sqlDef);
-        }
+        _checkDef(sqlDef);
 
         // Look first into the static data set provider cache.
         if (sqlDef.isCacheEnabled()) {
@@ -227,12 +277,43 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
                 dataSet.setUUID(def.getUUID());
                 dataSet.setDefinition(def);
                 staticDataSetProvider.registerDataSet(dataSet);
+                _updateWatermark(sqlDef, dataSet);
                 return staticDataSetProvider.lookupDataSet(def.getUUID(), lookup);
             }
         }
 
         // If cache is disabled then always fetch from database.
-        return _lookupDataSet(sqlDef, lookup);
+        return _lookupCachedResult(sqlDef, lookup);
+    }
+
+    /**
+     * The results of a single query are read through the JDBC cursor (see {@link #setFetchSize(int)}) and handed
+     * over as soon as every page is complete, so all the pages come from the very same result set. Data sets
+     * already held by the static cache are paged from there. Lookups which require some in-memory post-processing
+     * are delivered as a single page.
+     */
+    @Override
+    public void lookupDataSet(DataSetDef def, DataSetLookup lookup, int pageSize, Consumer<DataSet> pageConsumer) throws Exception {
+        SQLDataSetDef sqlDef = (SQLDataSetDef) def;
+        _checkDef(sqlDef);
+
+        if (sqlDef.isCacheEnabled() && staticDataSetProvider.lookupDataSet(def.getUUID(), null) != null) {
+            staticDataSetProvider.lookupDataSet(def, lookup, pageSize, pageConsumer);
+            return;
+        }
+        LookupProcessor processor = new LookupProcessor(sqlDef, lookup);
+        processor.pageSize = Math.max(1, pageSize);
+        processor.pageConsumer = pageConsumer;
+        pageConsumer.accept(processor.run());
+    }
+
+    protected void _checkDef(SQLDataSetDef def) {
+        if (StringUtils.isBlank(def.getDataSource())) {
+            throw new IllegalArgumentException("Missing data source in SQL data set definition: " + def);
+        }
+        if (StringUtils.isBlank(def.getDbSQL()) && StringUtils.isBlank(def.getDbTable())) {
+            throw new IllegalArgumentException("Missing DB table or SQL in the data set definition: " + def);
+        }
     }
 
     public boolean isDataSetOutdated(DataSetDef def) {
@@ -242,6 +323,10 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         if (last == null) return false;
 
         // Check if the metadata has changed since the last time it was fetched.
+        return _hasMetadataChanged(def, last);
+    }
+
+    protected boolean _hasMetadataChanged(DataSetDef def, MetadataHolder last) {
         try {
             DataSetMetadata current = getDataSetMetadata(def);
             return !current.equals(last.metadata);
@@ -268,6 +353,13 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
     @Override
     public void onDataSetDefStale(DataSetDef def) {
         if (DataSetProviderType.SQL.equals(def.getProvider())) {
+            resultCache.invalidate(def.getUUID());
+
+            // Append-only data sets just fetch the new rows
+            if (_appendNewRows((SQLDataSetDef) def)) {
+                return;
+            }
+            _watermarkMap.remove(def.getUUID());
             staticDataSetProvider.removeDataSet(def.getUUID());
         }
     }
@@ -277,7 +369,9 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         if (DataSetProviderType.SQL.equals(olDef.getProvider())) {
             String uuid = olDef.getUUID();
             _metadataMap.remove(uuid);
+            _watermarkMap.remove(uuid);
             staticDataSetProvider.removeDataSet(uuid);
+            resultCache.invalidate(uuid);
         }
     }
 
@@ -286,7 +380,9 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         if (DataSetProviderType.SQL.equals(oldDef.getProvider())) {
             String uuid = oldDef.getUUID();
             _metadataMap.remove(uuid);
+            _watermarkMap.remove(uuid);
             staticDataSetProvider.removeDataSet(uuid);
+            resultCache.invalidate(uuid);
         }
     }
 
@@ -303,6 +399,7 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
     }
 
     protected transient Map<String,MetadataHolder> _metadataMap = new HashMap<String,MetadataHolder>();
+    protected transient Map<String,Comparable> _watermarkMap = new ConcurrentHashMap<String,Comparable>();
 
     protected Column _getDbColumn(Collection<Column> dbColumns, String columnId) {
         for (Column dbColumn: dbColumns) {
@@ -436,6 +533,101 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         return _query.fetchCount();
     }
 
+    protected boolean _isIncrementalRefresh(SQLDataSetDef def) {
+        return def.isCacheEnabled() && !StringUtils.isBlank(def.getWatermarkColumn());
+    }
+
+    protected void _updateWatermark(SQLDataSetDef def, DataSet dataSet) {
+        if (!_isIncrementalRefresh(def)) {
+            return;
+        }
+        DataColumn column = dataSet.getColumnById(def.getWatermarkColumn());
+        if (column == null) {
+            log.warn("Watermark column '{}' not found in data set {}. Incremental refresh is disabled.", def.getWatermarkColumn(), def.getUUID());
+            return;
+        }
+        Comparable watermark = _watermarkMap.get(def.getUUID());
+        for (Object value : column.getValues()) {
+            if (value != null && (watermark == null || watermark.compareTo(value) < 0)) {
+                watermark = (Comparable) value;
+            }
+        }
+        if (watermark != null) {
+            _watermarkMap.put(def.getUUID(), watermark);
+        }
+    }
+
+    /**
+     * Fetch only the rows beyond the last watermark and append them to the cached data set.
+     * @return false if the incremental refresh is not possible, so the data set must be fully reloaded.
+     */
+    protected boolean _appendNewRows(SQLDataSetDef def) {
+        String uuid = def.getUUID();
+        Comparable watermark = _watermarkMap.get(uuid);
+        DataSet cached = staticDataSetProvider.lookupDataSet(uuid, null);
+        if (!_isIncrementalRefresh(def) || watermark == null || cached == null) {
+            return false;
+        }
+        try {
+            // The lookup below fetches the current metadata again and keeps it
+            _metadataMap.remove(uuid);
+            DataSetFilter filter = new DataSetFilter();
+            filter.addFilterColumn(FilterFactory.greaterThan(def.getWatermarkColumn(), watermark));
+            DataSet newRows = _lookupDataSet(def, new DataSetLookup(uuid, filter));
+
+            // Rows updated or deleted behind the watermark can only be caught by a full reload. Without the size
+            // estimation no row count is available, so the previous rows plus the new ones are taken as is.
+            int expectedRows = cached.getRowCount() + newRows.getRowCount();
+            MetadataHolder last = _metadataMap.get(uuid);
+            if (last == null || (def.isEstimateSize() && last.metadata.getNumberOfRows() != expectedRows)) {
+                return false;
+            }
+            if (expectedRows > def.getCacheMaxRows() || !staticDataSetProvider.appendRows(uuid, newRows)) {
+                _metadataMap.remove(uuid);
+                return false;
+            }
+            _updateWatermark(def, newRows);
+            return true;
+        }
+        catch (Exception e) {
+            log.error("Error fetching the new rows of data set " + uuid, e);
+            return false;
+        }
+    }
+
+    protected DataSet _lookupCachedResult(SQLDataSetDef def, DataSetLookup lookup) throws Exception {
+        // Only data sets declaring a refresh time accept results not fetched right now
+        TimeAmount refreshTime = def.getRefreshTimeAmount();
+        if (!resultCacheEnabled || refreshTime == null || (lookup != null && lookup.testMode())) {
+            return _lookupDataSet(def, lookup);
+        }
+
+        // Check if the cached result is still valid
+        String uuid = def.getUUID();
+        SQLResultCache.CachedResult cached = resultCache.get(uuid, lookup);
+        if (cached != null && System.currentTimeMillis() >= cached.getTimestamp() + refreshTime.toMillis()) {
+            if (_isResultOutdated(def)) {
+                _metadataMap.remove(uuid);
+                resultCache.invalidate(uuid);
+            } else {
+                cached.setTimestamp(System.currentTimeMillis());
+            }
+        }
+        return resultCache.load(uuid, lookup, () -> _lookupDataSet(def, lookup));
+    }
+
+    /**
+     * Same check as the data set def registry does on every refresh (see {@link #isDataSetOutdated(DataSetDef)}),
+     * but keeping the last fetched metadata.
+     */
+    protected boolean _isResultOutdated(SQLDataSetDef def) {
+        if (def.isRefreshAlways()) {
+            return true;
+        }
+        MetadataHolder last = _metadataMap.get(def.getUUID());
+        return last == null || _hasMetadataChanged(def, last);
+    }
+
     protected DataSet _lookupDataSet(SQLDataSetDef def, DataSetLookup lookup) throws Exception {
         LookupProcessor processor = new LookupProcessor(def, lookup);
         return processor.run();
@@ -616,6 +808,10 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         Date[] dateLimits;
         DateIntervalType dateIntervalType;
         List<DataSetOp> postProcessingOps = new ArrayList<DataSetOp>();
+        Column totalCountColumn = null;
+        int totalCount = -1;
+        int pageSize = -1;
+        Consumer<DataSet> pageConsumer = null;
 
         public LookupProcessor(SQLDataSetDef def, DataSetLookup lookup) {
             this.def = def;
@@ -667,10 +863,7 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
 
                     // Row limits
                     if (trim && postProcessingOps.isEmpty()) {
-                        if(def.isEstimateSize()) {
-                            totalRows = _query.fetchCount();
-                        }
-                        _query.limit(lookup.getNumberOfRows()).offset(lookup.getRowOffset());
+                        totalRows = _appendRowLimits(totalRows);
                     }
 
                     // Fetch the results and build the data set
@@ -732,10 +925,7 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
                     // ... and the row limits.
                     // If post-processing then defer the trim operation in order to not leave out rows
                     if (trim && postProcessingOps.isEmpty()) {
-                        if (def.isEstimateSize()) {
-                            totalRows = _query.fetchCount();
-                        }
-                        _query.limit(lookup.getNumberOfRows()).offset(lookup.getRowOffset());
+                        totalRows = _appendRowLimits(totalRows);
                     }
 
                     // Fetch the results and build the data set
@@ -747,7 +937,24 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
             }
         }
         
+        protected int _appendRowLimits(int totalRows) throws Exception {
+            if (def.isEstimateSize() && pageConsumer == null) {
+                // Get the total number of rows along with the page of results if the database supports it.
+                // Otherwise, an extra COUNT query is required.
+                Dialect dialect = JDBCUtils.dialect(conn);
+                if (dialect.supportsTotalCountColumn()) {
+                    totalCountColumn = SQLFactory.totalCount();
+                    _query.columns(totalCountColumn);
+                } else {
+                    totalRows = _query.fetchCount();
+                }
+            }
+            _query.limit(lookup.getNumberOfRows()).offset(lookup.getRowOffset());
+            return totalRows;
+        }
+
         protected DataSet buildDataSet(final List<DataColumn> columns, boolean trim, int totalRows) throws Exception {
+            _query.fetchSize(fetchSize);
             DataSet dataSet = logSQL(_query).fetch(new ResultSetConsumer<DataSet>() {
                 public DataSet consume(ResultSet _rs) {
                     try {
@@ -758,11 +965,24 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
                 }
             });
             if (trim && postProcessingOps.isEmpty()) {
+                if (totalCountColumn != null) {
+                    totalRows = _fetchTotalCount();
+                }
                 dataSet.setRowCountNonTrimmed(totalRows);
             }
             return dataSet;
         }
 
+        protected int _fetchTotalCount() throws Exception {
+            if (totalCount >= 0) {
+                return totalCount;
+            }
+            // No rows in the page, so the total must be calculated apart
+            _query.getColumns().remove(totalCountColumn);
+            _query.limit(-1).offset(-1);
+            return _query.fetchCount();
+        }
+
         protected DateIntervalType calculateDateInterval(ColumnGroup cg) {
             if (dateIntervalType != null) {
                 return dateIntervalType;
@@ -1047,7 +1267,7 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
         }
 
         protected DataSet _buildDataSet(List<DataColumn> columns, ResultSet _rs) throws Exception {
-            DataSet dataSet = DataSetFactory.newEmptyDataSet();
+            DataSet dataSet = columnarStorageEnabled && postProcessingOps.isEmpty() ? DataSetFactory.newColumnarDataSet() : DataSetFactory.newEmptyDataSet();
             dataSet.setUUID(def.getUUID());
             dataSet.setDefinition(def);
             DataColumn dateGroupColumn = null;
@@ -1059,76 +1279,61 @@ public class SQLDataSetProvider implements DataSetProvider, DataSetDefRegistryLi
                 dataSet.addColumn(column);
             }
 
+            // Create the appenders which convert the values according to each column type and the JDBC dialect
+            Dialect dialect = JDBCUtils.dialect(conn);
+            ResultSetMetaData rsMetadata = _rs.getMetaData();
+            ColumnAppender[] appenders = new ColumnAppender[columns.size()];
+            int[] sqlTypes = new int[columns.size()];
+            boolean[] dateGroups = new boolean[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                DataColumn column = dataSet.getColumnByIndex(i);
+                ColumnGroup cg = column.getColumnGroup();
+                boolean dateGroup = ColumnType.LABEL.equals(column.getColumnType())
+                        && cg != null && ColumnType.DATE.equals(metadata.getColumnType(cg.getSourceId()));
+
+                if (dateGroup) {
+                    dateGroupColumn = column;
+                    dateIncludeEmptyIntervals = cg.areEmptyIntervalsAllowed();
+
+                    // If grouped by date then convert back to absolute dates
+                    // in order to allow the post processing of the data set.
+                    column.setColumnType(ColumnType.DATE);
+                }
+                sqlTypes[i] = rsMetadata != null ? rsMetadata.getColumnType(i+1) : Types.OTHER;
+                dateGroups[i] = dateGroup;
+                appenders[i] = ColumnAppender.create(column, i+1, sqlTypes[i], dialect, dateGroup);
+            }
+            // Pages can only be handed over if no further processing of the whole result is required
+            boolean paging = pageConsumer != null && postProcessingOps.isEmpty() && !dateIncludeEmptyIntervals;
+
             // Offset post-processing
             if (_query.isOffsetPostProcessing() && _query.getOffset() > 0) {
                 // Move the cursor to the specified offset or until the end of the result set is reached
                 for (int i=0; i<_query.getOffset() && _rs.next(); i++);
             }
 
-            // Populate the data set
+            // Populate the data set (stop as soon as the row limit is reached)
             int rowIdx = 0;
             int numRows = _query.getLimit();
-            while (_rs.next() && (numRows < 0 || rowIdx++ < numRows)) {
-                for (int i=0; i<columns.size(); i++) {
-                    DataColumn column = dataSet.getColumnByIndex(i);
-                    Object value = _rs.getObject(i+1);
-                    // Clob conversion must be done when object is still open
-                    if (value instanceof Clob) {
-                        value = JDBCUtils.clobToString((Clob) value);
+            while ((numRows < 0 || rowIdx < numRows) && _rs.next()) {
+                if (paging && dataSet.getRowCount() == pageSize) {
+                    pageConsumer.accept(dataSet);
+                    dataSet = dataSet.cloneEmpty();
+                    dataSet.setUUID(def.getUUID());
+                    dataSet.setDefinition(def);
+                    for (int i = 0; i < appenders.length; i++) {
+                        appenders[i] = ColumnAppender.create(dataSet.getColumnByIndex(i), i+1, sqlTypes[i], dialect, dateGroups[i]);
                     }
-                    column.getValues().add(value);
                 }
-            }
-
-            // Process the data set values according to each column type and the JDBC dialect
-            Dialect dialect = JDBCUtils.dialect(conn);
-            for (DataColumn column : dataSet.getColumns()) {
-                ColumnType columnType = column.getColumnType();
-                List values = column.getValues();
-
-                if (ColumnType.LABEL.equals(columnType)) {
-                    ColumnGroup cg = column.getColumnGroup();
-                    if (cg != null && ColumnType.DATE.equals(metadata.getColumnType(cg.getSourceId()))) {
-                        dateGroupColumn = column;
-                        dateIncludeEmptyIntervals = cg.areEmptyIntervalsAllowed();
-
-                        // If grouped by date then convert back to absolute dates
-                        // in order to allow the post processing of the data set.
-                        column.setColumnType(ColumnType.DATE);
-                        for (int j=0; j<values.size(); j++) {
-                            Object val = values.remove(j);
-                            Date dateObj = DateUtils.parseDate(column, val);
-                            values.add(j, dateObj);
-                        }
-                    }
-                    else {
-                        for (int j=0; j<values.size(); j++) {
-                            Object value = dialect.convertToString(values.remove(j));
-                            values.add(j, value);
-                        }
-                    }
+                for (ColumnAppender appender : appenders) {
+                    appender.append(_rs);
                 }
-                else if (ColumnType.NUMBER.equals(columnType)) {
-                    for (int j=0; j<values.size(); j++) {
-                        Object value = dialect.convertToDouble(values.remove(j));
-                        values.add(j, value);
-                    }
+                if (rowIdx == 0 && totalCountColumn != null) {
+                    totalCount = _rs.getInt(columns.size()+1);
                 }
-                else if (ColumnType.DATE.equals(columnType)) {
-                    for (int j=0; j<values.size(); j++) {
-                        Object value = dialect.convertToDate(values.remove(j));
-                        values.add(j, value);
-                    }
-                }
-                else {
-                    for (int j=0; j<values.size(); j++) {
-                        Object value = dialect.convertToString(values.remove(j));
-                        values.add(j, value);
-                    }
-                }
-
-                column.setValues(values);
+                rowIdx++;
             }
+
             // Some operations requires some in-memory post-processing
             if (!postProcessingOps.isEmpty()) {
                 dataSet = opEngine.execute(dataSet, postProcessingOps);
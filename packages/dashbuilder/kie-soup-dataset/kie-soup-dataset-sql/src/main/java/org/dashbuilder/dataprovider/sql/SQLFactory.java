@@ -87,4 +87,8 @@ public class SQLFactory {
     public static Column concat(Column... columns) {
         return new FunctionColumn(FunctionColumn.CONCAT, columns);
     }
+
+    public static Column totalCount() {
+        return new FunctionColumn(FunctionColumn.TOTAL_COUNT);
+    }
 }
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.sql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetOp;
+
+/**
+ * A cache for the results of the SQL queries issued by the {@link SQLDataSetProvider}.
+ *
+ * <p>Results are keyed by the data set lookup that originated them, so identical lookups coming from different
+ * displayers or users are resolved with a single query. Concurrent requests for a lookup which is still being
+ * fetched wait for the query in progress instead of issuing a new one.</p>
+ *
+ * <p>The cache is bounded both by a max. number of entries and by the estimated size of the cached data sets. The
+ * least recently used entries are evicted first. Every caller gets its own copy of the cached data set, so it can be
+ * safely modified (by a post processor, for instance).</p>
+ */
+public class SQLResultCache {
+
+    protected int maxEntries;
+    protected long maxSize;
+    protected long currentSize = 0;
+    protected Map<Key, CachedResult> resultMap = new LinkedHashMap<>(16, 0.75f, true);
+    protected Map<String, Long> generationMap = new HashMap<>();
+    protected Map<Key, InFlight> inFlightMap = new ConcurrentHashMap<>();
+    protected AtomicLong hits = new AtomicLong();
+    protected AtomicLong misses = new AtomicLong();
+    protected AtomicLong coalesced = new AtomicLong();
+
+    public SQLResultCache(int maxEntries) {
+        this(maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxEntries The max. number of results to keep
+     * @param maxSize The max. estimated size (in bytes) of all the results kept
+     */
+    public SQLResultCache(int maxEntries, long maxSize) {
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        evict();
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    /**
+     * The estimated size (in bytes) of all the cached results.
+     */
+    public synchronized long getCurrentSize() {
+        return currentSize;
+    }
+
+    /**
+     * Number of lookups resolved from the cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of lookups that required a query.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Number of lookups that waited for an identical query already in progress.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public synchronized int size() {
+        return resultMap.size();
+    }
+
+    /**
+     * Get the cached result of the given lookup.
+     * @return The cached entry or null if not found.
+     */
+    public synchronized CachedResult get(String uuid, DataSetLookup lookup) {
+        return resultMap.get(new Key(uuid, lookup));
+    }
+
+    /**
+     * Get the result of the given lookup, either from the cache or by calling the loader. Only a single loader is
+     * called at a time for the same lookup. A request waiting for a query started before the data set was last
+     * invalidated does not take its result, but issues a new query once that one is over.
+     * @return A copy of the result, owned by the caller.
+     */
+    public DataSet load(String uuid, DataSetLookup lookup, Callable<DataSet> loader) throws Exception {
+        Key key = new Key(uuid, lookup);
+        long generation = getGeneration(uuid);
+        while (true) {
+            synchronized (this) {
+                CachedResult cached = resultMap.get(key);
+                if (cached != null) {
+                    hits.incrementAndGet();
+                    return cached.dataSet.cloneInstance();
+                }
+            }
+
+            InFlight request = new InFlight(generation);
+            InFlight inFlight = inFlightMap.putIfAbsent(key, request);
+            if (inFlight == null) {
+                return _load(uuid, key, request, loader);
+            }
+            coalesced.incrementAndGet();
+            DataSet dataSet;
+            try {
+                dataSet = inFlight.future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            if (inFlight.generation >= generation) {
+                return dataSet.cloneInstance();
+            }
+        }
+    }
+
+    protected DataSet _load(String uuid, Key key, InFlight request, Callable<DataSet> loader) throws Exception {
+        misses.incrementAndGet();
+        DataSet dataSet;
+        try {
+            dataSet = loader.call();
+            synchronized (this) {
+                // Discard the result if the data set has been invalidated in the meantime
+                if (request.generation == getGeneration(uuid)) {
+                    CachedResult cached = new CachedResult(dataSet);
+                    if (cached.size <= maxSize) {
+                        currentSize += cached.size;
+                        _release(resultMap.put(key, cached));
+                        evict();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            inFlightMap.remove(key, request);
+            request.future.completeExceptionally(e);
+            throw e;
+        }
+        // Unregister before completing, so the requests rejecting this result do not find it again
+        inFlightMap.remove(key, request);
+        request.future.complete(dataSet);
+        return dataSet.cloneInstance();
+    }
+
+    /**
+     * Discard all the cached results of the given data set.
+     */
+    public synchronized void invalidate(String uuid) {
+        generationMap.put(uuid, getGeneration(uuid) + 1);
+        Iterator<Map.Entry<Key, CachedResult>> it = resultMap.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, CachedResult> entry = it.next();
+            if (entry.getKey().uuid.equals(uuid)) {
+                _release(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (String uuid : new ArrayList<>(generationMap.keySet())) {
+            generationMap.put(uuid, getGeneration(uuid) + 1);
+        }
+        resultMap.clear();
+        currentSize = 0;
+    }
+
+    protected synchronized long getGeneration(String uuid) {
+        Long generation = generationMap.get(uuid);
+        return generation == null ? 0 : generation;
+    }
+
+    protected void evict() {
+        Iterator<CachedResult> it = resultMap.values().iterator();
+        while ((resultMap.size() > maxEntries || currentSize > maxSize) && it.hasNext()) {
+            _release(it.next());
+            it.remove();
+        }
+    }
+
+    protected void _release(CachedResult cached) {
+        if (cached != null) {
+            currentSize -= cached.size;
+        }
+    }
+
+    /**
+     * A cached query result.
+     */
+    public static class CachedResult {
+
+        DataSet dataSet;
+        long size;
+        volatile long timestamp;
+
+        CachedResult(DataSet dataSet) {
+            this.dataSet = dataSet;
+            this.size = dataSet.getEstimatedSize();
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        /**
+         * The cached data set, shared by all the callers. It must not be modified.
+         */
+        public DataSet getDataSet() {
+            return dataSet;
+        }
+
+        /**
+         * The estimated size (in bytes) of the cached data set.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * The last time the result was found to be up to date.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * A query in progress, along with the data set generation it was issued for.
+     */
+    protected static class InFlight {
+
+        long generation;
+        CompletableFuture<DataSet> future = new CompletableFuture<>();
+
+        InFlight(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * The cache key. It holds a copy of the lookup since lookup instances are modified during its processing.
+     */
+    protected static class Key {
+
+        String uuid;
+        DataSetLookup lookup;
+        int hash;
+
+        Key(String uuid, DataSetLookup lookup) {
+            this.uuid = uuid;
+            this.lookup = lookup == null ? new DataSetLookup(uuid) : lookup.cloneInstance();
+            this.lookup.setDataSetUUID(uuid);
+
+            List<DataSetOp> opList = this.lookup.getOperationList();
+            int result = uuid.hashCode();
+            result = 31 * result + this.lookup.getRowOffset();
+            result = 31 * result + this.lookup.getNumberOfRows();
+            for (DataSetOp op : opList) {
+                result = 31 * result + op.getType().hashCode();
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && uuid.equals(other.uuid) && lookup.equals(other.lookup);
+        }
+    }
+}
@@ -88,4 +88,9 @@ public class DB2Dialect extends DefaultDialect {
     public String getOffsetLimitSQL(Select select) {
         return null;
     }
+
+    @Override
+    public boolean supportsTotalCountColumn() {
+        return true;
+    }
 }
@@ -193,6 +193,9 @@ public class DefaultDialect implements Dialect {
         if (FunctionColumn.SECOND.equals(column.getFunction())) {
             return getDatePartFunctionSQL("SECOND", column.getColumns()[0]);
         }
+        if (FunctionColumn.TOTAL_COUNT.equals(column.getFunction())) {
+            return getTotalCountFunctionSQL();
+        }
         throw new IllegalArgumentException("Column function not supported: " + column.getFunction());
     }
 
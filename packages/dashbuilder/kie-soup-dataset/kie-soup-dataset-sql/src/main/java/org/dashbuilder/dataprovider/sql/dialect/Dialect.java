@@ -165,4 +165,16 @@ public interface Dialect {
     String getOrExprConditionSQL(Condition[] conditions);
 
     String getColumnFunctionSQL(String column, AggregateFunctionType function);
+
+    /**
+     * Whether the total number of rows can be fetched along with a page of results
+     * (see {@link #getTotalCountFunctionSQL()}), so that no extra COUNT query is needed.
+     */
+    default boolean supportsTotalCountColumn() {
+        return false;
+    }
+
+    default String getTotalCountFunctionSQL() {
+        return "COUNT(*) OVER ()";
+    }
 }
@@ -112,4 +112,9 @@ public class OracleDialect extends DefaultDialect {
             return out.toString();
         }
     }
+
+    @Override
+    public boolean supportsTotalCountColumn() {
+        return true;
+    }
 }
@@ -71,4 +71,9 @@ public class PostgresDialect extends DefaultDialect {
         String columnName = getColumnNameSQL(column.getName());
         return "TO_CHAR(" + columnName + ", '" + datePattern + "')";
     }
+
+    @Override
+    public boolean supportsTotalCountColumn() {
+        return true;
+    }
 }
@@ -157,4 +157,9 @@ public class SQLServerDialect extends DefaultDialect {
         }
         return out.toString();
     }
+
+    @Override
+    public boolean supportsTotalCountColumn() {
+        return true;
+    }
 }
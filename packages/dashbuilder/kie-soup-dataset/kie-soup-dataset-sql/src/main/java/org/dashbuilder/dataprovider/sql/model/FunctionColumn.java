@@ -25,6 +25,7 @@ public class FunctionColumn extends Column {
     public static final String HOUR = "hour";
     public static final String MINUTE = "minute";
     public static final String SECOND = "second";
+    public static final String TOTAL_COUNT = "total_count";
 
     protected Column[] columns = null;
     protected String function = null;
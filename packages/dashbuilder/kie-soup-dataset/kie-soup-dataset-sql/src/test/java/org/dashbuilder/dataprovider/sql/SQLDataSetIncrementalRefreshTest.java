@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.sql;
+
+import java.util.Date;
+
+import org.dashbuilder.DataSetCore;
+import org.dashbuilder.dataprovider.StaticDataSetProvider;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.def.DataSetDefFactory;
+import org.dashbuilder.dataset.def.SQLDataSetDef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.dashbuilder.dataprovider.sql.SQLFactory.delete;
+import static org.dashbuilder.dataprovider.sql.SQLFactory.insert;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_DEPARTMENT;
+import static org.dashbuilder.dataset.ExpenseReportsData.COLUMN_ID;
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.COUNT;
+
+public class SQLDataSetIncrementalRefreshTest extends SQLDataSetTestBase {
+
+    static final String INCREMENTAL_UUID = "expense_reports_incremental";
+
+    StaticDataSetProvider staticDataSetProvider = DataSetCore.get().getStaticDataSetProvider();
+    SQLDataSetDef incrementalDef;
+
+    DataSetLookup countByDept = DataSetLookupFactory.newDataSetLookupBuilder()
+            .dataset(INCREMENTAL_UUID)
+            .group(COLUMN_DEPARTMENT)
+            .column(COLUMN_DEPARTMENT)
+            .column(COUNT, "occurrences")
+            .buildLookup();
+
+    DataSetLookup salesOnly = DataSetLookupFactory.newDataSetLookupBuilder()
+            .dataset(INCREMENTAL_UUID)
+            .filter(equalsTo(COLUMN_DEPARTMENT, "Sales"))
+            .buildLookup();
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        incrementalDef = (SQLDataSetDef) DataSetDefFactory.newSQLDataSetDef()
+                .uuid(INCREMENTAL_UUID)
+                .dataSource("jdbc:h2:mem:test")
+                .dbTable("EXPENSE_REPORTS", true)
+                .watermarkColumn(COLUMN_ID)
+                .cacheOn(1000)
+                .buildDef();
+        dataSetDefRegistry.registerDataSetDef(incrementalDef);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dataSetDefRegistry.removeDataSetDef(INCREMENTAL_UUID);
+        super.tearDown();
+    }
+
+    @Override
+    public void testAll() throws Exception {
+        testAppendNewRows();
+        testAppendNewRowsNoEstimateSize();
+        testReloadOnDeletedRows();
+    }
+
+    @Test
+    public void testAppendNewRows() throws Exception {
+        DataSet depts = dataSetManager.lookupDataSet(countByDept);
+        DataSet sales = dataSetManager.lookupDataSet(salesOnly);
+        DataSet cached = staticDataSetProvider.lookupDataSet(INCREMENTAL_UUID, null);
+        assertThat(cached.getRowCount()).isEqualTo(50);
+
+        // Insert some extra rows into the database
+        populateDbTable();
+        assertThat(sqlDataSetProvider.isDataSetOutdated(incrementalDef)).isTrue();
+        sqlDataSetProvider.onDataSetDefStale(incrementalDef);
+
+        // The new rows are appended to a copy of the cached data set, which replaces it
+        DataSet appended = staticDataSetProvider.lookupDataSet(INCREMENTAL_UUID, null);
+        assertThat(appended.getRowCount()).isEqualTo(100);
+        assertThat(cached.getRowCount()).isEqualTo(50);
+
+        // The metadata kept matches the rows appended, so the data set is not found outdated again
+        assertThat(sqlDataSetProvider.isDataSetOutdated(incrementalDef)).isFalse();
+
+        // ... and the patched indexes return the right results
+        DataSet newDepts = dataSetManager.lookupDataSet(countByDept);
+        assertThat(newDepts.getRowCount()).isEqualTo(depts.getRowCount());
+        for (int i = 0; i < depts.getRowCount(); i++) {
+            assertThat(newDepts.getValueAt(i, 0)).isEqualTo(depts.getValueAt(i, 0));
+            assertThat(((Number) newDepts.getValueAt(i, 1)).intValue()).isEqualTo(((Number) depts.getValueAt(i, 1)).intValue() * 2);
+        }
+        assertThat(dataSetManager.lookupDataSet(salesOnly).getRowCount()).isEqualTo(sales.getRowCount() * 2);
+
+        // Nothing new to fetch
+        sqlDataSetProvider.onDataSetDefStale(incrementalDef);
+        assertThat(staticDataSetProvider.lookupDataSet(INCREMENTAL_UUID, null)).isSameAs(appended);
+        assertThat(appended.getRowCount()).isEqualTo(100);
+    }
+
+    @Test
+    public void testAppendNewRowsNoEstimateSize() throws Exception {
+        dataSetDefRegistry.removeDataSetDef(INCREMENTAL_UUID);
+        incrementalDef.setEstimateSize(false);
+        dataSetDefRegistry.registerDataSetDef(incrementalDef);
+
+        dataSetManager.lookupDataSet(countByDept);
+        DataSet cached = staticDataSetProvider.lookupDataSet(INCREMENTAL_UUID, null);
+        assertThat(cached.getRowCount()).isEqualTo(50);
+
+        // No row count is available, so the new rows are appended without a full reload
+        populateDbTable();
+        sqlDataSetProvider.onDataSetDefStale(incrementalDef);
+        DataSet appended = staticDataSetProvider.lookupDataSet(INCREMENTAL_UUID, null);
+        assertThat(appended).isNotNull();
+        assertThat(appended.getRowCount()).isEqualTo(100);
+        assertThat(sqlDataSetProvider.isDataSetOutdated(incrementalDef)).isFalse();
+    }
+
+    @Test
+    public void testReloadOnDeletedRows() throws Exception {
+        dataSetManager.lookupDataSet(countByDept);
+
+        // A row removed behind the watermark plus a new one
+        delete(conn).from(EXPENSES).where(ID.equalsTo(1)).execute();
+        insert(conn).into(EXPENSES)
+                .set(ID, 100)
+                .set(CITY, "Brno")
+                .set(DEPT, "Sales")
+                .set(EMPLOYEE, "Jan Novak")
+                .set(DATE, new Date())
+                .set(AMOUNT, 100d)
+                .execute();
+        sqlDataSetProvider.onDataSetDefStale(incrementalDef);
+
+        // The cached data set is discarded and fully reloaded on the next lookup
+        assertThat(staticDataSetProvider.lookupDataSet(INCREMENTAL_UUID, null)).isNull();
+        DataSet result = dataSetManager.lookupDataSet(DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(INCREMENTAL_UUID)
+                .buildLookup());
+        assertThat(result.getRowCount()).isEqualTo(50);
+    }
+}
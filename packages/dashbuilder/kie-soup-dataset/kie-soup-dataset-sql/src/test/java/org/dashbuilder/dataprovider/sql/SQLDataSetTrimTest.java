@@ -55,7 +55,25 @@ public class SQLDataSetTrimTest extends SQLDataSetTestBase {
         subTest.testTrim();
         subTest.testTrimGroup();
         subTest.testDuplicatedColumns();
+        subTest.testTrimInPages();
+        subTest.testTrimInPagesEmpty();
     }
+
+    @Test
+    public void testTrimColumnarStorage() throws Exception {
+        sqlDataSetProvider.setColumnarStorageEnabled(true);
+        sqlDataSetProvider.setFetchSize(10);
+        try {
+            DataSetTrimTest subTest = new DataSetTrimTest();
+            subTest.testTrim();
+            subTest.testTrimGroup();
+            subTest.testTrimInPages();
+        } finally {
+            sqlDataSetProvider.setColumnarStorageEnabled(false);
+            sqlDataSetProvider.setFetchSize(0);
+        }
+    }
+
     @Test
     public void testTotalRowCountNonTrimmedFillingGroupBy() throws Exception {
         DataSet result = dataSetManager.lookupDataSet(
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.dataprovider.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.junit.Test;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class SQLResultCacheTest {
+
+    SQLResultCache resultCache = new SQLResultCache(10);
+    AtomicInteger queries = new AtomicInteger();
+
+    DataSet query() {
+        queries.incrementAndGet();
+        return DataSetFactory.newEmptyDataSet();
+    }
+
+    DataSetLookup lookup(String city) {
+        return DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset("ds")
+                .filter("city", equalsTo(city))
+                .rowNumber(10)
+                .buildLookup();
+    }
+
+    @Test
+    public void testIdenticalLookups() throws Exception {
+        DataSet first = resultCache.load("ds", lookup("Barcelona"), this::query);
+        DataSet second = resultCache.load("ds", lookup("Barcelona"), this::query);
+        DataSet other = resultCache.load("ds", lookup("Madrid"), this::query);
+
+        assertEquals(2, queries.get());
+        assertEquals(1, resultCache.getHits());
+        assertEquals(2, resultCache.getMisses());
+    }
+
+    @Test
+    public void testLookupModifiedAfterLoad() throws Exception {
+        DataSetLookup lookup = lookup("Barcelona");
+        resultCache.load("ds", lookup, this::query);
+        lookup.setRowOffset(5);
+
+        assertNull(resultCache.get("ds", lookup));
+        assertEquals(1, resultCache.size());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        resultCache.load("ds", lookup("Barcelona"), this::query);
+        resultCache.load("other", lookup("Barcelona"), this::query);
+        resultCache.invalidate("ds");
+
+        assertNull(resultCache.get("ds", lookup("Barcelona")));
+        assertEquals(1, resultCache.size());
+        resultCache.load("ds", lookup("Barcelona"), this::query);
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    public void testMaxEntries() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            resultCache.load("ds", lookup("city" + i), this::query);
+        }
+        assertEquals(10, resultCache.size());
+        assertNull(resultCache.get("ds", lookup("city0")));
+        resultCache.setMaxEntries(5);
+        assertEquals(5, resultCache.size());
+    }
+
+    @Test
+    public void testCopiesReturned() throws Exception {
+        DataSet first = resultCache.load("ds", lookup("Barcelona"), this::query);
+        first.addColumn("city", ColumnType.LABEL);
+        first.setValueAt(0, 0, "Barcelona");
+        DataSet second = resultCache.load("ds", lookup("Barcelona"), this::query);
+
+        assertNotSame(first, second);
+        assertEquals(0, second.getColumns().size());
+        assertEquals(0, resultCache.get("ds", lookup("Barcelona")).getDataSet().getColumns().size());
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        long size = dataSet(100).getEstimatedSize();
+        resultCache.setMaxSize(size * 3);
+        for (int i = 0; i < 5; i++) {
+            resultCache.load("ds", lookup("city" + i), () -> dataSet(100));
+        }
+        assertEquals(3, resultCache.size());
+        assertEquals(size * 3, resultCache.getCurrentSize());
+        assertNull(resultCache.get("ds", lookup("city0")));
+
+        // Results bigger than the cache itself are never kept
+        resultCache.load("ds", lookup("big"), () -> dataSet(1000));
+        assertNull(resultCache.get("ds", lookup("big")));
+        assertEquals(3, resultCache.size());
+
+        resultCache.invalidate("ds");
+        assertEquals(0, resultCache.getCurrentSize());
+    }
+
+    DataSet dataSet(int rows) {
+        DataSet dataSet = DataSetFactory.newEmptyDataSet();
+        dataSet.addColumn("amount", ColumnType.NUMBER);
+        for (int i = 0; i < rows; i++) {
+            dataSet.setValueAt(i, 0, (double) i);
+        }
+        return dataSet;
+    }
+
+    @Test
+    public void testConcurrentLookupsCoalesced() throws Exception {
+        int threads = 8;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<DataSet>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> resultCache.load("ds", lookup("Barcelona"), () -> {
+                    started.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return query();
+                })));
+            }
+            // Let the other requests arrive while the query is in progress
+            started.await(10, TimeUnit.SECONDS);
+            while (resultCache.getCoalesced() + resultCache.getHits() < threads - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<DataSet> result : results) {
+                assertNotNull(result.get());
+            }
+            assertEquals(1, queries.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidatedWhileLoading() throws Exception {
+        resultCache.load("ds", lookup("Barcelona"), () -> {
+            resultCache.invalidate("ds");
+            return query();
+        });
+        assertNull(resultCache.get("ds", lookup("Barcelona")));
+    }
+
+    @Test
+    public void testInvalidatedWhileWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<DataSet> first = executor.submit(() -> resultCache.load("ds", lookup("Barcelona"), () -> {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return query();
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            // A request found the data set outdated while the query above was in progress
+            resultCache.invalidate("ds");
+            Future<DataSet> second = executor.submit(() -> resultCache.load("ds", lookup("Barcelona"), this::query));
+            while (resultCache.getCoalesced() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertNotNull(first.get());
+            assertNotNull(second.get());
+            assertEquals(2, queries.get());
+            assertEquals(2, resultCache.getMisses());
+            assertNotNull(resultCache.get("ds", lookup("Barcelona")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadError() throws Exception {
+        try {
+            resultCache.load("ds", lookup("Barcelona"), () -> {
+                throw new IllegalStateException("DB down");
+            });
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            assertEquals("DB down", e.getMessage());
+        }
+        assertEquals(0, resultCache.size());
+        resultCache.load("ds", lookup("Barcelona"), this::query);
+        assertEquals(1, queries.get());
+    }
+}
@@ -27,7 +27,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.dashbuilder.dataprovider.sql.SQLFactory.column;
 import static org.dashbuilder.dataprovider.sql.SQLFactory.table;
+import static org.dashbuilder.dataprovider.sql.SQLFactory.totalCount;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -67,4 +70,18 @@ public class SelectStatementTest {
 
         assertEquals(select.getSQL(), "SELECT \"id\" FROM (SELECT ID AS \"id\" FROM TABLE) \"dbSQL\"");
     }
+
+    @Test
+    public void testTotalCountColumn() throws Exception {
+        when(metadata.storesLowerCaseIdentifiers()).thenReturn(true);
+
+        Select select = new Select(connection, JDBCUtils.POSTGRES);
+        select.columns(column("id"), totalCount());
+        select.from(table("table"));
+        select.limit(10).offset(20);
+
+        assertTrue(JDBCUtils.POSTGRES.supportsTotalCountColumn());
+        assertFalse(JDBCUtils.H2.supportsTotalCountColumn());
+        assertEquals(select.getSQL(), "SELECT id, COUNT(*) OVER () FROM table LIMIT 10 OFFSET 20");
+    }
 }
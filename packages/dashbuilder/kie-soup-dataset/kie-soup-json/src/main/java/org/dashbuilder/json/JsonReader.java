@@ -0,0 +1,454 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dashbuilder.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull parser which reads a JSON document token by token from a {@link Reader}, without building any
+ * {@link JsonValue} tree. It accepts the same lenient syntax as {@link Json#parse(String)}: single quoted strings,
+ * unquoted object keys and the <code>undefined</code> literal.
+ * <p>Usage example:</p>
+ * <pre>
+ *   reader.beginArray();
+ *   while (reader.hasNext()) {
+ *       double d = reader.nextDouble();
+ *   }
+ *   reader.endArray();
+ * </pre>
+ * <p>Server side only (not available in GWT).</p>
+ */
+public class JsonReader {
+
+    private static final int EOF = -1;
+
+    private static final String STOPCHARS = ",:]}/\\\"[{;=#";
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos = 0;
+    private int limit = 0;
+
+    private int[] stack = new int[32];
+    private int stackSize = 0;
+
+    private JsonToken peeked = null;
+    private String peekedString = null;
+    private final StringBuilder sb = new StringBuilder();
+
+    public JsonReader(Reader in) {
+        this.in = in;
+        push(EMPTY_DOCUMENT);
+    }
+
+    /**
+     * @return The type of the next token without consuming it.
+     */
+    public JsonToken peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        int c;
+        switch (stack[stackSize - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace();
+                if (c == EOF) {
+                    return peeked = JsonToken.END_DOCUMENT;
+                }
+                pos--;
+                return peekValue();
+
+            case NONEMPTY_DOCUMENT:
+                return peeked = JsonToken.END_DOCUMENT;
+
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = JsonToken.END_ARRAY;
+                }
+                if (c == EOF) {
+                    throw new JsonException("Unexpected end of input");
+                }
+                pos--;
+                return peekValue();
+
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = JsonToken.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw new JsonException("Invalid array: expected , or ]");
+                }
+                return peekValue();
+
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (stack[stackSize - 1] == NONEMPTY_OBJECT && c != ',' && c != '}') {
+                    throw new JsonException("Invalid object: expecting } or ,");
+                }
+                while (c == ',') {
+                    c = nextNonWhitespace();
+                }
+                if (c == '}') {
+                    return peeked = JsonToken.END_OBJECT;
+                }
+                if (c == '"' || c == '\'') {
+                    peekedString = readString(c);
+                } else if (c != EOF && Character.isLetterOrDigit((char) c)) {
+                    pos--;
+                    peekedString = readUnquotedName();
+                } else {
+                    throw new JsonException("Invalid object: ");
+                }
+                stack[stackSize - 1] = DANGLING_NAME;
+                return peeked = JsonToken.NAME;
+
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw new JsonException("Invalid object: expecting \":\"");
+                }
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                return peekValue();
+
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * @return true if the current array or object has more elements.
+     */
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        stackSize--;
+    }
+
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        stackSize--;
+    }
+
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        return peekedString;
+    }
+
+    /**
+     * Get the next string. Numbers are returned as they were written.
+     */
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw new JsonException("Expected a string but was " + token);
+        }
+        peeked = null;
+        return peekedString;
+    }
+
+    /**
+     * Get the next number. Strings are parsed as numbers.
+     */
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw new JsonException("Expected a number but was " + token);
+        }
+        peeked = null;
+        try {
+            return Double.parseDouble(peekedString);
+        } catch (NumberFormatException e) {
+            throw new JsonException("Invalid number literal: " + peekedString);
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        return "true".equals(peekedString);
+    }
+
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+    }
+
+    /**
+     * Skip the next value, including all its nested values.
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_DOCUMENT:
+                    return;
+                default:
+                    peeked = null;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Read the next value as a tree.
+     */
+    public <T extends JsonValue> T nextValue() throws IOException {
+        JsonFactory factory = Json.instance();
+        switch (peek()) {
+            case BEGIN_ARRAY:
+                JsonArray array = factory.createArray();
+                beginArray();
+                while (hasNext()) {
+                    array.set(array.length(), (JsonValue) nextValue());
+                }
+                endArray();
+                return (T) array;
+            case BEGIN_OBJECT:
+                JsonObject object = factory.createObject();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    object.put(name, (JsonValue) nextValue());
+                }
+                endObject();
+                return (T) object;
+            case STRING:
+                return (T) factory.create(nextString());
+            case NUMBER:
+                return (T) factory.create(nextDouble());
+            case BOOLEAN:
+                return (T) factory.create(nextBoolean());
+            case NULL:
+                nextNull();
+                return (T) factory.createNull();
+            default:
+                throw new JsonException("Expected a value but was " + peek());
+        }
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private JsonToken peekValue() throws IOException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '"':
+            case '\'':
+                peekedString = readString(c);
+                return peeked = JsonToken.STRING;
+            case '{':
+                return peeked = JsonToken.BEGIN_OBJECT;
+            case '[':
+                return peeked = JsonToken.BEGIN_ARRAY;
+            case EOF:
+                throw new JsonException("Unexpected end of input");
+            default:
+                pos--;
+                return peeked = readLiteral();
+        }
+    }
+
+    private JsonToken readLiteral() throws IOException {
+        sb.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            char c = buffer[pos];
+            if (Character.isWhitespace(c) || STOPCHARS.indexOf(c) >= 0) {
+                break;
+            }
+            sb.append(c);
+            pos++;
+        }
+        String literal = sb.toString();
+        peekedString = literal;
+        if (literal.isEmpty()) {
+            throw new JsonException("Missing value");
+        }
+        if ("null".equals(literal) || "undefined".equals(literal)) {
+            return JsonToken.NULL;
+        }
+        if ("true".equals(literal) || "false".equals(literal)) {
+            return JsonToken.BOOLEAN;
+        }
+        char c = literal.charAt(0);
+        if (c == '-' || Character.isDigit(c)) {
+            return JsonToken.NUMBER;
+        }
+        throw new JsonException("Invalid literal: \"" + literal + "\"");
+    }
+
+    private String readUnquotedName() throws IOException {
+        sb.setLength(0);
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (!Character.isLetterOrDigit(c)) {
+                break;
+            }
+            sb.append(c);
+            pos++;
+        }
+        return sb.toString();
+    }
+
+    private String readString(int quote) throws IOException {
+        sb.setLength(0);
+        while (true) {
+            // Copy the plain chars in bulk
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == quote || c == '\\' || c == '\r' || c == '\n') {
+                    break;
+                }
+                pos++;
+            }
+            sb.append(buffer, start, pos - start);
+            if (pos == limit) {
+                if (!fill()) {
+                    throw new JsonException("Unterminated string");
+                }
+                continue;
+            }
+            char c = buffer[pos++];
+            if (c == quote) {
+                return sb.toString();
+            }
+            if (c == '\r' || c == '\n') {
+                throw new JsonException("");
+            }
+            int escaped = read();
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 'u':
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++) {
+                        int h = read();
+                        if (h == EOF) {
+                            throw new JsonException("Position " + i + " less than 4");
+                        }
+                        hex[i] = (char) h;
+                    }
+                    sb.append((char) Integer.parseInt(String.valueOf(hex), 16));
+                    break;
+                case EOF:
+                    throw new JsonException("Unterminated string");
+                default:
+                    sb.append((char) escaped);
+            }
+        }
+    }
+
+    private void expect(JsonToken token) throws IOException {
+        JsonToken actual = peek();
+        if (actual != token) {
+            throw new JsonException("Expected " + token + " but was " + actual);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            int[] newStack = new int[stackSize * 2];
+            System.arraycopy(stack, 0, newStack, 0, stackSize);
+            stack = newStack;
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == EOF || !Character.isWhitespace((char) c)) {
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        pos = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+}
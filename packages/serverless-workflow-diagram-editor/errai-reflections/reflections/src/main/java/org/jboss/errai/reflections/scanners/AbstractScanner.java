@@ -124,4 +124,9 @@ public abstract class AbstractScanner implements Scanner {
 	public static boolean isInJar(String className) {
 	  return !(classesNotInJar.contains(className));
 	}
+
+	/** registers a class found outside of a jar without scanning it, used when its results are taken from a {@link org.jboss.errai.reflections.ScanCache} */
+	public static void addClassNotInJar(String className) {
+	  classesNotInJar.add(className);
+	}
 }
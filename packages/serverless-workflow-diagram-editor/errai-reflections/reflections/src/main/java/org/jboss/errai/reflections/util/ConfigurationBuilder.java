@@ -29,6 +29,7 @@ import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Sets;
 import org.jboss.errai.reflections.Configuration;
+import org.jboss.errai.reflections.ScanCache;
 import org.jboss.errai.reflections.adapters.JavassistAdapter;
 import org.jboss.errai.reflections.adapters.MetadataAdapter;
 import org.jboss.errai.reflections.scanners.Scanner;
@@ -50,7 +51,8 @@ import org.jboss.errai.reflections.serializers.XmlSerializer;
  * <br>{@link #executorService} is used optionally used for parallel scanning. if value is null then scanning is done in a simple for loop
  * <p>defaults: accept all for {@link #inputsFilter},
  * {@link #executorService} is null,
- * {@link #serializer} is {@link org.jboss.errai.reflections.serializers.XmlSerializer}
+ * {@link #serializer} is {@link org.jboss.errai.reflections.serializers.XmlSerializer},
+ * {@link #scanCache} is null
  */
 @SuppressWarnings({"RawUseOfParameterizedType"})
 public class ConfigurationBuilder implements Configuration {
@@ -60,6 +62,7 @@ public class ConfigurationBuilder implements Configuration {
     private Predicate<String> inputsFilter = Predicates.alwaysTrue();
     private Serializer serializer;
     private ExecutorService executorService;
+    private ScanCache scanCache;
 
     public ConfigurationBuilder() {
       final Scanner[] builtins = new Scanner[] {new TypeAnnotationsScanner(), new SubTypesScanner()};
@@ -189,4 +192,14 @@ public class ConfigurationBuilder implements Configuration {
         this.serializer = serializer;
         return this;
     }
+
+    public ScanCache getScanCache() {
+        return scanCache;
+    }
+
+    /** sets the cache used to reuse the results of previous scans for unchanged urls */
+    public ConfigurationBuilder setScanCache(ScanCache scanCache) {
+        this.scanCache = scanCache;
+        return this;
+    }
 }
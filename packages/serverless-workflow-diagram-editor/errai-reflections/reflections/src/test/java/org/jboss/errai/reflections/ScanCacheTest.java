@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.errai.reflections;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import com.google.common.base.Predicate;
+import com.google.common.io.ByteStreams;
+import org.jboss.errai.reflections.scanners.FieldAnnotationsScanner;
+import org.jboss.errai.reflections.scanners.MethodAnnotationsScanner;
+import org.jboss.errai.reflections.scanners.Scanner;
+import org.jboss.errai.reflections.scanners.SubTypesScanner;
+import org.jboss.errai.reflections.scanners.TypeAnnotationsScanner;
+import org.jboss.errai.reflections.util.ClasspathHelper;
+import org.jboss.errai.reflections.util.ConfigurationBuilder;
+import org.jboss.errai.reflections.util.FilterBuilder;
+import org.jboss.errai.reflections.vfs.Vfs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** */
+public class ScanCacheTest {
+  private static final Predicate<String> filter = new FilterBuilder().include("org.jboss.errai.reflections.TestModel\\$.*");
+
+  private File cacheDir;
+
+  @Before
+  public void createCacheDir() throws IOException {
+    cacheDir = Files.createTempDirectory("reflections-scan-cache").toFile();
+  }
+
+  @After
+  public void deleteCacheDir() {
+    delete(cacheDir);
+  }
+
+  @Test
+  public void reusesUnchangedDirectoryFiles() {
+    final URL url = ClasspathHelper.forClass(TestModel.class);
+
+    final ScanCache first = new ScanCache(cacheDir);
+    final Reflections scanned = scan(url, first, false);
+    assertEquals(0, first.getFileHits());
+
+    final ScanCache second = new ScanCache(cacheDir);
+    final Reflections cached = scan(url, second, true);
+    assertEquals(first.getFileMisses(), second.getFileHits());
+    assertEquals(0, second.getFileMisses());
+
+    assertSameStore(scanned, cached);
+  }
+
+  @Test
+  public void reusesUnchangedArchives() throws IOException {
+    final URL url = createJar(ClasspathHelper.forClass(TestModel.class), new File(cacheDir, "test-model.jar"));
+
+    final ScanCache first = new ScanCache(new File(cacheDir, "cache"));
+    final Reflections scanned = scan(url, first, false);
+    assertEquals(0, first.getArchiveHits());
+    assertEquals(1, first.getArchiveMisses());
+
+    final ScanCache second = new ScanCache(new File(cacheDir, "cache"));
+    final Reflections cached = scan(url, second, false);
+    assertEquals(1, second.getArchiveHits());
+    assertEquals(0, second.getArchiveMisses());
+
+    assertSameStore(scanned, cached);
+  }
+
+  @Test
+  public void rescansOnlyChangedDirectoryFiles() throws IOException {
+    final File classes = new File(cacheDir, "classes");
+    final URL url = copyClasses(ClasspathHelper.forClass(TestModel.class), classes);
+
+    final ScanCache first = new ScanCache(new File(cacheDir, "cache"));
+    scan(url, first, false);
+    final int fileCount = first.getFileMisses();
+
+    append(new File(classes, "org/jboss/errai/reflections/TestModel$C4.class"));
+    assertTrue(new File(classes, "org/jboss/errai/reflections/TestModel$C5.class").delete());
+
+    final ScanCache second = new ScanCache(new File(cacheDir, "cache"));
+    final Reflections cached = scan(url, second, false);
+    assertEquals(fileCount - 2, second.getFileHits());
+    assertEquals(1, second.getFileMisses());
+    assertFalse(cached.getStore().get(SubTypesScanner.class).containsValue(TestModel.C5.class.getName()));
+    assertSameStore(scan(url, null, false), cached);
+
+    final ScanCache third = new ScanCache(new File(cacheDir, "cache"));
+    assertSameStore(cached, scan(url, third, false));
+    assertEquals(fileCount - 1, third.getFileHits());
+    assertEquals(0, third.getFileMisses());
+  }
+
+  @Test
+  public void doesNotRecordFailedScans() throws IOException {
+    final File classes = new File(cacheDir, "classes");
+    final URL url = copyClasses(ClasspathHelper.forClass(TestModel.class), classes);
+    Files.write(new File(classes, "org/jboss/errai/reflections/TestModel$C6.class").toPath(), new byte[] {1, 2, 3});
+
+    final ScanCache first = new ScanCache(new File(cacheDir, "cache"));
+    scan(url, first, false);
+    final int fileCount = first.getFileMisses();
+
+    final ScanCache second = new ScanCache(new File(cacheDir, "cache"));
+    scan(url, second, false);
+    assertEquals(fileCount - 1, second.getFileHits());
+    assertEquals(1, second.getFileMisses());
+  }
+
+  private static Reflections scan(final URL url, final ScanCache scanCache, final boolean parallel) {
+    final ConfigurationBuilder configuration = new ConfigurationBuilder()
+        .setUrls(asList(url))
+        .filterInputsBy(filter)
+        .setScanners(
+            new SubTypesScanner().filterResultsBy(filter),
+            new TypeAnnotationsScanner().filterResultsBy(filter),
+            new FieldAnnotationsScanner().filterResultsBy(filter),
+            new MethodAnnotationsScanner().filterResultsBy(filter))
+        .setScanCache(scanCache);
+    if (parallel) {
+      configuration.useParallelExecutor();
+    }
+    final Reflections reflections = new Reflections(configuration);
+    reflections.scan();
+    return reflections;
+  }
+
+  private static void assertSameStore(final Reflections expected, final Reflections actual) {
+    assertFalse(expected.getStore().get(SubTypesScanner.class).isEmpty());
+    for (final Class<? extends Scanner> scanner : asList(SubTypesScanner.class, TypeAnnotationsScanner.class,
+        FieldAnnotationsScanner.class, MethodAnnotationsScanner.class)) {
+      assertEquals(scanner.getName(), expected.getStore().get(scanner), actual.getStore().get(scanner));
+    }
+    assertEquals(expected.getSubTypesOf(TestModel.I1.class), actual.getSubTypesOf(TestModel.I1.class));
+  }
+
+  private static URL createJar(final URL url, final File jarFile) throws IOException {
+    final JarOutputStream output = new JarOutputStream(new FileOutputStream(jarFile));
+    try {
+      for (final Vfs.File file : Vfs.fromURL(url).getFiles()) {
+        if (filter.apply(file.getRelativePath())) {
+          output.putNextEntry(new JarEntry(file.getRelativePath()));
+          final InputStream input = file.openInputStream();
+          try {
+            ByteStreams.copy(input, output);
+          }
+          finally {
+            input.close();
+          }
+          output.closeEntry();
+        }
+      }
+    }
+    finally {
+      output.close();
+    }
+    return jarFile.toURI().toURL();
+  }
+
+  private static URL copyClasses(final URL url, final File directory) throws IOException {
+    for (final Vfs.File file : Vfs.fromURL(url).getFiles()) {
+      if (filter.apply(file.getRelativePath())) {
+        final File copy = new File(directory, file.getRelativePath());
+        copy.getParentFile().mkdirs();
+        final InputStream input = file.openInputStream();
+        try {
+          Files.copy(input, copy.toPath());
+        }
+        finally {
+          input.close();
+        }
+      }
+    }
+    return directory.toURI().toURL();
+  }
+
+  /** changes the content hash of a class file, keeping it readable */
+  private static void append(final File file) throws IOException {
+    Files.write(file.toPath(), new byte[] {0}, StandardOpenOption.APPEND);
+  }
+
+  private static void delete(final File file) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (final File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -17,8 +17,8 @@
 package com.ait.lienzo.client.core.layout.sugiyama.step02;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -29,6 +29,7 @@ import com.ait.lienzo.client.core.layout.VertexPosition;
 import com.ait.lienzo.client.core.layout.sugiyama.GraphLayer;
 import com.ait.lienzo.client.core.layout.sugiyama.GraphLayerImpl;
 import com.ait.lienzo.client.core.layout.sugiyama.LayeredGraph;
+import com.ait.lienzo.client.core.layout.sugiyama.OrientedEdge;
 
 /**
  * Assign each vertex in a graph to a layer, using the longest path algorithm.
@@ -36,13 +37,17 @@ import com.ait.lienzo.client.core.layout.sugiyama.LayeredGraph;
 public final class LongestPathVertexLayerer implements VertexLayerer {
 
     private VertexPosition[] vertices;
+    private final HashMap<String, VertexPosition> verticesById;
     private final HashMap<String, Integer> vertexHeight;
+    private final HashMap<String, String[]> verticesTo;
     private final HashMap<Integer, List<VertexPosition>> layeredVertices;
 
     private LayeredGraph graph;
 
     public LongestPathVertexLayerer() {
+        this.verticesById = new HashMap<>();
         this.vertexHeight = new HashMap<>();
+        this.verticesTo = new HashMap<>();
         this.layeredVertices = new HashMap<>();
     }
 
@@ -59,6 +64,7 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
     public void createLayers(final ReorderedGraph graph) {
         this.graph = (LayeredGraph) graph;
         this.vertices = new VertexPosition[this.graph.getVertices().size()];
+        this.verticesById.clear();
 
         for (int i = 0; i < this.graph.getVertices().size(); i++) {
             final String v = this.graph.getVertices().get(i);
@@ -67,10 +73,13 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
             createdVertexPosition.setHeight(this.graph.getVertexHeight(v));
 
             this.vertices[i] = createdVertexPosition;
+            this.verticesById.putIfAbsent(v, createdVertexPosition);
 
             this.vertexHeight.put(v, -1);
         }
 
+        indexVerticesTo();
+
         for (final VertexPosition vertexPosition : this.vertices) {
             visit(vertexPosition);
         }
@@ -79,6 +88,22 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
         getLayeredVertices().forEach((layer, verticesInLayer) -> verticesInLayer.forEach(v -> addToLayer(v, layer)));
     }
 
+    /**
+     * Indexes the vertices pointing to each vertex once, instead of going through all the edges on each visit.
+     * The same as {@link LayeredGraph#getVerticesTo(String)}, in the same order.
+     */
+    private void indexVerticesTo() {
+        final HashMap<String, HashSet<String>> sources = new HashMap<>();
+        for (final OrientedEdge edge : this.graph.getEdges()) {
+            sources.computeIfAbsent(edge.getToVertexId(), id -> new HashSet<>()).add(edge.getFromVertexId());
+        }
+
+        this.verticesTo.clear();
+        for (final Map.Entry<String, HashSet<String>> entry : sources.entrySet()) {
+            this.verticesTo.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+    }
+
     private int visit(final VertexPosition vertexPosition) {
         final int height = this.vertexHeight.getOrDefault(vertexPosition.getId(), 0);
         if (height >= 0) {
@@ -87,15 +112,13 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
 
         int maxHeight = 1;
 
-        final String[] verticesFromHere = graph.getVerticesTo(vertexPosition.getId());
+        final String[] verticesFromHere = verticesTo.getOrDefault(vertexPosition.getId(), new String[0]);
         for (final String nextVertex : verticesFromHere) {
             if (!Objects.equals(nextVertex, vertexPosition.getId())) {
-                final VertexPosition next = Arrays.stream(this.vertices)
-                        .filter(f -> Objects.equals(f.getId(), nextVertex))
-                        .findFirst()
-                        .orElseThrow(() -> new NoSuchElementException(
-                                "Can not found the vertex pointed in other side of the OrientedEdge."
-                        ));
+                final VertexPosition next = this.verticesById.get(nextVertex);
+                if (next == null) {
+                    throw new NoSuchElementException("Can not found the vertex pointed in other side of the OrientedEdge.");
+                }
 
                 final int targetHeight = visit(next);
                 maxHeight = Math.max(maxHeight, targetHeight + 1);
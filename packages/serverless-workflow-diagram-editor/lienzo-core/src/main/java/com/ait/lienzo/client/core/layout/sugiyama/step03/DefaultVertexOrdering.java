@@ -17,9 +17,10 @@
 package com.ait.lienzo.client.core.layout.sugiyama.step03;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 import com.ait.lienzo.client.core.layout.OrientedEdgeImpl;
 import com.ait.lienzo.client.core.layout.ReorderedGraph;
@@ -28,8 +29,6 @@ import com.ait.lienzo.client.core.layout.sugiyama.GraphLayer;
 import com.ait.lienzo.client.core.layout.sugiyama.LayeredGraph;
 import com.ait.lienzo.client.core.layout.sugiyama.OrientedEdge;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * Order vertices inside layers trying to reduce crossing between edges.
  */
@@ -38,6 +37,7 @@ public final class DefaultVertexOrdering implements VertexOrdering {
     private final VertexLayerPositioning vertexPositioning;
     private final LayerCrossingCount crossingCount;
     private final VerticesTransposer verticesTransposer;
+    private final long timeBudget;
 
     /**
      * Maximum number of iterations to perform.
@@ -45,6 +45,11 @@ public final class DefaultVertexOrdering implements VertexOrdering {
      */
     private static final int MAX_ITERATIONS = 24;
 
+    /**
+     * Default time budget for the iterations: no limit, so the order does not depend on the machine speed.
+     */
+    static final long DEFAULT_TIME_BUDGET = 0;
+
     /**
      * Default constructor.
      * @param vertexPositioning The strategy to find the position of the vertices inside a layer.
@@ -54,9 +59,25 @@ public final class DefaultVertexOrdering implements VertexOrdering {
     public DefaultVertexOrdering(final VertexLayerPositioning vertexPositioning,
                                  final LayerCrossingCount crossingCount,
                                  final VerticesTransposer verticesTransposer) {
+        this(vertexPositioning, crossingCount, verticesTransposer, DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * Constructor.
+     * @param vertexPositioning The strategy to find the position of the vertices inside a layer.
+     * @param crossingCount The strategy to count the edges crossing.
+     * @param verticesTransposer The strategy to transpose vertices in a layer.
+     * @param timeBudget The time in milliseconds after which no more iterations are performed, keeping the
+     * best order found so far. Zero or less for no limit. A limit makes the order depend on the machine speed.
+     */
+    public DefaultVertexOrdering(final VertexLayerPositioning vertexPositioning,
+                                 final LayerCrossingCount crossingCount,
+                                 final VerticesTransposer verticesTransposer,
+                                 final long timeBudget) {
         this.vertexPositioning = vertexPositioning;
         this.crossingCount = crossingCount;
         this.verticesTransposer = verticesTransposer;
+        this.timeBudget = timeBudget;
     }
 
     /**
@@ -65,23 +86,40 @@ public final class DefaultVertexOrdering implements VertexOrdering {
      */
     @Override
     public void orderVertices(final ReorderedGraph graph) {
+        final long start = System.currentTimeMillis();
         final LayeredGraph layered = (LayeredGraph) graph;
         final List<OrientedEdge> edges = graph.getEdges();
         final List<GraphLayer> virtualized = createVirtual(edges, layered);
-        List<GraphLayer> best = copy(virtualized);
+        final OrderedLayers orderedLayers = new OrderedLayers(virtualized, edges);
+
+        // Starts with the current order
+        int bestCrossing = this.crossingCount.crossing(orderedLayers);
 
         for (int i = 0; i < MAX_ITERATIONS; i++) {
-            this.vertexPositioning.positionVertices(virtualized, edges, i);
-            this.verticesTransposer.transpose(virtualized, edges, i);
-            if (this.crossingCount.crossing(best, edges) > this.crossingCount.crossing(virtualized, edges)) {
-                best = copy(virtualized);
+            this.vertexPositioning.positionVertices(orderedLayers, i);
+            this.verticesTransposer.transpose(orderedLayers, i);
+            final int crossing = this.crossingCount.crossing(orderedLayers);
+            if (bestCrossing > crossing) {
+                bestCrossing = crossing;
+                orderedLayers.saveBest();
             } else {
                 break;
             }
+
+            if (isTimeBudgetExceeded(start)) {
+                break;
+            }
         }
 
+        orderedLayers.restoreBest();
+        orderedLayers.apply();
+
         layered.getLayers().clear();
-        layered.getLayers().addAll(best);
+        layered.getLayers().addAll(virtualized);
+    }
+
+    private boolean isTimeBudgetExceeded(final long start) {
+        return timeBudget > 0 && System.currentTimeMillis() - start >= timeBudget;
     }
 
     private List<GraphLayer> copy(final List<GraphLayer> input) {
@@ -102,6 +140,7 @@ public final class DefaultVertexOrdering implements VertexOrdering {
                                            final LayeredGraph graph) {
         int virtualIndex = 0;
         final List<GraphLayer> virtualized = copy(graph.getLayers());
+        final VirtualEdges virtualEdges = new VirtualEdges(edges, virtualized);
 
         for (int i = 0; i < virtualized.size() - 1; i++) {
             final GraphLayer currentLayer = virtualized.get(i);
@@ -109,40 +148,26 @@ public final class DefaultVertexOrdering implements VertexOrdering {
             final int layerHeight = calculateLayerHeight(nextLayer);
             for (final VertexPosition vertexPosition : currentLayer.getVertices()) {
 
-                final List<OrientedEdge> outgoing = edges.stream()
-                        .filter(e -> Objects.equals(e.getFromVertexId(), vertexPosition.getId()))
-                        .filter(e -> Math.abs(getLayerNumber(e.getToVertexId(), virtualized) - getLayerNumber(vertexPosition.getId(), virtualized)) > 1)
-                        .collect(toList());
-
-                final List<OrientedEdge> incoming = edges.stream()
-                        .filter(e -> Objects.equals(e.getToVertexId(), vertexPosition.getId()))
-                        .filter(e -> Math.abs(getLayerNumber(e.getFromVertexId(), virtualized) - getLayerNumber(vertexPosition.getId(), virtualized)) > 1)
-                        .collect(toList());
+                final List<Integer> outgoing = virtualEdges.getLongEdges(virtualEdges.outgoing, vertexPosition.getId(), true);
+                final List<Integer> incoming = virtualEdges.getLongEdges(virtualEdges.incoming, vertexPosition.getId(), false);
 
-                for (final OrientedEdge edge : outgoing) {
+                for (final int edge : outgoing) {
                     final VertexPosition virtualVertexPosition = new VertexPosition("V" + virtualIndex++, true);
                     virtualVertexPosition.setHeight(layerHeight);
                     nextLayer.getVertices().add(virtualVertexPosition);
-                    edges.remove(edge);
-                    final OrientedEdge v1 = new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertexPosition.getId());
-                    final OrientedEdge v2 = new OrientedEdgeImpl(virtualVertexPosition.getId(), edge.getToVertexId());
-                    edges.add(v1);
-                    edges.add(v2);
+                    virtualEdges.split(edge, virtualVertexPosition.getId(), nextLayer.getLevel(), true);
                 }
 
-                for (final OrientedEdge edge : incoming) {
+                for (final int edge : incoming) {
                     final VertexPosition virtualVertexPosition = new VertexPosition("V" + virtualIndex++, true);
                     virtualVertexPosition.setHeight(layerHeight);
                     nextLayer.getVertices().add(virtualVertexPosition);
-                    edges.remove(edge);
-                    final OrientedEdge v1 = new OrientedEdgeImpl(virtualVertexPosition.getId(), edge.getToVertexId());
-                    final OrientedEdge v2 = new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertexPosition.getId());
-                    edges.add(v1);
-                    edges.add(v2);
+                    virtualEdges.split(edge, virtualVertexPosition.getId(), nextLayer.getLevel(), false);
                 }
             }
         }
 
+        virtualEdges.apply();
         return virtualized;
     }
 
@@ -150,14 +175,99 @@ public final class DefaultVertexOrdering implements VertexOrdering {
         return currentLayer.getVertices().stream().mapToInt(v -> v.getHeight()).max().orElse(0);
     }
 
-    private int getLayerNumber(final String vertex,
-                               final List<GraphLayer> layers) {
-        final GraphLayer layer = layers
-                .stream()
-                .filter(l -> l.getVertices().stream().anyMatch(v -> Objects.equals(v.getId(), vertex)))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Can not found the layer of the vertex."));
+    /**
+     * The edges while virtual vertices are being created. Edges are indexed by the vertices they connect,
+     * and edges that cross multiple layers are replaced by edges through the virtual vertices. They are
+     * written back to the edges list at the end, in the same order they would have by removing the edges
+     * and appending their replacements to the list.
+     */
+    private static final class VirtualEdges {
+
+        private final List<OrientedEdge> edges;
+        private final List<OrientedEdge> allEdges;
+        private final List<Boolean> removed;
+        private final HashMap<String, List<Integer>> outgoing;
+        private final HashMap<String, List<Integer>> incoming;
+        private final HashMap<String, Integer> layerNumbers;
 
-        return layer.getLevel();
+        private VirtualEdges(final List<OrientedEdge> edges,
+                             final List<GraphLayer> layers) {
+            this.edges = edges;
+            this.allEdges = new ArrayList<>(edges);
+            this.removed = new ArrayList<>(edges.size());
+            this.outgoing = new HashMap<>();
+            this.incoming = new HashMap<>();
+            this.layerNumbers = new HashMap<>();
+            for (final GraphLayer layer : layers) {
+                for (final VertexPosition vertexPosition : layer.getVertices()) {
+                    layerNumbers.putIfAbsent(vertexPosition.getId(), layer.getLevel());
+                }
+            }
+            for (int i = 0; i < allEdges.size(); i++) {
+                removed.add(false);
+                index(i);
+            }
+        }
+
+        private void index(final int edge) {
+            final OrientedEdge orientedEdge = allEdges.get(edge);
+            outgoing.computeIfAbsent(orientedEdge.getFromVertexId(), id -> new ArrayList<>()).add(edge);
+            incoming.computeIfAbsent(orientedEdge.getToVertexId(), id -> new ArrayList<>()).add(edge);
+        }
+
+        private List<Integer> getLongEdges(final HashMap<String, List<Integer>> index,
+                                           final String vertex,
+                                           final boolean isOutgoing) {
+            final List<Integer> longEdges = new ArrayList<>();
+            for (final int edge : index.getOrDefault(vertex, Collections.emptyList())) {
+                if (!removed.get(edge)) {
+                    final OrientedEdge orientedEdge = allEdges.get(edge);
+                    final String other = isOutgoing ? orientedEdge.getToVertexId() : orientedEdge.getFromVertexId();
+                    if (Math.abs(getLayerNumber(other) - getLayerNumber(vertex)) > 1) {
+                        longEdges.add(edge);
+                    }
+                }
+            }
+            return longEdges;
+        }
+
+        private void split(final int edge,
+                           final String virtualVertex,
+                           final int virtualVertexLayer,
+                           final boolean isOutgoing) {
+            final OrientedEdge orientedEdge = allEdges.get(edge);
+            layerNumbers.putIfAbsent(virtualVertex, virtualVertexLayer);
+            removed.set(edge, true);
+            if (isOutgoing) {
+                add(new OrientedEdgeImpl(orientedEdge.getFromVertexId(), virtualVertex));
+                add(new OrientedEdgeImpl(virtualVertex, orientedEdge.getToVertexId()));
+            } else {
+                add(new OrientedEdgeImpl(virtualVertex, orientedEdge.getToVertexId()));
+                add(new OrientedEdgeImpl(orientedEdge.getFromVertexId(), virtualVertex));
+            }
+        }
+
+        private void add(final OrientedEdge edge) {
+            allEdges.add(edge);
+            removed.add(false);
+            index(allEdges.size() - 1);
+        }
+
+        private int getLayerNumber(final String vertex) {
+            final Integer layerNumber = layerNumbers.get(vertex);
+            if (layerNumber == null) {
+                throw new NoSuchElementException("Can not found the layer of the vertex.");
+            }
+            return layerNumber;
+        }
+
+        private void apply() {
+            edges.clear();
+            for (int i = 0; i < allEdges.size(); i++) {
+                if (!removed.get(i)) {
+                    edges.add(allEdges.get(i));
+                }
+            }
+        }
     }
 }
@@ -17,6 +17,7 @@
 package com.ait.lienzo.client.core.layout.sugiyama.step03;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -42,31 +43,89 @@ public class MedianVertexLayerPositioning implements VertexLayerPositioning {
     public void positionVertices(final List<GraphLayer> layers,
                                  final List<OrientedEdge> edges,
                                  final int currentIteration) {
+        final OrderedLayers orderedLayers = new OrderedLayers(layers, edges);
+        positionVertices(orderedLayers, currentIteration);
+        orderedLayers.apply();
+    }
 
+    /**
+     * Position the vertices inside each layer using the median calc.
+     *
+     * @param layers           The existing layers.
+     * @param currentIteration The current iteration of the execution. If is even goes up-down in layers, otherwise down-up.
+     * @see #positionVertices(List, List, int)
+     */
+    @Override
+    public void positionVertices(final OrderedLayers layers,
+                                 final int currentIteration) {
         if ((currentIteration % 2 == 0)) {
             for (int j = layers.size() - 1; j >= 1; j--) {
-                final GraphLayer currentLayer = layers.get(j);
-                for (final VertexPosition vertexPosition : currentLayer.getVertices()) {
-                    //positionVertices value of vertices in rank r-1 connected to v
-                    final double median = calculateMedianOfVerticesConnectedTo(vertexPosition.getId(), layers.get(j - 1), edges);
-                    vertexPosition.setMedian(median);
-                }
-
-                // sort the vertices inside layer based on the new order
-                currentLayer.getVertices().sort(VertexPosition::compareTo);
+                sortByMedian(layers, j, j - 1);
             }
         } else {
             for (int j = 0; j < layers.size() - 1; j++) {
-                final GraphLayer currentLayer = layers.get(j);
+                sortByMedian(layers, j, j + 1);
+            }
+        }
+    }
+
+    private void sortByMedian(final OrderedLayers layers,
+                              final int layer,
+                              final int neighborhoodLayer) {
+        final int[] vertices = layers.getOrder(layer);
+        final Integer[] positions = new Integer[vertices.length];
+        final double[] medians = new double[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            //positionVertices value of vertices in rank r-1 connected to v
+            medians[i] = calculateMedianOfVerticesConnectedTo(layers, vertices[i], neighborhoodLayer);
+            layers.getVertex(vertices[i]).setMedian(medians[i]);
+            positions[i] = i;
+        }
 
-                for (final VertexPosition vertexPosition : layers.get(j).getVertices()) {
-                    final double median = calculateMedianOfVerticesConnectedTo(vertexPosition.getId(), layers.get(j + 1), edges);
-                    vertexPosition.setMedian(median);
-                }
+        // sort the vertices inside layer based on the new order, keeping the current one for the same median
+        Arrays.sort(positions, (p1, p2) -> Double.compare(medians[p1], medians[p2]));
 
-                currentLayer.getVertices().sort(VertexPosition::compareTo);
+        final int[] newOrder = new int[vertices.length];
+        for (int i = 0; i < positions.length; i++) {
+            newOrder[i] = vertices[positions[i]];
+        }
+        layers.setOrder(layer, newOrder);
+    }
+
+    private double calculateMedianOfVerticesConnectedTo(final OrderedLayers layers,
+                                                        final int vertex,
+                                                        final int layer) {
+        final int[] connected = layers.getConnected(vertex);
+        final int[] connectedVerticesIndex = new int[connected.length];
+        int size = 0;
+        for (final int other : connected) {
+            final int position = layers.getPosition(other, layer);
+            if (position >= 0) {
+                connectedVerticesIndex[size++] = position;
+            }
+        }
+        Arrays.sort(connectedVerticesIndex, 0, size);
+
+        // Several edges to the same vertex count once
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || connectedVerticesIndex[unique - 1] != connectedVerticesIndex[i]) {
+                connectedVerticesIndex[unique++] = connectedVerticesIndex[i];
             }
         }
+
+        if (unique == 0) {
+            return -1;
+        }
+
+        if (unique == 1) {
+            return connectedVerticesIndex[0];
+        }
+
+        if (unique % 2 == 0) {
+            return ((double) connectedVerticesIndex[unique / 2] + (double) connectedVerticesIndex[unique / 2 - 1]) / 2;
+        }
+        return connectedVerticesIndex[unique / 2];
     }
 
     /**
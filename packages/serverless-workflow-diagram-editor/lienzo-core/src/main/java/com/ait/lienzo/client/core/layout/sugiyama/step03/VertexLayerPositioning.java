@@ -26,4 +26,19 @@ public interface VertexLayerPositioning {
     void positionVertices(final List<GraphLayer> layers,
                           final List<OrientedEdge> edges,
                           final int currentIteration);
+
+    /**
+     * Position the vertices of the layers being ordered.
+     * By default the current order is written in the layers, {@link #positionVertices(List, List, int)} is called
+     * and the order is read back from the layers.
+     *
+     * @param layers           The layers being ordered.
+     * @param currentIteration The current iteration of the execution.
+     */
+    default void positionVertices(final OrderedLayers layers,
+                                  final int currentIteration) {
+        layers.apply();
+        positionVertices(layers.getLayers(), layers.getEdges(), currentIteration);
+        layers.reload();
+    }
 }
@@ -67,6 +67,40 @@ public class VertexOrderingTest {
                 .containsExactly("D", "C");
     }
 
+    @Test
+    public void testReorderWithLayersPositioning() {
+        final LayeredGraph graph = new LayeredGraph();
+        graph.addEdge("A", "D");
+        graph.addEdge("B", "C");
+
+        final GraphLayerImpl layer01 = new GraphLayerImpl(1);
+        layer01.addVertex(new VertexPosition("A"));
+        layer01.addVertex(new VertexPosition("B"));
+        graph.getLayers().add(layer01);
+
+        final GraphLayerImpl layer02 = new GraphLayerImpl(2);
+        layer02.addVertex(new VertexPosition("C"));
+        layer02.addVertex(new VertexPosition("D"));
+        graph.getLayers().add(layer02);
+
+        // Only positions the layers, so the ordering goes through the default OrderedLayers overload
+        final MedianVertexLayerPositioning median = new MedianVertexLayerPositioning();
+        final VertexLayerPositioning positioning = median::positionVertices;
+        final LayerCrossingCount layersCount = new LayerCrossingCount();
+        final VerticesTransposer verticesTransposer = new VerticesTransposer(layersCount);
+        final DefaultVertexOrdering ordering = new DefaultVertexOrdering(positioning,
+                                                                         layersCount,
+                                                                         verticesTransposer);
+        ordering.orderVertices(graph);
+
+        Assertions.assertThat(graph.getLayers().get(0).getVertices())
+                .extracting(VertexPosition::getId)
+                .containsExactly("A", "B");
+        Assertions.assertThat(graph.getLayers().get(1).getVertices())
+                .extracting(VertexPosition::getId)
+                .containsExactly("D", "C");
+    }
+
     @Test
     public void testReorder() {
         final LayeredGraph graph = new LayeredGraph();
@@ -56,8 +56,12 @@ public class Context {
         this.workflowRootNode = workflowRootNode;
     }
 
+    /**
+     * Looks the node up in the graph rather than in the index, as the graph may be patched by commands executed on
+     * a different index, see {@link GraphPatch}.
+     */
     public Node getNode(final String uuid) {
-        return graphIndex.getNode(uuid);
+        return getGraph().getNode(uuid);
     }
 
     public Workflow getWorkflowRoot() {
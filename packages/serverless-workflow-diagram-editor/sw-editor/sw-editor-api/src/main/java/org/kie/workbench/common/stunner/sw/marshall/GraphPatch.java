@@ -0,0 +1,565 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.sw.marshall;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.impl.CompositeCommand;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
+import org.kie.workbench.common.stunner.core.graph.command.impl.AbstractGraphCommand;
+import org.kie.workbench.common.stunner.core.graph.command.impl.AddChildNodeCommand;
+import org.kie.workbench.common.stunner.core.graph.command.impl.AddConnectorCommand;
+import org.kie.workbench.common.stunner.core.graph.command.impl.AddDockedNodeCommand;
+import org.kie.workbench.common.stunner.core.graph.command.impl.DeleteConnectorCommand;
+import org.kie.workbench.common.stunner.core.graph.command.impl.SafeDeleteNodeCommand;
+import org.kie.workbench.common.stunner.core.graph.command.impl.SetConnectionTargetNodeCommand;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
+import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
+import org.kie.workbench.common.stunner.core.graph.content.view.ControlPoint;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.sw.definition.State;
+
+import static org.kie.workbench.common.stunner.sw.marshall.Marshaller.isEndState;
+import static org.kie.workbench.common.stunner.sw.marshall.Marshaller.isStartState;
+
+/**
+ * The changes that turn the graph of the previous version of a workflow, the one already laid out and drawn,
+ * into the graph just unmarshalled from its current version.
+ * Nodes are matched by UUID, type and parent, connectors by type and target. The matched elements keep their
+ * layout and only get the current definitions, the others are removed or added. The changes are applied with
+ * {@link #getGraphCommand()}, so they can go through a command manager, and the elements whose shapes have to be
+ * refreshed are given by {@link #getUpdatedElements()}.
+ */
+public class GraphPatch {
+
+    private final Node root;
+    private final List<Edge> removedConnectors = new ArrayList<>();
+    private final List<Node> removedNodes = new ArrayList<>();
+    private final List<Node> addedNodes = new ArrayList<>();
+    private final Map<String, Edge> addedNodeParents = new HashMap<>();
+    private final List<Edge> addedConnectors = new ArrayList<>();
+    private final Map<String, String> addedConnectorSources = new HashMap<>();
+    private final Map<String, String> addedConnectorTargets = new HashMap<>();
+    private final List<Element> updatedElements = new ArrayList<>();
+    private final List<Object> updatedDefinitions = new ArrayList<>();
+    private final Set<String> refreshedElements = new LinkedHashSet<>();
+
+    // The nodes of the current graph, by UUID, used to place the added ones once laid out
+    private final Map<String, Node> currentNodes = new HashMap<>();
+    private final Map<String, Node> keptNodes = new HashMap<>();
+
+    private GraphPatch(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param previous The context of the previous graph, already laid out.
+     * @param current The context of the graph unmarshalled from the current version of the workflow.
+     * @param updatedStates The names of the states that have changed, whose shapes have to be refreshed.
+     * @return The patch, or null if the graphs are not for the same workflow.
+     */
+    @SuppressWarnings("all")
+    public static GraphPatch create(final Context previous,
+                                    final Context current,
+                                    final Set<String> updatedStates) {
+        final Node previousRoot = previous.getWorkflowRootNode();
+        final Node currentRoot = current.getWorkflowRootNode();
+        if (null == previousRoot || null == currentRoot
+                || !Objects.equals(previousRoot.getUUID(), currentRoot.getUUID())
+                || !isSameType(previousRoot, currentRoot)) {
+            return null;
+        }
+
+        final Graph previousGraph = previous.getGraph();
+        final Graph currentGraph = current.getGraph();
+        final GraphPatch patch = new GraphPatch(previousRoot);
+        for (Node node : (Iterable<Node>) currentGraph.nodes()) {
+            patch.currentNodes.put(node.getUUID(), node);
+        }
+        for (Node node : (Iterable<Node>) previousGraph.nodes()) {
+            patch.match(node);
+        }
+
+        patch.removeNodes(previousRoot, new HashSet<>());
+        for (Node node : (Iterable<Node>) previousGraph.nodes()) {
+            if (!patch.isKept(node) && !patch.removedNodes.contains(node)) {
+                patch.removedNodes.add(node);
+            }
+        }
+        patch.addNodes(currentRoot);
+
+        for (Node node : (Iterable<Node>) previousGraph.nodes()) {
+            patch.matchConnectors(node);
+        }
+        for (Node node : (Iterable<Node>) currentGraph.nodes()) {
+            if (!patch.keptNodes.containsKey(node.getUUID()) && !isHidden(node)) {
+                for (Edge edge : (List<Edge>) node.getOutEdges()) {
+                    if (edge.getContent() instanceof View) {
+                        patch.addConnector(edge);
+                    }
+                }
+            }
+        }
+
+        patch.refreshedElements.add(previousRoot.getUUID());
+        for (Node node : (Iterable<Node>) previousGraph.nodes()) {
+            final Object definition = getDefinition(node);
+            if (patch.isKept(node) && definition instanceof State && updatedStates.contains(((State) definition).getName())) {
+                patch.refreshedElements.add(node.getUUID());
+                for (Edge edge : (List<Edge>) node.getOutEdges()) {
+                    if (edge.getContent() instanceof View) {
+                        if (!patch.removedConnectors.contains(edge)) {
+                            patch.refreshedElements.add(edge.getUUID());
+                        }
+                    } else if (null != edge.getTargetNode() && patch.isKept(edge.getTargetNode())) {
+                        patch.refreshedElements.add(edge.getTargetNode().getUUID());
+                    }
+                }
+            }
+        }
+        return patch;
+    }
+
+    @SuppressWarnings("all")
+    private boolean isKept(final Node previousNode) {
+        final Node currentNode = currentNodes.get(previousNode.getUUID());
+        if (null == currentNode || isHidden(currentNode) || !isSameType(previousNode, currentNode)) {
+            return false;
+        }
+        final Edge previousParent = getParentEdge(previousNode);
+        final Edge currentParent = getParentEdge(currentNode);
+        if (null == previousParent || null == currentParent) {
+            return null == previousParent && null == currentParent;
+        }
+        return getTypeName(previousParent.getContent()).equals(getTypeName(currentParent.getContent()))
+                && previousParent.getSourceNode().getUUID().equals(currentParent.getSourceNode().getUUID())
+                && isKept(previousParent.getSourceNode());
+    }
+
+    private void match(final Node previousNode) {
+        if (isKept(previousNode)) {
+            final Node currentNode = currentNodes.get(previousNode.getUUID());
+            keptNodes.put(previousNode.getUUID(), previousNode);
+            update(previousNode, currentNode);
+        }
+    }
+
+    /**
+     * Collects the nodes that are no longer in the graph, the contained and docked ones before their parents.
+     */
+    @SuppressWarnings("all")
+    private void removeNodes(final Node previousNode,
+                             final Set<String> visited) {
+        if (!visited.add(previousNode.getUUID())) {
+            return;
+        }
+        for (Edge edge : (List<Edge>) previousNode.getOutEdges()) {
+            if (isParentEdge(edge) && null != edge.getTargetNode()) {
+                removeNodes(edge.getTargetNode(), visited);
+            }
+        }
+        if (!isKept(previousNode)) {
+            removedNodes.add(previousNode);
+        }
+    }
+
+    /**
+     * Collects the nodes that are new in the graph, the parents before the nodes they contain or dock.
+     */
+    @SuppressWarnings("all")
+    private void addNodes(final Node currentNode) {
+        if (!keptNodes.containsKey(currentNode.getUUID()) && !isHidden(currentNode)) {
+            final NodeImpl node = new NodeImpl(currentNode.getUUID());
+            node.setContent(currentNode.getContent());
+            node.getLabels().addAll(currentNode.getLabels());
+            addedNodes.add(node);
+            addedNodeParents.put(node.getUUID(), getParentEdge(currentNode));
+        }
+        for (Edge edge : (List<Edge>) currentNode.getOutEdges()) {
+            if (isParentEdge(edge) && null != edge.getTargetNode()) {
+                addNodes(edge.getTargetNode());
+            }
+        }
+    }
+
+    /**
+     * The layout moves connectors to the end of the outgoing edges, so they are matched by type and target.
+     */
+    @SuppressWarnings("all")
+    private void matchConnectors(final Node previousNode) {
+        final Map<String, Deque<Edge>> previousConnectors = new HashMap<>();
+        for (Edge edge : (List<Edge>) previousNode.getOutEdges()) {
+            if (edge.getContent() instanceof View) {
+                if (isKept(previousNode) && null != edge.getTargetNode() && isKept(edge.getTargetNode())) {
+                    previousConnectors.computeIfAbsent(getKey(edge), key -> new LinkedList<>()).add(edge);
+                } else {
+                    removedConnectors.add(edge);
+                }
+            }
+        }
+        if (!isKept(previousNode)) {
+            return;
+        }
+        for (Edge edge : (List<Edge>) currentNodes.get(previousNode.getUUID()).getOutEdges()) {
+            if (edge.getContent() instanceof View) {
+                final Deque<Edge> candidates = previousConnectors.get(getKey(edge));
+                if (null == candidates || candidates.isEmpty()) {
+                    addConnector(edge);
+                } else {
+                    update(candidates.poll(), edge);
+                }
+            }
+        }
+        for (Deque<Edge> candidates : previousConnectors.values()) {
+            removedConnectors.addAll(candidates);
+        }
+    }
+
+    @SuppressWarnings("all")
+    private void addConnector(final Edge currentEdge) {
+        final EdgeImpl edge = new EdgeImpl(currentEdge.getUUID());
+        edge.setContent(currentEdge.getContent());
+        edge.getLabels().addAll(currentEdge.getLabels());
+        addedConnectors.add(edge);
+        addedConnectorSources.put(edge.getUUID(), currentEdge.getSourceNode().getUUID());
+        addedConnectorTargets.put(edge.getUUID(), getUUID(currentEdge.getTargetNode()));
+    }
+
+    private void update(final Element previousElement,
+                        final Element currentElement) {
+        if (currentElement.getContent() instanceof Definition) {
+            updatedElements.add(previousElement);
+            updatedDefinitions.add(((Definition<?>) currentElement.getContent()).getDefinition());
+        }
+    }
+
+    /**
+     * Places the added nodes, once the current graph has been laid out, next to the kept nodes they are connected
+     * to, as the layout of the current graph may have moved those. The kept nodes are never moved.
+     */
+    @SuppressWarnings("all")
+    public void placeAddedNodes() {
+        final Point2D defaultOffset = getDefaultOffset();
+        final Map<String, Point2D> offsets = new HashMap<>();
+        for (Node node : addedNodes) {
+            final Edge parent = addedNodeParents.get(node.getUUID());
+            if (!(node.getContent() instanceof View) || null == parent
+                    || !(parent.getContent() instanceof Child)
+                    || !root.getUUID().equals(parent.getSourceNode().getUUID())) {
+                continue;
+            }
+            final Point2D offset = getOffset(currentNodes.get(node.getUUID()), defaultOffset);
+            offsets.put(node.getUUID(), offset);
+            final Bounds bounds = ((View) node.getContent()).getBounds();
+            ((View) node.getContent()).setBounds(Bounds.create(bounds.getX() + offset.getX(),
+                                                               bounds.getY() + offset.getY(),
+                                                               bounds.getX() + bounds.getWidth() + offset.getX(),
+                                                               bounds.getY() + bounds.getHeight() + offset.getY()));
+        }
+        for (Edge edge : addedConnectors) {
+            final ViewConnector connector = (ViewConnector) edge.getContent();
+            final Point2D sourceOffset = offsets.get(addedConnectorSources.get(edge.getUUID()));
+            final Point2D targetOffset = offsets.get(addedConnectorTargets.get(edge.getUUID()));
+            if (null == connector.getControlPoints() || connector.getControlPoints().length == 0) {
+                continue;
+            }
+            if (null != sourceOffset && sourceOffset.equals(targetOffset)) {
+                for (ControlPoint controlPoint : connector.getControlPoints()) {
+                    final Point2D location = controlPoint.getLocation();
+                    controlPoint.setLocation(new Point2D(location.getX() + sourceOffset.getX(),
+                                                         location.getY() + sourceOffset.getY()));
+                }
+            } else {
+                // Connects a kept node, the points calculated for its new position do not apply
+                connector.setControlPoints(new ControlPoint[0]);
+            }
+        }
+    }
+
+    /**
+     * @return The offset of the first kept node found through the connectors of the given added node, or
+     * through the ones of the added nodes it is connected to.
+     */
+    @SuppressWarnings("all")
+    private Point2D getOffset(final Node currentNode,
+                              final Point2D defaultOffset) {
+        final Set<String> visited = new HashSet<>();
+        final Deque<Node> pending = new LinkedList<>();
+        pending.add(currentNode);
+        while (!pending.isEmpty()) {
+            final Node node = pending.poll();
+            if (null == node || !visited.add(node.getUUID())) {
+                continue;
+            }
+            if (keptNodes.containsKey(node.getUUID())) {
+                return getOffset(keptNodes.get(node.getUUID()), node);
+            }
+            for (Edge edge : (List<Edge>) node.getInEdges()) {
+                if (edge.getContent() instanceof View) {
+                    pending.add(edge.getSourceNode());
+                }
+            }
+            for (Edge edge : (List<Edge>) node.getOutEdges()) {
+                if (edge.getContent() instanceof View) {
+                    pending.add(edge.getTargetNode());
+                }
+            }
+        }
+        return defaultOffset;
+    }
+
+    @SuppressWarnings("all")
+    private Point2D getDefaultOffset() {
+        for (Node previousNode : keptNodes.values()) {
+            final Edge parent = getParentEdge(previousNode);
+            if (null != parent && parent.getContent() instanceof Child && root.getUUID().equals(parent.getSourceNode().getUUID())) {
+                return getOffset(previousNode, currentNodes.get(previousNode.getUUID()));
+            }
+        }
+        return new Point2D(0, 0);
+    }
+
+    private static Point2D getOffset(final Node previousNode,
+                                     final Node currentNode) {
+        if (!(previousNode.getContent() instanceof View) || !(currentNode.getContent() instanceof View)) {
+            return new Point2D(0, 0);
+        }
+        final Bounds previousBounds = ((View<?>) previousNode.getContent()).getBounds();
+        final Bounds currentBounds = ((View<?>) currentNode.getContent()).getBounds();
+        return new Point2D(previousBounds.getX() - currentBounds.getX(),
+                           previousBounds.getY() - currentBounds.getY());
+    }
+
+    /**
+     * @return The command that applies the changes to the previous graph. It resolves the elements by UUID, on the
+     * index of the given execution context.
+     */
+    @SuppressWarnings("all")
+    public Command<GraphCommandExecutionContext, RuleViolation> getGraphCommand() {
+        final CompositeCommand.Builder<GraphCommandExecutionContext, RuleViolation> builder =
+                new CompositeCommand.Builder<GraphCommandExecutionContext, RuleViolation>().reverse();
+        for (Edge edge : removedConnectors) {
+            builder.addCommand(new DeleteConnectorCommand(edge.getUUID()));
+        }
+        for (Node node : removedNodes) {
+            // Contained nodes are deleted along with their parents
+            final Edge parent = getParentEdge(node);
+            if (null == parent || !(parent.getContent() instanceof Child) || !removedNodes.contains(parent.getSourceNode())) {
+                builder.addCommand(new SafeDeleteNodeCommand(node.getUUID(), SafeDeleteNodeCommand.Options.doNotShortcutConnectors()));
+            }
+        }
+        for (Node node : addedNodes) {
+            final Edge parent = addedNodeParents.get(node.getUUID());
+            if (parent.getContent() instanceof Dock) {
+                builder.addCommand(new AddDockedNodeCommand(parent.getSourceNode().getUUID(), node));
+            } else {
+                builder.addCommand(new AddChildNodeCommand(parent.getSourceNode().getUUID(), node, null));
+            }
+        }
+        for (Edge edge : addedConnectors) {
+            final ViewConnector<?> connector = (ViewConnector<?>) edge.getContent();
+            builder.addCommand(new AddConnectorCommand(addedConnectorSources.get(edge.getUUID()),
+                                                       edge,
+                                                       connector.getSourceConnection().orElse(null)));
+            builder.addCommand(new SetConnectionTargetNodeCommand(addedConnectorTargets.get(edge.getUUID()),
+                                                                  edge.getUUID(),
+                                                                  connector.getTargetConnection().orElse(null)));
+        }
+        for (int i = 0; i < updatedElements.size(); i++) {
+            builder.addCommand(new SetDefinitionCommand(updatedElements.get(i).getUUID(), updatedDefinitions.get(i)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The connectors to remove, as in the previous graph.
+     */
+    public List<Edge> getRemovedConnectors() {
+        return Collections.unmodifiableList(removedConnectors);
+    }
+
+    /**
+     * @return The nodes to remove, as in the previous graph, the contained and docked ones before their parents.
+     */
+    public List<Node> getRemovedNodes() {
+        return Collections.unmodifiableList(removedNodes);
+    }
+
+    /**
+     * @return The nodes to add, the parents before the nodes they contain or dock.
+     */
+    public List<Node> getAddedNodes() {
+        return Collections.unmodifiableList(addedNodes);
+    }
+
+    /**
+     * @return The edge that relates an added node to its parent, either a child or a dock one, as in the current graph.
+     */
+    public Edge getAddedNodeParent(final Node node) {
+        return addedNodeParents.get(node.getUUID());
+    }
+
+    public List<Edge> getAddedConnectors() {
+        return Collections.unmodifiableList(addedConnectors);
+    }
+
+    /**
+     * @return The UUIDs of the kept elements whose shapes have to be refreshed: the workflow root and the elements of
+     * the updated states, that is their nodes, the outgoing connectors and the nodes they contain or dock.
+     */
+    public Set<String> getUpdatedElements() {
+        return Collections.unmodifiableSet(refreshedElements);
+    }
+
+    public boolean hasAddedNodes() {
+        return !addedNodes.isEmpty();
+    }
+
+    public boolean hasStructuralChanges() {
+        return !removedConnectors.isEmpty() || !removedNodes.isEmpty() || !addedNodes.isEmpty() || !addedConnectors.isEmpty();
+    }
+
+    /**
+     * Sets the definition of an element, restoring the previous one on undo.
+     */
+    static class SetDefinitionCommand extends AbstractGraphCommand {
+
+        private final String uuid;
+        private final Object definition;
+        private Object previousDefinition;
+
+        SetDefinitionCommand(final String uuid,
+                             final Object definition) {
+            this.uuid = uuid;
+            this.definition = definition;
+        }
+
+        @Override
+        protected CommandResult<RuleViolation> check(final GraphCommandExecutionContext context) {
+            return GraphCommandResultBuilder.SUCCESS;
+        }
+
+        @Override
+        public CommandResult<RuleViolation> execute(final GraphCommandExecutionContext context) {
+            final Element<Definition<Object>> element = getElementNotNull(context, uuid);
+            previousDefinition = element.getContent().getDefinition();
+            element.getContent().setDefinition(definition);
+            return GraphCommandResultBuilder.SUCCESS;
+        }
+
+        @Override
+        public CommandResult<RuleViolation> undo(final GraphCommandExecutionContext context) {
+            final Element<Definition<Object>> element = getElementNotNull(context, uuid);
+            element.getContent().setDefinition(previousDefinition);
+            return GraphCommandResultBuilder.SUCCESS;
+        }
+
+        @Override
+        public String toString() {
+            return "SetDefinitionCommand [element=" + uuid + "]";
+        }
+    }
+
+    /**
+     * The start and end nodes are removed by the layout when they are not connected to any state.
+     */
+    @SuppressWarnings("all")
+    private static boolean isHidden(final Node node) {
+        if (!isStartState(node) && !isEndState(node)) {
+            return false;
+        }
+        for (Edge edge : (List<Edge>) node.getInEdges()) {
+            if (edge.getContent() instanceof View) {
+                return false;
+            }
+        }
+        for (Edge edge : (List<Edge>) node.getOutEdges()) {
+            if (edge.getContent() instanceof View) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("all")
+    private static Edge getParentEdge(final Node node) {
+        for (Edge edge : (List<Edge>) node.getInEdges()) {
+            if (isParentEdge(edge)) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isParentEdge(final Edge edge) {
+        return edge.getContent() instanceof Child || edge.getContent() instanceof Dock;
+    }
+
+    private static Object getDefinition(final Element element) {
+        return element.getContent() instanceof Definition ? ((Definition<?>) element.getContent()).getDefinition() : null;
+    }
+
+    private static String getKey(final Edge edge) {
+        return getTypeName(edge.getContent()) + "|" + getTypeName(getDefinition(edge)) + "|" + getUUID(edge.getTargetNode());
+    }
+
+    private static boolean isSameType(final Element previousElement,
+                                      final Element currentElement) {
+        final Object previousContent = previousElement.getContent();
+        final Object currentContent = currentElement.getContent();
+        if (null == previousContent || null == currentContent) {
+            return previousContent == currentContent;
+        }
+        if (previousContent.getClass() != currentContent.getClass()) {
+            return false;
+        }
+        return Objects.equals(getTypeName(getDefinition(previousElement)), getTypeName(getDefinition(currentElement)));
+    }
+
+    private static String getTypeName(final Object object) {
+        return null != object ? object.getClass().getName() : null;
+    }
+
+    private static String getUUID(final Node node) {
+        return null != node ? node.getUUID() : null;
+    }
+}
@@ -129,8 +129,23 @@ public class Marshaller {
         workflow = null;
     }
 
+    /**
+     * Forgets the previous workflow, so the next graph is built from scratch instead of patching the previous one.
+     */
+    public void reset() {
+        workflow = null;
+    }
+
+    /**
+     * Builds the graph of the given workflow. When the workflow has been updated in place, the result is incremental:
+     * its diagram is the previous graph, not patched yet, and the caller has to apply {@link ParseResult#getPatch()}
+     * to it, e.g. with {@code ApplyGraphPatchCommand}. Callers that need the new graph regardless have to
+     * {@link #reset()} first.
+     */
     @SuppressWarnings("all")
     public Promise<ParseResult> unmarshallGraph(String raw) {
+        final Workflow previousWorkflow = workflow;
+        final Context previousContext = context;
         try {
             workflow = parser.parse(mapper.fromJSON(raw));
             MarshallerUtils.onPostDeserialize(raw, workflow);
@@ -200,6 +215,11 @@ public class Marshaller {
 
         removeEdgesWithNullTargets(graph);
 
+        final GraphPatch patch = createPatch(previousWorkflow, previousContext);
+        if (null != patch && !patch.hasAddedNodes()) {
+            return promises.resolve(applyPatch(previousContext, patch));
+        }
+
         try {
 
             final String startNodeUuId = getStartNodeUuid(graph);
@@ -219,9 +239,14 @@ public class Marshaller {
                     layout.then(new IThenable.ThenOnFulfilledCallbackFn<Node, Object>() {
                         @Override
                         public IThenable<Object> onInvoke(Node node) {
-                            success.onInvoke(
-                                    new ParseResult(new DiagramFactory().build("diagram", new MetadataImpl(), (Graph) graph),
-                                                    context.getMessages()));
+                            if (null != patch) {
+                                patch.placeAddedNodes();
+                                success.onInvoke(applyPatch(previousContext, patch));
+                            } else {
+                                success.onInvoke(
+                                        new ParseResult(new DiagramFactory().build("diagram", new MetadataImpl(), (Graph) graph),
+                                                        context.getMessages()));
+                            }
                             return null;
                         }
                     });
@@ -238,6 +263,41 @@ public class Marshaller {
         }
     }
 
+    /**
+     * Compares the new graph with the previous one, already drawn, so the previous one can be patched and keep its
+     * layout. Only the added nodes are laid out, see {@link GraphPatch#placeAddedNodes()}.
+     * @return The patch, or null if the new graph has to be drawn from scratch.
+     */
+    private GraphPatch createPatch(final Workflow previousWorkflow,
+                                   final Context previousContext) {
+        if (null == previousWorkflow || null == previousContext) {
+            return null;
+        }
+        final WorkflowDiff diff = WorkflowDiff.compare(previousWorkflow, workflow, Marshaller::stringify);
+        if (diff.hasDuplicatedNames()) {
+            return null;
+        }
+        return GraphPatch.create(previousContext, context, diff.getUpdatedStates());
+    }
+
+    /**
+     * Keeps the context of the previous graph, which the patch applies to, with the messages and bindings of the
+     * new one. The returned diagram is the previous graph, as the patch has not been applied yet.
+     */
+    private ParseResult applyPatch(final Context previousContext,
+                                   final GraphPatch patch) {
+        previousContext.clearMessages();
+        for (Message message : context.getMessages()) {
+            previousContext.addMessage(message);
+        }
+        previousContext.getNameToUUIDBindings().clear();
+        previousContext.getNameToUUIDBindings().putAll(context.getNameToUUIDBindings());
+        context = previousContext;
+        return new ParseResult(new DiagramFactory().build("diagram", new MetadataImpl(), context.getGraph()),
+                               context.getMessages(),
+                               patch);
+    }
+
     private String getEndNodeUuid(final GraphImpl<Object> graph) {
 
         final Optional<Node> endNode = StreamSupport.stream(graph.nodes().spliterator(), false)
@@ -24,11 +24,22 @@ public class ParseResult {
 
     private final Message[] messages;
 
+    private final GraphPatch patch;
+
     public ParseResult(Diagram diagram, Message[] messages) {
+        this(diagram, messages, null);
+    }
+
+    public ParseResult(Diagram diagram, Message[] messages, GraphPatch patch) {
         this.diagram = diagram;
         this.messages = messages;
+        this.patch = patch;
     }
 
+    /**
+     * @return The diagram of the new graph, or of the previous one when the result is incremental. In that case it
+     * only matches the workflow once the {@link #getPatch() patch} has been applied.
+     */
     public Diagram getDiagram() {
         return diagram;
     }
@@ -36,4 +47,16 @@ public class ParseResult {
     public Message[] getMessages() {
         return messages;
     }
+
+    /**
+     * @return The changes to apply to the graph when it is the previous one, already drawn. Null when the graph has
+     * been built from scratch.
+     */
+    public GraphPatch getPatch() {
+        return patch;
+    }
+
+    public boolean isIncremental() {
+        return null != patch;
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.sw.marshall;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.kie.workbench.common.stunner.sw.definition.State;
+import org.kie.workbench.common.stunner.sw.definition.Workflow;
+
+/**
+ * The differences between two versions of a workflow, with states matched by their name.
+ */
+public class WorkflowDiff {
+
+    private final Set<String> addedStates = new LinkedHashSet<>();
+    private final Set<String> removedStates = new LinkedHashSet<>();
+    private final Set<String> updatedStates = new LinkedHashSet<>();
+    private boolean duplicatedNames;
+
+    private WorkflowDiff() {
+    }
+
+    /**
+     * @param previous The previous version of the workflow.
+     * @param current The current version of the workflow.
+     * @param fingerprint Produces a value for a state that only changes when the state does, used to find
+     * the updated ones.
+     * @return The differences between both versions.
+     */
+    public static WorkflowDiff compare(final Workflow previous,
+                                       final Workflow current,
+                                       final Function<State, String> fingerprint) {
+        final WorkflowDiff diff = new WorkflowDiff();
+        final Map<String, State> previousStates = diff.indexStates(previous);
+        final Map<String, State> currentStates = diff.indexStates(current);
+
+        for (Map.Entry<String, State> entry : currentStates.entrySet()) {
+            final State previousState = previousStates.get(entry.getKey());
+            if (null == previousState) {
+                diff.addedStates.add(entry.getKey());
+            } else if (!Objects.equals(fingerprint.apply(previousState), fingerprint.apply(entry.getValue()))) {
+                diff.updatedStates.add(entry.getKey());
+            }
+        }
+
+        for (String name : previousStates.keySet()) {
+            if (!currentStates.containsKey(name)) {
+                diff.removedStates.add(name);
+            }
+        }
+
+        return diff;
+    }
+
+    private Map<String, State> indexStates(final Workflow workflow) {
+        final Map<String, State> states = new LinkedHashMap<>();
+        if (null != workflow && null != workflow.getStates()) {
+            for (State state : workflow.getStates()) {
+                if (null != state && null != states.put(state.getName(), state)) {
+                    duplicatedNames = true;
+                }
+            }
+        }
+        return states;
+    }
+
+    public Set<String> getAddedStates() {
+        return Collections.unmodifiableSet(addedStates);
+    }
+
+    public Set<String> getRemovedStates() {
+        return Collections.unmodifiableSet(removedStates);
+    }
+
+    public Set<String> getUpdatedStates() {
+        return Collections.unmodifiableSet(updatedStates);
+    }
+
+    /**
+     * @return Whether any version has several states with the same name, which can not be matched by name.
+     */
+    public boolean hasDuplicatedNames() {
+        return duplicatedNames;
+    }
+
+    /**
+     * @return Whether the states are not the same in both versions, so the nodes in the graph are not either.
+     * Duplicated names are considered a change too, as states can not be matched by name in that case.
+     */
+    public boolean hasStructuralChanges() {
+        return duplicatedNames || !addedStates.isEmpty() || !removedStates.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return !hasStructuralChanges() && updatedStates.isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.sw.marshall;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.command.DirectGraphCommandExecutionContext;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.sw.definition.State;
+import org.kie.workbench.common.stunner.sw.definition.Workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.kie.workbench.common.stunner.sw.marshall.Marshaller.unmarshallNode;
+
+public class GraphPatchTest extends BaseMarshallingTest {
+
+    private static final String WORKFLOW_ID = "workflow1";
+
+    @Override
+    protected Workflow createWorkflow() {
+        return createWorkflow("State3");
+    }
+
+    @Test
+    public void testPatchSameStructure() {
+        unmarshallWorkflow();
+        Workflow current = createWorkflow("State3");
+        current.getStates()[1].setEventTimeout("PT1S");
+
+        GraphPatch patch = GraphPatch.create(context, unmarshallCurrent(current), Collections.singleton("State2"));
+        assertNotNull(patch);
+        assertFalse(patch.hasStructuralChanges());
+        assertFalse(patch.hasAddedNodes());
+
+        Set<String> updatedElements = patch.getUpdatedElements();
+        assertTrue(updatedElements.contains(getUUIDForObjectName(WORKFLOW_ID)));
+        assertTrue(updatedElements.contains(getUUIDForObjectName("State2")));
+        assertFalse(updatedElements.contains(getUUIDForObjectName("State1")));
+
+        execute(patch.getGraphCommand());
+        assertDefinitionReferencedInNode(current, WORKFLOW_ID);
+        assertDefinitionReferencedInNode(current.getStates()[0], "State1");
+        assertDefinitionReferencedInNode(current.getStates()[1], "State2");
+        assertTrue(hasOutgoingEdgeTo("State2", "State3"));
+    }
+
+    @Test
+    public void testPatchChangedTransition() {
+        unmarshallWorkflow();
+        Node state3 = getNodeByName("State3");
+        GraphPatch patch = GraphPatch.create(context, unmarshallCurrent(createWorkflow("State1")), Collections.emptySet());
+        assertNotNull(patch);
+        assertTrue(patch.hasStructuralChanges());
+        assertFalse(patch.hasAddedNodes());
+        assertEquals(1, patch.getRemovedConnectors().size());
+        assertEquals(getUUIDForObjectName("State3"), patch.getRemovedConnectors().get(0).getTargetNode().getUUID());
+        assertEquals(1, patch.getAddedConnectors().size());
+
+        Command<GraphCommandExecutionContext, RuleViolation> command = patch.getGraphCommand();
+        execute(command);
+        assertTrue(hasOutgoingEdgeTo("State2", "State1"));
+        assertFalse(hasOutgoingEdgeTo("State2", "State3"));
+        assertSame(state3, getNodeByName("State3"));
+
+        assertFalse(CommandUtils.isError(command.undo(newExecutionContext())));
+        assertTrue(hasOutgoingEdgeTo("State2", "State3"));
+        assertFalse(hasOutgoingEdgeTo("State2", "State1"));
+    }
+
+    @Test
+    public void testPatchRenamedState() {
+        unmarshallWorkflow();
+        Node state2 = getNodeByName("State2");
+        Workflow current = createWorkflow("State3");
+        current.getStates()[0].setName("State0");
+        current.setStart("State0");
+        Context currentContext = unmarshallCurrent(current);
+        String state0UUID = currentContext.obtainUUID("State0");
+
+        GraphPatch patch = GraphPatch.create(context, currentContext, Collections.emptySet());
+        assertNotNull(patch);
+        assertTrue(patch.hasAddedNodes());
+        assertEquals(1, patch.getRemovedNodes().size());
+        assertEquals(getUUIDForObjectName("State1"), patch.getRemovedNodes().get(0).getUUID());
+        assertEquals(1, patch.getAddedNodes().size());
+        assertEquals(state0UUID, patch.getAddedNodes().get(0).getUUID());
+
+        execute(patch.getGraphCommand());
+        assertNull(getNodeByName("State1"));
+        Node state0 = getNodeByUUID(state0UUID);
+        assertNotNull(state0);
+        assertSame(state2, getNodeByName("State2"));
+        assertTrue(state0.getOutEdges().stream()
+                           .anyMatch(e -> state2 == ((Edge) e).getTargetNode()));
+    }
+
+    @Test
+    public void testNoPatchWhenWorkflowChanges() {
+        unmarshallWorkflow();
+        Workflow current = createWorkflow("State3");
+        current.setId("workflow2");
+        assertNull(GraphPatch.create(context, unmarshallCurrent(current), Collections.emptySet()));
+    }
+
+    private void execute(Command<GraphCommandExecutionContext, RuleViolation> command) {
+        assertFalse(CommandUtils.isError(command.execute(newExecutionContext())));
+    }
+
+    private GraphCommandExecutionContext newExecutionContext() {
+        return new DirectGraphCommandExecutionContext(graphHandler.getDefinitionManager(),
+                                                      graphHandler.getFactoryManager(),
+                                                      graphHandler.graphIndex);
+    }
+
+    private Context unmarshallCurrent(Workflow current) {
+        TestingGraphMockHandler currentGraphHandler = new TestingGraphMockHandler();
+        Context currentContext = new Context(currentGraphHandler.graphIndex);
+        BuilderContext currentBuilderContext = new BuilderContext(currentContext,
+                                                                  currentGraphHandler.getDefinitionManager(),
+                                                                  currentGraphHandler.getFactoryManager());
+        currentBuilderContext.setPreviousNameToUUIDBindings(context.getNameToUUIDBindings());
+        unmarshallNode(currentBuilderContext, current);
+        currentBuilderContext.execute();
+        return currentContext;
+    }
+
+    private static Workflow createWorkflow(String state2Transition) {
+        return new Workflow()
+                .setId(WORKFLOW_ID)
+                .setName("Workflow1")
+                .setStart("State1")
+                .setStates(new State[]{
+                        new State()
+                                .setName("State1")
+                                .setTransition("State2"),
+                        new State()
+                                .setName("State2")
+                                .setTransition(state2Transition),
+                        new State()
+                                .setName("State3")
+                                .setEnd(true)
+                });
+    }
+}
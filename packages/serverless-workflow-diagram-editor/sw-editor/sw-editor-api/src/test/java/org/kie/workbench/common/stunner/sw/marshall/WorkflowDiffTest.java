@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.sw.marshall;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.sw.definition.State;
+import org.kie.workbench.common.stunner.sw.definition.Workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WorkflowDiffTest {
+
+    private static final Function<State, String> FINGERPRINT = state -> state.getType() + "|" + state.getTransition() + "|" + state.getEnd();
+
+    @Test
+    public void testSameWorkflow() {
+        WorkflowDiff diff = WorkflowDiff.compare(createWorkflow("State3"), createWorkflow("State3"), FINGERPRINT);
+        assertTrue(diff.isEmpty());
+        assertFalse(diff.hasStructuralChanges());
+    }
+
+    @Test
+    public void testUpdatedState() {
+        WorkflowDiff diff = WorkflowDiff.compare(createWorkflow("State3"), createWorkflow("State1"), FINGERPRINT);
+        assertFalse(diff.isEmpty());
+        assertFalse(diff.hasStructuralChanges());
+        assertEquals(1, diff.getUpdatedStates().size());
+        assertTrue(diff.getUpdatedStates().contains("State2"));
+    }
+
+    @Test
+    public void testAddedAndRemovedStates() {
+        Workflow previous = createWorkflow("State3");
+        Workflow current = createWorkflow("State3");
+        current.getStates()[0].setName("State0");
+        WorkflowDiff diff = WorkflowDiff.compare(previous, current, FINGERPRINT);
+        assertTrue(diff.hasStructuralChanges());
+        assertTrue(diff.getAddedStates().contains("State0"));
+        assertTrue(diff.getRemovedStates().contains("State1"));
+        assertTrue(diff.getUpdatedStates().isEmpty());
+    }
+
+    @Test
+    public void testDuplicatedNames() {
+        Workflow current = createWorkflow("State3");
+        current.getStates()[2].setName("State1");
+        WorkflowDiff diff = WorkflowDiff.compare(createWorkflow("State3"), current, FINGERPRINT);
+        assertTrue(diff.hasStructuralChanges());
+    }
+
+    private static Workflow createWorkflow(String state2Transition) {
+        return new Workflow()
+                .setId("workflow1")
+                .setName("Workflow1")
+                .setStart("State1")
+                .setStates(new State[]{
+                        new State()
+                                .setName("State1")
+                                .setTransition("State2"),
+                        new State()
+                                .setName("State2")
+                                .setTransition(state2Transition),
+                        new State()
+                                .setName("State3")
+                                .setEnd(true)
+                });
+    }
+}
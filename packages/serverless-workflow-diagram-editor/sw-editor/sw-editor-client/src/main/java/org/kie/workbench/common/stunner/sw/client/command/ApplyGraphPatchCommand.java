@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.sw.client.command;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.command.AbstractCanvasCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.AddCanvasChildNodeCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.AddCanvasConnectorCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.AddCanvasDockedNodeCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.AddCanvasNodeCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.DeleteCanvasConnectorCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.DeleteCanvasNodeCommand;
+import org.kie.workbench.common.stunner.core.client.canvas.command.UpdateCanvasElementPropertyCommand;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultBuilder;
+import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
+import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.impl.CompositeCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.command.DirectGraphCommandExecutionContext;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.sw.marshall.GraphPatch;
+
+/**
+ * Applies a {@link GraphPatch} to the graph being displayed, and draws only the shapes for the added elements,
+ * removes the ones for the removed elements and refreshes the ones for the updated elements. The other shapes,
+ * and so their layout, are kept.
+ * The graph is patched without evaluating rules, the same way it is built on unmarshalling.
+ */
+public class ApplyGraphPatchCommand extends AbstractCanvasCommand {
+
+    private final GraphPatch patch;
+    private Command<GraphCommandExecutionContext, RuleViolation> graphCommand;
+    private Command<AbstractCanvasHandler, CanvasViolation> canvasCommand;
+
+    public ApplyGraphPatchCommand(final GraphPatch patch) {
+        this.patch = patch;
+    }
+
+    @Override
+    public CommandResult<CanvasViolation> execute(final AbstractCanvasHandler context) {
+        // The canvas command refers to the elements to remove, so it is built before they are removed from the graph.
+        canvasCommand = newCanvasCommand(context);
+        graphCommand = patch.getGraphCommand();
+        final CommandResult<RuleViolation> graphResult = graphCommand.execute(newGraphExecutionContext(context));
+        if (CommandUtils.isError(graphResult)) {
+            return new CanvasCommandResultBuilder(graphResult).build();
+        }
+        return canvasCommand.execute(context);
+    }
+
+    @Override
+    public CommandResult<CanvasViolation> undo(final AbstractCanvasHandler context) {
+        final CommandResult<RuleViolation> graphResult = graphCommand.undo(newGraphExecutionContext(context));
+        if (CommandUtils.isError(graphResult)) {
+            return new CanvasCommandResultBuilder(graphResult).build();
+        }
+        return canvasCommand.undo(context);
+    }
+
+    @SuppressWarnings("all")
+    private Command<AbstractCanvasHandler, CanvasViolation> newCanvasCommand(final AbstractCanvasHandler context) {
+        final Index<?, ?> index = context.getGraphIndex();
+        final String shapeSetId = getShapeSetId(context);
+        final String canvasRootUUID = context.getDiagram().getMetadata().getCanvasRootUUID();
+        final CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation> commandBuilder =
+                new CompositeCommand.Builder<AbstractCanvasHandler, CanvasViolation>().reverse();
+
+        for (Edge edge : patch.getRemovedConnectors()) {
+            commandBuilder.addCommand(new DeleteCanvasConnectorCommand(edge));
+        }
+        for (Node node : patch.getRemovedNodes()) {
+            commandBuilder.addCommand(new DeleteCanvasNodeCommand(node));
+        }
+
+        final Map<String, Node> addedNodes = new HashMap<>();
+        for (Node node : patch.getAddedNodes()) {
+            addedNodes.put(node.getUUID(), node);
+        }
+        for (Node node : patch.getAddedNodes()) {
+            final Edge parentEdge = patch.getAddedNodeParent(node);
+            final String parentUUID = parentEdge.getSourceNode().getUUID();
+            final Node parent = addedNodes.containsKey(parentUUID) ? addedNodes.get(parentUUID) : index.getNode(parentUUID);
+            if (parentEdge.getContent() instanceof Dock) {
+                commandBuilder.addCommand(new AddCanvasDockedNodeCommand(parent, node, shapeSetId));
+            } else if (Objects.equals(canvasRootUUID, parentUUID)) {
+                commandBuilder.addCommand(new AddCanvasNodeCommand(node, shapeSetId));
+            } else {
+                commandBuilder.addCommand(new AddCanvasChildNodeCommand(parent, node, shapeSetId));
+            }
+        }
+        for (Edge edge : patch.getAddedConnectors()) {
+            commandBuilder.addCommand(new AddCanvasConnectorCommand(edge, shapeSetId));
+        }
+
+        for (String uuid : patch.getUpdatedElements()) {
+            final Element element = index.get(uuid);
+            if (null != element) {
+                commandBuilder.addCommand(new UpdateCanvasElementPropertyCommand(element));
+            }
+        }
+        return commandBuilder.build();
+    }
+
+    private static GraphCommandExecutionContext newGraphExecutionContext(final AbstractCanvasHandler context) {
+        return new DirectGraphCommandExecutionContext(context.getDefinitionManager(),
+                                                      context.getGraphExecutionContext().getFactoryManager(),
+                                                      context.getGraphIndex());
+    }
+
+    private String getShapeSetId(final AbstractCanvasHandler context) {
+        return context.getDiagram().getMetadata().getShapeSetId();
+    }
+
+    public GraphPatch getPatch() {
+        return patch;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
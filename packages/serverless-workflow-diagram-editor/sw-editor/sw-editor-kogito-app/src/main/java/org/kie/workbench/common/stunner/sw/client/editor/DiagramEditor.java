@@ -46,6 +46,7 @@ import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.SelectionControl;
 import org.kie.workbench.common.stunner.core.client.canvas.util.CanvasFileExport;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManager;
+import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.client.command.ClearAllCommand;
 import org.kie.workbench.common.stunner.core.client.service.ClientRuntimeError;
 import org.kie.workbench.common.stunner.core.client.service.ServiceCallback;
@@ -61,8 +62,10 @@ import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.sw.client.command.ApplyGraphPatchCommand;
 import org.kie.workbench.common.stunner.sw.client.services.ClientDiagramService;
 import org.kie.workbench.common.stunner.sw.client.services.IncrementalMarshaller;
+import org.kie.workbench.common.stunner.sw.marshall.GraphPatch;
 import org.kie.workbench.common.stunner.sw.marshall.Message;
 import org.kie.workbench.common.stunner.sw.marshall.ParseResult;
 import org.uberfire.backend.vfs.Path;
@@ -144,6 +147,8 @@ public class DiagramEditor {
     public Promise<Void> setNewContent(final String path, final String value) {
         return promises.create((success, failure) -> {
             stunnerEditor.clearAlerts();
+            // The diagram is opened as is, so it can't be a patch of the previous one
+            diagramService.getMarshaller().reset();
             diagramService.transform(path,
                                      value,
                                      new ServiceCallback<ParseResult>() {
@@ -201,7 +206,11 @@ public class DiagramEditor {
                                          @Override
                                          public void onSuccess(final ParseResult parseResult) {
                                              renderDiagram = parseResult.getDiagram();
-                                             updateDiagram(parseResult.getDiagram());
+                                             if (parseResult.isIncremental()) {
+                                                 patchDiagram(parseResult.getDiagram(), parseResult.getPatch());
+                                             } else {
+                                                 updateDiagram(parseResult.getDiagram());
+                                             }
                                              if (parseResult.getMessages().length > 0) {
                                                  for (Message m : parseResult.getMessages()) {
                                                      stunnerEditor.addError(m.toString());
@@ -248,6 +257,28 @@ public class DiagramEditor {
         jsCanvas.close();
     }
 
+    /**
+     * Applies the changes of a diagram updated in place to the one being drawn, so only the shapes of the added,
+     * removed and updated elements change. If the diagram being drawn is another one, it is drawn again first.
+     * The patch runs through the canvas command manager of the viewer session, so it is not registered for undo: the
+     * workflow text stays the source of truth.
+     */
+    @SuppressWarnings("all")
+    void patchDiagram(Diagram diagram, GraphPatch patch) {
+        AbstractSession session = (AbstractSession) stunnerEditor.getSession();
+        AbstractCanvasHandler canvasHandler = (AbstractCanvasHandler) stunnerEditor.getCanvasHandler();
+        Diagram currentDiagram = canvasHandler.getDiagram();
+        if (null == currentDiagram || currentDiagram.getGraph() != diagram.getGraph()) {
+            updateDiagram(diagram);
+        }
+
+        CanvasCommandManager<AbstractCanvasHandler> commandManager = session.getCommandManager();
+        CommandResult<CanvasViolation> result = commandManager.execute(canvasHandler, new ApplyGraphPatchCommand(patch));
+        if (CommandUtils.isError(result)) {
+            DomGlobal.console.error("An error occurred while patching the diagram [result=" + result + "]");
+        }
+    }
+
     @SuppressWarnings("all")
     void updateDiagram(Diagram diagram) {
         AbstractSession session = (AbstractSession) stunnerEditor.getSession();
@@ -132,7 +132,7 @@ public class ClientDiagramService {
                                                              parseResult.getDiagram().getGraph());
                 updateClientMetadata(diagram);
 
-                serviceCallback.onSuccess(new ParseResult(diagram, parseResult.getMessages()));
+                serviceCallback.onSuccess(new ParseResult(diagram, parseResult.getMessages(), parseResult.getPatch()));
                 return null;
             }
         }, new IThenable.ThenOnRejectedCallbackFn<Object>() {
@@ -55,8 +55,11 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.sw.client.command.ApplyGraphPatchCommand;
 import org.kie.workbench.common.stunner.sw.client.services.ClientDiagramService;
 import org.kie.workbench.common.stunner.sw.client.services.IncrementalMarshaller;
+import org.kie.workbench.common.stunner.sw.marshall.GraphPatch;
+import org.kie.workbench.common.stunner.sw.marshall.Marshaller;
 import org.mockito.Mock;
 import org.uberfire.client.promise.Promises;
 import org.uberfire.mvp.impl.DefaultPlaceRequest;
@@ -112,6 +115,9 @@ public class DiagramEditorTest {
     @Mock
     private ClientDiagramService diagramServices;
 
+    @Mock
+    private Marshaller marshaller;
+
     @Mock
     private ClientSession session;
 
@@ -216,6 +222,7 @@ public class DiagramEditorTest {
         when(viewerSession.getCanvasHandler()).thenReturn(canvasHandler2);
         when(stunnerEditor2.getCanvasHandler()).thenReturn(canvasHandler2);
         when(stunnerEditor2.getDiagram()).thenReturn(diagram);
+        when(diagramServices.getMarshaller()).thenReturn(marshaller);
         tested = spy(new DiagramEditor(promises,
                                        stunnerEditor2,
                                        diagramServices,
@@ -315,6 +322,8 @@ public class DiagramEditorTest {
         verify(tested, times(1)).setNewContent("", rawJSON);
         verify(tested, never()).updateContent("", rawJSON);
         verify(tested, never()).close();
+        // The new diagram is built from scratch
+        verify(marshaller, times(1)).reset();
     }
 
     @Test
@@ -327,6 +336,7 @@ public class DiagramEditorTest {
 
         verify(tested, times(1)).updateContent("", rawJSON);
         verify(tested, never()).setNewContent("", rawJSON);
+        verify(marshaller, never()).reset();
     }
 
     @Test
@@ -375,4 +385,33 @@ public class DiagramEditorTest {
         // Center selected node
         verify(jsCanvas, times(1)).centerNode("uuid");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPatchDiagram() {
+        GraphPatch patch = mock(GraphPatch.class);
+        when(viewerSession.getCommandManager()).thenReturn(commandManager);
+
+        tested.patchDiagram(diagram, patch);
+
+        // The diagram being drawn is kept
+        verify(tested, never()).updateDiagram(any());
+        verify(commandManager, never()).execute(eq(canvasHandler2), any(ClearAllCommand.class));
+        verify(commandManager, times(1)).execute(eq(canvasHandler2), any(ApplyGraphPatchCommand.class));
+    }
+
+    @Test
+    public void testPatchAnotherDiagram() {
+        DiagramImpl newDiagram = mock(DiagramImpl.class);
+        GraphPatch patch = mock(GraphPatch.class);
+        when(newDiagram.getGraph()).thenReturn(mock(Graph.class));
+        when(graph.getNode("uuid")).thenReturn(mock(Node.class));
+        when(graph.nodes()).thenReturn(new ArrayList<>());
+        when(viewerSession.getCommandManager()).thenReturn(commandManager);
+
+        tested.patchDiagram(newDiagram, patch);
+
+        verify(tested, times(1)).updateDiagram(newDiagram);
+        verify(commandManager, times(1)).execute(eq(canvasHandler2), any(ClearAllCommand.class));
+        verify(commandManager, times(1)).execute(eq(canvasHandler2), any(ApplyGraphPatchCommand.class));
+    }
+}
@@ -46,6 +46,7 @@ import org.jboss.errai.common.rebind.CacheStore;
 import org.jboss.errai.common.rebind.CacheUtil;
 import org.jboss.errai.reflections.Configuration;
 import org.jboss.errai.reflections.Reflections;
+import org.jboss.errai.reflections.ScanCache;
 import org.jboss.errai.reflections.scanners.FieldAnnotationsScanner;
 import org.jboss.errai.reflections.scanners.MethodAnnotationsScanner;
 import org.jboss.errai.reflections.util.ConfigurationBuilder;
@@ -72,6 +73,12 @@ public class MetaDataScanner extends Reflections {
 
   private static final String EXTENSION_KEY = "errai.class_scanning_extension";
 
+  /**
+   * When set to true, the scan results of unchanged jars and class files are kept in the errai cache dir and
+   * reused by the next builds.
+   */
+  private static final String SCAN_CACHE_PROPERTY = "errai.reflections.scan_cache";
+
   private static final ErraiPropertyScanner propScanner = new ErraiPropertyScanner(file -> file.endsWith(".properties"));
 
   private final Map<Class<? extends Annotation>, Set<Class<?>>> _annotationCache = new HashMap<>();
@@ -172,7 +179,15 @@ public class MetaDataScanner extends Reflections {
   private static Configuration getConfiguration(final List<URL> urls) {
     return new ConfigurationBuilder().setUrls(urls).setExecutorService(Executors.newFixedThreadPool(2))
             .setScanners(new FieldAnnotationsScanner(), new MethodAnnotationsScanner(),
-                    new ExtendedTypeAnnotationScanner(), propScanner);
+                    new ExtendedTypeAnnotationScanner(), propScanner)
+            .setScanCache(getScanCache());
+  }
+
+  private static ScanCache getScanCache() {
+    if (!Boolean.getBoolean(SCAN_CACHE_PROPERTY)) {
+      return null;
+    }
+    return new ScanCache(new File(RebindUtils.getErraiCacheDir(), "reflections"));
   }
 
   private static void registerTypeHandler(final Vfs.UrlType handler) {
@@ -48,4 +48,10 @@ public interface Configuration {
 
     /** the default serializer to use when saving Reflection */
     Serializer getSerializer();
+
+    /** the cache of previous scan results
+     * if null, all urls are scanned every time */
+    default ScanCache getScanCache() {
+        return null;
+    }
 }
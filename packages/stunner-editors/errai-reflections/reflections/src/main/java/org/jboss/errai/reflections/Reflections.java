@@ -35,6 +35,7 @@ import java.util.regex.Pattern;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -220,52 +221,93 @@ public class Reflections extends ReflectionUtils {
 
     long time = System.currentTimeMillis();
 
-    ExecutorService executorService = configuration.getExecutorService();
+    final ExecutorService executorService = configuration.getExecutorService();
+    final ScanCache scanCache = configuration.getScanCache();
+    final List<ScanCache.Entry> cacheEntries = Lists.newArrayList();
 
-    if (executorService == null) {
+    if (scanCache != null) {
+      for (Scanner scanner : configuration.getScanners()) {
+        scanner.setStore(scanCache.recordingStore(scanner.getName(), store.get(scanner)));
+      }
+    }
+
+    //todo use CompletionService
+    List<Future<?>> futures = Lists.newArrayList();
+    try {
       for (URL url : configuration.getUrls()) {
         try {
-          for (final Vfs.File file : Vfs.fromURL(url).getFiles()) {
-            scan(file);
+          final ScanCache.Entry cacheEntry = scanCache != null ? scanCache.open(url, configuration.getScanners()) : null;
+          if (cacheEntry != null) {
+            cacheEntries.add(cacheEntry);
+            if (cacheEntry.replayArchive(store)) {
+              continue;
+            }
           }
-        }
-        catch (ReflectionsException e) {
-          log.error("could not create Vfs.Dir from url. ignoring the exception and continuing", e);
-        }
 
-      }
-    }
-    else {
-      //todo use CompletionService
-      List<Future<?>> futures = Lists.newArrayList();
-      try {
-        for (URL url : configuration.getUrls()) {
-          try {
-            for (final Vfs.File file : Vfs.fromURL(url).getFiles()) {
-              futures.add(executorService.submit(new Runnable() {
-                public void run() {
+          final List<String> paths = Lists.newArrayList();
+          for (final Vfs.File file : Vfs.fromURL(url).getFiles()) {
+            if (cacheEntry != null) {
+              if (!configuration.acceptsInput(file.getRelativePath())) {
+                continue;
+              }
+              paths.add(file.getRelativePath());
+              if (cacheEntry.replay(file, store)) {
+                continue;
+              }
+            }
+
+            final Runnable scan = new Runnable() {
+              public void run() {
+                if (cacheEntry != null) {
+                  cacheEntry.record(file, new Supplier<Boolean>() {
+                    public Boolean get() {
+                      return scan(file);
+                    }
+                  });
+                }
+                else {
                   scan(file);
                 }
-              }));
+              }
+            };
+            if (executorService == null) {
+              scan.run();
+            }
+            else {
+              futures.add(executorService.submit(scan));
             }
           }
-          catch (ReflectionsException e) {
-            log.error("could not create Vfs.Dir from url. ignoring the exception and continuing", e);
+          if (cacheEntry != null) {
+            cacheEntry.retain(paths);
           }
         }
+        catch (ReflectionsException e) {
+          log.error("could not create Vfs.Dir from url. ignoring the exception and continuing", e);
+        }
+      }
 
-        for (Future future : futures) {
-          try {
-            future.get();
-          }
-          catch (Exception e) {
-            throw new RuntimeException(e);
-          }
+      for (Future future : futures) {
+        try {
+          future.get();
+        }
+        catch (Exception e) {
+          throw new RuntimeException(e);
         }
       }
-      finally {
+    }
+    finally {
+      if (executorService != null) {
         executorService.shutdown();
       }
+      if (scanCache != null) {
+        for (Scanner scanner : configuration.getScanners()) {
+          scanner.setStore(store.get(scanner));
+        }
+      }
+    }
+
+    for (ScanCache.Entry cacheEntry : cacheEntries) {
+      cacheEntry.save();
     }
 
     time = System.currentTimeMillis() - time;
@@ -273,13 +315,18 @@ public class Reflections extends ReflectionUtils {
     Integer keys = store.getKeysCount();
     Integer values = store.getValuesCount();
 
-    log.info(format("Reflections took %d ms to scan %d urls, producing %d keys and %d values %s",
+    log.info(format("Reflections took %d ms to scan %d urls, producing %d keys and %d values %s%s",
         time, configuration.getUrls().size(), keys, values,
         executorService != null && executorService instanceof ThreadPoolExecutor ?
-            format("[using %d cores]", ((ThreadPoolExecutor) executorService).getMaximumPoolSize()) : ""));
+            format("[using %d cores]", ((ThreadPoolExecutor) executorService).getMaximumPoolSize()) : "",
+        scanCache != null ? format("[%s]", scanCache) : ""));
   }
 
-  private void scan(Vfs.File file) {
+  /**
+   * @return false if any scanner failed to scan the file
+   */
+  private boolean scan(Vfs.File file) {
+    boolean scanned = true;
     String input = file.getRelativePath();
     if (configuration.acceptsInput(input)) {
       for (Scanner scanner : configuration.getScanners()) {
@@ -290,9 +337,11 @@ public class Reflections extends ReflectionUtils {
         }
         catch (Exception e) {
           log.warn("could not scan file " + file.getFullPath() + " with scanner " + scanner.getName(), e);
+          scanned = false;
         }
       }
     }
+    return scanned;
   }
 
   /**
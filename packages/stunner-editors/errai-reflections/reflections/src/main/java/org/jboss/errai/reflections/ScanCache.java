@@ -0,0 +1,454 @@
+/*
+ * Copyright (C) 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.errai.reflections;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ForwardingMultimap;
+import com.google.common.collect.Multimap;
+import org.jboss.errai.reflections.scanners.AbstractScanner;
+import org.jboss.errai.reflections.scanners.Scanner;
+import org.jboss.errai.reflections.vfs.Vfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * a persistent cache of scan results, so unchanged urls do not have to be scanned again on every build
+ * <p>results are kept in one file per url inside the given directory, and are content addressed:
+ * <ul>
+ * <li>archives (jar files) are reused as a whole while the hash of the archive does not change
+ * <li>directories are reused file by file, so only the class files whose hash has changed are scanned again
+ * </ul>
+ * <p>only the values put into the {@link Store} by the scanners are cached, scanners keeping other state will not
+ * get it for the reused files. the cached results are only valid for the same scanners and filters, use a different
+ * directory for each configuration
+ * <p>use {@link org.jboss.errai.reflections.util.ConfigurationBuilder#setScanCache(ScanCache)} to enable it
+ */
+public class ScanCache {
+  private static final Logger log = LoggerFactory.getLogger(ScanCache.class);
+
+  private static final int VERSION = 1;
+  private static final String EXTENSION = ".scan";
+
+  private final File directory;
+  private final ThreadLocal<List<String[]>> recording = new ThreadLocal<List<String[]>>();
+
+  private final AtomicInteger archiveHits = new AtomicInteger();
+  private final AtomicInteger archiveMisses = new AtomicInteger();
+  private final AtomicInteger fileHits = new AtomicInteger();
+  private final AtomicInteger fileMisses = new AtomicInteger();
+
+  public ScanCache(final File directory) {
+    this.directory = directory;
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  /** the number of archives reused from the cache */
+  public int getArchiveHits() {
+    return archiveHits.get();
+  }
+
+  /** the number of archives scanned because they were not cached or have changed */
+  public int getArchiveMisses() {
+    return archiveMisses.get();
+  }
+
+  /** the number of directory files reused from the cache */
+  public int getFileHits() {
+    return fileHits.get();
+  }
+
+  /** the number of directory files scanned because they were not cached or have changed */
+  public int getFileMisses() {
+    return fileMisses.get();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("scan cache reused %d of %d archives and %d of %d files",
+        getArchiveHits(), getArchiveHits() + getArchiveMisses(), getFileHits(), getFileHits() + getFileMisses());
+  }
+
+  /**
+   * wraps the store of a scanner, so the values put while scanning a file are recorded for that file
+   */
+  Multimap<String, String> recordingStore(final String scannerName, final Multimap<String, String> store) {
+    return new ForwardingMultimap<String, String>() {
+      @Override
+      protected Multimap<String, String> delegate() {
+        return store;
+      }
+
+      @Override
+      public boolean put(final String key, final String value) {
+        final List<String[]> values = recording.get();
+        if (values != null) {
+          values.add(new String[] {scannerName, key, value});
+        }
+        return super.put(key, value);
+      }
+    };
+  }
+
+  /**
+   * opens the cached results of the given url
+   *
+   * @return the entry, or null if the url is neither a local jar file nor a local directory
+   */
+  Entry open(final URL url, final Collection<Scanner> scanners) {
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    final File file = new File(Vfs.normalizePath(url));
+    if (!file.isDirectory() && !(file.isFile() && file.getName().endsWith(".jar"))) {
+      return null;
+    }
+
+    final StringBuilder signature = new StringBuilder().append(VERSION).append('|').append(file.getAbsolutePath());
+    for (final String name : getScannerNames(scanners)) {
+      signature.append('|').append(name);
+    }
+    final Entry entry = new Entry(new File(directory, hash(signature.toString()) + EXTENSION), file.isFile());
+    entry.read();
+    if (entry.archive) {
+      try {
+        entry.reuseArchive(file);
+      }
+      catch (ReflectionsException e) {
+        log.warn("could not hash " + file + ", scanning it without cache", e);
+        return null;
+      }
+    }
+    return entry;
+  }
+
+  private static Collection<String> getScannerNames(final Collection<Scanner> scanners) {
+    final TreeSet<String> names = new TreeSet<String>();
+    for (final Scanner scanner : scanners) {
+      names.add(scanner.getName() + "=" + scanner.getClass().getName());
+    }
+    return names;
+  }
+
+  /**
+   * the cached results of an url, by the relative path of its files
+   */
+  class Entry {
+    private final File cacheFile;
+    private final boolean archive;
+    private final Map<String, Record> records = new ConcurrentHashMap<String, Record>();
+    private final Map<String, String> pendingHashes = new ConcurrentHashMap<String, String>();
+    private String archiveHash = "";
+    private boolean archiveReused;
+    private volatile boolean changed;
+
+    private Entry(final File cacheFile, final boolean archive) {
+      this.cacheFile = cacheFile;
+      this.archive = archive;
+    }
+
+    private void reuseArchive(final File file) {
+      final String hash = hash(file);
+      archiveReused = hash.equals(archiveHash) && !records.isEmpty();
+      if (archiveReused) {
+        archiveHits.incrementAndGet();
+      }
+      else {
+        archiveMisses.incrementAndGet();
+        archiveHash = hash;
+        records.clear();
+        changed = true;
+      }
+    }
+
+    /**
+     * @return true if the results of the whole archive have been reused, so its files do not have to be visited
+     */
+    boolean replayArchive(final Store store) {
+      if (!archiveReused) {
+        return false;
+      }
+      for (final Record record : records.values()) {
+        record.replay(store);
+      }
+      return true;
+    }
+
+    /**
+     * puts the cached results of the given file in the store, when its content has not changed
+     *
+     * @return true if the results have been reused, otherwise the file has to be scanned with {@link #record}
+     */
+    boolean replay(final Vfs.File file, final Store store) {
+      if (archive) {
+        return false;
+      }
+      final String path = file.getRelativePath();
+      final String hash;
+      try {
+        hash = hash(file);
+      }
+      catch (ReflectionsException e) {
+        log.warn("could not hash " + file.getFullPath() + ", scanning it again", e);
+        return false;
+      }
+      final Record record = records.get(path);
+      if (record != null && record.hash.equals(hash)) {
+        record.replay(store);
+        if (path.endsWith(".class") && !file.getFullPath().contains(".jar")) {
+          AbstractScanner.addClassNotInJar(path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+        }
+        fileHits.incrementAndGet();
+        return true;
+      }
+      pendingHashes.put(path, hash);
+      return false;
+    }
+
+    /**
+     * runs the scan of the given file, keeping the values put into the store.
+     * the results of a file whose scan failed are not kept, so it is scanned again next time,
+     * and neither is the archive containing it
+     */
+    void record(final Vfs.File file, final Supplier<Boolean> scan) {
+      final List<String[]> values = new ArrayList<String[]>();
+      final boolean scanned;
+      recording.set(values);
+      try {
+        scanned = scan.get();
+      }
+      finally {
+        recording.remove();
+      }
+      final String path = file.getRelativePath();
+      final String hash = pendingHashes.remove(path);
+      if (scanned) {
+        records.put(path, new Record(hash != null ? hash : "", values));
+      }
+      else {
+        records.remove(path);
+        archiveHash = "";
+      }
+      if (!archive) {
+        fileMisses.incrementAndGet();
+      }
+      changed = true;
+    }
+
+    /**
+     * forgets the files not visited in the last scan
+     */
+    void retain(final Collection<String> paths) {
+      if (!archive && records.keySet().retainAll(paths)) {
+        changed = true;
+      }
+    }
+
+    private void read() {
+      if (!cacheFile.exists()) {
+        return;
+      }
+      DataInputStream input = null;
+      try {
+        input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+        if (input.readInt() != VERSION) {
+          return;
+        }
+        archiveHash = input.readUTF();
+        final int recordCount = input.readInt();
+        for (int i = 0; i < recordCount; i++) {
+          final String path = input.readUTF();
+          final String hash = input.readUTF();
+          final int valueCount = input.readInt();
+          final List<String[]> values = new ArrayList<String[]>(valueCount);
+          for (int j = 0; j < valueCount; j++) {
+            values.add(new String[] {input.readUTF(), input.readUTF(), input.readUTF()});
+          }
+          records.put(path, new Record(hash, values));
+        }
+      }
+      catch (IOException e) {
+        log.warn("could not read scan cache " + cacheFile + ", scanning again", e);
+        archiveHash = "";
+        records.clear();
+      }
+      finally {
+        close(input);
+      }
+    }
+
+    /**
+     * writes the results to the cache file, if they have changed
+     */
+    void save() {
+      if (!changed) {
+        return;
+      }
+      directory.mkdirs();
+      final File tmpFile = new File(cacheFile.getPath() + ".tmp");
+      DataOutputStream output = null;
+      try {
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+        output.writeInt(VERSION);
+        output.writeUTF(archiveHash);
+        output.writeInt(records.size());
+        for (final Map.Entry<String, Record> entry : records.entrySet()) {
+          output.writeUTF(entry.getKey());
+          output.writeUTF(entry.getValue().hash);
+          output.writeInt(entry.getValue().values.size());
+          for (final String[] value : entry.getValue().values) {
+            output.writeUTF(value[0]);
+            output.writeUTF(value[1]);
+            output.writeUTF(value[2]);
+          }
+        }
+        output.close();
+        output = null;
+        if (!tmpFile.renameTo(cacheFile)) {
+          cacheFile.delete();
+          if (!tmpFile.renameTo(cacheFile)) {
+            throw new IOException("could not rename " + tmpFile + " to " + cacheFile);
+          }
+        }
+        changed = false;
+      }
+      catch (IOException e) {
+        log.warn("could not write scan cache " + cacheFile, e);
+        tmpFile.delete();
+      }
+      finally {
+        close(output);
+      }
+    }
+  }
+
+  private static class Record {
+    private final String hash;
+    private final List<String[]> values;
+
+    private Record(final String hash, final List<String[]> values) {
+      this.hash = hash;
+      this.values = values;
+    }
+
+    private void replay(final Store store) {
+      final Map<String, Multimap<String, String>> stores = new HashMap<String, Multimap<String, String>>();
+      for (final String[] value : values) {
+        Multimap<String, String> multimap = stores.get(value[0]);
+        if (multimap == null) {
+          stores.put(value[0], multimap = store.get(value[0]));
+        }
+        multimap.put(value[1], value[2]);
+      }
+    }
+  }
+
+  private static String hash(final Vfs.File file) {
+    InputStream inputStream = null;
+    try {
+      inputStream = file.openInputStream();
+      return hash(inputStream);
+    }
+    catch (IOException e) {
+      throw new ReflectionsException("could not hash " + file.getFullPath(), e);
+    }
+    finally {
+      close(inputStream);
+    }
+  }
+
+  private static String hash(final File file) {
+    InputStream inputStream = null;
+    try {
+      inputStream = new FileInputStream(file);
+      return hash(inputStream);
+    }
+    catch (IOException e) {
+      throw new ReflectionsException("could not hash " + file, e);
+    }
+    finally {
+      close(inputStream);
+    }
+  }
+
+  private static String hash(final InputStream inputStream) throws IOException {
+    final MessageDigest digest = newDigest();
+    final byte[] buffer = new byte[8192];
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      digest.update(buffer, 0, read);
+    }
+    return toHex(digest.digest());
+  }
+
+  private static String hash(final String value) {
+    return toHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ReflectionsException("SHA-1 is not available", e);
+    }
+  }
+
+  private static void close(final Closeable closeable) {
+    try {
+      if (closeable != null) {
+        closeable.close();
+      }
+    }
+    catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private static String toHex(final byte[] bytes) {
+    final StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (final byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
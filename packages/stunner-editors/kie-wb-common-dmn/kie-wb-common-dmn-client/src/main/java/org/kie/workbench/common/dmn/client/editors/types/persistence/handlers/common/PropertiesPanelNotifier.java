@@ -36,6 +36,7 @@ import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.CanvasSelectionEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.DomainObjectSelectionEvent;
 import org.kie.workbench.common.stunner.core.client.session.ClientSession;
+import org.kie.workbench.common.stunner.core.client.validation.canvas.InvalidateValidationEvent;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
@@ -49,6 +50,8 @@ public class PropertiesPanelNotifier {
 
     private final Event<RefreshFormPropertiesEvent> refreshFormPropertiesEvent;
 
+    private final Event<InvalidateValidationEvent> invalidateValidationEvent;
+
     private final SessionManager sessionManager;
 
     private String oldLocalPart;
@@ -63,8 +66,10 @@ public class PropertiesPanelNotifier {
 
     @Inject
     public PropertiesPanelNotifier(final Event<RefreshFormPropertiesEvent> refreshFormPropertiesEvent,
+                                   final Event<InvalidateValidationEvent> invalidateValidationEvent,
                                    final SessionManager sessionManager) {
         this.refreshFormPropertiesEvent = refreshFormPropertiesEvent;
+        this.invalidateValidationEvent = invalidateValidationEvent;
         this.sessionManager = sessionManager;
     }
 
@@ -131,9 +136,16 @@ public class PropertiesPanelNotifier {
         if (isOutdated) {
             elementTypeRef.setTypeRef(newQName);
             refreshFormProperties(node);
+            invalidateValidation(node);
         }
     }
 
+    void invalidateValidation(final Node node) {
+        // The type reference is not updated by a command, so the validation results for the node are not refreshed.
+        getCurrentSession().ifPresent(session -> invalidateValidationEvent.fire(new InvalidateValidationEvent(session.getCanvasHandler(),
+                                                                                                              node)));
+    }
+
     void refreshFormProperties(final Node node) {
 
         final ClientSession currentSession = getCurrentSession().orElseThrow(UnsupportedOperationException::new);
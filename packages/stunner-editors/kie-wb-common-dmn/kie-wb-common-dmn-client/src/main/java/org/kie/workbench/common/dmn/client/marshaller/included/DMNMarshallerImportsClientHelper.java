@@ -21,10 +21,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -71,6 +73,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     private final DMNMarshallerImportsContentService dmnImportsContentService;
     private final Promises promises;
     private final DMNIncludedNodeFactory includedModelFactory;
+    private final DMNMarshallerImportsIndex importsIndex;
 
     private static final Logger LOGGER = Logger.getLogger(DMNMarshallerImportsClientHelper.class.getName());
 
@@ -78,17 +81,19 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     public DMNMarshallerImportsClientHelper(final DMNMarshallerImportsService dmnImportsService,
                                             final DMNMarshallerImportsContentService dmnImportsContentService,
                                             final Promises promises,
-                                            final DMNIncludedNodeFactory includedModelFactory) {
+                                            final DMNIncludedNodeFactory includedModelFactory,
+                                            final DMNMarshallerImportsIndex importsIndex) {
         this.dmnImportsService = dmnImportsService;
         this.dmnImportsContentService = dmnImportsContentService;
         this.promises = promises;
         this.includedModelFactory = includedModelFactory;
+        this.importsIndex = importsIndex;
     }
 
     public Promise<Map<JSITImport, JSITDefinitions>> getImportDefinitionsAsync(final Metadata metadata,
                                                                                final List<JSITImport> imports) {
         if (!imports.isEmpty()) {
-            return loadDMNDefinitions().then(otherDefinitions -> {
+            return loadDMNDefinitions(getNamespaces(imports)).then(otherDefinitions -> {
                 final Map<JSITImport, JSITDefinitions> importDefinitions = new HashMap<>();
                 for (final Map.Entry<String, JSITDefinitions> entry : otherDefinitions.entrySet()) {
                     final JSITDefinitions def = Js.uncheckedCast(entry.getValue());
@@ -106,15 +111,24 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
         return promises.resolve(Collections.emptyMap());
     }
 
-    private Promise<Map<String, JSITDefinitions>> loadDMNDefinitions() {
-        return dmnImportsContentService.getModelsDMNFilesURIs()
-                .then(list -> {
-                    if (list.length == 0) {
+    private Set<String> getNamespaces(final List<JSITImport> imports) {
+        final Set<String> namespaces = new HashSet<>();
+        for (int i = 0; i < imports.size(); i++) {
+            final JSITImport anImport = Js.uncheckedCast(imports.get(i));
+            namespaces.add(anImport.getNamespace());
+        }
+        return namespaces;
+    }
+
+    private Promise<Map<String, JSITDefinitions>> loadDMNDefinitions(final Set<String> namespaces) {
+        return loadDMNFiles(namespaces)
+                .then(files -> {
+                    if (files.isEmpty()) {
                         return promises.resolve(Collections.emptyMap());
                     } else {
                         final Map<String, JSITDefinitions> otherDefinitions = new ConcurrentHashMap<>();
-                        return promises.all(Arrays.asList(list),
-                                            (String file) -> loadDefinitionFromFile(file, otherDefinitions))
+                        return promises.all(new ArrayList<>(files.entrySet()),
+                                            (Map.Entry<String, String> file) -> loadDefinitionFromXML(file.getKey(), file.getValue(), otherDefinitions))
                                 .then(v -> promises.resolve(otherDefinitions))
                                 .catch_(error -> {
                                     LOGGER.severe(error::toString);
@@ -127,14 +141,76 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
                 });
     }
 
+    /**
+     * Loads the content of the DMN files declaring any of the given namespaces, using the {@link DMNMarshallerImportsIndex}
+     * to skip the files known to declare other namespaces. Only when a namespace cannot be found amongst the new and the
+     * matching files are the remaining ones loaded again, since their content may have changed since they were indexed.
+     */
+    private Promise<Map<String, String>> loadDMNFiles(final Set<String> namespaces) {
+        return dmnImportsContentService.getModelsDMNFilesURIs()
+                .then(list -> {
+                    final List<String> files = Arrays.asList(list);
+                    final Map<String, String> contents = new ConcurrentHashMap<>();
+                    importsIndex.retainDMNFiles(files);
+                    if (files.isEmpty() || namespaces.isEmpty()) {
+                        return promises.resolve(contents);
+                    }
+                    final Set<String> candidates = files.stream()
+                            .filter(file -> !importsIndex.isDMNFileIndexed(file) || isIndexedWithNamespace(file, namespaces))
+                            .collect(Collectors.toSet());
+                    return indexDMNFiles(new ArrayList<>(candidates), namespaces, contents)
+                            .then(v -> {
+                                if (areNamespacesLoaded(namespaces, contents)) {
+                                    return promises.resolve(contents);
+                                }
+                                final List<String> others = files.stream()
+                                        .filter(file -> !candidates.contains(file))
+                                        .collect(Collectors.toList());
+                                return indexDMNFiles(others, namespaces, contents).then(w -> promises.resolve(contents));
+                            });
+                }).catch_(error -> {
+                    LOGGER.severe(error::toString);
+                    return promises.reject(error);
+                });
+    }
+
+    private Promise<Void> indexDMNFiles(final List<String> files,
+                                        final Set<String> namespaces,
+                                        final Map<String, String> contents) {
+        return promises.all(files, file -> dmnImportsContentService.loadFile(file)
+                .then(xml -> {
+                    final Optional<String> namespace = importsIndex.indexDMNFile(file, xml);
+                    if (!isEmpty(xml) && namespace.isPresent() && namespaces.contains(namespace.get())) {
+                        contents.put(file, xml);
+                    }
+                    return promises.<Void>resolve();
+                }));
+    }
+
+    private boolean isIndexedWithNamespace(final String file,
+                                           final Set<String> namespaces) {
+        return importsIndex.getDMNNamespace(file).map(namespaces::contains).orElse(false);
+    }
+
+    private boolean areNamespacesLoaded(final Set<String> namespaces,
+                                        final Map<String, String> contents) {
+        final Set<String> loaded = contents.keySet().stream()
+                .map(importsIndex::getDMNNamespace)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toSet());
+        return loaded.containsAll(namespaces);
+    }
+
     public void loadNodesFromModels(final List<DMNIncludedModel> includedModels,
                                     final ServiceCallback<List<DMNIncludedNode>> callback) {
         final List<DMNIncludedNode> result = new ArrayList<>();
         if (includedModels.isEmpty()) {
             callback.onSuccess(result);
         } else {
-            loadDMNDefinitions()
-                    .then(existingDefinitions -> promises.all(includedModels, model -> loadNodes(existingDefinitions, model, result))
+            final Set<String> namespaces = includedModels.stream().map(DMNIncludedModel::getNamespace).collect(Collectors.toSet());
+            loadDMNFiles(namespaces)
+                    .then(files -> promises.all(includedModels, model -> loadNodes(files, model, result))
                             .then(p -> {
                                 callback.onSuccess(result);
                                 return promises.resolve();
@@ -149,46 +225,41 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
         }
     }
 
-    private Promise<List<DMNIncludedNode>> loadNodes(final Map<String, JSITDefinitions> existingDefinitions,
+    private Promise<List<DMNIncludedNode>> loadNodes(final Map<String, String> files,
                                                      final DMNIncludedModel model,
                                                      final List<DMNIncludedNode> result) {
-        String filePath = "";
-        for (final Map.Entry<String, JSITDefinitions> entry : existingDefinitions.entrySet()) {
-            filePath = entry.getKey();
-            final JSITDefinitions definitions = Js.uncheckedCast(entry.getValue());
-            if (Objects.equals(model.getNamespace(), definitions.getNamespace())) {
-                break;
-            }
-        }
+        final Optional<String> filePath = files.keySet().stream()
+                .filter(file -> Objects.equals(model.getNamespace(), importsIndex.getDMNNamespace(file).orElse(null)))
+                .findFirst();
 
-        if (isEmpty(filePath)) {
+        if (!filePath.isPresent()) {
             return promises.resolve();
         }
 
-        final String path = filePath;
-        return dmnImportsContentService.loadFile(path)
-                .then(content -> promises.create((success, fail) ->
-                                                         dmnImportsService.getDRGElements(content, new ServiceCallback<List<DRGElement>>() {
-                                                             @Override
-                                                             public void onSuccess(final List<DRGElement> drgElements) {
-                                                                 final List<DMNIncludedNode> nodes = drgElements
-                                                                         .stream()
-                                                                         .map(node -> includedModelFactory.makeDMNIncludeNode(path, model, node))
-                                                                         .collect(Collectors.toList());
-                                                                 result.addAll(nodes);
-                                                                 success.onInvoke(nodes);
-                                                             }
-
-                                                             @Override
-                                                             public void onError(final ClientRuntimeError error) {
-                                                                 LOGGER.severe(error::getMessage);
-                                                                 fail.onInvoke(error);
-                                                             }
-                                                         })
-                )).catch_(error -> {
-                    LOGGER.severe(error::toString);
-                    return promises.reject(error);
-                });
+        final String path = filePath.get();
+        final String content = files.get(path);
+        return promises.<List<DMNIncludedNode>>create((success, fail) ->
+                                                              dmnImportsService.getDRGElements(content, new ServiceCallback<List<DRGElement>>() {
+                                                                  @Override
+                                                                  public void onSuccess(final List<DRGElement> drgElements) {
+                                                                      final List<DMNIncludedNode> nodes = drgElements
+                                                                              .stream()
+                                                                              .map(node -> includedModelFactory.makeDMNIncludeNode(path, model, node))
+                                                                              .collect(Collectors.toList());
+                                                                      result.addAll(nodes);
+                                                                      success.onInvoke(nodes);
+                                                                  }
+
+                                                                  @Override
+                                                                  public void onError(final ClientRuntimeError error) {
+                                                                      LOGGER.severe(error::getMessage);
+                                                                      fail.onInvoke(error);
+                                                                  }
+                                                              })
+        ).catch_(error -> {
+            LOGGER.severe(error::toString);
+            return promises.reject(error);
+        });
     }
 
     public void loadModels(final ServiceCallback<List<IncludedModel>> callback) {
@@ -255,20 +326,13 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
                 });
     }
 
-    private Promise<Void> loadDefinitionFromFile(final String file,
-                                                 final Map<String, JSITDefinitions> otherDefinitions) {
-        return dmnImportsContentService.loadFile(file)
-                .then(xml -> promises.create((success, failure) -> {
-                    if (!isEmpty(xml)) {
-                        final ServiceCallback<JSITDefinitions> callback = Js.uncheckedCast(getCallback(file, otherDefinitions, success));
-                        dmnImportsService.getDMNDefinitions(xml, callback);
-                    } else {
-                        success.onInvoke(promises.resolve());
-                    }
-                })).catch_(error -> {
-                    LOGGER.severe(error::toString);
-                    return promises.reject(error);
-                });
+    private Promise<Void> loadDefinitionFromXML(final String file,
+                                                final String xml,
+                                                final Map<String, JSITDefinitions> otherDefinitions) {
+        return promises.create((success, failure) -> {
+            final ServiceCallback<JSITDefinitions> callback = Js.uncheckedCast(getCallback(file, otherDefinitions, success));
+            dmnImportsService.getDMNDefinitions(xml, callback);
+        });
     }
 
     private ServiceCallback<Object> getCallback(final String filePath,
@@ -314,7 +378,12 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     public Promise<Map<JSITImport, PMMLDocumentMetadata>> getPMMLDocumentsAsync(final Metadata metadata,
                                                                                 final List<JSITImport> imports) {
         if (!imports.isEmpty()) {
-            return loadPMMLDefinitions()
+            final Set<String> fileNames = new HashSet<>();
+            for (int i = 0; i < imports.size(); i++) {
+                final JSITImport anImport = Js.uncheckedCast(imports.get(i));
+                fileNames.add(anImport.getLocationURI());
+            }
+            return loadPMMLDefinitions(fileNames)
                     .then(otherDefinitions -> {
                         final Map<JSITImport, PMMLDocumentMetadata> importDefinitions = new HashMap<>();
 
@@ -335,15 +404,19 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
         return promises.resolve(Collections.emptyMap());
     }
 
-    private Promise<Map<String, PMMLDocumentMetadata>> loadPMMLDefinitions() {
+    private Promise<Map<String, PMMLDocumentMetadata>> loadPMMLDefinitions(final Set<String> fileNames) {
         return dmnImportsContentService.getModelsPMMLFilesURIs().
                 then(files -> {
-                    if (files.length == 0) {
+                    importsIndex.retainPMMLFiles(Arrays.asList(files));
+                    final List<String> includedFiles = Arrays.stream(files)
+                            .filter(file -> fileNames.contains(FileUtils.getFileName(file)))
+                            .collect(Collectors.toList());
+                    if (includedFiles.isEmpty()) {
                         return promises.resolve(Collections.emptyMap());
                     } else {
                         final Map<String, PMMLDocumentMetadata> definitions = new HashMap<>();
-                        return promises.all(Arrays.asList(files), file -> loadPMMLDefinitionFromFile(file, definitions)
-                                .then(v -> promises.resolve(definitions)))
+                        return promises.all(includedFiles, file -> loadPMMLDefinitionFromFile(file, definitions))
+                                .then(v -> promises.resolve(definitions))
                                 .catch_(error -> {
                                     LOGGER.severe(error::toString);
                                     return promises.reject(error);
@@ -357,10 +430,19 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
 
     private Promise<Void> loadPMMLDefinitionFromFile(final String file,
                                                      final Map<String, PMMLDocumentMetadata> definitions) {
-        return dmnImportsContentService.getPMMLDocumentMetadata(file)
-                .then(pmmlDocumentMetadata -> {
-                    definitions.put(file, pmmlDocumentMetadata);
-                    return promises.resolve();
+        return dmnImportsContentService.loadFile(file)
+                .then(content -> {
+                    final Optional<PMMLDocumentMetadata> indexed = importsIndex.getPMMLDocumentMetadata(file, content);
+                    if (indexed.isPresent()) {
+                        definitions.put(file, indexed.get());
+                        return promises.<Void>resolve();
+                    }
+                    return dmnImportsContentService.getPMMLDocumentMetadata(file)
+                            .then(pmmlDocumentMetadata -> {
+                                importsIndex.indexPMMLFile(file, content, pmmlDocumentMetadata);
+                                definitions.put(file, pmmlDocumentMetadata);
+                                return promises.<Void>resolve();
+                            });
                 }).catch_(error -> {
                     LOGGER.severe(error::toString);
                     return promises.reject(error);
@@ -489,7 +571,8 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
             callback.onSuccess(Collections.emptyList());
             return;
         }
-        loadPMMLDefinitions()
+        final Set<String> fileNames = includedModels.stream().map(PMMLIncludedModel::getPath).collect(Collectors.toSet());
+        loadPMMLDefinitions(fileNames)
                 .then(allDefinitions -> {
                     final Map<String, String> filesToNameMap = includedModels.stream().collect(Collectors.toMap(PMMLIncludedModel::getPath,
                                                                                                                 PMMLIncludedModel::getModelName));
@@ -512,7 +595,7 @@ public class DMNMarshallerImportsClientHelper implements DMNMarshallerImportsHel
     public void getImportedItemDefinitionsByNamespaceAsync(final String modelName,
                                                            final String namespace,
                                                            final ServiceCallback<List<ItemDefinition>> callback) {
-        loadDMNDefinitions()
+        loadDMNDefinitions(Collections.singleton(namespace))
                 .then(definitions -> {
                     final List<ItemDefinition> result = new ArrayList<>();
                     for (final Map.Entry<String, JSITDefinitions> entry : definitions.entrySet()) {
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.client.marshaller.included;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.kie.workbench.common.dmn.api.editors.included.PMMLDocumentMetadata;
+
+/**
+ * Application wide index of the DMN and PMML models available for inclusion.
+ * <p>
+ * DMN files are indexed by the namespace declared on their root {@code definitions} element, which is extracted
+ * with a plain text scan rather than a full unmarshall. PMML files keep their {@link PMMLDocumentMetadata}. Every
+ * entry remembers the content it was built from, so a file is only re-indexed when its content changes. The content
+ * is compared in full, so an entry is never reused for different content with the same hash.
+ * Parsed DMN definitions are intentionally not kept: the imports helper rewrites them in place while unmarshalling.
+ */
+@ApplicationScoped
+public class DMNMarshallerImportsIndex {
+
+    private static final String DEFINITIONS = "definitions";
+
+    private static final String NAMESPACE = "namespace";
+
+    private final Map<String, DMNEntry> dmnEntries = new HashMap<>();
+
+    private final Map<String, Set<String>> dmnPathsByNamespace = new HashMap<>();
+
+    private final Map<String, PMMLEntry> pmmlEntries = new HashMap<>();
+
+    /**
+     * Drops the DMN entries of the files that are not present any more.
+     * @param paths The paths of the DMN files currently available.
+     */
+    public void retainDMNFiles(final Collection<String> paths) {
+        final Set<String> available = new HashSet<>(paths);
+        final Iterator<Map.Entry<String, DMNEntry>> iterator = dmnEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, DMNEntry> entry = iterator.next();
+            if (!available.contains(entry.getKey())) {
+                unindexNamespace(entry.getKey(), entry.getValue().namespace);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops the PMML entries of the files that are not present any more.
+     * @param paths The paths of the PMML files currently available.
+     */
+    public void retainPMMLFiles(final Collection<String> paths) {
+        pmmlEntries.keySet().retainAll(new HashSet<>(paths));
+    }
+
+    public boolean isDMNFileIndexed(final String path) {
+        return dmnEntries.containsKey(path);
+    }
+
+    /**
+     * Indexes the content of a DMN file. The namespace is only extracted again when the content has changed.
+     * @param path The path of the DMN file.
+     * @param content The content of the DMN file.
+     * @return The namespace declared by the file, if any.
+     */
+    public Optional<String> indexDMNFile(final String path,
+                                         final String content) {
+        final DMNEntry existing = dmnEntries.get(path);
+        if (existing != null && Objects.equals(existing.content, content)) {
+            return Optional.ofNullable(existing.namespace);
+        }
+        if (existing != null) {
+            unindexNamespace(path, existing.namespace);
+        }
+        final String namespace = extractNamespace(content).orElse(null);
+        dmnEntries.put(path, new DMNEntry(content, namespace));
+        if (namespace != null) {
+            dmnPathsByNamespace.computeIfAbsent(namespace, ns -> new HashSet<>()).add(path);
+        }
+        return Optional.ofNullable(namespace);
+    }
+
+    public Optional<String> getDMNNamespace(final String path) {
+        final DMNEntry entry = dmnEntries.get(path);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.namespace);
+    }
+
+    public Set<String> getDMNFiles(final String namespace) {
+        final Set<String> paths = dmnPathsByNamespace.get(namespace);
+        return paths == null ? Collections.emptySet() : new HashSet<>(paths);
+    }
+
+    /**
+     * Looks up the {@link PMMLDocumentMetadata} built from the given content of a PMML file.
+     * @param path The path of the PMML file.
+     * @param content The current content of the PMML file.
+     * @return The cached metadata, or empty if the file was not indexed or its content has changed.
+     */
+    public Optional<PMMLDocumentMetadata> getPMMLDocumentMetadata(final String path,
+                                                                  final String content) {
+        final PMMLEntry entry = pmmlEntries.get(path);
+        if (entry != null && Objects.equals(entry.content, content)) {
+            return Optional.of(entry.metadata);
+        }
+        return Optional.empty();
+    }
+
+    public void indexPMMLFile(final String path,
+                              final String content,
+                              final PMMLDocumentMetadata metadata) {
+        pmmlEntries.put(path, new PMMLEntry(content, metadata));
+    }
+
+    public void invalidate(final String path) {
+        final DMNEntry entry = dmnEntries.remove(path);
+        if (entry != null) {
+            unindexNamespace(path, entry.namespace);
+        }
+        pmmlEntries.remove(path);
+    }
+
+    public void clear() {
+        dmnEntries.clear();
+        dmnPathsByNamespace.clear();
+        pmmlEntries.clear();
+    }
+
+    private void unindexNamespace(final String path,
+                                  final String namespace) {
+        final Set<String> paths = dmnPathsByNamespace.get(namespace);
+        if (paths != null) {
+            paths.remove(path);
+            if (paths.isEmpty()) {
+                dmnPathsByNamespace.remove(namespace);
+            }
+        }
+    }
+
+    /**
+     * Extracts the {@code namespace} attribute of the root {@code definitions} element, whatever its prefix.
+     * @param xml The DMN XML.
+     * @return The namespace, or empty if the XML does not declare one.
+     */
+    static Optional<String> extractNamespace(final String xml) {
+        if (xml == null) {
+            return Optional.empty();
+        }
+        int start = xml.indexOf('<');
+        while (start >= 0 && start + 1 < xml.length()) {
+            final char next = xml.charAt(start + 1);
+            if (next == '?' || next == '!') {
+                start = xml.indexOf('<', start + 1);
+                continue;
+            }
+            final int end = xml.indexOf('>', start);
+            if (end < 0) {
+                return Optional.empty();
+            }
+            final String tag = xml.substring(start + 1, end);
+            if (!DEFINITIONS.equals(getLocalName(tag))) {
+                return Optional.empty();
+            }
+            return getAttribute(tag, NAMESPACE);
+        }
+        return Optional.empty();
+    }
+
+    private static String getLocalName(final String tag) {
+        int nameEnd = 0;
+        while (nameEnd < tag.length() && !isNameEnd(tag.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        final String name = tag.substring(0, nameEnd);
+        return name.substring(name.indexOf(':') + 1);
+    }
+
+    private static boolean isNameEnd(final char c) {
+        return Character.isWhitespace(c) || c == '/' || c == '>';
+    }
+
+    private static Optional<String> getAttribute(final String tag,
+                                                 final String attribute) {
+        int index = tag.indexOf(attribute);
+        while (index >= 0) {
+            int cursor = index + attribute.length();
+            if (index > 0 && Character.isWhitespace(tag.charAt(index - 1))) {
+                while (cursor < tag.length() && Character.isWhitespace(tag.charAt(cursor))) {
+                    cursor++;
+                }
+                if (cursor < tag.length() && tag.charAt(cursor) == '=') {
+                    cursor++;
+                    while (cursor < tag.length() && Character.isWhitespace(tag.charAt(cursor))) {
+                        cursor++;
+                    }
+                    if (cursor < tag.length()) {
+                        final char quote = tag.charAt(cursor);
+                        final int valueEnd = tag.indexOf(quote, cursor + 1);
+                        if ((quote == '"' || quote == '\'') && valueEnd > cursor) {
+                            return Optional.of(unescape(tag.substring(cursor + 1, valueEnd)));
+                        }
+                    }
+                    return Optional.empty();
+                }
+            }
+            index = tag.indexOf(attribute, index + 1);
+        }
+        return Optional.empty();
+    }
+
+    private static String unescape(final String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    private static class DMNEntry {
+
+        private final String content;
+        private final String namespace;
+
+        private DMNEntry(final String content,
+                         final String namespace) {
+            this.content = content;
+            this.namespace = namespace;
+        }
+    }
+
+    private static class PMMLEntry {
+
+        private final String content;
+        private final PMMLDocumentMetadata metadata;
+
+        private PMMLEntry(final String content,
+                          final PMMLDocumentMetadata metadata) {
+            this.content = content;
+            this.metadata = metadata;
+        }
+    }
+}
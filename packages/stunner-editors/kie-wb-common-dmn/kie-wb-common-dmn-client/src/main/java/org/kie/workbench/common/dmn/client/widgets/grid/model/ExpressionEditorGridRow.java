@@ -41,6 +41,11 @@ public class ExpressionEditorGridRow extends BaseGridRow {
         this.defaultHeight = height;
     }
 
+    @Override
+    protected boolean hasDynamicHeight() {
+        return true;
+    }
+
     @Override
     public double getHeight() {
         long currentTimeMillis = log(LOGGER, " - Pre- ExpressionEditorGridRow.getHeight()");
@@ -26,6 +26,11 @@ public class LiteralExpressionGridRow extends BaseGridRow {
         super(DEFAULT_HEIGHT);
     }
 
+    @Override
+    protected boolean hasDynamicHeight() {
+        return true;
+    }
+
     @Override
     public double getHeight() {
         double height = DEFAULT_HEIGHT;
@@ -34,6 +34,7 @@ import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.CanvasSelectionEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.DomainObjectSelectionEvent;
 import org.kie.workbench.common.stunner.core.client.session.ClientSession;
+import org.kie.workbench.common.stunner.core.client.validation.canvas.InvalidateValidationEvent;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.domainobject.DomainObject;
 import org.kie.workbench.common.stunner.core.graph.Graph;
@@ -62,17 +63,23 @@ public class PropertiesPanelNotifierTest {
     @Mock
     private EventSourceMock<RefreshFormPropertiesEvent> refreshFormPropertiesEvent;
 
+    @Mock
+    private EventSourceMock<InvalidateValidationEvent> invalidateValidationEvent;
+
     @Mock
     private SessionManager sessionManager;
 
     @Captor
     private ArgumentCaptor<RefreshFormPropertiesEvent> propertiesEventArgumentCaptor;
 
+    @Captor
+    private ArgumentCaptor<InvalidateValidationEvent> invalidateValidationEventArgumentCaptor;
+
     private PropertiesPanelNotifier notifier;
 
     @Before
     public void setup() {
-        notifier = spy(new PropertiesPanelNotifier(refreshFormPropertiesEvent, sessionManager));
+        notifier = spy(new PropertiesPanelNotifier(refreshFormPropertiesEvent, invalidateValidationEvent, sessionManager));
     }
 
     @Test
@@ -192,6 +199,7 @@ public class PropertiesPanelNotifierTest {
         when(elementTypeRef.getTypeRef()).thenReturn(typeRef);
         when(typeRef.getLocalPart()).thenReturn(elementLocalPart);
         doNothing().when(notifier).refreshFormProperties(any());
+        doNothing().when(notifier).invalidateValidation(any());
 
         notifier.withOldLocalPart(oldLocalPart)
                 .withNewQName(newQName)
@@ -199,6 +207,7 @@ public class PropertiesPanelNotifierTest {
 
         verify(elementTypeRef).setTypeRef(newQName);
         verify(notifier).refreshFormProperties(node);
+        verify(notifier).invalidateValidation(node);
     }
 
     @Test
@@ -218,6 +227,7 @@ public class PropertiesPanelNotifierTest {
 
         verify(elementTypeRef, never()).setTypeRef(any());
         verify(notifier, never()).refreshFormProperties(any());
+        verify(notifier, never()).invalidateValidation(any());
     }
 
     @Test
@@ -239,6 +249,7 @@ public class PropertiesPanelNotifierTest {
 
         verify(elementTypeRef, never()).setTypeRef(any());
         verify(notifier, never()).refreshFormProperties(any());
+        verify(notifier, never()).invalidateValidation(any());
     }
 
     @Test
@@ -325,4 +336,24 @@ public class PropertiesPanelNotifierTest {
 
         verify(refreshFormPropertiesEvent, never()).fire(any());
     }
+
+    @Test
+    public void testInvalidateValidation() {
+
+        final Node node = mock(Node.class);
+        final ClientSession clientSession = mock(ClientSession.class);
+        final CanvasHandler canvasHandler = mock(CanvasHandler.class);
+
+        when(clientSession.getCanvasHandler()).thenReturn(canvasHandler);
+        when(sessionManager.getCurrentSession()).thenReturn(clientSession);
+
+        notifier.invalidateValidation(node);
+
+        verify(invalidateValidationEvent).fire(invalidateValidationEventArgumentCaptor.capture());
+
+        final InvalidateValidationEvent value = invalidateValidationEventArgumentCaptor.getValue();
+
+        assertEquals(canvasHandler, value.getCanvasHandler());
+        assertEquals(node, value.getElement());
+    }
 }
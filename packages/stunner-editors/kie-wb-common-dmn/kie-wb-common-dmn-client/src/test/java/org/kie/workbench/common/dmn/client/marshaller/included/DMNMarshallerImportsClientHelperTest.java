@@ -30,6 +30,7 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.dmn.api.editors.included.IncludedModel;
 import org.kie.workbench.common.dmn.api.editors.included.PMMLDocumentMetadata;
 import org.kie.workbench.common.dmn.api.editors.included.PMMLIncludedModel;
+import org.kie.workbench.common.dmn.webapp.kogito.marshaller.js.model.dmn12.JSITDefinitions;
 import org.kie.workbench.common.dmn.webapp.kogito.marshaller.js.model.dmn12.JSITImport;
 import org.kie.workbench.common.stunner.core.client.service.ServiceCallback;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -47,6 +48,7 @@ import static org.junit.Assert.fail;
 import static org.kie.workbench.common.dmn.api.editors.included.DMNImportTypes.PMML;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -85,6 +87,13 @@ public class DMNMarshallerImportsClientHelperTest {
     private static final String DMN_PATH = "dmntest/" + DMN_FILE;
     private static final String DMN_CONTENT = "<xml> xml DMN content </xml>";
 
+    private static final String IMPORTED_DMN_PATH = "dmntest/imported.dmn";
+    private static final String IMPORTED_DMN_NAMESPACE = "https://kiegroup.org/dmn/imported";
+    private static final String IMPORTED_DMN_CONTENT = "<dmn:definitions xmlns:dmn=\"http://www.omg.org/spec/DMN/20180521/MODEL/\" " +
+            "namespace=\"" + IMPORTED_DMN_NAMESPACE + "\" name=\"imported\"/>";
+    private static final String OTHER_DMN_PATH = "dmntest/other.dmn";
+    private static final String OTHER_DMN_CONTENT = "<definitions namespace=\"https://kiegroup.org/dmn/other\" name=\"other\"/>";
+
     private static final String PMML_MODEL_NAME = "model-test";
     private static final String PMML_FILE = "test-pmml.pmml";
     private static final String PMML_PATH = "dmnpmml/" + PMML_FILE;
@@ -103,7 +112,8 @@ public class DMNMarshallerImportsClientHelperTest {
         importsHelper = new DMNMarshallerImportsClientHelper(dmnImportsService,
                                                              dmnImportsContentService,
                                                              promises,
-                                                             includedModelFactory);
+                                                             includedModelFactory,
+                                                             new DMNMarshallerImportsIndex());
     }
 
     @Test
@@ -235,4 +245,86 @@ public class DMNMarshallerImportsClientHelperTest {
         assertEquals(PMML.getDefaultNamespace(), pmmlDocumentMetadataArgumentCaptor.getValue().get(0).getImportType());
         assertTrue(pmmlDocumentMetadataArgumentCaptor.getValue().get(0).getModels().isEmpty());
     }
+
+    @Test
+    public void getImportDefinitionsAsyncParsesOnlyImportedFiles() {
+        final JSITImport jsImportMock = mockDMNImport();
+        final JSITDefinitions definitions = mockDMNDefinitions();
+
+        importsHelper.getImportDefinitionsAsync(metadataMock, singletonList(jsImportMock)).then(def -> {
+            assertEquals(1, def.size());
+            assertEquals(definitions, def.get(jsImportMock));
+            return promises.resolve();
+        }).catch_(i -> {
+            fail("Promise should've been resolved!");
+            return promises.resolve();
+        });
+
+        verify(dmnImportsService).getDMNDefinitions(eq(IMPORTED_DMN_CONTENT), any());
+        verify(dmnImportsService, never()).getDMNDefinitions(eq(OTHER_DMN_CONTENT), any());
+    }
+
+    @Test
+    public void getImportDefinitionsAsyncSkipsIndexedFiles() {
+        final JSITImport jsImportMock = mockDMNImport();
+        mockDMNDefinitions();
+
+        importsHelper.getImportDefinitionsAsync(metadataMock, singletonList(jsImportMock));
+        importsHelper.getImportDefinitionsAsync(metadataMock, singletonList(jsImportMock));
+
+        verify(dmnImportsContentService, times(2)).loadFile(IMPORTED_DMN_PATH);
+        verify(dmnImportsContentService, times(1)).loadFile(OTHER_DMN_PATH);
+        verify(dmnImportsService, times(2)).getDMNDefinitions(eq(IMPORTED_DMN_CONTENT), any());
+    }
+
+    @Test
+    public void getPMMLDocumentsAsyncSkipsIndexedFiles() {
+        final PMMLDocumentMetadata pmmlDocumentMetadata = new PMMLDocumentMetadata(PMML_PATH,
+                                                                                   PMML_FILE,
+                                                                                   PMML.getDefaultNamespace(),
+                                                                                   Collections.emptyList());
+        final String otherPMMLPath = "dmnpmml/other.pmml";
+
+        when(dmnImportsContentService.getModelsPMMLFilesURIs()).thenReturn(promises.resolve(new String[]{PMML_PATH, otherPMMLPath}));
+        when(dmnImportsContentService.loadFile(PMML_PATH)).thenReturn(promises.resolve(PMML_CONTENT));
+        doReturn(promises.resolve(pmmlDocumentMetadata)).when(dmnImportsContentService).getPMMLDocumentMetadata(PMML_PATH);
+
+        final JSITImport jsImportMock = mock(JSITImport.class);
+        when(jsImportMock.getLocationURI()).thenReturn(PMML_FILE);
+
+        importsHelper.getPMMLDocumentsAsync(metadataMock, singletonList(jsImportMock));
+        importsHelper.getPMMLDocumentsAsync(metadataMock, singletonList(jsImportMock)).then(def -> {
+            assertEquals(1, def.size());
+            assertEquals(pmmlDocumentMetadata, def.get(jsImportMock));
+            return promises.resolve();
+        }).catch_(i -> {
+            fail("Promise should've been resolved!");
+            return promises.resolve();
+        });
+
+        verify(dmnImportsContentService, times(1)).getPMMLDocumentMetadata(PMML_PATH);
+        verify(dmnImportsContentService, never()).loadFile(otherPMMLPath);
+        verify(dmnImportsContentService, never()).getPMMLDocumentMetadata(otherPMMLPath);
+    }
+
+    private JSITImport mockDMNImport() {
+        when(dmnImportsContentService.getModelsDMNFilesURIs()).thenReturn(promises.resolve(new String[]{OTHER_DMN_PATH, IMPORTED_DMN_PATH}));
+        when(dmnImportsContentService.loadFile(IMPORTED_DMN_PATH)).thenReturn(promises.resolve(IMPORTED_DMN_CONTENT));
+        when(dmnImportsContentService.loadFile(OTHER_DMN_PATH)).thenReturn(promises.resolve(OTHER_DMN_CONTENT));
+
+        final JSITImport jsImportMock = mock(JSITImport.class);
+        when(jsImportMock.getNamespace()).thenReturn(IMPORTED_DMN_NAMESPACE);
+        return jsImportMock;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSITDefinitions mockDMNDefinitions() {
+        final JSITDefinitions definitions = mock(JSITDefinitions.class);
+        when(definitions.getNamespace()).thenReturn(IMPORTED_DMN_NAMESPACE);
+        doAnswer(invocation -> {
+            ((ServiceCallback<Object>) invocation.getArgument(1)).onSuccess(definitions);
+            return null;
+        }).when(dmnImportsService).getDMNDefinitions(eq(IMPORTED_DMN_CONTENT), any());
+        return definitions;
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.dmn.client.marshaller.included;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.dmn.api.editors.included.PMMLDocumentMetadata;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.kie.workbench.common.dmn.api.editors.included.DMNImportTypes.PMML;
+
+public class DMNMarshallerImportsIndexTest {
+
+    private static final String DMN_PATH_1 = "dmntest/model1.dmn";
+    private static final String DMN_PATH_2 = "dmntest/model2.dmn";
+    private static final String NAMESPACE_1 = "https://kiegroup.org/dmn/model1";
+    private static final String NAMESPACE_2 = "https://kiegroup.org/dmn/model2";
+
+    private static final String PMML_PATH = "dmnpmml/test-pmml.pmml";
+
+    private DMNMarshallerImportsIndex index;
+
+    @Before
+    public void setup() {
+        index = new DMNMarshallerImportsIndex();
+    }
+
+    @Test
+    public void testExtractNamespace() {
+        assertEquals(NAMESPACE_1, DMNMarshallerImportsIndex.extractNamespace(dmn("dmn:", NAMESPACE_1)).get());
+        assertEquals(NAMESPACE_1, DMNMarshallerImportsIndex.extractNamespace(dmn("", NAMESPACE_1)).get());
+        assertEquals("urn:a&b", DMNMarshallerImportsIndex.extractNamespace("<definitions name='a' namespace = 'urn:a&amp;b'/>").get());
+        assertFalse(DMNMarshallerImportsIndex.extractNamespace("<definitions xmlns=\"urn:x\" name=\"a\">").isPresent());
+        assertFalse(DMNMarshallerImportsIndex.extractNamespace("<PMML xmlns=\"urn:x\" namespace=\"urn:y\">").isPresent());
+        assertFalse(DMNMarshallerImportsIndex.extractNamespace("").isPresent());
+        assertFalse(DMNMarshallerImportsIndex.extractNamespace(null).isPresent());
+    }
+
+    @Test
+    public void testIndexDMNFile() {
+        assertEquals(NAMESPACE_1, index.indexDMNFile(DMN_PATH_1, dmn("dmn:", NAMESPACE_1)).get());
+        assertEquals(NAMESPACE_1, index.indexDMNFile(DMN_PATH_2, dmn("", NAMESPACE_1)).get());
+
+        assertTrue(index.isDMNFileIndexed(DMN_PATH_1));
+        assertEquals(NAMESPACE_1, index.getDMNNamespace(DMN_PATH_1).get());
+        assertEquals(2, index.getDMNFiles(NAMESPACE_1).size());
+        assertTrue(index.getDMNFiles(NAMESPACE_2).isEmpty());
+    }
+
+    @Test
+    public void testIndexDMNFileWhenContentChanges() {
+        index.indexDMNFile(DMN_PATH_1, dmn("", NAMESPACE_1));
+        index.indexDMNFile(DMN_PATH_1, dmn("", NAMESPACE_2));
+
+        assertEquals(NAMESPACE_2, index.getDMNNamespace(DMN_PATH_1).get());
+        assertTrue(index.getDMNFiles(NAMESPACE_1).isEmpty());
+        assertEquals(singleton(DMN_PATH_1), index.getDMNFiles(NAMESPACE_2));
+    }
+
+    @Test
+    public void testIndexDMNFileWhenContentChangesWithSameHash() {
+        //"Aa" and "BB" have the same hash code and length
+        final String content1 = dmn("", "urn:Aa");
+        final String content2 = dmn("", "urn:BB");
+        assertEquals(content1.hashCode(), content2.hashCode());
+
+        index.indexDMNFile(DMN_PATH_1, content1);
+
+        assertEquals("urn:BB", index.indexDMNFile(DMN_PATH_1, content2).get());
+        assertTrue(index.getDMNFiles("urn:Aa").isEmpty());
+    }
+
+    @Test
+    public void testRetainDMNFiles() {
+        index.indexDMNFile(DMN_PATH_1, dmn("", NAMESPACE_1));
+        index.indexDMNFile(DMN_PATH_2, dmn("", NAMESPACE_2));
+
+        index.retainDMNFiles(asList(DMN_PATH_2, "dmntest/other.dmn"));
+
+        assertFalse(index.isDMNFileIndexed(DMN_PATH_1));
+        assertTrue(index.getDMNFiles(NAMESPACE_1).isEmpty());
+        assertTrue(index.isDMNFileIndexed(DMN_PATH_2));
+    }
+
+    @Test
+    public void testPMMLDocumentMetadata() {
+        final PMMLDocumentMetadata metadata = new PMMLDocumentMetadata(PMML_PATH,
+                                                                       PMML.getDefaultNamespace(),
+                                                                       Collections.emptyList());
+        index.indexPMMLFile(PMML_PATH, "<PMML/>", metadata);
+
+        assertSame(metadata, index.getPMMLDocumentMetadata(PMML_PATH, "<PMML/>").get());
+        assertFalse(index.getPMMLDocumentMetadata(PMML_PATH, "<PMML version=\"4.4\"/>").isPresent());
+
+        //"Aa" and "BB" have the same hash code and length
+        index.indexPMMLFile(PMML_PATH, "<PMML name=\"Aa\"/>", metadata);
+        assertFalse(index.getPMMLDocumentMetadata(PMML_PATH, "<PMML name=\"BB\"/>").isPresent());
+
+        index.retainPMMLFiles(Collections.emptyList());
+        assertFalse(index.getPMMLDocumentMetadata(PMML_PATH, "<PMML/>").isPresent());
+    }
+
+    @Test
+    public void testInvalidate() {
+        index.indexDMNFile(DMN_PATH_1, dmn("", NAMESPACE_1));
+
+        index.invalidate(DMN_PATH_1);
+
+        assertFalse(index.isDMNFileIndexed(DMN_PATH_1));
+        assertTrue(index.getDMNFiles(NAMESPACE_1).isEmpty());
+    }
+
+    private static String dmn(final String prefix,
+                              final String namespace) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<!-- A model -->\n" +
+                "<" + prefix + "definitions xmlns" + (prefix.isEmpty() ? "" : ":" + prefix.substring(0, prefix.length() - 1)) +
+                "=\"https://www.omg.org/spec/DMN/20180521/MODEL/\"\n" +
+                "    id=\"_1\" name=\"model\"\n" +
+                "    namespace=\"" + namespace + "\">\n" +
+                "  <" + prefix + "inputData id=\"_2\" name=\"input\"/>\n" +
+                "</" + prefix + "definitions>";
+    }
+}
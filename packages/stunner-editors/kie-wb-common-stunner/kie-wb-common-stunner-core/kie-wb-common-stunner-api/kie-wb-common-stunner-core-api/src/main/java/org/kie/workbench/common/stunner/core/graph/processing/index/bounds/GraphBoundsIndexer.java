@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
@@ -24,4 +25,21 @@ import org.kie.workbench.common.stunner.core.graph.content.view.View;
 public interface GraphBoundsIndexer extends NodeBoundsIndexer<Graph<View, Node<View, Edge>>> {
 
     GraphBoundsIndexer setRootUUID(final String uuid);
+
+    /**
+     * Refreshes the indexed bounds of the given node, and of its children, once it has been moved or resized.
+     * The index is kept across the builds for the same graph, so changes must be notified to this indexer.
+     */
+    GraphBoundsIndexer update(final Element<?> element);
+
+    /**
+     * Removes the given node, and its children, from the index.
+     */
+    GraphBoundsIndexer remove(final Element<?> element);
+
+    /**
+     * Discards the index, it's built again on next query. Used on structural changes, like adding
+     * or re-parenting nodes.
+     */
+    GraphBoundsIndexer invalidate();
 }
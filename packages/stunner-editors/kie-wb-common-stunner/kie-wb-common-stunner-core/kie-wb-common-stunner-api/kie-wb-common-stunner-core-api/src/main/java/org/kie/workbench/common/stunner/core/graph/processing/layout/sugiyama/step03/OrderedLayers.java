@@ -0,0 +1,292 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
+
+/**
+ * An int indexed view of the layers being ordered.
+ * Vertices and edges are resolved once into arrays, so the ordering steps do not have to look them up
+ * by id on every sweep. It also keeps the crossing count of each pair of adjacent layers, which is only
+ * recalculated when the order of one of both layers changes, and the best order found so far.
+ */
+final class OrderedLayers {
+
+    private static final int UNKNOWN = -1;
+
+    private final List<GraphLayer> layers;
+    private final List<OrientedEdge> edges;
+    private final HashMap<String, Integer> indexes;
+    private final Vertex[] vertices;
+    private final int[] layerOf;
+    private final int[] positions;
+    private final int[][] order;
+    private final int[][] connected;
+    private final int[] crossings;
+    private final int[][] best;
+    private final boolean[] changedSinceBest;
+
+    /**
+     * Default constructor.
+     * @param layers The layers with vertices.
+     * @param edges The edges connecting vertices.
+     */
+    OrderedLayers(final List<GraphLayer> layers,
+                  final List<OrientedEdge> edges) {
+        this.layers = layers;
+        this.edges = edges;
+
+        int count = 0;
+        for (final GraphLayer layer : layers) {
+            count += layer.getVertices().size();
+        }
+
+        this.vertices = new Vertex[count];
+        this.layerOf = new int[count];
+        this.positions = new int[count];
+        this.order = new int[layers.size()][];
+
+        this.indexes = new HashMap<>(count * 2);
+        int index = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            final List<Vertex> layerVertices = layers.get(i).getVertices();
+            order[i] = new int[layerVertices.size()];
+            for (int j = 0; j < layerVertices.size(); j++) {
+                final Vertex vertex = layerVertices.get(j);
+                vertices[index] = vertex;
+                layerOf[index] = i;
+                positions[index] = j;
+                order[i][j] = index;
+                indexes.putIfAbsent(vertex.getId(), index);
+                index++;
+            }
+        }
+
+        this.connected = createConnections(edges, indexes, count);
+        this.crossings = new int[Math.max(0, layers.size() - 1)];
+        Arrays.fill(crossings, UNKNOWN);
+        this.best = new int[layers.size()][];
+        this.changedSinceBest = new boolean[layers.size()];
+        for (int i = 0; i < layers.size(); i++) {
+            best[i] = order[i].clone();
+        }
+    }
+
+    /**
+     * Collects, for each vertex, the vertices in the other side of its edges. A vertex appears once for
+     * every edge, and edges whose other side is not in any layer are kept as {@link #UNKNOWN}.
+     */
+    private static int[][] createConnections(final List<OrientedEdge> edges,
+                                             final HashMap<String, Integer> indexes,
+                                             final int count) {
+        final int[] from = new int[edges.size()];
+        final int[] to = new int[edges.size()];
+        final int[] degree = new int[count];
+        for (int i = 0; i < edges.size(); i++) {
+            final OrientedEdge edge = edges.get(i);
+            from[i] = indexes.getOrDefault(edge.getFromVertexId(), UNKNOWN);
+            to[i] = indexes.getOrDefault(edge.getToVertexId(), UNKNOWN);
+            if (from[i] != UNKNOWN) {
+                degree[from[i]]++;
+            }
+            if (to[i] != UNKNOWN && to[i] != from[i]) {
+                degree[to[i]]++;
+            }
+        }
+
+        final int[][] connected = new int[count][];
+        for (int i = 0; i < count; i++) {
+            connected[i] = new int[degree[i]];
+        }
+        final int[] filled = new int[count];
+        for (int i = 0; i < edges.size(); i++) {
+            if (from[i] != UNKNOWN) {
+                connected[from[i]][filled[from[i]]++] = to[i];
+            }
+            if (to[i] != UNKNOWN && to[i] != from[i]) {
+                connected[to[i]][filled[to[i]]++] = from[i];
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * @return The layers being ordered. They only have the current order after {@link #apply()}.
+     */
+    List<GraphLayer> getLayers() {
+        return layers;
+    }
+
+    /**
+     * @return The edges connecting the vertices.
+     */
+    List<OrientedEdge> getEdges() {
+        return edges;
+    }
+
+    int size() {
+        return order.length;
+    }
+
+    /**
+     * @param layer The layer index.
+     * @return The vertices of the layer in their current order. Use {@link #swap(int, int)} or
+     * {@link #setOrder(int, int[])} to change it.
+     */
+    int[] getOrder(final int layer) {
+        return order[layer];
+    }
+
+    /**
+     * @param vertex The vertex index.
+     * @return The vertices connected to the vertex, one for each edge. {@link #UNKNOWN} for the ones not in any layer.
+     */
+    int[] getConnected(final int vertex) {
+        return connected[vertex];
+    }
+
+    /**
+     * @param vertex The vertex index, or {@link #UNKNOWN}.
+     * @param layer The layer index.
+     * @return The position of the vertex if it is inside the layer, otherwise -1.
+     */
+    int getPosition(final int vertex,
+                    final int layer) {
+        if (vertex == UNKNOWN || layerOf[vertex] != layer) {
+            return -1;
+        }
+        return positions[vertex];
+    }
+
+    Vertex getVertex(final int vertex) {
+        return vertices[vertex];
+    }
+
+    /**
+     * Swaps two vertices of a layer.
+     * @param layer The layer index.
+     * @param position The position of the first vertex, the second one is the next.
+     */
+    void swap(final int layer,
+              final int position) {
+        final int[] layerOrder = order[layer];
+        final int vertex = layerOrder[position];
+        layerOrder[position] = layerOrder[position + 1];
+        layerOrder[position + 1] = vertex;
+        positions[layerOrder[position]] = position;
+        positions[vertex] = position + 1;
+        changed(layer);
+    }
+
+    /**
+     * Replaces the order of a layer.
+     * @param layer The layer index.
+     * @param newOrder The vertices of the layer in the new order.
+     */
+    void setOrder(final int layer,
+                  final int[] newOrder) {
+        final int[] layerOrder = order[layer];
+        if (Arrays.equals(layerOrder, newOrder)) {
+            return;
+        }
+        System.arraycopy(newOrder, 0, layerOrder, 0, layerOrder.length);
+        for (int i = 0; i < layerOrder.length; i++) {
+            positions[layerOrder[i]] = i;
+        }
+        changed(layer);
+    }
+
+    private void changed(final int layer) {
+        changedSinceBest[layer] = true;
+        if (layer > 0) {
+            crossings[layer - 1] = UNKNOWN;
+        }
+        if (layer < crossings.length) {
+            crossings[layer] = UNKNOWN;
+        }
+    }
+
+    /**
+     * @param north The index of the north layer, the south one is the next.
+     * @return The last crossing count of both layers, or -1 if any of them has changed since then.
+     */
+    int getCrossing(final int north) {
+        return crossings[north];
+    }
+
+    void setCrossing(final int north,
+                     final int crossing) {
+        crossings[north] = crossing;
+    }
+
+    /**
+     * Keeps the current order as the best one. Only the layers changed since the last call are copied.
+     */
+    void saveBest() {
+        for (int i = 0; i < order.length; i++) {
+            if (changedSinceBest[i]) {
+                System.arraycopy(order[i], 0, best[i], 0, order[i].length);
+                changedSinceBest[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Goes back to the best order kept.
+     */
+    void restoreBest() {
+        for (int i = 0; i < order.length; i++) {
+            if (changedSinceBest[i]) {
+                setOrder(i, best[i]);
+                changedSinceBest[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Writes the current order in the layers.
+     */
+    void apply() {
+        for (int i = 0; i < order.length; i++) {
+            final List<Vertex> layerVertices = layers.get(i).getVertices();
+            for (int j = 0; j < order[i].length; j++) {
+                layerVertices.set(j, vertices[order[i][j]]);
+            }
+        }
+    }
+
+    /**
+     * Reads the current order from the layers, after they have been reordered by other means.
+     * The layers are expected to contain the same vertices.
+     */
+    void reload() {
+        for (int i = 0; i < order.length; i++) {
+            final List<Vertex> layerVertices = layers.get(i).getVertices();
+            final int[] newOrder = new int[order[i].length];
+            for (int j = 0; j < newOrder.length; j++) {
+                newOrder[j] = indexes.get(layerVertices.get(j).getId());
+            }
+            setOrder(i, newOrder);
+        }
+    }
+}
@@ -42,6 +42,20 @@ public interface GraphEvaluationState {
     interface CardinalityState {
 
         Iterable<Node> nodes();
+
+        /**
+         * Returns the number of nodes in this state having the given role.
+         * Implementations are expected to override it with an indexed lookup.
+         */
+        default int count(final String role) {
+            int count = 0;
+            for (final Node node : nodes()) {
+                if (null != node.getLabels() && node.getLabels().contains(role)) {
+                    count++;
+                }
+            }
+            return count;
+        }
     }
 
     interface ConnectorCardinalityState {
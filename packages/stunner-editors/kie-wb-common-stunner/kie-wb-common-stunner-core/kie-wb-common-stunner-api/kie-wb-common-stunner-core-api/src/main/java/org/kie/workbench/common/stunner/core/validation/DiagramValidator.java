@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.stunner.core.validation;
 
+import java.util.Collection;
+import java.util.function.Consumer;
+
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 
 /**
@@ -29,4 +32,15 @@ import org.kie.workbench.common.stunner.core.diagram.Diagram;
 public interface DiagramValidator<D extends Diagram, V extends ElementViolation>
         extends Validator<D, DiagramElementViolation<V>> {
 
+    /**
+     * Validates the <code>diagram</code> instance by evaluating again just the elements changed since the
+     * last validation, if supported by the implementation. Otherwise it performs a full validation.
+     * The <code>resultConsumer</code> is guaranteed to be called once validation finished
+     * and provides all the different violations, if any.
+     */
+    default void validateIncremental(final D diagram,
+                                     final Consumer<Collection<DiagramElementViolation<V>>> resultConsumer) {
+        validate(diagram,
+                 resultConsumer);
+    }
 }
@@ -31,6 +31,7 @@ import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler
 import org.kie.workbench.common.stunner.core.client.canvas.controls.AbstractCanvasHandlerControl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.ElementBuilderControl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.request.ElementBuildRequest;
+import org.kie.workbench.common.stunner.core.client.canvas.index.bounds.GraphBoundsIndexerCanvasListener;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommand;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandFactory;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManager;
@@ -76,6 +77,7 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     private final ClientTranslationMessages translationMessages;
     private final RuleManager ruleManager;
     private final GraphBoundsIndexer graphBoundsIndexer;
+    private final GraphBoundsIndexerCanvasListener graphBoundsIndexerListener;
     private RequiresCommandManager.CommandManagerProvider<AbstractCanvasHandler> commandManagerProvider;
 
     public AbstractElementBuilderControl(final ClientDefinitionManager clientDefinitionManager,
@@ -90,6 +92,7 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
         this.canvasCommandFactory = canvasCommandFactory;
         this.translationMessages = translationMessages;
         this.graphBoundsIndexer = graphBoundsIndexer;
+        this.graphBoundsIndexerListener = new GraphBoundsIndexerCanvasListener(graphBoundsIndexer);
     }
 
     @Override
@@ -211,10 +214,12 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
 
     @Override
     protected void doInit() {
+        graphBoundsIndexerListener.listen(canvasHandler);
     }
 
     @Override
     protected void doDestroy() {
+        graphBoundsIndexerListener.stopListening();
         graphBoundsIndexer.destroy();
         commandManagerProvider = null;
     }
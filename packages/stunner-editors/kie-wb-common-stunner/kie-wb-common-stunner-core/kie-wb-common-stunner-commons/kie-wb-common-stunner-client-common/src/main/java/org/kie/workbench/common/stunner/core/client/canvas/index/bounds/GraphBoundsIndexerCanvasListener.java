@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.client.canvas.index.bounds;
+
+import java.util.List;
+
+import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.listener.CanvasElementListener;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.GraphBoundsIndexer;
+
+/**
+ * Keeps a {@link GraphBoundsIndexer} in sync with the elements updated by the commands executed on a canvas handler.
+ */
+public class GraphBoundsIndexerCanvasListener implements CanvasElementListener {
+
+    private final GraphBoundsIndexer graphBoundsIndexer;
+    private AbstractCanvasHandler canvasHandler;
+
+    public GraphBoundsIndexerCanvasListener(final GraphBoundsIndexer graphBoundsIndexer) {
+        this.graphBoundsIndexer = graphBoundsIndexer;
+    }
+
+    public void listen(final AbstractCanvasHandler canvasHandler) {
+        if (this.canvasHandler != canvasHandler) {
+            stopListening();
+            this.canvasHandler = canvasHandler;
+            if (null != canvasHandler) {
+                canvasHandler.addRegistrationListener(this);
+            }
+            graphBoundsIndexer.invalidate();
+        }
+    }
+
+    public void stopListening() {
+        if (null != canvasHandler) {
+            canvasHandler.removeRegistrationListener(this);
+            canvasHandler = null;
+        }
+    }
+
+    @Override
+    public void register(final Element item) {
+        if (item instanceof Node) {
+            graphBoundsIndexer.invalidate();
+        }
+    }
+
+    @Override
+    public void deregister(final Element item) {
+        graphBoundsIndexer.remove(item);
+    }
+
+    @Override
+    public void update(final Element item) {
+        graphBoundsIndexer.update(item);
+    }
+
+    @Override
+    public void updateBatch(final List<Element> queue) {
+        queue.forEach(graphBoundsIndexer::update);
+    }
+
+    @Override
+    public void clear() {
+        graphBoundsIndexer.invalidate();
+    }
+}
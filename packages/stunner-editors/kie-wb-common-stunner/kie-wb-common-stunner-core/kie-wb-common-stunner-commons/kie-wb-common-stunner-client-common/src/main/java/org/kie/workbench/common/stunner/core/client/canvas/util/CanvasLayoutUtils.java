@@ -28,6 +28,7 @@ import com.google.gwt.user.client.Timer;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvas;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.event.selection.CanvasSelectionEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.index.bounds.GraphBoundsIndexerCanvasListener;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
@@ -69,12 +70,14 @@ public class CanvasLayoutUtils {
     static final int PADDING_Y = 40;
 
     private final GraphBoundsIndexer graphBoundsIndexer;
+    private final GraphBoundsIndexerCanvasListener graphBoundsIndexerListener;
 
     private Orientation orientation;
 
     @Inject
     public CanvasLayoutUtils(final GraphBoundsIndexer graphBoundsIndexer) {
         this.graphBoundsIndexer = graphBoundsIndexer;
+        this.graphBoundsIndexerListener = new GraphBoundsIndexerCanvasListener(graphBoundsIndexer);
         this.orientation = DEFAULT_NEW_NODE_ORIENTATION;
     }
 
@@ -108,6 +111,7 @@ public class CanvasLayoutUtils {
 
     @PreDestroy
     public void destroy() {
+        graphBoundsIndexerListener.stopListening();
         graphBoundsIndexer.destroy();
     }
 
@@ -245,6 +249,7 @@ public class CanvasLayoutUtils {
         checkNotNull("canvasHandler", canvasHandler);
         checkNotNull("root", root);
 
+        graphBoundsIndexerListener.listen(canvasHandler);
         graphBoundsIndexer.build(canvasHandler.getDiagram().getGraph());
 
         Element parentNode = GraphUtils.getParent(root.asNode());
@@ -53,9 +53,9 @@ public class ValidateSessionCommand extends AbstractClientSessionCommand<EditorS
     public <V> void execute(final Callback<V> callback) {
         Objects.requireNonNull(callback, "Parameter named 'callback' should be not null!");
         final AbstractCanvasHandler canvasHandler = getSession().getCanvasHandler();
-        validator.validate(canvasHandler,
-                           elementViolations -> fireCallback(elementViolations,
-                                                             callback));
+        validator.validateIncremental(canvasHandler,
+                                      elementViolations -> fireCallback(elementViolations,
+                                                                        callback));
     }
 
     @Override
@@ -17,10 +17,19 @@
 package org.kie.workbench.common.stunner.core.client.validation;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.jboss.errai.ioc.client.api.ManagedInstance;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementsClearEvent;
+import org.kie.workbench.common.stunner.core.client.validation.canvas.InvalidateValidationEvent;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.validation.DomainValidator;
@@ -51,4 +60,41 @@ public class ClientDiagramValidator extends AbstractDiagramValidator {
               modelValidator,
               validators);
     }
+
+    void onCanvasElementAddedEvent(final @Observes CanvasElementAddedEvent event) {
+        markDirty(event.getCanvasHandler(),
+                  event.getElement());
+    }
+
+    void onCanvasElementUpdatedEvent(final @Observes CanvasElementUpdatedEvent event) {
+        markDirty(event.getCanvasHandler(),
+                  event.getElement());
+    }
+
+    void onCanvasElementRemovedEvent(final @Observes CanvasElementRemovedEvent event) {
+        markDirty(event.getCanvasHandler(),
+                  event.getElement());
+    }
+
+    void onCanvasElementsClearEvent(final @Observes CanvasElementsClearEvent event) {
+        invalidate();
+    }
+
+    void onInvalidateValidationEvent(final @Observes InvalidateValidationEvent event) {
+        if (null == event.getElement()) {
+            invalidate();
+        } else {
+            markDirty(event.getCanvasHandler(),
+                      event.getElement());
+        }
+    }
+
+    private void markDirty(final CanvasHandler canvasHandler,
+                           final Element<?> element) {
+        final Diagram diagram = canvasHandler.getDiagram();
+        if (null != diagram) {
+            markDirty(diagram,
+                      element);
+        }
+    }
 }
\ No newline at end of file
@@ -61,11 +61,30 @@ public class CanvasDiagramValidator<H extends AbstractCanvasHandler> {
     public void validate(final H canvasHandler,
                          final Consumer<Collection<DiagramElementViolation<RuleViolation>>> callback) {
         diagramValidator.validate(canvasHandler.getDiagram(),
-                                  violations -> {
-                                      checkViolations(canvasHandler,
-                                                      violations);
-                                      callback.accept(violations);
-                                  });
+                                  checkViolationsAndAccept(canvasHandler,
+                                                           callback));
+    }
+
+    /**
+     * Validates the diagram by evaluating again just the elements changed since the last validation.
+     * Elements are considered changed when commands update them on the canvas, or when an
+     * {@link InvalidateValidationEvent} is fired for them.
+     */
+    @SuppressWarnings("unchecked")
+    public void validateIncremental(final H canvasHandler,
+                                    final Consumer<Collection<DiagramElementViolation<RuleViolation>>> callback) {
+        diagramValidator.validateIncremental(canvasHandler.getDiagram(),
+                                             checkViolationsAndAccept(canvasHandler,
+                                                                      callback));
+    }
+
+    private Consumer<Collection<DiagramElementViolation<RuleViolation>>> checkViolationsAndAccept(final H canvasHandler,
+                                                                                                 final Consumer<Collection<DiagramElementViolation<RuleViolation>>> callback) {
+        return violations -> {
+            checkViolations(canvasHandler,
+                            violations);
+            callback.accept(violations);
+        };
     }
 
     @SuppressWarnings("unchecked")
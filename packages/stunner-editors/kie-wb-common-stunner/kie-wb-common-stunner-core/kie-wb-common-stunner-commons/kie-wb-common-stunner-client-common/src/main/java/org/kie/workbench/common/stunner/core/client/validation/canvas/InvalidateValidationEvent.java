@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.client.validation.canvas;
+
+import org.jboss.errai.common.client.api.annotations.NonPortable;
+import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
+import org.kie.workbench.common.stunner.core.graph.Element;
+
+/**
+ * Notifies that the model of an element was changed without executing a command, so its results
+ * from the last validation must be evaluated again. If no element is given, the results for the
+ * whole diagram are discarded.
+ */
+@NonPortable
+public class InvalidateValidationEvent {
+
+    private final CanvasHandler canvasHandler;
+    private final Element<?> element;
+
+    public InvalidateValidationEvent(final CanvasHandler canvasHandler) {
+        this(canvasHandler,
+             null);
+    }
+
+    public InvalidateValidationEvent(final CanvasHandler canvasHandler,
+                                     final Element<?> element) {
+        this.canvasHandler = canvasHandler;
+        this.element = element;
+    }
+
+    public CanvasHandler getCanvasHandler() {
+        return canvasHandler;
+    }
+
+    public Element<?> getElement() {
+        return element;
+    }
+}
@@ -42,7 +42,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.mocks.EventSourceMock;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -208,4 +210,22 @@ public class CanvasDiagramValidatorTest {
         assertEquals(event.getDiagramName(), NAME);
         assertEquals(event.getDiagramTitle(), TITLE);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void validateIncrementalFailed() {
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        final ArgumentCaptor<CanvasValidationFailEvent> captorEvent = ArgumentCaptor.forClass(CanvasValidationFailEvent.class);
+
+        tested.validateIncremental(canvasHandler, callback);
+
+        verify(diagramValidator).validateIncremental(eq(diagram), captor.capture());
+        verify(diagramValidator, never()).validate(any(), any());
+
+        captor.getValue().accept(violations);
+
+        verify(callback).accept(violations);
+        verify(failEvent).fire(captorEvent.capture());
+        assertEquals(captorEvent.getValue().getViolations(), violations);
+    }
+}
@@ -30,6 +30,7 @@ import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 /**
@@ -105,6 +106,7 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
         for (String label : labels) {
             candidate.getLabels().add(label);
         }
+        GraphUtils.reindexLabels(getGraph(context), candidate);
         return results;
     }
 
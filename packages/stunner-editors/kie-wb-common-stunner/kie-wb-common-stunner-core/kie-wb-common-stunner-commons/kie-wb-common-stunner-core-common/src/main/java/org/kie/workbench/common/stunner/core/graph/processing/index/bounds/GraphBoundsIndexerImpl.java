@@ -16,7 +16,10 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.enterprise.context.Dependent;
@@ -35,12 +38,22 @@ import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.A
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
+/**
+ * Indexes the absolute bounds of the graph nodes in an R-tree, so point and area queries do not walk the graph.
+ * The index is built by a single traversal and kept across the builds for the same graph, it's refreshed
+ * through {@link #update(Element)}, {@link #remove(Element)} and {@link #invalidate()}.
+ */
 @Dependent
 public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     ChildrenTraverseProcessor childrenTraverseProcessor;
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private final Map<String, IndexedNode> indexedNodes = new HashMap<>();
+    private final List<IndexedNode> traversalOrder = new ArrayList<>();
+    private final RTree<IndexedNode> tree = new RTree<>();
+    private boolean valid = false;
+    private double[] rootTrimmedBounds = null;
 
     @Inject
     public GraphBoundsIndexerImpl(final ChildrenTraverseProcessor childrenTraverseProcessor) {
@@ -49,7 +62,10 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
-        this.graph = graph;
+        if (this.graph != graph) {
+            this.graph = graph;
+            invalidate();
+        }
         return this;
     }
 
@@ -101,66 +117,182 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     @Override
     public double[] getTrimmedBounds() {
+        ensureIndex();
         final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
-        childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
-                .traverse(graph,
-                          new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                              @Override
-                              public void onNodeTraverse(final Node<View, Edge> node,
-                                                         final double parentX,
-                                                         final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
-                                  }
-                              }
-                          }));
-        return result;
+        if (null == rootUUID) {
+            final double[] bounds = tree.getBounds();
+            if (null != bounds) {
+                trim(result,
+                     bounds);
+            }
+            return result;
+        }
+        // Only the children of the root node are considered, the result is kept until the index changes.
+        if (null == rootTrimmedBounds) {
+            final IndexedNode root = indexedNodes.get(rootUUID);
+            if (null != root) {
+                for (int i = root.order + 1; i < root.subtreeEnd; i++) {
+                    final IndexedNode child = traversalOrder.get(i);
+                    if (null != child) {
+                        trim(result,
+                             child.bounds);
+                    }
+                }
+            }
+            rootTrimmedBounds = result;
+        }
+        return rootTrimmedBounds.clone();
     }
 
     @SuppressWarnings("unchecked")
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
-        childrenTraverseProcessor.traverse(graph,
-                                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                                               @Override
-                                               public void onNodeTraverse(final Node<View, Edge> node,
-                                                                          final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
-                                               }
-                                           }));
-        return result[0];
+        ensureIndex();
+        // The root node is always a candidate, the one found last when traversing the graph wins.
+        final IndexedNode[] result = new IndexedNode[]{null != rootUUID ? indexedNodes.get(rootUUID) : null};
+        tree.search(x,
+                    y,
+                    x,
+                    y,
+                    candidate -> {
+                        if (null == result[0] || candidate.order > result[0].order) {
+                            result[0] = candidate;
+                        }
+                    });
+        return null != result[0] ? (Node) result[0].node : null;
+    }
+
+    @Override
+    public GraphBoundsIndexer update(final Element<?> element) {
+        if (!valid || !isIndexable(element)) {
+            return this;
+        }
+        final IndexedNode indexed = indexedNodes.get(element.getUUID());
+        final Element<?> parent = GraphUtils.getParent(element.asNode());
+        final String parentUUID = null != parent ? parent.getUUID() : null;
+        if (null == indexed || indexed.node != element || !areEqual(parentUUID, indexed.parentUUID)) {
+            invalidate();
+            return this;
+        }
+        final double[] bounds = getNodeAbsoluteCoordinates(indexed.node,
+                                                           indexed.parentX,
+                                                           indexed.parentY);
+        final double dx = bounds[0] - indexed.bounds[0];
+        final double dy = bounds[1] - indexed.bounds[1];
+        indexed.setBounds(bounds);
+        tree.insert(indexed, bounds[0], bounds[1], bounds[2], bounds[3]);
+        if (dx != 0 || dy != 0) {
+            // The children are located relative to the node, so these are moved along with it.
+            for (int i = indexed.order + 1; i < indexed.subtreeEnd; i++) {
+                final IndexedNode child = traversalOrder.get(i);
+                if (null != child) {
+                    child.translate(dx,
+                                    dy);
+                    tree.insert(child, child.bounds[0], child.bounds[1], child.bounds[2], child.bounds[3]);
+                }
+            }
+        }
+        rootTrimmedBounds = null;
+        return this;
+    }
+
+    @Override
+    public GraphBoundsIndexer remove(final Element<?> element) {
+        if (!valid || null == element) {
+            return this;
+        }
+        final IndexedNode indexed = indexedNodes.get(element.getUUID());
+        if (null != indexed) {
+            for (int i = indexed.order; i < indexed.subtreeEnd; i++) {
+                final IndexedNode removed = traversalOrder.get(i);
+                if (null != removed) {
+                    traversalOrder.set(i, null);
+                    indexedNodes.remove(removed.node.getUUID());
+                    tree.remove(removed);
+                }
+            }
+            rootTrimmedBounds = null;
+        }
+        return this;
+    }
+
+    @Override
+    public GraphBoundsIndexer invalidate() {
+        valid = false;
+        rootTrimmedBounds = null;
+        return this;
+    }
+
+    private void ensureIndex() {
+        if (valid) {
+            return;
+        }
+        clearIndex();
+        if (null != graph) {
+            childrenTraverseProcessor
+                    .setRootUUID(null)
+                    .traverse(graph,
+                              new GraphBoundIndexerTraverseCallback(this::index));
+        }
+        valid = true;
+    }
+
+    private void index(final Node<View, Edge> node,
+                       final List<Node<View, Edge>> parents,
+                       final double parentX,
+                       final double parentY) {
+        final int order = traversalOrder.size();
+        final String parentUUID = parents.isEmpty() ? null : parents.get(parents.size() - 1).getUUID();
+        final IndexedNode indexed = new IndexedNode(node,
+                                                    parentUUID,
+                                                    order,
+                                                    parentX,
+                                                    parentY);
+        indexed.setBounds(getNodeAbsoluteCoordinates(node,
+                                                     parentX,
+                                                     parentY));
+        traversalOrder.add(indexed);
+        indexedNodes.put(node.getUUID(), indexed);
+        tree.insert(indexed, indexed.bounds[0], indexed.bounds[1], indexed.bounds[2], indexed.bounds[3]);
+        // The children of a node are traversed right after it, so each node spans a range in the traversal order.
+        for (final Node<View, Edge> parent : parents) {
+            final IndexedNode indexedParent = indexedNodes.get(parent.getUUID());
+            if (null != indexedParent) {
+                indexedParent.subtreeEnd = order + 1;
+            }
+        }
+    }
+
+    private void clearIndex() {
+        indexedNodes.clear();
+        traversalOrder.clear();
+        tree.clear();
+        rootTrimmedBounds = null;
+    }
+
+    private static boolean isIndexable(final Element<?> element) {
+        return element instanceof Node && element.getContent() instanceof View;
+    }
+
+    private static boolean areEqual(final String s1,
+                                    final String s2) {
+        return null != s1 ? s1.equals(s2) : null == s2;
+    }
+
+    private static void trim(final double[] result,
+                             final double[] bounds) {
+        if (bounds[0] < result[0]) {
+            result[0] = bounds[0];
+        }
+        if (bounds[1] < result[1]) {
+            result[1] = bounds[1];
+        }
+        if (bounds[2] > result[2]) {
+            result[2] = bounds[2];
+        }
+        if (bounds[3] > result[3]) {
+            result[3] = bounds[3];
+        }
     }
 
     private Point2D getNodeCoordinates(final Node node) {
@@ -188,46 +320,65 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
-        this.rootUUID = uuid;
+        if (!areEqual(this.rootUUID, uuid)) {
+            this.rootUUID = uuid;
+            this.rootTrimmedBounds = null;
+        }
         return this;
     }
 
     @Override
     public void destroy() {
+        clearIndex();
+        this.valid = false;
         this.graph = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
     }
 
-    private abstract class NodeBoundsTraverseCallback {
+    private static class IndexedNode {
+
+        private final Node<View, Edge> node;
+        private final String parentUUID;
+        private final int order;
+        private int subtreeEnd;
+        private double parentX;
+        private double parentY;
+        private double[] bounds;
+
+        private IndexedNode(final Node<View, Edge> node,
+                            final String parentUUID,
+                            final int order,
+                            final double parentX,
+                            final double parentY) {
+            this.node = node;
+            this.parentUUID = parentUUID;
+            this.order = order;
+            this.subtreeEnd = order + 1;
+            this.parentX = parentX;
+            this.parentY = parentY;
+        }
+
+        private void setBounds(final double[] bounds) {
+            this.bounds = bounds;
+        }
+
+        private void translate(final double dx,
+                               final double dy) {
+            parentX += dx;
+            parentY += dy;
+            bounds = new double[]{bounds[0] + dx, bounds[1] + dy, bounds[2] + dx, bounds[3] + dy};
+        }
+    }
+
+    private interface NodeBoundsTraverseCallback {
 
-        public abstract void onNodeTraverse(final Node<View, Edge> node,
-                                            final double parentX,
-                                            final double parentY);
+        void onNodeTraverse(final Node<View, Edge> node,
+                            final List<Node<View, Edge>> parents,
+                            final double parentX,
+                            final double parentY);
     }
 
     private class GraphBoundIndexerTraverseCallback extends AbstractChildrenTraverseCallback<Node<View, Edge>, Edge<Child, Node>> {
@@ -268,6 +419,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                 });
             }
             callback.onNodeTraverse(node,
+                                    parents.orElse(new ArrayList<>()),
                                     parentLocation[0],
                                     parentLocation[1]);
         }
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A dynamic R-tree (Guttman, quadratic split) of items and their axis aligned bounds.
+ * Items are inserted, updated and removed incrementally, so the tree does not need to be
+ * rebuilt when some of them change. Bounds are inclusive.
+ */
+public class RTree<T> {
+
+    static final int MAX_ENTRIES = 16;
+    static final int MIN_ENTRIES = 6;
+
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+    private Node root = new Node(true);
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public boolean contains(final T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Returns the bounds of the whole tree as {minX, minY, maxX, maxY}, or null if it's empty.
+     */
+    public double[] getBounds() {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        return new double[]{root.minX, root.minY, root.maxX, root.maxY};
+    }
+
+    /**
+     * Returns the bounds the item is indexed with as {minX, minY, maxX, maxY}, or null if it's not in the tree.
+     */
+    public double[] getBounds(final T item) {
+        final Entry<T> entry = entries.get(item);
+        if (null == entry) {
+            return null;
+        }
+        return new double[]{entry.minX, entry.minY, entry.maxX, entry.maxY};
+    }
+
+    public void clear() {
+        entries.clear();
+        root = new Node(true);
+    }
+
+    /**
+     * Adds the item or, if it's already in the tree, updates its bounds.
+     */
+    public void insert(final T item,
+                       final double minX,
+                       final double minY,
+                       final double maxX,
+                       final double maxY) {
+        Entry<T> entry = entries.get(item);
+        if (null != entry) {
+            if (entry.minX == minX && entry.minY == minY && entry.maxX == maxX && entry.maxY == maxY) {
+                return;
+            }
+            detach(entry);
+        } else {
+            entry = new Entry<>(item);
+            entries.put(item, entry);
+        }
+        entry.set(minX, minY, maxX, maxY);
+        insert(entry);
+    }
+
+    public boolean remove(final T item) {
+        final Entry<T> entry = entries.remove(item);
+        if (null == entry) {
+            return false;
+        }
+        detach(entry);
+        return true;
+    }
+
+    /**
+     * Hands over every item which bounds intersect the given ones.
+     */
+    @SuppressWarnings("unchecked")
+    public void search(final double minX,
+                       final double minY,
+                       final double maxX,
+                       final double maxY,
+                       final Consumer<T> consumer) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            final Node node = stack.remove(stack.size() - 1);
+            for (final Rect child : node.children) {
+                if (child.intersects(minX, minY, maxX, maxY)) {
+                    if (node.leaf) {
+                        consumer.accept(((Entry<T>) child).item);
+                    } else {
+                        stack.add((Node) child);
+                    }
+                }
+            }
+        }
+    }
+
+    public List<T> search(final double minX,
+                          final double minY,
+                          final double maxX,
+                          final double maxY) {
+        final List<T> result = new ArrayList<>();
+        search(minX, minY, maxX, maxY, result::add);
+        return result;
+    }
+
+    private void insert(final Entry<T> entry) {
+        Node node = root;
+        while (!node.leaf) {
+            node = chooseSubtree(node, entry);
+        }
+        node.add(entry);
+        // Split the overflowing nodes and enlarge the bounds, bottom-up.
+        while (null != node) {
+            if (node.children.size() > MAX_ENTRIES) {
+                final Node sibling = split(node);
+                if (node == root) {
+                    root = new Node(false);
+                    root.add(node);
+                    root.add(sibling);
+                    root.recalculate();
+                } else {
+                    node.parent.add(sibling);
+                }
+            }
+            node.recalculate();
+            node = node.parent;
+        }
+    }
+
+    private void detach(final Entry<T> entry) {
+        final List<Entry<T>> orphans = new ArrayList<>();
+        Node node = entry.parent;
+        node.children.remove(entry);
+        entry.parent = null;
+        // Condense the tree, the entries of the under-filled nodes are inserted again.
+        while (node != root) {
+            final Node parent = node.parent;
+            if (node.children.size() < MIN_ENTRIES) {
+                parent.children.remove(node);
+                collect(node, orphans);
+            } else {
+                node.recalculate();
+            }
+            node = parent;
+        }
+        root.recalculate();
+        if (!root.leaf) {
+            if (root.children.isEmpty()) {
+                root = new Node(true);
+            } else if (root.children.size() == 1) {
+                root = (Node) root.children.get(0);
+                root.parent = null;
+            }
+        }
+        orphans.forEach(this::insert);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(final Node node,
+                         final List<Entry<T>> result) {
+        for (final Rect child : node.children) {
+            if (node.leaf) {
+                result.add((Entry<T>) child);
+            } else {
+                collect((Node) child, result);
+            }
+        }
+    }
+
+    private static Node chooseSubtree(final Node node,
+                                      final Rect rect) {
+        Node best = null;
+        double bestEnlargement = Double.MAX_VALUE;
+        double bestArea = Double.MAX_VALUE;
+        for (final Rect child : node.children) {
+            final double area = child.area();
+            final double enlargement = Rect.area(child, rect) - area;
+            if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                best = (Node) child;
+                bestEnlargement = enlargement;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Quadratic split: moves about half of the node's children into a new sibling node.
+     */
+    private static Node split(final Node node) {
+        final List<Rect> children = new ArrayList<>(node.children);
+        final int size = children.size();
+        int seedA = 0;
+        int seedB = 1;
+        double worst = -Double.MAX_VALUE;
+        for (int i = 0; i < size - 1; i++) {
+            for (int j = i + 1; j < size; j++) {
+                final Rect a = children.get(i);
+                final Rect b = children.get(j);
+                final double waste = Rect.area(a, b) - a.area() - b.area();
+                if (waste > worst) {
+                    worst = waste;
+                    seedA = i;
+                    seedB = j;
+                }
+            }
+        }
+        final Node sibling = new Node(node.leaf);
+        final Rect seedRectB = children.remove(seedB);
+        final Rect seedRectA = children.remove(seedA);
+        node.children.clear();
+        node.add(seedRectA);
+        node.recalculate();
+        sibling.add(seedRectB);
+        sibling.recalculate();
+        while (!children.isEmpty()) {
+            // Make sure both nodes get the minimum number of entries.
+            if (node.children.size() + children.size() <= MIN_ENTRIES) {
+                addAll(node, children);
+                break;
+            }
+            if (sibling.children.size() + children.size() <= MIN_ENTRIES) {
+                addAll(sibling, children);
+                break;
+            }
+            int next = 0;
+            double maxDifference = -1;
+            double nextToNode = 0;
+            double nextToSibling = 0;
+            for (int i = 0; i < children.size(); i++) {
+                final Rect child = children.get(i);
+                final double toNode = Rect.area(node, child) - node.area();
+                final double toSibling = Rect.area(sibling, child) - sibling.area();
+                final double difference = Math.abs(toNode - toSibling);
+                if (difference > maxDifference) {
+                    maxDifference = difference;
+                    next = i;
+                    nextToNode = toNode;
+                    nextToSibling = toSibling;
+                }
+            }
+            final Rect child = children.remove(next);
+            final Node target;
+            if (nextToNode != nextToSibling) {
+                target = nextToNode < nextToSibling ? node : sibling;
+            } else if (node.area() != sibling.area()) {
+                target = node.area() < sibling.area() ? node : sibling;
+            } else {
+                target = node.children.size() <= sibling.children.size() ? node : sibling;
+            }
+            target.add(child);
+            target.extend(child);
+        }
+        return sibling;
+    }
+
+    private static void addAll(final Node node,
+                               final List<Rect> children) {
+        for (final Rect child : children) {
+            node.add(child);
+            node.extend(child);
+        }
+    }
+
+    private static class Rect {
+
+        double minX;
+        double minY;
+        double maxX;
+        double maxY;
+        Node parent;
+
+        void set(final double minX,
+                 final double minY,
+                 final double maxX,
+                 final double maxY) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        void extend(final Rect other) {
+            minX = Math.min(minX, other.minX);
+            minY = Math.min(minY, other.minY);
+            maxX = Math.max(maxX, other.maxX);
+            maxY = Math.max(maxY, other.maxY);
+        }
+
+        boolean intersects(final double minX,
+                           final double minY,
+                           final double maxX,
+                           final double maxY) {
+            return this.maxX >= minX && this.minX <= maxX && this.maxY >= minY && this.minY <= maxY;
+        }
+
+        double area() {
+            return (maxX - minX) * (maxY - minY);
+        }
+
+        static double area(final Rect a,
+                           final Rect b) {
+            return (Math.max(a.maxX, b.maxX) - Math.min(a.minX, b.minX)) * (Math.max(a.maxY, b.maxY) - Math.min(a.minY, b.minY));
+        }
+    }
+
+    private static class Entry<T> extends Rect {
+
+        final T item;
+
+        Entry(final T item) {
+            this.item = item;
+        }
+    }
+
+    private static class Node extends Rect {
+
+        final boolean leaf;
+        final List<Rect> children = new ArrayList<>(MAX_ENTRIES + 1);
+
+        Node(final boolean leaf) {
+            this.leaf = leaf;
+        }
+
+        void add(final Rect child) {
+            children.add(child);
+            child.parent = this;
+        }
+
+        void recalculate() {
+            if (children.isEmpty()) {
+                set(0, 0, 0, 0);
+                return;
+            }
+            set(Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE);
+            children.forEach(this::extend);
+        }
+    }
+}
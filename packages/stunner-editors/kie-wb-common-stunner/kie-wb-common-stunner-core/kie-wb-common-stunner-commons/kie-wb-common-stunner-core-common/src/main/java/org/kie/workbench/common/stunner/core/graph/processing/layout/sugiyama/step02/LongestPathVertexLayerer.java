@@ -16,8 +16,9 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step02;
 
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -28,6 +29,7 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayerImpl;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
 /**
  * Assign each vertex in a graph to a layer, using the longest path algorithm.
@@ -35,12 +37,15 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.La
 @Default
 public final class LongestPathVertexLayerer implements VertexLayerer {
 
-    private Vertex[] vertices;
+    private final HashMap<String, Vertex> vertices;
     private final HashMap<String, Integer> vertexHeight;
+    private final HashMap<String, String[]> verticesFrom;
     private LayeredGraph graph;
 
     public LongestPathVertexLayerer() {
+        this.vertices = new HashMap<>();
         this.vertexHeight = new HashMap<>();
+        this.verticesFrom = new HashMap<>();
     }
 
     /**
@@ -50,19 +55,39 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
     @Override
     public void createLayers(final ReorderedGraph graph) {
         this.graph = (LayeredGraph) graph;
-        this.vertices = new Vertex[this.graph.getVertices().size()];
+        this.vertices.clear();
+        final Vertex[] vertices = new Vertex[this.graph.getVertices().size()];
 
         for (int i = 0; i < this.graph.getVertices().size(); i++) {
             final String v = this.graph.getVertices().get(i);
-            this.vertices[i] = new Vertex(v);
+            vertices[i] = new Vertex(v);
+            this.vertices.putIfAbsent(v, vertices[i]);
             this.vertexHeight.put(v, -1);
         }
 
-        for (final Vertex vertex : this.vertices) {
+        indexVerticesFrom();
+
+        for (final Vertex vertex : vertices) {
             visit(vertex);
         }
     }
 
+    /**
+     * Indexes the vertices pointed from each vertex once, instead of going through all the edges on each visit.
+     * The same as {@link LayeredGraph#getVerticesFrom(String)}, in the same order.
+     */
+    private void indexVerticesFrom() {
+        final HashMap<String, HashSet<String>> targets = new HashMap<>();
+        for (final OrientedEdge edge : this.graph.getEdges()) {
+            targets.computeIfAbsent(edge.getFromVertexId(), id -> new HashSet<>()).add(edge.getToVertexId());
+        }
+
+        this.verticesFrom.clear();
+        for (final Map.Entry<String, HashSet<String>> entry : targets.entrySet()) {
+            this.verticesFrom.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+    }
+
     private int visit(final Vertex vertex) {
         final int height = this.vertexHeight.getOrDefault(vertex.getId(), 0);
         if (height >= 0) {
@@ -71,15 +96,13 @@ public final class LongestPathVertexLayerer implements VertexLayerer {
 
         int maxHeight = 1;
 
-        final String[] verticesFromHere = graph.getVerticesFrom(vertex.getId());
+        final String[] verticesFromHere = verticesFrom.getOrDefault(vertex.getId(), new String[0]);
         for (final String nextVertex : verticesFromHere) {
             if (!Objects.equals(nextVertex, vertex.getId())) {
-                final Vertex next = Arrays.stream(this.vertices)
-                        .filter(f -> Objects.equals(f.getId(), nextVertex))
-                        .findFirst()
-                        .orElseThrow(() -> new NoSuchElementException(
-                                "Can not found the vertex pointed in other side of the OrientedEdge."
-                        ));
+                final Vertex next = this.vertices.get(nextVertex);
+                if (next == null) {
+                    throw new NoSuchElementException("Can not found the vertex pointed in other side of the OrientedEdge.");
+                }
 
                 final int targetHeight = visit(next);
                 maxHeight = Math.max(maxHeight, targetHeight + 1);
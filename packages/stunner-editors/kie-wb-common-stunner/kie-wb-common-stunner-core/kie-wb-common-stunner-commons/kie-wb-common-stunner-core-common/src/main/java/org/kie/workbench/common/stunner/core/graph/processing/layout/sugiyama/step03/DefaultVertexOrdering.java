@@ -17,9 +17,10 @@
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 import javax.enterprise.inject.Default;
 import javax.inject.Inject;
@@ -31,8 +32,6 @@ import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.Gr
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * Order vertices inside layers trying to reduce crossing between edges.
  */
@@ -42,6 +41,7 @@ public final class DefaultVertexOrdering implements VertexOrdering {
     private final VertexLayerPositioning vertexPositioning;
     private final LayerCrossingCount crossingCount;
     private final VerticesTransposer verticesTransposer;
+    private final long timeBudget;
 
     /**
      * Maximum number of iterations to perform.
@@ -49,6 +49,11 @@ public final class DefaultVertexOrdering implements VertexOrdering {
      */
     private static final int MAX_ITERATIONS = 24;
 
+    /**
+     * Default time budget for the iterations: no limit, so the order does not depend on the machine speed.
+     */
+    static final long DEFAULT_TIME_BUDGET = 0;
+
     /**
      * Default constructor.
      * @param vertexPositioning The strategy to find the position of the vertices inside a layer.
@@ -59,9 +64,25 @@ public final class DefaultVertexOrdering implements VertexOrdering {
     public DefaultVertexOrdering(final VertexLayerPositioning vertexPositioning,
                                  final LayerCrossingCount crossingCount,
                                  final VerticesTransposer verticesTransposer) {
+        this(vertexPositioning, crossingCount, verticesTransposer, DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * Constructor.
+     * @param vertexPositioning The strategy to find the position of the vertices inside a layer.
+     * @param crossingCount The strategy to count the edges crossing.
+     * @param verticesTransposer The strategy to transpose vertices in a layer.
+     * @param timeBudget The time in milliseconds after which no more iterations are performed, keeping the
+     * best order found so far. Zero or less for no limit. A limit makes the order depend on the machine speed.
+     */
+    public DefaultVertexOrdering(final VertexLayerPositioning vertexPositioning,
+                                 final LayerCrossingCount crossingCount,
+                                 final VerticesTransposer verticesTransposer,
+                                 final long timeBudget) {
         this.vertexPositioning = vertexPositioning;
         this.crossingCount = crossingCount;
         this.verticesTransposer = verticesTransposer;
+        this.timeBudget = timeBudget;
     }
 
     /**
@@ -70,33 +91,40 @@ public final class DefaultVertexOrdering implements VertexOrdering {
      */
     @Override
     public void orderVertices(final ReorderedGraph graph) {
+        final long start = System.currentTimeMillis();
         final LayeredGraph layered = (LayeredGraph) graph;
         final List<OrientedEdge> edges = graph.getEdges();
         final List<GraphLayer> virtualized = createVirtual(edges, layered);
-        List<GraphLayer> best = clone(virtualized);
+        final OrderedLayers orderedLayers = new OrderedLayers(virtualized, edges);
 
-        final Object[][] nestedBestRanks = new Object[virtualized.size()][];
         // Starts with the current order
-        for (int i = 0; i < nestedBestRanks.length; i++) {
-            final GraphLayer layer = best.get(i);
-            nestedBestRanks[i] = new Object[layer.getVertices().size()];
-            for (int j = 0; j < layer.getVertices().size(); j++) {
-                nestedBestRanks[i][j] = layer.getVertices().get(j);
-            }
-        }
+        int bestCrossing = this.crossingCount.crossing(orderedLayers);
 
         for (int i = 0; i < MAX_ITERATIONS; i++) {
-            this.vertexPositioning.positionVertices(virtualized, edges, i);
-            this.verticesTransposer.transpose(virtualized, edges, i);
-            if (this.crossingCount.crossing(best, edges) > this.crossingCount.crossing(virtualized, edges)) {
-                best = clone(virtualized);
+            this.vertexPositioning.positionVertices(orderedLayers, i);
+            this.verticesTransposer.transpose(orderedLayers, i);
+            final int crossing = this.crossingCount.crossing(orderedLayers);
+            if (bestCrossing > crossing) {
+                bestCrossing = crossing;
+                orderedLayers.saveBest();
             } else {
                 break;
             }
+
+            if (isTimeBudgetExceeded(start)) {
+                break;
+            }
         }
 
+        orderedLayers.restoreBest();
+        orderedLayers.apply();
+
         layered.getLayers().clear();
-        layered.getLayers().addAll(best);
+        layered.getLayers().addAll(virtualized);
+    }
+
+    private boolean isTimeBudgetExceeded(final long start) {
+        return timeBudget > 0 && System.currentTimeMillis() - start >= timeBudget;
     }
 
     private List<GraphLayer> clone(final List<GraphLayer> input) {
@@ -117,55 +145,127 @@ public final class DefaultVertexOrdering implements VertexOrdering {
                                            final LayeredGraph graph) {
         int virtualIndex = 0;
         final List<GraphLayer> virtualized = clone(graph.getLayers());
+        final VirtualEdges virtualEdges = new VirtualEdges(edges, virtualized);
 
         for (int i = 0; i < virtualized.size() - 1; i++) {
             final GraphLayer currentLayer = virtualized.get(i);
             final GraphLayer nextLayer = virtualized.get(i + 1);
             for (final Vertex vertex : currentLayer.getVertices()) {
 
-                final List<OrientedEdge> outgoing = edges.stream()
-                        .filter(e -> Objects.equals(e.getFromVertexId(), vertex.getId()))
-                        .filter(e -> Math.abs(getLayerNumber(e.getToVertexId(), virtualized) - getLayerNumber(vertex.getId(), virtualized)) > 1)
-                        .collect(toList());
+                final List<Integer> outgoing = virtualEdges.getLongEdges(virtualEdges.outgoing, vertex.getId(), true);
+                final List<Integer> incoming = virtualEdges.getLongEdges(virtualEdges.incoming, vertex.getId(), false);
 
-                final List<OrientedEdge> incoming = edges.stream()
-                        .filter(e -> Objects.equals(e.getToVertexId(), vertex.getId()))
-                        .filter(e -> Math.abs(getLayerNumber(e.getFromVertexId(), virtualized) - getLayerNumber(vertex.getId(), virtualized)) > 1)
-                        .collect(toList());
-
-                for (final OrientedEdge edge : outgoing) {
+                for (final int edge : outgoing) {
                     final Vertex virtualVertex = new Vertex("V" + virtualIndex++, true);
                     nextLayer.getVertices().add(virtualVertex);
-                    edges.remove(edge);
-                    final OrientedEdge v1 = new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertex.getId());
-                    final OrientedEdge v2 = new OrientedEdgeImpl(virtualVertex.getId(), edge.getToVertexId());
-                    edges.add(v1);
-                    edges.add(v2);
+                    virtualEdges.split(edge, virtualVertex.getId(), nextLayer.getLevel(), true);
                 }
 
-                for (final OrientedEdge edge : incoming) {
+                for (final int edge : incoming) {
                     final Vertex virtualVertex = new Vertex("V" + virtualIndex++, true);
                     nextLayer.getVertices().add(virtualVertex);
-                    edges.remove(edge);
-                    final OrientedEdge v1 = new OrientedEdgeImpl(virtualVertex.getId(), edge.getToVertexId());
-                    final OrientedEdge v2 = new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertex.getId());
-                    edges.add(v1);
-                    edges.add(v2);
+                    virtualEdges.split(edge, virtualVertex.getId(), nextLayer.getLevel(), false);
                 }
             }
         }
 
+        virtualEdges.apply();
         return virtualized;
     }
 
-    private int getLayerNumber(final String vertex,
-                               final List<GraphLayer> layers) {
-        final GraphLayer layer = layers
-                .stream()
-                .filter(l -> l.getVertices().stream().anyMatch(v -> Objects.equals(v.getId(), vertex)))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Can not found the layer of the vertex."));
+    /**
+     * The edges while virtual vertices are being created. Edges are indexed by the vertices they connect,
+     * and edges that cross multiple layers are replaced by edges through the virtual vertices. They are
+     * written back to the edges list at the end, in the same order they would have by removing the edges
+     * and appending their replacements to the list.
+     */
+    private static final class VirtualEdges {
+
+        private final List<OrientedEdge> edges;
+        private final List<OrientedEdge> allEdges;
+        private final List<Boolean> removed;
+        private final HashMap<String, List<Integer>> outgoing;
+        private final HashMap<String, List<Integer>> incoming;
+        private final HashMap<String, Integer> layerNumbers;
+
+        private VirtualEdges(final List<OrientedEdge> edges,
+                             final List<GraphLayer> layers) {
+            this.edges = edges;
+            this.allEdges = new ArrayList<>(edges);
+            this.removed = new ArrayList<>(edges.size());
+            this.outgoing = new HashMap<>();
+            this.incoming = new HashMap<>();
+            this.layerNumbers = new HashMap<>();
+            for (final GraphLayer layer : layers) {
+                for (final Vertex vertex : layer.getVertices()) {
+                    layerNumbers.putIfAbsent(vertex.getId(), layer.getLevel());
+                }
+            }
+            for (int i = 0; i < allEdges.size(); i++) {
+                removed.add(false);
+                index(i);
+            }
+        }
+
+        private void index(final int edge) {
+            final OrientedEdge orientedEdge = allEdges.get(edge);
+            outgoing.computeIfAbsent(orientedEdge.getFromVertexId(), id -> new ArrayList<>()).add(edge);
+            incoming.computeIfAbsent(orientedEdge.getToVertexId(), id -> new ArrayList<>()).add(edge);
+        }
+
+        private List<Integer> getLongEdges(final HashMap<String, List<Integer>> index,
+                                           final String vertex,
+                                           final boolean isOutgoing) {
+            final List<Integer> longEdges = new ArrayList<>();
+            for (final int edge : index.getOrDefault(vertex, Collections.emptyList())) {
+                if (!removed.get(edge)) {
+                    final OrientedEdge orientedEdge = allEdges.get(edge);
+                    final String other = isOutgoing ? orientedEdge.getToVertexId() : orientedEdge.getFromVertexId();
+                    if (Math.abs(getLayerNumber(other) - getLayerNumber(vertex)) > 1) {
+                        longEdges.add(edge);
+                    }
+                }
+            }
+            return longEdges;
+        }
+
+        private void split(final int edge,
+                           final String virtualVertex,
+                           final int virtualVertexLayer,
+                           final boolean isOutgoing) {
+            final OrientedEdge orientedEdge = allEdges.get(edge);
+            layerNumbers.putIfAbsent(virtualVertex, virtualVertexLayer);
+            removed.set(edge, true);
+            if (isOutgoing) {
+                add(new OrientedEdgeImpl(orientedEdge.getFromVertexId(), virtualVertex));
+                add(new OrientedEdgeImpl(virtualVertex, orientedEdge.getToVertexId()));
+            } else {
+                add(new OrientedEdgeImpl(virtualVertex, orientedEdge.getToVertexId()));
+                add(new OrientedEdgeImpl(orientedEdge.getFromVertexId(), virtualVertex));
+            }
+        }
+
+        private void add(final OrientedEdge edge) {
+            allEdges.add(edge);
+            removed.add(false);
+            index(allEdges.size() - 1);
+        }
+
+        private int getLayerNumber(final String vertex) {
+            final Integer layerNumber = layerNumbers.get(vertex);
+            if (layerNumber == null) {
+                throw new NoSuchElementException("Can not found the layer of the vertex.");
+            }
+            return layerNumber;
+        }
 
-        return layer.getLevel();
+        private void apply() {
+            edges.clear();
+            for (int i = 0; i < allEdges.size(); i++) {
+                if (!removed.get(i)) {
+                    edges.add(allEdges.get(i));
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
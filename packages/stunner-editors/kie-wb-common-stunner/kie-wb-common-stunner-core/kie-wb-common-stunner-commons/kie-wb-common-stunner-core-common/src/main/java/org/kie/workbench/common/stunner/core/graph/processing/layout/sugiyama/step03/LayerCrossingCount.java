@@ -16,9 +16,8 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
@@ -43,11 +42,53 @@ public class LayerCrossingCount {
     public int crossing(final List<OrientedEdge> edges,
                         final GraphLayer north,
                         final GraphLayer south) {
+        return crossing(new OrderedLayers(Arrays.asList(north, south), edges), 0);
+    }
+
+    /**
+     * Counts the total of edges crossing in all layers.
+     * @param layers Existing layers.
+     * @param edges Existing edges.
+     * @return The sum of edges crossing between all layers.
+     */
+    int crossing(final List<GraphLayer> layers,
+                 final List<OrientedEdge> edges) {
+        return crossing(new OrderedLayers(layers, edges));
+    }
+
+    /**
+     * Counts the total of edges crossing in all layers. Only the pairs of layers that have changed since
+     * the last count are recalculated.
+     * @param layers Existing layers.
+     * @return The sum of edges crossing between all layers.
+     */
+    int crossing(final OrderedLayers layers) {
+        int crossingCount = 0;
+        for (int i = 1; i < layers.size(); i++) {
+            int crossing = layers.getCrossing(i - 1);
+            if (crossing < 0) {
+                crossing = crossing(layers, i - 1);
+                layers.setCrossing(i - 1, crossing);
+            }
+            crossingCount += crossing;
+        }
+        return crossingCount;
+    }
+
+    /**
+     * Counts the edges crossing considering two adjacent layers.
+     * @param layers Existing layers.
+     * @param north The index of the north layer, the south one is the next.
+     * @return The total of edges crossing.
+     */
+    int crossing(final OrderedLayers layers,
+                 final int north) {
 
-        final Object[] entries = flat(edges, north, south);
+        final int south = north + 1;
+        final int[] entries = flat(layers, north, south);
 
         int firstIndex = 1;
-        while (firstIndex < south.getVertices().size()) {
+        while (firstIndex < layers.getOrder(south).length) {
             firstIndex <<= 1;
         }
         final int treeSize = 2 * firstIndex - 1;
@@ -56,8 +97,8 @@ public class LayerCrossingCount {
 
         int crossings = 0;
 
-        for (final Object entry : entries) {
-            int index = ((Integer) entry) + firstIndex;
+        for (final int entry : entries) {
+            int index = entry + firstIndex;
             if (index < 0) {
                 continue;
             }
@@ -77,40 +118,26 @@ public class LayerCrossingCount {
     }
 
     /**
-     * Counts the total of edges crossing in all layers.
-     * @param layers Existing layers.
-     * @param edges Existing edges.
-     * @return The sum of edges crossing between all layers.
+     * Lists, for each vertex in the north layer, the sorted positions in the south layer of the vertices
+     * connected to it. Connections with vertices outside the south layer are listed as -1.
      */
-    int crossing(final List<GraphLayer> layers,
-                 final List<OrientedEdge> edges) {
-        int crossingCount = 0;
-        for (int i = 1; i < layers.size(); i++) {
-            crossingCount += crossing(edges, layers.get(i - 1), layers.get(i));
+    private int[] flat(final OrderedLayers layers,
+                       final int north,
+                       final int south) {
+        int size = 0;
+        for (final int vertex : layers.getOrder(north)) {
+            size += layers.getConnected(vertex).length;
         }
-        return crossingCount;
-    }
 
-    private Object[] flat(final List<OrientedEdge> edges,
-                          final GraphLayer north,
-                          final GraphLayer south) {
-
-        final ArrayList<String> southPos = new ArrayList<>(south.getVertices().size());
-        for (int i = 0; i < south.getVertices().size(); i++) {
-            southPos.add(south.getVertices().get(i).getId());
+        final int[] entries = new int[size];
+        int index = 0;
+        for (final int vertex : layers.getOrder(north)) {
+            final int first = index;
+            for (final int connected : layers.getConnected(vertex)) {
+                entries[index++] = layers.getPosition(connected, south);
+            }
+            Arrays.sort(entries, first, index);
         }
-
-        return north.getVertices().stream().flatMap(v -> {
-            List<OrientedEdge> connectedEdges = edges.stream()
-                    .filter(e -> (e.getToVertexId().equals(v.getId()) || e.getFromVertexId().equals(v.getId())))
-                    .collect(Collectors.toList());
-
-            return connectedEdges.stream().map(e -> {
-                if (southPos.contains(e.getToVertexId())) {
-                    return southPos.indexOf(e.getToVertexId());
-                }
-                return southPos.indexOf(e.getFromVertexId());
-            }).sorted();
-        }).toArray();
+        return entries;
     }
-}
\ No newline at end of file
+}
@@ -16,12 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.inject.Inject;
 
-import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
 import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
 
@@ -45,6 +44,18 @@ public class VerticesTransposer {
     void transpose(final List<GraphLayer> layers,
                    final List<OrientedEdge> edges,
                    final int currentIteration) {
+        final OrderedLayers orderedLayers = new OrderedLayers(layers, edges);
+        transpose(orderedLayers, currentIteration);
+        orderedLayers.apply();
+    }
+
+    /**
+     * Transpose neighbouring vertices inside layers trying to reduce crossing.
+     * @param layers The layers with vertices.
+     * @param currentIteration The current iteration of the execution.
+     */
+    void transpose(final OrderedLayers layers,
+                   final int currentIteration) {
 
         boolean improved = true;
         final boolean bottomUp = (currentIteration % 2) == 0;
@@ -54,43 +65,116 @@ public class VerticesTransposer {
 
             if (bottomUp) {
                 for (int index = layers.size() - 1; index > 0; index--) {
-                    final GraphLayer current;
-                    final GraphLayer previous;
-                    current = layers.get(index - 1);
-                    previous = layers.get(index);
-                    improved = doTranspose(current, previous, edges);
+                    improved = doTranspose(layers, index - 1, index);
                 }
             } else {
                 for (int index = 1; index < layers.size(); index++) {
-                    final GraphLayer current;
-                    final GraphLayer previous;
-                    current = layers.get(index);
-                    previous = layers.get(index - 1);
-                    improved = doTranspose(current, previous, edges);
+                    improved = doTranspose(layers, index, index - 1);
                 }
             }
         }
     }
 
-    private boolean doTranspose(final GraphLayer current,
-                                final GraphLayer previous,
-                                final List<OrientedEdge> edges) {
+    /**
+     * Swaps each pair of neighbouring vertices in the current layer when it reduces the crossing with the
+     * previous layer. Instead of counting all the crossing again for each pair, only the change caused
+     * by the swap is calculated, which just depends on the edges of both vertices.
+     * The change matches the one given by {@link LayerCrossingCount}, including how it accounts the edges
+     * of the previous layer that are not connected to the current one.
+     */
+    private boolean doTranspose(final OrderedLayers layers,
+                                final int current,
+                                final int previous) {
+
+        final int[] vertices = layers.getOrder(current);
+        if (vertices.length < 2) {
+            return false;
+        }
 
-        final List<Vertex> vertices = current.getVertices();
-        boolean improved = false;
-        for (int i = 1; i < vertices.size(); i++) {
+        // Positions in the previous layer of the vertices connected to each vertex
+        final int[][] connectedPositions = new int[vertices.length][];
+        for (int i = 0; i < vertices.length; i++) {
+            connectedPositions[i] = getConnectedPositions(layers, vertices[i], previous);
+        }
 
-            final int currentCrossing = this.crossingCount.crossing(edges, previous, current);
+        // Number of edges not connected to the current layer up to each position in the previous layer
+        final int[] previousVertices = layers.getOrder(previous);
+        final int[] notConnected = new int[previousVertices.length];
+        int notConnectedCount = 0;
+        for (int i = 0; i < previousVertices.length; i++) {
+            for (final int connected : layers.getConnected(previousVertices[i])) {
+                if (layers.getPosition(connected, current) < 0) {
+                    notConnectedCount++;
+                }
+            }
+            notConnected[i] = notConnectedCount;
+        }
 
-            Collections.swap(vertices, i, i - 1);
+        int firstIndex = 1;
+        while (firstIndex < vertices.length) {
+            firstIndex <<= 1;
+        }
+        final int notConnectedLimit = firstIndex - 2;
 
-            final int newCrossing = this.crossingCount.crossing(edges, previous, current);
-            if (newCrossing >= currentCrossing) {
-                Collections.swap(vertices, i - 1, i);
-            } else {
+        boolean improved = false;
+        for (int i = 1; i < vertices.length; i++) {
+            final int[] left = connectedPositions[i - 1];
+            final int[] right = connectedPositions[i];
+
+            int change = countLower(left, right) - countLower(right, left);
+            if (i == notConnectedLimit) {
+                change += sum(notConnected, right) - sum(notConnected, left);
+            }
+
+            if (change < 0) {
+                layers.swap(current, i - 1);
+                connectedPositions[i - 1] = right;
+                connectedPositions[i] = left;
                 improved = true;
             }
         }
         return improved;
     }
-}
\ No newline at end of file
+
+    private static int[] getConnectedPositions(final OrderedLayers layers,
+                                               final int vertex,
+                                               final int layer) {
+        final int[] connected = layers.getConnected(vertex);
+        final int[] positions = new int[connected.length];
+        int size = 0;
+        for (final int other : connected) {
+            final int position = layers.getPosition(other, layer);
+            if (position >= 0) {
+                positions[size++] = position;
+            }
+        }
+        final int[] result = Arrays.copyOf(positions, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return How many pairs of positions have the one in first lower than the one in second. Both must be sorted.
+     */
+    private static int countLower(final int[] first,
+                                  final int[] second) {
+        int count = 0;
+        int j = 0;
+        for (final int position : second) {
+            while (j < first.length && first[j] < position) {
+                j++;
+            }
+            count += j;
+        }
+        return count;
+    }
+
+    private static int sum(final int[] values,
+                           final int[] positions) {
+        int sum = 0;
+        for (final int position : positions) {
+            sum += values[position];
+        }
+        return sum;
+    }
+}
@@ -16,9 +16,12 @@
 
 package org.kie.workbench.common.stunner.core.graph.store;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
@@ -28,15 +31,28 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    // Occurrences of each label along the stored nodes, built on first use and kept up to date by the store operations.
+    private transient Map<String, Integer> labelCounts;
+    private transient Map<String, Set<String>> indexedLabels;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node previous = nodes.put(node.getUUID(),
+                                        node);
+        if (null != labelCounts) {
+            unindexLabels(node.getUUID());
+            indexLabels(node);
+        }
+        return previous;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node removed = nodes.remove(uuid);
+        if (null != labelCounts) {
+            unindexLabels(uuid);
+        }
+        return removed;
     }
 
     @Override
@@ -52,10 +68,55 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelCounts = null;
+        indexedLabels = null;
     }
 
     @Override
     public Iterator<Node> iterator() {
         return nodes.values().iterator();
     }
+
+    /**
+     * Returns the number of stored nodes having the given label, in constant time once the label index is built.
+     */
+    public int countLabel(final String label) {
+        ensureLabelsIndexed();
+        final Integer count = labelCounts.get(label);
+        return null != count ? count : 0;
+    }
+
+    /**
+     * Re-reads the labels of a stored node, as they can be updated in place (eg: when morphing the node).
+     */
+    public void reindexLabels(final Node node) {
+        if (null != labelCounts && nodes.get(node.getUUID()) == node) {
+            unindexLabels(node.getUUID());
+            indexLabels(node);
+        }
+    }
+
+    private void ensureLabelsIndexed() {
+        if (null == labelCounts) {
+            labelCounts = new HashMap<>();
+            indexedLabels = new HashMap<>();
+            nodes.values().forEach(this::indexLabels);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void indexLabels(final Node node) {
+        final Set<String> labels = null != node.getLabels() ?
+                new HashSet<>((Set<String>) node.getLabels()) :
+                Collections.emptySet();
+        indexedLabels.put(node.getUUID(), labels);
+        labels.forEach(label -> labelCounts.merge(label, 1, Integer::sum));
+    }
+
+    private void unindexLabels(final String uuid) {
+        final Set<String> labels = indexedLabels.remove(uuid);
+        if (null != labels) {
+            labels.forEach(label -> labelCounts.computeIfPresent(label, (key, count) -> count > 1 ? count - 1 : null));
+        }
+    }
 }
@@ -53,6 +53,7 @@ import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
 import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.AbstractTreeTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 
 import static org.kie.workbench.common.stunner.core.util.HashUtil.combineHashCodes;
 
@@ -77,11 +78,47 @@ public class GraphUtils {
      */
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Set<String> roleFilter) {
+        if (null != roleFilter && target.nodes() instanceof GraphNodeStoreImpl) {
+            final Map<String, Integer> labelsCount = new HashMap<>();
+            roleFilter.forEach(role -> {
+                final int count = countLabel(target, role);
+                if (count > 0) {
+                    labelsCount.put(role, count);
+                }
+            });
+            return labelsCount;
+        }
         return getLabelsCount(target,
                               e -> true,
                               roleFilter);
     }
 
+    /**
+     * Counts the graph nodes having the given label. It's resolved by the node store's label index, if any.
+     */
+    @SuppressWarnings("unchecked")
+    public static int countLabel(final Graph<?, ? extends Node> target,
+                                 final String label) {
+        final Iterable<? extends Node> nodes = target.nodes();
+        if (nodes instanceof GraphNodeStoreImpl) {
+            return ((GraphNodeStoreImpl) nodes).countLabel(label);
+        }
+        return (int) StreamSupport.stream(nodes.spliterator(), false)
+                .filter(node -> getLabels(node).contains(label))
+                .count();
+    }
+
+    /**
+     * Updates the graph's label index after the labels of the given node have been modified in place.
+     */
+    public static void reindexLabels(final Graph<?, ? extends Node> target,
+                                     final Node node) {
+        final Iterable<? extends Node> nodes = null != target ? target.nodes() : null;
+        if (nodes instanceof GraphNodeStoreImpl) {
+            ((GraphNodeStoreImpl) nodes).reindexLabels(node);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Predicate<Element<?>> elementFilter,
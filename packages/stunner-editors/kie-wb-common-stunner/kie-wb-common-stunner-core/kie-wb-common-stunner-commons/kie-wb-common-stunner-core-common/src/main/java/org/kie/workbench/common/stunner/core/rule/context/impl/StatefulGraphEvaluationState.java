@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -104,23 +105,60 @@ public class StatefulGraphEvaluationState extends AbstractGraphEvaluationState {
 
         private final Collection<Element<? extends View<?>>> added;
         private final Collection<Element<? extends View<?>>> deleted;
+        private final Map<String, Integer> addedRoles;
+        private final Map<String, Collection<Element<? extends View<?>>>> deletedRoles;
 
         public StatefulCardinalityState() {
             this.added = new HashSet<>();
             this.deleted = new HashSet<>();
+            this.addedRoles = new HashMap<>();
+            this.deletedRoles = new HashMap<>();
         }
 
         boolean add(final Element<? extends View<?>> element) {
-            return added.add(element);
+            final boolean isAdded = added.add(element);
+            if (isAdded && null != element.asNode()) {
+                getRoles(element).forEach(role -> addedRoles.merge(role, 1, Integer::sum));
+            }
+            return isAdded;
         }
 
         boolean delete(final Element<? extends View<?>> element) {
-            return deleted.add(element);
+            final boolean isDeleted = deleted.add(element);
+            if (isDeleted && null != element.asNode()) {
+                getRoles(element).forEach(role -> deletedRoles.computeIfAbsent(role, r -> new ArrayList<>()).add(element));
+            }
+            return isDeleted;
         }
 
         void clear() {
             added.clear();
             deleted.clear();
+            addedRoles.clear();
+            deletedRoles.clear();
+        }
+
+        /**
+         * Counts the role occurrences from the graph's label index and the roles of the elements added or
+         * deleted in this state, rather than iterating all the nodes.
+         */
+        @Override
+        public int count(final String role) {
+            int count = GraphUtils.countLabel(getGraph(), role);
+            final Collection<Element<? extends View<?>>> deletedNodes = deletedRoles.get(role);
+            if (null != deletedNodes) {
+                for (final Element<? extends View<?>> node : deletedNodes) {
+                    if (null != getGraph().getNode(node.getUUID())) {
+                        count--;
+                    }
+                }
+            }
+            final Integer addedCount = addedRoles.get(role);
+            return null != addedCount ? count + addedCount : count;
+        }
+
+        private Set<String> getRoles(final Element<? extends View<?>> element) {
+            return null != element.getLabels() ? element.getLabels() : Collections.emptySet();
         }
 
         @Override
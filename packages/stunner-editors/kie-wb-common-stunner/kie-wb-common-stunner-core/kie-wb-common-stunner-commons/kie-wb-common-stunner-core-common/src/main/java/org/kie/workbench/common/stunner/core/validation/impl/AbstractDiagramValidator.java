@@ -19,13 +19,14 @@ package org.kie.workbench.common.stunner.core.validation.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -55,6 +56,9 @@ public abstract class AbstractDiagramValidator
 
     private final ManagedInstance<DomainValidator> validators;
 
+    // The graph and model violations from the last validation, keyed by element.
+    private final Map<String, DiagramElementViolation<RuleViolation>> elementViolations = new LinkedHashMap<>();
+
     protected AbstractDiagramValidator(final DefinitionManager definitionManager,
                                        final RuleManager ruleManager,
                                        final TreeWalkTraverseProcessor treeWalkTraverseProcessor,
@@ -97,19 +101,78 @@ public abstract class AbstractDiagramValidator
         final Collection<DiagramElementViolation<RuleViolation>> diagramElementViolations = validateDomain(diagram);
         violations.addAll(diagramElementViolations);
 
+        elementViolations.clear();
         graphValidator.validate(graph,
                                 Optional.empty(),
-                                Optional.of((g, v) -> consumeBeanAndViolations(() -> violations).accept(g, v)),
-                                Optional.of((n, v) -> consumeBeanAndViolations(() -> violations).accept(n, v)),
-                                Optional.of((e, v) -> consumeBeanAndViolations(() -> violations).accept(e, v)),
+                                Optional.of((g, v) -> consumeBeanAndViolations().accept(g, v)),
+                                Optional.of((n, v) -> consumeBeanAndViolations().accept(n, v)),
+                                Optional.of((e, v) -> consumeBeanAndViolations().accept(e, v)),
                                 // At this point all violations have been already consumed, so no need
                                 // to use the resulting ones here.
-                                vs -> resultConsumer.accept(violations)
+                                vs -> {
+                                    violations.addAll(elementViolations.values());
+                                    resultConsumer.accept(violations);
+                                }
+        );
+    }
+
+    /**
+     * Validates the <code>diagram</code> by evaluating again the graph rules and the model beans only for the
+     * elements related to the ones marked as dirty since the last validation. Domain validators are
+     * always evaluated, as they work on the whole diagram.
+     * It fallbacks to a full validation if the diagram's graph was not the last one being validated.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void validateIncremental(final Diagram diagram,
+                                    final Consumer<Collection<DiagramElementViolation<RuleViolation>>> resultConsumer) {
+        final Graph graph = diagram.getGraph();
+        if (!graphValidator.isIncrementalValidationAvailable(graph)) {
+            validate(diagram,
+                     resultConsumer);
+            return;
+        }
+        final List<DiagramElementViolation<RuleViolation>> violations = new LinkedList<>();
+
+        final Collection<DiagramElementViolation<RuleViolation>> diagramElementViolations = validateDomain(diagram);
+        violations.addAll(diagramElementViolations);
+
+        graphValidator.validateIncremental(graph,
+                                           Optional.of((g, v) -> consumeBeanAndViolations().accept(g, v)),
+                                           Optional.of((n, v) -> consumeBeanAndViolations().accept(n, v)),
+                                           Optional.of((e, v) -> consumeBeanAndViolations().accept(e, v)),
+                                           vs -> {
+                                               violations.addAll(elementViolations.values());
+                                               resultConsumer.accept(violations);
+                                           }
         );
     }
 
-    private BiConsumer<Element, Collection<RuleViolation>> consumeBeanAndViolations(final Supplier<List<DiagramElementViolation<RuleViolation>>> violations) {
+    /**
+     * Marks the given <code>element</code> as modified, so next incremental validation for the
+     * <code>diagram</code> evaluates it again.
+     */
+    public void markDirty(final Diagram diagram,
+                          final Element<?> element) {
+        if (null != element) {
+            elementViolations.remove(element.getUUID());
+            graphValidator.markDirty(diagram.getGraph(),
+                                     element);
+        }
+    }
+
+    /**
+     * Discards the results from the last validation, so next validation is a full one.
+     */
+    public void invalidate() {
+        elementViolations.clear();
+        graphValidator.invalidate();
+    }
+
+    private BiConsumer<Element, Collection<RuleViolation>> consumeBeanAndViolations() {
         return (element, ruleViolations) -> {
+            // Replaces the results from previous validations for this element, if any.
+            elementViolations.remove(element.getUUID());
             if (Optional.ofNullable(element.getContent()).isPresent()) {
                 // If the underlying bean is a Definition, it accomplishes JSR303 validations.
                 modelValidator.validate(element,
@@ -117,21 +180,23 @@ public abstract class AbstractDiagramValidator
 
                                             if ((Objects.nonNull(ruleViolations) && !ruleViolations.isEmpty()) || (Objects.nonNull(modelViolations) && !modelViolations.isEmpty())) {
                                                 //Don't add a ElementViolation if there are no rule or model violations
-                                                violations.get().add(new ElementViolationImpl.Builder()
-                                                                             .setUuid(element.getUUID())
-                                                                             .setGraphViolations(ruleViolations)
-                                                                             .setModelViolations(modelViolations)
-                                                                             .build());
+                                                elementViolations.put(element.getUUID(),
+                                                                      new ElementViolationImpl.Builder()
+                                                                              .setUuid(element.getUUID())
+                                                                              .setGraphViolations(ruleViolations)
+                                                                              .setModelViolations(modelViolations)
+                                                                              .build());
                                             }
                                         });
             } else {
                 // Otherwise, no need not perform bean validation.
                 if (Objects.nonNull(ruleViolations) && !ruleViolations.isEmpty()) {
                     //Don't add a ElementViolation if there are no rule or model violations
-                    violations.get().add(new ElementViolationImpl.Builder()
-                                                 .setUuid(element.getUUID())
-                                                 .setGraphViolations(ruleViolations)
-                                                 .build());
+                    elementViolations.put(element.getUUID(),
+                                          new ElementViolationImpl.Builder()
+                                                  .setUuid(element.getUUID())
+                                                  .setGraphViolations(ruleViolations)
+                                                  .build());
                 }
             }
         };
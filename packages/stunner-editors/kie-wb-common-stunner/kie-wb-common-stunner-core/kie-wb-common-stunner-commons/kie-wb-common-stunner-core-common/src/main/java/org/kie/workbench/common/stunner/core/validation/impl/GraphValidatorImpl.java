@@ -17,7 +17,11 @@
 package org.kie.workbench.common.stunner.core.validation.impl;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
@@ -39,6 +43,7 @@ import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.AbstractTreeTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleSet;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
@@ -56,6 +61,13 @@ public class GraphValidatorImpl
     private final TreeWalkTraverseProcessor treeWalkTraverseProcessor;
     private final RuleManager ruleManager;
 
+    // The results of the last validation, keyed by element, for validating the same graph incrementally.
+    private final Map<String, Collection<RuleViolation>> validatedViolations = new LinkedHashMap<>();
+    private final Map<String, String[]> validatedEdges = new HashMap<>();
+    private final Map<String, Element<?>> dirtyElements = new LinkedHashMap<>();
+    private String validatedGraphUUID;
+    private RuleSet validatedRuleSet;
+
     protected GraphValidatorImpl() {
         this(null,
              null,
@@ -115,6 +127,7 @@ public class GraphValidatorImpl
         final ViolationsSet violations = new ViolationsSet();
         final StatelessGraphContextBuilder contextBuilder =
                 new StatelessGraphContextBuilder(graph);
+        invalidate();
         treeWalkTraverseProcessor
                 .traverse(graph,
                           new AbstractTreeTraverseCallback<org.kie.workbench.common.stunner.core.graph.Graph, Node, Edge>() {
@@ -137,54 +150,13 @@ public class GraphValidatorImpl
                               @Override
                               public boolean startEdgeTraversal(final Edge edge) {
                                   super.startEdgeTraversal(edge);
-                                  final Object content = edge.getContent();
-                                  final ViolationsSet edgeViolations =
-                                          new ViolationsSet();
-                                  if (content instanceof Child) {
+                                  if (edge.getContent() instanceof Child) {
                                       this.currentParents.push(edge.getSourceNode());
-                                  } else if (content instanceof View) {
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
-                                              Optional.ofNullable(edge.getSourceNode());
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
-                                              Optional.ofNullable(edge.getTargetNode());
-                                      // Check not empty connections.
-                                      final Optional<RuleViolation> emptyConnectionViolation =
-                                              evaluateNotEmptyConnections(edge,
-                                                                          sourceOpt,
-                                                                          targetOpt);
-                                      emptyConnectionViolation.ifPresent(edgeViolations::add);
-                                      // Evaluate connection rules.
-                                      edgeViolations.addViolations(
-                                              evaluateConnection(contextBuilder,
-                                                                 ruleSet,
-                                                                 edge,
-                                                                 sourceOpt,
-                                                                 targetOpt)
-                                      );
-                                      // Evaluate connector cardinality rules for this edge.
-                                      if (null != edge.getTargetNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateIncomingEdgeCardinality(contextBuilder,
-                                                                                  ruleSet,
-                                                                                  edge)
-                                          );
-                                      }
-                                      if (null != edge.getSourceNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateOutgoingEdgeCardinality(contextBuilder,
-                                                                                  ruleSet,
-                                                                                  edge)
-                                          );
-                                      }
-                                  } else if (content instanceof Dock) {
-                                      final Node parent = edge.getSourceNode();
-                                      final Node docked = edge.getTargetNode();
-                                      // Evaluate docking rules for the source & target nodes.
-                                      edgeViolations.addViolations(evaluateDocking(contextBuilder,
-                                                                                   ruleSet,
-                                                                                   parent,
-                                                                                   docked));
                                   }
+                                  final Collection<RuleViolation> edgeViolations =
+                                          evaluateEdge(contextBuilder,
+                                                       ruleSet,
+                                                       edge);
                                   edgeValidatorConsumer.ifPresent(c -> c.accept(edge,
                                                                                 edgeViolations));
                                   violations.addAll(edgeViolations);
@@ -203,34 +175,325 @@ public class GraphValidatorImpl
                               public boolean startNodeTraversal(final Node node) {
                                   super.startNodeTraversal(node);
                                   final Collection<RuleViolation> nodeViolations =
-                                          evaluateNode(node,
+                                          evaluateNode(contextBuilder,
+                                                       ruleSet,
+                                                       node,
                                                        currentParents.isEmpty() ?
-                                                               null :
+                                                               graph :
                                                                currentParents.peek());
                                   nodeValidatorConsumer.ifPresent(c -> c.accept(node,
                                                                                 nodeViolations));
+                                  violations.addAll(nodeViolations);
                                   return true;
                               }
 
                               @Override
                               public void endGraphTraversal() {
                                   super.endGraphTraversal();
+                                  validatedGraphUUID = graph.getUUID();
+                                  validatedRuleSet = ruleSet;
 
                                   // Finished - feed the consumer instance.
                                   resultConsumer.accept(violations);
                               }
-
-                              private Collection<RuleViolation> evaluateNode(final Node node,
-                                                                             final Node parent) {
-                                  // Evaluate containment rules for this node.
-                                  return violations.addViolations(evaluateContainment(ruleSet,
-                                                                                      contextBuilder,
-                                                                                      null != parent ? parent : graph,
-                                                                                      node));
-                              }
                           });
     }
 
+    /**
+     * Marks the given <code>element</code> as modified since the last validation for the <code>graph</code>
+     * instance, so next incremental validation evaluates again the rules related to it.
+     * It is expected to be called for any element added, updated or removed by the executed commands.
+     */
+    public void markDirty(final Graph graph,
+                          final Element<?> element) {
+        if (null != graph && null != element && graph.getUUID().equals(validatedGraphUUID)) {
+            dirtyElements.put(element.getUUID(),
+                              element);
+        }
+    }
+
+    /**
+     * Discards the violations from the last validation, so next validation for any graph is a full one.
+     */
+    public void invalidate() {
+        validatedGraphUUID = null;
+        validatedRuleSet = null;
+        validatedViolations.clear();
+        validatedEdges.clear();
+        dirtyElements.clear();
+    }
+
+    /**
+     * Returns <code>true</code> if the <code>graph</code> instance was the last one being validated, using its
+     * default rule set, so it can be validated incrementally.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean isIncrementalValidationAvailable(final Graph graph) {
+        return null != graph &&
+                graph.getUUID().equals(validatedGraphUUID) &&
+                Objects.equals(getRuleSet(graph),
+                               validatedRuleSet);
+    }
+
+    /**
+     * Validates the <code>graph</code> instance by evaluating again just the rules which inputs have been
+     * changed since the last validation. It fallbacks to a full validation if no previous results are
+     * available for the <code>graph</code>.
+     */
+    public void validateIncremental(final Graph graph,
+                                    final Consumer<Collection<RuleViolation>> callback) {
+        validateIncremental(graph,
+                            Optional.empty(),
+                            Optional.empty(),
+                            Optional.empty(),
+                            callback);
+    }
+
+    /**
+     * Performs an incremental validation for the <code>graph</code> instance, using its default rule set.
+     * <p>
+     * It evaluates the graph's cardinality rules, and the containment, docking, connection and connector
+     * cardinality rules only for the nodes and edges which inputs are related to the elements marked as dirty
+     * since the last validation. The violations for the rest of elements are the ones cached from
+     * previous runs. If no previous results are available for the <code>graph</code>, it performs a
+     * full validation instead.
+     * @param graph The instance to validate.
+     * @param graphValidatorConsumer An optional consumer for the graph instance when is being validated.
+     * @param nodeValidatorConsumer An optional consumer each node instance when being validated again.
+     * @param edgeValidatorConsumer An optional consumer each edge instance when being validated again.
+     * @param resultConsumer The consumer for all the resulting validation violations, both the new and
+     * the cached ones.
+     */
+    @SuppressWarnings("unchecked")
+    void validateIncremental(final Graph graph,
+                             final Optional<BiConsumer<Graph, Collection<RuleViolation>>> graphValidatorConsumer,
+                             final Optional<BiConsumer<Node, Collection<RuleViolation>>> nodeValidatorConsumer,
+                             final Optional<BiConsumer<Edge, Collection<RuleViolation>>> edgeValidatorConsumer,
+                             final Consumer<Collection<RuleViolation>> resultConsumer) {
+        if (!isIncrementalValidationAvailable(graph)) {
+            validate(graph,
+                     Optional.empty(),
+                     graphValidatorConsumer,
+                     nodeValidatorConsumer,
+                     edgeValidatorConsumer,
+                     resultConsumer);
+            return;
+        }
+        final RuleSet ruleSet = validatedRuleSet;
+        final StatelessGraphContextBuilder contextBuilder =
+                new StatelessGraphContextBuilder(graph);
+        final Set<Node> nodes = new LinkedHashSet<>();
+        final Set<Edge> edges = new LinkedHashSet<>();
+        collectDirtyNodes(graph,
+                          nodes);
+        for (final Node<?, Edge> node : nodes) {
+            edges.addAll(node.getInEdges());
+            edges.addAll(node.getOutEdges());
+        }
+        // The children and the docked nodes depend on the parent for the containment rules.
+        final Set<Node> containedNodes = new LinkedHashSet<>(nodes);
+        for (final Node<?, Edge> node : nodes) {
+            node.getOutEdges().stream()
+                    .filter(edge -> edge.getContent() instanceof Child || edge.getContent() instanceof Dock)
+                    .filter(edge -> null != edge.getTargetNode())
+                    .forEach(edge -> containedNodes.add(edge.getTargetNode()));
+        }
+
+        // Evaluate the graph's cardinality rules.
+        final ViolationsSet graphCardinalityViolations = new ViolationsSet();
+        graphCardinalityViolations.addViolations(evaluateCardinality(contextBuilder,
+                                                                     ruleSet));
+        graphValidatorConsumer.ifPresent(g -> g.accept(graph,
+                                                       graphCardinalityViolations));
+        for (final Node node : containedNodes) {
+            final Collection<RuleViolation> nodeViolations =
+                    evaluateNode(contextBuilder,
+                                 ruleSet,
+                                 node,
+                                 getContainmentParent(graph,
+                                                      node));
+            nodeValidatorConsumer.ifPresent(c -> c.accept(node,
+                                                          nodeViolations));
+        }
+        for (final Edge edge : edges) {
+            final Collection<RuleViolation> edgeViolations =
+                    evaluateEdge(contextBuilder,
+                                 ruleSet,
+                                 edge);
+            edgeValidatorConsumer.ifPresent(c -> c.accept(edge,
+                                                          edgeViolations));
+        }
+
+        final ViolationsSet violations = new ViolationsSet();
+        violations.addAll(graphCardinalityViolations);
+        validatedViolations.values().forEach(violations::addAll);
+        resultConsumer.accept(violations);
+    }
+
+    /**
+     * Collects the nodes which rules inputs have been changed by the dirty elements, and discards the
+     * cached violations for the elements no longer present in the graph.
+     */
+    @SuppressWarnings("unchecked")
+    private void collectDirtyNodes(final Graph graph,
+                                   final Set<Node> nodes) {
+        for (final Element<?> element : dirtyElements.values()) {
+            final String uuid = element.getUUID();
+            if (element instanceof Node) {
+                final Node node = graph.getNode(uuid);
+                if (null != node) {
+                    nodes.add(node);
+                } else {
+                    validatedViolations.remove(uuid);
+                    // Connectors which were attached to the removed node.
+                    validatedEdges.values().stream()
+                            .filter(ends -> uuid.equals(ends[0]) || uuid.equals(ends[1]))
+                            .forEach(ends -> addGraphNodes(graph,
+                                                           nodes,
+                                                           ends));
+                }
+            } else if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                addGraphNodes(graph,
+                              nodes,
+                              getNodeUUID(edge.getSourceNode()),
+                              getNodeUUID(edge.getTargetNode()));
+                final String[] ends = validatedEdges.get(uuid);
+                if (null != ends) {
+                    addGraphNodes(graph,
+                                  nodes,
+                                  ends);
+                }
+                if (!isInGraph(graph,
+                               edge)) {
+                    validatedViolations.remove(uuid);
+                    validatedEdges.remove(uuid);
+                }
+            }
+        }
+        dirtyElements.clear();
+    }
+
+    private static void addGraphNodes(final Graph graph,
+                                      final Set<Node> nodes,
+                                      final String... uuids) {
+        for (final String uuid : uuids) {
+            final Node node = null != uuid ? graph.getNode(uuid) : null;
+            if (null != node) {
+                nodes.add(node);
+            }
+        }
+    }
+
+    /**
+     * An edge is only reachable, so validated, by traversing the nodes present in the graph.
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean isInGraph(final Graph graph,
+                                     final Edge edge) {
+        final Node source = edge.getSourceNode();
+        final Node target = edge.getTargetNode();
+        return (null != source && null != graph.getNode(source.getUUID()) && source.getOutEdges().contains(edge)) ||
+                (null != target && null != graph.getNode(target.getUUID()) && target.getInEdges().contains(edge));
+    }
+
+    /**
+     * Resolves the parent used for evaluating the containment rules, consistently with the full graph
+     * traversal: the parent node, or for docked nodes the parent of the node they're docked to, if any.
+     * Otherwise the graph itself.
+     */
+    @SuppressWarnings("unchecked")
+    private static Element getContainmentParent(final Graph graph,
+                                                final Node<?, Edge> node) {
+        Element<?> parent = GraphUtils.getParent(node);
+        if (null == parent) {
+            final Node dockParent = node.getInEdges().stream()
+                    .filter(edge -> edge.getContent() instanceof Dock)
+                    .map(Edge::getSourceNode)
+                    .filter(Objects::nonNull)
+                    .findAny()
+                    .orElse(null);
+            parent = null != dockParent ? GraphUtils.getParent(dockParent) : null;
+        }
+        return null != parent ? parent : graph;
+    }
+
+    private static String getNodeUUID(final Node node) {
+        return null != node ? node.getUUID() : null;
+    }
+
+    private Collection<RuleViolation> evaluateNode(final StatelessGraphContextBuilder contextBuilder,
+                                                   final RuleSet ruleSet,
+                                                   final Node node,
+                                                   final Element parent) {
+        // Evaluate containment rules for this node.
+        final ViolationsSet nodeViolations = new ViolationsSet();
+        nodeViolations.addViolations(evaluateContainment(ruleSet,
+                                                         contextBuilder,
+                                                         parent,
+                                                         node));
+        validatedViolations.put(node.getUUID(),
+                                nodeViolations);
+        return nodeViolations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<RuleViolation> evaluateEdge(final StatelessGraphContextBuilder contextBuilder,
+                                                   final RuleSet ruleSet,
+                                                   final Edge edge) {
+        final Object content = edge.getContent();
+        final ViolationsSet edgeViolations =
+                new ViolationsSet();
+        if (content instanceof View) {
+            final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
+                    Optional.ofNullable(edge.getSourceNode());
+            final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
+                    Optional.ofNullable(edge.getTargetNode());
+            // Check not empty connections.
+            final Optional<RuleViolation> emptyConnectionViolation =
+                    evaluateNotEmptyConnections(edge,
+                                                sourceOpt,
+                                                targetOpt);
+            emptyConnectionViolation.ifPresent(edgeViolations::add);
+            // Evaluate connection rules.
+            edgeViolations.addViolations(
+                    evaluateConnection(contextBuilder,
+                                       ruleSet,
+                                       edge,
+                                       sourceOpt,
+                                       targetOpt)
+            );
+            // Evaluate connector cardinality rules for this edge.
+            if (null != edge.getTargetNode()) {
+                edgeViolations.addViolations(
+                        evaluateIncomingEdgeCardinality(contextBuilder,
+                                                        ruleSet,
+                                                        edge)
+                );
+            }
+            if (null != edge.getSourceNode()) {
+                edgeViolations.addViolations(
+                        evaluateOutgoingEdgeCardinality(contextBuilder,
+                                                        ruleSet,
+                                                        edge)
+                );
+            }
+        } else if (content instanceof Dock) {
+            final Node parent = edge.getSourceNode();
+            final Node docked = edge.getTargetNode();
+            // Evaluate docking rules for the source & target nodes.
+            edgeViolations.addViolations(evaluateDocking(contextBuilder,
+                                                         ruleSet,
+                                                         parent,
+                                                         docked));
+        }
+        validatedViolations.put(edge.getUUID(),
+                                edgeViolations);
+        validatedEdges.put(edge.getUUID(),
+                           new String[]{getNodeUUID(edge.getSourceNode()), getNodeUUID(edge.getTargetNode())});
+        return edgeViolations;
+    }
+
     private RuleSet getRuleSet(final Graph<? extends DefinitionSet, ?> graph) {
         final String defSetId = graph.getContent().getDefinition();
         final Object definitionSet = definitionManager.definitionSets().getDefinitionSetById(defSetId);
@@ -16,6 +16,8 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.indexing.bounds;
 
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -23,6 +25,7 @@ import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.GraphBoundsIndexerImpl;
@@ -35,6 +38,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
 public class GraphBoundsIndexerImplTest {
@@ -44,6 +48,11 @@ public class GraphBoundsIndexerImplTest {
 
     private GraphBoundsIndexerImpl graphBoundsIndexerImpl;
 
+    private TestingGraphMockHandler graphTestHandlerContainer;
+    private Node containerNode;
+    private Node childNode;
+    private Node otherNode;
+
     @Before
     public void setup() {
         this.graphTestHandlerParent = new TestingGraphMockHandler();
@@ -127,4 +136,129 @@ public class GraphBoundsIndexerImplTest {
                      size[1],
                      0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAtIndexedNodes() {
+        buildContainerGraph();
+        assertSame(childNode,
+                   graphBoundsIndexerImpl.getAt(130,
+                                                130));
+        assertSame(containerNode,
+                   graphBoundsIndexerImpl.getAt(105,
+                                                105));
+        assertSame(otherNode,
+                   graphBoundsIndexerImpl.getAt(450,
+                                                450));
+        assertNull(graphBoundsIndexerImpl.getAt(600,
+                                                600));
+    }
+
+    @Test
+    public void testUpdate() {
+        buildContainerGraph();
+        assertSame(childNode,
+                   graphBoundsIndexerImpl.getAt(130,
+                                                130));
+        ((View) containerNode.getContent()).setBounds(Bounds.create(300, 0, 400, 100));
+        graphBoundsIndexerImpl.update(containerNode);
+        assertNull(graphBoundsIndexerImpl.getAt(130,
+                                                130));
+        assertSame(containerNode,
+                   graphBoundsIndexerImpl.getAt(305,
+                                                5));
+        assertSame(childNode,
+                   graphBoundsIndexerImpl.getAt(315,
+                                                15));
+    }
+
+    @Test
+    public void testRemove() {
+        buildContainerGraph();
+        graphBoundsIndexerImpl.remove(containerNode);
+        assertNull(graphBoundsIndexerImpl.getAt(130,
+                                                130));
+        assertNull(graphBoundsIndexerImpl.getAt(105,
+                                                105));
+        assertSame(otherNode,
+                   graphBoundsIndexerImpl.getAt(450,
+                                                450));
+    }
+
+    @Test
+    public void testUpdateReparentedNode() {
+        buildContainerGraph();
+        graphTestHandlerContainer.removeChild(containerNode,
+                                              childNode);
+        graphBoundsIndexerImpl.update(childNode);
+        assertSame(childNode,
+                   graphBoundsIndexerImpl.getAt(15,
+                                                15));
+        assertSame(containerNode,
+                   graphBoundsIndexerImpl.getAt(130,
+                                                130));
+    }
+
+    @Test
+    public void testInvalidate() {
+        buildContainerGraph();
+        assertNull(graphBoundsIndexerImpl.getAt(15,
+                                                15));
+        ((View) otherNode.getContent()).setBounds(Bounds.create(0, 0, 50, 50));
+        graphBoundsIndexerImpl.invalidate();
+        assertSame(otherNode,
+                   graphBoundsIndexerImpl.getAt(15,
+                                                15));
+    }
+
+    @Test
+    public void testGetTrimmedBoundsForRoot() {
+        buildContainerGraph();
+        double[] trimmedBounds = graphBoundsIndexerImpl.getTrimmedBounds();
+        assertEquals(100, trimmedBounds[0], 0.001);
+        assertEquals(100, trimmedBounds[1], 0.001);
+        assertEquals(450, trimmedBounds[2], 0.001);
+        assertEquals(450, trimmedBounds[3], 0.001);
+
+        graphBoundsIndexerImpl.setRootUUID(containerNode.getUUID());
+        trimmedBounds = graphBoundsIndexerImpl.getTrimmedBounds();
+        assertEquals(110, trimmedBounds[0], 0.001);
+        assertEquals(110, trimmedBounds[1], 0.001);
+        assertEquals(160, trimmedBounds[2], 0.001);
+        assertEquals(160, trimmedBounds[3], 0.001);
+
+        ((View) childNode.getContent()).setBounds(Bounds.create(20, 20, 70, 70));
+        graphBoundsIndexerImpl.update(childNode);
+        trimmedBounds = graphBoundsIndexerImpl.getTrimmedBounds();
+        assertEquals(120, trimmedBounds[0], 0.001);
+        assertEquals(170, trimmedBounds[3], 0.001);
+    }
+
+    /**
+     * A container node at [100, 100] with a child at [10, 10], relative to it, plus another node at [400, 400].
+     */
+    @SuppressWarnings("unchecked")
+    private void buildContainerGraph() {
+        graphTestHandlerContainer = new TestingGraphMockHandler();
+        containerNode = graphTestHandlerContainer.newViewNode("containerNode",
+                                                              Optional.empty(),
+                                                              100,
+                                                              100,
+                                                              100,
+                                                              100);
+        childNode = graphTestHandlerContainer.newViewNode("childNode",
+                                                          Optional.empty(),
+                                                          10,
+                                                          10,
+                                                          50,
+                                                          50);
+        otherNode = graphTestHandlerContainer.newViewNode("otherNode",
+                                                          Optional.empty(),
+                                                          400,
+                                                          400,
+                                                          50,
+                                                          50);
+        graphTestHandlerContainer.setChild(containerNode,
+                                           childNode);
+        graphBoundsIndexerImpl.build(graphTestHandlerContainer.graph);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step02.LongestPathVertexLayerer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orders large generated graphs.
+ */
+public class VertexOrderingBenchmarkTest {
+
+    static final int LAYERS = 20;
+    static final int LAYER_WIDTH = 60;
+
+    @Test
+    public void testLargeGraph() {
+        final LayeredGraph graph = createGraph(LAYERS, LAYER_WIDTH, 7);
+        final Set<String> vertices = new HashSet<>(graph.getVertices());
+
+        new LongestPathVertexLayerer().createLayers(graph);
+        final LayerCrossingCount crossingCount = new LayerCrossingCount();
+        new DefaultVertexOrdering(new MedianVertexLayerPositioning(),
+                                  crossingCount,
+                                  new VerticesTransposer(crossingCount)).orderVertices(graph);
+
+        assertLayered(graph);
+
+        // Long edges go through virtual vertices, each with a single incoming and a single outgoing edge
+        final HashMap<String, Integer> incoming = new HashMap<>();
+        final HashMap<String, Integer> outgoing = new HashMap<>();
+        for (final OrientedEdge edge : graph.getEdges()) {
+            outgoing.merge(edge.getFromVertexId(), 1, Integer::sum);
+            incoming.merge(edge.getToVertexId(), 1, Integer::sum);
+        }
+        for (final GraphLayer layer : graph.getLayers()) {
+            for (final Vertex vertex : layer.getVertices()) {
+                if (vertex.isVirtual()) {
+                    assertThat(incoming.get(vertex.getId())).isEqualTo(1);
+                    assertThat(outgoing.get(vertex.getId())).isEqualTo(1);
+                } else {
+                    assertThat(vertices).contains(vertex.getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTimeBudget() {
+        final LayerCrossingCount crossingCount = new LayerCrossingCount();
+
+        final LayeredGraph unlimited = createGraph(LAYERS, LAYER_WIDTH, 11);
+        new LongestPathVertexLayerer().createLayers(unlimited);
+        new DefaultVertexOrdering(new MedianVertexLayerPositioning(),
+                                  crossingCount,
+                                  new VerticesTransposer(crossingCount),
+                                  0).orderVertices(unlimited);
+
+        final LayeredGraph budgeted = createGraph(LAYERS, LAYER_WIDTH, 11);
+        new LongestPathVertexLayerer().createLayers(budgeted);
+        new DefaultVertexOrdering(new MedianVertexLayerPositioning(),
+                                  crossingCount,
+                                  new VerticesTransposer(crossingCount),
+                                  1).orderVertices(budgeted);
+
+        // Stopping earlier keeps the best order found so far, which can not be better than the final one
+        assertLayered(budgeted);
+        assertThat(crossingCount.crossing(budgeted.getLayers(), budgeted.getEdges()))
+                .isGreaterThanOrEqualTo(crossingCount.crossing(unlimited.getLayers(), unlimited.getEdges()));
+    }
+
+    /**
+     * Creates a graph with edges from each vertex to the next layer and, for some of them, to further layers.
+     */
+    static LayeredGraph createGraph(final int layers,
+                                    final int layerWidth,
+                                    final long seed) {
+        final Random random = new Random(seed);
+        final LayeredGraph graph = new LayeredGraph();
+        for (int layer = 0; layer < layers - 1; layer++) {
+            for (int i = 0; i < layerWidth; i++) {
+                graph.addEdge("v" + layer + "_" + i, "v" + (layer + 1) + "_" + random.nextInt(layerWidth));
+                if (random.nextInt(4) == 0) {
+                    final int target = Math.min(layers - 1, layer + 2 + random.nextInt(3));
+                    graph.addEdge("v" + layer + "_" + i, "v" + target + "_" + random.nextInt(layerWidth));
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Checks each vertex is in a single layer and each edge goes from a layer to the next one.
+     */
+    static void assertLayered(final LayeredGraph graph) {
+        final HashMap<String, Integer> layerOf = new HashMap<>();
+        for (int i = 0; i < graph.getLayers().size(); i++) {
+            final GraphLayer layer = graph.getLayers().get(i);
+            for (final Vertex vertex : layer.getVertices()) {
+                assertThat(layerOf.put(vertex.getId(), i)).isNull();
+            }
+        }
+
+        final Set<String> vertices = new HashSet<>(graph.getVertices());
+        assertThat(layerOf.keySet()).containsAll(vertices);
+
+        for (final OrientedEdge edge : graph.getEdges()) {
+            assertThat(Math.abs(layerOf.get(edge.getFromVertexId()) - layerOf.get(edge.getToVertexId()))).isEqualTo(1);
+        }
+    }
+}
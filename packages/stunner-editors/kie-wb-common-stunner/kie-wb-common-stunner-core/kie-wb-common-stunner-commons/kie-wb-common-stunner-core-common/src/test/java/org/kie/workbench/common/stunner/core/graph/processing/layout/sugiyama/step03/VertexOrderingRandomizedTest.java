@@ -0,0 +1,299 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step03;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.OrientedEdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.Vertex;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.GraphLayer;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.LayeredGraph;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.OrientedEdge;
+import org.kie.workbench.common.stunner.core.graph.processing.layout.sugiyama.step02.LongestPathVertexLayerer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the ordering of generated graphs with the one of {@link ReferenceVertexOrdering}, a straightforward
+ * implementation of the same algorithm which does not index the edges nor the vertices positions.
+ */
+public class VertexOrderingRandomizedTest {
+
+    private static final int GRAPHS = 40;
+
+    @Test
+    public void testSameOrderAsReference() {
+        for (int seed = 0; seed < GRAPHS; seed++) {
+            final int layers = 2 + seed % 6;
+            final int layerWidth = 1 + (seed * 7) % 9;
+
+            final LayeredGraph expected = VertexOrderingBenchmarkTest.createGraph(layers, layerWidth, seed);
+            new LongestPathVertexLayerer().createLayers(expected);
+            new ReferenceVertexOrdering().orderVertices(expected);
+
+            final LayeredGraph actual = VertexOrderingBenchmarkTest.createGraph(layers, layerWidth, seed);
+            new LongestPathVertexLayerer().createLayers(actual);
+            final LayerCrossingCount crossingCount = new LayerCrossingCount();
+            new DefaultVertexOrdering(new MedianVertexLayerPositioning(),
+                                      crossingCount,
+                                      new VerticesTransposer(crossingCount)).orderVertices(actual);
+
+            assertThat(getOrder(actual)).as("Order of graph %s", seed).isEqualTo(getOrder(expected));
+            assertThat(getEdges(actual)).as("Edges of graph %s", seed).isEqualTo(getEdges(expected));
+        }
+    }
+
+    private static List<List<String>> getOrder(final LayeredGraph graph) {
+        return graph.getLayers()
+                .stream()
+                .map(layer -> layer.getVertices().stream().map(Vertex::getId).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> getEdges(final LayeredGraph graph) {
+        return graph.getEdges()
+                .stream()
+                .map(edge -> edge.getFromVertexId() + "->" + edge.getToVertexId())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Orders the vertices by searching the edges and the vertices positions in the layers each time they are needed.
+     */
+    private static final class ReferenceVertexOrdering {
+
+        private static final int MAX_ITERATIONS = 24;
+
+        void orderVertices(final LayeredGraph layered) {
+            final List<OrientedEdge> edges = layered.getEdges();
+            final List<GraphLayer> virtualized = createVirtual(edges, layered);
+            List<GraphLayer> best = clone(virtualized);
+
+            for (int i = 0; i < MAX_ITERATIONS; i++) {
+                positionVertices(virtualized, edges, i);
+                transpose(virtualized, edges, i);
+                if (crossing(best, edges) > crossing(virtualized, edges)) {
+                    best = clone(virtualized);
+                } else {
+                    break;
+                }
+            }
+
+            layered.getLayers().clear();
+            layered.getLayers().addAll(best);
+        }
+
+        private List<GraphLayer> clone(final List<GraphLayer> input) {
+            final List<GraphLayer> clone = new ArrayList<>(input.size());
+            for (final GraphLayer value : input) {
+                clone.add(value.clone());
+            }
+            return clone;
+        }
+
+        private List<GraphLayer> createVirtual(final List<OrientedEdge> edges,
+                                               final LayeredGraph graph) {
+            int virtualIndex = 0;
+            final List<GraphLayer> virtualized = clone(graph.getLayers());
+
+            for (int i = 0; i < virtualized.size() - 1; i++) {
+                final GraphLayer currentLayer = virtualized.get(i);
+                final GraphLayer nextLayer = virtualized.get(i + 1);
+                for (final Vertex vertex : currentLayer.getVertices()) {
+
+                    final List<OrientedEdge> outgoing = edges.stream()
+                            .filter(e -> Objects.equals(e.getFromVertexId(), vertex.getId()))
+                            .filter(e -> Math.abs(getLayerNumber(e.getToVertexId(), virtualized) - getLayerNumber(vertex.getId(), virtualized)) > 1)
+                            .collect(Collectors.toList());
+
+                    final List<OrientedEdge> incoming = edges.stream()
+                            .filter(e -> Objects.equals(e.getToVertexId(), vertex.getId()))
+                            .filter(e -> Math.abs(getLayerNumber(e.getFromVertexId(), virtualized) - getLayerNumber(vertex.getId(), virtualized)) > 1)
+                            .collect(Collectors.toList());
+
+                    for (final OrientedEdge edge : outgoing) {
+                        final Vertex virtualVertex = new Vertex("V" + virtualIndex++, true);
+                        nextLayer.getVertices().add(virtualVertex);
+                        edges.remove(edge);
+                        edges.add(new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertex.getId()));
+                        edges.add(new OrientedEdgeImpl(virtualVertex.getId(), edge.getToVertexId()));
+                    }
+
+                    for (final OrientedEdge edge : incoming) {
+                        final Vertex virtualVertex = new Vertex("V" + virtualIndex++, true);
+                        nextLayer.getVertices().add(virtualVertex);
+                        edges.remove(edge);
+                        edges.add(new OrientedEdgeImpl(virtualVertex.getId(), edge.getToVertexId()));
+                        edges.add(new OrientedEdgeImpl(edge.getFromVertexId(), virtualVertex.getId()));
+                    }
+                }
+            }
+
+            return virtualized;
+        }
+
+        private int getLayerNumber(final String vertex,
+                                   final List<GraphLayer> layers) {
+            return layers.stream()
+                    .filter(l -> l.getVertices().stream().anyMatch(v -> Objects.equals(v.getId(), vertex)))
+                    .findFirst()
+                    .orElseThrow(() -> new NoSuchElementException("Can not found the layer of the vertex."))
+                    .getLevel();
+        }
+
+        private void positionVertices(final List<GraphLayer> layers,
+                                      final List<OrientedEdge> edges,
+                                      final int currentIteration) {
+            if (currentIteration % 2 == 0) {
+                for (int j = layers.size() - 1; j >= 1; j--) {
+                    final GraphLayer currentLayer = layers.get(j);
+                    for (final Vertex vertex : currentLayer.getVertices()) {
+                        vertex.setMedian(median(vertex.getId(), layers.get(j - 1), edges));
+                    }
+                    currentLayer.getVertices().sort(Vertex::compareTo);
+                }
+            } else {
+                for (int j = 0; j < layers.size() - 1; j++) {
+                    final GraphLayer currentLayer = layers.get(j);
+                    for (final Vertex vertex : currentLayer.getVertices()) {
+                        vertex.setMedian(median(vertex.getId(), layers.get(j + 1), edges));
+                    }
+                    currentLayer.getVertices().sort(Vertex::compareTo);
+                }
+            }
+        }
+
+        private double median(final String vertex,
+                              final GraphLayer layer,
+                              final List<OrientedEdge> edges) {
+            final List<Integer> connectedVerticesIndex = new ArrayList<>();
+            final List<Vertex> vertices = layer.getVertices();
+            for (int i = 0; i < vertices.size(); i++) {
+                final String vertexInLayer = vertices.get(i).getId();
+                if (edges.stream().anyMatch(e -> e.isLinkedWithVertexId(vertexInLayer) && e.isLinkedWithVertexId(vertex))) {
+                    connectedVerticesIndex.add(i);
+                }
+            }
+
+            final int size = connectedVerticesIndex.size();
+            if (size == 0) {
+                for (int i = 0; i < vertices.size(); i++) {
+                    if (Objects.equals(vertices.get(i).getId(), vertex)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            if (size % 2 == 0) {
+                return ((double) connectedVerticesIndex.get(size / 2) + (double) connectedVerticesIndex.get(size / 2 - 1)) / 2;
+            }
+            return connectedVerticesIndex.get(size / 2);
+        }
+
+        private void transpose(final List<GraphLayer> layers,
+                               final List<OrientedEdge> edges,
+                               final int currentIteration) {
+            boolean improved = true;
+            final boolean bottomUp = (currentIteration % 2) == 0;
+
+            while (improved) {
+                improved = false;
+                if (bottomUp) {
+                    for (int index = layers.size() - 1; index > 0; index--) {
+                        improved = doTranspose(layers.get(index - 1), layers.get(index), edges);
+                    }
+                } else {
+                    for (int index = 1; index < layers.size(); index++) {
+                        improved = doTranspose(layers.get(index), layers.get(index - 1), edges);
+                    }
+                }
+            }
+        }
+
+        private boolean doTranspose(final GraphLayer current,
+                                    final GraphLayer previous,
+                                    final List<OrientedEdge> edges) {
+            final List<Vertex> vertices = current.getVertices();
+            boolean improved = false;
+            for (int i = 1; i < vertices.size(); i++) {
+                final int currentCrossing = crossing(edges, previous, current);
+                Collections.swap(vertices, i, i - 1);
+                if (crossing(edges, previous, current) >= currentCrossing) {
+                    Collections.swap(vertices, i - 1, i);
+                } else {
+                    improved = true;
+                }
+            }
+            return improved;
+        }
+
+        private int crossing(final List<GraphLayer> layers,
+                             final List<OrientedEdge> edges) {
+            int crossingCount = 0;
+            for (int i = 1; i < layers.size(); i++) {
+                crossingCount += crossing(edges, layers.get(i - 1), layers.get(i));
+            }
+            return crossingCount;
+        }
+
+        private int crossing(final List<OrientedEdge> edges,
+                             final GraphLayer north,
+                             final GraphLayer south) {
+            final List<String> southPos = south.getVertices().stream().map(Vertex::getId).collect(Collectors.toList());
+            final List<Integer> entries = new ArrayList<>();
+            for (final Vertex vertex : north.getVertices()) {
+                entries.addAll(edges.stream()
+                                       .filter(e -> e.getToVertexId().equals(vertex.getId()) || e.getFromVertexId().equals(vertex.getId()))
+                                       .map(e -> southPos.contains(e.getToVertexId()) ? southPos.indexOf(e.getToVertexId()) : southPos.indexOf(e.getFromVertexId()))
+                                       .sorted()
+                                       .collect(Collectors.toList()));
+            }
+
+            int firstIndex = 1;
+            while (firstIndex < southPos.size()) {
+                firstIndex <<= 1;
+            }
+            final int[] tree = new int[2 * firstIndex - 1];
+            firstIndex -= 1;
+
+            int crossings = 0;
+            for (final int entry : entries) {
+                int index = entry + firstIndex;
+                if (index < 0) {
+                    continue;
+                }
+                tree[index]++;
+                int weightSum = 0;
+                while (index > 0) {
+                    if (index % 2 != 0) {
+                        weightSum += tree[index + 1];
+                    }
+                    index = (index - 1) >> 1;
+                    tree[index]++;
+                }
+                crossings += weightSum;
+            }
+            return crossings;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+
+import static org.junit.Assert.assertEquals;
+
+public class GraphNodeStoreImplTest {
+
+    private GraphNodeStoreImpl tested;
+    private Node node1;
+    private Node node2;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        tested = new GraphNodeStoreImpl();
+        node1 = new NodeImpl<>("node1");
+        node1.getLabels().add("task");
+        node1.getLabels().add("all");
+        node2 = new NodeImpl<>("node2");
+        node2.getLabels().add("all");
+        tested.add(node1);
+        tested.add(node2);
+    }
+
+    @Test
+    public void testCountLabel() {
+        assertEquals(2, tested.countLabel("all"));
+        assertEquals(1, tested.countLabel("task"));
+        assertEquals(0, tested.countLabel("event"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCountLabelAfterAddAndRemove() {
+        assertEquals(2, tested.countLabel("all"));
+        final Node node3 = new NodeImpl<>("node3");
+        node3.getLabels().add("event");
+        node3.getLabels().add("all");
+        tested.add(node3);
+        assertEquals(3, tested.countLabel("all"));
+        assertEquals(1, tested.countLabel("event"));
+        tested.remove("node1");
+        assertEquals(2, tested.countLabel("all"));
+        assertEquals(0, tested.countLabel("task"));
+        tested.remove("node1");
+        assertEquals(2, tested.countLabel("all"));
+        tested.clear();
+        assertEquals(0, tested.countLabel("all"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCountLabelAfterReplacingNode() {
+        assertEquals(1, tested.countLabel("task"));
+        final Node replacement = new NodeImpl<>("node1");
+        replacement.getLabels().add("event");
+        tested.add(replacement);
+        assertEquals(0, tested.countLabel("task"));
+        assertEquals(1, tested.countLabel("event"));
+        assertEquals(1, tested.countLabel("all"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReindexLabels() {
+        assertEquals(1, tested.countLabel("task"));
+        node1.getLabels().clear();
+        node1.getLabels().add("event");
+        tested.reindexLabels(node1);
+        assertEquals(0, tested.countLabel("task"));
+        assertEquals(1, tested.countLabel("event"));
+        assertEquals(1, tested.countLabel("all"));
+    }
+}
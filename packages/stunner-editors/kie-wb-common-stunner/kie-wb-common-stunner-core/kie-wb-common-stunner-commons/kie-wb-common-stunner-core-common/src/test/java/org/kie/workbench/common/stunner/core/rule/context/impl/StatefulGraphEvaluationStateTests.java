@@ -76,6 +76,23 @@ public class StatefulGraphEvaluationStateTests {
         assertTrue(nodes.contains(someNewNode));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCardinalityStateCount() {
+        StatefulGraphEvaluationState.StatefulCardinalityState cardinalityState = tested.getCardinalityState();
+        NodeImpl someNewNode = new NodeImpl<>("someNewNodeUUID");
+        someNewNode.getLabels().add("all");
+        cardinalityState.add(someNewNode);
+        cardinalityState.delete(graphInstance.nodeA);
+        assertEquals(6, cardinalityState.count("all"));
+        assertEquals(0, cardinalityState.count("nodeALabel"));
+        assertEquals(1, cardinalityState.count("startNodeLabel"));
+        assertEquals(0, cardinalityState.count("someUnknownLabel"));
+        tested.clear();
+        assertEquals(6, cardinalityState.count("all"));
+        assertEquals(1, cardinalityState.count("nodeALabel"));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testConnectorCardinalityState() {
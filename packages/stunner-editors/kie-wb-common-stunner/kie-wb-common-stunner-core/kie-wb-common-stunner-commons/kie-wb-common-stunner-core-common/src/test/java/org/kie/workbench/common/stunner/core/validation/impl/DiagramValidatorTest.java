@@ -303,6 +303,54 @@ public class DiagramValidatorTest {
                                   any(Consumer.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidateDiagramIncremental() {
+        final TestingGraphInstanceBuilder.TestGraph1 graph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        when(diagram.getGraph()).thenReturn(graphTestHandler.graph);
+
+        //model violation
+        final ModelBeanViolation beanViolation = mock(ModelBeanViolation.class);
+        when(beanViolation.getViolationType()).thenReturn(Violation.Type.ERROR);
+        when(beanViolation.getMessage()).thenReturn(MODEL_VIOLATION);
+        doAnswer(invocationOnMock -> {
+            final Consumer<Collection<ModelBeanViolation>> validationsConsumer =
+                    (Consumer<Collection<ModelBeanViolation>>) invocationOnMock.getArguments()[1];
+            validationsConsumer.accept(Collections.singleton(beanViolation));
+            return null;
+        }).when(modelValidator).validate(eq(graph1.intermNode),
+                                         any(Consumer.class));
+
+        tested.validate(diagram,
+                        violations -> assertElementError(violations,
+                                                         TestingGraphInstanceBuilder.INTERM_NODE_UUID));
+        tested.markDirty(diagram,
+                         graph1.endNode);
+        // The violations for the non dirty elements are the ones from the previous validation.
+        tested.validateIncremental(diagram,
+                                   violations -> assertElementError(violations,
+                                                                    TestingGraphInstanceBuilder.INTERM_NODE_UUID));
+
+        verify(modelValidator,
+               times(1)).validate(eq(graph1.startNode),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(1)).validate(eq(graph1.intermNode),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(2)).validate(eq(graph1.endNode),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(1)).validate(eq(graph1.edge1),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(2)).validate(eq(graph1.edge2),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(2)).validate(eq(graphTestHandler.graph),
+                                  any(Consumer.class));
+    }
+
     private void assertNoErrors(final
                                 Collection<DiagramElementViolation<RuleViolation>> violations) {
         assertNotNull(violations);
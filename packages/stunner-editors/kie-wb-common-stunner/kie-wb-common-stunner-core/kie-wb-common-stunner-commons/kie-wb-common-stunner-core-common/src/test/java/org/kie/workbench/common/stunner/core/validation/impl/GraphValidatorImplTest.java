@@ -16,9 +16,12 @@
 
 package org.kie.workbench.common.stunner.core.validation.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +29,7 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
@@ -39,12 +43,15 @@ import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext
 import org.kie.workbench.common.stunner.core.rule.context.ElementCardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.GraphConnectionContext;
 import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.context.NodeDockingContext;
 import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
 import org.kie.workbench.common.stunner.core.validation.Violation;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -55,6 +62,8 @@ import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyConn
 import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyConnectorCardinality;
 import static org.kie.workbench.common.stunner.core.TestingGraphUtils.verifyContainment;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -62,7 +71,7 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.Silent.class)
 public class GraphValidatorImplTest {
 
-    private final static String DEF_SET_ID = "ds1";
+    private final static String DEF_SET_ID = TestingGraphMockHandler.DEF_SET_ID;
 
     @Mock
     private Object defSetBean;
@@ -240,6 +249,124 @@ public class GraphValidatorImplTest {
                         });
     }
 
+    @Test
+    public void testValidateIncrementalWithoutPreviousResults() {
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        assertFalse(tested.isIncrementalValidationAvailable(graph));
+        clearInvocations(graphTestHandler.getRuleManager());
+        tested.validateIncremental(graph,
+                                   this::assertNoError);
+        final List<String> incrementalContexts = getEvaluatedContexts();
+        assertTrue(tested.isIncrementalValidationAvailable(graph));
+        // Same contexts as for a full validation.
+        clearInvocations(graphTestHandler.getRuleManager());
+        tested.validate(graph,
+                        this::assertNoError);
+        assertEquals(getEvaluatedContexts(),
+                     incrementalContexts);
+    }
+
+    @Test
+    public void testValidateIncrementalWithoutDirtyElements() {
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        tested.validate(graph,
+                        this::assertNoError);
+        clearInvocations(graphTestHandler.getRuleManager());
+        tested.validateIncremental(graph,
+                                   this::assertNoError);
+        // Only the graph's cardinality rules are evaluated again.
+        assertEquals(singletonList(cardinality()),
+                     getEvaluatedContexts());
+    }
+
+    @Test
+    public void testValidateIncrementalDirtyNode() {
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        final TestingGraphInstanceBuilder.TestGraph2 testGraph2 = TestingGraphInstanceBuilder.newGraph2(graphTestHandler);
+        tested.validate(graph,
+                        this::assertNoError);
+        clearInvocations(graphTestHandler.getRuleManager());
+        tested.markDirty(graph,
+                         testGraph2.intermNode);
+        tested.validateIncremental(graph,
+                                   this::assertNoError);
+        // The graph's cardinality, the node's containment and the rules for its connectors are evaluated again.
+        assertEquals(sorted(cardinality(),
+                            containment(testGraph2.parentNode,
+                                        testGraph2.intermNode),
+                            connection(testGraph2.edge1),
+                            connectorCardinality(testGraph2.startNode,
+                                                 testGraph2.edge1,
+                                                 EdgeCardinalityContext.Direction.OUTGOING),
+                            connectorCardinality(testGraph2.intermNode,
+                                                 testGraph2.edge1,
+                                                 EdgeCardinalityContext.Direction.INCOMING),
+                            connection(testGraph2.edge2),
+                            connectorCardinality(testGraph2.intermNode,
+                                                 testGraph2.edge2,
+                                                 EdgeCardinalityContext.Direction.OUTGOING),
+                            connectorCardinality(testGraph2.endNode,
+                                                 testGraph2.edge2,
+                                                 EdgeCardinalityContext.Direction.INCOMING)),
+                     sorted(getEvaluatedContexts()));
+    }
+
+    @Test
+    public void testValidateIncrementalEmptyViewConnectorNodes() {
+        final Graph<DefinitionSet, Node> graph = graphTestHandler.graph;
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        tested.validate(graph,
+                        this::assertNoError);
+        graphTestHandler.removeTargetConnection(testGraph1.edge2);
+        clearInvocations(graphTestHandler.getRuleManager());
+        tested.markDirty(graph,
+                         testGraph1.edge2);
+        tested.validateIncremental(graph,
+                                   ruleViolations -> {
+                                       assertEquals(1,
+                                                    ruleViolations.size());
+                                       final RuleViolation violation = ruleViolations.iterator().next();
+                                       assertTrue(violation instanceof EmptyConnectionViolation);
+                                       assertEquals(testGraph1.edge2.getUUID(),
+                                                    ((EmptyConnectionViolation) violation).getArguments().get()[0]);
+                                   });
+        // The graph's cardinality, the containment for both the source and the previous target nodes,
+        // and the rules for the connectors of the source node.
+        assertEquals(sorted(cardinality(),
+                            containment(graph,
+                                        testGraph1.intermNode),
+                            containment(graph,
+                                        testGraph1.endNode),
+                            connection(testGraph1.edge1),
+                            connectorCardinality(testGraph1.startNode,
+                                                 testGraph1.edge1,
+                                                 EdgeCardinalityContext.Direction.OUTGOING),
+                            connectorCardinality(testGraph1.intermNode,
+                                                 testGraph1.edge1,
+                                                 EdgeCardinalityContext.Direction.INCOMING),
+                            connection(testGraph1.edge2),
+                            connectorCardinality(testGraph1.intermNode,
+                                                 testGraph1.edge2,
+                                                 EdgeCardinalityContext.Direction.OUTGOING)),
+                     sorted(getEvaluatedContexts()));
+        // The violation is cached for next runs.
+        tested.validateIncremental(graph,
+                                   ruleViolations -> assertEquals(1,
+                                                                  ruleViolations.size()));
+    }
+
+    @Test
+    public void testValidateIncrementalAfterInvalidate() {
+        TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        tested.validate(graphTestHandler.graph,
+                        this::assertNoError);
+        assertTrue(tested.isIncrementalValidationAvailable(graphTestHandler.graph));
+        tested.invalidate();
+        assertFalse(tested.isIncrementalValidationAvailable(graphTestHandler.graph));
+    }
+
     private void assertNoError(final Collection<RuleViolation> violations) {
         assertFalse(violations.stream()
                             .filter(v -> Violation.Type.ERROR.equals(v.getViolationType()))
@@ -251,4 +378,72 @@ public class GraphValidatorImplTest {
     private Graph<?, Node<?, Edge>> getGraph() {
         return (Graph) graphTestHandler.graph;
     }
+
+    /**
+     * Describes the contexts evaluated by the rule manager since the last time its invocations were cleared,
+     * in evaluation order.
+     */
+    private List<String> getEvaluatedContexts() {
+        final ArgumentCaptor<RuleEvaluationContext> contextCaptor = ArgumentCaptor.forClass(RuleEvaluationContext.class);
+        verify(graphTestHandler.getRuleManager(),
+               atLeast(0)).evaluate(eq(graphTestHandler.ruleSet),
+                                    contextCaptor.capture());
+        return contextCaptor.getAllValues().stream()
+                .map(GraphValidatorImplTest::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static String describe(final RuleEvaluationContext context) {
+        if (context instanceof ElementCardinalityContext) {
+            return cardinality();
+        }
+        if (context instanceof NodeContainmentContext) {
+            final NodeContainmentContext containmentContext = (NodeContainmentContext) context;
+            return containment(containmentContext.getParent(),
+                               containmentContext.getCandidates().iterator().next());
+        }
+        if (context instanceof NodeDockingContext) {
+            final NodeDockingContext dockingContext = (NodeDockingContext) context;
+            return "docking " + dockingContext.getParent().getUUID() + " " + dockingContext.getCandidate().getUUID();
+        }
+        if (context instanceof GraphConnectionContext) {
+            return connection(((GraphConnectionContext) context).getConnector());
+        }
+        if (context instanceof ConnectorCardinalityContext) {
+            final ConnectorCardinalityContext cardinalityContext = (ConnectorCardinalityContext) context;
+            return connectorCardinality(cardinalityContext.getCandidate(),
+                                        cardinalityContext.getEdge(),
+                                        cardinalityContext.getDirection());
+        }
+        return context.getClass().getSimpleName();
+    }
+
+    private static String cardinality() {
+        return "cardinality";
+    }
+
+    private static String containment(final Element<?> parent,
+                                      final Element<?> candidate) {
+        return "containment " + parent.getUUID() + " " + candidate.getUUID();
+    }
+
+    private static String connection(final Edge<?, ?> connector) {
+        return "connection " + connector.getUUID();
+    }
+
+    private static String connectorCardinality(final Element<?> candidate,
+                                               final Edge<?, ?> edge,
+                                               final EdgeCardinalityContext.Direction direction) {
+        return "connector cardinality " + candidate.getUUID() + " " + edge.getUUID() + " " + direction;
+    }
+
+    private static List<String> sorted(final String... contexts) {
+        return sorted(asList(contexts));
+    }
+
+    private static List<String> sorted(final List<String> contexts) {
+        final List<String> result = new ArrayList<>(contexts);
+        Collections.sort(result);
+        return result;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ait.lienzo.client.core.animation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import com.ait.lienzo.client.core.types.BoundingBox;
+
+/**
+ * The areas of a layer invalidated since it was last drawn, in layer coordinates.
+ * <p>
+ * Overlapping areas are merged as they are added and, past {@link #MAX_REGIONS}, all of them collapse into their
+ * union, so a layer never clips against more than a handful of rectangles.
+ */
+public final class DirtyRegions {
+
+    public static final int MAX_REGIONS = 8;
+
+    private final List<BoundingBox> m_regions = new ArrayList<>();
+
+    private boolean m_all;
+
+    /**
+     * Adds the given area. A null or invalid area invalidates the whole layer.
+     */
+    public DirtyRegions add(final BoundingBox bbox) {
+        if (m_all) {
+            return this;
+        }
+        if ((null == bbox) || (!bbox.isValid())) {
+            return markAll();
+        }
+        final BoundingBox merged = BoundingBox.fromBoundingBox(bbox);
+
+        boolean absorbed = true;
+
+        while (absorbed) {
+            absorbed = false;
+
+            final Iterator<BoundingBox> it = m_regions.iterator();
+
+            while (it.hasNext()) {
+                final BoundingBox region = it.next();
+
+                if (region.intersects(merged)) {
+                    merged.addBoundingBox(region);
+
+                    it.remove();
+
+                    absorbed = true;
+                }
+            }
+        }
+        m_regions.add(merged);
+
+        if (m_regions.size() > MAX_REGIONS) {
+            final BoundingBox union = new BoundingBox();
+
+            for (final BoundingBox region : m_regions) {
+                union.addBoundingBox(region);
+            }
+            m_regions.clear();
+
+            m_regions.add(union);
+        }
+        return this;
+    }
+
+    public DirtyRegions markAll() {
+        m_all = true;
+
+        m_regions.clear();
+
+        return this;
+    }
+
+    /**
+     * Returns true if the whole layer has to be drawn.
+     */
+    public boolean isAll() {
+        return m_all;
+    }
+
+    public boolean isEmpty() {
+        return (!m_all) && m_regions.isEmpty();
+    }
+
+    public List<BoundingBox> getRegions() {
+        return Collections.unmodifiableList(m_regions);
+    }
+
+    public void clear() {
+        m_all = false;
+
+        m_regions.clear();
+    }
+}
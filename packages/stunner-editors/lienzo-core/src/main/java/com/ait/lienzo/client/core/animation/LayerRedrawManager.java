@@ -17,6 +17,7 @@ package com.ait.lienzo.client.core.animation;
 
 import com.ait.lienzo.client.core.animation.AnimationScheduler.AnimationCallback;
 import com.ait.lienzo.client.core.shape.Layer;
+import com.ait.lienzo.client.core.types.BoundingBox;
 import com.ait.lienzo.tools.client.collection.NFastArrayList;
 import elemental2.dom.HTMLElement;
 import jsinterop.base.Js;
@@ -29,6 +30,8 @@ public final class LayerRedrawManager {
 
     private NFastArrayList<Layer> m_layers = new NFastArrayList<>();
 
+    private FrameStats m_stats = new FrameStats(0, 0, 0, 0);
+
     public static final LayerRedrawManager get() {
         return INSTANCE;
     }
@@ -42,14 +45,46 @@ public final class LayerRedrawManager {
 
                 m_layers = new NFastArrayList<Layer>();
 
+                final long begin = System.currentTimeMillis();
+
+                long pixels = 0;
+
+                long primitives = 0;
+
                 for (int i = 0; i < size; i++) {
-                    list.get(i).unBatchScheduled().draw();
+                    final Layer layer = list.get(i).unBatchScheduled().drawDirty();
+
+                    pixels += layer.getRepaintedPixels();
+
+                    primitives += layer.getRepaintedPrimitives();
                 }
+                m_stats = new FrameStats(size, pixels, primitives, System.currentTimeMillis() - begin);
             }
         };
     }
 
+    /**
+     * Schedules a full redraw of the layer on the next animation frame.
+     */
     public final Layer schedule(final Layer layer) {
+        if (null != layer) {
+            layer.getDirtyRegions().markAll();
+        }
+        return enqueue(layer);
+    }
+
+    /**
+     * Schedules a redraw of the given area of the layer, in layer coordinates, on the next animation frame. The areas
+     * scheduled for the same frame are merged, and the layer only repaints the primitives intersecting them.
+     */
+    public final Layer schedule(final Layer layer, final BoundingBox dirty) {
+        if (null != layer) {
+            layer.getDirtyRegions().add(dirty);
+        }
+        return enqueue(layer);
+    }
+
+    private Layer enqueue(final Layer layer) {
         if ((null != layer) && (!layer.isBatchScheduled())) {
             if (!m_layers.contains(layer)) {
                 m_layers.add(layer.doBatchScheduled());
@@ -59,9 +94,61 @@ public final class LayerRedrawManager {
         return layer;
     }
 
+    /**
+     * Returns what the last animation frame redrew.
+     */
+    public final FrameStats getLastFrameStats() {
+        return m_stats;
+    }
+
     private void kick(HTMLElement layerElement) {
         if (!m_layers.isEmpty()) {
             AnimationScheduler.get().requestAnimationFrame(m_redraw, Js.uncheckedCast(layerElement));
         }
     }
+
+    public static final class FrameStats {
+
+        private final int m_layers;
+
+        private final long m_pixels;
+
+        private final long m_primitives;
+
+        private final long m_millis;
+
+        FrameStats(final int layers, final long pixels, final long primitives, final long millis) {
+            m_layers = layers;
+            m_pixels = pixels;
+            m_primitives = primitives;
+            m_millis = millis;
+        }
+
+        public int getLayers() {
+            return m_layers;
+        }
+
+        /**
+         * Returns the canvas pixels cleared and repainted, summed over the layers.
+         */
+        public long getPixels() {
+            return m_pixels;
+        }
+
+        /**
+         * Returns the layers' top level primitives repainted, summed over the layers.
+         */
+        public long getPrimitives() {
+            return m_primitives;
+        }
+
+        public long getMillis() {
+            return m_millis;
+        }
+
+        @Override
+        public String toString() {
+            return "layers=" + m_layers + ", pixels=" + m_pixels + ", primitives=" + m_primitives + ", millis=" + m_millis;
+        }
+    }
 }
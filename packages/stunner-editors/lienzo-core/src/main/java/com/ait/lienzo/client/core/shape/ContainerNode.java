@@ -125,6 +125,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
 
         getStorageEngine().add(child);
 
+        boundsChanged();
+
         return cast();
     }
 
@@ -143,6 +145,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
 
         getStorageEngine().remove(child);
 
+        boundsChanged();
+
         return cast();
     }
 
@@ -157,6 +161,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     public T removeAll() {
         getStorageEngine().clear();
 
+        boundsChanged();
+
         return cast();
     }
 
@@ -16,23 +16,35 @@
 
 package com.ait.lienzo.client.core.shape;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import com.ait.lienzo.client.core.Attribute;
 import com.ait.lienzo.client.core.Context2D;
+import com.ait.lienzo.client.core.animation.DirtyRegions;
 import com.ait.lienzo.client.core.animation.LayerRedrawManager;
 import com.ait.lienzo.client.core.config.LienzoCore;
 import com.ait.lienzo.client.core.shape.storage.IStorageEngine;
 import com.ait.lienzo.client.core.shape.storage.PrimitiveFastArrayStorageEngine;
+import com.ait.lienzo.client.core.shape.storage.PrimitiveSpatialIndexStorageEngine;
 import com.ait.lienzo.client.core.style.Style;
 import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
 import com.ait.lienzo.client.core.types.ColorKeyRotor;
 import com.ait.lienzo.client.core.types.ImageDataPixelColor;
 import com.ait.lienzo.client.core.types.OnLayerAfterDraw;
 import com.ait.lienzo.client.core.types.OnLayerBeforeDraw;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Point2DArray;
+import com.ait.lienzo.client.core.types.Shadow;
 import com.ait.lienzo.client.core.types.Transform;
+import com.ait.lienzo.client.core.util.GeometryException;
 import com.ait.lienzo.shared.core.types.DataURLType;
 import com.ait.lienzo.shared.core.types.LayerClearMode;
 import com.ait.lienzo.shared.core.types.NodeType;
@@ -73,6 +85,18 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
 
     private long m_batched = 0L;
 
+    private final DirtyRegions m_dirty = new DirtyRegions();
+
+    // The areas primitives were last invalidated with, forgotten on every full draw
+    private final Map<IPrimitive<?>, BoundingBox> m_invalidated = new IdentityHashMap<>();
+
+    // The top level primitives to re-index before the next draw, only tracked by spatially indexed layers
+    private final Set<IPrimitive<?>> m_changed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long m_repaintedPixels = 0L;
+
+    private int m_repaintedPrimitives = 0;
+
     private boolean clearLayerBeforeDraw = true;
 
     private boolean transformable = true;
@@ -83,6 +107,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
 
     private static long idCounter;
 
+    private static final double DIRTY_REGION_MARGIN = 2;
+
     /**
      * Constructor. Creates an instance of a Layer.
      */
@@ -225,6 +251,10 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
     public Layer remove(final IPrimitive<?> child) {
         child.detachFromLayerColorMap();
 
+        m_invalidated.remove(child);
+
+        m_changed.remove(child);
+
         super.remove(child);
 
         return this;
@@ -550,6 +580,10 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
 
     @Override
     public Layer draw() {
+        m_dirty.clear();
+
+        m_invalidated.clear();
+
         return draw(getContext());
     }
 
@@ -558,6 +592,10 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
             if (isClearLayerBeforeDraw()) {
                 clear();
             }
+            m_repaintedPixels = 0L;
+
+            m_repaintedPrimitives = 0;
+
             if (isVisible()) {
                 boolean draw = true;
 
@@ -565,69 +603,297 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
                     draw = m_olbd.onLayerBeforeDraw(this);
                 }
                 if (draw) {
-                    Transform transform = null;
+                    refreshStorage();
+
+                    final Transform transform = getDrawTransform();
+
+                    final BoundingBox bbox = getDrawBounds(getViewport(), transform);
 
-                    final Viewport viewport = getViewport();
+                    drawClipped(context, null, transform, bbox);
 
-                    if ((isTransformable()) && (null != viewport)) {
-                        transform = viewport.getTransform();
+                    if (null != m_olad) {
+                        m_olad.onLayerAfterDraw(this);
                     }
-                    context.save();
+                    final SelectionLayer selection = getSelectionLayer();
 
-                    if (null != transform) {
-                        context.transform(transform);
+                    if (null != selection) {
+                        selection.clear();
+
+                        drawClipped(selection.getContext(), null, transform, bbox);
                     }
-                    final BoundingBox bbox = getStorageBounds();
+                    m_repaintedPixels = ((long) getWidth()) * getHeight();
 
-                    IPathClipper vclp = null;
+                    m_repaintedPrimitives = getChildNodes(bbox).size();
+                }
+            }
+        }
+        return this;
+    }
 
-                    if (null != viewport) {
-                        vclp = viewport.getPathClipper();
+    /**
+     * Draws only the areas invalidated through {@link #batch(BoundingBox)} or {@link #invalidate(IPrimitive)} since
+     * the layer was last drawn: they are cleared, clipped to, and only the primitives intersecting them are repainted.
+     * Falls back to {@link #draw()} when the whole layer was invalidated, or when the layer can't be partially redrawn.
+     */
+    public Layer drawDirty() {
+        if ((m_dirty.isEmpty()) || (m_dirty.isAll()) || (!isPartiallyDrawable())) {
+            return draw();
+        }
+        final Transform transform = getDrawTransform();
 
-                        if ((null != vclp) && (vclp.isActive())) {
-                            vclp.clip(context);
-                        }
-                    }
-                    final IPathClipper lclp = getPathClipper();
+        final List<BoundingBox> rects = getCanvasRects(m_dirty.getRegions(), transform);
 
-                    if ((null != lclp) && (lclp.isActive())) {
-                        lclp.clip(context);
-                    }
-                    drawWithTransforms(context, 1, bbox);
+        final BoundingBox bbox = getLayerBounds(rects, transform);
 
-                    context.restore();
+        if (null == bbox) {
+            return draw();
+        }
+        m_dirty.clear();
 
-                    if (null != m_olad) {
-                        m_olad.onLayerAfterDraw(this);
-                    }
-                    final SelectionLayer selection = getSelectionLayer();
+        m_repaintedPixels = 0L;
 
-                    if (null != selection) {
-                        selection.clear();
+        m_repaintedPrimitives = 0;
 
-                        context = selection.getContext();
+        if (rects.isEmpty()) {
+            return this;
+        }
+        final Context2D context = getContext();
 
-                        context.save();
+        for (final BoundingBox rect : rects) {
+            context.clearRect(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
 
-                        if (null != transform) {
-                            context.transform(transform);
-                        }
-                        if ((null != vclp) && (vclp.isActive())) {
-                            vclp.clip(context);
-                        }
-                        if ((null != lclp) && (lclp.isActive())) {
-                            lclp.clip(context);
-                        }
-                        drawWithTransforms(context, 1, bbox);
+            m_repaintedPixels += (long) (rect.getWidth() * rect.getHeight());
+        }
+        boolean draw = true;
 
-                        context.restore();
-                    }
+        if (null != m_olbd) {
+            draw = m_olbd.onLayerBeforeDraw(this);
+        }
+        if (draw) {
+            refreshStorage();
+
+            drawClipped(context, rects, transform, bbox);
+
+            if (null != m_olad) {
+                m_olad.onLayerAfterDraw(this);
+            }
+            final SelectionLayer selection = getSelectionLayer();
+
+            if (null != selection) {
+                final Context2D select = selection.getContext();
+
+                for (final BoundingBox rect : rects) {
+                    select.clearRect(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
                 }
+                drawClipped(select, rects, transform, bbox);
             }
+            m_repaintedPrimitives = getChildNodes(bbox).size();
         }
         return this;
     }
 
+    private void drawClipped(final Context2D context, final List<BoundingBox> rects, final Transform transform, final BoundingBox bbox) {
+        context.save();
+
+        if (null != rects) {
+            context.beginPath();
+
+            for (final BoundingBox rect : rects) {
+                context.rect(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+            }
+            context.clip();
+        }
+        if (null != transform) {
+            context.transform(transform);
+        }
+        final Viewport viewport = getViewport();
+
+        if (null != viewport) {
+            final IPathClipper vclp = viewport.getPathClipper();
+
+            if ((null != vclp) && (vclp.isActive())) {
+                vclp.clip(context);
+            }
+        }
+        final IPathClipper lclp = getPathClipper();
+
+        if ((null != lclp) && (lclp.isActive())) {
+            lclp.clip(context);
+        }
+        drawWithTransforms(context, 1, bbox);
+
+        context.restore();
+    }
+
+    /**
+     * Spatially indexed storage engines pick the primitives to draw by their indexed bounds, so the primitives which
+     * moved or were resized since the last draw are re-indexed first, one by one.
+     */
+    void refreshStorage() {
+        if (m_changed.isEmpty()) {
+            return;
+        }
+        final IStorageEngine<IPrimitive<?>> storage = getStorageEngine();
+
+        if (storage.isSpatiallyIndexed()) {
+            for (final IPrimitive<?> prim : m_changed) {
+                storage.refresh(prim);
+            }
+        }
+        m_changed.clear();
+    }
+
+    /**
+     * Called by the nodes within this layer whose location, transform, geometry or children changed.
+     *
+     * @param node the top level node holding the changed one
+     */
+    void onBoundsChanged(final Node<?> node) {
+        if ((node != this) && (getStorageEngine().isSpatiallyIndexed())) {
+            final IPrimitive<?> prim = node.asPrimitive();
+
+            if (null != prim) {
+                m_changed.add(prim);
+            }
+        }
+    }
+
+    private Transform getDrawTransform() {
+        final Viewport viewport = getViewport();
+
+        if ((isTransformable()) && (null != viewport)) {
+            return viewport.getTransform();
+        }
+        return null;
+    }
+
+    /**
+     * Partial redraws rely on clearing parts of the canvas, so they're only possible when the layer is cleared before
+     * drawing, and cleared by erasing its pixels rather than by resizing the canvas.
+     */
+    private boolean isPartiallyDrawable() {
+        return (LienzoCore.IS_CANVAS_SUPPORTED) && (isVisible()) && (isClearLayerBeforeDraw()) && (LienzoCore.get().getLayerClearMode() == LayerClearMode.CLEAR);
+    }
+
+    /**
+     * Maps the dirty regions to whole canvas pixels, with a margin for anti-aliasing, and crops them to the canvas.
+     */
+    List<BoundingBox> getCanvasRects(final List<BoundingBox> regions, final Transform transform) {
+        final List<BoundingBox> rects = new ArrayList<>(regions.size());
+
+        for (final BoundingBox region : regions) {
+            final Point2D[] corners = getCorners(region);
+
+            if (null != transform) {
+                for (final Point2D corner : corners) {
+                    transform.transform(corner, corner);
+                }
+            }
+            final BoundingBox bbox = BoundingBox.fromArrayOfPoint2D(corners);
+
+            final double minx = Math.max(0, Math.floor(bbox.getMinX() - DIRTY_REGION_MARGIN));
+
+            final double miny = Math.max(0, Math.floor(bbox.getMinY() - DIRTY_REGION_MARGIN));
+
+            final double maxx = Math.min(getWidth(), Math.ceil(bbox.getMaxX() + DIRTY_REGION_MARGIN));
+
+            final double maxy = Math.min(getHeight(), Math.ceil(bbox.getMaxY() + DIRTY_REGION_MARGIN));
+
+            if ((maxx > minx) && (maxy > miny)) {
+                rects.add(BoundingBox.fromDoubles(minx, miny, maxx, maxy));
+            }
+        }
+        return rects;
+    }
+
+    /**
+     * Maps the canvas rectangles back to the layer coordinates, to pick the primitives to repaint. Returns null if the
+     * transform can't be inverted.
+     */
+    static BoundingBox getLayerBounds(final List<BoundingBox> rects, final Transform transform) {
+        Transform inverse = null;
+
+        if (null != transform) {
+            try {
+                inverse = transform.getInverse();
+            } catch (final GeometryException e) {
+                return null;
+            }
+        }
+        final BoundingBox bbox = new BoundingBox();
+
+        for (final BoundingBox rect : rects) {
+            final Point2D[] corners = getCorners(rect);
+
+            if (null != inverse) {
+                for (final Point2D corner : corners) {
+                    inverse.transform(corner, corner);
+                }
+            }
+            bbox.addDoubles(corners);
+        }
+        return bbox;
+    }
+
+    private static Point2D[] getCorners(final BoundingBox bbox) {
+        return new Point2D[]{new Point2D(bbox.getMinX(), bbox.getMinY()), new Point2D(bbox.getMaxX(), bbox.getMinY()), new Point2D(bbox.getMaxX(), bbox.getMaxY()), new Point2D(bbox.getMinX(), bbox.getMaxY())};
+    }
+
+    /**
+     * Returns the regions to repaint on the next {@link #drawDirty()}.
+     */
+    public DirtyRegions getDirtyRegions() {
+        return m_dirty;
+    }
+
+    /**
+     * Returns the canvas pixels cleared and repainted by the last draw.
+     */
+    public long getRepaintedPixels() {
+        return m_repaintedPixels;
+    }
+
+    /**
+     * Returns the number of top level primitives repainted by the last draw.
+     */
+    public int getRepaintedPrimitives() {
+        return m_repaintedPrimitives;
+    }
+
+    /**
+     * Returns the area handed over to the storage engine to pick the primitives to draw. Unless some storage bounds
+     * are set, spatially indexed layers only draw the primitives intersecting the visible part of the viewport.
+     */
+    BoundingBox getDrawBounds(final Viewport viewport, final Transform transform) {
+        final BoundingBox bbox = getStorageBounds();
+
+        if ((null != bbox) || (null == viewport) || (!getStorageEngine().isSpatiallyIndexed())) {
+            return bbox;
+        }
+        final double wide = viewport.getWidth();
+
+        final double high = viewport.getHeight();
+
+        if ((wide <= 0) || (high <= 0)) {
+            return null;
+        }
+        final Point2D[] corners = {new Point2D(0, 0), new Point2D(wide, 0), new Point2D(wide, high), new Point2D(0, high)};
+
+        if (null != transform) {
+            try {
+                final Transform inverse = transform.getInverse();
+
+                for (final Point2D corner : corners) {
+                    inverse.transform(corner, corner);
+                }
+            } catch (final GeometryException e) {
+                // Non invertible transform, draw everything
+                return null;
+            }
+        }
+        return BoundingBox.fromArrayOfPoint2D(corners);
+    }
+
     /**
      * Performs batch updates to the Layer, that is, drawing is deferred till the next AnimationFrame,
      * to cut down on redraws on rapid event dispatch.
@@ -639,6 +905,154 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer> {
         return LayerRedrawManager.get().schedule(this);
     }
 
+    /**
+     * Schedules a redraw of just the given area, in layer coordinates, on the next AnimationFrame.
+     *
+     * @param dirty the invalidated area
+     * @return Layer
+     */
+    public Layer batch(final BoundingBox dirty) {
+        return LayerRedrawManager.get().schedule(this, dirty);
+    }
+
+    /**
+     * Schedules a redraw of the areas a primitive covered before and after it changed, on the next AnimationFrame. The
+     * area it covered before is the one it was last invalidated or marked with (see {@link #markBounds(IPrimitive)})
+     * since the last full draw or, on spatially indexed layers, the one it was last drawn with. When neither is known,
+     * or the primitive's bounds can't be mapped to the layer, the whole layer is redrawn.
+     *
+     * @param prim the changed primitive, which can be nested in groups
+     * @return Layer
+     */
+    public Layer invalidate(final IPrimitive<?> prim) {
+        if (null != prim) {
+            prim.asNode().boundsChanged();
+        }
+        final BoundingBox after = (null == prim) ? null : getInvalidatedBounds(prim);
+
+        if (null == after) {
+            if (null != prim) {
+                m_invalidated.remove(prim);
+            }
+            return batch();
+        }
+        BoundingBox before = m_invalidated.put(prim, after);
+
+        if (null == before) {
+            before = getIndexedBounds(prim);
+        }
+        if (null == before) {
+            return batch();
+        }
+        batch(before);
+
+        return batch(after);
+    }
+
+    /**
+     * Remembers the area a primitive covers now, so that the next {@link #invalidate(IPrimitive)} also repaints it once
+     * the primitive changed. Call it before changing a primitive which wasn't invalidated since the last full draw.
+     *
+     * @param prim the primitive about to change
+     * @return Layer
+     */
+    public Layer markBounds(final IPrimitive<?> prim) {
+        final BoundingBox bounds = (null == prim) ? null : getInvalidatedBounds(prim);
+
+        if (null != bounds) {
+            m_invalidated.put(prim, bounds);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the area the primitive paints, in layer coordinates, or null if it isn't on this layer, has no bounds,
+     * or one of its parents rotates, scales or shears it.
+     */
+    protected BoundingBox getInvalidatedBounds(final IPrimitive<?> prim) {
+        if (prim.getLayer() != this) {
+            return null;
+        }
+        double offx = 0;
+
+        double offy = 0;
+
+        for (Node<?> node = prim.asNode().getParent(); node != this; node = node.getParent()) {
+            if ((null == node) || (node.hasComplexTransformAttributes()) || (null != node.getTransform())) {
+                return null;
+            }
+            offx += node.getX();
+
+            offy += node.getY();
+        }
+        final BoundingPoints points = prim.getBoundingPoints();
+
+        final Point2DArray array = (null == points) ? null : points.getArray();
+
+        if ((null == array) || (array.size() < 1)) {
+            return null;
+        }
+        final BoundingBox bbox = BoundingBox.fromPoint2DArray(array);
+
+        if ((bbox.getMinX() > bbox.getMaxX()) || (bbox.getMinY() > bbox.getMaxY())) {
+            return null;
+        }
+        final double margin = getPaintMargin(prim);
+
+        return BoundingBox.fromDoubles(bbox.getMinX() + offx - margin, bbox.getMinY() + offy - margin, bbox.getMaxX() + offx + margin, bbox.getMaxY() + offy + margin);
+    }
+
+    private BoundingBox getIndexedBounds(final IPrimitive<?> prim) {
+        final IStorageEngine<IPrimitive<?>> storage = getStorageEngine();
+
+        if ((prim.getParent() != this) || (!(storage instanceof PrimitiveSpatialIndexStorageEngine))) {
+            return null;
+        }
+        final BoundingBox bbox = ((PrimitiveSpatialIndexStorageEngine) storage).getBounds(prim);
+
+        if (null == bbox) {
+            return null;
+        }
+        final double margin = getPaintMargin(prim);
+
+        return BoundingBox.fromDoubles(bbox.getMinX() - margin, bbox.getMinY() - margin, bbox.getMaxX() + margin, bbox.getMaxY() + margin);
+    }
+
+    /**
+     * Returns how far a primitive may paint beyond its bounds: strokes, with miter joins up to twice their width, and
+     * shadows. Groups take the largest margin of their shapes.
+     */
+    static double getPaintMargin(final IPrimitive<?> prim) {
+        final Shape<?> shape = prim.asShape();
+
+        if (null != shape) {
+            double margin = Math.max(1, shape.getStrokeWidth());
+
+            final Shadow shadow = shape.getShadow();
+
+            if (null != shadow) {
+                final Point2D offset = shadow.getOffset();
+
+                margin += shadow.getBlur() + Math.max(Math.abs(offset.getX()), Math.abs(offset.getY()));
+            }
+            return margin;
+        }
+        double margin = 1;
+
+        final GroupOf<IPrimitive<?>, ?> group = prim.asGroupOf();
+
+        if (null != group) {
+            final NFastArrayList<IPrimitive<?>> list = group.getChildNodes();
+
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++) {
+                margin = Math.max(margin, getPaintMargin(list.get(i)));
+            }
+        }
+        return margin;
+    }
+
     /**
      * Sets whether this object is visible.
      *
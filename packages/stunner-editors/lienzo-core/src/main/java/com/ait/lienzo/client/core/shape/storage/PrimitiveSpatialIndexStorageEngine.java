@@ -0,0 +1,240 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Point2DArray;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * Primitive storage engine backed by an {@link RTree}, so {@link #getChildren(BoundingBox)} only returns the
+ * primitives whose bounds intersect the given area, in the same (z-)order as {@link #getChildren()}.
+ * <p>
+ * The bounds of a primitive are taken when it is added. A {@link com.ait.lienzo.client.core.shape.Layer} using this
+ * engine keeps track of the top level primitives whose location, transform or children changed, or which were
+ * invalidated, and calls {@link #refresh(IPrimitive)} for each of them before the next draw. After changing the size of
+ * a shape, refresh or invalidate it so that its layer picks the change. Bounds are in the coordinates of the container,
+ * so this engine is meant for layers.
+ * <p>
+ * The engine is opt-in, through {@link com.ait.lienzo.client.core.shape.Layer#setStorageEngine(IStorageEngine)}: the
+ * bounds pass on every draw only pays off when a layer holds many top level primitives and most of them are outside
+ * the viewport. The Stunner and grid layers hold a few top level groups, which the flat engine draws faster.
+ */
+public class PrimitiveSpatialIndexStorageEngine extends AbstractFastArrayStorageEngine<IPrimitive<?>> {
+
+    private final RTree<IPrimitive<?>> m_index = new RTree<>();
+
+    // Primitives without valid bounds (e.g. empty groups) can't be indexed, so they are always returned
+    private final List<IPrimitive<?>> m_unbounded = new ArrayList<>();
+
+    private final Map<IPrimitive<?>, Integer> m_order = new IdentityHashMap<>();
+
+    private int m_next;
+
+    public PrimitiveSpatialIndexStorageEngine() {
+        super(StorageEngineType.PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE);
+    }
+
+    protected PrimitiveSpatialIndexStorageEngine(final Object node) {
+        super(StorageEngineType.PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE, node);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+
+        m_index.clear();
+
+        m_unbounded.clear();
+
+        m_order.clear();
+
+        m_next = 0;
+    }
+
+    @Override
+    public void add(final IPrimitive<?> item) {
+        super.add(item);
+
+        m_order.put(item, m_next++);
+
+        index(item);
+    }
+
+    @Override
+    public void remove(final IPrimitive<?> item) {
+        super.remove(item);
+
+        if (null != m_order.remove(item)) {
+            if (!m_index.remove(item)) {
+                m_unbounded.remove(item);
+            }
+        }
+    }
+
+    @Override
+    public void refresh(final IPrimitive<?> item) {
+        if (m_order.containsKey(item)) {
+            index(item);
+        }
+    }
+
+    /**
+     * Returns the bounds the item is currently indexed with, which are the ones it was last drawn with unless it
+     * changed afterwards, or null if it isn't indexed.
+     */
+    public BoundingBox getBounds(final IPrimitive<?> item) {
+        final double[] bounds = m_index.getBounds(item);
+
+        if (null == bounds) {
+            return null;
+        }
+        return BoundingBox.fromDoubles(bounds[0], bounds[1], bounds[2], bounds[3]);
+    }
+
+    /**
+     * Re-indexes all the primitives. Only those whose bounds changed since they were last indexed move in the tree.
+     */
+    @Override
+    public void refresh() {
+        final NFastArrayList<IPrimitive<?>> list = getChildren();
+
+        final int size = list.size();
+
+        for (int i = 0; i < size; i++) {
+            index(list.get(i));
+        }
+    }
+
+    @Override
+    public NFastArrayList<IPrimitive<?>> getChildren(final BoundingBox bounds) {
+        if ((null == bounds) || (m_index.isEmpty())) {
+            return getChildren();
+        }
+        final List<IPrimitive<?>> found = m_index.search(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+
+        found.addAll(m_unbounded);
+
+        found.sort((a, b) -> Integer.compare(m_order.get(a), m_order.get(b)));
+
+        final NFastArrayList<IPrimitive<?>> result = new NFastArrayList<>();
+
+        for (final IPrimitive<?> item : found) {
+            result.add(item);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isSpatiallyIndexed() {
+        return true;
+    }
+
+    @Override
+    public void moveUp(final IPrimitive<?> item) {
+        super.moveUp(item);
+
+        reorder();
+    }
+
+    @Override
+    public void moveDown(final IPrimitive<?> item) {
+        super.moveDown(item);
+
+        reorder();
+    }
+
+    @Override
+    public void moveToTop(final IPrimitive<?> item) {
+        super.moveToTop(item);
+
+        if (m_order.containsKey(item)) {
+            m_order.put(item, m_next++);
+        }
+    }
+
+    @Override
+    public void moveToBottom(final IPrimitive<?> item) {
+        super.moveToBottom(item);
+
+        reorder();
+    }
+
+    private void reorder() {
+        final NFastArrayList<IPrimitive<?>> list = getChildren();
+
+        final int size = list.size();
+
+        for (int i = 0; i < size; i++) {
+            m_order.put(list.get(i), i);
+        }
+        m_next = size;
+    }
+
+    private void index(final IPrimitive<?> item) {
+        final BoundingPoints points = item.getBoundingPoints();
+
+        final Point2DArray array = (null == points) ? null : points.getArray();
+
+        if ((null != array) && (array.size() > 0)) {
+            double minx = Double.MAX_VALUE;
+
+            double miny = Double.MAX_VALUE;
+
+            double maxx = -Double.MAX_VALUE;
+
+            double maxy = -Double.MAX_VALUE;
+
+            final int size = array.size();
+
+            for (int i = 0; i < size; i++) {
+                final Point2D point = array.get(i);
+
+                minx = Math.min(minx, point.getX());
+
+                miny = Math.min(miny, point.getY());
+
+                maxx = Math.max(maxx, point.getX());
+
+                maxy = Math.max(maxy, point.getY());
+            }
+            if (isFinite(minx) && isFinite(miny) && isFinite(maxx) && isFinite(maxy)) {
+                // The tree leaves the item in place if its bounds didn't change
+                if (!m_index.contains(item)) {
+                    m_unbounded.remove(item);
+                }
+                m_index.insert(item, minx, miny, maxx, maxy);
+
+                return;
+            }
+        }
+        if ((m_index.remove(item)) || (!m_unbounded.contains(item))) {
+            m_unbounded.add(item);
+        }
+    }
+
+    private static boolean isFinite(final double value) {
+        return (value > -Double.MAX_VALUE) && (value < Double.MAX_VALUE);
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A dynamic R-tree (Guttman, quadratic split) of items and their axis aligned bounds.
+ * <p>
+ * Items are inserted, updated and removed incrementally, so the tree does not need to be rebuilt when a few items
+ * move. Bounds are inclusive, the same as {@link com.ait.lienzo.client.core.types.BoundingBox#intersects}.
+ */
+public class RTree<M> {
+
+    static final int MAX_ENTRIES = 16;
+
+    static final int MIN_ENTRIES = 6;
+
+    private final Map<M, Entry<M>> m_entries = new IdentityHashMap<>();
+
+    private Node m_root = new Node(true);
+
+    public int size() {
+        return m_entries.size();
+    }
+
+    public boolean isEmpty() {
+        return m_entries.isEmpty();
+    }
+
+    public boolean contains(final M item) {
+        return m_entries.containsKey(item);
+    }
+
+    /**
+     * Returns the bounds the item is indexed with, as {minx, miny, maxx, maxy}, or null if it isn't in the tree.
+     */
+    public double[] getBounds(final M item) {
+        final Entry<M> entry = m_entries.get(item);
+
+        if (null == entry) {
+            return null;
+        }
+        return new double[]{entry.minx, entry.miny, entry.maxx, entry.maxy};
+    }
+
+    public void clear() {
+        m_entries.clear();
+
+        m_root = new Node(true);
+    }
+
+    /**
+     * Adds the item or, if already in the tree, updates its bounds.
+     */
+    public void insert(final M item, final double minx, final double miny, final double maxx, final double maxy) {
+        Entry<M> entry = m_entries.get(item);
+
+        if (null != entry) {
+            if ((entry.minx == minx) && (entry.miny == miny) && (entry.maxx == maxx) && (entry.maxy == maxy)) {
+                return;
+            }
+            detach(entry);
+        } else {
+            entry = new Entry<>(item);
+
+            m_entries.put(item, entry);
+        }
+        entry.set(minx, miny, maxx, maxy);
+
+        insert(entry);
+    }
+
+    public boolean remove(final M item) {
+        final Entry<M> entry = m_entries.remove(item);
+
+        if (null == entry) {
+            return false;
+        }
+        detach(entry);
+
+        return true;
+    }
+
+    /**
+     * Hands over every item whose bounds intersect the given ones.
+     */
+    @SuppressWarnings("unchecked")
+    public void search(final double minx, final double miny, final double maxx, final double maxy, final Consumer<M> consumer) {
+        if (m_entries.isEmpty()) {
+            return;
+        }
+        final List<Node> stack = new ArrayList<>();
+
+        stack.add(m_root);
+
+        while (!stack.isEmpty()) {
+            final Node node = stack.remove(stack.size() - 1);
+
+            final int size = node.children.size();
+
+            for (int i = 0; i < size; i++) {
+                final Rect child = node.children.get(i);
+
+                if (child.intersects(minx, miny, maxx, maxy)) {
+                    if (node.leaf) {
+                        consumer.accept(((Entry<M>) child).item);
+                    } else {
+                        stack.add((Node) child);
+                    }
+                }
+            }
+        }
+    }
+
+    public List<M> search(final double minx, final double miny, final double maxx, final double maxy) {
+        final List<M> result = new ArrayList<>();
+
+        search(minx, miny, maxx, maxy, result::add);
+
+        return result;
+    }
+
+    private void insert(final Entry<M> entry) {
+        Node node = m_root;
+
+        while (!node.leaf) {
+            node = chooseSubtree(node, entry);
+        }
+        node.add(entry);
+
+        // Split the overflowing nodes and enlarge the bounds, bottom-up
+        while (null != node) {
+            if (node.children.size() > MAX_ENTRIES) {
+                final Node sibling = split(node);
+
+                if (node == m_root) {
+                    m_root = new Node(false);
+
+                    m_root.add(node);
+
+                    m_root.add(sibling);
+
+                    m_root.recalculate();
+                } else {
+                    node.parent.add(sibling);
+                }
+            }
+            node.recalculate();
+
+            node = node.parent;
+        }
+    }
+
+    private void detach(final Entry<M> entry) {
+        final List<Entry<M>> orphans = new ArrayList<>();
+
+        Node node = entry.parent;
+
+        node.children.remove(entry);
+
+        entry.parent = null;
+
+        // Condense the tree, the entries of the under-filled nodes are inserted again
+        while (node != m_root) {
+            final Node parent = node.parent;
+
+            if (node.children.size() < MIN_ENTRIES) {
+                parent.children.remove(node);
+
+                collect(node, orphans);
+            } else {
+                node.recalculate();
+            }
+            node = parent;
+        }
+        m_root.recalculate();
+
+        if (!m_root.leaf) {
+            if (m_root.children.isEmpty()) {
+                m_root = new Node(true);
+            } else if (m_root.children.size() == 1) {
+                m_root = (Node) m_root.children.get(0);
+
+                m_root.parent = null;
+            }
+        }
+        for (final Entry<M> orphan : orphans) {
+            insert(orphan);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(final Node node, final List<Entry<M>> entries) {
+        for (final Rect child : node.children) {
+            if (node.leaf) {
+                entries.add((Entry<M>) child);
+            } else {
+                collect((Node) child, entries);
+            }
+        }
+    }
+
+    private static Node chooseSubtree(final Node node, final Rect rect) {
+        Node best = null;
+
+        double bestEnlargement = Double.MAX_VALUE;
+
+        double bestArea = Double.MAX_VALUE;
+
+        for (final Rect child : node.children) {
+            final double area = child.area();
+
+            final double enlargement = Rect.area(child, rect) - area;
+
+            if ((enlargement < bestEnlargement) || ((enlargement == bestEnlargement) && (area < bestArea))) {
+                best = (Node) child;
+
+                bestEnlargement = enlargement;
+
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Quadratic split: moves about half of the node children into a new sibling node.
+     */
+    private static Node split(final Node node) {
+        final List<Rect> children = new ArrayList<>(node.children);
+
+        final int size = children.size();
+
+        int seedA = 0;
+
+        int seedB = 1;
+
+        double worst = -Double.MAX_VALUE;
+
+        for (int i = 0; i < size - 1; i++) {
+            for (int j = i + 1; j < size; j++) {
+                final Rect a = children.get(i);
+
+                final Rect b = children.get(j);
+
+                final double waste = Rect.area(a, b) - a.area() - b.area();
+
+                if (waste > worst) {
+                    worst = waste;
+
+                    seedA = i;
+
+                    seedB = j;
+                }
+            }
+        }
+        final Node sibling = new Node(node.leaf);
+
+        final Rect seedRectB = children.remove(seedB);
+
+        final Rect seedRectA = children.remove(seedA);
+
+        node.children.clear();
+
+        node.add(seedRectA);
+
+        node.recalculate();
+
+        sibling.add(seedRectB);
+
+        sibling.recalculate();
+
+        while (!children.isEmpty()) {
+            // Make sure both nodes get the minimum number of entries
+            if (node.children.size() + children.size() <= MIN_ENTRIES) {
+                addAll(node, children);
+
+                break;
+            }
+            if (sibling.children.size() + children.size() <= MIN_ENTRIES) {
+                addAll(sibling, children);
+
+                break;
+            }
+            int next = 0;
+
+            double maxDifference = -1;
+
+            double nextToNode = 0;
+
+            double nextToSibling = 0;
+
+            for (int i = 0; i < children.size(); i++) {
+                final Rect child = children.get(i);
+
+                final double toNode = Rect.area(node, child) - node.area();
+
+                final double toSibling = Rect.area(sibling, child) - sibling.area();
+
+                final double difference = Math.abs(toNode - toSibling);
+
+                if (difference > maxDifference) {
+                    maxDifference = difference;
+
+                    next = i;
+
+                    nextToNode = toNode;
+
+                    nextToSibling = toSibling;
+                }
+            }
+            final Rect child = children.remove(next);
+
+            final Node target;
+
+            if (nextToNode != nextToSibling) {
+                target = nextToNode < nextToSibling ? node : sibling;
+            } else if (node.area() != sibling.area()) {
+                target = node.area() < sibling.area() ? node : sibling;
+            } else {
+                target = node.children.size() <= sibling.children.size() ? node : sibling;
+            }
+            target.add(child);
+
+            target.extend(child);
+        }
+        return sibling;
+    }
+
+    private static void addAll(final Node node, final List<Rect> children) {
+        for (final Rect child : children) {
+            node.add(child);
+
+            node.extend(child);
+        }
+    }
+
+    private static class Rect {
+
+        double minx;
+
+        double miny;
+
+        double maxx;
+
+        double maxy;
+
+        Node parent;
+
+        final void set(final double minx, final double miny, final double maxx, final double maxy) {
+            this.minx = minx;
+
+            this.miny = miny;
+
+            this.maxx = maxx;
+
+            this.maxy = maxy;
+        }
+
+        final void extend(final Rect other) {
+            minx = Math.min(minx, other.minx);
+
+            miny = Math.min(miny, other.miny);
+
+            maxx = Math.max(maxx, other.maxx);
+
+            maxy = Math.max(maxy, other.maxy);
+        }
+
+        final boolean intersects(final double minx, final double miny, final double maxx, final double maxy) {
+            return (this.maxx >= minx) && (this.minx <= maxx) && (this.maxy >= miny) && (this.miny <= maxy);
+        }
+
+        final double area() {
+            return (maxx - minx) * (maxy - miny);
+        }
+
+        static double area(final Rect a, final Rect b) {
+            return (Math.max(a.maxx, b.maxx) - Math.min(a.minx, b.minx)) * (Math.max(a.maxy, b.maxy) - Math.min(a.miny, b.miny));
+        }
+    }
+
+    private static final class Entry<T> extends Rect {
+
+        final T item;
+
+        Entry(final T item) {
+            this.item = item;
+        }
+    }
+
+    private static final class Node extends Rect {
+
+        final boolean leaf;
+
+        final List<Rect> children = new ArrayList<>(MAX_ENTRIES + 1);
+
+        Node(final boolean leaf) {
+            this.leaf = leaf;
+        }
+
+        void add(final Rect child) {
+            children.add(child);
+
+            child.parent = this;
+        }
+
+        void recalculate() {
+            if (children.isEmpty()) {
+                set(0, 0, 0, 0);
+
+                return;
+            }
+            set(Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE);
+
+            for (final Rect child : children) {
+                extend(child);
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.ait.lienzo.client.core.shape.wires.handlers.WiresControlFactory;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresHandlerFactory;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeControl;
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresControlFactoryImpl;
+import com.ait.lienzo.client.core.shape.wires.picker.ShapeBoundsIndex;
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresHandlerFactoryImpl;
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeHandler;
 import com.ait.lienzo.client.core.types.OnLayerBeforeDraw;
@@ -52,6 +53,8 @@ public final class WiresManager {
 
     private final AlignAndDistribute m_index;
 
+    private final ShapeBoundsIndex m_shapeBoundsIndex = new ShapeBoundsIndex();
+
     private final NFastStringMap<WiresShape> m_shapesMap = new NFastStringMap<>();
 
     private final NFastStringMap<HandlerRegistrationManager> m_shapeHandlersMap = new NFastStringMap<>();
@@ -253,6 +256,7 @@ public final class WiresManager {
         removeHandlers(uuid);
         shape.destroy();
         removeFromIndex(shape);
+        m_shapeBoundsIndex.remove(shape);
         getLayer().remove(shape);
         m_shapesMap.remove(uuid);
     }
@@ -340,6 +344,7 @@ public final class WiresManager {
             m_handler = null;
         }
         m_shapeHandlersMap.clear();
+        m_shapeBoundsIndex.clear();
         m_controlFactory = null;
         m_wiresHandlerFactory = null;
         m_locationAcceptor = null;
@@ -366,6 +371,10 @@ public final class WiresManager {
         m_index.removeShape(shape.getGroup());
     }
 
+    public ShapeBoundsIndex getShapeBoundsIndex() {
+        return m_shapeBoundsIndex;
+    }
+
     public AlignAndDistribute getAlignAndDistribute() {
         return m_index;
     }
@@ -28,7 +28,7 @@ import com.ait.lienzo.client.core.shape.wires.handlers.WiresLayerIndex;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeControl;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeHighlight;
 import com.ait.lienzo.client.core.shape.wires.picker.ColorMapBackedPicker;
-import com.ait.lienzo.client.core.util.ScratchPad;
+import com.ait.lienzo.client.core.shape.wires.picker.GeometricPicker;
 
 public class WiresControlFactoryImpl implements WiresControlFactory {
 
@@ -51,12 +51,11 @@ public class WiresControlFactoryImpl implements WiresControlFactory {
 
     @Override
     public WiresLayerIndex newIndex(WiresManager manager) {
-        final ScratchPad scratchPad = manager.getLayer().getLayer().getScratchPad();
         final ColorMapBackedPicker.PickerOptions pickerOptions =
                 new ColorMapBackedPicker.PickerOptions(true,
                                                        manager.getDockingAcceptor().getHotspotSize());
-        return new WiresColorMapIndex(new ColorMapBackedPicker(scratchPad,
-                                                               pickerOptions));
+        return new WiresGeometricIndex(new GeometricPicker(manager.getShapeBoundsIndex(),
+                                                           pickerOptions));
     }
 
     @Override
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ait.lienzo.client.core.shape.MultiPath;
+import com.ait.lienzo.client.core.shape.wires.PickerPart;
+import com.ait.lienzo.client.core.shape.wires.WiresContainer;
+import com.ait.lienzo.client.core.shape.wires.WiresShape;
+import com.ait.lienzo.client.core.types.PathPartList;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.util.Geometry;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * A shape part picker which, instead of drawing every shape into a scratch pad and reading back the pixel colors as the
+ * {@link ColorMapBackedPicker} does, looks up the candidate shapes in a {@link ShapeBoundsIndex} and hit tests their
+ * paths geometrically.
+ * <p>
+ * The result is the same as the color map one: the topmost shape wins, and its border (or the border's hotspot)
+ * is picked before its body.
+ */
+public class GeometricPicker {
+
+    private final ShapeBoundsIndex m_index;
+
+    private final ColorMapBackedPicker.PickerOptions m_options;
+
+    private final Map<WiresShape, Boolean> m_skipped = new IdentityHashMap<>();
+
+    public GeometricPicker(final ShapeBoundsIndex index,
+                           final ColorMapBackedPicker.PickerOptions options) {
+        m_index = index;
+        m_options = options;
+    }
+
+    public void build(final NFastArrayList<WiresShape> shapes) {
+        clear();
+
+        m_index.update(shapes, getMargin(shapes));
+
+        final NFastArrayList<WiresContainer> skip = m_options.getShapesToSkip();
+
+        for (int i = 0; i < skip.size(); i++) {
+            final WiresContainer container = skip.get(i);
+
+            if (container instanceof WiresShape) {
+                m_skipped.put((WiresShape) container, Boolean.TRUE);
+            }
+            skipChildren(container.getChildShapes());
+        }
+    }
+
+    private void skipChildren(final NFastArrayList<WiresShape> shapes) {
+        if (null == shapes) {
+            return;
+        }
+        for (int i = 0; i < shapes.size(); i++) {
+            final WiresShape shape = shapes.get(i);
+
+            m_skipped.put(shape, Boolean.TRUE);
+
+            skipChildren(shape.getChildShapes());
+        }
+    }
+
+    private double getMargin(final NFastArrayList<WiresShape> shapes) {
+        double width = m_options.isHotspotsEnabled() ? m_options.getHotspotWidth() : 0;
+
+        for (int i = 0; i < shapes.size(); i++) {
+            width = Math.max(width, getMaxStrokeWidth(shapes.get(i)));
+        }
+        return width / 2;
+    }
+
+    private static double getMaxStrokeWidth(final WiresShape shape) {
+        double width = (null != shape.getPath()) ? shape.getPath().getStrokeWidth() : 0;
+
+        final NFastArrayList<WiresShape> children = shape.getChildShapes();
+
+        if (null != children) {
+            for (int i = 0; i < children.size(); i++) {
+                width = Math.max(width, getMaxStrokeWidth(children.get(i)));
+            }
+        }
+        return width;
+    }
+
+    public PickerPart findShapeAt(final int x, final int y) {
+        final List<WiresShape> shapes = m_index.findShapesAt(x, y);
+
+        for (int i = 0; i < shapes.size(); i++) {
+            final WiresShape shape = shapes.get(i);
+
+            if (m_skipped.containsKey(shape)) {
+                continue;
+            }
+            final PickerPart.ShapePart part = findPartAt(shape, x, y);
+
+            if (null != part) {
+                return new PickerPart(shape, part);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the part of the given shape at the given coordinates, if any. Subclasses can override it to hit test
+     * additional paths for a shape, as {@link ColorMapBackedPicker#addSupplementaryPaths(WiresShape)} does.
+     */
+    protected PickerPart.ShapePart findPartAt(final WiresShape shape, final double x, final double y) {
+        final MultiPath path = shape.getPath();
+
+        if (m_options.isHotspotsEnabled()) {
+            if (isPointOnPath(path, x, y, Math.max(m_options.getHotspotWidth(), path.getStrokeWidth()), false)) {
+                return PickerPart.ShapePart.BORDER;
+            }
+        }
+        if (isPointOnPath(path, x, y, path.getStrokeWidth(), true)) {
+            return PickerPart.ShapePart.BODY;
+        }
+        return null;
+    }
+
+    protected static boolean isPointOnPath(final MultiPath multiPath, final double x, final double y, final double strokeWidth, final boolean fill) {
+        final NFastArrayList<PathPartList> paths = multiPath.getActualPathPartListArray();
+
+        final Point2D location = multiPath.getComputedLocation();
+
+        for (int i = 0; i < paths.size(); i++) {
+            if (Geometry.isPointOnPath(paths.get(i), location.getX(), location.getY(), x, y, strokeWidth, fill)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        m_skipped.clear();
+    }
+
+    public ShapeBoundsIndex getIndex() {
+        return m_index;
+    }
+
+    public ColorMapBackedPicker.PickerOptions getPickerOptions() {
+        return m_options;
+    }
+}
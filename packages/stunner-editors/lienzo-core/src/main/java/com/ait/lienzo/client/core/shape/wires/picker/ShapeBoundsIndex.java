@@ -0,0 +1,171 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.ait.lienzo.client.core.shape.MultiPath;
+import com.ait.lienzo.client.core.shape.storage.RTree;
+import com.ait.lienzo.client.core.shape.wires.WiresShape;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+
+/**
+ * Keeps the absolute bounds of the shapes in a layer, and their drawing order, in an R-tree.
+ * <p>
+ * Updating the index walks the shapes but only re-inserts the ones which bounds have changed since the last update, and
+ * drops the ones no longer present, so it can be shared by all the pickers for a layer and updated on each drag.
+ */
+public class ShapeBoundsIndex {
+
+    private final RTree<WiresShape> m_tree = new RTree<>();
+
+    private final Map<WiresShape, Entry> m_entries = new IdentityHashMap<>();
+
+    private int m_generation;
+
+    private int m_order;
+
+    private double m_margin;
+
+    /**
+     * Updates the index for the given shapes, and their children, in drawing order.
+     *
+     * @param shapes the layer's top level shapes
+     * @param margin the distance the bounds are inflated by, on each side (for strokes and hotspots). As pickers with
+     *               different options may share the index, the widest margin is kept
+     */
+    public void update(final NFastArrayList<WiresShape> shapes, final double margin) {
+        m_generation++;
+
+        m_order = 0;
+
+        m_margin = Math.max(m_margin, margin);
+
+        update(shapes, m_margin, m_generation);
+
+        final Iterator<Map.Entry<WiresShape, Entry>> it = m_entries.entrySet().iterator();
+
+        while (it.hasNext()) {
+            final Map.Entry<WiresShape, Entry> next = it.next();
+
+            if (next.getValue().m_generation != m_generation) {
+                m_tree.remove(next.getKey());
+
+                it.remove();
+            }
+        }
+    }
+
+    private void update(final NFastArrayList<WiresShape> shapes, final double margin, final int generation) {
+        for (int j = 0; j < shapes.size(); j++) {
+            final WiresShape shape = shapes.get(j);
+
+            final MultiPath path = shape.getPath();
+
+            if (null != path) {
+                Entry entry = m_entries.get(shape);
+
+                if (null == entry) {
+                    entry = new Entry();
+
+                    m_entries.put(shape, entry);
+                }
+                entry.m_generation = generation;
+
+                entry.m_order = m_order++;
+
+                final Point2D location = path.getComputedLocation();
+
+                final BoundingBox box = path.getBoundingBox();
+
+                // The backing path always starts at the shape's location
+                final double minx = location.getX() + Math.min(0, box.getMinX()) - margin;
+                final double miny = location.getY() + Math.min(0, box.getMinY()) - margin;
+                final double maxx = location.getX() + Math.max(0, box.getMaxX()) + margin;
+                final double maxy = location.getY() + Math.max(0, box.getMaxY()) + margin;
+
+                if (entry.set(minx, miny, maxx, maxy)) {
+                    m_tree.insert(shape, minx, miny, maxx, maxy);
+                }
+            }
+            if (shape.getChildShapes() != null && !shape.getChildShapes().isEmpty()) {
+                update(shape.getChildShapes(), margin, generation);
+            }
+        }
+    }
+
+    /**
+     * Returns the shapes which bounds contain the given point, topmost (last drawn) first.
+     */
+    public List<WiresShape> findShapesAt(final double x, final double y) {
+        final List<WiresShape> shapes = m_tree.search(x, y, x, y);
+
+        shapes.sort((a, b) -> Integer.compare(m_entries.get(b).m_order, m_entries.get(a).m_order));
+
+        return shapes;
+    }
+
+    public void remove(final WiresShape shape) {
+        if (null != m_entries.remove(shape)) {
+            m_tree.remove(shape);
+        }
+    }
+
+    public int size() {
+        return m_entries.size();
+    }
+
+    public void clear() {
+        m_tree.clear();
+
+        m_entries.clear();
+
+        m_margin = 0;
+    }
+
+    private static final class Entry {
+
+        private int m_generation;
+
+        private int m_order;
+
+        private double m_minx = Double.NaN;
+
+        private double m_miny;
+
+        private double m_maxx;
+
+        private double m_maxy;
+
+        private boolean set(final double minx, final double miny, final double maxx, final double maxy) {
+            if ((minx == m_minx) && (miny == m_miny) && (maxx == m_maxx) && (maxy == m_maxy)) {
+                return false;
+            }
+            m_minx = minx;
+            m_miny = miny;
+            m_maxx = maxx;
+            m_maxy = maxy;
+
+            return true;
+        }
+    }
+}
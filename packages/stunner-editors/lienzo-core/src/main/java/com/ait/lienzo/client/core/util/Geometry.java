@@ -1544,4 +1544,178 @@ public final class Geometry {
     private static double lerp(double a, double b, double x) {
         return (a + x * (b - a));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests whether the point (x,y) hits the path, as it gets painted on a canvas (see BackingColorMapUtils):
+     * when filled, inside its area (non-zero winding rule), or within half of the stroke width from its outline.
+     * The path entries are translated by the given offset, and curves and arcs are flattened into line segments.
+     *
+     * @param path        the path parts
+     * @param offsetX     the path's absolute location x
+     * @param offsetY     the path's absolute location y
+     * @param x           the point x
+     * @param y           the point y
+     * @param strokeWidth the width of the outline
+     * @param fill        whether the area inside the path counts as a hit
+     * @return true if the point hits the path
+     */
+    public static boolean isPointOnPath(final PathPartList path, final double offsetX, final double offsetY, final double x, final double y, final double strokeWidth, final boolean fill) {
+        final PathHitTest test = new PathHitTest(x, y);
+
+        test.moveTo(offsetX, offsetY);
+
+        boolean closed = false;
+
+        for (int i = 0; i < path.size(); i++) {
+            final PathPartEntryJSO entry = path.get(i);
+
+            final double[] points = entry.getPoints();
+
+            switch (entry.getCommand()) {
+                case PathPartEntryJSO.MOVETO_ABSOLUTE: {
+                    test.moveTo(points[0] + offsetX, points[1] + offsetY);
+                    break;
+                }
+                case PathPartEntryJSO.LINETO_ABSOLUTE: {
+                    test.lineTo(points[0] + offsetX, points[1] + offsetY);
+                    break;
+                }
+                case PathPartEntryJSO.CLOSE_PATH_PART: {
+                    test.close();
+                    closed = true;
+                    break;
+                }
+                case PathPartEntryJSO.CANVAS_ARCTO_ABSOLUTE: {
+                    test.arcTo(points[0] + offsetX, points[1] + offsetY, points[2] + offsetX, points[3] + offsetY, points[4]);
+                    break;
+                }
+                case PathPartEntryJSO.BEZIER_CURVETO_ABSOLUTE: {
+                    test.bezierCurveTo(points[0] + offsetX, points[1] + offsetY, points[2] + offsetX, points[3] + offsetY, points[4] + offsetX, points[5] + offsetY);
+                    break;
+                }
+            }
+        }
+        if (!closed) {
+            test.close();
+        }
+        return test.isHit(strokeWidth, fill);
+    }
+
+    /**
+     * Accumulates, segment by segment, the winding number of a point and its distance to the stroked outline.
+     */
+    private static final class PathHitTest {
+
+        private static final int CURVE_SEGMENTS = 16;
+
+        private final double m_x;
+
+        private final double m_y;
+
+        private int m_winding;
+
+        private double m_distance = Double.MAX_VALUE;
+
+        private double m_startX;
+
+        private double m_startY;
+
+        private double m_curX;
+
+        private double m_curY;
+
+        PathHitTest(final double x, final double y) {
+            m_x = x;
+            m_y = y;
+        }
+
+        boolean isHit(final double strokeWidth, final boolean fill) {
+            return (fill && (m_winding != 0)) || (m_distance <= strokeWidth / 2);
+        }
+
+        void moveTo(final double x, final double y) {
+            // Filling closes every sub path implicitly, stroking doesn't
+            if ((m_curX != m_startX) || (m_curY != m_startY)) {
+                segment(m_curX, m_curY, m_startX, m_startY, false);
+            }
+            m_startX = m_curX = x;
+            m_startY = m_curY = y;
+        }
+
+        void lineTo(final double x, final double y) {
+            segment(m_curX, m_curY, x, y, true);
+            m_curX = x;
+            m_curY = y;
+        }
+
+        void close() {
+            lineTo(m_startX, m_startY);
+        }
+
+        void arcTo(final double x0, final double y0, final double x1, final double y1, final double r) {
+            if ((r <= 0) || collinear(m_curX, m_curY, x0, y0, x1, y1)) {
+                lineTo(x0, y0);
+                return;
+            }
+            final Point2DArray arc = getCanvasArcToPoints(new Point2D(m_curX, m_curY), new Point2D(x0, y0), new Point2D(x1, y1), r);
+            final Point2D ps = arc.get(0);
+            final Point2D pc = arc.get(1);
+            final Point2D pe = arc.get(2);
+
+            lineTo(ps.getX(), ps.getY());
+
+            // Canvas arcTo always draws the minor arc between both tangent points
+            final double start = Math.atan2(ps.getY() - pc.getY(), ps.getX() - pc.getX());
+            double sweep = Math.atan2(pe.getY() - pc.getY(), pe.getX() - pc.getX()) - start;
+            if (sweep > Math.PI) {
+                sweep -= TWO_PI;
+            } else if (sweep < -Math.PI) {
+                sweep += TWO_PI;
+            }
+            for (int i = 1; i < CURVE_SEGMENTS; i++) {
+                final double angle = start + sweep * i / CURVE_SEGMENTS;
+                lineTo(pc.getX() + r * Math.cos(angle), pc.getY() + r * Math.sin(angle));
+            }
+            lineTo(pe.getX(), pe.getY());
+        }
+
+        void bezierCurveTo(final double cx0, final double cy0, final double cx1, final double cy1, final double x, final double y) {
+            final double x0 = m_curX;
+            final double y0 = m_curY;
+            for (int i = 1; i <= CURVE_SEGMENTS; i++) {
+                final double t = (double) i / CURVE_SEGMENTS;
+                final double u = 1 - t;
+                final double a = u * u * u;
+                final double b = 3 * u * u * t;
+                final double c = 3 * u * t * t;
+                final double d = t * t * t;
+                lineTo(a * x0 + b * cx0 + c * cx1 + d * x, a * y0 + b * cy0 + c * cy1 + d * y);
+            }
+        }
+
+        private void segment(final double x0, final double y0, final double x1, final double y1, final boolean stroke) {
+            final double side = (x1 - x0) * (m_y - y0) - (m_x - x0) * (y1 - y0);
+            if (y0 <= m_y) {
+                if ((y1 > m_y) && (side > 0)) {
+                    m_winding++;
+                }
+            } else if ((y1 <= m_y) && (side < 0)) {
+                m_winding--;
+            }
+            if (stroke) {
+                m_distance = Math.min(m_distance, distanceToSegment(x0, y0, x1, y1));
+            }
+        }
+
+        private double distanceToSegment(final double x0, final double y0, final double x1, final double y1) {
+            final double dx = x1 - x0;
+            final double dy = y1 - y0;
+            final double length = dx * dx + dy * dy;
+            double t = 0;
+            if (length > 0) {
+                t = Math.max(0, Math.min(1, ((m_x - x0) * dx + (m_y - y0) * dy) / length));
+            }
+            return distance(m_x - (x0 + t * dx), m_y - (y0 + t * dy));
+        }
+    }
+}
@@ -41,6 +41,7 @@ import com.ait.lienzo.client.core.event.NodeTouchStartEvent;
 import com.ait.lienzo.client.core.event.TouchPoint;
 import com.ait.lienzo.client.core.mediator.Mediators;
 import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.shape.Layer;
 import com.ait.lienzo.client.core.shape.Node;
 import com.ait.lienzo.client.core.shape.Shape;
 import com.ait.lienzo.client.core.shape.Viewport;
@@ -681,6 +682,11 @@ public final class LienzoPanelHandlerManager {
         m_dragging_dispatch_move = m_drag_node.isEventHandled(NodeDragMoveEvent.getType());
 
         m_dragging_using_touches = touchEvent != null;
+
+        if ((DragMode.DRAG_LAYER != m_drag_mode) && (!m_dragging_dispatch_move)) {
+            // The area the node is dragged away from, repainted on the first move
+            m_drag_node.getLayer().markBounds(m_drag_node);
+        }
     }
 
     private final void doDragMove(final int x, final int y, final MouseEvent mouseEvent, final TouchEvent touchEvent) {
@@ -712,7 +718,7 @@ public final class LienzoPanelHandlerManager {
 
             m_dragContext.drawNodeWithTransforms(m_viewport.getDragLayer().getContext());
         } else {
-            m_drag_node.getLayer().batch();
+            batchDragNode();
         }
     }
 
@@ -736,7 +742,22 @@ public final class LienzoPanelHandlerManager {
 
             m_dragContext.drawNodeWithTransforms(m_viewport.getDragLayer().getContext());
         } else {
-            m_drag_node.getLayer().batch();
+            batchDragNode();
+        }
+    }
+
+    /**
+     * Unless drag move events were dispatched (and their handlers may have changed anything else on the layer), only
+     * the areas the dragged node moved from and to are redrawn, whatever the layer's storage engine, and also when the
+     * node is nested in a group.
+     */
+    private final void batchDragNode() {
+        final Layer layer = m_drag_node.getLayer();
+
+        if (m_dragging_dispatch_move) {
+            layer.batch();
+        } else {
+            layer.invalidate(m_drag_node);
         }
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.animation;
+
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class DirtyRegionsTest {
+
+    private DirtyRegions tested;
+
+    @Before
+    public void setUp() {
+        tested = new DirtyRegions();
+    }
+
+    @Test
+    public void testMergeOverlappingRegions() {
+        assertTrue(tested.isEmpty());
+
+        tested.add(BoundingBox.fromDoubles(0, 0, 10, 10));
+        tested.add(BoundingBox.fromDoubles(100, 100, 110, 110));
+        assertEquals(2, tested.getRegions().size());
+
+        // Bridges both regions
+        tested.add(BoundingBox.fromDoubles(5, 5, 105, 105));
+        assertEquals(1, tested.getRegions().size());
+        assertEquals(BoundingBox.fromDoubles(0, 0, 110, 110), tested.getRegions().get(0));
+        assertFalse(tested.isAll());
+        assertFalse(tested.isEmpty());
+    }
+
+    @Test
+    public void testCollapseTooManyRegions() {
+        for (int i = 0; i <= DirtyRegions.MAX_REGIONS; i++) {
+            tested.add(BoundingBox.fromDoubles(i * 100, 0, i * 100 + 10, 10));
+        }
+        assertEquals(1, tested.getRegions().size());
+        assertEquals(BoundingBox.fromDoubles(0, 0, DirtyRegions.MAX_REGIONS * 100 + 10, 10), tested.getRegions().get(0));
+    }
+
+    @Test
+    public void testMarkAll() {
+        tested.add(BoundingBox.fromDoubles(0, 0, 10, 10));
+        tested.add(null);
+        assertTrue(tested.isAll());
+        assertTrue(tested.getRegions().isEmpty());
+
+        tested.add(BoundingBox.fromDoubles(0, 0, 10, 10));
+        assertTrue(tested.getRegions().isEmpty());
+
+        tested.clear();
+        assertTrue(tested.isEmpty());
+        assertFalse(tested.isAll());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.Shadow;
+import com.ait.lienzo.client.core.types.Transform;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class LayerDirtyRegionsTest {
+
+    @Test
+    public void testLayerBounds() {
+        final BoundingBox rect = BoundingBox.fromDoubles(20, 40, 60, 80);
+
+        assertEquals(rect, Layer.getLayerBounds(Arrays.asList(rect), null));
+
+        final Transform transform = new Transform().translate(10, 20).scale(2);
+        assertEquals(BoundingBox.fromDoubles(5, 10, 25, 30), Layer.getLayerBounds(Arrays.asList(rect), transform));
+    }
+
+    @Test
+    public void testLayerBoundsNonInvertibleTransform() {
+        final Transform transform = new Transform().scale(0);
+        assertNull(Layer.getLayerBounds(Arrays.asList(BoundingBox.fromDoubles(0, 0, 10, 10)), transform));
+    }
+
+    @Test
+    public void testInvalidateNestedShape() {
+        final TestLayer layer = new TestLayer();
+        final Rectangle rect = new Rectangle(50, 50).setX(10).setY(10).setStrokeWidth(1);
+        final Group group = new Group().setX(100).setY(100);
+        group.add(rect);
+        layer.add(group);
+
+        // Nothing is known about the area it covered before
+        layer.invalidate(rect);
+        assertTrue(layer.all);
+        assertTrue(layer.batched.isEmpty());
+
+        layer.all = false;
+        rect.setX(30);
+        layer.invalidate(rect);
+        assertFalse(layer.all);
+        assertEquals(Arrays.asList(BoundingBox.fromDoubles(109, 109, 161, 161), BoundingBox.fromDoubles(129, 109, 181, 161)), layer.batched);
+    }
+
+    @Test
+    public void testInvalidateMarkedGroup() {
+        final TestLayer layer = new TestLayer();
+        final Rectangle rect = new Rectangle(50, 50).setStrokeWidth(1).setShadow(new Shadow("black", 4, 2, 3));
+        final Group group = new Group();
+        group.add(rect);
+        layer.add(group);
+
+        layer.markBounds(group);
+        group.setX(20);
+        layer.invalidate(group);
+        assertFalse(layer.all);
+        // The stroke plus the blur and the offset of the shadow
+        assertEquals(Arrays.asList(BoundingBox.fromDoubles(-8, -8, 58, 58), BoundingBox.fromDoubles(12, -8, 78, 58)), layer.batched);
+    }
+
+    @Test
+    public void testInvalidateTransformedParent() {
+        final TestLayer layer = new TestLayer();
+        final Rectangle rect = new Rectangle(50, 50);
+        final Group group = new Group().setRotation(Math.PI / 4);
+        group.add(rect);
+        layer.add(group);
+
+        layer.markBounds(rect);
+        rect.setX(20);
+        layer.invalidate(rect);
+        assertTrue(layer.all);
+        assertTrue(layer.batched.isEmpty());
+    }
+
+    private static class TestLayer extends Layer {
+
+        private final List<BoundingBox> batched = new ArrayList<>();
+
+        private boolean all;
+
+        @Override
+        public Layer batch() {
+            all = true;
+            return this;
+        }
+
+        @Override
+        public Layer batch(final BoundingBox dirty) {
+            batched.add(dirty);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape;
+
+import com.ait.lienzo.client.core.shape.storage.PrimitiveSpatialIndexStorageEngine;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class LayerSpatialIndexTest {
+
+    @Test
+    public void testRefreshChangedPrimitives() {
+        final PrimitiveSpatialIndexStorageEngine storage = new PrimitiveSpatialIndexStorageEngine();
+        final Layer layer = new Layer(storage);
+        final Rectangle rect = new Rectangle(50, 50);
+        final Group group = new Group();
+        group.add(rect);
+        layer.add(group);
+        final Rectangle other = new Rectangle(10, 10);
+        layer.add(other);
+        assertEquals(BoundingBox.fromDoubles(0, 0, 50, 50), storage.getBounds(group));
+
+        // Kept until the next draw
+        rect.setX(100);
+        other.setY(200);
+        assertEquals(BoundingBox.fromDoubles(0, 0, 50, 50), storage.getBounds(group));
+        assertEquals(BoundingBox.fromDoubles(0, 0, 10, 10), storage.getBounds(other));
+
+        layer.refreshStorage();
+        assertEquals(BoundingBox.fromDoubles(100, 0, 150, 50), storage.getBounds(group));
+        assertEquals(BoundingBox.fromDoubles(0, 200, 10, 210), storage.getBounds(other));
+    }
+
+    @Test
+    public void testRefreshChangedChildren() {
+        final PrimitiveSpatialIndexStorageEngine storage = new PrimitiveSpatialIndexStorageEngine();
+        final Layer layer = new Layer(storage);
+        final Group group = new Group();
+        group.add(new Rectangle(50, 50));
+        layer.add(group);
+
+        group.add(new Rectangle(10, 10).setX(300));
+        layer.refreshStorage();
+        assertEquals(BoundingBox.fromDoubles(0, 0, 310, 50), storage.getBounds(group));
+    }
+}
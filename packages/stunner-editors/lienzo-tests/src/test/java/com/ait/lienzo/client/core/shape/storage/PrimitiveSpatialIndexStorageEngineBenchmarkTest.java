@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.Random;
+
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.shape.Rectangle;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Picks the primitives inside the visible area of large layers with and without spatial index, and after moving some
+ * of them around.
+ */
+@RunWith(LienzoMockitoTestRunner.class)
+public class PrimitiveSpatialIndexStorageEngineBenchmarkTest {
+
+    private static final int[] PRIMITIVES = {1000, 10000, 50000};
+
+    private static final int LOOKUP_TIMES = 200;
+
+    private static final double CANVAS_SIZE = 20000;
+
+    private static final BoundingBox VIEWPORT = BoundingBox.fromDoubles(5000, 5000, 6200, 5800);
+
+    @Test
+    public void testViewportCulling() {
+        for (int primitives : PRIMITIVES) {
+            final Random random = new Random(7);
+            final PrimitiveFastArrayStorageEngine flat = new PrimitiveFastArrayStorageEngine();
+            final PrimitiveSpatialIndexStorageEngine indexed = new PrimitiveSpatialIndexStorageEngine();
+
+            for (int i = 0; i < primitives; i++) {
+                final Rectangle rectangle = new Rectangle(100, 60)
+                        .setX(random.nextDouble() * CANVAS_SIZE)
+                        .setY(random.nextDouble() * CANVAS_SIZE);
+                flat.add(rectangle);
+                indexed.add(rectangle);
+            }
+
+            final int visible = countVisible(flat);
+            assertTrue(visible > 0);
+            for (int t = 0; t < LOOKUP_TIMES; t++) {
+                assertEquals(visible, indexed.getChildren(VIEWPORT).size());
+            }
+
+            // Move a tenth of the primitives into the viewport
+            for (int i = 0; i < primitives; i += 10) {
+                final Rectangle rectangle = (Rectangle) flat.getChildren().get(i);
+                rectangle.setX(VIEWPORT.getMinX() + random.nextDouble() * VIEWPORT.getWidth())
+                        .setY(VIEWPORT.getMinY() + random.nextDouble() * VIEWPORT.getHeight());
+            }
+            indexed.refresh();
+
+            final int moved = countVisible(flat);
+            assertTrue(moved >= primitives / 10);
+            assertEquals(moved, indexed.getChildren(VIEWPORT).size());
+        }
+    }
+
+    private static int countVisible(final PrimitiveFastArrayStorageEngine flat) {
+        // Without index every primitive has to be checked against the viewport
+        int count = 0;
+        final NFastArrayList<IPrimitive<?>> list = flat.getChildren(VIEWPORT);
+        for (int i = 0; i < list.size(); i++) {
+            if (BoundingBox.fromPoint2DArray(list.get(i).getBoundingPoints().getArray()).intersects(VIEWPORT)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
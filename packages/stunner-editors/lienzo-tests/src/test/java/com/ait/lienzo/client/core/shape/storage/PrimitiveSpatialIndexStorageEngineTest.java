@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ait.lienzo.client.core.shape.storage;
+
+import com.ait.lienzo.client.core.shape.Group;
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.shape.Rectangle;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class PrimitiveSpatialIndexStorageEngineTest {
+
+    private PrimitiveSpatialIndexStorageEngine tested;
+
+    private Rectangle rect1;
+
+    private Rectangle rect2;
+
+    private Rectangle rect3;
+
+    @Before
+    public void setUp() {
+        tested = new PrimitiveSpatialIndexStorageEngine();
+        rect1 = new Rectangle(50, 50).setX(0).setY(0);
+        rect2 = new Rectangle(50, 50).setX(500).setY(500);
+        rect3 = new Rectangle(50, 50).setX(20).setY(20);
+        tested.add(rect1);
+        tested.add(rect2);
+        tested.add(rect3);
+    }
+
+    @Test
+    public void testGetChildrenInBounds() {
+        assertTrue(tested.isSpatiallyIndexed());
+        assertEquals(StorageEngineType.PRIMITIVE_SPATIAL_INDEX_STORAGE_ENGINE, tested.getStorageEngineType());
+        assertEquals(3, tested.getChildren().size());
+        assertSame(tested.getChildren(), tested.getChildren(null));
+
+        final NFastArrayList<IPrimitive<?>> children = tested.getChildren(BoundingBox.fromDoubles(0, 0, 100, 100));
+        assertEquals(2, children.size());
+        assertSame(rect1, children.get(0));
+        assertSame(rect3, children.get(1));
+
+        assertEquals(1, tested.getChildren(BoundingBox.fromDoubles(400, 400, 600, 600)).size());
+        assertEquals(0, tested.getChildren(BoundingBox.fromDoubles(200, 200, 300, 300)).size());
+    }
+
+    @Test
+    public void testRefresh() {
+        rect2.setX(10).setY(10);
+        assertEquals(2, tested.getChildren(BoundingBox.fromDoubles(0, 0, 100, 100)).size());
+
+        tested.refresh(rect2);
+        final NFastArrayList<IPrimitive<?>> children = tested.getChildren(BoundingBox.fromDoubles(0, 0, 100, 100));
+        assertEquals(3, children.size());
+        assertSame(rect2, children.get(1));
+
+        rect1.setX(1000);
+        rect3.setX(1000);
+        tested.refresh();
+        assertEquals(1, tested.getChildren(BoundingBox.fromDoubles(0, 0, 100, 100)).size());
+    }
+
+    @Test
+    public void testRefreshUnbounded() {
+        final Group group = new Group();
+        tested.add(group);
+        assertEquals(1, tested.getChildren(BoundingBox.fromDoubles(200, 200, 300, 300)).size());
+
+        group.add(new Rectangle(50, 50).setX(1000).setY(1000));
+        tested.refresh();
+        assertEquals(0, tested.getChildren(BoundingBox.fromDoubles(200, 200, 300, 300)).size());
+        assertSame(group, tested.getChildren(BoundingBox.fromDoubles(900, 900, 1100, 1100)).get(0));
+    }
+
+    @Test
+    public void testOrder() {
+        final BoundingBox bounds = BoundingBox.fromDoubles(0, 0, 100, 100);
+
+        tested.moveToTop(rect1);
+        assertSame(rect3, tested.getChildren(bounds).get(0));
+        assertSame(rect1, tested.getChildren(bounds).get(1));
+
+        tested.moveToBottom(rect1);
+        assertSame(rect1, tested.getChildren(bounds).get(0));
+        assertSame(rect3, tested.getChildren(bounds).get(1));
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        final Group empty = new Group();
+        tested.add(empty);
+
+        // Primitives without bounds can't be culled
+        assertEquals(1, tested.getChildren(BoundingBox.fromDoubles(200, 200, 300, 300)).size());
+
+        tested.remove(rect1);
+        tested.remove(empty);
+        final NFastArrayList<IPrimitive<?>> children = tested.getChildren(BoundingBox.fromDoubles(0, 0, 100, 100));
+        assertEquals(1, children.size());
+        assertSame(rect3, children.get(0));
+
+        tested.clear();
+        assertTrue(tested.isEmpty());
+        assertEquals(0, tested.getChildren(BoundingBox.fromDoubles(0, 0, 100, 100)).size());
+    }
+}
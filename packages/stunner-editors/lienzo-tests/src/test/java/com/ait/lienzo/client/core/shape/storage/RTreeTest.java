@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RTreeTest {
+
+    private static final int ITEMS = 2000;
+
+    private final Random random = new Random(7);
+
+    @Test
+    public void testSearch() {
+        final RTree<Item> tree = new RTree<>();
+        final List<Item> items = randomItems(tree);
+
+        for (int i = 0; i < 50; i++) {
+            assertSearch(tree, items, random.nextDouble() * 10000, random.nextDouble() * 10000, random.nextDouble() * 2000);
+        }
+        assertEquals(ITEMS, tree.search(-Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        final RTree<Item> tree = new RTree<>();
+        final List<Item> items = randomItems(tree);
+
+        // Move half of the items and remove a quarter of them
+        for (int i = 0; i < ITEMS; i += 2) {
+            final Item item = items.get(i);
+            item.moveTo(random.nextDouble() * 10000, random.nextDouble() * 10000);
+            tree.insert(item, item.minx, item.miny, item.maxx, item.maxy);
+        }
+        final List<Item> removed = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i += 4) {
+            removed.add(items.get(i));
+        }
+        for (Item item : removed) {
+            assertTrue(tree.remove(item));
+            assertFalse(tree.contains(item));
+        }
+        items.removeAll(removed);
+        assertFalse(tree.remove(removed.get(0)));
+        assertEquals(items.size(), tree.size());
+
+        for (int i = 0; i < 50; i++) {
+            assertSearch(tree, items, random.nextDouble() * 10000, random.nextDouble() * 10000, random.nextDouble() * 2000);
+        }
+
+        for (Item item : items) {
+            tree.remove(item);
+        }
+        assertTrue(tree.isEmpty());
+        assertTrue(tree.search(0, 0, 10000, 10000).isEmpty());
+    }
+
+    @Test
+    public void testInclusiveBounds() {
+        final RTree<Item> tree = new RTree<>();
+        final Item item = new Item(10, 10, 20, 20);
+        tree.insert(item, item.minx, item.miny, item.maxx, item.maxy);
+
+        assertEquals(1, tree.search(20, 20, 30, 30).size());
+        assertEquals(1, tree.search(15, 15, 15, 15).size());
+        assertEquals(0, tree.search(20.5, 20.5, 30, 30).size());
+    }
+
+    private List<Item> randomItems(final RTree<Item> tree) {
+        final List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            final double x = random.nextDouble() * 10000;
+            final double y = random.nextDouble() * 10000;
+            final Item item = new Item(x, y, x + random.nextDouble() * 200, y + random.nextDouble() * 200);
+            tree.insert(item, item.minx, item.miny, item.maxx, item.maxy);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static void assertSearch(final RTree<Item> tree, final List<Item> items, final double x, final double y, final double size) {
+        final Set<Item> expected = new HashSet<>();
+        for (Item item : items) {
+            if (item.maxx >= x && item.minx <= x + size && item.maxy >= y && item.miny <= y + size) {
+                expected.add(item);
+            }
+        }
+        assertEquals(expected, new HashSet<>(tree.search(x, y, x + size, y + size)));
+    }
+
+    private static class Item {
+
+        double minx;
+        double miny;
+        double maxx;
+        double maxy;
+
+        Item(final double minx, final double miny, final double maxx, final double maxy) {
+            this.minx = minx;
+            this.miny = miny;
+            this.maxx = maxx;
+            this.maxy = maxy;
+        }
+
+        void moveTo(final double x, final double y) {
+            maxx = x + maxx - minx;
+            maxy = y + maxy - miny;
+            minx = x;
+            miny = y;
+        }
+    }
+}
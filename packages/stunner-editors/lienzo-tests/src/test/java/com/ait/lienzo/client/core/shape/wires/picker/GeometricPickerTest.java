@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape.wires.picker;
+
+import com.ait.lienzo.client.core.shape.MultiPath;
+import com.ait.lienzo.client.core.shape.wires.PickerPart;
+import com.ait.lienzo.client.core.shape.wires.WiresShape;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import com.ait.lienzo.tools.client.collection.NFastArrayList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class GeometricPickerTest {
+
+    private static final double HOTSPOT_WIDTH = 10;
+
+    private GeometricPicker tested;
+
+    private ShapeBoundsIndex index;
+
+    private NFastArrayList<WiresShape> shapes;
+
+    private WiresShape parent;
+
+    private WiresShape child;
+
+    @Before
+    public void setUp() {
+        parent = new WiresShape(new MultiPath().rect(0, 0, 100, 100));
+        child = new WiresShape(new MultiPath().circle(10));
+        child.setLocation(new Point2D(50, 50));
+        parent.add(child);
+        shapes = new NFastArrayList<>();
+        shapes.add(parent);
+        index = new ShapeBoundsIndex();
+        tested = new GeometricPicker(index,
+                                     new ColorMapBackedPicker.PickerOptions(true, HOTSPOT_WIDTH));
+        tested.build(shapes);
+    }
+
+    @Test
+    public void testFindBody() {
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(20, 20));
+        assertPart(child, PickerPart.ShapePart.BODY, tested.findShapeAt(50, 60));
+        assertNull(tested.findShapeAt(200, 200));
+    }
+
+    @Test
+    public void testFindBorder() {
+        assertPart(parent, PickerPart.ShapePart.BORDER, tested.findShapeAt(2, 50));
+        assertPart(parent, PickerPart.ShapePart.BORDER, tested.findShapeAt(-3, 50));
+        assertPart(child, PickerPart.ShapePart.BORDER, tested.findShapeAt(60, 60));
+        assertNull(tested.findShapeAt(-10, 50));
+    }
+
+    @Test
+    public void testSkipShapes() {
+        tested.getPickerOptions().getShapesToSkip().add(child);
+        tested.build(shapes);
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(50, 60));
+
+        tested.getPickerOptions().getShapesToSkip().clear();
+        tested.getPickerOptions().getShapesToSkip().add(parent);
+        tested.build(shapes);
+        assertNull(tested.findShapeAt(20, 20));
+        assertNull(tested.findShapeAt(50, 60));
+    }
+
+    @Test
+    public void testIncrementalBuild() {
+        assertEquals(2, index.size());
+
+        parent.setLocation(new Point2D(200, 200));
+        tested.build(shapes);
+        assertNull(tested.findShapeAt(20, 20));
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(220, 220));
+        assertPart(child, PickerPart.ShapePart.BODY, tested.findShapeAt(250, 260));
+
+        parent.remove(child);
+        tested.build(shapes);
+        assertEquals(1, index.size());
+        assertPart(parent, PickerPart.ShapePart.BODY, tested.findShapeAt(250, 260));
+    }
+
+    @Test
+    public void testSharedIndex() {
+        final GeometricPicker other = new GeometricPicker(index,
+                                                          new ColorMapBackedPicker.PickerOptions(false, 0));
+        other.getPickerOptions().getShapesToSkip().add(child);
+        other.build(shapes);
+        assertEquals(2, index.size());
+        assertPart(parent, PickerPart.ShapePart.BODY, other.findShapeAt(50, 60));
+        assertPart(parent, PickerPart.ShapePart.BODY, other.findShapeAt(2, 50));
+        assertPart(child, PickerPart.ShapePart.BODY, tested.findShapeAt(50, 60));
+    }
+
+    private static void assertPart(final WiresShape shape,
+                                   final PickerPart.ShapePart part,
+                                   final PickerPart pickerPart) {
+        assertSame(shape, pickerPart.getShape());
+        assertEquals(part, pickerPart.getShapePart());
+    }
+}
@@ -45,6 +45,7 @@ import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeControlImp
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeLocationBoundsTest;
 import com.ait.lienzo.client.core.shape.wires.handlers.impl.WiresShapeLocationControlImplTest;
 import com.ait.lienzo.client.core.shape.wires.picker.ColorMapBackedPickerTest;
+import com.ait.lienzo.client.core.shape.wires.picker.GeometricPickerTest;
 import com.ait.lienzo.client.core.shape.wires.util.WiresConnectorLabelFactoryTest;
 import com.ait.lienzo.client.core.shape.wires.util.WiresConnectorLabelTest;
 import org.junit.AfterClass;
@@ -88,6 +89,7 @@ import org.junit.runners.Suite;
         WiresContainmentControlImplTest.class,
         BackingColorMapUtilsTest.class,
         ColorMapBackedPickerTest.class,
+        GeometricPickerTest.class,
         MagnetDecoratorTest.class,
         PointHandleDecoratorTest.class
 })
@@ -18,6 +18,7 @@ package com.ait.lienzo.client.core.util;
 
 import com.ait.lienzo.client.core.shape.QuadraticCurve;
 import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.PathPartList;
 import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.client.core.types.Point2DArray;
 import com.ait.lienzo.test.LienzoMockitoTestRunner;
@@ -223,4 +224,20 @@ public class GeometryTest {
         Point2D result = Geometry.getProjection(intersection, intersection, 0);
         assertEquals(new Point2D(0, 0), result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIsPointOnPath() {
+        final PathPartList rect = new PathPartList().M(0, 0).L(100, 0).L(100, 100).L(0, 100).Z();
+        assertTrue(Geometry.isPointOnPath(rect, 10, 10, 50, 50, 1, true));
+        assertFalse(Geometry.isPointOnPath(rect, 10, 10, 50, 50, 1, false));
+        assertTrue(Geometry.isPointOnPath(rect, 10, 10, 12, 50, 6, false));
+        assertFalse(Geometry.isPointOnPath(rect, 10, 10, 5, 50, 6, true));
+        assertFalse(Geometry.isPointOnPath(rect, 10, 10, 200, 50, 1, true));
+
+        // Starts at the origin, so it's a circle centered at (0, 10)
+        final PathPartList circle = new PathPartList().circle(10);
+        assertTrue(Geometry.isPointOnPath(circle, 0, 0, 0, 10, 1, true));
+        assertTrue(Geometry.isPointOnPath(circle, 0, 0, 10, 10, 1, false));
+        assertFalse(Geometry.isPointOnPath(circle, 0, 0, 9, 1, 1, true));
+    }
+}
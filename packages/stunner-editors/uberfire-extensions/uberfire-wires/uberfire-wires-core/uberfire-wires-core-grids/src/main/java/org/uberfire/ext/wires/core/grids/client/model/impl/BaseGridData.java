@@ -51,6 +51,7 @@ public class BaseGridData implements GridData {
 
     protected BaseGridDataIndexManager indexManager = new BaseGridDataIndexManager(this);
     protected BaseGridDataSelectionsManager selectionsManager = new BaseGridDataSelectionsManager(this);
+    protected RowOffsetIndex rowOffsetIndex = new RowOffsetIndex();
     private int visibleWidth;
     private int visibleHeight;
     private int previousVisibleWidth;
@@ -198,6 +199,7 @@ public class BaseGridData implements GridData {
     @Override
     public void appendRow(final GridRow row) {
         this.rows.add(row);
+        rowOffsetIndex.invalidate(rows.size() - 1);
     }
 
     @Override
@@ -205,6 +207,7 @@ public class BaseGridData implements GridData {
                           final GridRow row) {
         this.rows.add(rowIndex,
                       row);
+        rowOffsetIndex.invalidate(rowIndex);
 
         indexManager.onInsertRow(rowIndex);
         selectionsManager.onInsertRow(rowIndex);
@@ -233,6 +236,7 @@ public class BaseGridData implements GridData {
         for (int _rowIndex = minRowIndex; _rowIndex <= maxRowIndex; _rowIndex++) {
             rows.remove(minRowIndex);
         }
+        rowOffsetIndex.invalidate(minRowIndex);
 
         indexManager.onDeleteRow(range);
         selectionsManager.onDeleteRow(range);
@@ -275,6 +279,9 @@ public class BaseGridData implements GridData {
                              rows);
         }
 
+        rowOffsetIndex.invalidate(Math.min(index,
+                                           oldBlockStart));
+
         final Range oldBlockExtent = new Range(oldBlockStart,
                                                oldBlockEnd);
         indexManager.onMoveRows(rows,
@@ -288,6 +295,15 @@ public class BaseGridData implements GridData {
         return rows.size();
     }
 
+    /**
+     * Get the index of row offsets, synchronised with the current rows and their heights. Offsets are only
+     * recalculated from the first row inserted, deleted, moved or resized since the previous call.
+     * @return
+     */
+    public RowOffsetIndex getRowOffsetIndex() {
+        return rowOffsetIndex.refresh(rows);
+    }
+
     @Override
     public int getHeaderRowCount() {
         int headerRowCount = this.headerRowCount;
@@ -35,6 +35,10 @@ public class BaseGridRow implements GridRow {
     private Stack<Double> heights = new Stack<Double>();
     private int collapseLevel = 0;
 
+    //The index of row offsets notified when the height changes, and the position of the row in it
+    private RowOffsetIndex rowOffsetIndex;
+    private int rowOffsetIndexPosition;
+
     public BaseGridRow() {
         this(20);
     }
@@ -57,6 +61,7 @@ public class BaseGridRow implements GridRow {
     @Override
     public void setHeight(final double height) {
         this.height = height;
+        onHeightChanged();
     }
 
     @Override
@@ -90,6 +95,7 @@ public class BaseGridRow implements GridRow {
         }
         collapseLevel--;
         height = heights.pop();
+        onHeightChanged();
         for (GridCell<?> cell : cells.values()) {
             cell.expand();
         }
@@ -102,11 +108,35 @@ public class BaseGridRow implements GridRow {
         height = heights.firstElement();
         heights.clear();
         heights.push(height);
+        onHeightChanged();
         for (GridCell<?> cell : cells.values()) {
             cell.reset();
         }
     }
 
+    /**
+     * Whether the height of the row is calculated, e.g. from its content, rather than set with
+     * {@link #setHeight(double)}. The heights of such rows are compared on every refresh of the
+     * {@link RowOffsetIndex} as they can change without notification.
+     * @return true if the height of the row can change without {@link #setHeight(double)} being called.
+     */
+    protected boolean hasDynamicHeight() {
+        return false;
+    }
+
+    //This is not part of the GridRow interface as we don't want to expose this for general use
+    void setRowOffsetIndex(final RowOffsetIndex rowOffsetIndex,
+                           final int rowOffsetIndexPosition) {
+        this.rowOffsetIndex = rowOffsetIndex;
+        this.rowOffsetIndexPosition = rowOffsetIndexPosition;
+    }
+
+    private void onHeightChanged() {
+        if (rowOffsetIndex != null) {
+            rowOffsetIndex.invalidate(rowOffsetIndexPosition);
+        }
+    }
+
     //This is not part of the GridCell interface as we don't want to expose this for general use
     @SuppressWarnings("unchecked")
     void setCell(final int columnIndex,
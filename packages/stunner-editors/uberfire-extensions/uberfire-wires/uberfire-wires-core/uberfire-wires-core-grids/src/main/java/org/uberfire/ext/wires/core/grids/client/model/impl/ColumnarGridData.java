@@ -0,0 +1,363 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.function.Function;
+
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridCellValue;
+import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+import org.uberfire.ext.wires.core.grids.client.widget.dom.HasDOMElementResources;
+
+/**
+ * Column-oriented implementation of a grid for large data sets. Cell values are held per column and {@link GridCell}
+ * instances are only created when a cell is read; e.g. when it is rendered or selected. Merged blocks are indexed
+ * with {@link MergedCellRuns} rebuilt lazily from the column values. Rows must be {@link ColumnarGridRow}s.
+ */
+public class ColumnarGridData extends BaseGridData {
+
+    //Cell values indexed by GridColumn.getIndex() and then by row index. A null value is an empty cell.
+    private final List<List<GridCellValue<?>>> columnValues = new ArrayList<>();
+    //Merged blocks indexed by GridColumn.getIndex(). A null entry needs re-indexing.
+    private final List<MergedCellRuns> columnRuns = new ArrayList<>();
+
+    public ColumnarGridData() {
+        this(true);
+    }
+
+    public ColumnarGridData(final boolean isMerged) {
+        super(isMerged);
+        this.indexManager = new ColumnarGridDataIndexManager(this);
+    }
+
+    @Override
+    public void appendColumn(final GridColumn<?> column) {
+        super.appendColumn(column);
+        addColumnValues(column.getIndex());
+    }
+
+    @Override
+    public void insertColumn(final int index,
+                             final GridColumn<?> column) {
+        super.insertColumn(index,
+                           column);
+        addColumnValues(column.getIndex());
+    }
+
+    @Override
+    public void deleteColumn(final GridColumn<?> column) {
+        final int index = column.getIndex();
+        for (GridColumn<?> c : columns) {
+            if (c.getIndex() > index) {
+                c.setIndex(c.getIndex() - 1);
+            }
+        }
+
+        //Destroy column
+        if (column.getColumnRenderer() instanceof HasDOMElementResources) {
+            ((HasDOMElementResources) column.getColumnRenderer()).destroyResources();
+        }
+
+        removeColumn(column);
+
+        //Destroy column related values; only cells that have been created need shifting
+        columnValues.remove(index);
+        columnRuns.remove(index);
+        for (GridRow row : rows) {
+            final Map<Integer, GridCell<?>> createdCells = ((ColumnarGridRow) row).getCreatedCells();
+            if (createdCells.isEmpty()) {
+                continue;
+            }
+            createdCells.remove(index);
+            for (int _columnIndex = index + 1; _columnIndex <= columnValues.size(); _columnIndex++) {
+                final GridCell<?> cell = createdCells.remove(_columnIndex);
+                if (cell != null) {
+                    createdCells.put(_columnIndex - 1,
+                                     cell);
+                }
+            }
+        }
+
+        internalRefreshWidth(true, OptionalDouble.empty());
+
+        selectionsManager.onDeleteColumn(index);
+    }
+
+    @Override
+    public void updateColumn(final int index,
+                             final GridColumn<?> column) {
+        super.updateColumn(index,
+                           column);
+        Collections.fill(columnValues.get(column.getIndex()),
+                         null);
+        columnRuns.set(column.getIndex(),
+                       null);
+    }
+
+    @Override
+    public void appendRow(final GridRow row) {
+        super.appendRow(row);
+        ((ColumnarGridRow) row).attach(this,
+                                       rows.size() - 1);
+        for (List<GridCellValue<?>> values : columnValues) {
+            values.add(null);
+        }
+        invalidateRuns();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Range setCellValue(final int rowIndex,
+                              final int columnIndex,
+                              final GridCellValue<?> value) {
+        return updateCells(rowIndex,
+                           columnIndex,
+                           (row, _columnIndex) -> {
+                               final GridCell<?> cell = row.getCreatedCells().get(_columnIndex);
+                               if (cell instanceof BaseGridCell) {
+                                   ((BaseGridCell) cell).setValue(value);
+                               } else if (cell != null) {
+                                   row.deleteCell(_columnIndex);
+                               }
+                               return value;
+                           });
+    }
+
+    @Override
+    protected Range doSetCell(final int rowIndex,
+                              final int columnIndex,
+                              final Function<Map.Entry<Integer, Integer>, GridCell<?>> cellSupplier) {
+        return updateCells(rowIndex,
+                           columnIndex,
+                           (row, _columnIndex) -> {
+                               final GridCell<?> cell = cellSupplier.apply(new AbstractMap.SimpleEntry<>(row.getRowIndex(),
+                                                                                                         columnIndex));
+                               row.setCell(_columnIndex,
+                                           cell);
+                               return cell.getValue();
+                           });
+    }
+
+    @Override
+    public Range deleteCell(final int rowIndex,
+                            final int columnIndex) {
+        return updateCells(rowIndex,
+                           columnIndex,
+                           (row, _columnIndex) -> {
+                               row.deleteCell(_columnIndex);
+                               if (isMerged) {
+                                   row.expand();
+                               }
+                               return null;
+                           });
+    }
+
+    private Range updateCells(final int rowIndex,
+                              final int columnIndex,
+                              final CellUpdater updater) {
+        if (rowIndex < 0 || rowIndex > rows.size() - 1) {
+            return new Range(rowIndex);
+        }
+        if (columnIndex < 0 || columnIndex > columns.size() - 1) {
+            return new Range(rowIndex);
+        }
+
+        final int _columnIndex = columns.get(columnIndex).getIndex();
+        final List<GridCellValue<?>> values = columnValues.get(_columnIndex);
+
+        //If we're merged the whole block containing the cell is updated
+        final Range range = isMerged ? findBlock(rowIndex,
+                                                 _columnIndex) : new Range(rowIndex);
+
+        for (int i = range.getMinRowIndex(); i <= range.getMaxRowIndex(); i++) {
+            values.set(i,
+                       updater.update((ColumnarGridRow) rows.get(i),
+                                      _columnIndex));
+        }
+        columnRuns.set(_columnIndex,
+                       null);
+
+        return range;
+    }
+
+    //Find the block of rows holding the same value without re-indexing the column on every update
+    private Range findBlock(final int rowIndex,
+                            final int _columnIndex) {
+        final MergedCellRuns runs = columnRuns.get(_columnIndex);
+        if (runs != null) {
+            return new Range(runs.getRunStart(rowIndex),
+                             runs.getRunEnd(rowIndex));
+        }
+        final List<GridCellValue<?>> values = columnValues.get(_columnIndex);
+        final GridCellValue<?> value = values.get(rowIndex);
+        int minRowIndex = rowIndex;
+        int maxRowIndex = rowIndex;
+        if (value != null) {
+            while (minRowIndex > 0 && value.equals(values.get(minRowIndex - 1))) {
+                minRowIndex--;
+            }
+            while (maxRowIndex < values.size() - 1 && value.equals(values.get(maxRowIndex + 1))) {
+                maxRowIndex++;
+            }
+        }
+        return new Range(minRowIndex,
+                         maxRowIndex);
+    }
+
+    /**
+     * Get the cell of a row, creating it from the column values if it has not been created before.
+     * @param row The row.
+     * @param _columnIndex The index of the column, as per {@link GridColumn#getIndex()}.
+     * @return The cell or null if the cell is empty.
+     */
+    GridCell<?> getOrCreateCell(final ColumnarGridRow row,
+                                final int _columnIndex) {
+        final int rowIndex = row.getRowIndex();
+        if (!hasCellValue(rowIndex,
+                          _columnIndex)) {
+            return null;
+        }
+        final MergedCellRuns runs = isMerged ? getRuns(_columnIndex) : null;
+        GridCell<?> cell = row.getCreatedCells().get(_columnIndex);
+        if (cell == null) {
+            final BaseGridCell<?> _cell = new BaseGridCell<>(columnValues.get(_columnIndex).get(rowIndex));
+            _cell.setMergedCellCount(runs != null ? runs.getMergedCellCount(rowIndex) : 1);
+            for (int i = 0; i < row.getCollapseLevel(); i++) {
+                _cell.collapse();
+            }
+            row.setCell(_columnIndex,
+                        _cell);
+            cell = _cell;
+        }
+        return cell;
+    }
+
+    boolean hasCellValue(final int rowIndex,
+                         final int _columnIndex) {
+        if (_columnIndex < 0 || _columnIndex > columnValues.size() - 1) {
+            return false;
+        }
+        final List<GridCellValue<?>> values = columnValues.get(_columnIndex);
+        if (rowIndex < 0 || rowIndex > values.size() - 1) {
+            return false;
+        }
+        return values.get(rowIndex) != null;
+    }
+
+    boolean isRowMerged(final int rowIndex) {
+        if (!isMerged) {
+            return false;
+        }
+        for (int _columnIndex = 0; _columnIndex < columnValues.size(); _columnIndex++) {
+            if (hasCellValue(rowIndex,
+                             _columnIndex) && getRuns(_columnIndex).isMerged(rowIndex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Re-index merged blocks of a column if needed, updating cells that have already been created
+    MergedCellRuns getRuns(final int _columnIndex) {
+        MergedCellRuns runs = columnRuns.get(_columnIndex);
+        if (runs == null) {
+            runs = MergedCellRuns.index(columnValues.get(_columnIndex));
+            columnRuns.set(_columnIndex,
+                           runs);
+            for (GridRow row : rows) {
+                final ColumnarGridRow _row = (ColumnarGridRow) row;
+                final GridCell<?> cell = _row.getCreatedCells().get(_columnIndex);
+                if (cell instanceof BaseGridCell) {
+                    ((BaseGridCell) cell).setMergedCellCount(runs.getMergedCellCount(_row.getRowIndex()));
+                }
+            }
+        }
+        return runs;
+    }
+
+    void invalidateRuns() {
+        Collections.fill(columnRuns,
+                         null);
+    }
+
+    void invalidateRuns(final int _columnIndex) {
+        columnRuns.set(_columnIndex,
+                       null);
+    }
+
+    void onInsertRow(final int rowIndex) {
+        ((ColumnarGridRow) rows.get(rowIndex)).attach(this,
+                                                      rowIndex);
+        for (List<GridCellValue<?>> values : columnValues) {
+            values.add(rowIndex,
+                       null);
+        }
+        renumberRows(rowIndex + 1);
+        invalidateRuns();
+    }
+
+    void onDeleteRows(final Range range) {
+        for (List<GridCellValue<?>> values : columnValues) {
+            values.subList(range.getMinRowIndex(),
+                           range.getMaxRowIndex() + 1).clear();
+        }
+        renumberRows(range.getMinRowIndex());
+        invalidateRuns();
+    }
+
+    void onMoveRows() {
+        //Rows still hold their index prior to the move
+        for (int _columnIndex = 0; _columnIndex < columnValues.size(); _columnIndex++) {
+            final List<GridCellValue<?>> values = columnValues.get(_columnIndex);
+            final List<GridCellValue<?>> movedValues = new ArrayList<>(values.size());
+            for (GridRow row : rows) {
+                movedValues.add(values.get(((ColumnarGridRow) row).getRowIndex()));
+            }
+            columnValues.set(_columnIndex,
+                             movedValues);
+        }
+        renumberRows(0);
+        invalidateRuns();
+    }
+
+    private void renumberRows(final int fromRowIndex) {
+        for (int rowIndex = fromRowIndex; rowIndex < rows.size(); rowIndex++) {
+            ((ColumnarGridRow) rows.get(rowIndex)).setRowIndex(rowIndex);
+        }
+    }
+
+    private void addColumnValues(final int _columnIndex) {
+        columnValues.add(_columnIndex,
+                         new ArrayList<>(Collections.<GridCellValue<?>>nCopies(rows.size(),
+                                                                               null)));
+        columnRuns.add(_columnIndex,
+                       null);
+    }
+
+    @FunctionalInterface
+    private interface CellUpdater {
+
+        GridCellValue<?> update(final ColumnarGridRow row,
+                                final int _columnIndex);
+    }
+}
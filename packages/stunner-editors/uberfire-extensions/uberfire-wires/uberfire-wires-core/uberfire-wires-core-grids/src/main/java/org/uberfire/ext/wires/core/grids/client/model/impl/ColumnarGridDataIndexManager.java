@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.List;
+
+import org.uberfire.ext.wires.core.grids.client.model.GridData;
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+
+/**
+ * Manages "merge" meta-data of a {@link ColumnarGridData}. Rather than updating the cells of affected blocks the
+ * {@link MergedCellRuns} of affected columns are invalidated and rebuilt from the column values when next read.
+ * Collapsing and expanding cells operates on the cells of the affected block as per {@link BaseGridDataIndexManager}.
+ */
+public class ColumnarGridDataIndexManager extends BaseGridDataIndexManager {
+
+    private final ColumnarGridData gridData;
+
+    public ColumnarGridDataIndexManager(final ColumnarGridData gridData) {
+        super(gridData);
+        this.gridData = gridData;
+    }
+
+    @Override
+    public void onMerge(final boolean isMerged) {
+        if (!isMerged) {
+            super.onMerge(false);
+        }
+        gridData.invalidateRuns();
+    }
+
+    @Override
+    public void indexColumn(final int columnIndex) {
+        gridData.invalidateRuns(columnIndex);
+    }
+
+    @Override
+    public void onInsertRow(final int rowIndex) {
+        gridData.onInsertRow(rowIndex);
+    }
+
+    @Override
+    public void onDeleteRow(final GridData.Range range) {
+        gridData.onDeleteRows(range);
+    }
+
+    @Override
+    public void onSetCell(final GridData.Range range,
+                          final int columnIndex) {
+        gridData.invalidateRuns(columnIndex);
+    }
+
+    @Override
+    public void onDeleteCell(final GridData.Range range,
+                             final int columnIndex) {
+        gridData.invalidateRuns(columnIndex);
+    }
+
+    @Override
+    public void onMoveRows(final List<GridRow> rowsMoved,
+                           final GridData.Range oldBlockExtent) {
+        gridData.onMoveRows();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+
+/**
+ * A row of a {@link ColumnarGridData}. Cell values are held by the columns of the grid; {@link GridCell} instances
+ * are only created when a cell is read and are cached on the row thereafter.
+ */
+public class ColumnarGridRow extends BaseGridRow {
+
+    private ColumnarGridData gridData;
+    private int rowIndex = -1;
+    private int collapseLevel = 0;
+
+    private final Map<Integer, GridCell<?>> cellsView = new AbstractMap<Integer, GridCell<?>>() {
+
+        @Override
+        public GridCell<?> get(final Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            return gridData.getOrCreateCell(ColumnarGridRow.this,
+                                            (Integer) key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof Integer && gridData.hasCellValue(rowIndex,
+                                                                   (Integer) key);
+        }
+
+        @Override
+        public Set<Entry<Integer, GridCell<?>>> entrySet() {
+            return new AbstractSet<Entry<Integer, GridCell<?>>>() {
+
+                @Override
+                public Iterator<Entry<Integer, GridCell<?>>> iterator() {
+                    return new Iterator<Entry<Integer, GridCell<?>>>() {
+
+                        private int columnIndex = nextColumnIndex(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return columnIndex >= 0;
+                        }
+
+                        @Override
+                        public Entry<Integer, GridCell<?>> next() {
+                            if (columnIndex < 0) {
+                                throw new NoSuchElementException();
+                            }
+                            final int _columnIndex = columnIndex;
+                            columnIndex = nextColumnIndex(_columnIndex + 1);
+                            return new SimpleImmutableEntry<>(_columnIndex,
+                                                              gridData.getOrCreateCell(ColumnarGridRow.this,
+                                                                                       _columnIndex));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (int i = nextColumnIndex(0); i >= 0; i = nextColumnIndex(i + 1)) {
+                        size++;
+                    }
+                    return size;
+                }
+            };
+        }
+
+        private int nextColumnIndex(final int fromColumnIndex) {
+            for (int i = fromColumnIndex; i < gridData.getColumnCount(); i++) {
+                if (gridData.hasCellValue(rowIndex,
+                                          i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    };
+
+    public ColumnarGridRow() {
+        super();
+    }
+
+    public ColumnarGridRow(final double height) {
+        super(height);
+    }
+
+    @Override
+    public Map<Integer, GridCell<?>> getCells() {
+        if (gridData == null) {
+            return super.getCells();
+        }
+        return Collections.unmodifiableMap(cellsView);
+    }
+
+    @Override
+    public boolean isMerged() {
+        if (gridData == null) {
+            return super.isMerged();
+        }
+        return gridData.isRowMerged(rowIndex);
+    }
+
+    @Override
+    public void collapse() {
+        collapseLevel++;
+        super.collapse();
+    }
+
+    @Override
+    public void expand() {
+        if (collapseLevel == 0) {
+            return;
+        }
+        collapseLevel--;
+        super.expand();
+    }
+
+    @Override
+    public void reset() {
+        collapseLevel = 0;
+        super.reset();
+    }
+
+    /**
+     * The number of times the row has been collapsed; applied to cells when they are created.
+     * @return
+     */
+    int getCollapseLevel() {
+        return collapseLevel;
+    }
+
+    int getRowIndex() {
+        return rowIndex;
+    }
+
+    void attach(final ColumnarGridData gridData,
+                final int rowIndex) {
+        this.gridData = gridData;
+        this.rowIndex = rowIndex;
+    }
+
+    void setRowIndex(final int rowIndex) {
+        this.rowIndex = rowIndex;
+    }
+
+    //Cells that have already been created
+    Map<Integer, GridCell<?>> getCreatedCells() {
+        return cells;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Run-length encoding of the merged blocks in a single column. Consecutive rows holding equal, non-null values form
+ * a run; each run is stored as the index of its first row. Look-ups of the run containing a row are O(log n).
+ */
+public class MergedCellRuns {
+
+    private final int rowCount;
+    private final int[] starts;
+    private final int runCount;
+
+    private MergedCellRuns(final int rowCount,
+                           final int[] starts,
+                           final int runCount) {
+        this.rowCount = rowCount;
+        this.starts = starts;
+        this.runCount = runCount;
+    }
+
+    /**
+     * Build the runs for a column of values. A null value represents an empty cell; empty cells are never merged.
+     * @param values The values of the column, indexed by row.
+     * @return
+     */
+    public static MergedCellRuns index(final List<?> values) {
+        final int rowCount = values.size();
+        int[] starts = new int[Math.max(1,
+                                        Math.min(rowCount,
+                                                 16))];
+        int runCount = 0;
+        Object previous = null;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            final Object value = values.get(rowIndex);
+            if (rowIndex == 0 || value == null || previous == null || !Objects.equals(value,
+                                                                                      previous)) {
+                if (runCount == starts.length) {
+                    starts = Arrays.copyOf(starts,
+                                           Math.min(rowCount,
+                                                    runCount * 2));
+                }
+                starts[runCount++] = rowIndex;
+            }
+            previous = value;
+        }
+        return new MergedCellRuns(rowCount,
+                                  starts,
+                                  runCount);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Get the index of the first row of the run containing the given row.
+     * @param rowIndex The index of the row.
+     * @return
+     */
+    public int getRunStart(final int rowIndex) {
+        return starts[getRun(rowIndex)];
+    }
+
+    /**
+     * Get the index of the last row of the run containing the given row.
+     * @param rowIndex The index of the row.
+     * @return
+     */
+    public int getRunEnd(final int rowIndex) {
+        final int run = getRun(rowIndex);
+        return (run + 1 < runCount ? starts[run + 1] : rowCount) - 1;
+    }
+
+    /**
+     * Get the merged cell count for a row, following the {@link org.uberfire.ext.wires.core.grids.client.model.GridCell}
+     * contract; i.e. the size of the run for its first row and zero for the other rows of a run.
+     * @param rowIndex The index of the row.
+     * @return
+     */
+    public int getMergedCellCount(final int rowIndex) {
+        final int run = getRun(rowIndex);
+        if (starts[run] != rowIndex) {
+            return 0;
+        }
+        return (run + 1 < runCount ? starts[run + 1] : rowCount) - rowIndex;
+    }
+
+    /**
+     * Whether the given row is part of a run of more than one row.
+     * @param rowIndex The index of the row.
+     * @return
+     */
+    public boolean isMerged(final int rowIndex) {
+        return getRunEnd(rowIndex) > getRunStart(rowIndex);
+    }
+
+    private int getRun(final int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Row: " + rowIndex + ", Size: " + rowCount);
+        }
+        int low = 0;
+        int high = runCount - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= rowIndex) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
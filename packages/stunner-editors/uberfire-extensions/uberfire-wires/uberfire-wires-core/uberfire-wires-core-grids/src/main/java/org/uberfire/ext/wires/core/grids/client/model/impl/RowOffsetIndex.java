@@ -0,0 +1,208 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+
+/**
+ * Prefix-sum index of row offsets. Look-ups of a row's offset are O(1) and look-ups of the row at a given offset are
+ * O(log n). Offsets are recalculated on {@link #refresh(List)} from the first row invalidated since, see
+ * {@link #invalidate(int)}: {@link BaseGridData} invalidates the index when rows are inserted, deleted or moved and
+ * {@link BaseGridRow} when its height is set. Rows whose height is calculated from their content instead (see
+ * {@link BaseGridRow#hasDynamicHeight()}), or that are not {@link BaseGridRow}s, can't notify changes, so their
+ * heights are compared on every refresh.
+ */
+public class RowOffsetIndex {
+
+    private double[] heights = new double[0];
+    private double[] offsets = new double[]{0};
+    private int size = 0;
+
+    //Index of the first row whose offset needs recalculating, if any
+    private int dirtyRowIndex = 0;
+
+    //Ascending indexes of the rows whose heights can't be notified
+    private int[] dynamicRows = new int[0];
+    private int dynamicRowCount = 0;
+
+    private final List<Double> rowHeights = new AbstractList<Double>() {
+        @Override
+        public Double get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return heights[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    /**
+     * Synchronise the index with the given rows. Offsets are recalculated from the first row invalidated since the
+     * previous refresh, or from the first row whose height can't be notified and has changed.
+     * @param rows The rows in the grid.
+     * @return This index.
+     */
+    public RowOffsetIndex refresh(final List<GridRow> rows) {
+        final int rowCount = rows.size();
+        int fromRowIndex = Math.min(dirtyRowIndex,
+                                    Math.min(rowCount,
+                                             size));
+        for (int i = 0; i < dynamicRowCount && dynamicRows[i] < fromRowIndex; i++) {
+            final int rowIndex = dynamicRows[i];
+            if (heights[rowIndex] != rows.get(rowIndex).getHeight()) {
+                fromRowIndex = rowIndex;
+            }
+        }
+        if (fromRowIndex < rowCount || rowCount != size) {
+            recalculate(rows,
+                        fromRowIndex);
+        }
+        dirtyRowIndex = Integer.MAX_VALUE;
+        return this;
+    }
+
+    private void recalculate(final List<GridRow> rows,
+                             final int fromRowIndex) {
+        final int rowCount = rows.size();
+        if (heights.length < rowCount) {
+            final int capacity = Math.max(rowCount,
+                                          heights.length * 2);
+            heights = Arrays.copyOf(heights,
+                                    capacity);
+            offsets = Arrays.copyOf(offsets,
+                                    capacity + 1);
+            dynamicRows = Arrays.copyOf(dynamicRows,
+                                        capacity);
+        }
+        while (dynamicRowCount > 0 && dynamicRows[dynamicRowCount - 1] >= fromRowIndex) {
+            dynamicRowCount--;
+        }
+        for (int rowIndex = fromRowIndex; rowIndex < rowCount; rowIndex++) {
+            final GridRow row = rows.get(rowIndex);
+            if (row instanceof BaseGridRow && !((BaseGridRow) row).hasDynamicHeight()) {
+                ((BaseGridRow) row).setRowOffsetIndex(this,
+                                                      rowIndex);
+            } else {
+                dynamicRows[dynamicRowCount++] = rowIndex;
+            }
+            heights[rowIndex] = row.getHeight();
+            offsets[rowIndex + 1] = offsets[rowIndex] + heights[rowIndex];
+        }
+        size = rowCount;
+    }
+
+    /**
+     * Invalidate the offsets of all rows from the given row, which was inserted, deleted, moved or whose height changed.
+     * @param rowIndex The index of the row.
+     */
+    public void invalidate(final int rowIndex) {
+        dirtyRowIndex = Math.min(dirtyRowIndex,
+                                 Math.max(0,
+                                          rowIndex));
+    }
+
+    /**
+     * Invalidate all indexed heights, forcing a full recalculation on the next {@link #refresh(List)}.
+     */
+    public void invalidate() {
+        invalidate(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the height of all indexed rows.
+     * @return
+     */
+    public double getHeight() {
+        return offsets[size];
+    }
+
+    /**
+     * Get the indexed height of a row.
+     * @param rowIndex The index of the row.
+     * @return
+     */
+    public double getRowHeight(final int rowIndex) {
+        return heights[rowIndex];
+    }
+
+    /**
+     * Get the y-offset of a row relative to the first row. Indexes beyond the last row return the total height.
+     * @param rowIndex The index of the row.
+     * @return
+     */
+    public double getRowOffset(final int rowIndex) {
+        if (rowIndex <= 0) {
+            return 0;
+        }
+        return offsets[Math.min(rowIndex,
+                                size)];
+    }
+
+    /**
+     * Get the index of the first row whose bottom edge is at or below the given y-offset. This is equivalent to
+     * accumulating row heights until they reach the offset. If all rows are above the offset {@link #size()} is returned.
+     * @param offsetY A y-offset relative to the first row.
+     * @return
+     */
+    public int getRowIndexAt(final double offsetY) {
+        return getRowIndexAt(offsets,
+                             size,
+                             offsetY);
+    }
+
+    /**
+     * A read-only view of the indexed row heights, as of the last {@link #refresh(List)}.
+     * @return
+     */
+    public List<Double> getRowHeights() {
+        return rowHeights;
+    }
+
+    /**
+     * Binary search of prefix-summed row offsets; see {@link #getRowIndexAt(double)}.
+     * @param offsets Row offsets, where offsets[i] is the top of row i and offsets[rowCount] the total height.
+     * @param rowCount The number of rows.
+     * @param offsetY A y-offset relative to the first row.
+     * @return
+     */
+    public static int getRowIndexAt(final double[] offsets,
+                                    final int rowCount,
+                                    final double offsetY) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (offsets[mid + 1] < offsetY) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -340,19 +340,12 @@ public class GridWidgetDnDMouseMoveHandler implements NodeMouseMoveHandler {
 
         final GridData gridModel = view.getModel();
         final GridRenderer renderer = view.getRenderer();
-        final List<Double> allRowHeights = renderingInformation.getAllRowHeights();
 
         //Get row index
         if (gridModel.getRowCount() == 0) {
             return;
         }
-        double rowHeight;
-        int uiRowIndex = 0;
-        double offsetY = cy - renderer.getHeaderHeight();
-        while ((rowHeight = allRowHeights.get(uiRowIndex)) < offsetY) {
-            offsetY = offsetY - rowHeight;
-            uiRowIndex++;
-        }
+        int uiRowIndex = renderingInformation.getRowIndexAt(cy - renderer.getHeaderHeight());
         if (uiRowIndex < 0 || uiRowIndex > gridModel.getRowCount() - 1) {
             return;
         }
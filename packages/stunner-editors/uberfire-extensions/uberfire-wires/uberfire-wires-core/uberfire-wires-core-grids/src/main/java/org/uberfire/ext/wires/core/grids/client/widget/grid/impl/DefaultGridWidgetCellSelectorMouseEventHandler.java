@@ -83,7 +83,7 @@ public class DefaultGridWidgetCellSelectorMouseEventHandler implements NodeMouse
                                                               event.isShiftKeyDown(),
                                                               event.isCtrlKeyDown());
         if (isHandled) {
-            gridWidget.getLayer().batch();
+            gridWidget.getLayer().invalidate(gridWidget);
         }
         return isHandled;
     }
@@ -102,7 +102,7 @@ public class DefaultGridWidgetCellSelectorMouseEventHandler implements NodeMouse
                                                         event.isCtrlKeyDown());
 
         if (isHandled) {
-            gridWidget.getLayer().batch();
+            gridWidget.getLayer().invalidate(gridWidget);
         }
         return isHandled;
     }
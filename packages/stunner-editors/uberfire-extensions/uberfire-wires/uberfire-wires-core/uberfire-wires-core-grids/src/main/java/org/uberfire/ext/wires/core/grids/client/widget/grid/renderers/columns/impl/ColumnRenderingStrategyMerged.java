@@ -210,7 +210,7 @@ public class ColumnRenderingStrategyMerged {
                                                                 allRowHeights,
                                                                 cell);
                         final GridBodyCellRenderContext cellContext = new GridBodyCellRenderContext(absoluteColumnX,
-                                                                                                    absoluteGridY + renderer.getHeaderHeight() + rendererHelper.getRowOffset(_rowIndex),
+                                                                                                    absoluteGridY + renderer.getHeaderHeight() + renderingInformation.getRowOffset(_rowIndex),
                                                                                                     columnWidth,
                                                                                                     cellHeight,
                                                                                                     clipMinY,
@@ -25,6 +25,8 @@ import org.uberfire.ext.wires.core.grids.client.model.Bounds;
 import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
 import org.uberfire.ext.wires.core.grids.client.model.GridData;
 import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridData;
+import org.uberfire.ext.wires.core.grids.client.model.impl.RowOffsetIndex;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.GridWidget;
 import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.GridRenderer;
 import org.uberfire.ext.wires.core.grids.client.widget.layer.GridLayer;
@@ -39,6 +41,7 @@ public class BaseGridRendererHelper {
     private static final Logger LOGGER = Logger.getLogger(BaseGridRendererHelper.class.getName());
 
     private final GridWidget view;
+    private final RowOffsetIndex rowOffsetIndex = new RowOffsetIndex();
 
     public BaseGridRendererHelper(final GridWidget view) {
         this.view = Objects.requireNonNull(view, "view");
@@ -163,14 +166,9 @@ public class BaseGridRendererHelper {
         final List<GridColumn<?>> bodyColumns = new ArrayList<>();
         final List<GridColumn<?>> floatingColumns = new ArrayList<>();
 
-        double viewHeight = 0;
-        final int rowCount = model.getRowCount();
-        final List<Double> rowHeights = new ArrayList<>();
-        for (GridRow row : model.getRows()) {
-            final double rowHeight = row.getHeight();
-            viewHeight = viewHeight + rowHeight;
-            rowHeights.add(rowHeight);
-        }
+        final RowOffsetIndex rowOffsets = getRowOffsetIndex(model);
+        final double viewHeight = rowOffsets.getHeight();
+        final int rowCount = rowOffsets.size();
 
         final double vpX = bounds.getX();
         final double vpY = bounds.getY();
@@ -216,21 +214,15 @@ public class BaseGridRendererHelper {
         long currentTimeMillis = log(LOGGER, " - Pre- identify rows to render");
 
         int minVisibleRowIndex = 0;
-        if (model.getRowCount() > 0) {
-            double clipTop = vpY - view.getComputedLocation().getY() - (isFloatingHeader ? 0.0 : renderer.getHeaderHeight());
-            while (rowHeights.get(minVisibleRowIndex) < clipTop && minVisibleRowIndex < rowCount - 1) {
-                clipTop = clipTop - rowHeights.get(minVisibleRowIndex);
-                minVisibleRowIndex++;
-            }
-        }
-
-        int maxVisibleRowIndex = minVisibleRowIndex;
-        if (model.getRowCount() > 0) {
-            double clipBottom = vpY - view.getComputedLocation().getY() - renderer.getHeaderHeight() + vpHeight - getRowOffset(minVisibleRowIndex, rowHeights);
-            while (rowHeights.get(maxVisibleRowIndex) < clipBottom && maxVisibleRowIndex < rowCount - 1) {
-                clipBottom = clipBottom - rowHeights.get(maxVisibleRowIndex);
-                maxVisibleRowIndex++;
-            }
+        int maxVisibleRowIndex = 0;
+        if (rowCount > 0) {
+            final double clipTop = vpY - view.getComputedLocation().getY() - (isFloatingHeader ? 0.0 : renderer.getHeaderHeight());
+            final double clipBottom = vpY - view.getComputedLocation().getY() - renderer.getHeaderHeight() + vpHeight;
+            minVisibleRowIndex = Math.min(rowOffsets.getRowIndexAt(clipTop),
+                                          rowCount - 1);
+            maxVisibleRowIndex = Math.max(minVisibleRowIndex,
+                                          Math.min(rowOffsets.getRowIndexAt(clipBottom),
+                                                   rowCount - 1));
         }
         log(LOGGER, " - Post- identify rows to render", currentTimeMillis);
 
@@ -282,8 +274,7 @@ public class BaseGridRendererHelper {
         log(LOGGER, " - Post- identify columns to render", currentTimeMillis);
 
         //Construct details of Floating and Body blocks
-        double visibleRowOffset = getRowOffset(minVisibleRowIndex, rowHeights);
-        final double bodyOffsetY = visibleRowOffset + renderer.getHeaderHeight();
+        final double bodyOffsetY = rowOffsets.getRowOffset(minVisibleRowIndex) + renderer.getHeaderHeight();
         final double offsetX = (bodyColumns.size() > 0 ? getColumnOffset(bodyColumns.get(0)) : 0);
         final double floatingOffsetX = getFloatingColumnOffset();
 
@@ -305,10 +296,9 @@ public class BaseGridRendererHelper {
         currentTimeMillis = log(LOGGER, " - Pre- calculate row offsets");
 
         final List<Double> visibleRowOffsets = new ArrayList<>();
-        if (model.getRowCount() > 0) {
+        if (rowCount > 0) {
             for (int rowIndex = minVisibleRowIndex; rowIndex <= maxVisibleRowIndex; rowIndex++) {
-                visibleRowOffsets.add(visibleRowOffset);
-                visibleRowOffset = visibleRowOffset + rowHeights.get(rowIndex);
+                visibleRowOffsets.add(rowOffsets.getRowOffset(rowIndex));
             }
         }
         log(LOGGER, " - Post- calculate row offsets", currentTimeMillis);
@@ -326,7 +316,7 @@ public class BaseGridRendererHelper {
                                         floatingBlockInformation,
                                         minVisibleRowIndex,
                                         maxVisibleRowIndex,
-                                        rowHeights,
+                                        rowOffsets,
                                         visibleRowOffsets,
                                         isFixedHeader,
                                         isFloatingHeader,
@@ -336,6 +326,21 @@ public class BaseGridRendererHelper {
                                         headerRowsYOffset);
     }
 
+    /**
+     * Get the row offset index of the given model. {@link BaseGridData} maintains its own index; otherwise an index
+     * local to this helper is fully recalculated, since other models don't notify changes to their rows.
+     * @param model The model.
+     * @return
+     */
+    private RowOffsetIndex getRowOffsetIndex(final GridData model) {
+        final RowOffsetIndex index = model instanceof BaseGridData ? ((BaseGridData) model).getRowOffsetIndex() : null;
+        if (index != null) {
+            return index;
+        }
+        rowOffsetIndex.invalidate();
+        return rowOffsetIndex.refresh(model.getRows());
+    }
+
     /**
      * Get information about a column corresponding to a grid-relative x-coordinate. This method never returns null.
      * It returns a ColumnInformation object representing the column corresponding to the grid-relative x-coordinate;
@@ -493,6 +498,8 @@ public class BaseGridRendererHelper {
         private final int minVisibleRowIndex;
         private final int maxVisibleRowIndex;
         private final List<Double> allRowHeights;
+        private final RowOffsetIndex rowOffsetIndex;
+        private double[] allRowOffsets;
         private final List<Double> visibleRowOffsets;
         private final boolean isFixedHeader;
         private final boolean isFloatingHeader;
@@ -515,6 +522,69 @@ public class BaseGridRendererHelper {
                                     final double headerRowHeight,
                                     final double headerRowsHeight,
                                     final double headerRowsYOffset) {
+            this(bounds,
+                 allColumns,
+                 bodyBlockInformation,
+                 floatingBlockInformation,
+                 minVisibleRowIndex,
+                 maxVisibleRowIndex,
+                 allRowHeights,
+                 null,
+                 visibleRowOffsets,
+                 isFixedHeader,
+                 isFloatingHeader,
+                 headerRowCount,
+                 headerRowHeight,
+                 headerRowsHeight,
+                 headerRowsYOffset);
+        }
+
+        public RenderingInformation(final Bounds bounds,
+                                    final List<GridColumn<?>> allColumns,
+                                    final RenderingBlockInformation bodyBlockInformation,
+                                    final RenderingBlockInformation floatingBlockInformation,
+                                    final int minVisibleRowIndex,
+                                    final int maxVisibleRowIndex,
+                                    final RowOffsetIndex rowOffsetIndex,
+                                    final List<Double> visibleRowOffsets,
+                                    final boolean isFixedHeader,
+                                    final boolean isFloatingHeader,
+                                    final int headerRowCount,
+                                    final double headerRowHeight,
+                                    final double headerRowsHeight,
+                                    final double headerRowsYOffset) {
+            this(bounds,
+                 allColumns,
+                 bodyBlockInformation,
+                 floatingBlockInformation,
+                 minVisibleRowIndex,
+                 maxVisibleRowIndex,
+                 rowOffsetIndex.getRowHeights(),
+                 rowOffsetIndex,
+                 visibleRowOffsets,
+                 isFixedHeader,
+                 isFloatingHeader,
+                 headerRowCount,
+                 headerRowHeight,
+                 headerRowsHeight,
+                 headerRowsYOffset);
+        }
+
+        private RenderingInformation(final Bounds bounds,
+                                     final List<GridColumn<?>> allColumns,
+                                     final RenderingBlockInformation bodyBlockInformation,
+                                     final RenderingBlockInformation floatingBlockInformation,
+                                     final int minVisibleRowIndex,
+                                     final int maxVisibleRowIndex,
+                                     final List<Double> allRowHeights,
+                                     final RowOffsetIndex rowOffsetIndex,
+                                     final List<Double> visibleRowOffsets,
+                                     final boolean isFixedHeader,
+                                     final boolean isFloatingHeader,
+                                     final int headerRowCount,
+                                     final double headerRowHeight,
+                                     final double headerRowsHeight,
+                                     final double headerRowsYOffset) {
             this.bounds = bounds;
             this.allColumns = allColumns;
             this.bodyBlockInformation = bodyBlockInformation;
@@ -522,6 +592,7 @@ public class BaseGridRendererHelper {
             this.minVisibleRowIndex = minVisibleRowIndex;
             this.maxVisibleRowIndex = maxVisibleRowIndex;
             this.allRowHeights = allRowHeights;
+            this.rowOffsetIndex = rowOffsetIndex;
             this.visibleRowOffsets = visibleRowOffsets;
             this.isFixedHeader = isFixedHeader;
             this.isFloatingHeader = isFloatingHeader;
@@ -563,6 +634,50 @@ public class BaseGridRendererHelper {
             return Collections.unmodifiableList(visibleRowOffsets);
         }
 
+        /**
+         * Get the y-offset of a row relative to the first row. This is equivalent to summing {@link #getAllRowHeights()}
+         * up to, but excluding, the row; however it is O(1).
+         * @param rowIndex The index of the row.
+         * @return
+         */
+        public double getRowOffset(final int rowIndex) {
+            if (rowOffsetIndex != null) {
+                return rowOffsetIndex.getRowOffset(rowIndex);
+            }
+            final double[] offsets = getAllRowOffsets();
+            if (rowIndex <= 0) {
+                return 0;
+            }
+            return offsets[Math.min(rowIndex,
+                                    offsets.length - 1)];
+        }
+
+        /**
+         * Get the index of the first row whose bottom edge is at or below the given y-offset, relative to the first row.
+         * If all rows are above the offset the number of rows is returned.
+         * @param offsetY A y-offset relative to the first row.
+         * @return
+         */
+        public int getRowIndexAt(final double offsetY) {
+            if (rowOffsetIndex != null) {
+                return rowOffsetIndex.getRowIndexAt(offsetY);
+            }
+            final double[] offsets = getAllRowOffsets();
+            return RowOffsetIndex.getRowIndexAt(offsets,
+                                                offsets.length - 1,
+                                                offsetY);
+        }
+
+        private double[] getAllRowOffsets() {
+            if (allRowOffsets == null) {
+                allRowOffsets = new double[allRowHeights.size() + 1];
+                for (int i = 0; i < allRowHeights.size(); i++) {
+                    allRowOffsets[i + 1] = allRowOffsets[i] + allRowHeights.get(i);
+                }
+            }
+            return allRowOffsets;
+        }
+
         public boolean isFixedHeader() {
             return isFixedHeader;
         }
@@ -28,6 +28,7 @@ import com.ait.lienzo.client.core.event.NodeMouseUpEvent;
 import com.ait.lienzo.client.core.shape.IPrimitive;
 import com.ait.lienzo.client.core.shape.Layer;
 import com.ait.lienzo.client.core.shape.Viewport;
+import com.ait.lienzo.client.core.types.BoundingBox;
 import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.client.core.types.Transform;
 import com.google.gwt.user.client.Command;
@@ -56,6 +57,9 @@ public class DefaultGridLayer extends Layer implements GridLayer,
 
     //This is helpful when debugging rendering issues to set the bounds smaller than the Viewport
     private static final int PADDING = 0;
+
+    //Covers the selector stroke drawn around selected GridWidgets
+    private static final double SELECTOR_MARGIN = 2.0;
     private final GridWidgetDnDMouseDownHandler mouseDownHandler;
     private final GridWidgetDnDMouseMoveHandler mouseMoveHandler;
     private final GridWidgetDnDMouseUpHandler mouseUpHandler;
@@ -67,7 +71,7 @@ public class DefaultGridLayer extends Layer implements GridLayer,
     private final GridLayerRedrawManager.PrioritizedCommand REDRAW = new GridLayerRedrawManager.PrioritizedCommand(Integer.MIN_VALUE) {
         @Override
         public void execute() {
-            DefaultGridLayer.this.draw();
+            DefaultGridLayer.this.drawDirty();
         }
     };
     private AbsolutePanel domElementContainer;
@@ -148,11 +152,52 @@ public class DefaultGridLayer extends Layer implements GridLayer,
 
         //We use Layer.batch() to ensure rendering is tied to the browser's requestAnimationFrame()
         //however this calls back into Layer.draw() so update dependent Shapes here.
-        return super.draw();
+        super.draw();
+
+        //Remember where each GridWidget was drawn, so that invalidate(gridWidget) only repaints its area
+        for (GridWidget gridWidget : registeredGridWidgets) {
+            markBounds(gridWidget);
+        }
+        return this;
+    }
+
+    /**
+     * The bounds of a GridWidget are those of the content it rendered on the last draw, so the area invalidated for
+     * it is instead computed from its location and size, plus the selector drawn around it when selected.
+     * @param prim the invalidated primitive
+     * @return The area to repaint, in Layer coordinates
+     */
+    @Override
+    protected BoundingBox getInvalidatedBounds(final IPrimitive<?> prim) {
+        if (!(prim instanceof GridWidget)) {
+            return super.getInvalidatedBounds(prim);
+        }
+        final GridWidget gridWidget = (GridWidget) prim;
+        if (gridWidget.getLayer() != this) {
+            return null;
+        }
+        final Point2D location = gridWidget.getComputedLocation();
+        return BoundingBox.fromDoubles(location.getX() - SELECTOR_MARGIN,
+                                       location.getY() - SELECTOR_MARGIN,
+                                       location.getX() + gridWidget.getWidth() + SELECTOR_MARGIN,
+                                       location.getY() + gridWidget.getHeight() + SELECTOR_MARGIN);
     }
 
     @Override
     public Layer batch() {
+        getDirtyRegions().markAll();
+        return batch(REDRAW);
+    }
+
+    /**
+     * Schedules a redraw of only the given area, e.g. a single cell, in layer coordinates. Areas scheduled for the
+     * same frame are merged, and a full {@link #batch()} in the meantime supersedes them.
+     * @param dirty the area to redraw
+     * @return The Layer
+     */
+    @Override
+    public Layer batch(final BoundingBox dirty) {
+        getDirtyRegions().add(dirty);
         return batch(REDRAW);
     }
 
@@ -253,21 +298,18 @@ public class DefaultGridLayer extends Layer implements GridLayer,
 
     @Override
     public void select(final GridWidget selectedGridWidget) {
-        boolean selectionChanged = false;
+        //Only the GridWidgets whose selection changed are repainted
         for (GridWidget gridWidget : getGridWidgets()) {
             if (gridWidget.isSelected()) {
                 if (!gridWidget.equals(selectedGridWidget)) {
-                    selectionChanged = true;
                     gridWidget.deselect();
+                    invalidate(gridWidget);
                 }
             } else if (gridWidget.equals(selectedGridWidget)) {
-                selectionChanged = true;
                 gridWidget.select();
+                invalidate(gridWidget);
             }
         }
-        if (selectionChanged) {
-            batch();
-        }
     }
 
     @Override
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import org.junit.Test;
+import org.uberfire.ext.wires.core.grids.client.model.GridCell;
+import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
+import org.uberfire.ext.wires.core.grids.client.model.GridData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarGridDataTest extends BaseGridTest {
+
+    private ColumnarGridData data;
+
+    private ColumnarGridRow[] rows;
+
+    private void setup(final boolean isMerged,
+                       final int columnCount,
+                       final int rowCount) {
+        data = new ColumnarGridData(isMerged);
+        for (int i = 0; i < columnCount; i++) {
+            data.appendColumn(new MockMergableGridColumn<String>("col" + i,
+                                                                 100));
+        }
+        rows = new ColumnarGridRow[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new ColumnarGridRow();
+            data.appendRow(rows[i]);
+        }
+    }
+
+    private void setValues(final String column0Value) {
+        for (int rowIndex = 0; rowIndex < data.getRowCount(); rowIndex++) {
+            for (int columnIndex = 0; columnIndex < data.getColumnCount(); columnIndex++) {
+                data.setCellValue(rowIndex,
+                                  columnIndex,
+                                  new BaseGridCellValue<>("(" + columnIndex + ", " + (columnIndex == 0 && column0Value != null ? column0Value : rowIndex) + ")"));
+            }
+        }
+    }
+
+    @Test
+    public void testCellsCreatedLazily() {
+        setup(true,
+              2,
+              3);
+        setValues(null);
+
+        for (ColumnarGridRow row : rows) {
+            assertTrue(row.getCreatedCells().isEmpty());
+        }
+
+        final GridCell<?> cell = data.getCell(1,
+                                              1);
+        assertEquals("(1, 1)",
+                     cell.getValue().getValue());
+        assertSame(cell,
+                   data.getCell(1,
+                                1));
+        assertTrue(rows[0].getCreatedCells().isEmpty());
+        assertEquals(1,
+                     rows[1].getCreatedCells().size());
+        assertTrue(rows[2].getCreatedCells().isEmpty());
+
+        assertEquals(2,
+                     rows[2].getCells().size());
+        assertTrue(rows[2].getCreatedCells().isEmpty());
+        for (GridCell<?> c : rows[2].getCells().values()) {
+            assertFalse(c.isMerged());
+        }
+        assertEquals(2,
+                     rows[2].getCreatedCells().size());
+    }
+
+    @Test
+    public void testInitialSetup_NoMerging() {
+        setup(true,
+              2,
+              3);
+        setValues(null);
+
+        assertGridIndexes(data,
+                          new boolean[]{false, false, false},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(false, 1, "(0, 0)"), Expected.build(false, 1, "(1, 0)")},
+                                  {Expected.build(false, 1, "(0, 1)"), Expected.build(false, 1, "(1, 1)")},
+                                  {Expected.build(false, 1, "(0, 2)"), Expected.build(false, 1, "(1, 2)")}
+                          });
+    }
+
+    @Test
+    public void testInitialSetup_Column1Merged() {
+        setup(true,
+              2,
+              3);
+        setValues("X");
+
+        assertGridIndexes(data,
+                          new boolean[]{true, true, true},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(true, 3, "(0, X)"), Expected.build(false, 1, "(1, 0)")},
+                                  {Expected.build(true, 0, "(0, X)"), Expected.build(false, 1, "(1, 1)")},
+                                  {Expected.build(true, 0, "(0, X)"), Expected.build(false, 1, "(1, 2)")}
+                          });
+    }
+
+    @Test
+    public void testInitialSetup_Unmerged() {
+        setup(false,
+              2,
+              3);
+        setValues("X");
+
+        assertGridIndexes(data,
+                          new boolean[]{false, false, false},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(false, 1, "(0, X)"), Expected.build(false, 1, "(1, 0)")},
+                                  {Expected.build(false, 1, "(0, X)"), Expected.build(false, 1, "(1, 1)")},
+                                  {Expected.build(false, 1, "(0, X)"), Expected.build(false, 1, "(1, 2)")}
+                          });
+
+        data.setMerged(true);
+
+        assertEquals(3,
+                     data.getCell(0,
+                                  0).getMergedCellCount());
+        assertTrue(data.getRow(2).isMerged());
+    }
+
+    @Test
+    public void testMergeDownwards() {
+        setup(true,
+              2,
+              3);
+        setValues(null);
+        //Create cells before merging to check they are updated
+        data.getCell(0,
+                     0);
+        data.getCell(1,
+                     0);
+
+        data.setCellValue(1,
+                          0,
+                          new BaseGridCellValue<>("(0, 0)"));
+
+        assertGridIndexes(data,
+                          new boolean[]{true, true, false},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(true, 2, "(0, 0)"), Expected.build(false, 1, "(1, 0)")},
+                                  {Expected.build(true, 0, "(0, 0)"), Expected.build(false, 1, "(1, 1)")},
+                                  {Expected.build(false, 1, "(0, 2)"), Expected.build(false, 1, "(1, 2)")}
+                          });
+    }
+
+    @Test
+    public void testUpdateMergedBlock() {
+        setup(true,
+              2,
+              3);
+        setValues("X");
+
+        final GridData.Range range = data.setCellValue(1,
+                                                       0,
+                                                       new BaseGridCellValue<>("Y"));
+
+        assertEquals(0,
+                     range.getMinRowIndex());
+        assertEquals(2,
+                     range.getMaxRowIndex());
+        for (int rowIndex = 0; rowIndex < 3; rowIndex++) {
+            assertEquals("Y",
+                         data.getCell(rowIndex,
+                                      0).getValue().getValue());
+        }
+        assertEquals(3,
+                     data.getCell(0,
+                                  0).getMergedCellCount());
+    }
+
+    @Test
+    public void testDeleteCell() {
+        setup(true,
+              2,
+              3);
+        setValues("X");
+
+        data.deleteCell(0,
+                        0);
+
+        for (int rowIndex = 0; rowIndex < 3; rowIndex++) {
+            assertNull(data.getCell(rowIndex,
+                                    0));
+            assertFalse(data.getRow(rowIndex).isMerged());
+            assertFalse(data.getRow(rowIndex).getCells().containsKey(0));
+        }
+    }
+
+    @Test
+    public void testInsertRow() {
+        setup(true,
+              2,
+              3);
+        setValues("X");
+
+        data.insertRow(1,
+                       new ColumnarGridRow());
+
+        assertGridIndexes(data,
+                          new boolean[]{false, false, true, true},
+                          new boolean[]{false, false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(false, 1, "(0, X)"), Expected.build(false, 1, "(1, 0)")},
+                                  {Expected.build(null), Expected.build(null)},
+                                  {Expected.build(true, 2, "(0, X)"), Expected.build(false, 1, "(1, 1)")},
+                                  {Expected.build(true, 0, "(0, X)"), Expected.build(false, 1, "(1, 2)")}
+                          });
+    }
+
+    @Test
+    public void testDeleteRow() {
+        setup(true,
+              2,
+              3);
+        setValues("X");
+
+        data.deleteRow(0);
+
+        assertGridIndexes(data,
+                          new boolean[]{true, true},
+                          new boolean[]{false, false},
+                          new Expected[][]{
+                                  {Expected.build(true, 2, "(0, X)"), Expected.build(false, 1, "(1, 1)")},
+                                  {Expected.build(true, 0, "(0, X)"), Expected.build(false, 1, "(1, 2)")}
+                          });
+    }
+
+    @Test
+    public void testMoveRow() {
+        setup(true,
+              2,
+              3);
+        setValues(null);
+
+        data.moveRowTo(0,
+                       rows[2]);
+
+        assertSame(rows[2],
+                   data.getRow(0));
+        assertGridIndexes(data,
+                          new boolean[]{false, false, false},
+                          new boolean[]{false, false, false},
+                          new Expected[][]{
+                                  {Expected.build(false, 1, "(0, 2)"), Expected.build(false, 1, "(1, 2)")},
+                                  {Expected.build(false, 1, "(0, 0)"), Expected.build(false, 1, "(1, 0)")},
+                                  {Expected.build(false, 1, "(0, 1)"), Expected.build(false, 1, "(1, 1)")}
+                          });
+    }
+
+    @Test
+    public void testDeleteColumn() {
+        setup(true,
+              3,
+              2);
+        setValues(null);
+        data.getCell(0,
+                     2);
+
+        final GridColumn<?> column = data.getColumns().get(1);
+        data.deleteColumn(column);
+
+        assertEquals(2,
+                     data.getColumnCount());
+        assertEquals("(2, 0)",
+                     data.getCell(0,
+                                  1).getValue().getValue());
+        assertEquals("(2, 1)",
+                     data.getCell(1,
+                                  1).getValue().getValue());
+        assertFalse(rows[0].getCells().containsKey(2));
+    }
+
+    @Test
+    public void testCollapseCell() {
+        setup(true,
+              2,
+              3);
+        setValues("X");
+
+        data.collapseCell(0,
+                          0);
+
+        assertFalse(data.getRow(0).isCollapsed());
+        assertTrue(data.getRow(1).isCollapsed());
+        assertTrue(data.getRow(2).isCollapsed());
+        assertTrue(data.getCell(2,
+                                1).isCollapsed());
+        assertFalse(data.getCell(0,
+                                 1).isCollapsed());
+    }
+}
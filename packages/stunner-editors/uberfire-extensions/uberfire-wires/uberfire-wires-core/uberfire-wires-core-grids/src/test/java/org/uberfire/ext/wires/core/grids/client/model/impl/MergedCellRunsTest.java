@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MergedCellRunsTest {
+
+    @Test
+    public void testRuns() {
+        final MergedCellRuns runs = MergedCellRuns.index(Arrays.asList("a", "a", "a", "b", null, null, "c", "c"));
+
+        assertEquals(8,
+                     runs.getRowCount());
+        assertEquals(5,
+                     runs.getRunCount());
+
+        assertEquals(0,
+                     runs.getRunStart(2));
+        assertEquals(2,
+                     runs.getRunEnd(0));
+        assertEquals(3,
+                     runs.getMergedCellCount(0));
+        assertEquals(0,
+                     runs.getMergedCellCount(1));
+        assertTrue(runs.isMerged(1));
+
+        assertEquals(1,
+                     runs.getMergedCellCount(3));
+        assertFalse(runs.isMerged(3));
+
+        assertEquals(5,
+                     runs.getRunStart(5));
+        assertFalse(runs.isMerged(4));
+        assertFalse(runs.isMerged(5));
+
+        assertEquals(6,
+                     runs.getRunStart(7));
+        assertEquals(7,
+                     runs.getRunEnd(6));
+        assertEquals(2,
+                     runs.getMergedCellCount(6));
+    }
+
+    @Test
+    public void testManyRuns() {
+        final Integer[] values = new Integer[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 3;
+        }
+        final MergedCellRuns runs = MergedCellRuns.index(Arrays.asList(values));
+
+        assertEquals(334,
+                     runs.getRunCount());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals((i / 3) * 3,
+                         runs.getRunStart(i));
+        }
+        assertEquals(999,
+                     runs.getRunEnd(999));
+        assertEquals(1,
+                     runs.getMergedCellCount(999));
+    }
+
+    @Test
+    public void testEmpty() {
+        final MergedCellRuns runs = MergedCellRuns.index(Collections.emptyList());
+
+        assertEquals(0,
+                     runs.getRowCount());
+        assertEquals(0,
+                     runs.getRunCount());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        MergedCellRuns.index(Arrays.asList("a", "b")).getRunStart(2);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.model.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.uberfire.ext.wires.core.grids.client.model.GridRow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(LienzoMockitoTestRunner.class)
+public class RowOffsetIndexTest {
+
+    private BaseGridData model;
+
+    private GridRow row0;
+    private GridRow row1;
+    private GridRow row2;
+
+    @Before
+    public void setup() {
+        this.model = new BaseGridData();
+        this.row0 = new BaseGridRow(10.0);
+        this.row1 = new BaseGridRow(20.0);
+        this.row2 = new BaseGridRow(30.0);
+        model.appendRow(row0);
+        model.appendRow(row1);
+        model.appendRow(row2);
+    }
+
+    @Test
+    public void testOffsets() {
+        final RowOffsetIndex index = model.getRowOffsetIndex();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.getHeight()).isEqualTo(60.0);
+        assertThat(index.getRowOffset(0)).isEqualTo(0.0);
+        assertThat(index.getRowOffset(1)).isEqualTo(10.0);
+        assertThat(index.getRowOffset(2)).isEqualTo(30.0);
+        assertThat(index.getRowOffset(3)).isEqualTo(60.0);
+        assertThat(index.getRowOffset(10)).isEqualTo(60.0);
+        assertThat(getRowOffsets(index)).containsExactly(0.0, 10.0, 30.0, 60.0);
+        assertThat(index.getRowHeights()).containsExactly(10.0, 20.0, 30.0);
+    }
+
+    @Test
+    public void testRowIndexAt() {
+        final RowOffsetIndex index = model.getRowOffsetIndex();
+
+        assertThat(index.getRowIndexAt(-5.0)).isEqualTo(0);
+        assertThat(index.getRowIndexAt(0.0)).isEqualTo(0);
+        assertThat(index.getRowIndexAt(10.0)).isEqualTo(0);
+        assertThat(index.getRowIndexAt(10.5)).isEqualTo(1);
+        assertThat(index.getRowIndexAt(30.0)).isEqualTo(1);
+        assertThat(index.getRowIndexAt(59.0)).isEqualTo(2);
+        assertThat(index.getRowIndexAt(61.0)).isEqualTo(3);
+    }
+
+    @Test
+    public void testRowHeightChange() {
+        model.getRowOffsetIndex();
+
+        row1.setHeight(50.0);
+
+        final RowOffsetIndex index = model.getRowOffsetIndex();
+        assertThat(getRowOffsets(index)).containsExactly(0.0, 10.0, 60.0, 90.0);
+        assertThat(index.getRowHeight(1)).isEqualTo(50.0);
+    }
+
+    @Test
+    public void testInsertRow() {
+        model.getRowOffsetIndex();
+
+        model.insertRow(1,
+                        new BaseGridRow(5.0));
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 15.0, 35.0, 65.0);
+    }
+
+    @Test
+    public void testAppendRow() {
+        model.getRowOffsetIndex();
+
+        model.appendRow(new BaseGridRow(5.0));
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0, 65.0);
+    }
+
+    @Test
+    public void testDeleteRow() {
+        model.getRowOffsetIndex();
+
+        model.deleteRow(0);
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 20.0, 50.0);
+    }
+
+    @Test
+    public void testMoveRows() {
+        model.getRowOffsetIndex();
+
+        model.moveRowsTo(0,
+                         Arrays.asList(row1,
+                                       row2));
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 20.0, 50.0, 60.0);
+    }
+
+    @Test
+    public void testInvalidate() {
+        final RowOffsetIndex index = model.getRowOffsetIndex();
+
+        index.invalidate();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0);
+    }
+
+    @Test
+    public void testRefreshWithoutChanges() {
+        final CountingGridRow row3 = new CountingGridRow(40.0);
+        model.appendRow(row3);
+        model.getRowOffsetIndex();
+        row3.reads = 0;
+
+        model.getRowOffsetIndex();
+
+        assertThat(row3.reads).isEqualTo(0);
+    }
+
+    @Test
+    public void testRefreshFromChangedRow() {
+        final CountingGridRow row3 = new CountingGridRow(40.0);
+        final CountingGridRow row4 = new CountingGridRow(50.0);
+        model.appendRow(row3);
+        model.appendRow(row4);
+        model.getRowOffsetIndex();
+        row3.reads = 0;
+        row4.reads = 0;
+
+        row4.setHeight(5.0);
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0, 100.0, 105.0);
+        assertThat(row3.reads).isEqualTo(0);
+        assertThat(row4.reads).isEqualTo(1);
+    }
+
+    @Test
+    public void testCollapseAndExpand() {
+        final CountingGridRow row3 = new CountingGridRow(40.0);
+        model.appendRow(row3);
+        model.getRowOffsetIndex();
+
+        row3.collapse();
+        row3.setHeight(0.0);
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0, 60.0);
+
+        row3.expand();
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0, 100.0);
+
+        row3.setHeight(45.0);
+        model.getRowOffsetIndex();
+        row3.reset();
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0, 100.0);
+    }
+
+    @Test
+    public void testRowMovedAfterIndexing() {
+        final CountingGridRow row3 = new CountingGridRow(40.0);
+        model.appendRow(row3);
+        model.getRowOffsetIndex();
+
+        model.moveRowTo(0,
+                        row3);
+        model.getRowOffsetIndex();
+        row3.setHeight(5.0);
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 5.0, 15.0, 35.0, 65.0);
+    }
+
+    @Test
+    public void testDynamicHeightRow() {
+        final DynamicGridRow row3 = new DynamicGridRow(40.0);
+        final CountingGridRow row4 = new CountingGridRow(50.0);
+        model.appendRow(row3);
+        model.appendRow(row4);
+        model.getRowOffsetIndex();
+        row4.reads = 0;
+
+        //Unchanged heights of dynamic rows don't trigger a recalculation
+        model.getRowOffsetIndex();
+        assertThat(row4.reads).isEqualTo(0);
+
+        row3.dynamicHeight = 15.0;
+
+        assertThat(getRowOffsets(model.getRowOffsetIndex())).containsExactly(0.0, 10.0, 30.0, 60.0, 75.0, 125.0);
+        assertThat(row4.reads).isEqualTo(1);
+    }
+
+    @Test
+    public void testEmpty() {
+        final RowOffsetIndex index = new BaseGridData().getRowOffsetIndex();
+
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(index.getHeight()).isEqualTo(0.0);
+        assertThat(index.getRowIndexAt(100.0)).isEqualTo(0);
+        assertThat(index.getRowHeights()).isEmpty();
+    }
+
+    private static List<Double> getRowOffsets(final RowOffsetIndex index) {
+        final List<Double> offsets = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex <= index.size(); rowIndex++) {
+            offsets.add(index.getRowOffset(rowIndex));
+        }
+        return offsets;
+    }
+
+    private static class CountingGridRow extends BaseGridRow {
+
+        private int reads = 0;
+
+        private CountingGridRow(final double height) {
+            super(height);
+        }
+
+        @Override
+        public double getHeight() {
+            reads++;
+            return super.getHeight();
+        }
+    }
+
+    private static class DynamicGridRow extends BaseGridRow {
+
+        private double dynamicHeight;
+
+        private DynamicGridRow(final double height) {
+            this.dynamicHeight = height;
+        }
+
+        @Override
+        public double getHeight() {
+            return dynamicHeight;
+        }
+
+        @Override
+        protected boolean hasDynamicHeight() {
+            return true;
+        }
+    }
+}
@@ -71,7 +71,7 @@ public class DefaultGridWidgetCellSelectorMouseEventHandlerTest extends BaseGrid
                times(1)).selectHeaderCell(eq(relativeLocation),
                                           eq(false),
                                           eq(false));
-        verify(layer).batch();
+        verify(layer).invalidate(eq(gridWidget));
         verify(selectionManager).select(eq(gridWidget));
     }
 
@@ -101,7 +101,7 @@ public class DefaultGridWidgetCellSelectorMouseEventHandlerTest extends BaseGrid
                times(1)).selectCell(eq(relativeLocation),
                                     eq(false),
                                     eq(false));
-        verify(layer).batch();
+        verify(layer).invalidate(eq(gridWidget));
         verify(selectionManager).select(eq(gridWidget));
     }
 
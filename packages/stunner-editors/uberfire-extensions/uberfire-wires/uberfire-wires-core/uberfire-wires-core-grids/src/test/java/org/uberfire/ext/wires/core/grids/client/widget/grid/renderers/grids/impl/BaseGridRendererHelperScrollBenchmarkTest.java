@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.impl;
+
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.test.LienzoMockitoTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.uberfire.ext.wires.core.grids.client.model.GridColumn;
+import org.uberfire.ext.wires.core.grids.client.model.GridData;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseBounds;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridColumn;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridData;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseGridRow;
+import org.uberfire.ext.wires.core.grids.client.model.impl.BaseHeaderMetaData;
+import org.uberfire.ext.wires.core.grids.client.widget.grid.GridWidget;
+import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.columns.GridColumnRenderer;
+import org.uberfire.ext.wires.core.grids.client.widget.grid.renderers.grids.GridRenderer;
+import org.uberfire.ext.wires.core.grids.client.widget.layer.impl.DefaultGridLayer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scrolls a viewport over a 10k row grid and compares the visible row range look-up against a linear scan of row heights.
+ */
+@RunWith(LienzoMockitoTestRunner.class)
+public class BaseGridRendererHelperScrollBenchmarkTest {
+
+    private static final int ROWS = 10000;
+
+    private static final int SCROLL_STEPS = 2000;
+
+    private static final double HEADER_HEIGHT = 32.0;
+
+    private static final double BOUNDS_WIDTH = 1000.0;
+
+    private static final double BOUNDS_HEIGHT = 800.0;
+
+    @Mock
+    private GridWidget gridWidget;
+
+    @Mock
+    private DefaultGridLayer gridLayer;
+
+    @Mock
+    private GridRenderer gridRenderer;
+
+    @Mock
+    private GridColumnRenderer<String> columnRenderer;
+
+    private GridData uiModel;
+
+    private BaseGridRendererHelper helper;
+
+    @Before
+    public void setup() {
+        final GridColumn<String> uiColumn = new BaseGridColumn<>(new BaseHeaderMetaData("title"),
+                                                                 columnRenderer,
+                                                                 100.0);
+        this.uiModel = new BaseGridData();
+        this.uiModel.appendColumn(uiColumn);
+        for (int i = 0; i < ROWS; i++) {
+            this.uiModel.appendRow(new BaseGridRow(20.0 + (i % 7) * 5.0));
+        }
+        this.helper = new BaseGridRendererHelper(gridWidget);
+
+        when(gridWidget.getModel()).thenReturn(uiModel);
+        when(gridWidget.getLayer()).thenReturn(gridLayer);
+        when(gridWidget.getRenderer()).thenReturn(gridRenderer);
+        when(gridWidget.getComputedLocation()).thenReturn(new Point2D(0, 0));
+        when(gridWidget.getWidth()).thenReturn(uiColumn.getWidth());
+        when(gridRenderer.getHeaderHeight()).thenReturn(HEADER_HEIGHT);
+    }
+
+    @Test
+    public void testScroll() {
+        final double gridHeight = HEADER_HEIGHT + helper.getRowOffset(ROWS);
+        final double step = (gridHeight - BOUNDS_HEIGHT) / SCROLL_STEPS;
+
+        for (int i = 0; i <= SCROLL_STEPS; i++) {
+            final double vpY = i * step;
+            when(gridLayer.getVisibleBounds()).thenReturn(new BaseBounds(0, vpY, BOUNDS_WIDTH, BOUNDS_HEIGHT));
+
+            final BaseGridRendererHelper.RenderingInformation renderingInformation = helper.getRenderingInformation();
+            final int[] expected = getVisibleRowRangeByLinearScan(vpY);
+
+            assertThat(renderingInformation.getMinVisibleRowIndex()).isEqualTo(expected[0]);
+            assertThat(renderingInformation.getMaxVisibleRowIndex()).isEqualTo(expected[1]);
+            assertThat(renderingInformation.getVisibleRowOffsets().get(0)).isEqualTo(helper.getRowOffset(expected[0]));
+            assertThat(renderingInformation.getRowOffset(expected[1])).isEqualTo(helper.getRowOffset(expected[1]));
+            assertThat(renderingInformation.getRowIndexAt(renderingInformation.getRowOffset(expected[0]) + 1.0)).isEqualTo(expected[0]);
+            assertThat(renderingInformation.getAllRowHeights()).hasSize(ROWS);
+        }
+    }
+
+    @Test
+    public void testRowHeightChangeWhileScrolling() {
+        when(gridLayer.getVisibleBounds()).thenReturn(new BaseBounds(0, 100000, BOUNDS_WIDTH, BOUNDS_HEIGHT));
+        final BaseGridRendererHelper.RenderingInformation before = helper.getRenderingInformation();
+
+        uiModel.getRow(0).setHeight(uiModel.getRow(0).getHeight() + 500.0);
+
+        final BaseGridRendererHelper.RenderingInformation after = helper.getRenderingInformation();
+        final int[] expected = getVisibleRowRangeByLinearScan(100000);
+        assertThat(after.getMinVisibleRowIndex()).isEqualTo(expected[0]).isLessThan(before.getMinVisibleRowIndex());
+        assertThat(after.getMaxVisibleRowIndex()).isEqualTo(expected[1]);
+        assertThat(after.getAllRowHeights().get(0)).isEqualTo(uiModel.getRow(0).getHeight());
+    }
+
+    @Test
+    public void testDeleteRowsWhileScrolling() {
+        when(gridLayer.getVisibleBounds()).thenReturn(new BaseBounds(0, 100000, BOUNDS_WIDTH, BOUNDS_HEIGHT));
+        helper.getRenderingInformation();
+
+        for (int i = 0; i < 100; i++) {
+            uiModel.deleteRow(0);
+        }
+
+        final BaseGridRendererHelper.RenderingInformation after = helper.getRenderingInformation();
+        final int[] expected = getVisibleRowRangeByLinearScan(100000);
+        assertThat(after.getMinVisibleRowIndex()).isEqualTo(expected[0]);
+        assertThat(after.getMaxVisibleRowIndex()).isEqualTo(expected[1]);
+        assertThat(after.getAllRowHeights()).hasSize(ROWS - 100);
+    }
+
+    private int[] getVisibleRowRangeByLinearScan(final double vpY) {
+        final int rowCount = uiModel.getRowCount();
+        int minVisibleRowIndex = 0;
+        double clipTop = vpY - HEADER_HEIGHT;
+        while (uiModel.getRow(minVisibleRowIndex).getHeight() < clipTop && minVisibleRowIndex < rowCount - 1) {
+            clipTop = clipTop - uiModel.getRow(minVisibleRowIndex).getHeight();
+            minVisibleRowIndex++;
+        }
+        int maxVisibleRowIndex = minVisibleRowIndex;
+        double clipBottom = vpY - HEADER_HEIGHT + BOUNDS_HEIGHT - helper.getRowOffset(minVisibleRowIndex);
+        while (uiModel.getRow(maxVisibleRowIndex).getHeight() < clipBottom && maxVisibleRowIndex < rowCount - 1) {
+            clipBottom = clipBottom - uiModel.getRow(maxVisibleRowIndex).getHeight();
+            maxVisibleRowIndex++;
+        }
+        return new int[]{minVisibleRowIndex, maxVisibleRowIndex};
+    }
+}
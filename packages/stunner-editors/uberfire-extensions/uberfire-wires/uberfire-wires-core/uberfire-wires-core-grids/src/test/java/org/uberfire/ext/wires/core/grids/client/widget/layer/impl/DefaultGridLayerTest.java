@@ -167,6 +167,33 @@ public class DefaultGridLayerTest {
         verify(gridLayer, times(1)).select(gridWidget);
     }
 
+    @Test
+    public void checkSelectInvalidatesOnlyChangedGridWidgets() {
+        final BaseGridWidget gridWidget1 = new BaseGridWidget(new BaseGridData(), gridLayer, gridLayer, renderer);
+        final BaseGridWidget gridWidget2 = new BaseGridWidget(new BaseGridData(), gridLayer, gridLayer, renderer);
+        final BaseGridWidget gridWidget3 = new BaseGridWidget(new BaseGridData(), gridLayer, gridLayer, renderer);
+        gridWidget2.setX(200);
+        gridWidget3.setX(400);
+        gridLayer.add(gridWidget1);
+        gridLayer.add(gridWidget2);
+        gridLayer.add(gridWidget3);
+
+        //Emulate the GridWidgets having been drawn
+        gridLayer.markBounds(gridWidget1);
+        gridLayer.markBounds(gridWidget2);
+        gridLayer.markBounds(gridWidget3);
+
+        gridLayer.select(gridWidget1);
+        gridLayer.select(gridWidget2);
+
+        verify(gridLayer, times(2)).invalidate(gridWidget1);
+        verify(gridLayer, times(1)).invalidate(gridWidget2);
+        verify(gridLayer, never()).invalidate(gridWidget3);
+        verify(gridLayer, never()).batch();
+        assertThat(gridLayer.getDirtyRegions().isAll()).isFalse();
+        assertThat(gridLayer.getDirtyRegions().getRegions()).isNotEmpty();
+    }
+
     @Test
     public void checkRemoveAllClearsCachedReferences() {
         final GridWidget gridWidget1 = makeGridWidget();